@@ -0,0 +1,176 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import tds.exam.Exam;
+import tds.exam.ExamAccommodation;
+import tds.exam.ExamItem;
+import tds.exam.ExamPage;
+import tds.exam.ExamSegment;
+import tds.exam.ExamineeAttribute;
+import tds.exam.ExamineeRelationship;
+import tds.exam.ExpandableExam;
+import tds.exam.builder.ExamAccommodationBuilder;
+import tds.exam.builder.ExamBuilder;
+import tds.exam.builder.ExamItemBuilder;
+import tds.exam.builder.ExamItemResponseBuilder;
+import tds.exam.builder.ExamPageBuilder;
+import tds.exam.builder.ExamSegmentBuilder;
+import tds.exam.builder.ExamineeAttributeBuilder;
+import tds.exam.builder.ExamineeRelationshipBuilder;
+
+/**
+ * Measures serializing a fully expanded {@link tds.exam.ExpandableExam} of a 2 segment exam with 40 pages of 3 items
+ * and their responses, as returned to the student and proctor applications.  The {@link ObjectMapper} is configured
+ * the same way Spring Boot configures the one used by the controllers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ExpandableExamSerializationBenchmark {
+    private static final int SEGMENT_COUNT = 2;
+    private static final int PAGES_PER_SEGMENT = 20;
+    private static final int ITEMS_PER_PAGE = 3;
+    private static final int ACCOMMODATIONS_PER_SEGMENT = 20;
+
+    private ObjectMapper objectMapper;
+    private ExpandableExam expandableExam;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        final Exam exam = new ExamBuilder()
+            .withId(UUID.randomUUID())
+            .build();
+
+        final List<ExamSegment> segments = new ArrayList<>();
+        final List<ExamAccommodation> accommodations = new ArrayList<>();
+        final List<ExamPage> pages = new ArrayList<>();
+        final List<ExamItem> items = new ArrayList<>();
+        final Map<UUID, Integer> itemResponseUpdates = new HashMap<>();
+        for (int segmentPosition = 1; segmentPosition <= SEGMENT_COUNT; segmentPosition++) {
+            final String segmentKey = "segment-key-" + segmentPosition;
+            segments.add(new ExamSegmentBuilder()
+                .withExamId(exam.getId())
+                .withSegmentKey(segmentKey)
+                .withSegmentId("segment-id-" + segmentPosition)
+                .withSegmentPosition(segmentPosition)
+                .withExamItemCount(PAGES_PER_SEGMENT * ITEMS_PER_PAGE)
+                .build());
+
+            for (int accommodation = 0; accommodation < ACCOMMODATIONS_PER_SEGMENT; accommodation++) {
+                accommodations.add(new ExamAccommodationBuilder()
+                    .withExamId(exam.getId())
+                    .withSegmentKey(segmentKey)
+                    .withSegmentPosition(segmentPosition)
+                    .withType("Type" + accommodation)
+                    .withCode("TDS_Type" + accommodation + "_0")
+                    .withValue("Value 0")
+                    .build());
+            }
+
+            for (int page = 1; page <= PAGES_PER_SEGMENT; page++) {
+                final int pagePosition = (segmentPosition - 1) * PAGES_PER_SEGMENT + page;
+                final ExamPage examPage = new ExamPageBuilder()
+                    .withId(UUID.randomUUID())
+                    .withExamId(exam.getId())
+                    .withPagePosition(pagePosition)
+                    .withSegmentKey(segmentKey)
+                    .withItemGroupKey("G-187-" + pagePosition + "-0")
+                    .withVisible(true)
+                    .build();
+                pages.add(examPage);
+
+                for (int position = 1; position <= ITEMS_PER_PAGE; position++) {
+                    final UUID itemId = UUID.randomUUID();
+                    final int itemKey = pagePosition * 100 + position;
+                    items.add(new ExamItemBuilder()
+                        .withId(itemId)
+                        .withExamPageId(examPage.getId())
+                        .withItemKey("187-" + itemKey)
+                        .withAssessmentItemKey(itemKey)
+                        .withPosition((pagePosition - 1) * ITEMS_PER_PAGE + position)
+                        .withGroupId("G-187-" + pagePosition)
+                        .withRequired(true)
+                        .withResponse(new ExamItemResponseBuilder()
+                            .withExamItemId(itemId)
+                            .withExamId(exam.getId())
+                            .withResponse("<itemResponse><response id=\"RESPONSE\"><value>B</value></response></itemResponse>")
+                            .withSequence(1)
+                            .withValid(true)
+                            .withSelected(true)
+                            .build())
+                        .build());
+                    itemResponseUpdates.put(itemId, 1);
+                }
+            }
+        }
+
+        final List<ExamineeAttribute> attributes = new ArrayList<>();
+        final List<ExamineeRelationship> relationships = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            attributes.add(new ExamineeAttributeBuilder()
+                .withExamId(exam.getId())
+                .withName("Attribute" + i)
+                .withValue("Value " + i)
+                .build());
+            relationships.add(new ExamineeRelationshipBuilder()
+                .withExamId(exam.getId())
+                .withName("Relationship" + i)
+                .withValue("Value " + i)
+                .build());
+        }
+
+        expandableExam = new ExpandableExam.Builder(exam)
+            .withExamSegments(segments)
+            .withExamAccommodations(accommodations)
+            .withExamPages(pages)
+            .withExamItems(items)
+            .withExamineeAttributes(attributes)
+            .withExamineeRelationship(relationships)
+            .withItemsResponseCount(items.size())
+            .withItemResponseUpdates(itemResponseUpdates)
+            .build();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(expandableExam);
+    }
+}
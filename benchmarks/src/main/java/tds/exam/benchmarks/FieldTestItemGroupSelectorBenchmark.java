@@ -0,0 +1,114 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import tds.assessment.Assessment;
+import tds.assessment.Item;
+import tds.assessment.Segment;
+import tds.exam.Exam;
+import tds.exam.builder.AssessmentBuilder;
+import tds.exam.builder.ExamBuilder;
+import tds.exam.builder.ItemBuilder;
+import tds.exam.builder.SegmentBuilder;
+import tds.exam.models.FieldTestItemGroup;
+import tds.exam.services.FieldTestItemGroupSelector;
+import tds.exam.services.ItemPoolService;
+import tds.exam.services.impl.EqualDistributionFieldTestItemGroupSelector;
+import tds.exam.services.impl.InMemoryFieldTestItemGroupCounterStore;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Measures selecting the least used field test item groups of a segment with 300 field test items in 100 item groups
+ * with {@link tds.exam.services.impl.EqualDistributionFieldTestItemGroupSelector}.  The item pool is precomputed so
+ * only the grouping, ordering and counting is measured, from a single exam and from concurrent exams sharing the
+ * counters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class FieldTestItemGroupSelectorBenchmark {
+    private static final int ITEM_GROUP_COUNT = 100;
+    private static final int ITEMS_PER_GROUP = 3;
+
+    private FieldTestItemGroupSelector selector;
+    private Exam exam;
+    private Assessment assessment;
+    private Segment segment;
+
+    @Setup
+    public void setUp() {
+        final Set<Item> fieldTestItems = new HashSet<>();
+        for (int group = 0; group < ITEM_GROUP_COUNT; group++) {
+            for (int position = 0; position < ITEMS_PER_GROUP; position++) {
+                fieldTestItems.add(new ItemBuilder("187-" + (group * ITEMS_PER_GROUP + position))
+                    .withGroupId("G-187-" + group)
+                    .withGroupKey("G-187-" + group + "_A")
+                    .withFieldTest(true)
+                    .build());
+            }
+        }
+
+        segment = new SegmentBuilder()
+            .withFieldTestMinItems(5)
+            .withFieldTestMaxItems(5)
+            .build();
+        assessment = new AssessmentBuilder()
+            .withSegments(Collections.singletonList(segment))
+            .build();
+        exam = new ExamBuilder()
+            .withLanguageCode("ENU")
+            .build();
+
+        final ItemPoolService itemPoolService = mock(ItemPoolService.class, withSettings().stubOnly());
+        when(itemPoolService.getFieldTestItemPool(any(), any(), any())).thenReturn(fieldTestItems);
+        selector = new EqualDistributionFieldTestItemGroupSelector(itemPoolService, new InMemoryFieldTestItemGroupCounterStore());
+    }
+
+    @Benchmark
+    public List<FieldTestItemGroup> selectLeastUsedItemGroups() {
+        return selector.selectLeastUsedItemGroups(exam, Collections.emptySet(), assessment, segment,
+            segment.getFieldTestMaxItems());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public List<FieldTestItemGroup> selectLeastUsedItemGroupsConcurrently() {
+        return selectLeastUsedItemGroups();
+    }
+}
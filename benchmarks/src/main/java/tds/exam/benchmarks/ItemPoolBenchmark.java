@@ -0,0 +1,208 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import tds.assessment.Item;
+import tds.assessment.ItemConstraint;
+import tds.assessment.ItemProperty;
+import tds.exam.ExamAccommodation;
+import tds.exam.builder.ItemBuilder;
+import tds.exam.services.ExamAccommodationService;
+import tds.exam.services.ItemPoolService;
+import tds.exam.services.impl.ItemPoolIndex;
+import tds.exam.services.impl.ItemPoolServiceImpl;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Compares computing the item pool of a 2,000 item segment with the {@link tds.exam.services.impl.ItemPoolIndex}
+ * against the nested stream implementation it replaced, and measures
+ * {@link tds.exam.services.impl.ItemPoolServiceImpl#getItemPool(java.util.UUID, java.util.List, String, String, String, java.util.List)}
+ * with its cached index, given the same items again as new instances the way a cache deserializing the assessment
+ * returns them
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ItemPoolBenchmark {
+    private static final int ITEM_COUNT = 2000;
+    private static final String[] LANGUAGES = {"ENU", "ESN", "ENU-Braille"};
+    private static final String[] ITEM_TYPES = {"MC", "MS", "EQ", "GI", "TI", "ER", "WER", "SA"};
+
+    private List<Item> items;
+    private List<Item> reloadedItems;
+    private List<ItemConstraint> itemConstraints;
+    private List<ExamAccommodation> accommodations;
+    private ItemPoolIndex index;
+    private ItemPoolService itemPoolService;
+    private UUID examId;
+
+    @Setup
+    public void setUp() {
+        items = createItems();
+        reloadedItems = createItems();
+
+        itemConstraints = new ArrayList<>();
+        for (final String language : LANGUAGES) {
+            itemConstraints.add(constraint("Language", language, true));
+        }
+        for (final String itemType : ITEM_TYPES) {
+            itemConstraints.add(constraint("--ITEMTYPE--", itemType, false));
+        }
+
+        accommodations = new ArrayList<>();
+        accommodations.add(accommodation("Language", "ENU"));
+        accommodations.add(accommodation("--ITEMTYPE--", "ER"));
+        accommodations.add(accommodation("--ITEMTYPE--", "WER"));
+        for (int i = 0; i < 20; i++) {
+            accommodations.add(accommodation("Tool" + i, "TDS_Tool" + i));
+        }
+
+        index = new ItemPoolIndex(items);
+
+        examId = UUID.randomUUID();
+        final ExamAccommodationService examAccommodationService = mock(ExamAccommodationService.class, withSettings().stubOnly());
+        when(examAccommodationService.findAllAccommodations(examId)).thenReturn(accommodations);
+        itemPoolService = new ItemPoolServiceImpl(examAccommodationService);
+    }
+
+    @Benchmark
+    public Set<Item> nestedStreams() {
+        return findItemPoolWithNestedStreams(accommodations, itemConstraints, items);
+    }
+
+    @Benchmark
+    public Set<Item> cachedIndex() {
+        return index.findItemPool(items, accommodations, itemConstraints, null);
+    }
+
+    @Benchmark
+    public Set<Item> buildIndexAndFind() {
+        return new ItemPoolIndex(items).findItemPool(items, accommodations, itemConstraints, null);
+    }
+
+    @Benchmark
+    public Set<Item> itemPoolService() {
+        return itemPoolService.getItemPool(examId, itemConstraints, "assessment-key", "segment-key", "ENU", reloadedItems);
+    }
+
+    private static List<Item> createItems() {
+        final List<Item> items = new ArrayList<>();
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            final String itemId = "187-" + i;
+            final List<ItemProperty> itemProperties = new ArrayList<>();
+            itemProperties.add(new ItemProperty("Language", LANGUAGES[i % LANGUAGES.length], "Language", itemId));
+            itemProperties.add(new ItemProperty("Language", "ENU", "English", itemId));
+            itemProperties.add(new ItemProperty("--ITEMTYPE--", ITEM_TYPES[i % ITEM_TYPES.length], "Item Type", itemId));
+            itemProperties.add(new ItemProperty("TDSPoolFilter", "G" + (3 + i % 6), "Grade", itemId));
+
+            items.add(new ItemBuilder(itemId)
+                .withFieldTest(i % 10 == 0)
+                .withItemProperties(itemProperties)
+                .build());
+        }
+
+        return items;
+    }
+
+    /*
+        The item pool computation ItemPoolServiceImpl used before the ItemPoolIndex
+     */
+    private static Set<Item> findItemPoolWithNestedStreams(final List<ExamAccommodation> allAccommodations,
+                                                           final List<ItemConstraint> itemConstraints,
+                                                           final List<Item> items) {
+        final List<ItemProperty> allItemProperties = items.stream()
+            .flatMap(item -> item.getItemProperties().stream())
+            .collect(Collectors.toList());
+
+        final Set<ExamAccommodation> includedAccommodations = allAccommodations.stream()
+            .flatMap(accommodation -> itemConstraints.stream()
+                .filter(itemConstraint -> itemConstraint.isInclusive() &&
+                    itemConstraint.getPropertyName().equalsIgnoreCase(accommodation.getType()) &&
+                    itemConstraint.getPropertyValue().equals(accommodation.getCode()))
+                .map(itemConstraint -> accommodation))
+            .collect(Collectors.toSet());
+
+        final Set<String> itemPoolIds = allItemProperties.stream()
+            .flatMap(itemProperty -> includedAccommodations.stream()
+                .filter(accommodation ->
+                    itemProperty.getName().equalsIgnoreCase(accommodation.getType()) &&
+                        itemProperty.getValue().equals(accommodation.getCode()))
+                .map(accommodation -> itemProperty.getItemId()))
+            .collect(Collectors.toSet());
+
+        final Set<ExamAccommodation> excludedAccommodations = allAccommodations.stream()
+            .flatMap(accommodation -> itemConstraints.stream()
+                .filter(itemConstraint -> !itemConstraint.isInclusive() &&
+                    itemConstraint.getPropertyName().equalsIgnoreCase(accommodation.getType()) &&
+                    itemConstraint.getPropertyValue().equals(accommodation.getCode()))
+                .map(itemConstraint -> accommodation))
+            .collect(Collectors.toSet());
+
+        final Set<String> excludedItemIds = allItemProperties.stream()
+            .flatMap(itemProperty -> excludedAccommodations.stream()
+                .filter(accommodation ->
+                    itemProperty.getName().equalsIgnoreCase(accommodation.getType()) &&
+                        itemProperty.getValue().equals(accommodation.getCode()))
+                .map(accommodation -> itemProperty.getItemId()))
+            .collect(Collectors.toSet());
+
+        return items.stream()
+            .filter(item -> itemPoolIds.contains(item.getId()) && !excludedItemIds.contains(item.getId()))
+            .collect(Collectors.toSet());
+    }
+
+    private static ItemConstraint constraint(final String propertyName, final String propertyValue, final boolean inclusive) {
+        return new ItemConstraint.Builder()
+            .withAssessmentId("assessment-id")
+            .withToolType(propertyName)
+            .withToolValue(propertyValue)
+            .withPropertyName(propertyName)
+            .withPropertyValue(propertyValue)
+            .withInclusive(inclusive)
+            .build();
+    }
+
+    private static ExamAccommodation accommodation(final String type, final String code) {
+        return new ExamAccommodation.Builder(UUID.randomUUID())
+            .withExamId(UUID.randomUUID())
+            .withType(type)
+            .withCode(code)
+            .withSegmentKey("segment-key")
+            .build();
+    }
+}
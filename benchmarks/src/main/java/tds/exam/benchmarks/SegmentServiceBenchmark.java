@@ -0,0 +1,167 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import tds.assessment.ContentLevelSpecification;
+import tds.assessment.Item;
+import tds.assessment.ItemControlParameter;
+import tds.assessment.ItemGroup;
+import tds.assessment.ItemMeasurement;
+import tds.assessment.ItemProperty;
+import tds.assessment.Segment;
+import tds.assessment.SegmentItemInformation;
+import tds.exam.builder.ItemBuilder;
+import tds.exam.builder.SegmentBuilder;
+import tds.exam.services.AssessmentService;
+import tds.exam.services.item.selection.SegmentServiceImpl;
+import tds.itemselection.loader.TestSegment;
+import tds.itemselection.services.SegmentService;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Measures populating the item selection blueprint and item pool of an adaptive segment with
+ * {@link tds.exam.services.item.selection.SegmentServiceImpl#getSegment(String)}.  The segment has 1,200 items in
+ * 400 item groups, 3PL measurements for every item and a blueprint of 60 content levels.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SegmentServiceBenchmark {
+    private static final String SEGMENT_KEY = "(SBAC_PT)SBAC-IRP-CAT-ELA-3-Summer-2015-2016";
+    private static final int ITEM_GROUP_COUNT = 400;
+    private static final int ITEMS_PER_GROUP = 3;
+    private static final int REPORTING_CATEGORY_COUNT = 4;
+    private static final int CONTENT_LEVELS_PER_CATEGORY = 14;
+    private static final String[] IRT_PARAMETERS = {"a", "b", "c"};
+
+    private SegmentService segmentService;
+
+    @Setup
+    public void setUp() {
+        final Segment segment = new SegmentBuilder()
+            .withKey(SEGMENT_KEY)
+            .withSegmentId("SBAC-IRP-CAT-ELA-3")
+            .build();
+
+        final List<Item> items = new ArrayList<>();
+        final List<ItemGroup> itemGroups = new ArrayList<>();
+        final List<ItemMeasurement> itemMeasurements = new ArrayList<>();
+        final List<ItemProperty> poolFilterProperties = new ArrayList<>();
+        for (int group = 0; group < ITEM_GROUP_COUNT; group++) {
+            final String groupId = "G-187-" + group;
+            itemGroups.add(new ItemGroup(groupId, ITEMS_PER_GROUP, ITEMS_PER_GROUP, 1.0f));
+
+            for (int position = 0; position < ITEMS_PER_GROUP; position++) {
+                final String itemId = "187-" + (group * ITEMS_PER_GROUP + position);
+                final Item item = new ItemBuilder(itemId)
+                    .withGroupId(groupId)
+                    .withGroupKey(groupId + "_A")
+                    .withStrand("SBAC-ELA-v1:" + (group % REPORTING_CATEGORY_COUNT + 1))
+                    .withItemType(position == 0 ? "MC" : "EBSR")
+                    .withFieldTest(group % 20 == 0)
+                    .build();
+                item.setSegmentKey(SEGMENT_KEY);
+                item.setPosition(position + 1);
+                items.add(item);
+
+                for (int parameter = 0; parameter < IRT_PARAMETERS.length; parameter++) {
+                    itemMeasurements.add(new ItemMeasurement.Builder()
+                        .withItemKey(itemId)
+                        .withDimension("")
+                        .withItemResponseTheoryModel("IRT3PL")
+                        .withParameterName(IRT_PARAMETERS[parameter])
+                        .withParameterNumber(parameter)
+                        .withParameterValue(parameter == 2 ? 0f : 0.5f + (group % 10) / 10f)
+                        .build());
+                }
+
+                poolFilterProperties.add(new ItemProperty("TDSPoolFilter", "ELA_3", "Grade 3", itemId));
+            }
+        }
+
+        final List<ContentLevelSpecification> specifications = new ArrayList<>();
+        final List<ItemControlParameter> controlParameters = new ArrayList<>();
+        for (int category = 1; category <= REPORTING_CATEGORY_COUNT; category++) {
+            final String claim = "SBAC-ELA-v1:" + category;
+            specifications.add(specification(claim, true));
+            controlParameters.add(new ItemControlParameter(claim, "adaptivecut", "0.5"));
+
+            for (int target = 1; target <= CONTENT_LEVELS_PER_CATEGORY; target++) {
+                specifications.add(specification(claim + "|" + target, false));
+            }
+        }
+        controlParameters.add(new ItemControlParameter(segment.getSegmentId(), "offgrademinitemsratio", "0.1"));
+
+        final SegmentItemInformation segmentItemInformation = new SegmentItemInformation.Builder()
+            .withSegment(segment)
+            .withSegmentItems(items)
+            .withSiblingItems(new ArrayList<>())
+            .withItemGroups(itemGroups)
+            .withItemMeasurements(itemMeasurements)
+            .withContentLevelSpecifications(specifications)
+            .withPoolFilterProperties(poolFilterProperties)
+            .withControlParameters(controlParameters)
+            .build();
+
+        final AssessmentService assessmentService = mock(AssessmentService.class, withSettings().stubOnly());
+        when(assessmentService.findSegmentItemInformation(SEGMENT_KEY)).thenReturn(Optional.of(segmentItemInformation));
+        segmentService = new SegmentServiceImpl(assessmentService);
+    }
+
+    @Benchmark
+    public TestSegment getSegment() throws Exception {
+        return segmentService.getSegment(SEGMENT_KEY);
+    }
+
+    private static ContentLevelSpecification specification(final String contentLevel, final boolean reportingCategory) {
+        return new ContentLevelSpecification.Builder()
+            .withContentLevel(contentLevel)
+            .withReportingCategory(reportingCategory)
+            .withElementType(1)
+            .withMinItems(reportingCategory ? 4 : 0)
+            .withMaxItems(reportingCategory ? 12 : 4)
+            .withBpWeight(1.0f)
+            .withStrictMax(false)
+            .withStartAbility(0f)
+            .withStartInfo(0.2f)
+            .withAbilityWeight(1.0f)
+            .withScalar(1.0f)
+            .withPrecisionTarget(0.4f)
+            .withPrecisionTargetMetWeight(1.0f)
+            .withPrecisionTargetNotMetWeight(1.0f)
+            .build();
+    }
+}
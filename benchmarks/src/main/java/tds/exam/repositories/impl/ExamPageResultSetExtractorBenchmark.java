@@ -0,0 +1,164 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.repositories.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import tds.exam.wrapper.ExamPageWrapper;
+
+/**
+ * Measures mapping the rows of an exam's pages, items and responses to {@link tds.exam.wrapper.ExamPageWrapper}s.
+ * The rows are served from memory so only the extractor is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ExamPageResultSetExtractorBenchmark {
+    private static final int ITEMS_PER_PAGE = 3;
+
+    // A full length summative segment has about 40 pages
+    @Param({"1", "40"})
+    private int pageCount;
+
+    private final ExamPageWrapperQueryRepositoryImpl.ExamPageResultSetExtractor extractor =
+        new ExamPageWrapperQueryRepositoryImpl.ExamPageResultSetExtractor();
+    private List<Map<String, Object>> rows;
+
+    @Setup
+    public void setUp() {
+        final UUID examId = UUID.randomUUID();
+        final Timestamp now = new Timestamp(System.currentTimeMillis());
+
+        rows = new ArrayList<>();
+        for (int page = 1; page <= pageCount; page++) {
+            final String pageId = UUID.randomUUID().toString();
+            for (int position = 1; position <= ITEMS_PER_PAGE; position++) {
+                final int itemKey = page * 100 + position;
+                final boolean responded = page < pageCount || position == 1;
+                final Map<String, Object> row = new HashMap<>();
+
+                row.put("page_id", pageId);
+                row.put("page_position", page);
+                row.put("segment_key", "(SBAC_PT)SBAC-IRP-CAT-ELA-3-Summer-2015-2016");
+                row.put("page_duration", 30000L);
+                row.put("item_group_key", "G-187-" + page + "-0");
+                row.put("group_items_required", -1);
+                row.put("exam_id", examId.toString());
+                row.put("visible", true);
+                row.put("created_at", now);
+                row.put("started_at", now);
+
+                row.put("item_id", UUID.randomUUID().toString());
+                row.put("item_key", "187-" + itemKey);
+                row.put("assessment_item_bank_key", 187L);
+                row.put("assessment_item_key", (long) itemKey);
+                row.put("item_type", position == ITEMS_PER_PAGE ? "ER" : "MC");
+                row.put("exam_page_id", pageId);
+                row.put("item_position", (page - 1) * ITEMS_PER_PAGE + position);
+                row.put("is_fieldtest", false);
+                row.put("is_required", true);
+                row.put("item_file_path", "/usr/local/tomcat/resources/tds/bank/items/Item-187-" + itemKey + "/item-187-" + itemKey + ".xml");
+                row.put("stimulus_file_path", null);
+                row.put("group_id", "G-187-" + page);
+
+                if (responded) {
+                    row.put("response", "<itemResponse><response id=\"RESPONSE\"><value>B</value></response></itemResponse>");
+                    row.put("sequence", 1);
+                    row.put("is_valid", true);
+                    row.put("is_selected", true);
+                    row.put("is_marked_for_review", false);
+                    row.put("score", 1);
+                    row.put("scoring_status", "Scored");
+                    row.put("scoring_rationale", "Scored by the answer key");
+                    row.put("scoring_dimensions", "<ScoreInfo scorePoint=\"1\" scoreStatus=\"Scored\" />");
+                    row.put("scored_at", now);
+                    row.put("response_created_at", now);
+                }
+
+                rows.add(row);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<ExamPageWrapper> extractPages() throws SQLException {
+        return extractor.extractData(resultSetOf(rows));
+    }
+
+    /*
+        Serves the rows through the ResultSet getters the extractor and ResultSetMapperUtility use.  Missing columns read
+        as SQL NULL.
+     */
+    private static ResultSet resultSetOf(final List<Map<String, Object>> rows) {
+        final Iterator<Map<String, Object>> iterator = rows.iterator();
+        final Object[] state = new Object[2];
+
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "next":
+                        state[0] = iterator.hasNext() ? iterator.next() : null;
+                        return state[0] != null;
+                    case "wasNull":
+                        return state[1] == null;
+                    case "close":
+                        return null;
+                    default:
+                        if (!method.getName().startsWith("get") || args == null || !(args[0] instanceof String)) {
+                            throw new UnsupportedOperationException(method.getName());
+                        }
+                }
+
+                @SuppressWarnings("unchecked")
+                final Object value = ((Map<String, Object>) state[0]).get(args[0]);
+                state[1] = value;
+
+                final Class<?> returnType = method.getReturnType();
+                if (returnType == int.class) {
+                    return value == null ? 0 : ((Number) value).intValue();
+                } else if (returnType == long.class) {
+                    return value == null ? 0L : ((Number) value).longValue();
+                } else if (returnType == boolean.class) {
+                    return value != null && (Boolean) value;
+                }
+
+                return value;
+            });
+    }
+}
@@ -0,0 +1,160 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.repositories.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import tds.exam.Exam;
+import tds.exam.ExamItem;
+import tds.exam.ExamItemResponse;
+import tds.exam.ExamPage;
+import tds.exam.ExamSegment;
+import tds.exam.builder.ExamBuilder;
+import tds.exam.builder.ExamItemBuilder;
+import tds.exam.builder.ExamItemResponseBuilder;
+import tds.exam.builder.ExamPageBuilder;
+import tds.exam.builder.ExamSegmentBuilder;
+import tds.exam.repositories.ExamItemCommandRepository;
+import tds.exam.repositories.ExamPageWrapperQueryRepository;
+import tds.exam.wrapper.ExamPageWrapper;
+
+/**
+ * Measures {@link tds.exam.repositories.impl.ExamPageWrapperQueryRepositoryImpl#findPagesWithItems(java.util.UUID)}
+ * against a MySQL database migrated with the service's flyway scripts.  The queries are MySQL specific so they cannot
+ * run against H2.  This benchmark is optional: it only runs when the database is provided, e.g.
+ * {@code java -jar benchmarks.jar ExamPageWrapperQueryRepository -p jdbcUrl=jdbc:mysql://localhost:3306/exam -p jdbcUser=root}.
+ * Each trial seeds a new exam, so point it at a disposable schema.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ExamPageWrapperQueryRepositoryBenchmark {
+    private static final int PAGE_COUNT = 40;
+    private static final int ITEMS_PER_PAGE = 3;
+
+    @Param("")
+    private String jdbcUrl;
+
+    @Param("")
+    private String jdbcUser;
+
+    @Param("")
+    private String jdbcPassword;
+
+    private SingleConnectionDataSource dataSource;
+    private ExamPageWrapperQueryRepository examPageWrapperQueryRepository;
+    private UUID examId;
+
+    @Setup
+    public void setUp() {
+        if (jdbcUrl.isEmpty()) {
+            throw new IllegalStateException("The repository benchmark requires a database.  Provide one with -p jdbcUrl=<url> " +
+                "or exclude the benchmark with -e ExamPageWrapperQueryRepository");
+        }
+
+        dataSource = new SingleConnectionDataSource(jdbcUrl, jdbcUser, jdbcPassword, true);
+        final NamedParameterJdbcTemplate jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        examPageWrapperQueryRepository = new ExamPageWrapperQueryRepositoryImpl(jdbcTemplate);
+
+        final Exam exam = new ExamBuilder()
+            .withId(UUID.randomUUID())
+            .withRestartsAndResumptions(0)
+            .build();
+        final ExamSegment examSegment = new ExamSegmentBuilder()
+            .withExamId(exam.getId())
+            .build();
+        examId = exam.getId();
+
+        final List<ExamPage> pages = new ArrayList<>();
+        final List<ExamItem> items = new ArrayList<>();
+        final List<ExamItemResponse> responses = new ArrayList<>();
+        for (int page = 1; page <= PAGE_COUNT; page++) {
+            final ExamPage examPage = new ExamPageBuilder()
+                .withId(UUID.randomUUID())
+                .withExamId(exam.getId())
+                .withPagePosition(page)
+                .withSegmentKey(examSegment.getSegmentKey())
+                .withItemGroupKey("G-187-" + page + "-0")
+                .withVisible(true)
+                .build();
+            pages.add(examPage);
+
+            for (int position = 1; position <= ITEMS_PER_PAGE; position++) {
+                final int itemKey = page * 100 + position;
+                final ExamItem examItem = new ExamItemBuilder()
+                    .withId(UUID.randomUUID())
+                    .withExamPageId(examPage.getId())
+                    .withItemKey("187-" + itemKey)
+                    .withAssessmentItemKey(itemKey)
+                    .withPosition((page - 1) * ITEMS_PER_PAGE + position)
+                    .withGroupId("G-187-" + page)
+                    .withRequired(true)
+                    .build();
+                items.add(examItem);
+
+                if (page < PAGE_COUNT) {
+                    responses.add(new ExamItemResponseBuilder()
+                        .withExamItemId(examItem.getId())
+                        .withExamId(exam.getId())
+                        .withResponse("<itemResponse><response id=\"RESPONSE\"><value>B</value></response></itemResponse>")
+                        .withSequence(1)
+                        .withValid(true)
+                        .withSelected(true)
+                        .build());
+                }
+            }
+        }
+
+        final ExamItemCommandRepository examItemCommandRepository = new ExamItemCommandRepositoryImpl(jdbcTemplate, new ExamChangeCommandRepositoryImpl(jdbcTemplate));
+        new ExamCommandRepositoryImpl(jdbcTemplate, new ExamChangeCommandRepositoryImpl(jdbcTemplate)).insert(exam);
+        new ExamSegmentCommandRepositoryImpl(jdbcTemplate, new ExamChangeCommandRepositoryImpl(jdbcTemplate)).insert(Collections.singletonList(examSegment));
+        new ExamPageCommandRepositoryImpl(jdbcTemplate, new ExamChangeCommandRepositoryImpl(jdbcTemplate)).insert(pages.toArray(new ExamPage[pages.size()]));
+        examItemCommandRepository.insert(items.toArray(new ExamItem[items.size()]));
+        examItemCommandRepository.insertResponses(responses.toArray(new ExamItemResponse[responses.size()]));
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (dataSource != null) {
+            dataSource.destroy();
+        }
+    }
+
+    @Benchmark
+    public List<ExamPageWrapper> findPagesWithItems() {
+        return examPageWrapperQueryRepository.findPagesWithItems(examId);
+    }
+}
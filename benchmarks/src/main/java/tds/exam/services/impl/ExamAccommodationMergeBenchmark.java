@@ -0,0 +1,135 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import tds.accommodation.Accommodation;
+import tds.exam.ApproveAccommodationsRequest;
+import tds.exam.Exam;
+import tds.exam.ExamAccommodation;
+import tds.exam.builder.AccommodationBuilder;
+import tds.exam.builder.ExamAccommodationBuilder;
+import tds.exam.builder.ExamBuilder;
+import tds.exam.builder.SessionBuilder;
+import tds.exam.repositories.ExamAccommodationCommandRepository;
+import tds.exam.repositories.ExamAccommodationQueryRepository;
+import tds.exam.services.AssessmentService;
+import tds.session.Session;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Measures merging the accommodations approved for a 3 segment exam with the previously approved accommodations in
+ * {@link tds.exam.services.impl.ExamAccommodationServiceImpl#approveAccommodations(tds.exam.Exam, tds.session.Session, tds.exam.ApproveAccommodationsRequest)}.
+ * The assessment offers 3 values for each of 20 accommodation types per segment and a third of the approved values
+ * differ from the existing ones, so the merge inserts and deletes as well as keeps accommodations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ExamAccommodationMergeBenchmark {
+    private static final int SEGMENT_COUNT = 3;
+    private static final int TYPE_COUNT = 20;
+    private static final int VALUES_PER_TYPE = 3;
+
+    private ExamAccommodationServiceImpl examAccommodationService;
+    private Exam exam;
+    private Session session;
+    private ApproveAccommodationsRequest request;
+
+    @Setup
+    public void setUp() {
+        exam = new ExamBuilder().build();
+        session = new SessionBuilder().build();
+
+        final List<Accommodation> assessmentAccommodations = new ArrayList<>();
+        final List<ExamAccommodation> approvedAccommodations = new ArrayList<>();
+        final Map<Integer, Set<String>> approvedCodes = new HashMap<>();
+        for (int segmentPosition = 1; segmentPosition <= SEGMENT_COUNT; segmentPosition++) {
+            final String segmentKey = "segment-" + segmentPosition;
+            final Set<String> codes = new HashSet<>();
+            for (int type = 0; type < TYPE_COUNT; type++) {
+                for (int value = 0; value < VALUES_PER_TYPE; value++) {
+                    assessmentAccommodations.add(new AccommodationBuilder()
+                        .withSegmentKey(segmentKey)
+                        .withSegmentPosition(segmentPosition)
+                        .withType("Type" + type)
+                        .withCode(code(type, value))
+                        .withValue("Value " + value)
+                        .withSelectable(true)
+                        .withAllowChange(true)
+                        .withVisible(true)
+                        .withTypeTotal(VALUES_PER_TYPE)
+                        .withDefaultAccommodation(value == 0)
+                        .build());
+                }
+
+                approvedAccommodations.add(new ExamAccommodationBuilder()
+                    .withExamId(exam.getId())
+                    .withSegmentKey(segmentKey)
+                    .withSegmentPosition(segmentPosition)
+                    .withType("Type" + type)
+                    .withCode(code(type, 0))
+                    .withValue("Value 0")
+                    .build());
+                codes.add(code(type, type % VALUES_PER_TYPE == 0 ? 1 : 0));
+            }
+
+            approvedCodes.put(segmentPosition, codes);
+        }
+
+        request = new ApproveAccommodationsRequest(session.getId(), exam.getBrowserId(), true, approvedCodes);
+
+        final ExamAccommodationQueryRepository queryRepository = mock(ExamAccommodationQueryRepository.class, withSettings().stubOnly());
+        final ExamAccommodationCommandRepository commandRepository = mock(ExamAccommodationCommandRepository.class, withSettings().stubOnly());
+        final AssessmentService assessmentService = mock(AssessmentService.class, withSettings().stubOnly());
+        when(queryRepository.findApprovedAccommodations(exam.getId())).thenReturn(approvedAccommodations);
+        when(assessmentService.findAssessmentAccommodationsByAssessmentKey(exam.getClientName(), exam.getAssessmentKey()))
+            .thenReturn(assessmentAccommodations);
+
+        examAccommodationService = new ExamAccommodationServiceImpl(queryRepository, commandRepository, assessmentService);
+    }
+
+    @Benchmark
+    public List<ExamAccommodation> approveAccommodations() {
+        return examAccommodationService.approveAccommodations(exam, session, request);
+    }
+
+    private static String code(final int type, final int value) {
+        return "TDS_Type" + type + "_" + value;
+    }
+}
@@ -63,6 +63,9 @@ public class ExpandableExam {
         this.examSegmentWrappers = builder.examSegmentWrappers;
     }
 
+    /**
+     * Builds an {@link tds.exam.ExpandableExam}.  The builder may be updated by several threads at once.
+     */
     public static class Builder {
         private Exam exam;
         private List<ExamAccommodation> examAccommodations;
@@ -84,77 +87,77 @@ public class ExpandableExam {
             this.exam = exam;
         }
 
-        public Builder withExamAccommodations(List<ExamAccommodation> examAccommodations) {
+        public synchronized Builder withExamAccommodations(List<ExamAccommodation> examAccommodations) {
             this.examAccommodations = examAccommodations;
             return this;
         }
 
-        public Builder withExamSegments(List<ExamSegment> examSegments) {
+        public synchronized Builder withExamSegments(List<ExamSegment> examSegments) {
             this.examSegments = examSegments;
             return this;
         }
 
-        public Builder withExamPages(List<ExamPage> examPages) {
+        public synchronized Builder withExamPages(List<ExamPage> examPages) {
             this.examPages = examPages;
             return this;
         }
 
-        public Builder withExamItems(List<ExamItem> examItems) {
+        public synchronized Builder withExamItems(List<ExamItem> examItems) {
             this.examItems = examItems;
             return this;
         }
 
-        public Builder withExamineeNotes(List<ExamineeNote> examineeNotes) {
+        public synchronized Builder withExamineeNotes(List<ExamineeNote> examineeNotes) {
             this.examineeNotes = examineeNotes;
             return this;
         }
 
-        public Builder withExamineeAttributes(List<ExamineeAttribute> examineeAttributes) {
+        public synchronized Builder withExamineeAttributes(List<ExamineeAttribute> examineeAttributes) {
             this.examineeAttributes = examineeAttributes;
             return this;
         }
 
-        public Builder withExamineeRelationship(List<ExamineeRelationship> examineeRelationships) {
+        public synchronized Builder withExamineeRelationship(List<ExamineeRelationship> examineeRelationships) {
             this.examineeRelationships = examineeRelationships;
             return this;
         }
 
-        public Builder withItemsResponseCount(int itemsResponseCount) {
+        public synchronized Builder withItemsResponseCount(int itemsResponseCount) {
             this.itemsResponseCount = itemsResponseCount;
             return this;
         }
 
-        public Builder withRequestCount(int requestCount) {
+        public synchronized Builder withRequestCount(int requestCount) {
             this.requestCount = requestCount;
             return this;
         }
 
-        public Builder withMultiStageBraille(boolean multiStageBraille) {
+        public synchronized Builder withMultiStageBraille(boolean multiStageBraille) {
             this.multiStageBraille = multiStageBraille;
             return this;
         }
 
-        public Builder withForceCompletedAt(Instant forceCompletedAt) {
+        public synchronized Builder withForceCompletedAt(Instant forceCompletedAt) {
             this.forceCompletedAt = forceCompletedAt;
             return this;
         }
 
-        public Builder withWindowAttempts(int windowAttempts) {
+        public synchronized Builder withWindowAttempts(int windowAttempts) {
             this.windowAttempts = windowAttempts;
             return this;
         }
 
-        public Builder withItemResponseUpdates(Map<UUID, Integer> itemResponseUpdates) {
+        public synchronized Builder withItemResponseUpdates(Map<UUID, Integer> itemResponseUpdates) {
             this.itemResponseUpdates = itemResponseUpdates;
             return this;
         }
 
-        public Builder withExamSegmentWrappers(List<ExamSegmentWrapper> examSegmentWrappers) {
+        public synchronized Builder withExamSegmentWrappers(List<ExamSegmentWrapper> examSegmentWrappers) {
             this.examSegmentWrappers = examSegmentWrappers;
             return this;
         }
 
-        public ExpandableExam build() {
+        public synchronized ExpandableExam build() {
             return new ExpandableExam(this);
         }
     }
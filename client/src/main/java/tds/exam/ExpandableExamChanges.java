@@ -0,0 +1,57 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The changes to the {@link tds.exam.ExpandableExam}s in a session since a version of the session
+ */
+public class ExpandableExamChanges {
+    private long version;
+    private List<ExpandableExam> exams;
+    private List<UUID> removedExamIds;
+
+    //For frameworks
+    ExpandableExamChanges() {
+    }
+
+    public ExpandableExamChanges(final long version, final List<ExpandableExam> exams, final List<UUID> removedExamIds) {
+        this.version = version;
+        this.exams = exams;
+        this.removedExamIds = removedExamIds;
+    }
+
+    /**
+     * @return the version of the session these changes bring the caller up to
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the {@link tds.exam.ExpandableExam}s that were added to or changed in the session
+     */
+    public List<ExpandableExam> getExams() {
+        return exams;
+    }
+
+    /**
+     * @return the ids of the exams that left the session or no longer match the requested statuses
+     */
+    public List<UUID> getRemovedExamIds() {
+        return removedExamIds;
+    }
+}
@@ -0,0 +1,94 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam;
+
+import java.util.UUID;
+
+/**
+ * The progress of a rescore job through the exams submitted to it
+ */
+public class RescoreJobProgress {
+    private UUID jobId;
+    private long pendingCount;
+    private long rescoredCount;
+    private long publishedCount;
+    private long failedCount;
+    private double examsPerMinute;
+    private Long estimatedRemainingMillis;
+
+    //For frameworks
+    RescoreJobProgress() {
+    }
+
+    public RescoreJobProgress(final UUID jobId, final long pendingCount, final long rescoredCount, final long publishedCount,
+                              final long failedCount, final double examsPerMinute, final Long estimatedRemainingMillis) {
+        this.jobId = jobId;
+        this.pendingCount = pendingCount;
+        this.rescoredCount = rescoredCount;
+        this.publishedCount = publishedCount;
+        this.failedCount = failedCount;
+        this.examsPerMinute = examsPerMinute;
+        this.estimatedRemainingMillis = estimatedRemainingMillis;
+    }
+
+    /**
+     * @return the id of the rescore job
+     */
+    public UUID getJobId() {
+        return jobId;
+    }
+
+    /**
+     * @return the number of exams waiting to be rescored
+     */
+    public long getPendingCount() {
+        return pendingCount;
+    }
+
+    /**
+     * @return the number of exams rescored and waiting for their results to be published
+     */
+    public long getRescoredCount() {
+        return rescoredCount;
+    }
+
+    /**
+     * @return the number of exams whose rescored results were published
+     */
+    public long getPublishedCount() {
+        return publishedCount;
+    }
+
+    /**
+     * @return the number of exams that could not be rescored
+     */
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    /**
+     * @return the number of exams rescored per minute over the last few minutes
+     */
+    public double getExamsPerMinute() {
+        return examsPerMinute;
+    }
+
+    /**
+     * @return the estimated time in milliseconds until the pending exams are rescored at the current throughput,
+     * or {@code null} if no exams were rescored recently
+     */
+    public Long getEstimatedRemainingMillis() {
+        return estimatedRemainingMillis;
+    }
+}
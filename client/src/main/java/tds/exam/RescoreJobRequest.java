@@ -0,0 +1,40 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Request creating a rescore job
+ */
+public class RescoreJobRequest {
+    private Set<String> itemKeys = new HashSet<>();
+
+    //For frameworks
+    RescoreJobRequest() {
+    }
+
+    public RescoreJobRequest(final Set<String> itemKeys) {
+        this.itemKeys = itemKeys;
+    }
+
+    /**
+     * @return the bank key and item key of the items to rescore, e.g. "187-1234", or an empty set to rescore every
+     * item of the exams submitted to the job
+     */
+    public Set<String> getItemKeys() {
+        return itemKeys;
+    }
+}
@@ -50,4 +50,7 @@ public class ValidationErrorCode {
     // Exam Items/Responses
     public static final String EXAM_ITEM_DOES_NOT_EXIST = "examItemDoesNotExist";
     public static final String EXAM_ITEM_RESPONSE_DOES_NOT_EXIST = "examItemResponseDoesNotExist";
+
+    // Rescore jobs
+    public static final String RESCORE_JOB_DOES_NOT_EXIST = "rescoreJobDoesNotExist";
 }
@@ -0,0 +1,245 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.score.cache;
+
+import TDS.Shared.Exceptions.ReturnStatusException;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+
+import tds.itemrenderer.data.AccLookup;
+import tds.itemrenderer.data.IITSDocument;
+import tds.itemrenderer.data.ITSMachineRubric;
+
+/**
+ * An in-process cache of parsed item documents and machine rubric data used for scoring.  A few thousand items serve
+ * millions of responses, so this avoids loading and deserializing the same item document for every scored response.
+ * <p>
+ * Each cache is bounded by an estimate of its heap footprint rather than a count of entries since item documents vary
+ * greatly in size.  A cache with a max size of zero is disabled and always loads.
+ * </p>
+ * <p>
+ * Cached documents are shared between threads and must not be modified by the callers.
+ * </p>
+ */
+public class ItemContentCache {
+    // Estimate of the fixed footprint of a parsed document, i.e. the objects built for its attributes and content elements
+    static final int DOCUMENT_OVERHEAD_BYTES = 8 * 1024;
+    private static final int BYTES_PER_CHAR = 2;
+
+    private final Cache<ItemContentKey, IITSDocument> documents;
+    private final Cache<String, String> rubrics;
+
+    /**
+     * @param maxDocumentBytes the estimated max heap footprint of the cached item documents
+     * @param maxRubricBytes   the estimated max heap footprint of the cached rubric data
+     */
+    public ItemContentCache(final long maxDocumentBytes, final long maxRubricBytes) {
+        documents = maxDocumentBytes <= 0
+            ? null
+            : CacheBuilder.newBuilder()
+            .maximumWeight(maxDocumentBytes)
+            .weigher((ItemContentKey key, IITSDocument document) -> weigh(key, document))
+            .recordStats()
+            .build();
+
+        rubrics = maxRubricBytes <= 0
+            ? null
+            : CacheBuilder.newBuilder()
+            .maximumWeight(maxRubricBytes)
+            .weigher((String uri, String rubric) -> weigh(uri) + weigh(rubric))
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Finds an item document, loading it on a miss.  Documents that are not found are not cached.
+     *
+     * @param path           the path of the item document
+     * @param accommodations the {@link tds.itemrenderer.data.AccLookup} the document was requested with
+     * @param loader         loads the document on a miss
+     * @return the {@link tds.itemrenderer.data.IITSDocument} or {@code null} if it was not found
+     * @throws ReturnStatusException if the document cannot be loaded
+     */
+    public IITSDocument getContent(final String path, final AccLookup accommodations, final DocumentLoader loader) throws ReturnStatusException {
+        if (documents == null) {
+            return loader.load();
+        }
+
+        try {
+            return documents.get(new ItemContentKey(path, accommodations), loader::load);
+        } catch (CacheLoader.InvalidCacheLoadException e) {
+            return null;
+        } catch (ExecutionException e) {
+            Throwables.propagateIfInstanceOf(e.getCause(), ReturnStatusException.class);
+            throw Throwables.propagate(e.getCause());
+        } catch (UncheckedExecutionException | ExecutionError e) {
+            throw Throwables.propagate(e.getCause());
+        }
+    }
+
+    /**
+     * Finds the data of a machine rubric, loading it on a miss.  Rubrics that are not found are not cached.
+     *
+     * @param uri    the {@link java.net.URI} of the rubric
+     * @param loader loads the rubric on a miss
+     * @return the rubric data or {@code null} if it was not found
+     * @throws IOException if the rubric cannot be loaded
+     */
+    public String getRubric(final URI uri, final RubricLoader loader) throws IOException {
+        if (rubrics == null) {
+            return loader.load();
+        }
+
+        try {
+            return rubrics.get(uri.toASCIIString(), loader::load);
+        } catch (CacheLoader.InvalidCacheLoadException e) {
+            return null;
+        } catch (ExecutionException e) {
+            Throwables.propagateIfInstanceOf(e.getCause(), IOException.class);
+            throw Throwables.propagate(e.getCause());
+        } catch (UncheckedExecutionException | ExecutionError e) {
+            throw Throwables.propagate(e.getCause());
+        }
+    }
+
+    /**
+     * @return the item document cache statistics if the cache is enabled
+     */
+    public Optional<CacheStats> getDocumentStats() {
+        return Optional.ofNullable(documents).map(Cache::stats);
+    }
+
+    /**
+     * @return the number of cached item documents
+     */
+    public long getDocumentCount() {
+        return documents == null ? 0 : documents.size();
+    }
+
+    /**
+     * @return the rubric cache statistics if the cache is enabled
+     */
+    public Optional<CacheStats> getRubricStats() {
+        return Optional.ofNullable(rubrics).map(Cache::stats);
+    }
+
+    /**
+     * @return the number of cached rubrics
+     */
+    public long getRubricCount() {
+        return rubrics == null ? 0 : rubrics.size();
+    }
+
+    /**
+     * Removes all the cached documents and rubrics
+     */
+    public void invalidateAll() {
+        if (documents != null) {
+            documents.invalidateAll();
+        }
+
+        if (rubrics != null) {
+            rubrics.invalidateAll();
+        }
+    }
+
+    static int weigh(final ItemContentKey key, final IITSDocument document) {
+        final ITSMachineRubric machineRubric = document.getMachineRubric();
+
+        return DOCUMENT_OVERHEAD_BYTES
+            + weigh(key.path)
+            + weigh(document.getRendererSpec())
+            + weigh(document.getAnswerKey())
+            + (machineRubric == null ? 0 : weigh(machineRubric.getData()));
+    }
+
+    private static int weigh(final String value) {
+        return value == null ? 0 : value.length() * BYTES_PER_CHAR;
+    }
+
+    /**
+     * Loads an item document on a cache miss
+     */
+    @FunctionalInterface
+    public interface DocumentLoader {
+        IITSDocument load() throws ReturnStatusException;
+    }
+
+    /**
+     * Loads rubric data on a cache miss
+     */
+    @FunctionalInterface
+    public interface RubricLoader {
+        String load() throws IOException;
+    }
+
+    /**
+     * Identifies a document by its path and the accommodations it was requested with.  The accommodation codes are
+     * copied, so the key does not change with the {@link tds.itemrenderer.data.AccLookup} it was created from.
+     */
+    static final class ItemContentKey {
+        private final String path;
+        private final long position;
+        private final long id;
+        private final Map<String, List<String>> accommodationCodes;
+
+        ItemContentKey(final String path, final AccLookup accommodations) {
+            this.path = path;
+            this.position = accommodations == null ? 0 : accommodations.getPosition();
+            this.id = accommodations == null ? 0 : accommodations.getId();
+            this.accommodationCodes = accommodations == null ? Collections.emptyMap() : copy(accommodations.getTypes());
+        }
+
+        private static Map<String, List<String>> copy(final Map<String, List<String>> accommodationTypes) {
+            final Map<String, List<String>> codes = new TreeMap<>();
+            for (final Map.Entry<String, List<String>> type : accommodationTypes.entrySet()) {
+                codes.put(type.getKey(), type.getValue() == null ? Collections.emptyList() : new ArrayList<>(type.getValue()));
+            }
+
+            return codes;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final ItemContentKey that = (ItemContentKey) o;
+            return position == that.position &&
+                id == that.id &&
+                Objects.equals(path, that.path) &&
+                Objects.equals(accommodationCodes, that.accommodationCodes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, position, id, accommodationCodes);
+        }
+    }
+}
@@ -0,0 +1,246 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.score.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import tds.itemscoringengine.ItemScore;
+import tds.itemscoringengine.ItemScoreInfo;
+import tds.itemscoringengine.ScoringStatus;
+
+/**
+ * An in-process cache of the scores of responses to items whose scorer is deterministic, i.e. the score depends only
+ * on the item, its rubric and the response.  The students taking an assessment submit the same few responses to a
+ * multiple choice item, so this avoids scoring the same response to the same item over and over again.
+ * <p>
+ * Scores are keyed by the item format, the item id, a hash of the rubric content and the response exactly as it was
+ * submitted, so a changed rubric is never scored from the scores of the old one.  Only responses that were scored are
+ * cached; errors are scored again the next time.  The cache is bounded by a count of entries and a cache with a max
+ * size of zero is disabled and always scores.
+ * </p>
+ * <p>
+ * The callers modify the scores they are given, so a copy of the cached score is stored and returned.  The score
+ * rationale is shared between the copies and must not be modified.
+ * </p>
+ */
+public class ItemScoreCache {
+    private final Cache<ItemScoreKey, ItemScore> scores;
+    private final Set<String> formats;
+    private final ConcurrentMap<String, FormatStats> formatStats = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxEntries the max number of cached scores
+     * @param formats    the item formats whose scorers are deterministic
+     */
+    public ItemScoreCache(final long maxEntries, final Collection<String> formats) {
+        this.formats = formats.stream()
+            .map(ItemScoreCache::normalizeFormat)
+            .collect(Collectors.toSet());
+
+        scores = maxEntries <= 0 || this.formats.isEmpty()
+            ? null
+            : CacheBuilder.newBuilder()
+            .maximumSize(maxEntries)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * @param format the item format
+     * @return {@code true} if responses to items of the format are cached
+     */
+    public boolean isCached(final String format) {
+        return scores != null && format != null && formats.contains(normalizeFormat(format));
+    }
+
+    /**
+     * Finds the score of a response, scoring it on a miss.  Responses to items whose format is not cached are always
+     * scored.
+     *
+     * @param format   the item format
+     * @param itemId   the id of the item, i.e. "I-[bank key]-[item key]"
+     * @param rubric   the rubric content the response is scored with
+     * @param response the response
+     * @param scorer   scores the response on a miss
+     * @return a copy of the {@link tds.itemscoringengine.ItemScore} of the response
+     * @throws Exception if the response cannot be scored
+     */
+    public ItemScore getScore(final String format, final String itemId, final Object rubric, final String response,
+                              final Scorer scorer) throws Exception {
+        if (!isCached(format)) {
+            return scorer.score();
+        }
+
+        final String normalizedFormat = normalizeFormat(format);
+        final FormatStats stats = formatStats.computeIfAbsent(normalizedFormat, key -> new FormatStats());
+        final ItemScoreKey key = new ItemScoreKey(normalizedFormat, itemId, hashRubric(rubric), response);
+
+        final ItemScore cached = scores.getIfPresent(key);
+        if (cached != null) {
+            stats.hits.incrementAndGet();
+            return copy(cached);
+        }
+
+        stats.misses.incrementAndGet();
+        final ItemScore score = scorer.score();
+        if (score != null && score.getScoreInfo() != null && score.getScoreInfo().getStatus() == ScoringStatus.Scored) {
+            scores.put(key, copy(score));
+        }
+
+        return score;
+    }
+
+    /**
+     * @return the hit and miss counts of each cached item format that has been scored, by format
+     */
+    public Map<String, FormatStats> getFormatStats() {
+        return Collections.unmodifiableMap(new TreeMap<>(formatStats));
+    }
+
+    /**
+     * @return the number of cached scores
+     */
+    public long getScoreCount() {
+        return scores == null ? 0 : scores.size();
+    }
+
+    /**
+     * @return the number of scores evicted from the cache
+     */
+    public long getEvictionCount() {
+        return scores == null ? 0 : scores.stats().evictionCount();
+    }
+
+    /**
+     * Removes all the cached scores
+     */
+    public void invalidateAll() {
+        if (scores != null) {
+            scores.invalidateAll();
+        }
+    }
+
+    static ItemScore copy(final ItemScore score) {
+        final ItemScoreInfo scoreInfo = score.getScoreInfo();
+        final ItemScore copy = new ItemScore(scoreInfo.getPoints(), scoreInfo.getMaxScore(), scoreInfo.getStatus(),
+            scoreInfo.getDimension(), scoreInfo.getRationale(), copy(scoreInfo.getSubScores()), score.getContextToken());
+        copy.setScoreLatency(score.getScoreLatency());
+        return copy;
+    }
+
+    private static List<ItemScoreInfo> copy(final List<ItemScoreInfo> subScores) {
+        if (subScores == null) {
+            return null;
+        }
+
+        final List<ItemScoreInfo> copies = new ArrayList<>(subScores.size());
+        for (final ItemScoreInfo subScore : subScores) {
+            final ItemScoreInfo copy = new ItemScoreInfo(subScore.getPoints(), subScore.getMaxScore(), subScore.getStatus(),
+                subScore.getDimension(), subScore.getRationale());
+            copy.setSubScores(copy(subScore.getSubScores()));
+            copies.add(copy);
+        }
+
+        return copies;
+    }
+
+    private static String normalizeFormat(final String format) {
+        return format.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static HashCode hashRubric(final Object rubric) {
+        return Hashing.sha256().hashString(rubric == null ? "" : rubric.toString(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Scores a response on a cache miss
+     */
+    @FunctionalInterface
+    public interface Scorer {
+        ItemScore score() throws Exception;
+    }
+
+    /**
+     * The hit and miss counts of an item format
+     */
+    public static final class FormatStats {
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+
+        public long getHitCount() {
+            return hits.get();
+        }
+
+        public long getMissCount() {
+            return misses.get();
+        }
+
+        /**
+         * @return the ratio of hits to requests, or 1.0 if there have been no requests
+         */
+        public double getHitRate() {
+            final long hitCount = hits.get();
+            final long requestCount = hitCount + misses.get();
+            return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+        }
+    }
+
+    static final class ItemScoreKey {
+        private final String format;
+        private final String itemId;
+        private final HashCode rubricHash;
+        private final String response;
+
+        ItemScoreKey(final String format, final String itemId, final HashCode rubricHash, final String response) {
+            this.format = format;
+            this.itemId = itemId;
+            this.rubricHash = rubricHash;
+            this.response = response;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final ItemScoreKey that = (ItemScoreKey) o;
+            return Objects.equals(format, that.format) &&
+                Objects.equals(itemId, that.itemId) &&
+                Objects.equals(rubricHash, that.rubricHash) &&
+                Objects.equals(response, that.response);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(format, itemId, rubricHash, response);
+        }
+    }
+}
@@ -13,6 +13,10 @@
 
 package tds.score.configuration;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 public class ItemScoreSettings {
     private boolean enabled = true;
     private boolean debug = false;
@@ -23,6 +27,19 @@ public class ItemScoreSettings {
     private int timerPendingMinutes = 15;
     private int timerMaxAttempts = 10;
     private boolean encryptionEnabled = false;
+    private boolean batchEnabled = false;
+    private int batchThreadCount = 8;
+    private long contentCacheMaxBytes = 0;
+    private long rubricCacheMaxBytes = 0;
+    private long scoreCacheMaxEntries = 0;
+    private List<String> scoreCacheFormats = new ArrayList<>(Arrays.asList("MC", "MS"));
+    private boolean scoringQueueEnabled = false;
+    private int scoringQueueBatchSize = 50;
+    private int scoringQueueThreadCount = 8;
+    private long scoringQueuePollIntervalMillis = 1000;
+    private long scoringQueueLeaseMillis = 300000;
+    private long scoringQueueBackoffMillis = 5000;
+    private long scoringQueueMaxBackoffMillis = 300000;
 
     public boolean isEnabled() {
         return enabled;
@@ -95,4 +112,108 @@ public class ItemScoreSettings {
     public void setEncryptionEnabled(final boolean encryptionEnabled) {
         this.encryptionEnabled = encryptionEnabled;
     }
+
+    public boolean isBatchEnabled() {
+        return batchEnabled;
+    }
+
+    public void setBatchEnabled(final boolean batchEnabled) {
+        this.batchEnabled = batchEnabled;
+    }
+
+    public int getBatchThreadCount() {
+        return batchThreadCount;
+    }
+
+    public void setBatchThreadCount(final int batchThreadCount) {
+        this.batchThreadCount = batchThreadCount;
+    }
+
+    public long getContentCacheMaxBytes() {
+        return contentCacheMaxBytes;
+    }
+
+    public void setContentCacheMaxBytes(final long contentCacheMaxBytes) {
+        this.contentCacheMaxBytes = contentCacheMaxBytes;
+    }
+
+    public long getRubricCacheMaxBytes() {
+        return rubricCacheMaxBytes;
+    }
+
+    public void setRubricCacheMaxBytes(final long rubricCacheMaxBytes) {
+        this.rubricCacheMaxBytes = rubricCacheMaxBytes;
+    }
+
+    public long getScoreCacheMaxEntries() {
+        return scoreCacheMaxEntries;
+    }
+
+    public void setScoreCacheMaxEntries(final long scoreCacheMaxEntries) {
+        this.scoreCacheMaxEntries = scoreCacheMaxEntries;
+    }
+
+    public List<String> getScoreCacheFormats() {
+        return scoreCacheFormats;
+    }
+
+    public void setScoreCacheFormats(final List<String> scoreCacheFormats) {
+        this.scoreCacheFormats = scoreCacheFormats;
+    }
+
+    public boolean isScoringQueueEnabled() {
+        return scoringQueueEnabled;
+    }
+
+    public void setScoringQueueEnabled(final boolean scoringQueueEnabled) {
+        this.scoringQueueEnabled = scoringQueueEnabled;
+    }
+
+    public int getScoringQueueBatchSize() {
+        return scoringQueueBatchSize;
+    }
+
+    public void setScoringQueueBatchSize(final int scoringQueueBatchSize) {
+        this.scoringQueueBatchSize = scoringQueueBatchSize;
+    }
+
+    public int getScoringQueueThreadCount() {
+        return scoringQueueThreadCount;
+    }
+
+    public void setScoringQueueThreadCount(final int scoringQueueThreadCount) {
+        this.scoringQueueThreadCount = scoringQueueThreadCount;
+    }
+
+    public long getScoringQueuePollIntervalMillis() {
+        return scoringQueuePollIntervalMillis;
+    }
+
+    public void setScoringQueuePollIntervalMillis(final long scoringQueuePollIntervalMillis) {
+        this.scoringQueuePollIntervalMillis = scoringQueuePollIntervalMillis;
+    }
+
+    public long getScoringQueueLeaseMillis() {
+        return scoringQueueLeaseMillis;
+    }
+
+    public void setScoringQueueLeaseMillis(final long scoringQueueLeaseMillis) {
+        this.scoringQueueLeaseMillis = scoringQueueLeaseMillis;
+    }
+
+    public long getScoringQueueBackoffMillis() {
+        return scoringQueueBackoffMillis;
+    }
+
+    public void setScoringQueueBackoffMillis(final long scoringQueueBackoffMillis) {
+        this.scoringQueueBackoffMillis = scoringQueueBackoffMillis;
+    }
+
+    public long getScoringQueueMaxBackoffMillis() {
+        return scoringQueueMaxBackoffMillis;
+    }
+
+    public void setScoringQueueMaxBackoffMillis(final long scoringQueueMaxBackoffMillis) {
+        this.scoringQueueMaxBackoffMillis = scoringQueueMaxBackoffMillis;
+    }
 }
@@ -13,11 +13,18 @@
 
 package tds.score.configuration;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import tds.itemrenderer.processing.ItemDataService;
 import tds.itemscoringengine.IItemScorerManager;
+import tds.score.cache.ItemContentCache;
+import tds.score.cache.ItemScoreCache;
 import tds.score.repositories.ContentRepository;
 import tds.score.services.ContentService;
 import tds.score.services.ItemScoringService;
@@ -36,18 +43,39 @@ public class ScoringConfiguration {
                                                     final ScoreConfigService scoreConfigService,
                                                     final ContentService contentService,
                                                     final IItemScorerManager itemScorer,
-                                                    final ItemDataService itemDataService) {
+                                                    final ItemDataService itemDataService,
+                                                    @Qualifier("itemScoringExecutor") final ExecutorService itemScoringExecutor,
+                                                    final ItemScoreCache itemScoreCache) {
         return new ItemScoringServiceImpl(responseService,
             scoreConfigService,
             contentService,
             itemScorer,
             itemScoreSettings,
-            itemDataService);
+            itemDataService,
+            itemScoringExecutor,
+            itemScoreCache);
+    }
+
+    @Bean(name = "itemScoringExecutor", destroyMethod = "shutdown")
+    public ExecutorService getItemScoringExecutor(final ItemScoreSettings itemScoreSettings) {
+        return Executors.newFixedThreadPool(itemScoreSettings.getBatchThreadCount(),
+            new CustomizableThreadFactory("item-scoring-"));
     }
 
     @Bean
     public ContentService getContentService(final ItemService itemService,
-                                            final ContentRepository contentRepository) {
-        return new ContentServiceImpl(itemService, contentRepository);
+                                            final ContentRepository contentRepository,
+                                            final ItemContentCache itemContentCache) {
+        return new ContentServiceImpl(itemService, contentRepository, itemContentCache);
+    }
+
+    @Bean
+    public ItemContentCache getItemContentCache(final ItemScoreSettings itemScoreSettings) {
+        return new ItemContentCache(itemScoreSettings.getContentCacheMaxBytes(), itemScoreSettings.getRubricCacheMaxBytes());
+    }
+
+    @Bean
+    public ItemScoreCache getItemScoreCache(final ItemScoreSettings itemScoreSettings) {
+        return new ItemScoreCache(itemScoreSettings.getScoreCacheMaxEntries(), itemScoreSettings.getScoreCacheFormats());
     }
 }
@@ -0,0 +1,74 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.score.model;
+
+import tds.student.sql.data.IItemResponseUpdate;
+
+/**
+ * A response update along with the score to persist for it
+ */
+public class ScoredResponse {
+    private final IItemResponseUpdate responseUpdate;
+    private final int score;
+    private final String scoreStatus;
+    private final String scoreRationale;
+    private final long scoreLatency;
+
+    public ScoredResponse(final IItemResponseUpdate responseUpdate,
+                          final int score,
+                          final String scoreStatus,
+                          final String scoreRationale,
+                          final long scoreLatency) {
+        this.responseUpdate = responseUpdate;
+        this.score = score;
+        this.scoreStatus = scoreStatus;
+        this.scoreRationale = scoreRationale;
+        this.scoreLatency = scoreLatency;
+    }
+
+    /**
+     * @return the response being updated
+     */
+    public IItemResponseUpdate getResponseUpdate() {
+        return responseUpdate;
+    }
+
+    /**
+     * @return the score for the response, or a negative value if it has not been scored
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * @return the {@link tds.itemscoringengine.ScoringStatus} of the score
+     */
+    public String getScoreStatus() {
+        return scoreStatus;
+    }
+
+    /**
+     * @return the rationale for the score
+     */
+    public String getScoreRationale() {
+        return scoreRationale;
+    }
+
+    /**
+     * @return the time in milliseconds it took to score the response
+     */
+    public long getScoreLatency() {
+        return scoreLatency;
+    }
+}
@@ -0,0 +1,246 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.score.model;
+
+import org.joda.time.Instant;
+
+import java.util.UUID;
+
+/**
+ * A response persisted as waiting for a machine score along with what is needed to score it.  Scoring jobs are kept
+ * in a durable queue until the response has been scored, so responses are not left unscored when an instance stops
+ * or a scoring callback is lost.
+ */
+public class ScoringJob {
+    private UUID scoreMark;
+    private UUID examId;
+    private UUID examItemId;
+    private String clientName;
+    private int position;
+    private int sequence;
+    private long bankKey;
+    private long itemKey;
+    private String itemFilePath;
+    private String languageCode;
+    private String response;
+    private Instant scoreSentAt;
+    private int attempts;
+    private String leaseOwner;
+
+    private ScoringJob(final Builder builder) {
+        scoreMark = builder.scoreMark;
+        examId = builder.examId;
+        examItemId = builder.examItemId;
+        clientName = builder.clientName;
+        position = builder.position;
+        sequence = builder.sequence;
+        bankKey = builder.bankKey;
+        itemKey = builder.itemKey;
+        itemFilePath = builder.itemFilePath;
+        languageCode = builder.languageCode;
+        response = builder.response;
+        scoreSentAt = builder.scoreSentAt;
+        attempts = builder.attempts;
+        leaseOwner = builder.leaseOwner;
+    }
+
+    public static class Builder {
+        private UUID scoreMark;
+        private UUID examId;
+        private UUID examItemId;
+        private String clientName;
+        private int position;
+        private int sequence;
+        private long bankKey;
+        private long itemKey;
+        private String itemFilePath;
+        private String languageCode;
+        private String response;
+        private Instant scoreSentAt;
+        private int attempts;
+        private String leaseOwner;
+
+        public Builder withScoreMark(final UUID scoreMark) {
+            this.scoreMark = scoreMark;
+            return this;
+        }
+
+        public Builder withExamId(final UUID examId) {
+            this.examId = examId;
+            return this;
+        }
+
+        public Builder withExamItemId(final UUID examItemId) {
+            this.examItemId = examItemId;
+            return this;
+        }
+
+        public Builder withClientName(final String clientName) {
+            this.clientName = clientName;
+            return this;
+        }
+
+        public Builder withPosition(final int position) {
+            this.position = position;
+            return this;
+        }
+
+        public Builder withSequence(final int sequence) {
+            this.sequence = sequence;
+            return this;
+        }
+
+        public Builder withBankKey(final long bankKey) {
+            this.bankKey = bankKey;
+            return this;
+        }
+
+        public Builder withItemKey(final long itemKey) {
+            this.itemKey = itemKey;
+            return this;
+        }
+
+        public Builder withItemFilePath(final String itemFilePath) {
+            this.itemFilePath = itemFilePath;
+            return this;
+        }
+
+        public Builder withLanguageCode(final String languageCode) {
+            this.languageCode = languageCode;
+            return this;
+        }
+
+        public Builder withResponse(final String response) {
+            this.response = response;
+            return this;
+        }
+
+        public Builder withScoreSentAt(final Instant scoreSentAt) {
+            this.scoreSentAt = scoreSentAt;
+            return this;
+        }
+
+        public Builder withAttempts(final int attempts) {
+            this.attempts = attempts;
+            return this;
+        }
+
+        public Builder withLeaseOwner(final String leaseOwner) {
+            this.leaseOwner = leaseOwner;
+            return this;
+        }
+
+        public ScoringJob build() {
+            return new ScoringJob(this);
+        }
+    }
+
+    /**
+     * @return the score mark of the response, which identifies the response the score is for
+     */
+    public UUID getScoreMark() {
+        return scoreMark;
+    }
+
+    /**
+     * @return the id of the exam the response belongs to
+     */
+    public UUID getExamId() {
+        return examId;
+    }
+
+    /**
+     * @return the id of the exam item the response is for
+     */
+    public UUID getExamItemId() {
+        return examItemId;
+    }
+
+    /**
+     * @return the client name of the exam
+     */
+    public String getClientName() {
+        return clientName;
+    }
+
+    /**
+     * @return the position of the item in the exam
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * @return the sequence of the response
+     */
+    public int getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @return the bank key of the item
+     */
+    public long getBankKey() {
+        return bankKey;
+    }
+
+    /**
+     * @return the item key of the item
+     */
+    public long getItemKey() {
+        return itemKey;
+    }
+
+    /**
+     * @return the path of the item document
+     */
+    public String getItemFilePath() {
+        return itemFilePath;
+    }
+
+    /**
+     * @return the language code of the exam, used to find the item's rubric
+     */
+    public String getLanguageCode() {
+        return languageCode;
+    }
+
+    /**
+     * @return the response to score
+     */
+    public String getResponse() {
+        return response;
+    }
+
+    /**
+     * @return when the response was sent for scoring
+     */
+    public Instant getScoreSentAt() {
+        return scoreSentAt;
+    }
+
+    /**
+     * @return the number of times the job has been claimed for scoring
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * @return the id of the claim that holds the lease on the job, if it is claimed
+     */
+    public String getLeaseOwner() {
+        return leaseOwner;
+    }
+}
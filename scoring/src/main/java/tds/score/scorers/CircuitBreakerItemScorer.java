@@ -0,0 +1,171 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.score.scorers;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import tds.itemscoringengine.IItemScorer;
+import tds.itemscoringengine.IItemScorerCallback;
+import tds.itemscoringengine.ItemScore;
+import tds.itemscoringengine.ResponseInfo;
+import tds.itemscoringengine.ScoreRationale;
+import tds.itemscoringengine.ScorerInfo;
+import tds.itemscoringengine.ScoringStatus;
+
+/**
+ * Guards an {@link tds.itemscoringengine.IItemScorer} that depends on a remote scoring engine, e.g. the sympy engine
+ * scoring equations.  After a number of consecutive failures the breaker opens and responses are returned with the
+ * rejected status without calling the engine, so scoring threads are not held waiting on an engine that is down.  Once
+ * the open time has passed a single trial response is let through, closing the breaker if it is scored.
+ * <p>
+ * The rejected status should only be {@link tds.itemscoringengine.ScoringStatus#WaitingForMachineScore} if the
+ * responses waiting for a machine score are scored again later, otherwise
+ * {@link tds.itemscoringengine.ScoringStatus#ScoringError}.
+ * </p>
+ * <p>
+ * A failure is an exception or a {@link tds.itemscoringengine.ScoringStatus#ScoringError} score.
+ * </p>
+ * <p>
+ * This only guards the engine's scorer.  The requests to the remote engine, their connections and how many equations
+ * each carries are up to the guarded scorer.
+ * </p>
+ */
+public class CircuitBreakerItemScorer implements IItemScorer {
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreakerItemScorer.class);
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final IItemScorer itemScorer;
+    private final int failureThreshold;
+    private final long openMillis;
+    private final ScoringStatus rejectedStatus;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean trialInProgress = new AtomicBoolean();
+    private final AtomicLong tripCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private volatile long lastFailureMillis;
+
+    /**
+     * @param itemScorer       the {@link tds.itemscoringengine.IItemScorer} to guard
+     * @param failureThreshold the number of consecutive failures opening the breaker
+     * @param openMillis       how long the breaker stays open before letting a trial response through
+     * @param rejectedStatus   the {@link tds.itemscoringengine.ScoringStatus} of the responses returned while the
+     *                         breaker is open
+     */
+    public CircuitBreakerItemScorer(final IItemScorer itemScorer, final int failureThreshold, final long openMillis,
+                                    final ScoringStatus rejectedStatus) {
+        this.itemScorer = itemScorer;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.rejectedStatus = rejectedStatus;
+    }
+
+    @Override
+    public ScorerInfo GetScorerInfo() {
+        return itemScorer.GetScorerInfo();
+    }
+
+    @Override
+    public ItemScore ScoreItem(final ResponseInfo studentResponse, final IItemScorerCallback callbackReference) {
+        final boolean trial;
+        if (getState() == State.CLOSED) {
+            trial = false;
+        } else if (getState() == State.HALF_OPEN && trialInProgress.compareAndSet(false, true)) {
+            trial = true;
+        } else {
+            rejectedCount.incrementAndGet();
+            return createScore(rejectedStatus, "The scoring engine is unavailable");
+        }
+
+        try {
+            final ItemScore score = scoreItem(studentResponse, callbackReference);
+            if (score == null || score.getScoreInfo().getStatus() == ScoringStatus.ScoringError) {
+                recordFailure();
+            } else {
+                recordSuccess();
+            }
+
+            return score;
+        } finally {
+            if (trial) {
+                trialInProgress.set(false);
+            }
+        }
+    }
+
+    /**
+     * @return the {@link tds.score.scorers.CircuitBreakerItemScorer.State} of the breaker
+     */
+    public State getState() {
+        if (consecutiveFailures.get() < failureThreshold) {
+            return State.CLOSED;
+        }
+
+        return System.currentTimeMillis() - lastFailureMillis < openMillis ? State.OPEN : State.HALF_OPEN;
+    }
+
+    /**
+     * @return the number of times the breaker opened
+     */
+    public long getTripCount() {
+        return tripCount.get();
+    }
+
+    /**
+     * @return the number of responses returned without calling the guarded scorer
+     */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    private ItemScore scoreItem(final ResponseInfo studentResponse, final IItemScorerCallback callbackReference) {
+        try {
+            return itemScorer.ScoreItem(studentResponse, callbackReference);
+        } catch (final Exception e) {
+            log.warn("Problem scoring item", e);
+            return createScore(ScoringStatus.ScoringError, "Exception scoring item: " + e);
+        }
+    }
+
+    private void recordFailure() {
+        // The breaker stays open for the open time after the last failure, so a failed trial reopens it
+        lastFailureMillis = System.currentTimeMillis();
+        if (consecutiveFailures.incrementAndGet() == failureThreshold) {
+            tripCount.incrementAndGet();
+            log.warn("Opening the scoring circuit breaker after {} consecutive failures", failureThreshold);
+        }
+    }
+
+    private void recordSuccess() {
+        if (consecutiveFailures.getAndSet(0) >= failureThreshold) {
+            log.info("Closing the scoring circuit breaker");
+        }
+    }
+
+    private static ItemScore createScore(final ScoringStatus scoringStatus, final String message) {
+        final ScoreRationale scoreRationale = new ScoreRationale();
+        scoreRationale.setMsg(message);
+        return new ItemScore(-1, -1, scoringStatus, null, scoreRationale, null, null);
+    }
+}
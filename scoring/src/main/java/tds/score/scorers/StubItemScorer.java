@@ -0,0 +1,67 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.score.scorers;
+
+import tds.itemscoringengine.IItemScorer;
+import tds.itemscoringengine.IItemScorerCallback;
+import tds.itemscoringengine.ItemScore;
+import tds.itemscoringengine.ResponseInfo;
+import tds.itemscoringengine.ScoreRationale;
+import tds.itemscoringengine.ScorerInfo;
+import tds.itemscoringengine.ScoringStatus;
+
+/**
+ * Stands in for an {@link tds.itemscoringengine.IItemScorer} that depends on a remote scoring engine in load tests.
+ * Every response is scored 1 of 1 after a fixed latency, without calling the engine.  The
+ * {@link tds.itemscoringengine.ScorerInfo} is the one of the replaced scorer, so the rubrics are still loaded and the
+ * responses are scored on the same threads as they would be by the engine.
+ */
+public class StubItemScorer implements IItemScorer {
+    private final IItemScorer itemScorer;
+    private final long latencyMillis;
+
+    /**
+     * @param itemScorer    the replaced {@link tds.itemscoringengine.IItemScorer}
+     * @param latencyMillis how long scoring a response takes
+     */
+    public StubItemScorer(final IItemScorer itemScorer, final long latencyMillis) {
+        this.itemScorer = itemScorer;
+        this.latencyMillis = latencyMillis;
+    }
+
+    @Override
+    public ScorerInfo GetScorerInfo() {
+        return itemScorer.GetScorerInfo();
+    }
+
+    @Override
+    public ItemScore ScoreItem(final ResponseInfo studentResponse, final IItemScorerCallback callbackReference) {
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return createScore(-1, -1, ScoringStatus.ScoringError, "Interrupted scoring the response");
+            }
+        }
+
+        return createScore(1, 1, ScoringStatus.Scored, "Scored by the stub scorer");
+    }
+
+    private static ItemScore createScore(final int points, final int maxPoints, final ScoringStatus scoringStatus, final String message) {
+        final ScoreRationale scoreRationale = new ScoreRationale();
+        scoreRationale.setMsg(message);
+        return new ItemScore(points, maxPoints, scoringStatus, null, scoreRationale, null, null);
+    }
+}
@@ -18,12 +18,14 @@ import TDS.Shared.Exceptions.ReturnStatusException;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import tds.common.ValidationError;
 import tds.itemrenderer.data.IITSDocument;
 import tds.itemscoringengine.ItemScore;
 import tds.score.model.ExamInstance;
+import tds.score.model.ScoringJob;
 import tds.student.sql.data.IItemResponseScorable;
 import tds.student.sql.data.ItemResponseUpdate;
 import tds.student.sql.data.ItemResponseUpdateStatus;
@@ -32,10 +34,20 @@ import tds.trt.model.TDSReport;
 public interface ItemScoringService {
     ItemScore checkScoreability(final IItemResponseScorable responseScorable, final IITSDocument itsDoc) throws ReturnStatusException;
 
-    ItemScore checkScoreability(final TDSReport testResults, final IITSDocument itsDoc, final String languageCode) throws ReturnStatusException;
+    ItemScore checkScoreability(final TDSReport.Test test, final IITSDocument itsDoc, final String languageCode) throws ReturnStatusException;
 
     boolean updateItemScore(final UUID oppKey, final IItemResponseScorable response, final ItemScore score) throws ReturnStatusException;
 
+    /**
+     * Updates the response of a scoring job with its machine score
+     *
+     * @param job   the {@link tds.score.model.ScoringJob} that was scored
+     * @param score the score of the response
+     * @return {@code true} if the response was updated, {@code false} if it has been replaced since the job was created
+     * @throws ReturnStatusException
+     */
+    boolean updateItemScore(final ScoringJob job, final ItemScore score) throws ReturnStatusException;
+
     /**
      * Updates the responses based on scores
      *
@@ -52,6 +64,16 @@ public interface ItemScoringService {
     ItemScore scoreItem(final TDSReport testResults, final TDSReport.Opportunity.Item item,
                         final IITSDocument itsDoc, final String languageCode) throws ReturnStatusException;
 
+    /**
+     * Scores the response of a scoring job.  The response is scored synchronously, even for items whose scorer
+     * supports asynchronous scoring.
+     *
+     * @param job the {@link tds.score.model.ScoringJob} to score
+     * @return the score of the response
+     * @throws ReturnStatusException
+     */
+    ItemScore scoreJob(final ScoringJob job) throws ReturnStatusException;
+
     /**
      * Rescores test results and forwards the TRT to ERT for processing
      *
@@ -61,4 +83,32 @@ public interface ItemScoringService {
      * @throws ReturnStatusException
      */
     Optional<ValidationError> rescoreTestResults(final UUID examId, final TDSReport testResults) throws ReturnStatusException;
+
+    /**
+     * Rescores the given items of test results, leaving the scores of the other items as they are
+     *
+     * @param examId      The id of the exam being rescored
+     * @param testResults The test results to rescore
+     * @param itemKeys    The bank key and item key of the items to rescore, e.g. "187-1234", or an empty set to rescore
+     *                    every item
+     * @return A status indicating whether or not the rescore was successful
+     * @throws ReturnStatusException
+     */
+    Optional<ValidationError> rescoreTestResults(final UUID examId, final TDSReport testResults, final Set<String> itemKeys) throws ReturnStatusException;
+
+    /**
+     * Rescores an item of test results, as {@link #rescoreTestResults(UUID, TDSReport, Set)} does for each of their
+     * items.  Used to rescore the items of test results as they are read by a
+     * {@link tds.score.xml.TestResultsXmlReader}.
+     *
+     * @param examId      The id of the exam being rescored
+     * @param testResults The test results the item belongs to.  Only their Test and Opportunity accommodations are used.
+     * @param item        The item to rescore
+     * @param itemKeys    The bank key and item key of the items to rescore, e.g. "187-1234", or an empty set to rescore
+     *                    every item
+     * @return A status indicating whether or not the rescore was successful
+     * @throws ReturnStatusException
+     */
+    Optional<ValidationError> rescoreItem(final UUID examId, final TDSReport testResults, final TDSReport.Opportunity.Item item,
+                                          final Set<String> itemKeys) throws ReturnStatusException;
 }
@@ -16,9 +16,12 @@ package tds.score.services;
 import TDS.Shared.Data.ReturnStatus;
 import TDS.Shared.Exceptions.ReturnStatusException;
 
+import java.util.List;
 import java.util.UUID;
 
 import tds.score.model.ExamInstance;
+import tds.score.model.ScoredResponse;
+import tds.score.model.ScoringJob;
 import tds.student.sql.data.IItemResponseScorable;
 import tds.student.sql.data.IItemResponseUpdate;
 
@@ -42,6 +45,19 @@ public interface ResponseService {
     ReturnStatus updateScoredResponse(final ExamInstance examInstance, final IItemResponseUpdate responseUpdate, final int score,
                                       final String scoreStatus, final String scoreRationale, final long scoreLatency, final long pageDuration) throws ReturnStatusException;
 
+    /**
+     * Updates a batch of responses with their scores.  The exam, items and pages are loaded once for the batch and all
+     * of the responses and page duration changes are written together.
+     *
+     * @param examInstance    {@link tds.score.model.ExamInstance} that contains the information for the exam
+     * @param scoredResponses the {@link tds.score.model.ScoredResponse}s to persist
+     * @param pageDuration    the page duration
+     * @return a {@link TDS.Shared.Data.ReturnStatus} for each scored response, in the same order
+     * @throws ReturnStatusException if there is any type of error or validation condition failure
+     */
+    List<ReturnStatus> updateScoredResponses(final ExamInstance examInstance, final List<ScoredResponse> scoredResponses,
+                                             final long pageDuration) throws ReturnStatusException;
+
     /**
      * Updates a specific item with an updated score.
      *
@@ -55,4 +71,18 @@ public interface ResponseService {
      * @throws ReturnStatusException if there is an unexpected error
      */
     ReturnStatus updateItemScore(final UUID examId, final IItemResponseScorable responseScorable, final int score, final String scoreStatus, final String scoreRationale, final String scoreDimensions) throws ReturnStatusException;
+
+    /**
+     * Updates the response of a scoring job with its machine score and removes the job from the scoring queue.  The
+     * response is only updated if it is still the one the job was created for.
+     *
+     * @param job             the {@link tds.score.model.ScoringJob} that was scored
+     * @param score           score for the item
+     * @param scoreStatus     the score status for the item
+     * @param scoreRationale  the score rationale
+     * @param scoreDimensions the dimensions associated with the score
+     * @return {@link TDS.Shared.Data.ReturnStatus} that contains the status of the update
+     * @throws ReturnStatusException if there is an unexpected error
+     */
+    ReturnStatus updateItemScore(final ScoringJob job, final int score, final String scoreStatus, final String scoreRationale, final String scoreDimensions) throws ReturnStatusException;
 }
@@ -28,6 +28,7 @@ import tds.itemrenderer.data.IITSDocument;
 import tds.itemrenderer.data.ITSContent;
 import tds.itemrenderer.data.ITSMachineRubric;
 import tds.itemscoringengine.RubricContentSource;
+import tds.score.cache.ItemContentCache;
 import tds.score.model.Item;
 import tds.score.repositories.ContentRepository;
 import tds.score.services.ContentService;
@@ -41,11 +42,15 @@ public class ContentServiceImpl implements ContentService {
 
     private final ItemService itemService;
     private final ContentRepository contentRepository;
+    private final ItemContentCache itemContentCache;
 
     @Autowired
-    public ContentServiceImpl(final ItemService itemService, final ContentRepository contentRepository) {
+    public ContentServiceImpl(final ItemService itemService,
+                              final ContentRepository contentRepository,
+                              final ItemContentCache itemContentCache) {
         this.itemService = itemService;
         this.contentRepository = contentRepository;
+        this.itemContentCache = itemContentCache;
     }
 
     @Override
@@ -111,6 +116,6 @@ public class ContentServiceImpl implements ContentService {
 
     @Override
     public IITSDocument getContent(final String itemPath, final AccLookup accommodations) throws ReturnStatusException {
-        return contentRepository.getContent(itemPath, accommodations);
+        return itemContentCache.getContent(itemPath, accommodations, () -> contentRepository.getContent(itemPath, accommodations));
     }
 }
@@ -16,6 +16,7 @@ package tds.score.services.impl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import tds.itemrenderer.processing.ItemDataService;
+import tds.score.cache.ItemContentCache;
 import tds.score.repositories.ItemDataRepository;
 
 import java.io.IOException;
@@ -29,15 +30,17 @@ import java.net.URI;
 public class ItemDataServiceImpl implements ItemDataService {
 
     private final ItemDataRepository itemDataRepository;
+    private final ItemContentCache itemContentCache;
 
     @Autowired
-    public ItemDataServiceImpl(final ItemDataRepository repository) {
+    public ItemDataServiceImpl(final ItemDataRepository repository, final ItemContentCache itemContentCache) {
         this.itemDataRepository = repository;
+        this.itemContentCache = itemContentCache;
     }
 
     @Override
     public String readData(final URI itemPath) throws IOException {
-        return itemDataRepository.findOne(itemPath.toASCIIString());
+        return itemContentCache.getRubric(itemPath, () -> itemDataRepository.findOne(itemPath.toASCIIString()));
     }
 
     @Override
@@ -23,17 +23,25 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import javax.xml.bind.JAXBException;
+import javax.xml.stream.XMLStreamException;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 import tds.common.ValidationError;
 import tds.itemrenderer.data.AccLookup;
@@ -50,12 +58,16 @@ import tds.itemscoringengine.ScoreRationale;
 import tds.itemscoringengine.ScorerInfo;
 import tds.itemscoringengine.ScoringStatus;
 import tds.itemscoringengine.WebProxyItemScorerCallback;
+import tds.score.cache.ItemScoreCache;
 import tds.score.configuration.ItemScoreSettings;
 import tds.score.model.ExamInstance;
+import tds.score.model.ScoredResponse;
+import tds.score.model.ScoringJob;
 import tds.score.services.ContentService;
 import tds.score.services.ItemScoringService;
 import tds.score.services.ResponseService;
 import tds.score.services.ScoreConfigService;
+import tds.score.xml.ScoreInfoXmlWriter;
 import tds.student.sql.data.IItemResponseScorable;
 import tds.student.sql.data.IItemResponseUpdate;
 import tds.student.sql.data.ItemResponseUpdate;
@@ -74,19 +86,25 @@ public class ItemScoringServiceImpl implements ItemScoringService {
     private final ItemScoreSettings itemScoreSettings;
     private final ResponseService responseService;
     private final ItemDataService itemDataService;
+    private final Executor itemScoringExecutor;
+    private final ItemScoreCache itemScoreCache;
 
     public ItemScoringServiceImpl(final ResponseService responseService,
                                   final ScoreConfigService scoreConfigService,
                                   final ContentService contentService,
                                   final IItemScorerManager itemScorer,
                                   final ItemScoreSettings itemScoreSettings,
-                                  final ItemDataService itemDataService) {
+                                  final ItemDataService itemDataService,
+                                  final Executor itemScoringExecutor,
+                                  final ItemScoreCache itemScoreCache) {
         this.responseService = responseService;
         this.scoreConfigService = scoreConfigService;
         this.contentService = contentService;
         this.itemScorer = itemScorer;
         this.itemScoreSettings = itemScoreSettings;
         this.itemDataService = itemDataService;
+        this.itemScoringExecutor = itemScoringExecutor;
+        this.itemScoreCache = itemScoreCache;
     }
 
     /**
@@ -159,7 +177,7 @@ public class ItemScoringServiceImpl implements ItemScoringService {
     }
 
     @Override
-    public ItemScore checkScoreability(final TDSReport testResults, final IITSDocument itsDoc, final String languageCode)
+    public ItemScore checkScoreability(final TDSReport.Test test, final IITSDocument itsDoc, final String languageCode)
         throws ReturnStatusException {
         // check if item scoring is disabled
         if (!itemScoreSettings.isEnabled()) {
@@ -198,8 +216,7 @@ public class ItemScoringServiceImpl implements ItemScoringService {
         }
 
         // check if item scoring config is enabled for this format
-        final ItemScoringConfig itemScoringConfig = getItemScoringConfig(testResults.getTest().getContract(),
-            itemFormat, testResults.getTest().getTestId());
+        final ItemScoringConfig itemScoringConfig = getItemScoringConfig(test.getContract(), itemFormat, test.getTestId());
 
         // check if item scoring config exists (there should always be a default
         // configured)
@@ -215,27 +232,13 @@ public class ItemScoringServiceImpl implements ItemScoringService {
         return null;
     }
 
-    private String getDimensionsXml(ItemScore score) throws ReturnStatusException {
-        ItemScoreInfo scoreInfo = score.getScoreInfo();
-        scoreInfo.setRationale(null);
-
-        if (scoreInfo.getSubScores() != null) {
-            for (ItemScoreInfo subScore : scoreInfo.getSubScores()) {
-                subScore.setRationale(null);
-            }
-        }
-
-        String xml;
+    private String getDimensionsXml(final ItemScore score) throws ReturnStatusException {
         try {
-            xml = scoreInfo.toXmlString();
-            // TODO Shiva: hack!!! I am not sure at this late stage how the AA will
-            // react to the xml string. so i am going to take it out.
-            xml = StringUtils.replace(xml, "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>", "");
-        } catch (JAXBException e) {
+            return ScoreInfoXmlWriter.write(score.getScoreInfo());
+        } catch (final XMLStreamException e) {
             LOG.error(e.getMessage());
-            throw new ReturnStatusException("Could not parse scoreinfo xml");
+            throw new ReturnStatusException("Could not write scoreinfo xml");
         }
-        return xml;
     }
 
     @Override
@@ -253,6 +256,18 @@ public class ItemScoringServiceImpl implements ItemScoringService {
         return updateStatus.getStatus().equals("updated");
     }
 
+    @Override
+    public boolean updateItemScore(final ScoringJob job, final ItemScore score) throws ReturnStatusException {
+        // get the rationale before it is removed
+        final ScoreRationale scoreRationale = score.getScoreInfo().getRationale();
+        final String scoreDimensions = getDimensionsXml(score);
+
+        final ReturnStatus updateStatus = responseService.updateItemScore(job, score.getScoreInfo().getPoints(),
+            score.getScoreInfo().getStatus().toString(), scoreRationale == null ? null : scoreRationale.getMsg(), scoreDimensions);
+
+        return updateStatus.getStatus().equals("updated");
+    }
+
     /**
      * Update a response for an instance of a test opportunity.
      *
@@ -280,6 +295,10 @@ public class ItemScoringServiceImpl implements ItemScoringService {
 
     @Override
     public List<ItemResponseUpdateStatus> updateResponses(ExamInstance examInstance, List<ItemResponseUpdate> responsesUpdated, Float pageDuration) throws ReturnStatusException {
+        if (itemScoreSettings.isBatchEnabled()) {
+            return updateResponsesInBatch(examInstance, responsesUpdated, pageDuration);
+        }
+
         List<ItemResponseUpdateStatus> responseResults = new ArrayList<ItemResponseUpdateStatus>();
 
         for (ItemResponseUpdate responseUpdate : responsesUpdated) {
@@ -305,16 +324,15 @@ public class ItemScoringServiceImpl implements ItemScoringService {
                 // for asynchronous we need to save the score first indicating it
                 // is machine scorable and then submit to the scoring web site
                 if (isScoringAsynchronous(itsDoc)) {
-                    score = new ItemScore(-1, -1, ScoringStatus.WaitingForMachineScore, null, new ScoreRationale() {
-                        {
-                            setMsg("Waiting for machine score.");
-                        }
-                    }, new ArrayList<ItemScoreInfo>(), null);
+                    score = createWaitingForMachineScore();
                     updateStatus = updateResponse(examInstance, responseUpdate, score, pageDuration);
 
                     // TODO: if score returned here ends up being
                     // ScoringStatus.ScoringError should we save this?
-                    scoreResponse(examInstance.getExamId(), responseUpdate, itsDoc);
+                    // with the scoring queue enabled the response was queued for scoring when it was saved
+                    if (!itemScoreSettings.isScoringQueueEnabled()) {
+                        scoreResponse(examInstance.getExamId(), responseUpdate, itsDoc);
+                    }
                 }
                 // for synchronous we need to score first and then save
                 else {
@@ -329,6 +347,118 @@ public class ItemScoringServiceImpl implements ItemScoringService {
         return responseResults;
     }
 
+    /**
+     * Updates the responses for a page as a batch.  The item documents are loaded concurrently, the synchronously scored
+     * items are scored on the item scoring executor and all the responses are persisted with a single
+     * {@link tds.score.services.ResponseService#updateScoredResponses(ExamInstance, List, long)} call.  Asynchronously
+     * scored items are submitted to the scoring engine once their responses have been persisted.
+     *
+     * @throws ReturnStatusException
+     */
+    private List<ItemResponseUpdateStatus> updateResponsesInBatch(final ExamInstance examInstance, final List<ItemResponseUpdate> responsesUpdated,
+                                                                  final Float pageDuration) throws ReturnStatusException {
+        final Map<String, CompletableFuture<IITSDocument>> itsDocsByFilePath = new HashMap<>();
+        for (final ItemResponseUpdate responseUpdate : responsesUpdated) {
+            itsDocsByFilePath.computeIfAbsent(responseUpdate.getFilePath(), filePath ->
+                supplyAsync(() -> contentService.getContent(filePath, AccLookup.getNone())));
+        }
+
+        final List<CompletableFuture<ItemScore>> futureScores = new ArrayList<>();
+        final Map<Integer, IITSDocument> asynchronousItsDocsByIndex = new TreeMap<>();
+        for (int i = 0; i < responsesUpdated.size(); i++) {
+            final ItemResponseUpdate responseUpdate = responsesUpdated.get(i);
+            final IITSDocument itsDoc = join(itsDocsByFilePath.get(responseUpdate.getFilePath()));
+
+            if (itsDoc == null) {
+                throw new ReturnStatusException(String.format("When updating item id '%s' could not load the file '%s'.", responseUpdate.getItemID(), responseUpdate.getFilePath()));
+            }
+
+            final ItemScore scoreabilityError = checkScoreability(responseUpdate, itsDoc);
+
+            if (scoreabilityError != null) {
+                futureScores.add(CompletableFuture.completedFuture(scoreabilityError));
+            } else if (isScoringAsynchronous(itsDoc)) {
+                futureScores.add(CompletableFuture.completedFuture(createWaitingForMachineScore()));
+                asynchronousItsDocsByIndex.put(i, itsDoc);
+            } else {
+                futureScores.add(supplyAsync(() -> scoreResponse(examInstance.getExamId(), responseUpdate, itsDoc)));
+            }
+        }
+
+        final List<ScoredResponse> scoredResponses = new ArrayList<>();
+        for (int i = 0; i < responsesUpdated.size(); i++) {
+            final ItemScore score = join(futureScores.get(i));
+            final ItemScoreInfo scoreInfo = score.getScoreInfo();
+
+            scoredResponses.add(new ScoredResponse(responsesUpdated.get(i), scoreInfo.getPoints(), scoreInfo.getStatus().toString(),
+                scoreInfo.getRationale() == null ? null : scoreInfo.getRationale().getMsg(), score.getScoreLatency()));
+        }
+
+        final StopWatch dbTimer = new StopWatch();
+        dbTimer.start();
+        final List<ReturnStatus> updateStatuses = responseService.updateScoredResponses(examInstance, scoredResponses, pageDuration.longValue());
+        dbTimer.stop();
+
+        final List<ItemResponseUpdateStatus> responseResults = new ArrayList<>();
+        for (int i = 0; i < responsesUpdated.size(); i++) {
+            final ReturnStatus updateStatus = updateStatuses.get(i);
+
+            if (!updateStatus.getStatus().equals("updated") && !updateStatus.getStatus().equals("warning")) {
+                throw new ReturnStatusException(updateStatus);
+            }
+
+            responseResults.add(new ItemResponseUpdateStatus(responsesUpdated.get(i).getPosition(), updateStatus.getStatus(),
+                updateStatus.getReason(), dbTimer.getTime()));
+        }
+
+        // for asynchronous items the response is saved as waiting for a machine score before being submitted to the
+        // scoring web site.  With the scoring queue enabled the responses were queued for scoring when they were saved.
+        if (itemScoreSettings.isScoringQueueEnabled()) {
+            return responseResults;
+        }
+
+        for (final Map.Entry<Integer, IITSDocument> asynchronousItsDoc : asynchronousItsDocsByIndex.entrySet()) {
+            scoreResponse(examInstance.getExamId(), responsesUpdated.get(asynchronousItsDoc.getKey()), asynchronousItsDoc.getValue());
+        }
+
+        return responseResults;
+    }
+
+    private <T> CompletableFuture<T> supplyAsync(final ScoringTask<T> task) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.call();
+            } catch (final ReturnStatusException e) {
+                throw new CompletionException(e);
+            }
+        }, itemScoringExecutor);
+    }
+
+    private static <T> T join(final CompletableFuture<T> future) throws ReturnStatusException {
+        try {
+            return future.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof ReturnStatusException) {
+                throw (ReturnStatusException) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+
+    private static ItemScore createWaitingForMachineScore() {
+        return new ItemScore(-1, -1, ScoringStatus.WaitingForMachineScore, null, new ScoreRationale() {
+            {
+                setMsg("Waiting for machine score.");
+            }
+        }, new ArrayList<ItemScoreInfo>(), null);
+    }
+
+    @FunctionalInterface
+    private interface ScoringTask<T> {
+        T call() throws ReturnStatusException;
+    }
+
     /**
      * Score a response for an instance of a test opportunity.
      *
@@ -463,7 +593,9 @@ public class ItemScoringServiceImpl implements ItemScoringService {
             if (rubricContentType == RubricContentType.Uri) {
                 try {
                     rubricContentType = RubricContentType.ContentString;
-                    machineRubric.setData(itemDataService.readData(URI.create(machineRubric.getData())));
+                    // the rubric belongs to a shared, cached document so the loaded data is kept in a copy
+                    machineRubric = new ITSMachineRubric(ITSMachineRubric.ITSMachineRubricType.Text,
+                        itemDataService.readData(URI.create(machineRubric.getData())));
                 } catch (final IOException e) {
                     LOG.error("Failed to load scoring rubric for item: {}", itemID, e);
                     final ScoreRationale scoreRationale = new ScoreRationale();
@@ -478,10 +610,11 @@ public class ItemScoringServiceImpl implements ItemScoringService {
 
         ResponseInfo responseInfo = new ResponseInfo(itemFormat, itemID, responseScorable.getValue(), rubricContent, rubricContentType, null, true);
 
-        // perform sync item scoring
+        // perform sync item scoring, reusing the score of the same response to a deterministically scored item
         if (!isScoringAsynchronous(itsDoc)) {
             try {
-                return itemScorer.ScoreItem(responseInfo, null);
+                return itemScoreCache.getScore(itemFormat, itemID, rubricContent, responseScorable.getValue(),
+                    () -> itemScorer.ScoreItem(responseInfo, null));
             } catch (final Exception ex) {
                 LOG.warn("Problem scoring item: {}", itemID, ex);
                 return new ItemScore(-1, -1, ScoringStatus.ScoringError, null, new ScoreRationale() {
@@ -584,7 +717,9 @@ public class ItemScoringServiceImpl implements ItemScoringService {
             if (rubricContentType == RubricContentType.Uri) {
                 try {
                     rubricContentType = RubricContentType.ContentString;
-                    machineRubric.setData(itemDataService.readData(URI.create(machineRubric.getData())));
+                    // the rubric belongs to a shared, cached document so the loaded data is kept in a copy
+                    machineRubric = new ITSMachineRubric(ITSMachineRubric.ITSMachineRubricType.Text,
+                        itemDataService.readData(URI.create(machineRubric.getData())));
                 } catch (final IOException e) {
                     LOG.error("Failed to load scoring rubric for item: {}", itemID, e);
                     final ScoreRationale scoreRationale = new ScoreRationale();
@@ -600,10 +735,11 @@ public class ItemScoringServiceImpl implements ItemScoringService {
         ResponseInfo responseInfo = new ResponseInfo(itemFormat, itemID, item.getResponse().getContent(), rubricContent,
             rubricContentType, null, true);
 
-        // perform sync item scoring
+        // perform sync item scoring, reusing the score of the same response to a deterministically scored item
         if (!isScoringAsynchronous(itsDoc)) {
             try {
-                return itemScorer.ScoreItem(responseInfo, null);
+                return itemScoreCache.getScore(itemFormat, itemID, rubricContent, item.getResponse().getContent(),
+                    () -> itemScorer.ScoreItem(responseInfo, null));
             } catch (final Exception ex) {
                 LOG.warn("Problem scoring item: {}", itemID, ex);
                 return new ItemScore(-1, -1, ScoringStatus.ScoringError, null, new ScoreRationale() {
@@ -675,57 +811,124 @@ public class ItemScoringServiceImpl implements ItemScoringService {
     }
 
     @Override
-    public Optional<ValidationError> rescoreTestResults(final UUID examId, final TDSReport testResults) throws ReturnStatusException {
-        List<TDSReport.Opportunity.Item> items = testResults.getOpportunity().getItem();
+    public ItemScore scoreJob(final ScoringJob job) throws ReturnStatusException {
+        final String itemID = String.format("I-%s-%s", job.getBankKey(), job.getItemKey());
+        final IITSDocument itsDoc = contentService.getContent(job.getItemFilePath(), AccLookup.getNone());
 
-        for (TDSReport.Opportunity.Item item : items) {
+        if (itsDoc == null) {
+            return createEmptyScore(ScoringStatus.ScoringError, "ITS document was not found.");
+        }
 
-            final String itemContentPath = String.format(ITEM_CONTENT_PATH_FORMAT, item.getBankKey(), item.getKey());
+        final String itemFormat = itsDoc.getFormat();
+        final ScorerInfo scorerInfo = itemScorer.GetScorerInfo(itemFormat);
 
-            // Fetch the item content of the item
-            final IITSDocument itsDoc = contentService.getContent(itemContentPath, AccLookup.getNone());
+        if (scorerInfo == null) {
+            return createEmptyScore(ScoringStatus.NotScored, "TDS does not score " + itemFormat);
+        }
 
-            // check if loaded document
-            if (itsDoc == null) {
-                throw new ReturnStatusException(String.format("When updating item id '%s-%s' could not load the file '%s'.",
-                    item.getBankKey(), item.getKey(), itemContentPath));
+        ITSMachineRubric machineRubric = new ITSMachineRubric(ITSMachineRubric.ITSMachineRubricType.Text, null);
+        if (scorerInfo.getRubricContentSource() != RubricContentSource.None) {
+            machineRubric = contentService.parseMachineRubric(itsDoc, job.getLanguageCode(), scorerInfo.getRubricContentSource());
+            if (machineRubric == null) {
+                return createEmptyScore(ScoringStatus.NotScored, "Rubric was not found for item " + itemID);
             }
 
-            final Optional<String> maybeLanguageCode = getLanguageCodeFromAccommodations(testResults.getOpportunity());
-
-            if (!maybeLanguageCode.isPresent()) {
-                return Optional.of(new ValidationError("EXAM",  "No language accommodation found in the provided Test Results"));
+            if (machineRubric.getType().equals(ITSMachineRubric.ITSMachineRubricType.Uri)) {
+                try {
+                    // the rubric belongs to a shared, cached document so the loaded data is kept in a copy
+                    machineRubric = new ITSMachineRubric(ITSMachineRubric.ITSMachineRubricType.Text,
+                        itemDataService.readData(URI.create(machineRubric.getData())));
+                } catch (final IOException e) {
+                    LOG.error("Failed to load scoring rubric for item: {}", itemID, e);
+                    return createEmptyScore(ScoringStatus.ScoringError, "Exception loading rubric for item " + itemID);
+                }
             }
+        }
 
-            // check for any score errors
-            ItemScore score = checkScoreability(testResults, itsDoc, maybeLanguageCode.get());
+        final ResponseInfo responseInfo = new ResponseInfo(itemFormat, itemID, job.getResponse(), machineRubric.getData(),
+            RubricContentType.ContentString, null, true);
 
-            // if there was a score returned from score errors check then there was a
-            // problem
-            if (score != null) {
-                return Optional.of(new ValidationError("EXAM",  String.format("A scoring rubric was not found for the item '%s-%s'",
-                    item.getBankKey(), item.getKey())));
-            } else {
-                // for asynchronous we need to save the score first indicating it
-                // is machine scorable and then submit to the scoring web site
-                if (isScoringAsynchronous(itsDoc)) {
-                    score = new ItemScore(-1, -1, ScoringStatus.WaitingForMachineScore, null, new ScoreRationale() {
-                        {
-                            setMsg("Waiting for machine score.");
-                        }
-                    }, new ArrayList<>(), null);
-                    ItemScoreInfo scoreInfoObj = score.getScoreInfo();
-                    item.setScore(String.valueOf(scoreInfoObj.getPoints()));
-                    item.setScoreStatus(scoreInfoObj.getStatus().toString());
-                    scoreResponse(testResults, item, itsDoc, maybeLanguageCode.get());
-                } else { // for synchronous we need to score first and then save
-                    score = scoreResponse(testResults, item, itsDoc, maybeLanguageCode.get());
-                    ItemScoreInfo scoreInfoObj = score.getScoreInfo();
-                    item.setScore(String.valueOf(scoreInfoObj.getPoints()));
-                    item.setScoreStatus(scoreInfoObj.getStatus().toString());
-                }
+        // without a callback the scorer manager scores the response on this thread rather than queueing it
+        try {
+            final ItemScore score = itemScorer.ScoreItem(responseInfo, null);
+            return score == null
+                ? createEmptyScore(ScoringStatus.ScoringError, "Scorer returned no score for item " + itemID)
+                : score;
+        } catch (final Exception ex) {
+            LOG.warn("Problem scoring item: {}", itemID, ex);
+            return createEmptyScore(ScoringStatus.ScoringError, "Exception scoring item " + itemID + ": " + ex);
+        }
+    }
+
+    @Override
+    public Optional<ValidationError> rescoreTestResults(final UUID examId, final TDSReport testResults) throws ReturnStatusException {
+        return rescoreTestResults(examId, testResults, Collections.emptySet());
+    }
+
+    @Override
+    public Optional<ValidationError> rescoreTestResults(final UUID examId, final TDSReport testResults, final Set<String> itemKeys) throws ReturnStatusException {
+        for (TDSReport.Opportunity.Item item : testResults.getOpportunity().getItem()) {
+            final Optional<ValidationError> maybeError = rescoreItem(examId, testResults, item, itemKeys);
+
+            if (maybeError.isPresent()) {
+                return maybeError;
             }
+        }
 
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<ValidationError> rescoreItem(final UUID examId, final TDSReport testResults, final TDSReport.Opportunity.Item item,
+                                                 final Set<String> itemKeys) throws ReturnStatusException {
+        if (!itemKeys.isEmpty() && !itemKeys.contains(item.getBankKey() + "-" + item.getKey())) {
+            return Optional.empty();
+        }
+
+        final String itemContentPath = String.format(ITEM_CONTENT_PATH_FORMAT, item.getBankKey(), item.getKey());
+
+        // Fetch the item content of the item
+        final IITSDocument itsDoc = contentService.getContent(itemContentPath, AccLookup.getNone());
+
+        // check if loaded document
+        if (itsDoc == null) {
+            throw new ReturnStatusException(String.format("When updating item id '%s-%s' could not load the file '%s'.",
+                item.getBankKey(), item.getKey(), itemContentPath));
+        }
+
+        final Optional<String> maybeLanguageCode = getLanguageCodeFromAccommodations(testResults.getOpportunity());
+
+        if (!maybeLanguageCode.isPresent()) {
+            return Optional.of(new ValidationError("EXAM",  "No language accommodation found in the provided Test Results"));
+        }
+
+        // check for any score errors
+        ItemScore score = checkScoreability(testResults.getTest(), itsDoc, maybeLanguageCode.get());
+
+        // if there was a score returned from score errors check then there was a
+        // problem
+        if (score != null) {
+            return Optional.of(new ValidationError("EXAM",  String.format("A scoring rubric was not found for the item '%s-%s'",
+                item.getBankKey(), item.getKey())));
+        } else {
+            // for asynchronous we need to save the score first indicating it
+            // is machine scorable and then submit to the scoring web site
+            if (isScoringAsynchronous(itsDoc)) {
+                score = new ItemScore(-1, -1, ScoringStatus.WaitingForMachineScore, null, new ScoreRationale() {
+                    {
+                        setMsg("Waiting for machine score.");
+                    }
+                }, new ArrayList<>(), null);
+                ItemScoreInfo scoreInfoObj = score.getScoreInfo();
+                item.setScore(String.valueOf(scoreInfoObj.getPoints()));
+                item.setScoreStatus(scoreInfoObj.getStatus().toString());
+                scoreResponse(testResults, item, itsDoc, maybeLanguageCode.get());
+            } else { // for synchronous we need to score first and then save
+                score = scoreResponse(testResults, item, itsDoc, maybeLanguageCode.get());
+                ItemScoreInfo scoreInfoObj = score.getScoreInfo();
+                item.setScore(String.valueOf(scoreInfoObj.getPoints()));
+                item.setScoreStatus(scoreInfoObj.getStatus().toString());
+            }
         }
 
         return Optional.empty();
@@ -0,0 +1,105 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.score.xml;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.StringWriter;
+import java.util.List;
+
+import tds.itemscoringengine.ItemScoreInfo;
+
+/**
+ * Writes the ScoreInfo XML saved as the scoring dimensions of a response.  The XML is written from the score through an
+ * {@link javax.xml.stream.XMLStreamWriter} into a {@link java.io.StringWriter}, without building a JAXB object graph or
+ * DOM of the score first.  The score rationales are not written.
+ * <p>
+ * Example: {@code <ScoreInfo scorePoint="1" maxScore="2" scoreDimension="overall" scoreStatus="Scored"><SubScoreList/></ScoreInfo>}
+ * </p>
+ */
+public final class ScoreInfoXmlWriter {
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
+    private ScoreInfoXmlWriter() {
+    }
+
+    /**
+     * Writes the ScoreInfo XML of a score and its sub-scores
+     *
+     * @param scoreInfo the {@link tds.itemscoringengine.ItemScoreInfo} to write
+     * @return the ScoreInfo XML
+     * @throws XMLStreamException if the XML cannot be written
+     */
+    public static String write(final ItemScoreInfo scoreInfo) throws XMLStreamException {
+        final StringWriter xml = new StringWriter();
+        final XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(xml);
+        writeScoreInfo(writer, scoreInfo);
+        writer.close();
+        return xml.toString();
+    }
+
+    /**
+     * Writes the ScoreInfo XML of a score without sub-scores
+     *
+     * @param scorePoint     the points scored
+     * @param scoreDimension the dimension scored, e.g. "overall"
+     * @param scoreStatus    the {@link tds.itemscoringengine.ScoringStatus} of the score
+     * @return the ScoreInfo XML
+     * @throws XMLStreamException if the XML cannot be written
+     */
+    public static String write(final Integer scorePoint, final String scoreDimension, final String scoreStatus) throws XMLStreamException {
+        final StringWriter xml = new StringWriter();
+        final XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(xml);
+        writer.writeStartElement("ScoreInfo");
+        writer.writeAttribute("scorePoint", String.valueOf(scorePoint));
+        writeAttribute(writer, "scoreDimension", scoreDimension);
+        writeAttribute(writer, "scoreStatus", scoreStatus);
+        writer.writeEmptyElement("SubScoreList");
+        writer.writeEndElement();
+        writer.close();
+        return xml.toString();
+    }
+
+    private static void writeScoreInfo(final XMLStreamWriter writer, final ItemScoreInfo scoreInfo) throws XMLStreamException {
+        final List<ItemScoreInfo> subScores = scoreInfo.getSubScores();
+
+        // like the JAXB mapping of the score, a missing sub-score list is left out and an empty one is written
+        if (subScores == null) {
+            writer.writeEmptyElement("ScoreInfo");
+        } else {
+            writer.writeStartElement("ScoreInfo");
+        }
+
+        writer.writeAttribute("scorePoint", String.valueOf(scoreInfo.getPoints()));
+        writer.writeAttribute("maxScore", String.valueOf(scoreInfo.getMaxScore()));
+        writeAttribute(writer, "scoreDimension", scoreInfo.getDimension());
+        writeAttribute(writer, "scoreStatus", scoreInfo.getStatus() == null ? null : scoreInfo.getStatus().toString());
+
+        if (subScores != null) {
+            writer.writeStartElement("SubScoreList");
+            for (final ItemScoreInfo subScore : subScores) {
+                writeScoreInfo(writer, subScore);
+            }
+            writer.writeEndElement();
+            writer.writeEndElement();
+        }
+    }
+
+    private static void writeAttribute(final XMLStreamWriter writer, final String name, final String value) throws XMLStreamException {
+        if (value != null) {
+            writer.writeAttribute(name, value);
+        }
+    }
+}
@@ -0,0 +1,327 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.score.xml;
+
+import TDS.Shared.Exceptions.ReturnStatusException;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Optional;
+
+import tds.common.ValidationError;
+import tds.support.job.TestResultsWrapper;
+import tds.trt.model.TDSReport;
+
+/**
+ * Reads test results (TRT) XML a piece at a time and writes them back out, wrapped in a
+ * {@link tds.support.job.TestResultsWrapper}, after each of their items has been visited.
+ * <p>
+ * Only the element being visited is held in memory.  The Test element and the Opportunity element's attributes and
+ * Accommodation elements, which precede the items, are kept in a {@link tds.trt.model.TDSReport} without items that
+ * is passed to the visitor with each item.  Every other element is copied through as it is read, so the memory used
+ * reading the test results is bounded by the size of the largest item rather than the size of the test results.
+ * </p>
+ * <p>
+ * A reader is thread safe and is meant to be shared.
+ * </p>
+ */
+public class TestResultsXmlReader {
+    private static final String TEST_RESULTS_ELEMENT = "TDSReport";
+    private static final String TEST_ELEMENT = "Test";
+    private static final String OPPORTUNITY_ELEMENT = "Opportunity";
+    private static final String ACCOMMODATION_ELEMENT = "Accommodation";
+    private static final String ITEM_ELEMENT = "Item";
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+    private static final XMLEventFactory EVENT_FACTORY = XMLEventFactory.newFactory();
+
+    private final JAXBContext testResultsContext;
+    private final JAXBContext wrapperContext;
+    private final QName wrappedTestResultsName;
+
+    /**
+     * Visits the items of test results as they are read
+     */
+    @FunctionalInterface
+    public interface ItemVisitor {
+        /**
+         * Visits an item.  Changes made to the item are written to the test results.
+         *
+         * @param testResults the {@link tds.trt.model.TDSReport} holding the Test and Opportunity read so far, without
+         *                    the opportunity's items
+         * @param item        the item to visit
+         * @return a {@link tds.common.ValidationError} to stop reading the test results, or empty to continue
+         * @throws ReturnStatusException
+         */
+        Optional<ValidationError> visit(final TDSReport testResults, final TDSReport.Opportunity.Item item) throws ReturnStatusException;
+    }
+
+    public TestResultsXmlReader() throws JAXBException {
+        this.testResultsContext = JAXBContext.newInstance(TDSReport.class);
+        this.wrapperContext = JAXBContext.newInstance(TestResultsWrapper.class);
+        this.wrappedTestResultsName = findWrappedTestResultsName();
+    }
+
+    /**
+     * Reads test results, visiting each of their items, and writes the visited test results wrapped in a
+     * {@link tds.support.job.TestResultsWrapper}.  The written XML is the same as marshalling the wrapper of the
+     * visited test results with JAXB.
+     *
+     * @param jobId              the id of the job the test results belong to
+     * @param testResults        the test results XML
+     * @param wrappedTestResults the writer for the wrapped test results.  When a {@link tds.common.ValidationError} is
+     *                           returned, part of the test results may have been written.
+     * @param visitor            the {@link tds.score.xml.TestResultsXmlReader.ItemVisitor} visiting the items
+     * @return the {@link tds.common.ValidationError} a visitor stopped reading with, if any
+     * @throws ReturnStatusException if the visitor fails
+     * @throws JAXBException         if an element of the test results is invalid
+     * @throws XMLStreamException    if the test results are not well formed XML or cannot be written
+     */
+    public Optional<ValidationError> read(final String jobId,
+                                          final Reader testResults,
+                                          final Writer wrappedTestResults,
+                                          final ItemVisitor visitor) throws ReturnStatusException, JAXBException, XMLStreamException {
+        final XMLEventReader wrapper = createWrapperReader(jobId);
+        final XMLEventReader in = INPUT_FACTORY.createXMLEventReader(testResults);
+        final XMLEventWriter out = OUTPUT_FACTORY.createXMLEventWriter(wrappedTestResults);
+
+        try {
+            // the wrapper is marshalled around empty test results, which are replaced by the test results being read
+            int depth = 0;
+            while (wrapper.hasNext()) {
+                final XMLEvent event = wrapper.nextEvent();
+
+                if (event.isStartElement()) {
+                    depth++;
+
+                    if (depth == 2 && event.asStartElement().getName().equals(wrappedTestResultsName)) {
+                        out.add(event);
+                        final XMLEvent endEvent = skipElement(wrapper);
+
+                        final Optional<ValidationError> maybeError = copyTestResults(in, out, visitor);
+                        if (maybeError.isPresent()) {
+                            return maybeError;
+                        }
+
+                        out.add(endEvent);
+                        depth--;
+                        continue;
+                    }
+                } else if (event.isEndElement()) {
+                    depth--;
+                }
+
+                out.add(event);
+            }
+
+            out.flush();
+        } finally {
+            in.close();
+            wrapper.close();
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Copies the content of the TDSReport element of the test results, visiting the items on the way
+     */
+    private Optional<ValidationError> copyTestResults(final XMLEventReader in,
+                                                      final XMLEventWriter out,
+                                                      final ItemVisitor visitor) throws ReturnStatusException, JAXBException, XMLStreamException {
+        final Unmarshaller unmarshaller = testResultsContext.createUnmarshaller();
+        final Marshaller marshaller = testResultsContext.createMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+
+        final TDSReport testResults = new TDSReport();
+        boolean inOpportunity = false;
+        int depth = 0;
+
+        while (in.hasNext()) {
+            final XMLEvent event = in.peek();
+
+            if (event.isStartElement()) {
+                final StartElement startElement = event.asStartElement();
+                final String name = startElement.getName().getLocalPart();
+                depth++;
+
+                if (depth == 1 && !TEST_RESULTS_ELEMENT.equals(name)) {
+                    throw new XMLStreamException("The test results must be a TDSReport element", startElement.getLocation());
+                }
+
+                if (depth == 2 && TEST_ELEMENT.equals(name)) {
+                    final TDSReport.Test test = unmarshaller.unmarshal(in, TDSReport.Test.class).getValue();
+                    testResults.setTest(test);
+                    marshaller.marshal(new JAXBElement<>(startElement.getName(), TDSReport.Test.class, test), out);
+                    depth--;
+                    continue;
+                }
+
+                if (depth == 2 && OPPORTUNITY_ELEMENT.equals(name)) {
+                    testResults.setOpportunity(unmarshalAttributes(unmarshaller, startElement, TDSReport.Opportunity.class));
+                    inOpportunity = true;
+                }
+
+                if (depth == 3 && inOpportunity && ACCOMMODATION_ELEMENT.equals(name)) {
+                    final TDSReport.Opportunity.Accommodation accommodation = unmarshaller
+                        .unmarshal(in, TDSReport.Opportunity.Accommodation.class).getValue();
+                    testResults.getOpportunity().getAccommodation().add(accommodation);
+                    marshaller.marshal(new JAXBElement<>(startElement.getName(), TDSReport.Opportunity.Accommodation.class,
+                        accommodation), out);
+                    depth--;
+                    continue;
+                }
+
+                if (depth == 3 && inOpportunity && ITEM_ELEMENT.equals(name)) {
+                    final TDSReport.Opportunity.Item item = unmarshaller.unmarshal(in, TDSReport.Opportunity.Item.class).getValue();
+
+                    final Optional<ValidationError> maybeError = visitor.visit(testResults, item);
+                    if (maybeError.isPresent()) {
+                        return maybeError;
+                    }
+
+                    marshaller.marshal(new JAXBElement<>(startElement.getName(), TDSReport.Opportunity.Item.class, item), out);
+                    depth--;
+                    continue;
+                }
+            }
+
+            in.nextEvent();
+
+            // the TDSReport element itself is replaced by the wrapper's, so only its content is copied
+            if (event.isStartElement()) {
+                if (depth > 1) {
+                    out.add(event);
+                }
+            } else if (event.isEndElement()) {
+                if (depth == 2 && inOpportunity) {
+                    inOpportunity = false;
+                }
+
+                if (depth > 1) {
+                    out.add(event);
+                }
+
+                if (--depth == 0) {
+                    return Optional.empty();
+                }
+            } else if (depth > 0 && !event.isStartDocument() && !event.isEndDocument()) {
+                out.add(event);
+            }
+        }
+
+        // the reader stops at the end of the input rather than failing on test results that end too soon
+        throw new XMLStreamException("The test results ended before the TDSReport element did");
+    }
+
+    /**
+     * Unmarshals the attributes of an element, leaving its content unread
+     */
+    private <T> T unmarshalAttributes(final Unmarshaller unmarshaller,
+                                      final StartElement startElement,
+                                      final Class<T> declaredType) throws JAXBException, XMLStreamException {
+        final StringWriter xml = new StringWriter();
+        final XMLEventWriter writer = OUTPUT_FACTORY.createXMLEventWriter(xml);
+        writer.add(startElement);
+        writer.add(EVENT_FACTORY.createEndElement(startElement.getName(), startElement.getNamespaces()));
+        writer.close();
+
+        return unmarshaller.unmarshal(INPUT_FACTORY.createXMLEventReader(new StringReader(xml.toString())), declaredType)
+            .getValue();
+    }
+
+    private XMLEventReader createWrapperReader(final String jobId) throws JAXBException, XMLStreamException {
+        final StringWriter xml = new StringWriter();
+        wrapperContext.createMarshaller().marshal(new TestResultsWrapper(jobId, new TDSReport()), xml);
+        return INPUT_FACTORY.createXMLEventReader(new StringReader(xml.toString()));
+    }
+
+    /**
+     * Finds the name of the wrapper's element holding the test results, by marshalling a wrapper of test results with
+     * a Test element.  The test results are the wrapper's only child element with a child element.
+     */
+    private QName findWrappedTestResultsName() throws JAXBException {
+        final TDSReport testResults = new TDSReport();
+        testResults.setTest(new TDSReport.Test());
+
+        final StringWriter xml = new StringWriter();
+        wrapperContext.createMarshaller().marshal(new TestResultsWrapper("", testResults), xml);
+
+        try {
+            final XMLEventReader reader = INPUT_FACTORY.createXMLEventReader(new StringReader(xml.toString()));
+            QName childName = null;
+            int depth = 0;
+
+            while (reader.hasNext()) {
+                final XMLEvent event = reader.nextEvent();
+
+                if (event.isStartElement()) {
+                    depth++;
+
+                    if (depth == 2) {
+                        childName = event.asStartElement().getName();
+                    } else if (depth == 3) {
+                        return childName;
+                    }
+                } else if (event.isEndElement()) {
+                    depth--;
+                }
+            }
+        } catch (final XMLStreamException e) {
+            throw new JAXBException("Unable to read the marshalled test results wrapper", e);
+        }
+
+        throw new JAXBException("The test results wrapper does not hold the test results in an element");
+    }
+
+    /**
+     * Skips the element that was just started, returning its end event
+     */
+    private static XMLEvent skipElement(final XMLEventReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (true) {
+            final XMLEvent event = reader.nextEvent();
+
+            if (event.isStartElement()) {
+                depth++;
+            } else if (event.isEndElement() && --depth == 0) {
+                return event;
+            }
+        }
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        final XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
@@ -0,0 +1,142 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.score.cache;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import tds.itemscoringengine.ItemScore;
+import tds.itemscoringengine.ItemScoreInfo;
+import tds.itemscoringengine.ScoreRationale;
+import tds.itemscoringengine.ScoringStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ItemScoreCacheTest {
+    private static final String RUBRIC = "B|1";
+
+    private ItemScoreCache itemScoreCache;
+    private AtomicInteger scoreCount;
+
+    @Before
+    public void setUp() {
+        itemScoreCache = new ItemScoreCache(100, Arrays.asList("MC", "MS"));
+        scoreCount = new AtomicInteger();
+    }
+
+    @Test
+    public void shouldReturnCopyOfCachedScoreForSameResponse() throws Exception {
+        final ItemScore first = itemScoreCache.getScore("mc", "I-187-1234", RUBRIC, "B", this::score);
+        final ItemScore second = itemScoreCache.getScore("MC", "I-187-1234", RUBRIC, "B", this::score);
+
+        assertThat(scoreCount.get()).isEqualTo(1);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getScoreInfo().getPoints()).isEqualTo(1);
+        assertThat(second.getScoreInfo().getMaxScore()).isEqualTo(1);
+        assertThat(second.getScoreInfo().getStatus()).isEqualTo(ScoringStatus.Scored);
+        assertThat(second.getScoreInfo().getDimension()).isEqualTo("overall");
+        assertThat(second.getScoreInfo().getRationale().getMsg()).isEqualTo("Correct");
+        assertThat(second.getScoreInfo().getSubScores()).hasSize(1);
+        assertThat(second.getScoreInfo().getSubScores().get(0).getRationale().getMsg()).isEqualTo("Part correct");
+
+        assertThat(itemScoreCache.getFormatStats().get("MC").getHitCount()).isEqualTo(1);
+        assertThat(itemScoreCache.getFormatStats().get("MC").getMissCount()).isEqualTo(1);
+        assertThat(itemScoreCache.getScoreCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldNotChangeCachedScoreWhenReturnedScoreIsModified() throws Exception {
+        final ItemScore first = itemScoreCache.getScore("MC", "I-187-1234", RUBRIC, "B", this::score);
+        first.setScoreLatency(500);
+        first.getScoreInfo().setRationale(null);
+        first.getScoreInfo().getSubScores().get(0).setRationale(null);
+
+        final ItemScore second = itemScoreCache.getScore("MC", "I-187-1234", RUBRIC, "B", this::score);
+        second.getScoreInfo().setRationale(null);
+
+        final ItemScore third = itemScoreCache.getScore("MC", "I-187-1234", RUBRIC, "B", this::score);
+
+        assertThat(scoreCount.get()).isEqualTo(1);
+        assertThat(third.getScoreLatency()).isEqualTo(0);
+        assertThat(third.getScoreInfo().getRationale().getMsg()).isEqualTo("Correct");
+        assertThat(third.getScoreInfo().getSubScores().get(0).getRationale().getMsg()).isEqualTo("Part correct");
+    }
+
+    @Test
+    public void shouldScoreAgainForDifferentItemRubricOrResponse() throws Exception {
+        itemScoreCache.getScore("MC", "I-187-1234", RUBRIC, "B", this::score);
+        itemScoreCache.getScore("MC", "I-187-1235", RUBRIC, "B", this::score);
+        itemScoreCache.getScore("MC", "I-187-1234", "C|1", "B", this::score);
+        itemScoreCache.getScore("MC", "I-187-1234", RUBRIC, "C", this::score);
+        itemScoreCache.getScore("MS", "I-187-1234", RUBRIC, "B", this::score);
+
+        assertThat(scoreCount.get()).isEqualTo(5);
+        assertThat(itemScoreCache.getFormatStats().get("MC").getMissCount()).isEqualTo(4);
+        assertThat(itemScoreCache.getFormatStats().get("MC").getHitCount()).isEqualTo(0);
+        assertThat(itemScoreCache.getFormatStats().get("MS").getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldNotCacheScoresThatAreNotScored() throws Exception {
+        final ItemScoreCache.Scorer scorer = () -> {
+            scoreCount.incrementAndGet();
+            return new ItemScore(-1, -1, ScoringStatus.ScoringError, null, null, null, null);
+        };
+
+        itemScoreCache.getScore("MC", "I-187-1234", RUBRIC, "B", scorer);
+        final ItemScore score = itemScoreCache.getScore("MC", "I-187-1234", RUBRIC, "B", scorer);
+
+        assertThat(scoreCount.get()).isEqualTo(2);
+        assertThat(score.getScoreInfo().getStatus()).isEqualTo(ScoringStatus.ScoringError);
+        assertThat(itemScoreCache.getScoreCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldAlwaysScoreFormatsThatAreNotCached() throws Exception {
+        itemScoreCache.getScore("EQ", "I-187-1234", RUBRIC, "B", this::score);
+        itemScoreCache.getScore("EQ", "I-187-1234", RUBRIC, "B", this::score);
+
+        assertThat(scoreCount.get()).isEqualTo(2);
+        assertThat(itemScoreCache.isCached("EQ")).isFalse();
+        assertThat(itemScoreCache.getFormatStats()).isEmpty();
+    }
+
+    @Test
+    public void shouldAlwaysScoreWhenDisabled() throws Exception {
+        itemScoreCache = new ItemScoreCache(0, Collections.singletonList("MC"));
+
+        itemScoreCache.getScore("MC", "I-187-1234", RUBRIC, "B", this::score);
+        itemScoreCache.getScore("MC", "I-187-1234", RUBRIC, "B", this::score);
+
+        assertThat(scoreCount.get()).isEqualTo(2);
+        assertThat(itemScoreCache.isCached("MC")).isFalse();
+        assertThat(itemScoreCache.getScoreCount()).isEqualTo(0);
+    }
+
+    private ItemScore score() {
+        scoreCount.incrementAndGet();
+
+        final ScoreRationale rationale = new ScoreRationale();
+        rationale.setMsg("Correct");
+        final ScoreRationale subScoreRationale = new ScoreRationale();
+        subScoreRationale.setMsg("Part correct");
+
+        return new ItemScore(1, 1, ScoringStatus.Scored, "overall", rationale,
+            Collections.singletonList(new ItemScoreInfo(1, 1, ScoringStatus.Scored, "part", subScoreRationale)), null);
+    }
+}
@@ -0,0 +1,111 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.score.scorers;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import tds.itemscoringengine.IItemScorer;
+import tds.itemscoringengine.ItemScore;
+import tds.itemscoringengine.ResponseInfo;
+import tds.itemscoringengine.RubricContentType;
+import tds.itemscoringengine.ScoringStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CircuitBreakerItemScorerTest {
+    private static final ItemScore SCORED = new ItemScore(1, 1, ScoringStatus.Scored, null, null, null, null);
+    private static final ItemScore SCORING_ERROR = new ItemScore(-1, -1, ScoringStatus.ScoringError, null, null, null, null);
+
+    @Mock
+    private IItemScorer mockItemScorer;
+
+    private ResponseInfo responseInfo;
+
+    @Before
+    public void setUp() {
+        responseInfo = new ResponseInfo("EQ", "187-1234", "<response />", "rubric", RubricContentType.ContentString, null, true);
+    }
+
+    @Test
+    public void shouldLeaveResponsesWaitingWithoutCallingTheScorerWhenOpen() {
+        final CircuitBreakerItemScorer scorer = new CircuitBreakerItemScorer(mockItemScorer, 2, 60000, ScoringStatus.WaitingForMachineScore);
+        when(mockItemScorer.ScoreItem(responseInfo, null)).thenReturn(SCORING_ERROR);
+
+        assertThat(scorer.ScoreItem(responseInfo, null)).isSameAs(SCORING_ERROR);
+        assertThat(scorer.getState()).isEqualTo(CircuitBreakerItemScorer.State.CLOSED);
+        assertThat(scorer.ScoreItem(responseInfo, null)).isSameAs(SCORING_ERROR);
+        assertThat(scorer.getState()).isEqualTo(CircuitBreakerItemScorer.State.OPEN);
+
+        final ItemScore score = scorer.ScoreItem(responseInfo, null);
+        assertThat(score.getScoreInfo().getStatus()).isEqualTo(ScoringStatus.WaitingForMachineScore);
+        verify(mockItemScorer, times(2)).ScoreItem(responseInfo, null);
+        assertThat(scorer.getTripCount()).isEqualTo(1);
+        assertThat(scorer.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldReturnScoringErrorsWhenOpenIfWaitingResponsesAreNotScoredAgain() {
+        final CircuitBreakerItemScorer scorer = new CircuitBreakerItemScorer(mockItemScorer, 1, 60000, ScoringStatus.ScoringError);
+        when(mockItemScorer.ScoreItem(responseInfo, null)).thenReturn(SCORING_ERROR);
+
+        scorer.ScoreItem(responseInfo, null);
+        assertThat(scorer.getState()).isEqualTo(CircuitBreakerItemScorer.State.OPEN);
+
+        final ItemScore score = scorer.ScoreItem(responseInfo, null);
+        assertThat(score.getScoreInfo().getStatus()).isEqualTo(ScoringStatus.ScoringError);
+        verify(mockItemScorer, times(1)).ScoreItem(responseInfo, null);
+        assertThat(scorer.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldResetTheFailuresWhenAResponseIsScored() {
+        final CircuitBreakerItemScorer scorer = new CircuitBreakerItemScorer(mockItemScorer, 2, 60000, ScoringStatus.WaitingForMachineScore);
+        when(mockItemScorer.ScoreItem(responseInfo, null)).thenReturn(SCORING_ERROR, SCORED, SCORING_ERROR);
+
+        scorer.ScoreItem(responseInfo, null);
+        scorer.ScoreItem(responseInfo, null);
+        scorer.ScoreItem(responseInfo, null);
+
+        assertThat(scorer.getState()).isEqualTo(CircuitBreakerItemScorer.State.CLOSED);
+    }
+
+    @Test
+    public void shouldCountAnExceptionAsAFailure() {
+        final CircuitBreakerItemScorer scorer = new CircuitBreakerItemScorer(mockItemScorer, 1, 60000, ScoringStatus.WaitingForMachineScore);
+        when(mockItemScorer.ScoreItem(responseInfo, null)).thenThrow(new IllegalStateException("Fail"));
+
+        assertThat(scorer.ScoreItem(responseInfo, null).getScoreInfo().getStatus()).isEqualTo(ScoringStatus.ScoringError);
+        assertThat(scorer.getState()).isEqualTo(CircuitBreakerItemScorer.State.OPEN);
+    }
+
+    @Test
+    public void shouldCloseWhenTheTrialResponseIsScored() {
+        final CircuitBreakerItemScorer scorer = new CircuitBreakerItemScorer(mockItemScorer, 1, 0, ScoringStatus.WaitingForMachineScore);
+        when(mockItemScorer.ScoreItem(responseInfo, null)).thenReturn(SCORING_ERROR, SCORED);
+
+        scorer.ScoreItem(responseInfo, null);
+        assertThat(scorer.getState()).isEqualTo(CircuitBreakerItemScorer.State.HALF_OPEN);
+
+        assertThat(scorer.ScoreItem(responseInfo, null)).isSameAs(SCORED);
+        assertThat(scorer.getState()).isEqualTo(CircuitBreakerItemScorer.State.CLOSED);
+    }
+}
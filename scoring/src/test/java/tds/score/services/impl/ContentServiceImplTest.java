@@ -19,15 +19,22 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.util.ArrayList;
+import java.util.Collections;
+
 import tds.itemrenderer.data.AccLookup;
 import tds.itemrenderer.data.IITSDocument;
 import tds.itemrenderer.data.ITSDocument;
+import tds.score.cache.ItemContentCache;
 import tds.score.repositories.ContentRepository;
 import tds.score.services.ItemService;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -42,7 +49,7 @@ public class ContentServiceImplTest {
 
     @Before
     public void setup() {
-        service = new ContentServiceImpl(mockItemService, mockContentRepository);
+        service = new ContentServiceImpl(mockItemService, mockContentRepository, new ItemContentCache(1024 * 1024, 1024 * 1024));
     }
 
     @Test
@@ -55,4 +62,48 @@ public class ContentServiceImplTest {
         final IITSDocument actualItemDocument = service.getContent(itemPath, AccLookup.getNone());
         assertThat(actualItemDocument).isEqualTo(itemDocument);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void itShouldLoadItemDocumentOnceWhenCached() throws Exception {
+        final String itemPath = "item/path.xml";
+        final IITSDocument itemDocument = new ITSDocument();
+        itemDocument.setId(1L);
+
+        when(mockContentRepository.getContent(anyString(), any(AccLookup.class))).thenReturn(itemDocument);
+        assertThat(service.getContent(itemPath, AccLookup.getNone())).isEqualTo(itemDocument);
+        assertThat(service.getContent(itemPath, AccLookup.getNone())).isSameAs(itemDocument);
+
+        verify(mockContentRepository, times(1)).getContent(eq(itemPath), any(AccLookup.class));
+    }
+
+    @Test
+    public void itShouldNotCacheMissingItemDocument() throws Exception {
+        final String itemPath = "item/path.xml";
+
+        when(mockContentRepository.getContent(anyString(), any(AccLookup.class))).thenReturn(null);
+        assertThat(service.getContent(itemPath, AccLookup.getNone())).isNull();
+        assertThat(service.getContent(itemPath, AccLookup.getNone())).isNull();
+
+        verify(mockContentRepository, times(2)).getContent(eq(itemPath), any(AccLookup.class));
+    }
+
+    @Test
+    public void itShouldCacheItemDocumentsPerAccommodationCodes() throws Exception {
+        final String itemPath = "item/path.xml";
+        final IITSDocument englishDocument = new ITSDocument();
+        final IITSDocument spanishDocument = new ITSDocument();
+        final AccLookup english = new AccLookup();
+        english.getTypes().put("Language", new ArrayList<>(Collections.singletonList("ENU")));
+        final AccLookup spanish = new AccLookup();
+        spanish.getTypes().put("Language", new ArrayList<>(Collections.singletonList("ESN")));
+
+        when(mockContentRepository.getContent(itemPath, english)).thenReturn(englishDocument);
+        when(mockContentRepository.getContent(itemPath, spanish)).thenReturn(spanishDocument);
+        assertThat(service.getContent(itemPath, english)).isSameAs(englishDocument);
+        assertThat(service.getContent(itemPath, spanish)).isSameAs(spanishDocument);
+
+        // changing the accommodations after a document was cached does not change its key
+        english.getTypes().get("Language").set(0, "ESN");
+        assertThat(service.getContent(itemPath, english)).isSameAs(spanishDocument);
+    }
+}
@@ -18,11 +18,15 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
-import tds.score.repositories.ItemDataRepository;
 
 import java.net.URI;
 
+import tds.score.cache.ItemContentCache;
+import tds.score.repositories.ItemDataRepository;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -35,7 +39,7 @@ public class ItemDataServiceImplTest {
 
     @Before
     public void setup() {
-        service = new ItemDataServiceImpl(mockRepository);
+        service = new ItemDataServiceImpl(mockRepository, new ItemContentCache(1024 * 1024, 1024 * 1024));
     }
 
     @Test
@@ -47,4 +51,16 @@ public class ItemDataServiceImplTest {
         assertThat(service.readData(URI.create(itemPath))).isEqualTo(itemContent);
     }
 
+    @Test
+    public void itShouldReadItemDataOnceWhenCached() throws Exception {
+        final String itemPath = "item/path.xml";
+        final String itemContent = "item content";
+        when(mockRepository.findOne(itemPath)).thenReturn(itemContent);
+
+        assertThat(service.readData(URI.create(itemPath))).isEqualTo(itemContent);
+        assertThat(service.readData(URI.create(itemPath))).isEqualTo(itemContent);
+
+        verify(mockRepository, times(1)).findOne(itemPath);
+    }
+
 }
\ No newline at end of file
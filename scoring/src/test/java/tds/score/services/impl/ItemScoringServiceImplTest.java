@@ -20,6 +20,7 @@ import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
@@ -29,9 +30,12 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.StringReader;
 import java.net.URI;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import tds.common.ValidationError;
 import tds.itemrenderer.data.AccLookup;
@@ -48,11 +52,16 @@ import tds.itemscoringengine.ResponseInfo;
 import tds.itemscoringengine.RubricContentSource;
 import tds.itemscoringengine.ScorerInfo;
 import tds.itemscoringengine.ScoringStatus;
+import tds.score.cache.ItemScoreCache;
 import tds.score.configuration.ItemScoreSettings;
+import tds.score.model.ExamInstance;
+import tds.score.model.ScoredResponse;
 import tds.score.services.ContentService;
 import tds.score.services.ItemScoringService;
 import tds.score.services.ResponseService;
 import tds.score.services.ScoreConfigService;
+import tds.student.sql.data.ItemResponseUpdate;
+import tds.student.sql.data.ItemResponseUpdateStatus;
 import tds.student.sql.data.ItemScoringConfig;
 import tds.trt.model.TDSReport;
 
@@ -62,8 +71,14 @@ import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -95,7 +110,8 @@ public class ItemScoringServiceImplTest {
     @Before
     public void setup() throws Exception {
         itemScoringService = new ItemScoringServiceImpl(mockResponseService, mockScoreConfigService, mockContentService,
-            mockItemScorer, mockItemScoreSettings, mockItemDataService);
+            mockItemScorer, mockItemScoreSettings, mockItemDataService, Runnable::run,
+            new ItemScoreCache(0, Collections.emptyList()));
         final JAXBContext context = JAXBContext.newInstance(TDSReport.class);
         final Unmarshaller unmarshaller = context.createUnmarshaller();
         mockTestResults = (TDSReport) unmarshaller.unmarshal(new InputStreamReader(
@@ -173,6 +189,22 @@ public class ItemScoringServiceImplTest {
         verify(mockItemScorer, atLeastOnce()).ScoreItem(isA(ResponseInfo.class), eq(null));
     }
 
+    @Test
+    public void shouldOnlyRescoreTheFilteredItems() throws ReturnStatusException {
+        final List<String> scoresBeforeRescore = mockTestResults.getOpportunity().getItem().stream()
+            .map(TDSReport.Opportunity.Item::getScore)
+            .collect(Collectors.toList());
+
+        final Optional<ValidationError> maybeError = itemScoringService.rescoreTestResults(UUID.randomUUID(),
+            mockTestResults, Collections.singleton("187-9999"));
+
+        assertThat(maybeError).isNotPresent();
+        assertThat(mockTestResults.getOpportunity().getItem().stream()
+            .map(TDSReport.Opportunity.Item::getScore)
+            .collect(Collectors.toList())).isEqualTo(scoresBeforeRescore);
+        verifyZeroInteractions(mockContentService, mockItemScorer);
+    }
+
     @Test
     @Ignore
     public void shouldScoreItemSuccessfullyMachineRubricAsynchronous() throws ReturnStatusException, IOException {
@@ -325,4 +357,57 @@ public class ItemScoringServiceImplTest {
 
          itemScoringService.rescoreTestResults(examId, mockTestResults);
     }
+
+    @Test
+    public void shouldUpdateResponsesInBatch() throws ReturnStatusException {
+        final ExamInstance examInstance = ExamInstance.create(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), "SBAC_PT");
+        final ItemResponseUpdate firstResponseUpdate = mockResponseUpdate(1, "/tds/bank/items/Item-187-1/item-187-1.xml");
+        final ItemResponseUpdate secondResponseUpdate = mockResponseUpdate(2, "/tds/bank/items/Item-187-1/item-187-1.xml");
+        final ItemResponseUpdate thirdResponseUpdate = mockResponseUpdate(3, "/tds/bank/items/Item-187-2/item-187-2.xml");
+
+        when(mockItemScoreSettings.isBatchEnabled()).thenReturn(true);
+        when(mockItemScoreSettings.isEnabled()).thenReturn(false);
+        when(mockContentService.getContent(isA(String.class), eq(AccLookup.getNone()))).thenReturn(new ITSDocument());
+        when(mockResponseService.updateScoredResponses(eq(examInstance), any(), eq(100L)))
+            .thenReturn(Arrays.asList(new ReturnStatus("updated"), new ReturnStatus("updated"), new ReturnStatus("updated")));
+
+        final List<ItemResponseUpdateStatus> updateStatuses = itemScoringService.updateResponses(examInstance,
+            Arrays.asList(firstResponseUpdate, secondResponseUpdate, thirdResponseUpdate), 100F);
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<List<ScoredResponse>> scoredResponsesCaptor = ArgumentCaptor.forClass((Class) List.class);
+        verify(mockResponseService).updateScoredResponses(eq(examInstance), scoredResponsesCaptor.capture(), eq(100L));
+        verify(mockResponseService, never()).updateScoredResponse(any(), any(), anyInt(), anyString(), anyString(), anyLong(), anyLong());
+        verify(mockContentService, times(2)).getContent(isA(String.class), eq(AccLookup.getNone()));
+
+        final List<ScoredResponse> scoredResponses = scoredResponsesCaptor.getValue();
+        assertThat(scoredResponses).hasSize(3);
+        assertThat(scoredResponses.get(0).getResponseUpdate()).isEqualTo(firstResponseUpdate);
+        assertThat(scoredResponses.get(2).getResponseUpdate()).isEqualTo(thirdResponseUpdate);
+        assertThat(scoredResponses.get(0).getScoreStatus()).isEqualTo(ScoringStatus.NotScored.toString());
+
+        assertThat(updateStatuses).hasSize(3);
+        assertThat(updateStatuses.get(1).getPosition()).isEqualTo(2);
+        assertThat(updateStatuses.get(1).getStatus()).isEqualTo("updated");
+    }
+
+    @Test(expected = ReturnStatusException.class)
+    public void shouldFailBatchUpdateWhenItemContentNotFound() throws ReturnStatusException {
+        final ExamInstance examInstance = ExamInstance.create(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), "SBAC_PT");
+
+        when(mockItemScoreSettings.isBatchEnabled()).thenReturn(true);
+        when(mockContentService.getContent(isA(String.class), eq(AccLookup.getNone()))).thenReturn(null);
+
+        itemScoringService.updateResponses(examInstance,
+            Collections.singletonList(mockResponseUpdate(1, "/tds/bank/items/Item-187-1/item-187-1.xml")), 100F);
+    }
+
+    private static ItemResponseUpdate mockResponseUpdate(final int position, final String filePath) {
+        final ItemResponseUpdate responseUpdate = mock(ItemResponseUpdate.class);
+        when(responseUpdate.getPosition()).thenReturn(position);
+        when(responseUpdate.getFilePath()).thenReturn(filePath);
+        when(responseUpdate.getValue()).thenReturn("response");
+
+        return responseUpdate;
+    }
 }
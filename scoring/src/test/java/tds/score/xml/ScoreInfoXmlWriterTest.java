@@ -0,0 +1,58 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.score.xml;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import tds.itemscoringengine.ItemScoreInfo;
+import tds.itemscoringengine.ScoreRationale;
+import tds.itemscoringengine.ScoringStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ScoreInfoXmlWriterTest {
+    @Test
+    public void shouldWriteAScoreWithItsSubScoresWithoutRationales() throws Exception {
+        final ScoreRationale rationale = new ScoreRationale();
+        rationale.setMsg("Scored by the rubric");
+        final ItemScoreInfo scoreInfo = new ItemScoreInfo(2, 3, ScoringStatus.Scored, "overall", rationale);
+        scoreInfo.setSubScores(Arrays.asList(
+            new ItemScoreInfo(1, 1, ScoringStatus.Scored, "Conventions", rationale),
+            new ItemScoreInfo(1, 2, ScoringStatus.Scored, null, null)));
+
+        assertThat(ScoreInfoXmlWriter.write(scoreInfo)).isEqualTo(
+            "<ScoreInfo scorePoint=\"2\" maxScore=\"3\" scoreDimension=\"overall\" scoreStatus=\"Scored\"><SubScoreList>" +
+                "<ScoreInfo scorePoint=\"1\" maxScore=\"1\" scoreDimension=\"Conventions\" scoreStatus=\"Scored\"/>" +
+                "<ScoreInfo scorePoint=\"1\" maxScore=\"2\" scoreStatus=\"Scored\"/>" +
+                "</SubScoreList></ScoreInfo>");
+    }
+
+    @Test
+    public void shouldWriteAnEmptySubScoreList() throws Exception {
+        final ItemScoreInfo scoreInfo = new ItemScoreInfo(-1, -1, ScoringStatus.WaitingForMachineScore, null, null);
+        scoreInfo.setSubScores(new ArrayList<>());
+
+        assertThat(ScoreInfoXmlWriter.write(scoreInfo)).isEqualTo(
+            "<ScoreInfo scorePoint=\"-1\" maxScore=\"-1\" scoreStatus=\"WaitingForMachineScore\"><SubScoreList></SubScoreList></ScoreInfo>");
+    }
+
+    @Test
+    public void shouldWriteTheOverallScoreOfAResponse() throws Exception {
+        assertThat(ScoreInfoXmlWriter.write(1, "overall", "Scored")).isEqualTo(
+            "<ScoreInfo scorePoint=\"1\" scoreDimension=\"overall\" scoreStatus=\"Scored\"><SubScoreList/></ScoreInfo>");
+    }
+}
@@ -0,0 +1,130 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.score.xml;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.stream.XMLStreamException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import tds.common.ValidationError;
+import tds.support.job.TestResultsWrapper;
+import tds.trt.model.TDSReport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestResultsXmlReaderTest {
+    private static final String JOB_ID = "job-1";
+
+    private TestResultsXmlReader testResultsXmlReader;
+    private JAXBContext testResultsContext;
+    private JAXBContext wrapperContext;
+    private String testResults;
+
+    @Before
+    public void setUp() throws Exception {
+        testResultsXmlReader = new TestResultsXmlReader();
+        testResultsContext = JAXBContext.newInstance(TDSReport.class);
+        wrapperContext = JAXBContext.newInstance(TestResultsWrapper.class);
+        testResults = new String(Files.readAllBytes(Paths.get(getClass().getResource("/sample-trt-file.xml").toURI())),
+            StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void shouldWriteTheSameWrappedTestResultsAsJaxb() throws Exception {
+        final StringWriter wrappedTestResults = new StringWriter();
+
+        final Optional<ValidationError> maybeError = testResultsXmlReader.read(JOB_ID, new StringReader(testResults),
+            wrappedTestResults, (report, item) -> {
+                rescore(item);
+                return Optional.empty();
+            });
+
+        final TDSReport report = (TDSReport) testResultsContext.createUnmarshaller().unmarshal(new StringReader(testResults));
+        report.getOpportunity().getItem().forEach(TestResultsXmlReaderTest::rescore);
+        final StringWriter expectedTestResults = new StringWriter();
+        wrapperContext.createMarshaller().marshal(new TestResultsWrapper(JOB_ID, report), expectedTestResults);
+
+        assertThat(maybeError).isNotPresent();
+        assertThat(wrappedTestResults.toString()).contains("score=\"1\"");
+        assertThat(normalize(wrappedTestResults.toString())).isEqualTo(normalize(expectedTestResults.toString()));
+    }
+
+    @Test
+    public void shouldVisitEachItemWithTheTestAndAccommodations() throws Exception {
+        final List<TDSReport.Opportunity.Item> items = new ArrayList<>();
+
+        testResultsXmlReader.read(JOB_ID, new StringReader(testResults), new StringWriter(), (report, item) -> {
+            assertThat(report.getTest().getTestId()).isEqualTo("SBAC-MATH-5");
+            assertThat(String.valueOf(report.getOpportunity().getKey())).isEqualTo("4a3b714d-fcf9-42ab-a072-9b225494cdba");
+            assertThat(report.getOpportunity().getAccommodation()).hasSize(35);
+            assertThat(report.getOpportunity().getItem()).isEmpty();
+            items.add(item);
+            return Optional.empty();
+        });
+
+        assertThat(items).hasSize(30);
+        assertThat(items.get(0).getKey()).isEqualTo(3238);
+        assertThat(items.get(0).getResponse().getContent()).startsWith("<?xml");
+    }
+
+    @Test
+    public void shouldStopReadingAtAValidationError() throws Exception {
+        final List<TDSReport.Opportunity.Item> items = new ArrayList<>();
+
+        final Optional<ValidationError> maybeError = testResultsXmlReader.read(JOB_ID, new StringReader(testResults),
+            new StringWriter(), (report, item) -> {
+                items.add(item);
+                return Optional.of(new ValidationError("EXAM", "Invalid item"));
+            });
+
+        assertThat(maybeError).isPresent();
+        assertThat(items).hasSize(1);
+    }
+
+    @Test(expected = XMLStreamException.class)
+    public void shouldNotReadTestResultsThatAreNotATDSReport() throws Exception {
+        testResultsXmlReader.read(JOB_ID, new StringReader("<TestResults />"), new StringWriter(),
+            (report, item) -> Optional.empty());
+    }
+
+    @Test(expected = XMLStreamException.class)
+    public void shouldNotReadTestResultsThatEndTooSoon() throws Exception {
+        testResultsXmlReader.read(JOB_ID, new StringReader(testResults.substring(0, testResults.indexOf("</Opportunity>"))),
+            new StringWriter(), (report, item) -> Optional.empty());
+    }
+
+    private static void rescore(final TDSReport.Opportunity.Item item) {
+        item.setScore("1");
+        item.setScoreStatus("SCORED");
+    }
+
+    // Round trips wrapped test results through JAXB so they can be compared regardless of formatting
+    private String normalize(final String wrappedTestResults) throws JAXBException {
+        final Object wrapper = wrapperContext.createUnmarshaller().unmarshal(new StringReader(wrappedTestResults));
+        final StringWriter xml = new StringWriter();
+        wrapperContext.createMarshaller().marshal(wrapper, xml);
+        return xml.toString();
+    }
+}
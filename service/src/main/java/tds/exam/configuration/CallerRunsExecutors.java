@@ -0,0 +1,52 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.configuration;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates the bounded executors that run work on the thread submitting it when they are busy
+ */
+final class CallerRunsExecutors {
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private CallerRunsExecutors() {
+    }
+
+    /**
+     * Creates an executor with up to {@code threadCount} daemon threads, which time out when idle, and a queue of
+     * {@code queuedTasksPerThread} tasks per thread.  A task submitted when the queue is full runs on the submitting
+     * thread.
+     *
+     * @param threadNamePrefix     the prefix of the names of the executor's threads
+     * @param threadCount          the number of threads
+     * @param queuedTasksPerThread the number of tasks queued per thread
+     * @return the executor
+     */
+    static ExecutorService newExecutor(final String threadNamePrefix, final int threadCount, final int queuedTasksPerThread) {
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+        threadFactory.setDaemon(true);
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threadCount, threadCount, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(threadCount * queuedTasksPerThread), threadFactory,
+            new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+
+        return executor;
+    }
+}
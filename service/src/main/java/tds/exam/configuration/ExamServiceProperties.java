@@ -16,6 +16,9 @@ package tds.exam.configuration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 @ConfigurationProperties(prefix = "exam-service")
 public class ExamServiceProperties {
@@ -25,6 +28,39 @@ public class ExamServiceProperties {
     private String configUrl = "";
     private String contentUrl = "";
     private int expireExamLimit = 100;
+    private boolean sharedFieldTestCounters = false;
+    private long fieldTestCounterFlushIntervalMillis = 5000;
+    private boolean sharedFormSequence = false;
+    private boolean expirationWorkerEnabled = false;
+    private List<String> expirationClientNames = new ArrayList<>();
+    private long expirationIntervalMillis = 60000;
+    private int expirationThreadCount = 4;
+    private long expirationLeaseMillis = 600000;
+    private int expandableExamMapperThreadCount = 8;
+    private long sessionCacheTtlMillis = 5000;
+    private long sessionCacheMaxSize = 10000;
+    private long singleFlightWaitTimeoutMillis = 10000;
+    private boolean cacheWarmUpEnabled = false;
+    private int cacheWarmUpDays = 7;
+    private int cacheWarmUpMaxAssessments = 200;
+    private int cacheWarmUpThreadCount = 4;
+    private long cacheWarmUpTimeoutMillis = 120000;
+    private String referenceDataSnapshotPath = "";
+    private long referenceDataSnapshotWriteIntervalMillis = 300000;
+    private long referenceDataSnapshotMaxSize = 10000;
+    private String referenceDataSnapshotModelVersion = "";
+    private int remoteLookupThreadCount = 16;
+    private int remoteLookupMaxConnections = 64;
+    private int remoteLookupConnectTimeoutMillis = 5000;
+    private int remoteLookupReadTimeoutMillis = 30000;
+    private String accessTokenSecret = "";
+    private long accessTokenTtlMillis = 60000;
+    private boolean rescoreWorkerEnabled = false;
+    private int rescoreBatchSize = 100;
+    private int rescoreThreadCount = 8;
+    private long rescorePollIntervalMillis = 5000;
+    private long rescoreLeaseMillis = 600000;
+    private int rescoreMaxAttempts = 3;
 
     /**
      * Get the URL for the content microservice.
@@ -116,6 +152,392 @@ public class ExamServiceProperties {
         this.expireExamLimit = expireExamLimit;
     }
 
+    /**
+     * @return {@code true} if the field test item group counters are shared by every exam service instance through
+     * the database, {@code false} if each instance keeps its own counters in memory
+     */
+    public boolean isSharedFieldTestCounters() {
+        return sharedFieldTestCounters;
+    }
+
+    public void setSharedFieldTestCounters(final boolean sharedFieldTestCounters) {
+        this.sharedFieldTestCounters = sharedFieldTestCounters;
+    }
+
+    /**
+     * @return the interval between writes of the shared field test item group counters
+     */
+    public long getFieldTestCounterFlushIntervalMillis() {
+        return fieldTestCounterFlushIntervalMillis;
+    }
+
+    public void setFieldTestCounterFlushIntervalMillis(final long fieldTestCounterFlushIntervalMillis) {
+        this.fieldTestCounterFlushIntervalMillis = fieldTestCounterFlushIntervalMillis;
+    }
+
+    /**
+     * @return {@code true} if the round robin form assignment sequence is shared by every exam service instance
+     * through the database, {@code false} if each instance keeps its own sequence in memory
+     */
+    public boolean isSharedFormSequence() {
+        return sharedFormSequence;
+    }
+
+    public void setSharedFormSequence(final boolean sharedFormSequence) {
+        this.sharedFormSequence = sharedFormSequence;
+    }
+
+    /**
+     * @return {@code true} if this instance should periodically expire the exams of the expiration client names
+     */
+    public boolean isExpirationWorkerEnabled() {
+        return expirationWorkerEnabled;
+    }
+
+    public void setExpirationWorkerEnabled(final boolean expirationWorkerEnabled) {
+        this.expirationWorkerEnabled = expirationWorkerEnabled;
+    }
+
+    /**
+     * @return the names of the clients whose exams are expired by the expiration worker
+     */
+    public List<String> getExpirationClientNames() {
+        return expirationClientNames;
+    }
+
+    public void setExpirationClientNames(final List<String> expirationClientNames) {
+        this.expirationClientNames = expirationClientNames;
+    }
+
+    /**
+     * @return the delay between the end of an expiration pass and the start of the next one
+     */
+    public long getExpirationIntervalMillis() {
+        return expirationIntervalMillis;
+    }
+
+    public void setExpirationIntervalMillis(final long expirationIntervalMillis) {
+        this.expirationIntervalMillis = expirationIntervalMillis;
+    }
+
+    /**
+     * @return the number of chunks of {@link #getExpireExamLimit()} exams expired in parallel by an expiration pass
+     */
+    public int getExpirationThreadCount() {
+        return expirationThreadCount;
+    }
+
+    public void setExpirationThreadCount(final int expirationThreadCount) {
+        this.expirationThreadCount = expirationThreadCount;
+    }
+
+    /**
+     * @return how long an instance keeps the lease on a client's expiration pass without recording progress
+     */
+    public long getExpirationLeaseMillis() {
+        return expirationLeaseMillis;
+    }
+
+    public void setExpirationLeaseMillis(final long expirationLeaseMillis) {
+        this.expirationLeaseMillis = expirationLeaseMillis;
+    }
+
+    /**
+     * @return the most threads that run {@link tds.exam.mappers.ExpandableExamMapper}s.  The count is capped at half of
+     * the query connection pool so the mappers cannot starve the rest of the service of connections.
+     */
+    public int getExpandableExamMapperThreadCount() {
+        return expandableExamMapperThreadCount;
+    }
+
+    public void setExpandableExamMapperThreadCount(final int expandableExamMapperThreadCount) {
+        this.expandableExamMapperThreadCount = expandableExamMapperThreadCount;
+    }
+
+    /**
+     * @return how long a {@link tds.session.Session} is kept after it is fetched from the session service.  Sessions
+     * paused through this instance are evicted immediately, so this bounds how stale a session paused elsewhere can be.
+     */
+    public long getSessionCacheTtlMillis() {
+        return sessionCacheTtlMillis;
+    }
+
+    public void setSessionCacheTtlMillis(final long sessionCacheTtlMillis) {
+        this.sessionCacheTtlMillis = sessionCacheTtlMillis;
+    }
+
+    /**
+     * @return the most {@link tds.session.Session}s kept by the session cache
+     */
+    public long getSessionCacheMaxSize() {
+        return sessionCacheMaxSize;
+    }
+
+    public void setSessionCacheMaxSize(final long sessionCacheMaxSize) {
+        this.sessionCacheMaxSize = sessionCacheMaxSize;
+    }
+
+    /**
+     * @return how long a caller waits on a fetch of the same assessment or config resource already in flight before
+     * it fetches the resource itself
+     */
+    public long getSingleFlightWaitTimeoutMillis() {
+        return singleFlightWaitTimeoutMillis;
+    }
+
+    public void setSingleFlightWaitTimeoutMillis(final long singleFlightWaitTimeoutMillis) {
+        this.singleFlightWaitTimeoutMillis = singleFlightWaitTimeoutMillis;
+    }
+
+    /**
+     * @return {@code true} if the assessment caches are pre-warmed when the service starts.  The service reports itself
+     * out of service until the warm-up completes.
+     */
+    public boolean isCacheWarmUpEnabled() {
+        return cacheWarmUpEnabled;
+    }
+
+    public void setCacheWarmUpEnabled(final boolean cacheWarmUpEnabled) {
+        this.cacheWarmUpEnabled = cacheWarmUpEnabled;
+    }
+
+    /**
+     * @return the number of days of recently created exams whose assessments are pre-warmed
+     */
+    public int getCacheWarmUpDays() {
+        return cacheWarmUpDays;
+    }
+
+    public void setCacheWarmUpDays(final int cacheWarmUpDays) {
+        this.cacheWarmUpDays = cacheWarmUpDays;
+    }
+
+    /**
+     * @return the most assessments pre-warmed, taking the ones with the most recent exams first
+     */
+    public int getCacheWarmUpMaxAssessments() {
+        return cacheWarmUpMaxAssessments;
+    }
+
+    public void setCacheWarmUpMaxAssessments(final int cacheWarmUpMaxAssessments) {
+        this.cacheWarmUpMaxAssessments = cacheWarmUpMaxAssessments;
+    }
+
+    /**
+     * @return the number of assessments pre-warmed at the same time
+     */
+    public int getCacheWarmUpThreadCount() {
+        return cacheWarmUpThreadCount;
+    }
+
+    public void setCacheWarmUpThreadCount(final int cacheWarmUpThreadCount) {
+        this.cacheWarmUpThreadCount = cacheWarmUpThreadCount;
+    }
+
+    /**
+     * @return how long the warm-up may take before it is stopped and the service reports itself ready anyway
+     */
+    public long getCacheWarmUpTimeoutMillis() {
+        return cacheWarmUpTimeoutMillis;
+    }
+
+    public void setCacheWarmUpTimeoutMillis(final long cacheWarmUpTimeoutMillis) {
+        this.cacheWarmUpTimeoutMillis = cacheWarmUpTimeoutMillis;
+    }
+
+    /**
+     * @return the file the reference data fetched from the assessment service is snapshotted to so a restarted
+     * instance can serve it while it is fetched again in the background, or empty to not keep a snapshot
+     */
+    public String getReferenceDataSnapshotPath() {
+        return referenceDataSnapshotPath;
+    }
+
+    /**
+     * @param referenceDataSnapshotPath not null snapshot file path, or empty to not keep a snapshot
+     */
+    public void setReferenceDataSnapshotPath(final String referenceDataSnapshotPath) {
+        if (referenceDataSnapshotPath == null) throw new IllegalArgumentException("referenceDataSnapshotPath cannot be null");
+        this.referenceDataSnapshotPath = referenceDataSnapshotPath;
+    }
+
+    /**
+     * @return how often the reference data snapshot is written if the reference data changed
+     */
+    public long getReferenceDataSnapshotWriteIntervalMillis() {
+        return referenceDataSnapshotWriteIntervalMillis;
+    }
+
+    public void setReferenceDataSnapshotWriteIntervalMillis(final long referenceDataSnapshotWriteIntervalMillis) {
+        this.referenceDataSnapshotWriteIntervalMillis = referenceDataSnapshotWriteIntervalMillis;
+    }
+
+    /**
+     * @return the most resources kept for the reference data snapshot, the least recently fetched ones are dropped
+     */
+    public long getReferenceDataSnapshotMaxSize() {
+        return referenceDataSnapshotMaxSize;
+    }
+
+    public void setReferenceDataSnapshotMaxSize(final long referenceDataSnapshotMaxSize) {
+        this.referenceDataSnapshotMaxSize = referenceDataSnapshotMaxSize;
+    }
+
+    /**
+     * @return the version of the reference data model written with the reference data snapshot, a snapshot written
+     * with another version is ignored
+     */
+    public String getReferenceDataSnapshotModelVersion() {
+        return referenceDataSnapshotModelVersion;
+    }
+
+    /**
+     * @param referenceDataSnapshotModelVersion not null reference data model version
+     */
+    public void setReferenceDataSnapshotModelVersion(final String referenceDataSnapshotModelVersion) {
+        if (referenceDataSnapshotModelVersion == null) throw new IllegalArgumentException("referenceDataSnapshotModelVersion cannot be null");
+        this.referenceDataSnapshotModelVersion = referenceDataSnapshotModelVersion;
+    }
+
+    /**
+     * @return the most threads that run the remote service lookups an exam request makes concurrently
+     */
+    public int getRemoteLookupThreadCount() {
+        return remoteLookupThreadCount;
+    }
+
+    public void setRemoteLookupThreadCount(final int remoteLookupThreadCount) {
+        this.remoteLookupThreadCount = remoteLookupThreadCount;
+    }
+
+    /**
+     * @return the most kept alive connections the non-blocking session and assessment lookups make to each of those
+     * services
+     */
+    public int getRemoteLookupMaxConnections() {
+        return remoteLookupMaxConnections;
+    }
+
+    public void setRemoteLookupMaxConnections(final int remoteLookupMaxConnections) {
+        this.remoteLookupMaxConnections = remoteLookupMaxConnections;
+    }
+
+    /**
+     * @return how long the non-blocking lookups wait to connect to a service
+     */
+    public int getRemoteLookupConnectTimeoutMillis() {
+        return remoteLookupConnectTimeoutMillis;
+    }
+
+    public void setRemoteLookupConnectTimeoutMillis(final int remoteLookupConnectTimeoutMillis) {
+        this.remoteLookupConnectTimeoutMillis = remoteLookupConnectTimeoutMillis;
+    }
+
+    /**
+     * @return how long the non-blocking lookups wait for a service to respond
+     */
+    public int getRemoteLookupReadTimeoutMillis() {
+        return remoteLookupReadTimeoutMillis;
+    }
+
+    public void setRemoteLookupReadTimeoutMillis(final int remoteLookupReadTimeoutMillis) {
+        this.remoteLookupReadTimeoutMillis = remoteLookupReadTimeoutMillis;
+    }
+
+    /**
+     * @return the secret exam access tokens are signed with, or empty to not issue tokens and verify access against
+     * the database on every request.  Every instance must share the same secret.
+     */
+    public String getAccessTokenSecret() {
+        return accessTokenSecret;
+    }
+
+    /**
+     * @param accessTokenSecret not null secret, or empty to not issue access tokens
+     */
+    public void setAccessTokenSecret(final String accessTokenSecret) {
+        if (accessTokenSecret == null) throw new IllegalArgumentException("accessTokenSecret cannot be null");
+        this.accessTokenSecret = accessTokenSecret;
+    }
+
+    /**
+     * @return how long an exam access token is accepted after it is issued.  A change made by another instance that
+     * revokes access can go unnoticed for this long.
+     */
+    public long getAccessTokenTtlMillis() {
+        return accessTokenTtlMillis;
+    }
+
+    public void setAccessTokenTtlMillis(final long accessTokenTtlMillis) {
+        this.accessTokenTtlMillis = accessTokenTtlMillis;
+    }
+
+    /**
+     * @return {@code true} if this instance rescores and publishes the exams submitted to rescore jobs
+     */
+    public boolean isRescoreWorkerEnabled() {
+        return rescoreWorkerEnabled;
+    }
+
+    public void setRescoreWorkerEnabled(final boolean rescoreWorkerEnabled) {
+        this.rescoreWorkerEnabled = rescoreWorkerEnabled;
+    }
+
+    /**
+     * @return the max number of exams claimed to rescore or publish at a time
+     */
+    public int getRescoreBatchSize() {
+        return rescoreBatchSize;
+    }
+
+    public void setRescoreBatchSize(final int rescoreBatchSize) {
+        this.rescoreBatchSize = rescoreBatchSize;
+    }
+
+    /**
+     * @return the number of exams rescored in parallel
+     */
+    public int getRescoreThreadCount() {
+        return rescoreThreadCount;
+    }
+
+    public void setRescoreThreadCount(final int rescoreThreadCount) {
+        this.rescoreThreadCount = rescoreThreadCount;
+    }
+
+    /**
+     * @return how long the rescore worker waits before looking for submitted exams again once there are none left
+     */
+    public long getRescorePollIntervalMillis() {
+        return rescorePollIntervalMillis;
+    }
+
+    public void setRescorePollIntervalMillis(final long rescorePollIntervalMillis) {
+        this.rescorePollIntervalMillis = rescorePollIntervalMillis;
+    }
+
+    /**
+     * @return how long an instance holds the exams it claimed before another instance may claim them
+     */
+    public long getRescoreLeaseMillis() {
+        return rescoreLeaseMillis;
+    }
+
+    public void setRescoreLeaseMillis(final long rescoreLeaseMillis) {
+        this.rescoreLeaseMillis = rescoreLeaseMillis;
+    }
+
+    /**
+     * @return the number of times rescoring an exam is attempted before it is marked as failed
+     */
+    public int getRescoreMaxAttempts() {
+        return rescoreMaxAttempts;
+    }
+
+    public void setRescoreMaxAttempts(final int rescoreMaxAttempts) {
+        this.rescoreMaxAttempts = rescoreMaxAttempts;
+    }
+
     private String removeTrailingSlash(String url) {
         if (url.endsWith("/")) {
             return url.substring(0, url.length() - 1);
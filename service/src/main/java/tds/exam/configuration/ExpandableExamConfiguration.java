@@ -0,0 +1,53 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Configures the executor the {@link tds.exam.mappers.ExpandableExamMapper}s run on
+ */
+@Configuration
+public class ExpandableExamConfiguration {
+    private static final Logger log = LoggerFactory.getLogger(ExpandableExamConfiguration.class);
+    private static final int QUEUED_MAPPERS_PER_THREAD = 16;
+
+    /*
+     * Each running mapper holds at most one query connection, so the threads are capped at half of the query pool to
+     * leave connections for the request threads.  When the queue is full the mapper runs on the thread submitting it.
+     */
+    @Bean(name = "expandableExamMapperExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService expandableExamMapperExecutor(final ExamServiceProperties examServiceProperties,
+                                                        @Qualifier("queryDataSource") final DataSource queryDataSource) {
+        int threadCount = Math.max(1, examServiceProperties.getExpandableExamMapperThreadCount());
+        if (queryDataSource instanceof HikariDataSource) {
+            final int maxThreadCount = Math.max(1, ((HikariDataSource) queryDataSource).getMaximumPoolSize() / 2);
+            if (threadCount > maxThreadCount) {
+                log.warn("Reducing the expandable exam mapper threads from {} to {}, half of the query connection pool",
+                    threadCount, maxThreadCount);
+                threadCount = maxThreadCount;
+            }
+        }
+
+        return CallerRunsExecutors.newExecutor("expandable-exam-mapper-", threadCount, QUEUED_MAPPERS_PER_THREAD);
+    }
+}
@@ -0,0 +1,77 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.configuration;
+
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.web.HttpMessageConverters;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsAsyncClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.client.AsyncRestTemplate;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Configures the executor the remote service lookups of opening and starting an exam run on, and the non-blocking
+ * client the session and assessment lookups that are not cached are made with
+ */
+@Configuration
+public class RemoteLookupConfiguration {
+    private static final int QUEUED_LOOKUPS_PER_THREAD = 16;
+    // The session and assessment services
+    private static final int LOOKED_UP_SERVICE_COUNT = 2;
+
+    /*
+     * The lookups only wait on the other services, so they hold no connection.  When the queue is full the lookup runs
+     * on the request thread, which is no slower than before the lookups were made concurrently.
+     */
+    @Bean(name = "remoteLookupExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService remoteLookupExecutor(final ExamServiceProperties examServiceProperties) {
+        final int threadCount = Math.max(1, examServiceProperties.getRemoteLookupThreadCount());
+        return CallerRunsExecutors.newExecutor("remote-lookup-", threadCount, QUEUED_LOOKUPS_PER_THREAD);
+    }
+
+    /*
+     * The lookups are made on the I/O threads of a pooled, kept alive HTTP client, so a slow service holds a
+     * connection rather than a thread.
+     */
+    @Bean(name = "remoteLookupRequestFactory")
+    public HttpComponentsAsyncClientHttpRequestFactory remoteLookupRequestFactory(final ExamServiceProperties examServiceProperties) {
+        final int maxConnections = Math.max(1, examServiceProperties.getRemoteLookupMaxConnections());
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("remote-lookup-io-");
+        threadFactory.setDaemon(true);
+        final HttpComponentsAsyncClientHttpRequestFactory requestFactory = new HttpComponentsAsyncClientHttpRequestFactory(
+            HttpAsyncClients.custom()
+                .setMaxConnPerRoute(maxConnections)
+                .setMaxConnTotal(maxConnections * LOOKED_UP_SERVICE_COUNT)
+                .setThreadFactory(threadFactory)
+                .build());
+        requestFactory.setConnectTimeout(examServiceProperties.getRemoteLookupConnectTimeoutMillis());
+        requestFactory.setReadTimeout(examServiceProperties.getRemoteLookupReadTimeoutMillis());
+
+        return requestFactory;
+    }
+
+    @Bean(name = "remoteLookupRestTemplate")
+    public AsyncRestTemplate remoteLookupRestTemplate(
+        @Qualifier("remoteLookupRequestFactory") final HttpComponentsAsyncClientHttpRequestFactory requestFactory,
+        final HttpMessageConverters httpMessageConverters) {
+        final AsyncRestTemplate restTemplate = new AsyncRestTemplate(requestFactory);
+        restTemplate.setMessageConverters(httpMessageConverters.getConverters());
+
+        return restTemplate;
+    }
+}
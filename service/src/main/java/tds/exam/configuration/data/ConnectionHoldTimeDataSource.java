@@ -0,0 +1,110 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.configuration.data;
+
+import com.codahale.metrics.MetricRegistry;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import tds.exam.utils.ExamUnitOfWork;
+import tds.exam.utils.ExamUnitOfWorkProvider;
+
+/**
+ * Records how long each connection borrowed from the command {@link javax.sql.DataSource} is held before it is
+ * returned to the pool.  The time is recorded by the {@code exam.command-connection-hold.[endpoint]} timer, named
+ * after the {@link tds.exam.utils.ExamUnitOfWork} of the request that held the connection, so its percentiles and not
+ * only the last hold time are reported.
+ */
+class ConnectionHoldTimeDataSource extends DelegatingDataSource {
+    static final String HOLD_TIMER_PREFIX = "exam.command-connection-hold.";
+
+    private final MetricRegistry metricRegistry;
+    private final ExamUnitOfWorkProvider examUnitOfWorkProvider;
+
+    ConnectionHoldTimeDataSource(final DataSource targetDataSource,
+                                 final MetricRegistry metricRegistry,
+                                 final ExamUnitOfWorkProvider examUnitOfWorkProvider) {
+        super(targetDataSource);
+        this.metricRegistry = metricRegistry;
+        this.examUnitOfWorkProvider = examUnitOfWorkProvider;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return holdTimeProxy(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        return holdTimeProxy(super.getConnection(username, password));
+    }
+
+    private Connection holdTimeProxy(final Connection connection) {
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+            new Class<?>[]{ConnectionProxy.class},
+            new HoldTimeInvocationHandler(connection, examUnitOfWorkProvider.find()
+                .flatMap(ExamUnitOfWork::getName)
+                .orElse("unknown")));
+    }
+
+    private class HoldTimeInvocationHandler implements InvocationHandler {
+        private final Connection target;
+        private final String holder;
+        private final long borrowedAt = System.nanoTime();
+        private boolean closed;
+
+        private HoldTimeInvocationHandler(final Connection target, final String holder) {
+            this.target = target;
+            this.holder = holder;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Connection hold time proxy for [" + target + "]";
+                case "getTargetConnection":
+                    return target;
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        metricRegistry.timer(HOLD_TIMER_PREFIX + holder)
+                            .update(System.nanoTime() - borrowedAt, TimeUnit.NANOSECONDS);
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
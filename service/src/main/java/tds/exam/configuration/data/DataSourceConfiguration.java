@@ -13,6 +13,8 @@
 
 package tds.exam.configuration.data;
 
+import com.codahale.metrics.MetricRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceBuilder;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -24,11 +26,24 @@ import org.springframework.transaction.PlatformTransactionManager;
 
 import javax.sql.DataSource;
 
+import tds.exam.utils.ExamUnitOfWorkProvider;
+
 /**
  * Configuration for DataSources.  Queries
  */
 @Configuration
 public class DataSourceConfiguration {
+    private final MetricRegistry metricRegistry;
+    private final ExamUnitOfWorkProvider examUnitOfWorkProvider;
+    private DataSource commandHoldTimeDataSource;
+
+    @Autowired
+    public DataSourceConfiguration(final MetricRegistry metricRegistry,
+                                   final ExamUnitOfWorkProvider examUnitOfWorkProvider) {
+        this.metricRegistry = metricRegistry;
+        this.examUnitOfWorkProvider = examUnitOfWorkProvider;
+    }
+
     @Bean(name = "commandDataSource")
     @ConfigurationProperties(prefix = "spring.ds_commands")
     public DataSource commandsDataSource() {
@@ -47,7 +62,7 @@ public class DataSourceConfiguration {
 
     @Bean(name = "commandJdbcTemplate")
     public NamedParameterJdbcTemplate commandJdbcTemplate() {
-        return new NamedParameterJdbcTemplate(commandsDataSource());
+        return new NamedParameterJdbcTemplate(commandHoldTimeDataSource(commandsDataSource()));
     }
 
     @Bean(name = "queryJdbcTemplate")
@@ -58,7 +73,19 @@ public class DataSourceConfiguration {
     @Bean
     public PlatformTransactionManager transactionManager(@Qualifier("commandDataSource") DataSource dataSource) {
         final DataSourceTransactionManager dataSourceTransactionManager = new DataSourceTransactionManager();
-        dataSourceTransactionManager.setDataSource(dataSource);
+        dataSourceTransactionManager.setDataSource(commandHoldTimeDataSource(dataSource));
         return dataSourceTransactionManager;
     }
+
+    /*
+     * The command template and the transaction manager must share the same DataSource for the template to take part in
+     * the transactions.  It is not a bean so it is not picked up as another pool by the health and metrics endpoints.
+     */
+    private synchronized DataSource commandHoldTimeDataSource(final DataSource commandDataSource) {
+        if (commandHoldTimeDataSource == null) {
+            commandHoldTimeDataSource = new ConnectionHoldTimeDataSource(commandDataSource, metricRegistry, examUnitOfWorkProvider);
+        }
+
+        return commandHoldTimeDataSource;
+    }
 }
\ No newline at end of file
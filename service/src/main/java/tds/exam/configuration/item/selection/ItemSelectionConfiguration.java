@@ -18,6 +18,15 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 
+import tds.exam.configuration.ExamServiceProperties;
+import tds.exam.repositories.FieldTestItemGroupCounterRepository;
+import tds.exam.repositories.FormAssignmentSequenceRepository;
+import tds.exam.services.FieldTestItemGroupCounterStore;
+import tds.exam.services.FormAssignmentSequence;
+import tds.exam.services.impl.DatabaseFieldTestItemGroupCounterStore;
+import tds.exam.services.impl.DatabaseFormAssignmentSequence;
+import tds.exam.services.impl.InMemoryFieldTestItemGroupCounterStore;
+import tds.exam.services.impl.InMemoryFormAssignmentSequence;
 import tds.itemselection.selectors.MsbItemSelector;
 import tds.itemselection.selectors.impl.AdaptiveSelector2013;
 import tds.itemselection.services.ItemCandidatesService;
@@ -33,4 +42,25 @@ public class ItemSelectionConfiguration {
             segmentService, itemCandidatesService
         );
     }
+
+    @Bean
+    public FieldTestItemGroupCounterStore getFieldTestItemGroupCounterStore(final ExamServiceProperties examServiceProperties,
+                                                                            final FieldTestItemGroupCounterRepository fieldTestItemGroupCounterRepository) {
+        if (examServiceProperties.isSharedFieldTestCounters()) {
+            return new DatabaseFieldTestItemGroupCounterStore(fieldTestItemGroupCounterRepository,
+                examServiceProperties.getFieldTestCounterFlushIntervalMillis());
+        }
+
+        return new InMemoryFieldTestItemGroupCounterStore();
+    }
+
+    @Bean
+    public FormAssignmentSequence getFormAssignmentSequence(final ExamServiceProperties examServiceProperties,
+                                                            final FormAssignmentSequenceRepository formAssignmentSequenceRepository) {
+        if (examServiceProperties.isSharedFormSequence()) {
+            return new DatabaseFormAssignmentSequence(formAssignmentSequenceRepository);
+        }
+
+        return new InMemoryFormAssignmentSequence();
+    }
 }
@@ -22,11 +22,14 @@ import java.util.Map;
 
 import tds.itemscoringengine.IItemScorer;
 import tds.itemscoringengine.IItemScorerManager;
+import tds.itemscoringengine.ScoringStatus;
 import tds.itemscoringengine.itemscorers.MCItemScorer;
 import tds.itemscoringengine.itemscorers.QTIItemScorer;
 import tds.itemscoringengine.web.server.AppStatsRecorder;
 import tds.itemscoringengine.web.server.ScoringMaster;
 import tds.score.configuration.ScoringConfiguration;
+import tds.score.scorers.CircuitBreakerItemScorer;
+import tds.score.scorers.StubItemScorer;
 import tds.score.services.impl.ItemDataServiceImpl;
 
 @Configuration
@@ -38,8 +41,26 @@ public class ExamScoringConfiguration {
     private static final IItemScorer mciScorer = new MCItemScorer();
     private static final IItemScorer qtiScorer = new QTIItemScorer();
 
+    /**
+     * @return the scorer of the equation and grid items, which are scored by the sympy scoring engine.  While its
+     * circuit breaker is open the responses are left waiting for a machine score only if the scoring job queue scores
+     * them again later, otherwise they are scoring errors.
+     */
     @Bean
-    public IItemScorerManager getScoreManager(final ExamScoringProperties examScoringProperties) {
+    public CircuitBreakerItemScorer getMathItemScorer(final ExamScoringProperties examScoringProperties) {
+        final IItemScorer mathScorer = examScoringProperties.isStubScorerEnabled()
+            ? new StubItemScorer(qtiScorer, examScoringProperties.getStubScorerLatencyMillis())
+            : qtiScorer;
+
+        return new CircuitBreakerItemScorer(mathScorer,
+            examScoringProperties.getCircuitBreakerFailureThreshold(),
+            examScoringProperties.getCircuitBreakerOpenMillis(),
+            examScoringProperties.isScoringQueueEnabled() ? ScoringStatus.WaitingForMachineScore : ScoringStatus.ScoringError);
+    }
+
+    @Bean
+    public IItemScorerManager getScoreManager(final ExamScoringProperties examScoringProperties,
+                                              final CircuitBreakerItemScorer mathItemScorer) {
         Map<String, IItemScorer> scorers = new HashMap<>();
 
         scorers.put("MC", mciScorer);
@@ -48,8 +69,8 @@ public class ExamScoringConfiguration {
         scorers.put("QTI", qtiScorer);
         scorers.put("EBSR", qtiScorer);
         scorers.put("HTQ", qtiScorer);
-        scorers.put("GI", qtiScorer);
-        scorers.put("EQ", qtiScorer);
+        scorers.put("GI", mathItemScorer);
+        scorers.put("EQ", mathItemScorer);
         scorers.put("TI", qtiScorer);
 
         return new ScoringMaster(
@@ -30,6 +30,10 @@ public class ExamScoringProperties extends ItemScoreSettings {
     private String pythonScoringUrl;
     private int maxAttempts;
     private int sympyTimeoutMillis;
+    private int circuitBreakerFailureThreshold = 5;
+    private long circuitBreakerOpenMillis = 30000;
+    private boolean stubScorerEnabled;
+    private long stubScorerLatencyMillis;
 
     public int getQueueThreadCount() {
         return queueThreadCount;
@@ -55,6 +59,11 @@ public class ExamScoringProperties extends ItemScoreSettings {
         this.queueLowWaterMark = queueLowWaterMark;
     }
 
+    /**
+     * @return the URL of the sympy scoring engine.  The item scoring engine's
+     * {@link tds.itemscoringengine.web.server.ScoringMaster} sends it a synchronous request for each response it scores,
+     * over connections it manages itself.  This service neither pools those connections nor batches the equations.
+     */
     public String getPythonScoringUrl() {
         return pythonScoringUrl;
     }
@@ -71,6 +80,9 @@ public class ExamScoringProperties extends ItemScoreSettings {
         this.maxAttempts = maxAttempts;
     }
 
+    /**
+     * @return how long the item scoring engine waits for each request to the sympy scoring engine
+     */
     public int getSympyTimeoutMillis() {
         return sympyTimeoutMillis;
     }
@@ -78,4 +90,48 @@ public class ExamScoringProperties extends ItemScoreSettings {
     public void setSympyTimeoutMillis(final int sympyTimeoutMillis) {
         this.sympyTimeoutMillis = sympyTimeoutMillis;
     }
+
+    /**
+     * @return the number of consecutive failures of the sympy scoring engine opening the circuit breaker
+     */
+    public int getCircuitBreakerFailureThreshold() {
+        return circuitBreakerFailureThreshold;
+    }
+
+    public void setCircuitBreakerFailureThreshold(final int circuitBreakerFailureThreshold) {
+        this.circuitBreakerFailureThreshold = circuitBreakerFailureThreshold;
+    }
+
+    /**
+     * @return how long the circuit breaker stays open before letting a trial response through to the engine
+     */
+    public long getCircuitBreakerOpenMillis() {
+        return circuitBreakerOpenMillis;
+    }
+
+    public void setCircuitBreakerOpenMillis(final long circuitBreakerOpenMillis) {
+        this.circuitBreakerOpenMillis = circuitBreakerOpenMillis;
+    }
+
+    /**
+     * @return {@code true} if the items scored by the sympy scoring engine are scored by a stub instead, for load tests
+     */
+    public boolean isStubScorerEnabled() {
+        return stubScorerEnabled;
+    }
+
+    public void setStubScorerEnabled(final boolean stubScorerEnabled) {
+        this.stubScorerEnabled = stubScorerEnabled;
+    }
+
+    /**
+     * @return how long the stub scorer takes to score a response
+     */
+    public long getStubScorerLatencyMillis() {
+        return stubScorerLatencyMillis;
+    }
+
+    public void setStubScorerLatencyMillis(final long stubScorerLatencyMillis) {
+        this.stubScorerLatencyMillis = stubScorerLatencyMillis;
+    }
 }
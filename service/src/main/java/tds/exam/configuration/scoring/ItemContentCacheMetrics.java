@@ -0,0 +1,64 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.configuration.scoring;
+
+import com.google.common.cache.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import tds.score.cache.ItemContentCache;
+
+/**
+ * Publishes the hit, miss, eviction and load time statistics of the {@link tds.score.cache.ItemContentCache} to the
+ * metrics endpoint
+ */
+@Component
+public class ItemContentCacheMetrics implements PublicMetrics {
+    private final ItemContentCache itemContentCache;
+
+    @Autowired
+    public ItemContentCacheMetrics(final ItemContentCache itemContentCache) {
+        this.itemContentCache = itemContentCache;
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        final List<Metric<?>> metrics = new ArrayList<>();
+
+        itemContentCache.getDocumentStats().ifPresent(stats ->
+            addMetrics(metrics, "exam.scoring.item-content-cache", stats, itemContentCache.getDocumentCount()));
+        itemContentCache.getRubricStats().ifPresent(stats ->
+            addMetrics(metrics, "exam.scoring.rubric-cache", stats, itemContentCache.getRubricCount()));
+
+        return metrics;
+    }
+
+    private static void addMetrics(final List<Metric<?>> metrics, final String prefix, final CacheStats stats, final long size) {
+        metrics.add(new Metric<>(prefix + ".size", size));
+        metrics.add(new Metric<>(prefix + ".hits", stats.hitCount()));
+        metrics.add(new Metric<>(prefix + ".misses", stats.missCount()));
+        metrics.add(new Metric<>(prefix + ".hit-ratio", stats.hitRate()));
+        metrics.add(new Metric<>(prefix + ".evictions", stats.evictionCount()));
+        metrics.add(new Metric<>(prefix + ".load-failures", stats.loadExceptionCount()));
+        metrics.add(new Metric<>(prefix + ".load-time-total-millis", TimeUnit.NANOSECONDS.toMillis(stats.totalLoadTime())));
+        metrics.add(new Metric<>(prefix + ".load-time-average-millis", stats.averageLoadPenalty() / TimeUnit.MILLISECONDS.toNanos(1)));
+    }
+}
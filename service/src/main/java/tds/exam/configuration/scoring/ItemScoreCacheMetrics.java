@@ -0,0 +1,57 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.configuration.scoring;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import tds.score.cache.ItemScoreCache;
+
+/**
+ * Publishes the size and evictions of the {@link tds.score.cache.ItemScoreCache} and the hits and misses of each item
+ * format it caches to the metrics endpoint
+ */
+@Component
+public class ItemScoreCacheMetrics implements PublicMetrics {
+    private static final String PREFIX = "exam.scoring.score-cache";
+
+    private final ItemScoreCache itemScoreCache;
+
+    @Autowired
+    public ItemScoreCacheMetrics(final ItemScoreCache itemScoreCache) {
+        this.itemScoreCache = itemScoreCache;
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        final List<Metric<?>> metrics = new ArrayList<>();
+
+        metrics.add(new Metric<>(PREFIX + ".size", itemScoreCache.getScoreCount()));
+        metrics.add(new Metric<>(PREFIX + ".evictions", itemScoreCache.getEvictionCount()));
+        itemScoreCache.getFormatStats().forEach((format, stats) -> {
+            final String formatPrefix = PREFIX + "." + format.toLowerCase();
+            metrics.add(new Metric<>(formatPrefix + ".hits", stats.getHitCount()));
+            metrics.add(new Metric<>(formatPrefix + ".misses", stats.getMissCount()));
+            metrics.add(new Metric<>(formatPrefix + ".hit-ratio", stats.getHitRate()));
+        });
+
+        return metrics;
+    }
+}
@@ -0,0 +1,54 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.configuration.scoring;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import tds.score.scorers.CircuitBreakerItemScorer;
+
+/**
+ * Publishes the state of the circuit breaker guarding the sympy scoring engine to the metrics endpoint.  The state is
+ * 0 when closed, 1 when half open and 2 when open.
+ */
+@Component
+public class ItemScorerCircuitBreakerMetrics implements PublicMetrics {
+    private static final String PREFIX = "exam.scoring.circuit-breaker";
+
+    private final CircuitBreakerItemScorer circuitBreakerItemScorer;
+
+    @Autowired
+    public ItemScorerCircuitBreakerMetrics(final CircuitBreakerItemScorer circuitBreakerItemScorer) {
+        this.circuitBreakerItemScorer = circuitBreakerItemScorer;
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        final List<Metric<?>> metrics = new ArrayList<>();
+
+        final CircuitBreakerItemScorer.State state = circuitBreakerItemScorer.getState();
+        metrics.add(new Metric<>(PREFIX + ".state", state == CircuitBreakerItemScorer.State.OPEN ? 2
+            : state == CircuitBreakerItemScorer.State.HALF_OPEN ? 1 : 0));
+        metrics.add(new Metric<>(PREFIX + ".trips", circuitBreakerItemScorer.getTripCount()));
+        metrics.add(new Metric<>(PREFIX + ".rejected", circuitBreakerItemScorer.getRejectedCount()));
+
+        return metrics;
+    }
+}
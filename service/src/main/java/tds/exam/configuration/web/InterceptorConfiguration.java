@@ -14,11 +14,15 @@
 package tds.exam.configuration.web;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.GaugeService;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
 
+import tds.exam.services.ExamAccessTokenService;
 import tds.exam.services.ExamApprovalService;
+import tds.exam.utils.ExamUnitOfWork;
+import tds.exam.web.interceptors.ExamUnitOfWorkInterceptor;
 import tds.exam.web.interceptors.VerifyAccessInterceptor;
 
 /**
@@ -28,14 +32,25 @@ import tds.exam.web.interceptors.VerifyAccessInterceptor;
 public class InterceptorConfiguration extends WebMvcConfigurerAdapter {
 
     private final ExamApprovalService examApprovalService;
+    private final ExamAccessTokenService examAccessTokenService;
+    private final ExamUnitOfWork examUnitOfWork;
+    private final GaugeService gaugeService;
 
     @Autowired
-    public InterceptorConfiguration(final ExamApprovalService examApprovalService) {
+    public InterceptorConfiguration(final ExamApprovalService examApprovalService,
+                                    final ExamAccessTokenService examAccessTokenService,
+                                    final ExamUnitOfWork examUnitOfWork,
+                                    final GaugeService gaugeService) {
         this.examApprovalService = examApprovalService;
+        this.examAccessTokenService = examAccessTokenService;
+        this.examUnitOfWork = examUnitOfWork;
+        this.gaugeService = gaugeService;
     }
 
     @Override
     public void addInterceptors(final InterceptorRegistry registry) {
-        registry.addInterceptor(new VerifyAccessInterceptor(examApprovalService)).addPathPatterns("/exam/**");
+        // Registered first so the exam loaded by the VerifyAccessInterceptor is kept for the rest of the request
+        registry.addInterceptor(new ExamUnitOfWorkInterceptor(examUnitOfWork, gaugeService)).addPathPatterns("/exam/**");
+        registry.addInterceptor(new VerifyAccessInterceptor(examApprovalService, examAccessTokenService)).addPathPatterns("/exam/**");
     }
 }
@@ -22,35 +22,60 @@ import org.springframework.boot.actuate.health.OrderedHealthAggregator;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import tds.common.health.HealthIndicatorClient;
 import tds.exam.configuration.ExamServiceProperties;
+import tds.exam.services.impl.CacheWarmUpWorker;
 
 import static com.google.common.collect.Maps.transformValues;
 
 /**
- * Returns the health status of this service's dependencies.
+ * Returns the health status of this service's dependencies.  While the assessment caches are pre-warmed at startup the
+ * service is reported out of service.
  */
 @Component
 public class ServicesHealthIndicator implements HealthIndicator {
     private final HealthIndicatorClient healthIndicatorClient;
     private final Map<String, String> services;
+    private final CacheWarmUpWorker cacheWarmUpWorker;
 
     private final HealthAggregator healthAggregator = new OrderedHealthAggregator();
 
     @Autowired
-    ServicesHealthIndicator(final RestTemplate restTemplate, final ExamServiceProperties examServiceProperties) {
+    ServicesHealthIndicator(final RestTemplate restTemplate,
+                            final ExamServiceProperties examServiceProperties,
+                            final CacheWarmUpWorker cacheWarmUpWorker) {
         healthIndicatorClient = new HealthIndicatorClient(restTemplate);
         services = ImmutableMap.of(
                 "assessment", examServiceProperties.getAssessmentUrl(),
                 "student", examServiceProperties.getStudentUrl(),
                 "config",  examServiceProperties.getConfigUrl(),
                 "session", examServiceProperties.getSessionUrl());
+        this.cacheWarmUpWorker = cacheWarmUpWorker;
     }
 
     @Override
     public Health health() {
-        return healthAggregator.aggregate(transformValues(services, healthIndicatorClient::health));
+        final Map<String, Health> healths = new LinkedHashMap<>(transformValues(services, healthIndicatorClient::health));
+        if (cacheWarmUpWorker.isEnabled()) {
+            healths.put("cacheWarmUp", cacheWarmUpHealth());
+        }
+
+        return healthAggregator.aggregate(healths);
+    }
+
+    private Health cacheWarmUpHealth() {
+        return cacheWarmUpWorker.getResult()
+            .map(result -> Health.up()
+                .withDetail("durationMillis", result.getDurationMillis())
+                .withDetail("assessments", result.getAssessmentCount())
+                .withDetail("segments", result.getSegmentCount())
+                .withDetail("accommodationLists", result.getAccommodationListCount())
+                .withDetail("failures", result.getFailureCount())
+                .withDetail("timedOut", result.isTimedOut())
+                .build())
+            .orElseGet(() -> Health.outOfService().withDetail("status", "warming up").build());
     }
 }
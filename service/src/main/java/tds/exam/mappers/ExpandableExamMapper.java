@@ -13,6 +13,7 @@
 
 package tds.exam.mappers;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -22,8 +23,25 @@ import tds.exam.ExpandableExamAttributes;
 
 /**
  * Interface for a service that maps an {@link tds.exam.ExpandableExam} with optional attributes
+ * <p>
+ * Mappers run concurrently, so a mapper must only read the builders and set the attributes it provides on them.  A
+ * mapper that reads an attribute set by another mapper declares it as a required attribute so it runs afterwards.
+ * </p>
  */
 public interface ExpandableExamMapper {
+    /**
+     * @return the {@link tds.exam.ExpandableExamAttributes} this mapper sets.  A mapper that provides no attributes
+     * runs for every request.
+     */
+    Set<ExpandableExamAttributes> getProvidedAttributes();
+
+    /**
+     * @return the {@link tds.exam.ExpandableExamAttributes} that, when requested, must be set before this mapper runs
+     */
+    default Set<ExpandableExamAttributes> getRequiredAttributes() {
+        return Collections.emptySet();
+    }
+
     /**
      * A method that will update an {@link tds.exam.ExpandableExam} in a session based on the specified exam attributes
      *
@@ -16,6 +16,7 @@ package tds.exam.mappers.impl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -37,6 +38,11 @@ public class ExamAccommodationsExpandableExamMapper implements ExpandableExamMap
         this.examAccommodationService = examAccommodationService;
     }
 
+    @Override
+    public Set<ExpandableExamAttributes> getProvidedAttributes() {
+        return Collections.singleton(ExpandableExamAttributes.EXAM_ACCOMMODATIONS);
+    }
+
     @Override
     public void updateExpandableMapper(final Set<ExpandableExamAttributes> expandableAttributes, final Map<UUID, ExpandableExam.Builder> examBuilders, final UUID sessionId) {
         if (!expandableAttributes.contains(ExpandableExamAttributes.EXAM_ACCOMMODATIONS)) {
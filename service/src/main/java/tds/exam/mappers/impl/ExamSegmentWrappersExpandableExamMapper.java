@@ -16,6 +16,7 @@ package tds.exam.mappers.impl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -36,6 +37,11 @@ public class ExamSegmentWrappersExpandableExamMapper implements ExpandableExamMa
         this.examSegmentWrapperService = examSegmentWrapperService;
     }
 
+    @Override
+    public Set<ExpandableExamAttributes> getProvidedAttributes() {
+        return Collections.singleton(ExpandableExamAttributes.EXAM_SEGMENT_WRAPPERS);
+    }
+
     @Override
     public void updateExpandableMapper(final Set<ExpandableExamAttributes> expandableAttributes, final Map<UUID, ExpandableExam.Builder> examBuilders, final UUID sessionId) {
         if (!expandableAttributes.contains(ExpandableExamAttributes.EXAM_SEGMENT_WRAPPERS)) {
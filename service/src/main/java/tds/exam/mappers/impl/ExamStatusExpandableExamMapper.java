@@ -18,6 +18,7 @@ import org.joda.time.Instant;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -37,6 +38,11 @@ public class ExamStatusExpandableExamMapper implements ExpandableExamMapper {
         this.examStatusService = examStatusService;
     }
 
+    @Override
+    public Set<ExpandableExamAttributes> getProvidedAttributes() {
+        return Collections.singleton(ExpandableExamAttributes.EXAM_STATUS_DATES);
+    }
+
     @Override
     public void updateExpandableMapper(final Set<ExpandableExamAttributes> expandableAttributes,
                                        final Map<UUID, ExpandableExam.Builder> examBuilders, final UUID sessionId) {
@@ -16,6 +16,7 @@ package tds.exam.mappers.impl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -37,6 +38,11 @@ public class ExamineeAttributesExpandableExamMapper implements ExpandableExamMap
         this.examineeService=  examineeService;
     }
 
+    @Override
+    public Set<ExpandableExamAttributes> getProvidedAttributes() {
+        return Collections.singleton(ExpandableExamAttributes.EXAMINEE_ATTRIBUTES_AND_RELATIONSHIPS);
+    }
+
     @Override
     public void updateExpandableMapper(final Set<ExpandableExamAttributes> expandableAttributes, final Map<UUID, ExpandableExam.Builder> examBuilders, final UUID sessionId) {
         if (!expandableAttributes.contains(ExpandableExamAttributes.EXAMINEE_ATTRIBUTES_AND_RELATIONSHIPS)) {
@@ -16,6 +16,7 @@ package tds.exam.mappers.impl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -34,6 +35,11 @@ public class ItemResponseUpdateExpandableExamMapper implements ExpandableExamMap
         this.examItemService = examItemService;
     }
 
+    @Override
+    public Set<ExpandableExamAttributes> getProvidedAttributes() {
+        return Collections.singleton(ExpandableExamAttributes.ITEM_RESPONSE_UPDATES);
+    }
+
     @Override
     public void updateExpandableMapper(final Set<ExpandableExamAttributes> expandableAttributes,
                                        final Map<UUID, ExpandableExam.Builder> examBuilders, final UUID sessionId) {
@@ -0,0 +1,50 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.models;
+
+/**
+ * An assessment and the number of exams recently created for it
+ */
+public class AssessmentUsage {
+    private final String clientName;
+    private final String assessmentKey;
+    private final long examCount;
+
+    public AssessmentUsage(final String clientName, final String assessmentKey, final long examCount) {
+        this.clientName = clientName;
+        this.assessmentKey = assessmentKey;
+        this.examCount = examCount;
+    }
+
+    /**
+     * @return the client name associated with the assessment
+     */
+    public String getClientName() {
+        return clientName;
+    }
+
+    /**
+     * @return the key of the assessment
+     */
+    public String getAssessmentKey() {
+        return assessmentKey;
+    }
+
+    /**
+     * @return the number of exams created for the assessment
+     */
+    public long getExamCount() {
+        return examCount;
+    }
+}
@@ -0,0 +1,82 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.models;
+
+/**
+ * The outcome of pre-warming the assessment caches when the service starts
+ */
+public class CacheWarmUpResult {
+    private final int assessmentCount;
+    private final int segmentCount;
+    private final int accommodationListCount;
+    private final int failureCount;
+    private final long durationMillis;
+    private final boolean timedOut;
+
+    public CacheWarmUpResult(final int assessmentCount,
+                             final int segmentCount,
+                             final int accommodationListCount,
+                             final int failureCount,
+                             final long durationMillis,
+                             final boolean timedOut) {
+        this.assessmentCount = assessmentCount;
+        this.segmentCount = segmentCount;
+        this.accommodationListCount = accommodationListCount;
+        this.failureCount = failureCount;
+        this.durationMillis = durationMillis;
+        this.timedOut = timedOut;
+    }
+
+    /**
+     * @return the number of {@link tds.assessment.Assessment}s loaded
+     */
+    public int getAssessmentCount() {
+        return assessmentCount;
+    }
+
+    /**
+     * @return the number of {@link tds.assessment.SegmentItemInformation}s loaded
+     */
+    public int getSegmentCount() {
+        return segmentCount;
+    }
+
+    /**
+     * @return the number of assessments whose {@link tds.accommodation.Accommodation}s were loaded
+     */
+    public int getAccommodationListCount() {
+        return accommodationListCount;
+    }
+
+    /**
+     * @return the number of assessments that could not be loaded
+     */
+    public int getFailureCount() {
+        return failureCount;
+    }
+
+    /**
+     * @return how long the warm-up took
+     */
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * @return {@code true} if the warm-up was stopped before every assessment was loaded
+     */
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+}
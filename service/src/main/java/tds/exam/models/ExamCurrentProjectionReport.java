@@ -0,0 +1,65 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.models;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The outcome of verifying or regenerating the exam_current projection
+ */
+public class ExamCurrentProjectionReport {
+    private final int examsChecked;
+    private final int examsOutOfDate;
+    private final int examsRebuilt;
+    private final List<UUID> outOfDateExamIds;
+
+    public ExamCurrentProjectionReport(final int examsChecked,
+                                       final int examsOutOfDate,
+                                       final int examsRebuilt,
+                                       final List<UUID> outOfDateExamIds) {
+        this.examsChecked = examsChecked;
+        this.examsOutOfDate = examsOutOfDate;
+        this.examsRebuilt = examsRebuilt;
+        this.outOfDateExamIds = outOfDateExamIds;
+    }
+
+    /**
+     * @return the number of exams that were checked
+     */
+    public int getExamsChecked() {
+        return examsChecked;
+    }
+
+    /**
+     * @return the number of exams whose projection did not match the latest exam event
+     */
+    public int getExamsOutOfDate() {
+        return examsOutOfDate;
+    }
+
+    /**
+     * @return the number of exams whose projection was regenerated
+     */
+    public int getExamsRebuilt() {
+        return examsRebuilt;
+    }
+
+    /**
+     * @return a sample of the ids of the exams whose projection was out of date
+     */
+    public List<UUID> getOutOfDateExamIds() {
+        return outOfDateExamIds;
+    }
+}
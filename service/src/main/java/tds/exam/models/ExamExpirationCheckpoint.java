@@ -0,0 +1,45 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.models;
+
+import org.joda.time.Instant;
+
+import java.util.UUID;
+
+/**
+ * The position of the last exam processed by an expiration pass.  Exams are processed in expires_at, exam id order.
+ */
+public class ExamExpirationCheckpoint {
+    private final Instant expiresAt;
+    private final UUID examId;
+
+    public ExamExpirationCheckpoint(final Instant expiresAt, final UUID examId) {
+        this.expiresAt = expiresAt;
+        this.examId = examId;
+    }
+
+    /**
+     * @return the expiration time of the last exam processed
+     */
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * @return the id of the last exam processed
+     */
+    public UUID getExamId() {
+        return examId;
+    }
+}
@@ -0,0 +1,56 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.models;
+
+import org.joda.time.Instant;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A job rescoring the exams submitted to it
+ */
+public class RescoreJob {
+    private final UUID id;
+    private final Set<String> itemKeys;
+    private final Instant createdAt;
+
+    public RescoreJob(final UUID id, final Set<String> itemKeys, final Instant createdAt) {
+        this.id = id;
+        this.itemKeys = itemKeys;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * @return the id of the job
+     */
+    public UUID getId() {
+        return id;
+    }
+
+    /**
+     * @return the bank key and item key of the items to rescore, e.g. "187-1234", or an empty set if every item of
+     * each exam is rescored
+     */
+    public Set<String> getItemKeys() {
+        return itemKeys;
+    }
+
+    /**
+     * @return when the job was created
+     */
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
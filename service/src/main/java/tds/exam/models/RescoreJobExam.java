@@ -0,0 +1,87 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.models;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * An exam submitted to a {@link tds.exam.models.RescoreJob}, claimed to be rescored or to have its rescored results
+ * published
+ */
+public class RescoreJobExam {
+    public static final String STATUS_PENDING = "pending";
+    public static final String STATUS_RESCORED = "rescored";
+    public static final String STATUS_PUBLISHED = "published";
+    public static final String STATUS_FAILED = "failed";
+
+    private final UUID jobId;
+    private final UUID examId;
+    private final Set<String> itemKeys;
+    private final byte[] rescoredResults;
+    private final int attempts;
+    private final String leaseOwner;
+
+    public RescoreJobExam(final UUID jobId, final UUID examId, final Set<String> itemKeys, final byte[] rescoredResults,
+                          final int attempts, final String leaseOwner) {
+        this.jobId = jobId;
+        this.examId = examId;
+        this.itemKeys = itemKeys;
+        this.rescoredResults = rescoredResults;
+        this.attempts = attempts;
+        this.leaseOwner = leaseOwner;
+    }
+
+    /**
+     * @return the id of the {@link tds.exam.models.RescoreJob}
+     */
+    public UUID getJobId() {
+        return jobId;
+    }
+
+    /**
+     * @return the id of the exam
+     */
+    public UUID getExamId() {
+        return examId;
+    }
+
+    /**
+     * @return the items of the job to rescore, or an empty set if every item is rescored
+     */
+    public Set<String> getItemKeys() {
+        return itemKeys;
+    }
+
+    /**
+     * @return the UTF-8 encoded rescored test results message to publish, or {@code null} until the exam is rescored
+     */
+    public byte[] getRescoredResults() {
+        return rescoredResults;
+    }
+
+    /**
+     * @return the number of times the exam was claimed to be rescored, including the current claim
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * @return the id of the claim holding the exam
+     */
+    public String getLeaseOwner() {
+        return leaseOwner;
+    }
+}
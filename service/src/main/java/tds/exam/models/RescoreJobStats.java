@@ -0,0 +1,80 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.models;
+
+import org.joda.time.Instant;
+
+/**
+ * The number of exams of a {@link tds.exam.models.RescoreJob} in each state
+ */
+public class RescoreJobStats {
+    private final Instant createdAt;
+    private final long pendingCount;
+    private final long rescoredCount;
+    private final long publishedCount;
+    private final long failedCount;
+    private final long recentlyRescoredCount;
+
+    public RescoreJobStats(final Instant createdAt, final long pendingCount, final long rescoredCount,
+                           final long publishedCount, final long failedCount, final long recentlyRescoredCount) {
+        this.createdAt = createdAt;
+        this.pendingCount = pendingCount;
+        this.rescoredCount = rescoredCount;
+        this.publishedCount = publishedCount;
+        this.failedCount = failedCount;
+        this.recentlyRescoredCount = recentlyRescoredCount;
+    }
+
+    /**
+     * @return when the job was created
+     */
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * @return the number of exams waiting to be rescored
+     */
+    public long getPendingCount() {
+        return pendingCount;
+    }
+
+    /**
+     * @return the number of exams rescored and waiting to be published
+     */
+    public long getRescoredCount() {
+        return rescoredCount;
+    }
+
+    /**
+     * @return the number of exams rescored and published
+     */
+    public long getPublishedCount() {
+        return publishedCount;
+    }
+
+    /**
+     * @return the number of exams that could not be rescored
+     */
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    /**
+     * @return the number of exams rescored within the throughput window
+     */
+    public long getRecentlyRescoredCount() {
+        return recentlyRescoredCount;
+    }
+}
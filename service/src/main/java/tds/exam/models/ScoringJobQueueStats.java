@@ -0,0 +1,51 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.models;
+
+/**
+ * The depth and age of the scoring job queue
+ */
+public class ScoringJobQueueStats {
+    private final long depth;
+    private final long leasedCount;
+    private final long oldestAgeMillis;
+
+    public ScoringJobQueueStats(final long depth, final long leasedCount, final long oldestAgeMillis) {
+        this.depth = depth;
+        this.leasedCount = leasedCount;
+        this.oldestAgeMillis = oldestAgeMillis;
+    }
+
+    /**
+     * @return the number of responses waiting in the queue, including the ones being scored
+     */
+    public long getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return the number of jobs currently claimed by an exam service instance
+     */
+    public long getLeasedCount() {
+        return leasedCount;
+    }
+
+    /**
+     * @return the time in milliseconds since the oldest response in the queue was sent for scoring, or 0 if the
+     * queue is empty
+     */
+    public long getOldestAgeMillis() {
+        return oldestAgeMillis;
+    }
+}
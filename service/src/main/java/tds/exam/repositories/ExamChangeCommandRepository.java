@@ -0,0 +1,43 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.repositories;
+
+import org.joda.time.Instant;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Handles data modification for the session_change and session_exam_change tables backing the proctor session change
+ * feed and the exam_last_activity table holding the time of each exam's last student activity
+ */
+public interface ExamChangeCommandRepository {
+    /**
+     * Records that the exams changed, when the current transaction commits or in a transaction of its own when there is
+     * no transaction
+     *
+     * @param examIds the ids of the exams that changed
+     */
+    void examsChanged(final Collection<UUID> examIds);
+
+    /**
+     * Records that the student was active in the exams, and that the exams changed, when the current transaction
+     * commits or in a transaction of its own when there is no transaction.  An exam's last activity only ever moves
+     * forward.
+     *
+     * @param examIds    the ids of the exams the student was active in
+     * @param activityAt the time of the activity
+     */
+    void studentActive(final Collection<UUID> examIds, final Instant activityAt);
+}
@@ -0,0 +1,50 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Handles verifying and regenerating the exam_current projection from exam_event and the exam's language
+ * accommodation
+ */
+public interface ExamCurrentProjectionRepository {
+    /**
+     * Finds a page of exam ids ordered by id
+     *
+     * @param afterExamId the last exam id of the previous page or {@code null} to start at the first exam
+     * @param limit       the max number of exam ids to return
+     * @return the exam ids after the provided exam id
+     */
+    List<UUID> findExamIds(final UUID afterExamId, final int limit);
+
+    /**
+     * Finds the exams whose exam_current row is missing or does not match the latest exam_event and language
+     * accommodation
+     *
+     * @param examIds the exam ids to verify
+     * @return the ids of the exams whose projection is out of date
+     */
+    List<UUID> findOutOfDateExamIds(final Collection<UUID> examIds);
+
+    /**
+     * Regenerates the exam_current rows for the exams from their latest exam_event and language accommodation
+     *
+     * @param examIds the exam ids to regenerate
+     * @return the number of affected rows
+     */
+    int rebuild(final Collection<UUID> examIds);
+}
@@ -0,0 +1,59 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.repositories;
+
+import java.util.Optional;
+
+import tds.exam.models.ExamExpirationCheckpoint;
+
+/**
+ * Handles the progress and lease of the expiration pass of each client
+ */
+public interface ExamExpirationCheckpointRepository {
+    /**
+     * Acquires or renews the lease on the expiration pass of the client
+     *
+     * @param clientName  the client name
+     * @param owner       the id of the exam service instance acquiring the lease
+     * @param leaseMillis how long the lease lasts unless it is renewed
+     * @return {@code true} if the lease was acquired, {@code false} if another instance holds it
+     */
+    boolean tryAcquireLease(final String clientName, final String owner, final long leaseMillis);
+
+    /**
+     * @param clientName the client name
+     * @return the last exam processed by the client's current expiration pass, if there is one
+     */
+    Optional<ExamExpirationCheckpoint> findCheckpoint(final String clientName);
+
+    /**
+     * Records the progress of the client's expiration pass and renews the lease
+     *
+     * @param clientName  the client name
+     * @param owner       the id of the exam service instance holding the lease
+     * @param checkpoint  the last exam processed
+     * @param leaseMillis how long the lease lasts unless it is renewed
+     * @return {@code true} if the checkpoint was saved, {@code false} if the lease is no longer held by the owner
+     */
+    boolean saveCheckpoint(final String clientName, final String owner, final ExamExpirationCheckpoint checkpoint, final long leaseMillis);
+
+    /**
+     * Releases the lease on the client's expiration pass
+     *
+     * @param clientName      the client name
+     * @param owner           the id of the exam service instance holding the lease
+     * @param clearCheckpoint {@code true} if the pass is complete and the next pass should start from the first exam
+     */
+    void releaseLease(final String clientName, final String owner, final boolean clearCheckpoint);
+}
@@ -0,0 +1,41 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Handles backfilling the exam_last_activity table from the exam's pause events, responses and pages
+ */
+public interface ExamLastActivityRepository {
+    /**
+     * Finds a page of the ids of exams that are not deleted or closed, ordered by id
+     *
+     * @param afterExamId the last exam id of the previous page or {@code null} to start at the first exam
+     * @param limit       the max number of exam ids to return
+     * @return the in progress exam ids after the provided exam id
+     */
+    List<UUID> findInProgressExamIds(final UUID afterExamId, final int limit);
+
+    /**
+     * Moves the exam_last_activity rows for the exams forward to the latest of the exam being paused, a response being
+     * saved or a page being created
+     *
+     * @param examIds the exam ids to backfill
+     * @return the number of affected rows
+     */
+    int backfill(final Collection<UUID> examIds);
+}
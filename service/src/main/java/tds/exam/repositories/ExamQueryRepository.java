@@ -22,6 +22,8 @@ import java.util.UUID;
 
 import tds.exam.Exam;
 import tds.exam.models.Ability;
+import tds.exam.models.AssessmentUsage;
+import tds.exam.models.ExamExpirationCheckpoint;
 
 /**
  * Data access for exams
@@ -109,4 +111,29 @@ public interface ExamQueryRepository {
      * @return the list of {@link tds.exam.Exam} to expire
      */
     List<Exam> findExamsToExpire(final List<String> statusCodesToIgnore, final int expireExamLimit);
+
+    /**
+     * Find a chunk of the client's exams to expire based on the status codes, ordered by expiration time and exam id
+     *
+     * @param clientName          the client name associated with the exams
+     * @param statusCodesToIgnore the status codes to ignore
+     * @param expiresBefore       only exams that expire before this time are returned
+     * @param after               the last exam of the previous chunk or {@code null} to start at the first exam
+     * @param limit               the max number of exams to find
+     * @return the list of {@link tds.exam.Exam} to expire
+     */
+    List<Exam> findExamsToExpire(final String clientName,
+                                 final List<String> statusCodesToIgnore,
+                                 final Instant expiresBefore,
+                                 final ExamExpirationCheckpoint after,
+                                 final int limit);
+
+    /**
+     * Finds the assessments of the exams created since a point in time, most used first
+     *
+     * @param createdSince only exams created at or after this time are counted
+     * @param limit        the max number of assessments to find
+     * @return the list of {@link tds.exam.models.AssessmentUsage}
+     */
+    List<AssessmentUsage> findAssessmentUsage(final Instant createdSince, final int limit);
 }
@@ -0,0 +1,38 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.repositories;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Handles reading and updating the shared field test item group assignment counters
+ */
+public interface FieldTestItemGroupCounterRepository {
+    /**
+     * Finds the field test item group counters of the segments
+     *
+     * @param segmentKeys the keys of the segments
+     * @return a map of segment key to a map of group key to the number of times the group has been assigned.  Segments
+     * without counters are not included
+     */
+    Map<String, Map<String, Long>> findCounts(final Collection<String> segmentKeys);
+
+    /**
+     * Adds the number of new assignments to the field test item group counters, creating any missing counters
+     *
+     * @param segmentToGroupIncrements a map of segment key to a map of group key to the number of new assignments
+     */
+    void incrementCounts(final Map<String, Map<String, Long>> segmentToGroupIncrements);
+}
@@ -0,0 +1,28 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.repositories;
+
+/**
+ * Handles the shared form assignment sequences
+ */
+public interface FormAssignmentSequenceRepository {
+    /**
+     * Atomically increments the form assignment sequence of the segment and language, creating it if it does not exist
+     *
+     * @param segmentKey   the key of the segment
+     * @param languageCode the language of the forms
+     * @return the value of the sequence before it was incremented, starting at 0
+     */
+    long getAndIncrement(final String segmentKey, final String languageCode);
+}
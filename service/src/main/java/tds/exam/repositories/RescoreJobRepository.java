@@ -0,0 +1,109 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import tds.exam.models.RescoreJob;
+import tds.exam.models.RescoreJobExam;
+import tds.exam.models.RescoreJobStats;
+
+/**
+ * Handles the rescore_job and rescore_job_exam tables tracking the progress of bulk rescoring
+ */
+public interface RescoreJobRepository {
+    /**
+     * Creates a rescore job
+     *
+     * @param job the {@link tds.exam.models.RescoreJob} to create
+     */
+    void create(final RescoreJob job);
+
+    /**
+     * @param jobId the id of the rescore job
+     * @return the {@link tds.exam.models.RescoreJob} if found
+     */
+    Optional<RescoreJob> findRescoreJob(final UUID jobId);
+
+    /**
+     * Submits an exam to be rescored by a job.  An exam submitted to the job before is rescored again from the given
+     * TRT.
+     *
+     * @param jobId       the id of the rescore job
+     * @param examId      the id of the exam
+     * @param testResults the TRT xml of the exam
+     */
+    void submitExam(final UUID jobId, final UUID examId, final String testResults);
+
+    /**
+     * Claims a batch of the exams with the given status that are not leased by another claim, oldest first
+     *
+     * @param status      the status of the exams to claim
+     * @param leaseOwner  the id of the claim
+     * @param limit       the max number of exams to claim
+     * @param leaseMillis how long the claim holds the exams before another claim may take them
+     * @return the claimed {@link tds.exam.models.RescoreJobExam}s
+     */
+    List<RescoreJobExam> claim(final String status, final String leaseOwner, final int limit, final long leaseMillis);
+
+    /**
+     * Finds the TRT xml of a claimed exam.  The driver reads the whole column into memory anyway, so the xml is copied
+     * out and the connection is released before the exam is rescored.
+     *
+     * @param exam the claimed {@link tds.exam.models.RescoreJobExam}
+     * @return the TRT xml, or empty if the exam is no longer claimed or has no TRT xml
+     */
+    Optional<String> findTestResults(final RescoreJobExam exam);
+
+    /**
+     * Records that a claimed exam was rescored
+     *
+     * @param exam            the claimed {@link tds.exam.models.RescoreJobExam}
+     * @param rescoredResults the UTF-8 encoded rescored test results message to publish
+     */
+    void updateRescored(final RescoreJobExam exam, final byte[] rescoredResults);
+
+    /**
+     * Releases a claimed exam to be rescored again
+     *
+     * @param exam  the claimed {@link tds.exam.models.RescoreJobExam}
+     * @param error the reason the attempt failed
+     */
+    void release(final RescoreJobExam exam, final String error);
+
+    /**
+     * Records that a claimed exam could not be rescored
+     *
+     * @param exam  the claimed {@link tds.exam.models.RescoreJobExam}
+     * @param error the reason the exam could not be rescored
+     */
+    void updateFailed(final RescoreJobExam exam, final String error);
+
+    /**
+     * Records that the rescored results of claimed exams were published
+     *
+     * @param exams the claimed {@link tds.exam.models.RescoreJobExam}s
+     */
+    void updatePublished(final Collection<RescoreJobExam> exams);
+
+    /**
+     * @param jobId                  the id of the rescore job
+     * @param throughputWindowMillis how far back to count the recently rescored exams
+     * @return the {@link tds.exam.models.RescoreJobStats} of the job if found
+     */
+    Optional<RescoreJobStats> findStats(final UUID jobId, final long throughputWindowMillis);
+}
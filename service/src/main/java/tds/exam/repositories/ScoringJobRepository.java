@@ -0,0 +1,82 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.repositories;
+
+import java.util.Collection;
+import java.util.List;
+
+import tds.exam.models.ScoringJobQueueStats;
+import tds.score.model.ScoringJob;
+
+/**
+ * Handles the scoring_job queue of the responses waiting for a machine score
+ */
+public interface ScoringJobRepository {
+    /**
+     * Adds scoring jobs to the queue.  A job for a response that is already queued is ignored.
+     *
+     * @param jobs the {@link tds.score.model.ScoringJob}s to add
+     */
+    void create(final Collection<ScoringJob> jobs);
+
+    /**
+     * Claims a batch of the jobs that are due and not leased by another claim, oldest first.  Claiming a job counts as
+     * an attempt to score it.
+     *
+     * @param leaseOwner  the id of the claim
+     * @param limit       the max number of jobs to claim
+     * @param leaseMillis how long the claim holds the jobs before another claim may take them
+     * @return the claimed {@link tds.score.model.ScoringJob}s
+     */
+    List<ScoringJob> claim(final String leaseOwner, final int limit, final long leaseMillis);
+
+    /**
+     * Releases a claimed job to be attempted again later
+     *
+     * @param job           the claimed {@link tds.score.model.ScoringJob}
+     * @param backoffMillis how long to wait before the job is due again
+     * @param error         the reason the attempt failed
+     */
+    void retry(final ScoringJob job, final long backoffMillis, final String error);
+
+    /**
+     * Saves the score of a claimed job as a new version of its response if the response is still the latest one for
+     * the item and is still waiting for its score, then removes the job from the queue
+     *
+     * @param job               the claimed {@link tds.score.model.ScoringJob}
+     * @param score             the score
+     * @param scoringStatus     the score status
+     * @param scoringRationale  the score rationale
+     * @param scoringDimensions the dimensions associated with the score
+     * @return {@code true} if the score was saved, {@code false} if the response has been replaced or scored since the
+     * job was created
+     */
+    boolean complete(final ScoringJob job, final int score, final String scoringStatus, final String scoringRationale,
+                     final String scoringDimensions);
+
+    /**
+     * Queues the latest responses that have been waiting for a machine score since before the given age and are not
+     * queued, e.g. responses sent to the scoring engine whose callback was lost
+     *
+     * @param waitingMillis how long a response must have been waiting to be queued
+     * @param limit         the max number of responses to queue
+     * @return the number of responses queued
+     */
+    int createForWaitingResponses(final long waitingMillis, final int limit);
+
+    /**
+     * @return the {@link tds.exam.models.ScoringJobQueueStats} of the queue
+     */
+    ScoringJobQueueStats findQueueStats();
+}
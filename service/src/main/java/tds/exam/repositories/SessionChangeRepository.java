@@ -0,0 +1,38 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.repositories;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reads the versions the {@link tds.exam.repositories.ExamChangeCommandRepository} records as the exams in a session
+ * change
+ */
+public interface SessionChangeRepository {
+    /**
+     * @param sessionId the id of the session
+     * @return the latest committed version of the session, or 0 if no exam in the session has changed
+     */
+    long findVersion(final UUID sessionId);
+
+    /**
+     * Finds the exams that changed in, or left, a session after a version of the session
+     *
+     * @param sessionId    the id of the session
+     * @param afterVersion the version of the session the caller has seen
+     * @return the ids of the exams that changed after the version, mapped to the version they last changed at
+     */
+    Map<UUID, Long> findExamChanges(final UUID sessionId, final long afterVersion);
+}
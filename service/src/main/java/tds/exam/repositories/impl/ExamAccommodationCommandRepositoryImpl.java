@@ -22,21 +22,35 @@ import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Repository;
 import tds.exam.ExamAccommodation;
 import tds.exam.repositories.ExamAccommodationCommandRepository;
+import tds.exam.repositories.ExamChangeCommandRepository;
+import tds.exam.utils.ExamUnitOfWorkProvider;
 
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import static tds.common.data.mapping.ResultSetMapperUtility.mapJodaInstantToTimestamp;
 
 @Repository
 public class ExamAccommodationCommandRepositoryImpl implements ExamAccommodationCommandRepository {
+    private static final String LANGUAGE_TYPE = "Language";
+
     private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ExamChangeCommandRepository examChangeCommandRepository;
+    private final ExamUnitOfWorkProvider examUnitOfWorkProvider;
 
     @Autowired
-    public ExamAccommodationCommandRepositoryImpl(@Qualifier("commandJdbcTemplate") final NamedParameterJdbcTemplate jdbcTemplate) {
+    public ExamAccommodationCommandRepositoryImpl(@Qualifier("commandJdbcTemplate") final NamedParameterJdbcTemplate jdbcTemplate,
+                                                  final ExamChangeCommandRepository examChangeCommandRepository,
+                                                  final ExamUnitOfWorkProvider examUnitOfWorkProvider) {
         this.jdbcTemplate = jdbcTemplate;
+        this.examChangeCommandRepository = examChangeCommandRepository;
+        this.examUnitOfWorkProvider = examUnitOfWorkProvider;
     }
 
     @Override
@@ -80,6 +94,33 @@ public class ExamAccommodationCommandRepositoryImpl implements ExamAccommodation
         jdbcTemplate.batchUpdate(SQL, parameters);
 
         update(createdAccommodations.toArray(new ExamAccommodation[createdAccommodations.size()]));
+        updateExamCurrentLanguage(accommodations);
+    }
+
+    /*
+     * The exam_current projection carries the code of the most recently created language accommodation so exam reads
+     * do not need to search exam_accommodation for it.
+     */
+    private void updateExamCurrentLanguage(final List<ExamAccommodation> accommodations) {
+        final Map<UUID, String> languageCodesByExamId = new LinkedHashMap<>();
+        accommodations.stream()
+            .filter(accommodation -> LANGUAGE_TYPE.equals(accommodation.getType()))
+            .forEach(accommodation -> languageCodesByExamId.put(accommodation.getExamId(), accommodation.getCode()));
+
+        if (languageCodesByExamId.isEmpty()) {
+            return;
+        }
+
+        examUnitOfWorkProvider.find().ifPresent(unitOfWork -> languageCodesByExamId.keySet().forEach(unitOfWork::evictExam));
+
+        final String SQL = "UPDATE exam_current SET language_code = :languageCode WHERE exam_id = :examId";
+
+        final SqlParameterSource[] parameters = languageCodesByExamId.entrySet().stream()
+            .map(entry -> new MapSqlParameterSource("examId", entry.getKey().toString())
+                .addValue("languageCode", entry.getValue()))
+            .toArray(SqlParameterSource[]::new);
+
+        jdbcTemplate.batchUpdate(SQL, parameters);
     }
 
     @Override
@@ -124,6 +165,13 @@ public class ExamAccommodationCommandRepositoryImpl implements ExamAccommodation
         }
 
         jdbcTemplate.batchUpdate(SQL, parameterSources);
+
+        final List<UUID> examIds = Arrays.stream(examAccommodations)
+            .map(ExamAccommodation::getExamId)
+            .distinct()
+            .collect(Collectors.toList());
+        examUnitOfWorkProvider.find().ifPresent(unitOfWork -> examIds.forEach(unitOfWork::evictAccommodations));
+        examChangeCommandRepository.examsChanged(examIds);
     }
 
     @Override
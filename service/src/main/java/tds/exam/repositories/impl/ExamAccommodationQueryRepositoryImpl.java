@@ -27,23 +27,28 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 import tds.exam.ExamAccommodation;
 import tds.exam.models.ExamAccommodationFilter;
 import tds.exam.repositories.ExamAccommodationQueryRepository;
+import tds.exam.utils.ExamUnitOfWorkProvider;
 
 import static tds.common.data.mapping.ResultSetMapperUtility.mapTimestampToJodaInstant;
 
 @Repository
 public class ExamAccommodationQueryRepositoryImpl implements ExamAccommodationQueryRepository {
     private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ExamUnitOfWorkProvider examUnitOfWorkProvider;
     private static final RowMapper<ExamAccommodation> accommodationRowMapper = new AccommodationRowMapper();
 
     @Autowired
-    public ExamAccommodationQueryRepositoryImpl(@Qualifier("queryJdbcTemplate") final NamedParameterJdbcTemplate queryJdbcTemplate) {
+    public ExamAccommodationQueryRepositoryImpl(@Qualifier("queryJdbcTemplate") final NamedParameterJdbcTemplate queryJdbcTemplate,
+                                                final ExamUnitOfWorkProvider examUnitOfWorkProvider) {
         this.jdbcTemplate = queryJdbcTemplate;
+        this.examUnitOfWorkProvider = examUnitOfWorkProvider;
     }
 
     @Override
@@ -107,7 +112,20 @@ public class ExamAccommodationQueryRepositoryImpl implements ExamAccommodationQu
 
     @Override
     public List<ExamAccommodation> findAccommodations(final UUID... examIds) {
-        return getAccommodations(false, examIds);
+        if (examIds.length != 1) {
+            return getAccommodations(false, examIds);
+        }
+
+        final Optional<List<ExamAccommodation>> maybeLoadedAccommodations = examUnitOfWorkProvider.find()
+            .flatMap(unitOfWork -> unitOfWork.findAccommodations(examIds[0]));
+        if (maybeLoadedAccommodations.isPresent()) {
+            return maybeLoadedAccommodations.get();
+        }
+
+        final List<ExamAccommodation> accommodations = getAccommodations(false, examIds);
+        examUnitOfWorkProvider.find().ifPresent(unitOfWork -> unitOfWork.registerAccommodations(examIds[0], accommodations));
+
+        return accommodations;
     }
 
     @Override
@@ -0,0 +1,204 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.repositories.impl;
+
+import org.joda.time.Instant;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import tds.exam.repositories.ExamChangeCommandRepository;
+
+import static tds.common.data.mapping.ResultSetMapperUtility.mapJodaInstantToTimestamp;
+
+/**
+ * Each change increments the session_change version of every session the changed exams are in or were in before, then
+ * stamps a row per exam and session with the new version of the session.  The session rows are incremented just before
+ * the transaction commits and stay locked until it does, so a session's versions commit in the order they are
+ * incremented: once a version of a session is committed every change stamped with it or an earlier version is too.
+ * The sessions are incremented in order of their ids so transactions changing the same sessions do not deadlock.
+ * <p>
+ * The student's last activity in an exam is kept in a single exam_last_activity row per exam, so the resume check is a
+ * primary key lookup.  It only ever moves forward, so each write keeps the later of the recorded time and its own.  The
+ * rows are written in exam id order so concurrent writes to the same exams lock them in the same order.
+ * </p>
+ * <p>
+ * Within a transaction the changed exams are collected and recorded once just before commit, so a request that writes
+ * an exam several times only increments its session once and the session rows are locked for as short as possible.
+ * A change made outside a transaction is recorded in a transaction of its own.
+ * </p>
+ */
+@Repository
+public class ExamChangeCommandRepositoryImpl implements ExamChangeCommandRepository {
+    private static final String CHANGED_EXAM_SESSIONS_SQL =
+        "   SELECT session_id, exam_id FROM exam_current WHERE exam_id IN (:examIds) \n" +
+            "   UNION \n" +
+            "   SELECT session_id, exam_id FROM session_exam_change WHERE exam_id IN (:examIds) \n";
+
+    private static final String SESSION_CHANGE_INCREMENT_SQL =
+        "INSERT INTO session_change ( \n" +
+            "   session_id, \n" +
+            "   version, \n" +
+            "   updated_at \n" +
+            ") \n" +
+            "SELECT DISTINCT \n" +
+            "   exams.session_id, \n" +
+            "   1, \n" +
+            "   UTC_TIMESTAMP(3) \n" +
+            "FROM ( \n" +
+            CHANGED_EXAM_SESSIONS_SQL +
+            ") exams \n" +
+            "ORDER BY \n" +
+            "   exams.session_id \n" +
+            "ON DUPLICATE KEY UPDATE \n" +
+            "   version = version + 1, \n" +
+            "   updated_at = VALUES(updated_at)";
+
+    private static final String SESSION_EXAM_CHANGE_UPSERT_SQL =
+        "INSERT INTO session_exam_change ( \n" +
+            "   session_id, \n" +
+            "   exam_id, \n" +
+            "   version, \n" +
+            "   changed_at \n" +
+            ") \n" +
+            "SELECT \n" +
+            "   exams.session_id, \n" +
+            "   exams.exam_id, \n" +
+            "   sc.version, \n" +
+            "   UTC_TIMESTAMP(3) \n" +
+            "FROM ( \n" +
+            CHANGED_EXAM_SESSIONS_SQL +
+            ") exams \n" +
+            "JOIN session_change sc \n" +
+            "   ON sc.session_id = exams.session_id \n" +
+            "ORDER BY \n" +
+            "   exams.exam_id, \n" +
+            "   exams.session_id \n" +
+            "ON DUPLICATE KEY UPDATE \n" +
+            "   version = VALUES(version), \n" +
+            "   changed_at = VALUES(changed_at)";
+
+    private static final String EXAM_LAST_ACTIVITY_UPSERT_SQL =
+        "INSERT INTO exam_last_activity ( \n" +
+            "   exam_id, \n" +
+            "   last_student_activity_at, \n" +
+            "   updated_at \n" +
+            ") \n" +
+            "VALUES ( \n" +
+            "   :examId, \n" +
+            "   :activityAt, \n" +
+            "   UTC_TIMESTAMP(3) \n" +
+            ") \n" +
+            "ON DUPLICATE KEY UPDATE \n" +
+            "   last_student_activity_at = GREATEST(last_student_activity_at, VALUES(last_student_activity_at)), \n" +
+            "   updated_at = VALUES(updated_at)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ExamChangeCommandRepositoryImpl(@Qualifier("commandJdbcTemplate") final NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void examsChanged(final Collection<UUID> examIds) {
+        changed(examIds, null);
+    }
+
+    @Override
+    @Transactional
+    public void studentActive(final Collection<UUID> examIds, final Instant activityAt) {
+        changed(examIds, mapJodaInstantToTimestamp(activityAt));
+    }
+
+    /**
+     * Records that the exams changed.  Must run in the transaction the changes commit in.
+     *
+     * @param examActivity the ids of the exams that changed, mapped to the time the student was active in them or
+     *                     {@code null} if the change was not activity
+     */
+    void record(final Map<UUID, Timestamp> examActivity) {
+        final SqlParameterSource parameters = new MapSqlParameterSource("examIds", toIds(examActivity.keySet()));
+        jdbcTemplate.update(SESSION_CHANGE_INCREMENT_SQL, parameters);
+        jdbcTemplate.update(SESSION_EXAM_CHANGE_UPSERT_SQL, parameters);
+
+        final SqlParameterSource[] activityBatchParameters = examActivity.entrySet().stream()
+            .filter(entry -> entry.getValue() != null)
+            .sorted(Map.Entry.comparingByKey(Comparator.comparing(UUID::toString)))
+            .map(entry -> new MapSqlParameterSource("examId", entry.getKey().toString())
+                .addValue("activityAt", entry.getValue()))
+            .toArray(SqlParameterSource[]::new);
+        if (activityBatchParameters.length > 0) {
+            jdbcTemplate.batchUpdate(EXAM_LAST_ACTIVITY_UPSERT_SQL, activityBatchParameters);
+        }
+    }
+
+    private static List<String> toIds(final Collection<UUID> examIds) {
+        return examIds.stream()
+            .map(UUID::toString)
+            .distinct()
+            .collect(Collectors.toList());
+    }
+
+    private void changed(final Collection<UUID> examIds, final Timestamp activityAt) {
+        if (examIds.isEmpty()) {
+            return;
+        }
+
+        PendingChanges pendingChanges = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pendingChanges == null) {
+            pendingChanges = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pendingChanges);
+            TransactionSynchronizationManager.registerSynchronization(pendingChanges);
+        }
+
+        for (final UUID examId : examIds) {
+            final Timestamp pendingActivityAt = pendingChanges.examActivity.get(examId);
+            if (pendingActivityAt == null || (activityAt != null && activityAt.after(pendingActivityAt))) {
+                pendingChanges.examActivity.put(examId, activityAt);
+            }
+        }
+    }
+
+    private class PendingChanges extends TransactionSynchronizationAdapter {
+        // The changed exams mapped to the latest activity in them, or null when the student was not active
+        private final Map<UUID, Timestamp> examActivity = new LinkedHashMap<>();
+
+        @Override
+        public void beforeCommit(final boolean readOnly) {
+            record(examActivity);
+        }
+
+        @Override
+        public void afterCompletion(final int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ExamChangeCommandRepositoryImpl.this);
+        }
+    }
+}
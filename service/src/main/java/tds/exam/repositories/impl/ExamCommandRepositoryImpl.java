@@ -22,22 +22,113 @@ import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Repository;
 
 import java.sql.Timestamp;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import tds.common.data.CreateRecordException;
 import tds.exam.Exam;
+import tds.exam.ExamStatusCode;
+import tds.exam.repositories.ExamChangeCommandRepository;
 import tds.exam.repositories.ExamCommandRepository;
+import tds.exam.utils.ExamUnitOfWorkProvider;
 
 import static tds.common.data.mapping.ResultSetMapperUtility.mapJodaInstantToTimestamp;
 import static tds.common.data.mysql.UuidAdapter.getBytesFromUUID;
 
 @Repository
 class ExamCommandRepositoryImpl implements ExamCommandRepository {
+    /*
+     * exam_current is a projection of the latest exam_event for each exam.  The language code is intentionally not
+     * updated here since it is sourced from the exam's language accommodation and is maintained by the
+     * ExamAccommodationCommandRepository.
+     */
+    private static final String EXAM_CURRENT_UPSERT_SQL =
+        "INSERT INTO exam_current (\n" +
+            "exam_id, \n" +
+            "exam_event_id, \n" +
+            "attempts, \n" +
+            "max_items, \n" +
+            "expires_at, \n" +
+            "session_id, \n" +
+            "browser_id, \n" +
+            "status, \n" +
+            "status_changed_at, \n" +
+            "status_change_reason, \n" +
+            "changed_at, \n" +
+            "deleted_at, \n" +
+            "completed_at, \n" +
+            "scored_at, \n" +
+            "started_at, \n" +
+            "waiting_for_segment_approval_position, \n" +
+            "current_segment_position, \n" +
+            "custom_accommodations, \n" +
+            "abnormal_starts, \n" +
+            "browser_user_agent, \n" +
+            "resumptions, \n" +
+            "restarts_and_resumptions, \n" +
+            "updated_at \n" +
+            ") \n" +
+            "VALUES \n" +
+            "( \n" +
+            ":examId, \n" +
+            "(SELECT MAX(id) FROM exam_event WHERE exam_id = :examId), \n" +
+            ":attempts, \n" +
+            ":maxItems, \n" +
+            ":expiresAt, \n" +
+            ":sessionId, \n" +
+            ":browserId, \n" +
+            ":status, \n" +
+            ":statusChangedAt, \n" +
+            ":statusChangeReason, \n" +
+            ":changedAt, \n" +
+            ":deletedAt, \n" +
+            ":completedAt, \n" +
+            ":scoredAt, \n" +
+            ":startedAt, \n" +
+            ":waitingForSegmentApprovalPosition,\n" +
+            ":currentSegmentPosition, \n" +
+            ":customAccommodations, \n" +
+            ":abnormalStarts, \n" +
+            ":browserUserAgent, \n" +
+            ":resumptions, \n" +
+            ":restartsAndResumptions, \n" +
+            ":createdAt \n" +
+            ") \n" +
+            "ON DUPLICATE KEY UPDATE \n" +
+            "exam_event_id = VALUES(exam_event_id), \n" +
+            "attempts = VALUES(attempts), \n" +
+            "max_items = VALUES(max_items), \n" +
+            "expires_at = VALUES(expires_at), \n" +
+            "session_id = VALUES(session_id), \n" +
+            "browser_id = VALUES(browser_id), \n" +
+            "status = VALUES(status), \n" +
+            "status_changed_at = VALUES(status_changed_at), \n" +
+            "status_change_reason = VALUES(status_change_reason), \n" +
+            "changed_at = VALUES(changed_at), \n" +
+            "deleted_at = VALUES(deleted_at), \n" +
+            "completed_at = VALUES(completed_at), \n" +
+            "scored_at = VALUES(scored_at), \n" +
+            "started_at = VALUES(started_at), \n" +
+            "waiting_for_segment_approval_position = VALUES(waiting_for_segment_approval_position), \n" +
+            "current_segment_position = VALUES(current_segment_position), \n" +
+            "custom_accommodations = VALUES(custom_accommodations), \n" +
+            "abnormal_starts = VALUES(abnormal_starts), \n" +
+            "browser_user_agent = VALUES(browser_user_agent), \n" +
+            "resumptions = VALUES(resumptions), \n" +
+            "restarts_and_resumptions = VALUES(restarts_and_resumptions), \n" +
+            "updated_at = VALUES(updated_at)";
+
     private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ExamChangeCommandRepository examChangeCommandRepository;
+    private final ExamUnitOfWorkProvider examUnitOfWorkProvider;
 
     @Autowired
-    ExamCommandRepositoryImpl(@Qualifier("commandJdbcTemplate") final NamedParameterJdbcTemplate jdbcTemplate) {
+    ExamCommandRepositoryImpl(@Qualifier("commandJdbcTemplate") final NamedParameterJdbcTemplate jdbcTemplate,
+                              final ExamChangeCommandRepository examChangeCommandRepository,
+                              final ExamUnitOfWorkProvider examUnitOfWorkProvider) {
         this.jdbcTemplate = jdbcTemplate;
+        this.examChangeCommandRepository = examChangeCommandRepository;
+        this.examUnitOfWorkProvider = examUnitOfWorkProvider;
     }
 
     @Override
@@ -102,11 +193,15 @@ class ExamCommandRepositoryImpl implements ExamCommandRepository {
         }
 
         update(exam);
+
+        // The created at timestamp is assigned here rather than taken from the exam, so the next read needs to load it
+        examUnitOfWorkProvider.find().ifPresent(unitOfWork -> unitOfWork.evictExam(exam.getId()));
     }
 
     @Override
     public void update(final Exam... exams) {
-        final Timestamp now = mapJodaInstantToTimestamp(org.joda.time.Instant.now());
+        final Instant changedAt = Instant.now();
+        final Timestamp now = mapJodaInstantToTimestamp(changedAt);
 
         SqlParameterSource[] batchParameters = Stream.of(exams)
             .map(exam -> new MapSqlParameterSource("examId", exam.getId().toString())
@@ -188,5 +283,19 @@ class ExamCommandRepositoryImpl implements ExamCommandRepository {
                 ")";
 
         jdbcTemplate.batchUpdate(SQL, batchParameters);
+        jdbcTemplate.batchUpdate(EXAM_CURRENT_UPSERT_SQL, batchParameters);
+        examChangeCommandRepository.examsChanged(Stream.of(exams)
+            .map(Exam::getId)
+            .collect(Collectors.toList()));
+        examChangeCommandRepository.studentActive(Stream.of(exams)
+            .filter(exam -> ExamStatusCode.STATUS_PAUSED.equals(exam.getStatus().getCode()))
+            .map(Exam::getId)
+            .collect(Collectors.toList()), changedAt);
+
+        examUnitOfWorkProvider.find().ifPresent(unitOfWork -> {
+            for (final Exam exam : exams) {
+                unitOfWork.registerUpdatedExam(exam, changedAt);
+            }
+        });
     }
 }
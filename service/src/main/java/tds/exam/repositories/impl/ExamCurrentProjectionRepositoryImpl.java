@@ -0,0 +1,211 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.repositories.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import tds.exam.repositories.ExamCurrentProjectionRepository;
+
+@Repository
+class ExamCurrentProjectionRepositoryImpl implements ExamCurrentProjectionRepository {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ExamCurrentProjectionRepositoryImpl(@Qualifier("commandJdbcTemplate") final NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<UUID> findExamIds(final UUID afterExamId, final int limit) {
+        final SqlParameterSource parameters = new MapSqlParameterSource("afterExamId", afterExamId == null ? "" : afterExamId.toString())
+            .addValue("limit", limit);
+
+        final String SQL =
+            "SELECT \n" +
+                "   id \n" +
+                "FROM \n" +
+                "   exam \n" +
+                "WHERE \n" +
+                "   id > :afterExamId \n" +
+                "ORDER BY id \n" +
+                "LIMIT :limit";
+
+        return jdbcTemplate.query(SQL, parameters, (rs, rowNum) -> UUID.fromString(rs.getString("id")));
+    }
+
+    @Override
+    public List<UUID> findOutOfDateExamIds(final Collection<UUID> examIds) {
+        if (examIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final SqlParameterSource parameters = new MapSqlParameterSource("examIds", toStrings(examIds));
+
+        final String SQL =
+            "SELECT \n" +
+                "   e.id \n" +
+                "FROM \n" +
+                "   exam e \n" +
+                "LEFT JOIN \n" +
+                "   exam_current ec \n" +
+                "   ON ec.exam_id = e.id \n" +
+                "WHERE \n" +
+                "   e.id IN (:examIds) \n" +
+                "   AND EXISTS (SELECT 1 FROM exam_event WHERE exam_id = e.id) \n" +
+                "   AND ( \n" +
+                "       NOT (ec.exam_event_id <=> (SELECT MAX(id) FROM exam_event WHERE exam_id = e.id)) \n" +
+                "       OR NOT (ec.language_code <=> ( \n" +
+                "           SELECT \n" +
+                "               code \n" +
+                "           FROM \n" +
+                "               exam_accommodation \n" +
+                "           WHERE \n" +
+                "               exam_id = e.id \n" +
+                "               AND type = 'Language' \n" +
+                "           ORDER BY created_at DESC \n" +
+                "           LIMIT 1)) \n" +
+                "   ) \n" +
+                "ORDER BY e.id";
+
+        return jdbcTemplate.query(SQL, parameters, (rs, rowNum) -> UUID.fromString(rs.getString("id")));
+    }
+
+    @Override
+    public int rebuild(final Collection<UUID> examIds) {
+        if (examIds.isEmpty()) {
+            return 0;
+        }
+
+        final SqlParameterSource parameters = new MapSqlParameterSource("examIds", toStrings(examIds));
+
+        final String SQL =
+            "INSERT INTO exam_current ( \n" +
+                "   exam_id, \n" +
+                "   exam_event_id, \n" +
+                "   session_id, \n" +
+                "   browser_id, \n" +
+                "   language_code, \n" +
+                "   attempts, \n" +
+                "   status, \n" +
+                "   status_changed_at, \n" +
+                "   status_change_reason, \n" +
+                "   max_items, \n" +
+                "   expires_at, \n" +
+                "   changed_at, \n" +
+                "   deleted_at, \n" +
+                "   completed_at, \n" +
+                "   scored_at, \n" +
+                "   started_at, \n" +
+                "   abnormal_starts, \n" +
+                "   waiting_for_segment_approval_position, \n" +
+                "   current_segment_position, \n" +
+                "   custom_accommodations, \n" +
+                "   browser_user_agent, \n" +
+                "   resumptions, \n" +
+                "   restarts_and_resumptions, \n" +
+                "   updated_at \n" +
+                ") \n" +
+                "SELECT \n" +
+                "   ee.exam_id, \n" +
+                "   ee.id, \n" +
+                "   ee.session_id, \n" +
+                "   ee.browser_id, \n" +
+                "   ( \n" +
+                "       SELECT \n" +
+                "           code \n" +
+                "       FROM \n" +
+                "           exam_accommodation \n" +
+                "       WHERE \n" +
+                "           exam_id = ee.exam_id \n" +
+                "           AND type = 'Language' \n" +
+                "       ORDER BY created_at DESC \n" +
+                "       LIMIT 1 \n" +
+                "   ), \n" +
+                "   ee.attempts, \n" +
+                "   ee.status, \n" +
+                "   ee.status_changed_at, \n" +
+                "   ee.status_change_reason, \n" +
+                "   ee.max_items, \n" +
+                "   ee.expires_at, \n" +
+                "   ee.changed_at, \n" +
+                "   ee.deleted_at, \n" +
+                "   ee.completed_at, \n" +
+                "   ee.scored_at, \n" +
+                "   ee.started_at, \n" +
+                "   ee.abnormal_starts, \n" +
+                "   ee.waiting_for_segment_approval_position, \n" +
+                "   ee.current_segment_position, \n" +
+                "   ee.custom_accommodations, \n" +
+                "   ee.browser_user_agent, \n" +
+                "   ee.resumptions, \n" +
+                "   ee.restarts_and_resumptions, \n" +
+                "   UTC_TIMESTAMP(3) \n" +
+                "FROM \n" +
+                "   exam_event ee \n" +
+                "JOIN ( \n" +
+                "   SELECT \n" +
+                "       exam_id, \n" +
+                "       MAX(id) AS id \n" +
+                "   FROM \n" +
+                "       exam_event \n" +
+                "   WHERE \n" +
+                "       exam_id IN (:examIds) \n" +
+                "   GROUP BY exam_id \n" +
+                ") last_event \n" +
+                "   ON last_event.id = ee.id \n" +
+                "ON DUPLICATE KEY UPDATE \n" +
+                "   exam_event_id = VALUES(exam_event_id), \n" +
+                "   session_id = VALUES(session_id), \n" +
+                "   browser_id = VALUES(browser_id), \n" +
+                "   language_code = VALUES(language_code), \n" +
+                "   attempts = VALUES(attempts), \n" +
+                "   status = VALUES(status), \n" +
+                "   status_changed_at = VALUES(status_changed_at), \n" +
+                "   status_change_reason = VALUES(status_change_reason), \n" +
+                "   max_items = VALUES(max_items), \n" +
+                "   expires_at = VALUES(expires_at), \n" +
+                "   changed_at = VALUES(changed_at), \n" +
+                "   deleted_at = VALUES(deleted_at), \n" +
+                "   completed_at = VALUES(completed_at), \n" +
+                "   scored_at = VALUES(scored_at), \n" +
+                "   started_at = VALUES(started_at), \n" +
+                "   abnormal_starts = VALUES(abnormal_starts), \n" +
+                "   waiting_for_segment_approval_position = VALUES(waiting_for_segment_approval_position), \n" +
+                "   current_segment_position = VALUES(current_segment_position), \n" +
+                "   custom_accommodations = VALUES(custom_accommodations), \n" +
+                "   browser_user_agent = VALUES(browser_user_agent), \n" +
+                "   resumptions = VALUES(resumptions), \n" +
+                "   restarts_and_resumptions = VALUES(restarts_and_resumptions), \n" +
+                "   updated_at = VALUES(updated_at)";
+
+        return jdbcTemplate.update(SQL, parameters);
+    }
+
+    private static List<String> toStrings(final Collection<UUID> examIds) {
+        return examIds.stream()
+            .map(UUID::toString)
+            .collect(Collectors.toList());
+    }
+}
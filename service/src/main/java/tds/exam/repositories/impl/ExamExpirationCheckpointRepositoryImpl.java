@@ -0,0 +1,142 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.repositories.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import tds.exam.models.ExamExpirationCheckpoint;
+import tds.exam.repositories.ExamExpirationCheckpointRepository;
+
+import static tds.common.data.mapping.ResultSetMapperUtility.mapJodaInstantToTimestamp;
+import static tds.common.data.mapping.ResultSetMapperUtility.mapTimestampToJodaInstant;
+
+@Repository
+class ExamExpirationCheckpointRepositoryImpl implements ExamExpirationCheckpointRepository {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ExamExpirationCheckpointRepositoryImpl(@Qualifier("commandJdbcTemplate") final NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean tryAcquireLease(final String clientName, final String owner, final long leaseMillis) {
+        final SqlParameterSource parameters = new MapSqlParameterSource("clientName", clientName)
+            .addValue("owner", owner)
+            .addValue("leaseMicros", leaseMillis * 1000);
+
+        final String insertSQL =
+            "INSERT IGNORE INTO exam_expiration_checkpoint ( \n" +
+                "   client_name, \n" +
+                "   updated_at \n" +
+                ") \n" +
+                "VALUES ( \n" +
+                "   :clientName, \n" +
+                "   UTC_TIMESTAMP(3) \n" +
+                ")";
+
+        final String acquireSQL =
+            "UPDATE exam_expiration_checkpoint \n" +
+                "SET \n" +
+                "   lease_owner = :owner, \n" +
+                "   lease_expires_at = DATE_ADD(UTC_TIMESTAMP(3), INTERVAL :leaseMicros MICROSECOND), \n" +
+                "   updated_at = UTC_TIMESTAMP(3) \n" +
+                "WHERE \n" +
+                "   client_name = :clientName \n" +
+                "   AND ( \n" +
+                "       lease_owner IS NULL \n" +
+                "       OR lease_owner = :owner \n" +
+                "       OR lease_expires_at < UTC_TIMESTAMP(3) \n" +
+                "   )";
+
+        jdbcTemplate.update(insertSQL, parameters);
+        return jdbcTemplate.update(acquireSQL, parameters) == 1;
+    }
+
+    @Override
+    public Optional<ExamExpirationCheckpoint> findCheckpoint(final String clientName) {
+        final SqlParameterSource parameters = new MapSqlParameterSource("clientName", clientName);
+
+        final String SQL =
+            "SELECT \n" +
+                "   last_expires_at, \n" +
+                "   last_exam_id \n" +
+                "FROM \n" +
+                "   exam_expiration_checkpoint \n" +
+                "WHERE \n" +
+                "   client_name = :clientName \n" +
+                "   AND last_exam_id IS NOT NULL";
+
+        try {
+            return Optional.of(jdbcTemplate.queryForObject(SQL, parameters, (rs, rowNum) ->
+                new ExamExpirationCheckpoint(
+                    mapTimestampToJodaInstant(rs, "last_expires_at"),
+                    UUID.fromString(rs.getString("last_exam_id")))));
+        } catch (EmptyResultDataAccessException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public boolean saveCheckpoint(final String clientName, final String owner, final ExamExpirationCheckpoint checkpoint, final long leaseMillis) {
+        final SqlParameterSource parameters = new MapSqlParameterSource("clientName", clientName)
+            .addValue("owner", owner)
+            .addValue("lastExpiresAt", mapJodaInstantToTimestamp(checkpoint.getExpiresAt()))
+            .addValue("lastExamId", checkpoint.getExamId().toString())
+            .addValue("leaseMicros", leaseMillis * 1000);
+
+        final String SQL =
+            "UPDATE exam_expiration_checkpoint \n" +
+                "SET \n" +
+                "   last_expires_at = :lastExpiresAt, \n" +
+                "   last_exam_id = :lastExamId, \n" +
+                "   lease_expires_at = DATE_ADD(UTC_TIMESTAMP(3), INTERVAL :leaseMicros MICROSECOND), \n" +
+                "   updated_at = UTC_TIMESTAMP(3) \n" +
+                "WHERE \n" +
+                "   client_name = :clientName \n" +
+                "   AND lease_owner = :owner";
+
+        return jdbcTemplate.update(SQL, parameters) == 1;
+    }
+
+    @Override
+    public void releaseLease(final String clientName, final String owner, final boolean clearCheckpoint) {
+        final SqlParameterSource parameters = new MapSqlParameterSource("clientName", clientName)
+            .addValue("owner", owner)
+            .addValue("clearCheckpoint", clearCheckpoint);
+
+        final String SQL =
+            "UPDATE exam_expiration_checkpoint \n" +
+                "SET \n" +
+                "   last_expires_at = IF(:clearCheckpoint, NULL, last_expires_at), \n" +
+                "   last_exam_id = IF(:clearCheckpoint, NULL, last_exam_id), \n" +
+                "   lease_owner = NULL, \n" +
+                "   lease_expires_at = NULL, \n" +
+                "   updated_at = UTC_TIMESTAMP(3) \n" +
+                "WHERE \n" +
+                "   client_name = :clientName \n" +
+                "   AND lease_owner = :owner";
+
+        jdbcTemplate.update(SQL, parameters);
+    }
+}
@@ -22,11 +22,13 @@ import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Repository;
 
 import java.sql.Timestamp;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import tds.exam.ExamItem;
 import tds.exam.ExamItemResponse;
 import tds.exam.ExamItemResponseScore;
+import tds.exam.repositories.ExamChangeCommandRepository;
 import tds.exam.repositories.ExamItemCommandRepository;
 
 import static tds.common.data.mapping.ResultSetMapperUtility.mapJodaInstantToTimestamp;
@@ -34,10 +36,13 @@ import static tds.common.data.mapping.ResultSetMapperUtility.mapJodaInstantToTim
 @Repository
 public class ExamItemCommandRepositoryImpl implements ExamItemCommandRepository {
     private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ExamChangeCommandRepository examChangeCommandRepository;
 
     @Autowired
-    public ExamItemCommandRepositoryImpl(@Qualifier("commandJdbcTemplate") final NamedParameterJdbcTemplate jdbcTemplate) {
+    public ExamItemCommandRepositoryImpl(@Qualifier("commandJdbcTemplate") final NamedParameterJdbcTemplate jdbcTemplate,
+                                         final ExamChangeCommandRepository examChangeCommandRepository) {
         this.jdbcTemplate = jdbcTemplate;
+        this.examChangeCommandRepository = examChangeCommandRepository;
     }
 
     @Override
@@ -94,7 +99,8 @@ public class ExamItemCommandRepositoryImpl implements ExamItemCommandRepository
 
     @Override
     public void insertResponses(final ExamItemResponse... responses) {
-        final Timestamp createdAt = mapJodaInstantToTimestamp(Instant.now());
+        final Instant now = Instant.now();
+        final Timestamp createdAt = mapJodaInstantToTimestamp(now);
         final SqlParameterSource[] batchParameters = Stream.of(responses)
             .map(response -> {
                 MapSqlParameterSource sqlParameterSource =
@@ -171,5 +177,8 @@ public class ExamItemCommandRepositoryImpl implements ExamItemCommandRepository
                 "   :scoredAt)";
 
         jdbcTemplate.batchUpdate(SQL, batchParameters);
+        examChangeCommandRepository.studentActive(Stream.of(responses)
+            .map(ExamItemResponse::getExamId)
+            .collect(Collectors.toList()), now);
     }
 }
@@ -0,0 +1,131 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.repositories.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import tds.exam.repositories.ExamLastActivityRepository;
+
+@Repository
+class ExamLastActivityRepositoryImpl implements ExamLastActivityRepository {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ExamLastActivityRepositoryImpl(@Qualifier("commandJdbcTemplate") final NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<UUID> findInProgressExamIds(final UUID afterExamId, final int limit) {
+        final SqlParameterSource parameters = new MapSqlParameterSource("afterExamId", afterExamId == null ? "" : afterExamId.toString())
+            .addValue("limit", limit);
+
+        final String SQL =
+            "SELECT \n" +
+                "   ec.exam_id \n" +
+                "FROM \n" +
+                "   exam_current ec \n" +
+                "JOIN \n" +
+                "   exam_status_codes esc \n" +
+                "   ON esc.status = ec.status \n" +
+                "WHERE \n" +
+                "   ec.exam_id > :afterExamId \n" +
+                "   AND ec.deleted_at IS NULL \n" +
+                "   AND esc.stage <> 'closed' \n" +
+                "ORDER BY ec.exam_id \n" +
+                "LIMIT :limit";
+
+        return jdbcTemplate.query(SQL, parameters, (rs, rowNum) -> UUID.fromString(rs.getString("exam_id")));
+    }
+
+    @Override
+    public int backfill(final Collection<UUID> examIds) {
+        if (examIds.isEmpty()) {
+            return 0;
+        }
+
+        final List<String> ids = examIds.stream()
+            .map(UUID::toString)
+            .collect(Collectors.toList());
+        final SqlParameterSource parameters = new MapSqlParameterSource("examIds", ids);
+
+        // Pages and their responses only count while the page has an event that is not deleted, as in
+        // ExamQueryRepositoryImpl#findLastStudentActivity
+        final String SQL =
+            "INSERT INTO exam_last_activity ( \n" +
+                "   exam_id, \n" +
+                "   last_student_activity_at, \n" +
+                "   updated_at \n" +
+                ") \n" +
+                "SELECT \n" +
+                "   activity.exam_id, \n" +
+                "   MAX(activity.activity_at), \n" +
+                "   UTC_TIMESTAMP(3) \n" +
+                "FROM ( \n" +
+                "   SELECT \n" +
+                "       ee.exam_id, \n" +
+                "       MAX(ee.changed_at) AS activity_at \n" +
+                "   FROM \n" +
+                "       exam_event ee \n" +
+                "   WHERE \n" +
+                "       ee.exam_id IN (:examIds) \n" +
+                "       AND ee.status = 'paused' \n" +
+                "   GROUP BY ee.exam_id \n" +
+                "   UNION ALL \n" +
+                "   SELECT \n" +
+                "       P.exam_id, \n" +
+                "       MAX(IR.created_at) AS activity_at \n" +
+                "   FROM \n" +
+                "       exam_item_response IR \n" +
+                "   JOIN \n" +
+                "       exam_item I \n" +
+                "       ON I.id = IR.exam_item_id \n" +
+                "   JOIN \n" +
+                "       exam_page P \n" +
+                "       ON P.id = I.exam_page_id \n" +
+                "   WHERE \n" +
+                "       P.exam_id IN (:examIds) \n" +
+                "       AND EXISTS (SELECT 1 FROM exam_page_event PE WHERE PE.exam_page_id = P.id AND PE.deleted_at IS NULL) \n" +
+                "   GROUP BY P.exam_id \n" +
+                "   UNION ALL \n" +
+                "   SELECT \n" +
+                "       P.exam_id, \n" +
+                "       MAX(P.created_at) AS activity_at \n" +
+                "   FROM \n" +
+                "       exam_page P \n" +
+                "   WHERE \n" +
+                "       P.exam_id IN (:examIds) \n" +
+                "       AND EXISTS (SELECT 1 FROM exam_page_event PE WHERE PE.exam_page_id = P.id AND PE.deleted_at IS NULL) \n" +
+                "   GROUP BY P.exam_id \n" +
+                ") activity \n" +
+                "WHERE \n" +
+                "   activity.activity_at IS NOT NULL \n" +
+                "GROUP BY activity.exam_id \n" +
+                "ON DUPLICATE KEY UPDATE \n" +
+                "   last_student_activity_at = GREATEST(last_student_activity_at, VALUES(last_student_activity_at)), \n" +
+                "   updated_at = VALUES(updated_at)";
+
+        return jdbcTemplate.update(SQL, parameters);
+    }
+}
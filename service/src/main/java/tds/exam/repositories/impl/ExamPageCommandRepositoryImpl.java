@@ -22,26 +22,38 @@ import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Repository;
 
 import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import tds.exam.ExamPage;
+import tds.exam.repositories.ExamChangeCommandRepository;
 import tds.exam.repositories.ExamPageCommandRepository;
+import tds.exam.utils.ExamUnitOfWorkProvider;
 
 import static tds.common.data.mapping.ResultSetMapperUtility.mapJodaInstantToTimestamp;
 
 @Repository
 public class ExamPageCommandRepositoryImpl implements ExamPageCommandRepository {
     private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ExamChangeCommandRepository examChangeCommandRepository;
+    private final ExamUnitOfWorkProvider examUnitOfWorkProvider;
 
     @Autowired
-    public ExamPageCommandRepositoryImpl(@Qualifier("commandJdbcTemplate") final NamedParameterJdbcTemplate jdbcTemplate) {
+    public ExamPageCommandRepositoryImpl(@Qualifier("commandJdbcTemplate") final NamedParameterJdbcTemplate jdbcTemplate,
+                                         final ExamChangeCommandRepository examChangeCommandRepository,
+                                         final ExamUnitOfWorkProvider examUnitOfWorkProvider) {
         this.jdbcTemplate = jdbcTemplate;
+        this.examChangeCommandRepository = examChangeCommandRepository;
+        this.examUnitOfWorkProvider = examUnitOfWorkProvider;
     }
 
     @Override
     public void insert(final ExamPage... examPages) {
-        final Timestamp createdAt = mapJodaInstantToTimestamp(Instant.now());
+        final Instant now = Instant.now();
+        final Timestamp createdAt = mapJodaInstantToTimestamp(now);
         final String examPageSQL =
             "INSERT INTO \n" +
                 "exam_page (\n" +
@@ -73,6 +85,13 @@ public class ExamPageCommandRepositoryImpl implements ExamPageCommandRepository
 
         jdbcTemplate.batchUpdate(examPageSQL, parameters);
         update(examPages);
+        examChangeCommandRepository.studentActive(Stream.of(examPages)
+            .map(ExamPage::getExamId)
+            .collect(Collectors.toList()), now);
+
+        // The created at timestamp is assigned here rather than taken from the pages, so the next read needs to load it
+        examUnitOfWorkProvider.find().ifPresent(unitOfWork ->
+            Stream.of(examPages).map(ExamPage::getExamId).distinct().forEach(unitOfWork::evictPages));
     }
 
     @Override
@@ -105,6 +124,8 @@ public class ExamPageCommandRepositoryImpl implements ExamPageCommandRepository
                 "   P.exam_id = :examId";
 
         jdbcTemplate.update(SQL, params);
+        examUnitOfWorkProvider.find().ifPresent(unitOfWork -> unitOfWork.evictPages(examId));
+        examChangeCommandRepository.examsChanged(Collections.singletonList(examId));
     }
 
     @Override
@@ -141,5 +162,9 @@ public class ExamPageCommandRepositoryImpl implements ExamPageCommandRepository
             .toArray(SqlParameterSource[]::new);
 
         jdbcTemplate.batchUpdate(updatePageSQL, parameters);
+        examUnitOfWorkProvider.find().ifPresent(unitOfWork -> unitOfWork.registerUpdatedPages(Arrays.asList(examPages)));
+        examChangeCommandRepository.examsChanged(Stream.of(examPages)
+            .map(ExamPage::getExamId)
+            .collect(Collectors.toList()));
     }
 }
@@ -24,6 +24,7 @@ import org.springframework.stereotype.Repository;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -31,10 +32,12 @@ import java.util.UUID;
 import tds.common.data.mapping.ResultSetMapperUtility;
 import tds.exam.ExamPage;
 import tds.exam.repositories.ExamPageQueryRepository;
+import tds.exam.utils.ExamUnitOfWorkProvider;
 
 @Repository
 public class ExamPageQueryRepositoryImpl implements ExamPageQueryRepository {
     private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ExamUnitOfWorkProvider examUnitOfWorkProvider;
     private static final ExamPageRowMapper examPageRowMapper = new ExamPageRowMapper();
 
     private static final String EXAM_PAGE_STANDARD_SELECT =
@@ -68,8 +71,10 @@ public class ExamPageQueryRepositoryImpl implements ExamPageQueryRepository {
             "   ON last_event.id = PE.id \n";
 
     @Autowired
-    public ExamPageQueryRepositoryImpl(@Qualifier("queryJdbcTemplate") final NamedParameterJdbcTemplate queryJdbcTemplate) {
+    public ExamPageQueryRepositoryImpl(@Qualifier("queryJdbcTemplate") final NamedParameterJdbcTemplate queryJdbcTemplate,
+                                       final ExamUnitOfWorkProvider examUnitOfWorkProvider) {
         this.jdbcTemplate = queryJdbcTemplate;
+        this.examUnitOfWorkProvider = examUnitOfWorkProvider;
     }
 
     @Override
@@ -84,7 +89,10 @@ public class ExamPageQueryRepositoryImpl implements ExamPageQueryRepository {
             "ORDER BY \n" +
             "   P.page_position";
 
-        return jdbcTemplate.query(SQL, parameters, examPageRowMapper);
+        final List<ExamPage> examPages = jdbcTemplate.query(SQL, parameters, examPageRowMapper);
+        examUnitOfWorkProvider.find().ifPresent(unitOfWork -> unitOfWork.registerPages(examPages));
+
+        return examPages;
     }
 
     @Override
@@ -106,11 +114,20 @@ public class ExamPageQueryRepositoryImpl implements ExamPageQueryRepository {
             maybeExamPage = Optional.empty();
         }
 
+        maybeExamPage.ifPresent(examPage -> examUnitOfWorkProvider.find()
+            .ifPresent(unitOfWork -> unitOfWork.registerPages(Collections.singletonList(examPage))));
+
         return maybeExamPage;
     }
 
     @Override
     public Optional<ExamPage> find(final UUID pageId) {
+        final Optional<ExamPage> maybeLoadedExamPage = examUnitOfWorkProvider.find()
+            .flatMap(unitOfWork -> unitOfWork.findPage(pageId));
+        if (maybeLoadedExamPage.isPresent()) {
+            return maybeLoadedExamPage;
+        }
+
         final SqlParameterSource parameters = new MapSqlParameterSource("id", pageId.toString());
 
         final String SQL =
@@ -139,6 +156,9 @@ public class ExamPageQueryRepositoryImpl implements ExamPageQueryRepository {
             maybeExamPage = Optional.empty();
         }
 
+        maybeExamPage.ifPresent(examPage -> examUnitOfWorkProvider.find()
+            .ifPresent(unitOfWork -> unitOfWork.registerPages(Collections.singletonList(examPage))));
+
         return maybeExamPage;
     }
 
@@ -172,7 +172,7 @@ public class ExamPageWrapperQueryRepositoryImpl implements ExamPageWrapperQueryR
         return jdbcTemplate.query(SQL, parameters, examPageResultExtractor);
     }
 
-    private static class ExamPageResultSetExtractor implements ResultSetExtractor<List<ExamPageWrapper>> {
+    static class ExamPageResultSetExtractor implements ResultSetExtractor<List<ExamPageWrapper>> {
         @Override
         public List<ExamPageWrapper> extractData(ResultSet resultExtractor) throws SQLException, DataAccessException {
             Map<UUID, List<ExamItem>> itemsForPage = new HashMap<>();
@@ -21,8 +21,14 @@ import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
 import tds.exam.ExamPrintRequest;
 import tds.exam.ExamPrintRequestStatus;
+import tds.exam.repositories.ExamChangeCommandRepository;
 import tds.exam.repositories.ExamPrintRequestCommandRepository;
 
 import static tds.common.data.mapping.ResultSetMapperUtility.mapJodaInstantToTimestamp;
@@ -30,10 +36,13 @@ import static tds.common.data.mapping.ResultSetMapperUtility.mapJodaInstantToTim
 @Repository
 public class ExamPrintRequestCommandRepositoryImpl implements ExamPrintRequestCommandRepository {
     private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ExamChangeCommandRepository examChangeCommandRepository;
 
     @Autowired
-    public ExamPrintRequestCommandRepositoryImpl(@Qualifier("commandJdbcTemplate") final NamedParameterJdbcTemplate jdbcTemplate) {
+    public ExamPrintRequestCommandRepositoryImpl(@Qualifier("commandJdbcTemplate") final NamedParameterJdbcTemplate jdbcTemplate,
+                                                 final ExamChangeCommandRepository examChangeCommandRepository) {
         this.jdbcTemplate = jdbcTemplate;
+        this.examChangeCommandRepository = examChangeCommandRepository;
     }
 
     @Override
@@ -103,5 +112,14 @@ public class ExamPrintRequestCommandRepositoryImpl implements ExamPrintRequestCo
                 ")";
 
         jdbcTemplate.update(updateExamPrintRequestSQL, params);
+
+        // Print requests are approved and denied by id alone, so the exam may need to be looked up
+        final List<UUID> examIds = examPrintRequest.getExamId() != null
+            ? Collections.singletonList(examPrintRequest.getExamId())
+            : jdbcTemplate.queryForList("SELECT exam_id FROM exam.exam_print_request WHERE id = :examRequestId", params, String.class)
+                .stream()
+                .map(UUID::fromString)
+                .collect(Collectors.toList());
+        examChangeCommandRepository.examsChanged(examIds);
     }
 }
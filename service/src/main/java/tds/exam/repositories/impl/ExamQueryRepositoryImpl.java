@@ -40,8 +40,12 @@ import tds.exam.Exam;
 import tds.exam.ExamStatusCode;
 import tds.exam.ExamStatusStage;
 import tds.exam.models.Ability;
+import tds.exam.models.AssessmentUsage;
+import tds.exam.models.ExamExpirationCheckpoint;
 import tds.exam.repositories.ExamQueryRepository;
+import tds.exam.utils.ExamUnitOfWorkProvider;
 
+import static tds.common.data.mapping.ResultSetMapperUtility.mapJodaInstantToTimestamp;
 import static tds.common.data.mapping.ResultSetMapperUtility.mapTimestampToJodaInstant;
 import static tds.exam.ExamStatusCode.STATUS_PENDING;
 import static tds.exam.ExamStatusCode.STATUS_SEGMENT_ENTRY;
@@ -54,9 +58,10 @@ public class ExamQueryRepositoryImpl implements ExamQueryRepository {
     private static final RowMapper<Ability> abilityRowMapper = new AbilityRowMapper();
 
     private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ExamUnitOfWorkProvider examUnitOfWorkProvider;
     private final String EXAM_QUERY_COLUMN_LIST = "e.id, \n" +
-        "ee.session_id, \n" +
-        "ee.browser_id, \n" +
+        "ec.session_id, \n" +
+        "ec.browser_id, \n" +
         "e.assessment_id, \n" +
         "e.student_id, \n" +
         "e.client_name, \n" +
@@ -70,73 +75,57 @@ public class ExamQueryRepositoryImpl implements ExamQueryRepository {
         "e.assessment_algorithm, \n" +
         "e.segmented, \n" +
         "e.msb, \n" +
-        "lang.code AS language_code, \n" +
-        "ee.attempts, \n" +
-        "ee.status, \n" +
-        "ee.status_changed_at, \n" +
-        "ee.max_items, \n" +
-        "ee.expires_at, \n" +
-        "ee.status_change_reason, \n" +
-        "ee.deleted_at, \n" +
-        "ee.changed_at, \n" +
-        "ee.completed_at, \n" +
-        "ee.started_at, \n" +
-        "ee.scored_at, \n" +
-        "ee.abnormal_starts, \n" +
-        "ee.waiting_for_segment_approval_position, \n" +
-        "ee.current_segment_position, \n" +
-        "ee.custom_accommodations, \n" +
-        "ee.browser_user_agent, \n" +
-        "ee.resumptions, \n" +
-        "ee.restarts_and_resumptions, \n" +
+        "ec.language_code, \n" +
+        "ec.attempts, \n" +
+        "ec.status, \n" +
+        "ec.status_changed_at, \n" +
+        "ec.max_items, \n" +
+        "ec.expires_at, \n" +
+        "ec.status_change_reason, \n" +
+        "ec.deleted_at, \n" +
+        "ec.changed_at, \n" +
+        "ec.completed_at, \n" +
+        "ec.started_at, \n" +
+        "ec.scored_at, \n" +
+        "ec.abnormal_starts, \n" +
+        "ec.waiting_for_segment_approval_position, \n" +
+        "ec.current_segment_position, \n" +
+        "ec.custom_accommodations, \n" +
+        "ec.browser_user_agent, \n" +
+        "ec.resumptions, \n" +
+        "ec.restarts_and_resumptions, \n" +
         "e.created_at, \n" +
         "esc.description, \n" +
         "esc.status, \n" +
         "esc.stage \n";
 
     @Autowired
-    public ExamQueryRepositoryImpl(@Qualifier("queryJdbcTemplate") NamedParameterJdbcTemplate queryJdbcTemplate) {
+    public ExamQueryRepositoryImpl(@Qualifier("queryJdbcTemplate") NamedParameterJdbcTemplate queryJdbcTemplate,
+                                   final ExamUnitOfWorkProvider examUnitOfWorkProvider) {
         this.jdbcTemplate = queryJdbcTemplate;
+        this.examUnitOfWorkProvider = examUnitOfWorkProvider;
     }
 
     @Override
     public Optional<Exam> getExamById(final UUID id) {
+        final Optional<Exam> maybeLoadedExam = examUnitOfWorkProvider.find().flatMap(unitOfWork -> unitOfWork.findExam(id));
+        if (maybeLoadedExam.isPresent()) {
+            return maybeLoadedExam;
+        }
+
         final SqlParameterSource parameters = new MapSqlParameterSource("examId", id.toString());
 
         String querySQL =
             "SELECT \n" +
                 EXAM_QUERY_COLUMN_LIST +
                 "FROM exam.exam e \n" +
-                "JOIN ( \n" +
-                "   SELECT \n" +
-                "       id, \n" +
-                "       exam_id \n" +
-                "   FROM \n" +
-                "       exam.exam_event \n" +
-                "   WHERE exam_id = :examId \n" +
-                "   ORDER BY id DESC \n" +
-                "   LIMIT 1 \n" +
-                ") last_event \n" +
-                "  ON e.id = last_event.exam_id \n" +
-                "JOIN exam.exam_event ee \n" +
-                "  ON last_event.exam_id = ee.exam_id AND \n" +
-                "     last_event.id = ee.id\n" +
+                "JOIN exam.exam_current ec \n" +
+                "  ON ec.exam_id = e.id \n" +
                 "JOIN exam.exam_status_codes esc \n" +
-                "  ON esc.status = ee.status \n" +
-                "LEFT JOIN exam.exam_accommodation lang \n" +
-                "  ON lang.exam_id = e.id \n" +
-                "  AND lang.id = ( \n" +
-                "       SELECT \n" +
-                "           id \n" +
-                "       FROM \n" +
-                "           exam.exam_accommodation \n" +
-                "       WHERE \n" +
-                "           exam_id = e.id \n" +
-                "           AND type = 'Language' \n" +
-                "       ORDER BY created_at DESC \n" +
-                "       LIMIT 1) \n" +
+                "  ON esc.status = ec.status \n" +
                 "WHERE \n" +
-                "   lang.type = 'Language'";
+                "   e.id = :examId \n" +
+                "   AND ec.language_code IS NOT NULL";
 
 
         Optional<Exam> examOptional;
@@ -146,6 +135,8 @@ public class ExamQueryRepositoryImpl implements ExamQueryRepository {
             examOptional = Optional.empty();
         }
 
+        examOptional.ifPresent(exam -> examUnitOfWorkProvider.find().ifPresent(unitOfWork -> unitOfWork.registerExam(exam)));
+
         return examOptional;
     }
 
@@ -164,33 +155,19 @@ public class ExamQueryRepositoryImpl implements ExamQueryRepository {
                 "FROM \n" +
                 "   exam.exam e \n" +
                 "JOIN \n" +
-                "   exam.exam_event ee \n" +
-                "   ON ee.exam_id = e.id \n" +
-                "   AND ee.deleted_at IS NULL \n" +
+                "   exam.exam_current ec \n" +
+                "   ON ec.exam_id = e.id \n" +
+                "   AND ec.deleted_at IS NULL \n" +
                 "JOIN \n" +
                 "   exam.exam_status_codes esc \n" +
-                "   ON esc.status = ee.status \n" +
-                "LEFT JOIN \n" +
-                "   exam.exam_accommodation lang \n" +
-                "   ON lang.exam_id = e.id \n" +
-                "   AND lang.type = 'Language' \n" +
-                "   AND lang.id = ( \n" +
-                "       SELECT \n" +
-                "           id \n" +
-                "       FROM \n" +
-                "           exam.exam_accommodation \n" +
-                "       WHERE \n" +
-                "           exam_id = e.id \n" +
-                "           AND type = 'Language' \n" +
-                "       ORDER BY created_at DESC \n" +
-                "       LIMIT 1) \n" +
+                "   ON esc.status = ec.status \n" +
                 "WHERE \n" +
                 "   e.student_id = :studentId \n" +
                 "   AND e.assessment_id = :assessmentId \n" +
                 "   AND e.client_name = :clientName \n" +
-                "   AND lang.type = 'Language' \n" +
+                "   AND ec.language_code IS NOT NULL \n" +
                 "ORDER BY \n" +
-                "   ee.id DESC, \n" +
+                "   ec.exam_event_id DESC, \n" +
                 "   e.created_at DESC \n" +
                 "LIMIT 1";
 
@@ -209,6 +186,24 @@ public class ExamQueryRepositoryImpl implements ExamQueryRepository {
     public Optional<Instant> findLastStudentActivity(final UUID id) {
         final SqlParameterSource parameters = new MapSqlParameterSource("examId", id.toString());
 
+        final String SQL =
+            "SELECT \n" +
+                "   last_student_activity_at \n" +
+                "FROM \n" +
+                "   exam_last_activity \n" +
+                "WHERE \n" +
+                "   exam_id = :examId";
+
+        final List<Timestamp> lastStudentActivityTimes = jdbcTemplate.queryForList(SQL, parameters, Timestamp.class);
+        if (!lastStudentActivityTimes.isEmpty()) {
+            return Optional.of(new Instant(lastStudentActivityTimes.get(0).getTime()));
+        }
+
+        // The exam has not been active since exam_last_activity was created and has not been backfilled yet
+        return findLastStudentActivityFromHistory(parameters);
+    }
+
+    private Optional<Instant> findLastStudentActivityFromHistory(final SqlParameterSource parameters) {
         final String SQL =
             "SELECT \n" +
                 "   MAX(ee.changed_at) AS lastStudentActivityTime \n" +
@@ -283,39 +278,14 @@ public class ExamQueryRepositoryImpl implements ExamQueryRepository {
         final String SQL =
             "SELECT \n" +
                 EXAM_QUERY_COLUMN_LIST +
-                "FROM exam.exam e \n" +
-                "JOIN ( \n" +
-                "   SELECT \n" +
-                "       exam_id, \n" +
-                "       MAX(id) AS id \n" +
-                "   FROM \n" +
-                "       exam.exam_event \n" +
-                "   WHERE \n" +
-                "       session_id = :sessionId" +
-                "   GROUP BY \n" +
-                "       exam_id \n" +
-                ")  last_event \n" +
-                "   ON e.id = last_event.exam_id \n" +
-                "JOIN exam.exam_event ee \n" +
-                "   ON last_event.exam_id = ee.exam_id \n" +
-                "   AND last_event.id = ee.id \n" +
+                "FROM exam.exam_current ec \n" +
+                "JOIN exam.exam e \n" +
+                "   ON e.id = ec.exam_id \n" +
                 "JOIN exam.exam_status_codes esc \n" +
-                "   ON esc.status = ee.status \n" +
-                "LEFT JOIN exam.exam_accommodation lang \n" +
-                "   ON lang.exam_id = e.id \n" +
-                "   AND lang.id = ( \n" +
-                "       SELECT \n" +
-                "           id \n" +
-                "       FROM \n" +
-                "           exam.exam_accommodation \n" +
-                "       WHERE \n" +
-                "           exam_id = e.id \n" +
-                "           AND type = 'Language' \n" +
-                "       ORDER BY created_at DESC \n" +
-                "       LIMIT 1) \n" +
-                "WHERE ee.session_id = :sessionId \n" +
-                "   AND ee.status " + (inverse ? "NOT " : "") + " IN (:statuses) \n " +
-                "   AND lang.type = 'Language'";
+                "   ON esc.status = ec.status \n" +
+                "WHERE ec.session_id = :sessionId \n" +
+                "   AND ec.status " + (inverse ? "NOT " : "") + " IN (:statuses) \n " +
+                "   AND ec.language_code IS NOT NULL";
 
         return jdbcTemplate.query(SQL, parameters, examRowMapper);
     }
@@ -332,24 +302,12 @@ public class ExamQueryRepositoryImpl implements ExamQueryRepository {
             "SELECT\n" +
                 "exam.id,\n" +
                 "exam.assessment_id,\n" +
-                "ee.attempts,\n" +
-                "ee.scored_at,\n" +
+                "ec.attempts,\n" +
+                "ec.scored_at,\n" +
                 "exam_scores.value AS score\n" +
                 "FROM exam exam \n" +
-                "JOIN ( \n" +
-                "   SELECT \n" +
-                "       exam_id, \n" +
-                "       MAX(id) AS id \n" +
-                "   FROM \n" +
-                "       exam.exam_event \n" +
-                "   GROUP BY exam_id \n" +
-                ") last_event \n" +
-                "  ON exam.id = last_event.exam_id \n" +
-                "JOIN exam.exam_event ee \n" +
-                "  ON last_event.exam_id = ee.exam_id \n" +
-                "  AND last_event.id = ee.id \n" +
-                "JOIN exam.exam_status_codes esc \n" +
-                "  ON esc.status = ee.status \n" +
+                "JOIN exam.exam_current ec \n" +
+                "  ON ec.exam_id = exam.id \n" +
                 "INNER JOIN \n" +
                 "  exam_scores \n" +
                 "ON \n" +
@@ -358,12 +316,12 @@ public class ExamQueryRepositoryImpl implements ExamQueryRepository {
                 "  exam.client_name = :clientName \n" +
                 "  AND exam.student_id = :studentId \n" +
                 "  AND exam.subject = :subject \n" +
-                "  AND ee.deleted_at IS NULL \n" +
-                "  AND ee.scored_at IS NOT NULL \n" +
+                "  AND ec.deleted_at IS NULL \n" +
+                "  AND ec.scored_at IS NOT NULL \n" +
                 "  AND exam.id <> :examId \n" +
                 "  AND exam_scores.use_for_ability = 1 \n" +
                 "  AND exam_scores.value IS NOT NULL \n" +
-                "ORDER BY ee.scored_at DESC";
+                "ORDER BY ec.scored_at DESC";
 
         return jdbcTemplate.query(SQL, parameters, abilityRowMapper);
     }
@@ -380,28 +338,15 @@ public class ExamQueryRepositoryImpl implements ExamQueryRepository {
         final String SQL =
             "SELECT \n" +
                 EXAM_QUERY_COLUMN_LIST +
-                "FROM exam e \n" +
-                "JOIN exam.exam_event ee \n" +
-                "   ON ee.exam_id = e.id \n" +
-                "   AND ee.id = (SELECT MAX(id) FROM exam_event WHERE exam_id = e.id) \n" +
+                "FROM exam.exam_current ec \n" +
+                "JOIN exam.exam e \n" +
+                "   ON e.id = ec.exam_id \n" +
                 "JOIN exam.exam_status_codes esc \n" +
-                "   ON esc.status = ee.status \n" +
-                "LEFT JOIN exam.exam_accommodation lang \n" +
-                "   ON lang.exam_id = e.id \n" +
-                "   AND lang.id = ( \n" +
-                "       SELECT \n" +
-                "           id \n" +
-                "       FROM \n" +
-                "           exam.exam_accommodation \n" +
-                "       WHERE \n" +
-                "           exam_id = e.id \n" +
-                "           AND type = 'Language' \n" +
-                "       ORDER BY created_at DESC \n" +
-                "       LIMIT 1) \n" +
+                "   ON esc.status = ec.status \n" +
                 "WHERE \n" +
-                "  ee.session_id = :sessionId \n" +
-                "  AND ee.status IN (:statusSet) \n" +
-                "  AND lang.type = 'Language' \n";
+                "  ec.session_id = :sessionId \n" +
+                "  AND ec.status IN (:statusSet) \n" +
+                "  AND ec.language_code IS NOT NULL \n";
 
 
         return jdbcTemplate.query(SQL, parameters, examRowMapper);
@@ -415,35 +360,13 @@ public class ExamQueryRepositoryImpl implements ExamQueryRepository {
             "SELECT \n" +
                 EXAM_QUERY_COLUMN_LIST +
                 "FROM exam.exam e \n" +
-                "JOIN ( \n" +
-                "   SELECT \n" +
-                "       exam_id, \n" +
-                "       MAX(id) AS id \n" +
-                "   FROM \n" +
-                "       exam.exam_event \n" +
-                "   GROUP BY exam_id \n" +
-                ") last_event \n" +
-                "   ON e.id = last_event.exam_id \n" +
-                "JOIN exam.exam_event ee \n" +
-                "   ON last_event.exam_id = ee.exam_id \n" +
-                "   AND last_event.id = ee.id\n" +
+                "JOIN exam.exam_current ec \n" +
+                "   ON ec.exam_id = e.id \n" +
                 "JOIN exam.exam_status_codes esc \n" +
-                "   ON esc.status = ee.status \n" +
-                "LEFT JOIN exam.exam_accommodation lang \n" +
-                "   ON lang.exam_id = e.id \n" +
-                "   AND lang.id = ( \n" +
-                "       SELECT \n" +
-                "           id \n" +
-                "       FROM \n" +
-                "           exam.exam_accommodation \n" +
-                "       WHERE \n" +
-                "           exam_id = e.id \n" +
-                "           AND type = 'Language' \n" +
-                "       ORDER BY created_at DESC \n" +
-                "       LIMIT 1) \n" +
+                "   ON esc.status = ec.status \n" +
                 "WHERE e.student_id = :studentId \n" +
-                "   AND lang.type = 'Language' \n" +
-                "   AND ee.deleted_at IS NULL";
+                "   AND ec.language_code IS NOT NULL \n" +
+                "   AND ec.deleted_at IS NULL";
 
         return jdbcTemplate.query(SQL, parameters, examRowMapper);
     }
@@ -461,41 +384,92 @@ public class ExamQueryRepositoryImpl implements ExamQueryRepository {
         2. Do not have the status codes passed in
          */
         String SQL = "SELECT " + EXAM_QUERY_COLUMN_LIST +
-            "from exam.exam e\n" +
-            "JOIN (\n" +
-            "   SELECT a.* FROM exam.exam_event a\n" +
-            "   JOIN (\n" +
-            "   SELECT b.exam_id, max(id) AS id\n" +
-            "   FROM exam.exam_event b\n" +
-            "   GROUP BY b.exam_id\n" +
-            "   ) last_event ON last_event.id = a.id\n" +
-            "   WHERE \n" +
-            "       a.status NOT IN (:statusCodesToIgnore) \n" +
-            "       AND a.completed_at IS NULL \n" +
-            "       AND a.deleted_at IS NULL \n" +
-            "       AND a.expires_at IS NOT NULL" +
-            ") ee ON e.id = ee.exam_id\n" +
+            "FROM exam.exam_current ec \n" +
+            "JOIN exam.exam e \n" +
+            "   ON e.id = ec.exam_id \n" +
             "JOIN exam.exam_status_codes esc \n" +
-            "   ON esc.status = ee.status \n" +
-            "JOIN (SELECT exam_id FROM exam.exam_page GROUP BY exam_id) page ON page.exam_id = e.id\n" +
-            "LEFT JOIN exam.exam_accommodation lang \n" +
-            "   ON lang.exam_id = e.id \n" +
-            "   AND lang.id = ( \n" +
-            "       SELECT \n" +
-            "           id \n" +
-            "       FROM \n" +
-            "           exam.exam_accommodation \n" +
-            "       WHERE \n" +
-            "           exam_id = e.id \n" +
-            "           AND type = 'Language' \n" +
-            "       ORDER BY created_at DESC \n" +
-            "       LIMIT 1) \n " +
+            "   ON esc.status = ec.status \n" +
+            "WHERE \n" +
+            "   ec.status NOT IN (:statusCodesToIgnore) \n" +
+            "   AND ec.completed_at IS NULL \n" +
+            "   AND ec.deleted_at IS NULL \n" +
+            "   AND ec.expires_at IS NOT NULL \n" +
+            "   AND EXISTS (SELECT 1 FROM exam.exam_page page WHERE page.exam_id = e.id) \n" +
             "ORDER BY e.created_at ASC \n" +
             "LIMIT :expireExamLimit;";
 
         return jdbcTemplate.query(SQL, parameters, examRowMapper);
     }
 
+    @Override
+    public List<Exam> findExamsToExpire(final String clientName,
+                                        final List<String> statusCodesToIgnore,
+                                        final Instant expiresBefore,
+                                        final ExamExpirationCheckpoint after,
+                                        final int limit) {
+        final MapSqlParameterSource parameters = new MapSqlParameterSource("clientName", clientName)
+            .addValue("statusCodesToIgnore", statusCodesToIgnore)
+            .addValue("expiresBefore", mapJodaInstantToTimestamp(expiresBefore))
+            .addValue("limit", limit);
+
+        String afterClause = "";
+        if (after != null) {
+            parameters.addValue("afterExpiresAt", mapJodaInstantToTimestamp(after.getExpiresAt()))
+                .addValue("afterExamId", after.getExamId().toString());
+            afterClause =
+                "   AND ( \n" +
+                "       ec.expires_at > :afterExpiresAt \n" +
+                "       OR (ec.expires_at = :afterExpiresAt AND ec.exam_id > :afterExamId) \n" +
+                "   ) \n";
+        }
+
+        /*
+        Same criteria as the query above, but walks ix_exam_current_expires_at (expires_at, exam_id) in keyset
+        paginated chunks rather than sorting every expirable exam by created_at
+         */
+        final String SQL = "SELECT " + EXAM_QUERY_COLUMN_LIST +
+            "FROM exam.exam_current ec \n" +
+            "JOIN exam.exam e \n" +
+            "   ON e.id = ec.exam_id \n" +
+            "JOIN exam.exam_status_codes esc \n" +
+            "   ON esc.status = ec.status \n" +
+            "WHERE \n" +
+            "   ec.expires_at < :expiresBefore \n" +
+            afterClause +
+            "   AND ec.status NOT IN (:statusCodesToIgnore) \n" +
+            "   AND ec.completed_at IS NULL \n" +
+            "   AND ec.deleted_at IS NULL \n" +
+            "   AND e.client_name = :clientName \n" +
+            "   AND EXISTS (SELECT 1 FROM exam.exam_page page WHERE page.exam_id = e.id) \n" +
+            "ORDER BY ec.expires_at, ec.exam_id \n" +
+            "LIMIT :limit";
+
+        return jdbcTemplate.query(SQL, parameters, examRowMapper);
+    }
+
+    @Override
+    public List<AssessmentUsage> findAssessmentUsage(final Instant createdSince, final int limit) {
+        final MapSqlParameterSource parameters = new MapSqlParameterSource("createdSince", mapJodaInstantToTimestamp(createdSince))
+            .addValue("limit", limit);
+
+        // Only reads ix_exam_created_at_client_name_assessment_key
+        final String SQL =
+            "SELECT \n" +
+                "   client_name, \n" +
+                "   assessment_key, \n" +
+                "   COUNT(*) AS exam_count \n" +
+                "FROM exam.exam \n" +
+                "WHERE created_at >= :createdSince \n" +
+                "GROUP BY client_name, assessment_key \n" +
+                "ORDER BY exam_count DESC \n" +
+                "LIMIT :limit";
+
+        return jdbcTemplate.query(SQL, parameters, (rs, rowNum) -> new AssessmentUsage(
+            rs.getString("client_name"),
+            rs.getString("assessment_key"),
+            rs.getLong("exam_count")));
+    }
+
     private static class AbilityRowMapper implements RowMapper<Ability> {
         @Override
         public Ability mapRow(ResultSet rs, int rowNum) throws SQLException {
@@ -34,7 +34,9 @@ import java.util.stream.Collectors;
 
 import tds.common.data.mapping.ResultSetMapperUtility;
 import tds.exam.ExamSegment;
+import tds.exam.repositories.ExamChangeCommandRepository;
 import tds.exam.repositories.ExamSegmentCommandRepository;
+import tds.exam.utils.ExamUnitOfWorkProvider;
 
 import static tds.common.data.mapping.ResultSetMapperUtility.mapJodaInstantToTimestamp;
 
@@ -46,10 +48,16 @@ public class ExamSegmentCommandRepositoryImpl implements ExamSegmentCommandRepos
     private static final Logger log = LoggerFactory.getLogger(ExamSegmentCommandRepositoryImpl.class);
 
     private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ExamChangeCommandRepository examChangeCommandRepository;
+    private final ExamUnitOfWorkProvider examUnitOfWorkProvider;
 
     @Autowired
-    public ExamSegmentCommandRepositoryImpl(final @Qualifier("commandJdbcTemplate") NamedParameterJdbcTemplate commandJdbcTemplate) {
+    public ExamSegmentCommandRepositoryImpl(final @Qualifier("commandJdbcTemplate") NamedParameterJdbcTemplate commandJdbcTemplate,
+                                            final ExamChangeCommandRepository examChangeCommandRepository,
+                                            final ExamUnitOfWorkProvider examUnitOfWorkProvider) {
         this.jdbcTemplate = commandJdbcTemplate;
+        this.examChangeCommandRepository = examChangeCommandRepository;
+        this.examUnitOfWorkProvider = examUnitOfWorkProvider;
     }
 
     /**
@@ -110,6 +118,10 @@ public class ExamSegmentCommandRepositoryImpl implements ExamSegmentCommandRepos
 
         jdbcTemplate.batchUpdate(segmentQuery, parameterSources.toArray(new SqlParameterSource[parameterSources.size()]));
         update(segments);
+
+        // The created at timestamp is assigned here rather than taken from the segments, so the next read needs to load it
+        examUnitOfWorkProvider.find().ifPresent(unitOfWork ->
+            segments.stream().map(ExamSegment::getExamId).distinct().forEach(unitOfWork::evictSegments));
     }
 
     @Override
@@ -136,6 +148,8 @@ public class ExamSegmentCommandRepositoryImpl implements ExamSegmentCommandRepos
 
         jdbcTemplate.update(SQL_DELETE_EXAM_SEGMENT_EVENT, parameters);
         jdbcTemplate.update(SQL_DELETE_EXAM_SEGMENT, parameters);
+        examUnitOfWorkProvider.find().ifPresent(unitOfWork -> unitOfWork.evictSegments(examId));
+        examChangeCommandRepository.examsChanged(Collections.singletonList(examId));
     }
 
     @Override
@@ -181,5 +195,9 @@ public class ExamSegmentCommandRepositoryImpl implements ExamSegmentCommandRepos
                 ")";
 
         jdbcTemplate.batchUpdate(segmentEventQuery, parameterSources.toArray(new SqlParameterSource[parameterSources.size()]));
+        examUnitOfWorkProvider.find().ifPresent(unitOfWork -> unitOfWork.registerUpdatedSegments(segments));
+        examChangeCommandRepository.examsChanged(segments.stream()
+            .map(ExamSegment::getExamId)
+            .collect(Collectors.toList()));
     }
 }
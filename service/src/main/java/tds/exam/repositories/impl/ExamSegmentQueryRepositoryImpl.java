@@ -25,6 +25,7 @@ import org.springframework.stereotype.Repository;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -37,6 +38,7 @@ import tds.common.Algorithm;
 import tds.common.data.mapping.ResultSetMapperUtility;
 import tds.exam.ExamSegment;
 import tds.exam.repositories.ExamSegmentQueryRepository;
+import tds.exam.utils.ExamUnitOfWorkProvider;
 
 /**
  * Repository implementation for reading from the {@link ExamSegment} related tables.
@@ -45,10 +47,13 @@ import tds.exam.repositories.ExamSegmentQueryRepository;
 public class ExamSegmentQueryRepositoryImpl implements ExamSegmentQueryRepository {
     private static final RowMapper<ExamSegment> examSegmentRowMapper = new ExamSegmentRowMapper();
     private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ExamUnitOfWorkProvider examUnitOfWorkProvider;
 
     @Autowired
-    public ExamSegmentQueryRepositoryImpl(@Qualifier("queryJdbcTemplate") final NamedParameterJdbcTemplate queryJdbcTemplate) {
+    public ExamSegmentQueryRepositoryImpl(@Qualifier("queryJdbcTemplate") final NamedParameterJdbcTemplate queryJdbcTemplate,
+                                          final ExamUnitOfWorkProvider examUnitOfWorkProvider) {
         this.jdbcTemplate = queryJdbcTemplate;
+        this.examUnitOfWorkProvider = examUnitOfWorkProvider;
     }
 
     /**
@@ -101,11 +106,20 @@ public class ExamSegmentQueryRepositoryImpl implements ExamSegmentQueryRepositor
                 "   last_event.exam_id = se.exam_id AND \n" +
                 "   last_event.id = se.id";
 
-        return jdbcTemplate.query(SQL, parameters, examSegmentRowMapper);
+        final List<ExamSegment> examSegments = jdbcTemplate.query(SQL, parameters, examSegmentRowMapper);
+        examUnitOfWorkProvider.find().ifPresent(unitOfWork -> unitOfWork.registerSegments(examSegments));
+
+        return examSegments;
     }
 
     @Override
     public Optional<ExamSegment> findByExamIdAndSegmentPosition(UUID examId, int segmentPosition) {
+        final Optional<ExamSegment> maybeLoadedExamSegment = examUnitOfWorkProvider.find()
+            .flatMap(unitOfWork -> unitOfWork.findSegment(examId, segmentPosition));
+        if (maybeLoadedExamSegment.isPresent()) {
+            return maybeLoadedExamSegment;
+        }
+
         final Map<String, Object> parameters = new HashMap<>();
         parameters.put("examId", examId.toString());
         parameters.put("segmentPosition", segmentPosition);
@@ -151,6 +165,9 @@ public class ExamSegmentQueryRepositoryImpl implements ExamSegmentQueryRepositor
             maybeExamSegment = Optional.empty();
         }
 
+        maybeExamSegment.ifPresent(examSegment -> examUnitOfWorkProvider.find()
+            .ifPresent(unitOfWork -> unitOfWork.registerSegments(Collections.singletonList(examSegment))));
+
         return maybeExamSegment;
     }
 
@@ -234,6 +251,9 @@ public class ExamSegmentQueryRepositoryImpl implements ExamSegmentQueryRepositor
             maybeExamSegment = Optional.empty();
         }
 
+        maybeExamSegment.ifPresent(examSegment -> examUnitOfWorkProvider.find()
+            .ifPresent(unitOfWork -> unitOfWork.registerSegments(Collections.singletonList(examSegment))));
+
         return maybeExamSegment;
     }
 
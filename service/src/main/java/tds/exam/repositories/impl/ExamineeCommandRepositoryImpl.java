@@ -21,19 +21,24 @@ import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Repository;
 
 import java.sql.Timestamp;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import tds.common.data.mapping.ResultSetMapperUtility;
 import tds.exam.ExamineeAttribute;
 import tds.exam.ExamineeRelationship;
+import tds.exam.repositories.ExamChangeCommandRepository;
 import tds.exam.repositories.ExamineeCommandRepository;
 
 @Repository
 public class ExamineeCommandRepositoryImpl implements ExamineeCommandRepository {
     private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ExamChangeCommandRepository examChangeCommandRepository;
 
-    public ExamineeCommandRepositoryImpl(@Qualifier("commandJdbcTemplate") final NamedParameterJdbcTemplate jdbcTemplate) {
+    public ExamineeCommandRepositoryImpl(@Qualifier("commandJdbcTemplate") final NamedParameterJdbcTemplate jdbcTemplate,
+                                         final ExamChangeCommandRepository examChangeCommandRepository) {
         this.jdbcTemplate = jdbcTemplate;
+        this.examChangeCommandRepository = examChangeCommandRepository;
     }
 
     @Override
@@ -62,6 +67,9 @@ public class ExamineeCommandRepositoryImpl implements ExamineeCommandRepository
                 "   :createdAt)";
 
         jdbcTemplate.batchUpdate(SQL, batchParameters);
+        examChangeCommandRepository.examsChanged(Stream.of(attributes)
+            .map(ExamineeAttribute::getExamId)
+            .collect(Collectors.toList()));
     }
 
     @Override
@@ -93,5 +101,8 @@ public class ExamineeCommandRepositoryImpl implements ExamineeCommandRepository
                 "   :createdAt)";
 
         jdbcTemplate.batchUpdate(SQL, batchParameters);
+        examChangeCommandRepository.examsChanged(Stream.of(relationships)
+            .map(ExamineeRelationship::getExamId)
+            .collect(Collectors.toList()));
     }
 }
@@ -21,7 +21,10 @@ import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collections;
+
 import tds.exam.ExamineeNote;
+import tds.exam.repositories.ExamChangeCommandRepository;
 import tds.exam.repositories.ExamineeNoteCommandRepository;
 
 import static tds.common.data.mapping.ResultSetMapperUtility.mapJodaInstantToTimestamp;
@@ -29,10 +32,13 @@ import static tds.common.data.mapping.ResultSetMapperUtility.mapJodaInstantToTim
 @Repository
 public class ExamineeNoteCommandRepositoryImpl implements ExamineeNoteCommandRepository {
     private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ExamChangeCommandRepository examChangeCommandRepository;
 
     @Autowired
-    public ExamineeNoteCommandRepositoryImpl(@Qualifier("commandJdbcTemplate") final NamedParameterJdbcTemplate jdbcTemplate) {
+    public ExamineeNoteCommandRepositoryImpl(@Qualifier("commandJdbcTemplate") final NamedParameterJdbcTemplate jdbcTemplate,
+                                             final ExamChangeCommandRepository examChangeCommandRepository) {
         this.jdbcTemplate = jdbcTemplate;
+        this.examChangeCommandRepository = examChangeCommandRepository;
     }
 
     @Override
@@ -58,5 +64,6 @@ public class ExamineeNoteCommandRepositoryImpl implements ExamineeNoteCommandRep
                 "   :createdAt)";
 
         jdbcTemplate.update(SQL, parameters);
+        examChangeCommandRepository.examsChanged(Collections.singletonList(examineeNote.getExamId()));
     }
 }
@@ -0,0 +1,100 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.repositories.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import tds.exam.repositories.FieldTestItemGroupCounterRepository;
+
+@Repository
+class FieldTestItemGroupCounterRepositoryImpl implements FieldTestItemGroupCounterRepository {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    FieldTestItemGroupCounterRepositoryImpl(@Qualifier("commandJdbcTemplate") final NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Map<String, Map<String, Long>> findCounts(final Collection<String> segmentKeys) {
+        if (segmentKeys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        final SqlParameterSource parameters = new MapSqlParameterSource("segmentKeys", segmentKeys);
+
+        final String SQL =
+            "SELECT \n" +
+                "   segment_key, \n" +
+                "   group_key, \n" +
+                "   occurrences \n" +
+                "FROM \n" +
+                "   field_test_item_group_counter \n" +
+                "WHERE \n" +
+                "   segment_key IN (:segmentKeys)";
+
+        final Map<String, Map<String, Long>> segmentToGroupCounts = new HashMap<>();
+        jdbcTemplate.query(SQL, parameters, rs -> {
+            segmentToGroupCounts.computeIfAbsent(rs.getString("segment_key"), key -> new HashMap<>())
+                .put(rs.getString("group_key"), rs.getLong("occurrences"));
+        });
+
+        return segmentToGroupCounts;
+    }
+
+    @Override
+    public void incrementCounts(final Map<String, Map<String, Long>> segmentToGroupIncrements) {
+        final List<SqlParameterSource> parameterSources = new ArrayList<>();
+        segmentToGroupIncrements.forEach((segmentKey, groupIncrements) ->
+            groupIncrements.forEach((groupKey, increment) ->
+                parameterSources.add(new MapSqlParameterSource("segmentKey", segmentKey)
+                    .addValue("groupKey", groupKey)
+                    .addValue("increment", increment))));
+
+        if (parameterSources.isEmpty()) {
+            return;
+        }
+
+        final String SQL =
+            "INSERT INTO field_test_item_group_counter ( \n" +
+                "   segment_key, \n" +
+                "   group_key, \n" +
+                "   occurrences, \n" +
+                "   updated_at \n" +
+                ") \n" +
+                "VALUES ( \n" +
+                "   :segmentKey, \n" +
+                "   :groupKey, \n" +
+                "   :increment, \n" +
+                "   UTC_TIMESTAMP(3) \n" +
+                ") \n" +
+                "ON DUPLICATE KEY UPDATE \n" +
+                "   occurrences = occurrences + VALUES(occurrences), \n" +
+                "   updated_at = VALUES(updated_at)";
+
+        jdbcTemplate.batchUpdate(SQL, parameterSources.toArray(new SqlParameterSource[parameterSources.size()]));
+    }
+}
@@ -0,0 +1,79 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.repositories.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import tds.exam.repositories.FormAssignmentSequenceRepository;
+
+@Repository
+class FormAssignmentSequenceRepositoryImpl implements FormAssignmentSequenceRepository {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    FormAssignmentSequenceRepositoryImpl(@Qualifier("commandJdbcTemplate") final NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long getAndIncrement(final String segmentKey, final String languageCode) {
+        // LAST_INSERT_ID(expr) remembers the incremented value for the connection, so the read of the new value does not
+        // need a transaction.  Both statements must use the same connection.  The sequence is incremented while an exam
+        // is started, so this runs outside of the exam start's transaction; joining it would hold the lock on the row
+        // until the exam start commits, and every exam starting the segment in the language would wait on the others.
+        final String upsertSQL =
+            "INSERT INTO form_assignment_sequence ( \n" +
+                "   segment_key, \n" +
+                "   language_code, \n" +
+                "   next_value, \n" +
+                "   updated_at \n" +
+                ") \n" +
+                "VALUES ( \n" +
+                "   ?, \n" +
+                "   ?, \n" +
+                "   LAST_INSERT_ID(1), \n" +
+                "   UTC_TIMESTAMP(3) \n" +
+                ") \n" +
+                "ON DUPLICATE KEY UPDATE \n" +
+                "   next_value = LAST_INSERT_ID(next_value + 1), \n" +
+                "   updated_at = VALUES(updated_at)";
+
+        final Long nextValue = jdbcTemplate.getJdbcOperations().execute((ConnectionCallback<Long>) connection -> {
+            try (PreparedStatement upsert = connection.prepareStatement(upsertSQL)) {
+                upsert.setString(1, segmentKey);
+                upsert.setString(2, languageCode);
+                upsert.executeUpdate();
+            }
+
+            try (Statement select = connection.createStatement();
+                 ResultSet rs = select.executeQuery("SELECT LAST_INSERT_ID()")) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        });
+
+        return nextValue - 1;
+    }
+}
@@ -0,0 +1,346 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.repositories.impl;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import tds.exam.models.RescoreJob;
+import tds.exam.models.RescoreJobExam;
+import tds.exam.models.RescoreJobStats;
+import tds.exam.repositories.RescoreJobRepository;
+
+import static tds.common.data.mapping.ResultSetMapperUtility.mapJodaInstantToTimestamp;
+import static tds.common.data.mapping.ResultSetMapperUtility.mapTimestampToJodaInstant;
+
+@Repository
+class RescoreJobRepositoryImpl implements RescoreJobRepository {
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private static final RowMapper<RescoreJobExam> rescoreJobExamRowMapper = (rs, rowNum) -> new RescoreJobExam(
+        UUID.fromString(rs.getString("job_id")),
+        UUID.fromString(rs.getString("exam_id")),
+        parseItemKeys(rs.getString("item_keys")),
+        rs.getBytes("rescored_results"),
+        rs.getInt("attempts"),
+        rs.getString("lease_owner"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    RescoreJobRepositoryImpl(@Qualifier("commandJdbcTemplate") final NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void create(final RescoreJob job) {
+        final SqlParameterSource parameters = new MapSqlParameterSource("id", job.getId().toString())
+            .addValue("itemKeys", job.getItemKeys().isEmpty() ? null : String.join(",", job.getItemKeys()))
+            .addValue("createdAt", mapJodaInstantToTimestamp(job.getCreatedAt()));
+
+        final String SQL =
+            "INSERT INTO rescore_job ( \n" +
+                "   id, \n" +
+                "   item_keys, \n" +
+                "   created_at \n" +
+                ") \n" +
+                "VALUES ( \n" +
+                "   :id, \n" +
+                "   :itemKeys, \n" +
+                "   :createdAt \n" +
+                ")";
+
+        jdbcTemplate.update(SQL, parameters);
+    }
+
+    @Override
+    public Optional<RescoreJob> findRescoreJob(final UUID jobId) {
+        final SqlParameterSource parameters = new MapSqlParameterSource("id", jobId.toString());
+
+        final String SQL =
+            "SELECT \n" +
+                "   id, \n" +
+                "   item_keys, \n" +
+                "   created_at \n" +
+                "FROM \n" +
+                "   rescore_job \n" +
+                "WHERE \n" +
+                "   id = :id";
+
+        return jdbcTemplate.query(SQL, parameters, (rs, rowNum) -> new RescoreJob(
+            UUID.fromString(rs.getString("id")),
+            parseItemKeys(rs.getString("item_keys")),
+            mapTimestampToJodaInstant(rs, "created_at")))
+            .stream()
+            .findFirst();
+    }
+
+    @Override
+    public void submitExam(final UUID jobId, final UUID examId, final String testResults) {
+        final SqlParameterSource parameters = new MapSqlParameterSource("jobId", jobId.toString())
+            .addValue("examId", examId.toString())
+            .addValue("status", RescoreJobExam.STATUS_PENDING)
+            .addValue("testResults", testResults);
+
+        final String SQL =
+            "INSERT INTO rescore_job_exam ( \n" +
+                "   job_id, \n" +
+                "   exam_id, \n" +
+                "   status, \n" +
+                "   test_results, \n" +
+                "   created_at \n" +
+                ") \n" +
+                "VALUES ( \n" +
+                "   :jobId, \n" +
+                "   :examId, \n" +
+                "   :status, \n" +
+                "   :testResults, \n" +
+                "   UTC_TIMESTAMP(3) \n" +
+                ") \n" +
+                "ON DUPLICATE KEY UPDATE \n" +
+                "   status = VALUES(status), \n" +
+                "   test_results = VALUES(test_results), \n" +
+                "   rescored_results = NULL, \n" +
+                "   attempts = 0, \n" +
+                "   lease_owner = NULL, \n" +
+                "   lease_expires_at = NULL, \n" +
+                "   last_error = NULL, \n" +
+                "   rescored_at = NULL";
+
+        jdbcTemplate.update(SQL, parameters);
+    }
+
+    @Override
+    public List<RescoreJobExam> claim(final String status, final String leaseOwner, final int limit, final long leaseMillis) {
+        final SqlParameterSource parameters = new MapSqlParameterSource("status", status)
+            .addValue("leaseOwner", leaseOwner)
+            .addValue("limit", limit)
+            .addValue("leaseMicros", leaseMillis * 1000);
+
+        final String claimSQL =
+            "UPDATE rescore_job_exam \n" +
+                "SET \n" +
+                "   lease_owner = :leaseOwner, \n" +
+                "   lease_expires_at = DATE_ADD(UTC_TIMESTAMP(3), INTERVAL :leaseMicros MICROSECOND), \n" +
+                "   attempts = attempts + 1 \n" +
+                "WHERE \n" +
+                "   status = :status \n" +
+                "   AND ( \n" +
+                "       lease_owner IS NULL \n" +
+                "       OR lease_expires_at < UTC_TIMESTAMP(3) \n" +
+                "   ) \n" +
+                "ORDER BY \n" +
+                "   created_at \n" +
+                "LIMIT :limit";
+
+        if (jdbcTemplate.update(claimSQL, parameters) == 0) {
+            return Collections.emptyList();
+        }
+
+        final String SQL =
+            "SELECT \n" +
+                "   E.job_id, \n" +
+                "   E.exam_id, \n" +
+                "   J.item_keys, \n" +
+                "   E.rescored_results, \n" +
+                "   E.attempts, \n" +
+                "   E.lease_owner \n" +
+                "FROM \n" +
+                "   rescore_job_exam E \n" +
+                "JOIN rescore_job J \n" +
+                "   ON J.id = E.job_id \n" +
+                "WHERE \n" +
+                "   E.lease_owner = :leaseOwner \n" +
+                "   AND E.status = :status \n" +
+                "ORDER BY \n" +
+                "   E.created_at";
+
+        return jdbcTemplate.query(SQL, parameters, rescoreJobExamRowMapper);
+    }
+
+    @Override
+    public Optional<String> findTestResults(final RescoreJobExam exam) {
+        final SqlParameterSource parameters = createClaimedExamParameters(exam);
+
+        final String SQL =
+            "SELECT \n" +
+                "   test_results \n" +
+                "FROM \n" +
+                "   rescore_job_exam \n" +
+                "WHERE \n" +
+                "   job_id = :jobId \n" +
+                "   AND exam_id = :examId \n" +
+                "   AND lease_owner = :leaseOwner";
+
+        return jdbcTemplate.query(SQL, parameters, (rs, rowNum) -> Optional.ofNullable(rs.getString("test_results")))
+            .stream()
+            .findFirst()
+            .flatMap(testResults -> testResults);
+    }
+
+    @Override
+    public void updateRescored(final RescoreJobExam exam, final byte[] rescoredResults) {
+        final SqlParameterSource parameters = createClaimedExamParameters(exam)
+            .addValue("status", RescoreJobExam.STATUS_RESCORED)
+            .addValue("rescoredResults", rescoredResults);
+
+        final String SQL =
+            "UPDATE rescore_job_exam \n" +
+                "SET \n" +
+                "   status = :status, \n" +
+                "   test_results = NULL, \n" +
+                "   rescored_results = :rescoredResults, \n" +
+                "   lease_owner = NULL, \n" +
+                "   lease_expires_at = NULL, \n" +
+                "   rescored_at = UTC_TIMESTAMP(3) \n" +
+                "WHERE \n" +
+                "   job_id = :jobId \n" +
+                "   AND exam_id = :examId \n" +
+                "   AND lease_owner = :leaseOwner";
+
+        jdbcTemplate.update(SQL, parameters);
+    }
+
+    @Override
+    public void release(final RescoreJobExam exam, final String error) {
+        final SqlParameterSource parameters = createClaimedExamParameters(exam)
+            .addValue("error", StringUtils.left(error, MAX_ERROR_LENGTH));
+
+        final String SQL =
+            "UPDATE rescore_job_exam \n" +
+                "SET \n" +
+                "   lease_owner = NULL, \n" +
+                "   lease_expires_at = NULL, \n" +
+                "   last_error = :error \n" +
+                "WHERE \n" +
+                "   job_id = :jobId \n" +
+                "   AND exam_id = :examId \n" +
+                "   AND lease_owner = :leaseOwner";
+
+        jdbcTemplate.update(SQL, parameters);
+    }
+
+    @Override
+    public void updateFailed(final RescoreJobExam exam, final String error) {
+        final SqlParameterSource parameters = createClaimedExamParameters(exam)
+            .addValue("status", RescoreJobExam.STATUS_FAILED)
+            .addValue("error", StringUtils.left(error, MAX_ERROR_LENGTH));
+
+        final String SQL =
+            "UPDATE rescore_job_exam \n" +
+                "SET \n" +
+                "   status = :status, \n" +
+                "   test_results = NULL, \n" +
+                "   lease_owner = NULL, \n" +
+                "   lease_expires_at = NULL, \n" +
+                "   last_error = :error \n" +
+                "WHERE \n" +
+                "   job_id = :jobId \n" +
+                "   AND exam_id = :examId \n" +
+                "   AND lease_owner = :leaseOwner";
+
+        jdbcTemplate.update(SQL, parameters);
+    }
+
+    @Override
+    public void updatePublished(final Collection<RescoreJobExam> exams) {
+        if (exams.isEmpty()) {
+            return;
+        }
+
+        final SqlParameterSource[] batchParameters = exams.stream()
+            .map(exam -> createClaimedExamParameters(exam)
+                .addValue("status", RescoreJobExam.STATUS_PUBLISHED))
+            .toArray(SqlParameterSource[]::new);
+
+        final String SQL =
+            "UPDATE rescore_job_exam \n" +
+                "SET \n" +
+                "   status = :status, \n" +
+                "   rescored_results = NULL, \n" +
+                "   lease_owner = NULL, \n" +
+                "   lease_expires_at = NULL \n" +
+                "WHERE \n" +
+                "   job_id = :jobId \n" +
+                "   AND exam_id = :examId \n" +
+                "   AND lease_owner = :leaseOwner";
+
+        jdbcTemplate.batchUpdate(SQL, batchParameters);
+    }
+
+    @Override
+    public Optional<RescoreJobStats> findStats(final UUID jobId, final long throughputWindowMillis) {
+        final SqlParameterSource parameters = new MapSqlParameterSource("jobId", jobId.toString())
+            .addValue("pending", RescoreJobExam.STATUS_PENDING)
+            .addValue("rescored", RescoreJobExam.STATUS_RESCORED)
+            .addValue("published", RescoreJobExam.STATUS_PUBLISHED)
+            .addValue("failed", RescoreJobExam.STATUS_FAILED)
+            .addValue("windowMicros", throughputWindowMillis * 1000);
+
+        final String SQL =
+            "SELECT \n" +
+                "   J.created_at, \n" +
+                "   COALESCE(SUM(E.status = :pending), 0) AS pending_count, \n" +
+                "   COALESCE(SUM(E.status = :rescored), 0) AS rescored_count, \n" +
+                "   COALESCE(SUM(E.status = :published), 0) AS published_count, \n" +
+                "   COALESCE(SUM(E.status = :failed), 0) AS failed_count, \n" +
+                "   COALESCE(SUM(E.rescored_at >= DATE_SUB(UTC_TIMESTAMP(3), INTERVAL :windowMicros MICROSECOND)), 0) AS recently_rescored_count \n" +
+                "FROM \n" +
+                "   rescore_job J \n" +
+                "LEFT JOIN rescore_job_exam E \n" +
+                "   ON E.job_id = J.id \n" +
+                "WHERE \n" +
+                "   J.id = :jobId \n" +
+                "GROUP BY \n" +
+                "   J.id, \n" +
+                "   J.created_at";
+
+        return jdbcTemplate.query(SQL, parameters, (rs, rowNum) -> new RescoreJobStats(
+            mapTimestampToJodaInstant(rs, "created_at"),
+            rs.getLong("pending_count"),
+            rs.getLong("rescored_count"),
+            rs.getLong("published_count"),
+            rs.getLong("failed_count"),
+            rs.getLong("recently_rescored_count")))
+            .stream()
+            .findFirst();
+    }
+
+    private static MapSqlParameterSource createClaimedExamParameters(final RescoreJobExam exam) {
+        return new MapSqlParameterSource("jobId", exam.getJobId().toString())
+            .addValue("examId", exam.getExamId().toString())
+            .addValue("leaseOwner", exam.getLeaseOwner());
+    }
+
+    private static Set<String> parseItemKeys(final String itemKeys) {
+        return itemKeys == null
+            ? Collections.emptySet()
+            : new LinkedHashSet<>(Arrays.asList(itemKeys.split(",")));
+    }
+}
@@ -0,0 +1,369 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.repositories.impl;
+
+import org.apache.commons.lang3.StringUtils;
+import org.joda.time.Instant;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import tds.exam.models.ScoringJobQueueStats;
+import tds.exam.repositories.ExamChangeCommandRepository;
+import tds.exam.repositories.ScoringJobRepository;
+import tds.score.model.ScoringJob;
+
+import static tds.common.data.mapping.ResultSetMapperUtility.mapJodaInstantToTimestamp;
+import static tds.common.data.mapping.ResultSetMapperUtility.mapTimestampToJodaInstant;
+
+@Repository
+class ScoringJobRepositoryImpl implements ScoringJobRepository {
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private static final RowMapper<ScoringJob> scoringJobRowMapper = (rs, rowNum) -> new ScoringJob.Builder()
+        .withScoreMark(UUID.fromString(rs.getString("score_mark")))
+        .withExamId(UUID.fromString(rs.getString("exam_id")))
+        .withExamItemId(UUID.fromString(rs.getString("exam_item_id")))
+        .withClientName(rs.getString("client_name"))
+        .withPosition(rs.getInt("position"))
+        .withSequence(rs.getInt("sequence"))
+        .withBankKey(rs.getLong("bank_key"))
+        .withItemKey(rs.getLong("item_key"))
+        .withItemFilePath(rs.getString("item_file_path"))
+        .withLanguageCode(rs.getString("language_code"))
+        .withResponse(rs.getString("response"))
+        .withScoreSentAt(mapTimestampToJodaInstant(rs, "score_sent_at"))
+        .withAttempts(rs.getInt("attempts"))
+        .withLeaseOwner(rs.getString("lease_owner"))
+        .build();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ExamChangeCommandRepository examChangeCommandRepository;
+
+    @Autowired
+    ScoringJobRepositoryImpl(@Qualifier("commandJdbcTemplate") final NamedParameterJdbcTemplate jdbcTemplate,
+                             final ExamChangeCommandRepository examChangeCommandRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.examChangeCommandRepository = examChangeCommandRepository;
+    }
+
+    @Override
+    public void create(final Collection<ScoringJob> jobs) {
+        if (jobs.isEmpty()) {
+            return;
+        }
+
+        final SqlParameterSource[] batchParameters = jobs.stream()
+            .map(job -> new MapSqlParameterSource("scoreMark", job.getScoreMark().toString())
+                .addValue("examId", job.getExamId().toString())
+                .addValue("examItemId", job.getExamItemId().toString())
+                .addValue("clientName", job.getClientName())
+                .addValue("position", job.getPosition())
+                .addValue("sequence", job.getSequence())
+                .addValue("bankKey", job.getBankKey())
+                .addValue("itemKey", job.getItemKey())
+                .addValue("itemFilePath", job.getItemFilePath())
+                .addValue("languageCode", job.getLanguageCode())
+                .addValue("response", job.getResponse())
+                .addValue("scoreSentAt", mapJodaInstantToTimestamp(job.getScoreSentAt())))
+            .toArray(MapSqlParameterSource[]::new);
+
+        final String SQL =
+            "INSERT IGNORE INTO scoring_job ( \n" +
+                "   score_mark, \n" +
+                "   exam_id, \n" +
+                "   exam_item_id, \n" +
+                "   client_name, \n" +
+                "   position, \n" +
+                "   sequence, \n" +
+                "   bank_key, \n" +
+                "   item_key, \n" +
+                "   item_file_path, \n" +
+                "   language_code, \n" +
+                "   response, \n" +
+                "   score_sent_at, \n" +
+                "   next_attempt_at, \n" +
+                "   created_at \n" +
+                ") \n" +
+                "VALUES ( \n" +
+                "   :scoreMark, \n" +
+                "   :examId, \n" +
+                "   :examItemId, \n" +
+                "   :clientName, \n" +
+                "   :position, \n" +
+                "   :sequence, \n" +
+                "   :bankKey, \n" +
+                "   :itemKey, \n" +
+                "   :itemFilePath, \n" +
+                "   :languageCode, \n" +
+                "   :response, \n" +
+                "   :scoreSentAt, \n" +
+                "   UTC_TIMESTAMP(3), \n" +
+                "   UTC_TIMESTAMP(3) \n" +
+                ")";
+
+        jdbcTemplate.batchUpdate(SQL, batchParameters);
+    }
+
+    @Override
+    public List<ScoringJob> claim(final String leaseOwner, final int limit, final long leaseMillis) {
+        final SqlParameterSource parameters = new MapSqlParameterSource("leaseOwner", leaseOwner)
+            .addValue("limit", limit)
+            .addValue("leaseMicros", leaseMillis * 1000);
+
+        final String claimSQL =
+            "UPDATE scoring_job \n" +
+                "SET \n" +
+                "   lease_owner = :leaseOwner, \n" +
+                "   lease_expires_at = DATE_ADD(UTC_TIMESTAMP(3), INTERVAL :leaseMicros MICROSECOND), \n" +
+                "   attempts = attempts + 1 \n" +
+                "WHERE \n" +
+                "   next_attempt_at <= UTC_TIMESTAMP(3) \n" +
+                "   AND ( \n" +
+                "       lease_owner IS NULL \n" +
+                "       OR lease_expires_at < UTC_TIMESTAMP(3) \n" +
+                "   ) \n" +
+                "ORDER BY \n" +
+                "   next_attempt_at \n" +
+                "LIMIT :limit";
+
+        if (jdbcTemplate.update(claimSQL, parameters) == 0) {
+            return Collections.emptyList();
+        }
+
+        final String SQL =
+            "SELECT \n" +
+                "   score_mark, \n" +
+                "   exam_id, \n" +
+                "   exam_item_id, \n" +
+                "   client_name, \n" +
+                "   position, \n" +
+                "   sequence, \n" +
+                "   bank_key, \n" +
+                "   item_key, \n" +
+                "   item_file_path, \n" +
+                "   language_code, \n" +
+                "   response, \n" +
+                "   score_sent_at, \n" +
+                "   attempts, \n" +
+                "   lease_owner \n" +
+                "FROM \n" +
+                "   scoring_job \n" +
+                "WHERE \n" +
+                "   lease_owner = :leaseOwner \n" +
+                "ORDER BY \n" +
+                "   score_sent_at";
+
+        return jdbcTemplate.query(SQL, parameters, scoringJobRowMapper);
+    }
+
+    @Override
+    public void retry(final ScoringJob job, final long backoffMillis, final String error) {
+        final SqlParameterSource parameters = new MapSqlParameterSource("scoreMark", job.getScoreMark().toString())
+            .addValue("leaseOwner", job.getLeaseOwner())
+            .addValue("backoffMicros", backoffMillis * 1000)
+            .addValue("error", StringUtils.left(error, MAX_ERROR_LENGTH));
+
+        final String SQL =
+            "UPDATE scoring_job \n" +
+                "SET \n" +
+                "   lease_owner = NULL, \n" +
+                "   lease_expires_at = NULL, \n" +
+                "   next_attempt_at = DATE_ADD(UTC_TIMESTAMP(3), INTERVAL :backoffMicros MICROSECOND), \n" +
+                "   last_error = :error \n" +
+                "WHERE \n" +
+                "   score_mark = :scoreMark \n" +
+                "   AND lease_owner = :leaseOwner";
+
+        jdbcTemplate.update(SQL, parameters);
+    }
+
+    @Override
+    public boolean complete(final ScoringJob job, final int score, final String scoringStatus, final String scoringRationale,
+                            final String scoringDimensions) {
+        final Instant now = Instant.now();
+        final SqlParameterSource parameters = new MapSqlParameterSource("scoreMark", job.getScoreMark().toString())
+            .addValue("examId", job.getExamId().toString())
+            .addValue("examItemId", job.getExamItemId().toString())
+            .addValue("score", score)
+            .addValue("scoringStatus", scoringStatus)
+            .addValue("scoringRationale", scoringRationale)
+            .addValue("scoringDimensions", scoringDimensions)
+            .addValue("scoreLatency", job.getScoreSentAt() == null ? 0 : now.getMillis() - job.getScoreSentAt().getMillis())
+            .addValue("scoredAt", mapJodaInstantToTimestamp(now));
+
+        // The response keeps its created_at, which the student application sends back as the item's security code
+        final String insertSQL =
+            "INSERT INTO exam_item_response ( \n" +
+                "   exam_item_id, \n" +
+                "   exam_id, \n" +
+                "   response, \n" +
+                "   sequence, \n" +
+                "   is_valid, \n" +
+                "   is_selected, \n" +
+                "   is_marked_for_review, \n" +
+                "   score, \n" +
+                "   scoring_status, \n" +
+                "   scoring_rationale, \n" +
+                "   scoring_dimensions, \n" +
+                "   created_at, \n" +
+                "   score_sent_at, \n" +
+                "   score_latency, \n" +
+                "   score_mark, \n" +
+                "   scored_at) \n" +
+                "SELECT \n" +
+                "   R.exam_item_id, \n" +
+                "   R.exam_id, \n" +
+                "   R.response, \n" +
+                "   R.sequence, \n" +
+                "   R.is_valid, \n" +
+                "   R.is_selected, \n" +
+                "   R.is_marked_for_review, \n" +
+                "   :score, \n" +
+                "   :scoringStatus, \n" +
+                "   :scoringRationale, \n" +
+                "   :scoringDimensions, \n" +
+                "   R.created_at, \n" +
+                "   R.score_sent_at, \n" +
+                "   :scoreLatency, \n" +
+                "   R.score_mark, \n" +
+                "   :scoredAt \n" +
+                "FROM \n" +
+                "   exam_item_response R \n" +
+                "JOIN ( \n" +
+                "   SELECT \n" +
+                "       MAX(id) AS id \n" +
+                "   FROM \n" +
+                "       exam_item_response \n" +
+                "   WHERE \n" +
+                "       exam_id = :examId \n" +
+                "       AND exam_item_id = :examItemId \n" +
+                ") last_response \n" +
+                "   ON R.id = last_response.id \n" +
+                "WHERE \n" +
+                "   R.score_mark = :scoreMark \n" +
+                "   AND R.scored_at IS NULL";
+
+        final String deleteSQL =
+            "DELETE FROM scoring_job \n" +
+                "WHERE \n" +
+                "   score_mark = :scoreMark";
+
+        final boolean saved = jdbcTemplate.update(insertSQL, parameters) == 1;
+        jdbcTemplate.update(deleteSQL, parameters);
+
+        if (saved) {
+            examChangeCommandRepository.examsChanged(Collections.singletonList(job.getExamId()));
+        }
+
+        return saved;
+    }
+
+    @Override
+    public int createForWaitingResponses(final long waitingMillis, final int limit) {
+        final SqlParameterSource parameters = new MapSqlParameterSource("sentBefore",
+            mapJodaInstantToTimestamp(Instant.now().minus(waitingMillis)))
+            .addValue("limit", limit);
+
+        // Responses are stored with their backslashes escaped, so they are unescaped to queue the response as it was
+        // sent for scoring
+        final String SQL =
+            "INSERT IGNORE INTO scoring_job ( \n" +
+                "   score_mark, \n" +
+                "   exam_id, \n" +
+                "   exam_item_id, \n" +
+                "   client_name, \n" +
+                "   position, \n" +
+                "   sequence, \n" +
+                "   bank_key, \n" +
+                "   item_key, \n" +
+                "   item_file_path, \n" +
+                "   language_code, \n" +
+                "   response, \n" +
+                "   score_sent_at, \n" +
+                "   next_attempt_at, \n" +
+                "   created_at \n" +
+                ") \n" +
+                "SELECT \n" +
+                "   R.score_mark, \n" +
+                "   R.exam_id, \n" +
+                "   R.exam_item_id, \n" +
+                "   E.client_name, \n" +
+                "   I.position, \n" +
+                "   R.sequence, \n" +
+                "   I.assessment_item_bank_key, \n" +
+                "   I.assessment_item_key, \n" +
+                "   I.item_file_path, \n" +
+                "   EC.language_code, \n" +
+                "   REPLACE(R.response, '\\\\\\\\', '\\\\'), \n" +
+                "   R.score_sent_at, \n" +
+                "   UTC_TIMESTAMP(3), \n" +
+                "   UTC_TIMESTAMP(3) \n" +
+                "FROM \n" +
+                "   exam_item_response R \n" +
+                "JOIN exam_item I \n" +
+                "   ON I.id = R.exam_item_id \n" +
+                "JOIN exam E \n" +
+                "   ON E.id = R.exam_id \n" +
+                "JOIN exam_current EC \n" +
+                "   ON EC.exam_id = R.exam_id \n" +
+                "LEFT JOIN scoring_job J \n" +
+                "   ON J.score_mark = R.score_mark \n" +
+                "WHERE \n" +
+                "   R.scoring_status = 'WaitingForMachineScore' \n" +
+                "   AND R.score_sent_at < :sentBefore \n" +
+                "   AND R.score_mark IS NOT NULL \n" +
+                "   AND R.scored_at IS NULL \n" +
+                "   AND J.score_mark IS NULL \n" +
+                "   AND R.id = ( \n" +
+                "       SELECT \n" +
+                "           MAX(id) \n" +
+                "       FROM \n" +
+                "           exam_item_response \n" +
+                "       WHERE \n" +
+                "           exam_item_id = R.exam_item_id \n" +
+                "   ) \n" +
+                "ORDER BY \n" +
+                "   R.score_sent_at \n" +
+                "LIMIT :limit";
+
+        return jdbcTemplate.update(SQL, parameters);
+    }
+
+    @Override
+    public ScoringJobQueueStats findQueueStats() {
+        final String SQL =
+            "SELECT \n" +
+                "   COUNT(*) AS depth, \n" +
+                "   COALESCE(SUM(lease_expires_at >= UTC_TIMESTAMP(3)), 0) AS leased_count, \n" +
+                "   MIN(score_sent_at) AS oldest_score_sent_at \n" +
+                "FROM \n" +
+                "   scoring_job";
+
+        return jdbcTemplate.queryForObject(SQL, new MapSqlParameterSource(), (rs, rowNum) -> {
+            final Instant oldestScoreSentAt = mapTimestampToJodaInstant(rs, "oldest_score_sent_at");
+            return new ScoringJobQueueStats(rs.getLong("depth"), rs.getLong("leased_count"),
+                oldestScoreSentAt == null ? 0 : Math.max(0, Instant.now().getMillis() - oldestScoreSentAt.getMillis()));
+        });
+    }
+}
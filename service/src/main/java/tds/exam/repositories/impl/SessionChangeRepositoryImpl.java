@@ -0,0 +1,85 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.repositories.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import tds.exam.repositories.SessionChangeRepository;
+
+/*
+ * The versions are read from the primary through the command template.  The version of a session is the latest version
+ * committed to its session_change row, and the versions of a session commit in order, see
+ * {@link tds.exam.repositories.impl.ExamChangeCommandRepositoryImpl}, so every change up to the version is committed
+ * when it is read.
+ */
+@Repository
+class SessionChangeRepositoryImpl implements SessionChangeRepository {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    SessionChangeRepositoryImpl(@Qualifier("commandJdbcTemplate") final NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public long findVersion(final UUID sessionId) {
+        final SqlParameterSource parameters = new MapSqlParameterSource("sessionId", sessionId.toString());
+
+        final String SQL =
+            "SELECT \n" +
+                "   version \n" +
+                "FROM \n" +
+                "   session_change \n" +
+                "WHERE \n" +
+                "   session_id = :sessionId";
+
+        return jdbcTemplate.query(SQL, parameters, (rs, rowNum) -> rs.getLong("version")).stream()
+            .findFirst()
+            .orElse(0L);
+    }
+
+    @Override
+    public Map<UUID, Long> findExamChanges(final UUID sessionId, final long afterVersion) {
+        final SqlParameterSource parameters = new MapSqlParameterSource("sessionId", sessionId.toString())
+            .addValue("afterVersion", afterVersion);
+
+        final String SQL =
+            "SELECT \n" +
+                "   exam_id, \n" +
+                "   version \n" +
+                "FROM \n" +
+                "   session_exam_change \n" +
+                "WHERE \n" +
+                "   session_id = :sessionId \n" +
+                "   AND version > :afterVersion \n" +
+                "ORDER BY \n" +
+                "   version";
+
+        final Map<UUID, Long> changes = new LinkedHashMap<>();
+        jdbcTemplate.query(SQL, parameters, rs -> {
+            changes.put(UUID.fromString(rs.getString("exam_id")), rs.getLong("version"));
+        });
+
+        return changes;
+    }
+}
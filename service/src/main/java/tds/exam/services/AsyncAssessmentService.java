@@ -0,0 +1,67 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import tds.accommodation.Accommodation;
+import tds.assessment.Assessment;
+import tds.assessment.AssessmentInfo;
+import tds.assessment.AssessmentWindow;
+import tds.session.ExternalSessionConfiguration;
+
+/**
+ * Non-blocking variants of the {@link tds.exam.services.AssessmentService} lookups, so independent lookups can be made
+ * concurrently.  The futures complete with what the {@link tds.exam.services.AssessmentService} returns or throws.
+ */
+public interface AsyncAssessmentService {
+    /**
+     * @param clientName The name of the client (e.g. SBAC or SBAC_PT)
+     * @param key        unique key for the assessment
+     * @return a future of {@link tds.exam.services.AssessmentService#findAssessment(String, String)}
+     */
+    CompletableFuture<Optional<Assessment>> findAssessment(final String clientName, final String key);
+
+    /**
+     * @param clientName    environment's client name
+     * @param assessmentId  the assessment id for the assessment
+     * @param guestStudent  a flag indicating whether the student is a guest student
+     * @param configuration {@link tds.session.ExternalSessionConfiguration} for the environment
+     * @return a future of {@link tds.exam.services.AssessmentService#findAssessmentWindows(String, String, boolean, tds.session.ExternalSessionConfiguration)}
+     */
+    CompletableFuture<List<AssessmentWindow>> findAssessmentWindows(final String clientName, final String assessmentId, final boolean guestStudent, final ExternalSessionConfiguration configuration);
+
+    /**
+     * @param clientName    the client name associated with the assessment
+     * @param assessmentKey the assessment key
+     * @return a future of {@link tds.exam.services.AssessmentService#findAssessmentAccommodationsByAssessmentKey(String, String)}
+     */
+    CompletableFuture<List<Accommodation>> findAssessmentAccommodationsByAssessmentKey(final String clientName, final String assessmentKey);
+
+    /**
+     * @param clientName     The client name of the TDS environment
+     * @param assessmentKeys The collection of keys to obtain {@link tds.assessment.AssessmentInfo} for
+     * @return a future of {@link tds.exam.services.AssessmentService#findAssessmentInfosForAssessments(String, String...)}
+     */
+    CompletableFuture<List<AssessmentInfo>> findAssessmentInfosForAssessments(final String clientName, final String... assessmentKeys);
+
+    /**
+     * @param clientName the client name associated with the assessment
+     * @param grade      the grade to fetch all {@link tds.assessment.AssessmentInfo} for
+     * @return a future of {@link tds.exam.services.AssessmentService#findAssessmentInfosForGrade(String, String)}
+     */
+    CompletableFuture<List<AssessmentInfo>> findAssessmentInfosForGrade(final String clientName, final String grade);
+}
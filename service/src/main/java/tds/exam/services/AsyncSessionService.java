@@ -0,0 +1,47 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import tds.session.ExternalSessionConfiguration;
+import tds.session.Session;
+import tds.session.SessionAssessment;
+
+/**
+ * Non-blocking variants of the {@link tds.exam.services.SessionService} lookups, so independent lookups can be made
+ * concurrently.  The futures complete with what the {@link tds.exam.services.SessionService} returns or throws.
+ */
+public interface AsyncSessionService {
+    /**
+     * @param sessionId the session id
+     * @return a future of {@link tds.exam.services.SessionService#findSessionById(java.util.UUID)}
+     */
+    CompletableFuture<Optional<Session>> findSessionById(final UUID sessionId);
+
+    /**
+     * @param clientName the client name for the exam
+     * @return a future of {@link tds.exam.services.SessionService#findExternalSessionConfigurationByClientName(String)}
+     */
+    CompletableFuture<Optional<ExternalSessionConfiguration>> findExternalSessionConfigurationByClientName(final String clientName);
+
+    /**
+     * @param sessionId session id
+     * @return a future of {@link tds.exam.services.SessionService#findSessionAssessments(java.util.UUID)}
+     */
+    CompletableFuture<List<SessionAssessment>> findSessionAssessments(final UUID sessionId);
+}
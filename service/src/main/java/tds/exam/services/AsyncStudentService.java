@@ -0,0 +1,42 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import tds.student.RtsStudentPackageAttribute;
+import tds.student.Student;
+
+/**
+ * Non-blocking variants of the {@link tds.exam.services.StudentService} lookups, so independent lookups can be made
+ * concurrently.  The futures complete with what the {@link tds.exam.services.StudentService} returns or throws.
+ */
+public interface AsyncStudentService {
+    /**
+     * @param clientName client name for the student
+     * @param studentId  id for the student
+     * @return a future of {@link tds.exam.services.StudentService#getStudentById(String, long)}
+     */
+    CompletableFuture<Optional<Student>> getStudentById(final String clientName, final long studentId);
+
+    /**
+     * @param studentId      the student id
+     * @param clientName     the client name
+     * @param attributeNames the attribute names to fetch from the package
+     * @return a future of {@link tds.exam.services.StudentService#findStudentPackageAttributes(long, String, String...)}
+     */
+    CompletableFuture<List<RtsStudentPackageAttribute>> findStudentPackageAttributes(final long studentId, final String clientName, final String... attributeNames);
+}
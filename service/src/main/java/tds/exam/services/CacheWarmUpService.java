@@ -0,0 +1,30 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services;
+
+import tds.exam.models.CacheWarmUpResult;
+
+/**
+ * Pre-warms the assessment caches so the first exams started after the service starts do not wait on the assessment
+ * service
+ */
+public interface CacheWarmUpService {
+    /**
+     * Loads the assessments of the recently created exams, and their segments and accommodations, into the cache.  An
+     * assessment that cannot be loaded is counted as a failure rather than stopping the warm-up.
+     *
+     * @return the {@link tds.exam.models.CacheWarmUpResult}
+     */
+    CacheWarmUpResult warmUp();
+}
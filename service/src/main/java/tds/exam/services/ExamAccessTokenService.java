@@ -0,0 +1,48 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import tds.exam.ExamInfo;
+
+/**
+ * Issues and verifies short lived, signed exam access tokens.  A token proves that the exam, session and browser ids
+ * it was issued for passed the access checks of {@link tds.exam.services.ExamApprovalService} a moment ago, so a
+ * request presenting it does not have to be checked against the database again.
+ */
+public interface ExamAccessTokenService {
+    /**
+     * Issues a token for an exam, session and browser whose access has just been verified
+     *
+     * @param examInfo the exam, session and browser ids
+     * @return the token, or empty if access tokens are not enabled
+     */
+    Optional<String> issueToken(final ExamInfo examInfo);
+
+    /**
+     * @param token    the token presented with the request
+     * @param examInfo the exam, session and browser ids of the request
+     * @return {@code true} if the token was issued for the ids, has not expired and has not been revoked
+     */
+    boolean isValid(final String token, final ExamInfo examInfo);
+
+    /**
+     * Revokes the tokens issued for an exam so far, because a change to the exam may revoke access
+     *
+     * @param examId the id of the exam
+     */
+    void revokeTokens(final UUID examId);
+}
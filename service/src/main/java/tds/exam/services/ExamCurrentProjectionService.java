@@ -0,0 +1,38 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services;
+
+import tds.exam.models.ExamCurrentProjectionReport;
+
+/**
+ * Verifies and regenerates the exam_current projection of each exam's latest state
+ */
+public interface ExamCurrentProjectionService {
+    /**
+     * Compares every exam's projection against its latest exam event and language accommodation
+     *
+     * @param batchSize the number of exams to check at a time
+     * @return the {@link tds.exam.models.ExamCurrentProjectionReport} describing the out of date exams
+     */
+    ExamCurrentProjectionReport verify(final int batchSize);
+
+    /**
+     * Regenerates the projection from the exam events
+     *
+     * @param onlyOutOfDate {@code true} if only the exams whose projection is out of date should be regenerated
+     * @param batchSize     the number of exams to regenerate at a time
+     * @return the {@link tds.exam.models.ExamCurrentProjectionReport} describing the regenerated exams
+     */
+    ExamCurrentProjectionReport rebuild(final boolean onlyOutOfDate, final int batchSize);
+}
@@ -13,4 +13,14 @@ public interface ExamExpirationService {
      * @return {@link tds.exam.ExpiredExamResponse}
      */
     ExpiredExamResponse expireExams(final String clientName);
+
+    /**
+     * Expire all of the client's exams that fit criteria.  The exams are processed in chunks ordered by expiration time,
+     * several chunks at a time, and the progress is saved after each set of chunks so an interrupted pass resumes
+     * where it stopped.  Only one instance expires a client's exams at a time.
+     *
+     * @param clientName the client name associated with the exams
+     * @return the number of exams that were expired or completed, or 0 if another instance is expiring the exams
+     */
+    int expireAllExams(final String clientName);
 }
@@ -0,0 +1,30 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services;
+
+import tds.exam.models.ExamLastActivityBackfillReport;
+
+/**
+ * Backfills the exam_last_activity table used to decide whether resuming an exam is within its restart window
+ */
+public interface ExamLastActivityService {
+    /**
+     * Moves the last activity of every exam that is not deleted or closed forward to the latest of the exam being
+     * paused, a response being saved or a page being created
+     *
+     * @param batchSize the number of exams to backfill at a time
+     * @return the {@link tds.exam.models.ExamLastActivityBackfillReport} describing the backfilled exams
+     */
+    ExamLastActivityBackfillReport backfill(final int batchSize);
+}
@@ -20,6 +20,7 @@ import java.util.UUID;
 
 import tds.exam.ExpandableExam;
 import tds.exam.ExpandableExamAttributes;
+import tds.exam.ExpandableExamChanges;
 
 /**
  * Handles operations on {@link tds.exam.ExpandableExam}
@@ -35,6 +36,28 @@ public interface ExpandableExamService {
      */
     List<ExpandableExam> findExamsBySessionId(final UUID sessionId, final Set<String> invalidStatuses, final ExpandableExamAttributes... expandableAttributes);
 
+    /**
+     * Returns the current version of a session.  The version increases whenever an exam in the session changes.
+     *
+     * @param sessionId the id of the session
+     * @return the current version of the session, or 0 if no exam in the session has changed
+     */
+    long findSessionVersion(final UUID sessionId);
+
+    /**
+     * Returns the {@link tds.exam.ExpandableExam}s within a session that changed after a version of the session, and the
+     * ids of the exams that left the session or no longer match the statuses since.  When the version is not one the
+     * session has had all the {@link tds.exam.ExpandableExam}s in the session are returned.
+     *
+     * @param sessionId            the id of the session the {@link tds.exam.Exam}s belong to
+     * @param sinceVersion         the version of the session the caller has seen
+     * @param invalidStatuses      the statuses of the exams to exclude
+     * @param expandableAttributes parameters representing the optional expandable data to include
+     * @return the {@link tds.exam.ExpandableExamChanges} since the version
+     */
+    ExpandableExamChanges findExamChangesBySessionId(final UUID sessionId, final long sinceVersion, final Set<String> invalidStatuses,
+                                                     final ExpandableExamAttributes... expandableAttributes);
+
     /**
      * Fetches an {@link tds.exam.ExpandableExam} for the given id (if one exists) with additional properties based on the
      * {@link tds.exam.ExpandableExamAttributes} that are requested.
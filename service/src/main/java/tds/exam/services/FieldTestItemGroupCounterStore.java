@@ -0,0 +1,40 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Keeps track of the number of times each field test item group of a segment has been assigned
+ */
+public interface FieldTestItemGroupCounterStore {
+    /**
+     * Finds the number of times the field test item groups have been assigned
+     *
+     * @param segmentKey the key of the segment the field test item groups belong to
+     * @param groupKeys  the keys of the field test item groups
+     * @return a map of group key to the number of times the group has been assigned.  Groups that have never been
+     * assigned have a count of 0
+     */
+    Map<String, Long> findCounts(final String segmentKey, final Collection<String> groupKeys);
+
+    /**
+     * Records a single assignment of each of the field test item groups
+     *
+     * @param segmentKey the key of the segment the field test item groups belong to
+     * @param groupKeys  the keys of the assigned field test item groups
+     */
+    void increment(final String segmentKey, final Collection<String> groupKeys);
+}
@@ -0,0 +1,28 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services;
+
+/**
+ * A sequence of form assignments used to assign the forms of a segment round robin
+ */
+public interface FormAssignmentSequence {
+    /**
+     * Atomically takes the next value of the sequence for the segment and language
+     *
+     * @param segmentKey   the key of the segment being assigned a form
+     * @param languageCode the language of the forms
+     * @return the next value, starting at 0
+     */
+    long next(final String segmentKey, final String languageCode);
+}
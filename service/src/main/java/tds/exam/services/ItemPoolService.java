@@ -30,10 +30,14 @@ public interface ItemPoolService {
      *
      * @param examId    the id of the {@link tds.exam.Exam}
      * @param itemConstraints    the {@link tds.assessment.ItemConstraint}s for the assessment
+     * @param assessmentKey      the key of the {@link tds.assessment.Assessment}
+     * @param segmentKey         the key of the {@link tds.assessment.Segment}
+     * @param languageCode       the language of the exam
      * @param items     the collection of all possible {@link tds.assessment.Item}s in a {@link tds.assessment.Segment}
      * @return  returns a filtered list of {@link tds.assessment.Item}s eligible for the segment pool
      */
-    Set<Item> getItemPool(final UUID examId, final List<ItemConstraint> itemConstraints, final List<Item> items);
+    Set<Item> getItemPool(final UUID examId, final List<ItemConstraint> itemConstraints, final String assessmentKey,
+                          final String segmentKey, final String languageCode, final List<Item> items);
 
     /**
      * Retrieves a collection of eligible items for the exam segment based on exam accommodations and assessment
@@ -41,8 +45,12 @@ public interface ItemPoolService {
      *
      * @param examId          the id of the {@link tds.exam.Exam}
      * @param itemConstraints the {@link tds.assessment.ItemConstraint}s for the assessment
+     * @param assessmentKey   the key of the {@link tds.assessment.Assessment}
+     * @param segmentKey      the key of the {@link tds.assessment.Segment}
+     * @param languageCode    the language of the exam
      * @param items           the collection of all possible {@link tds.assessment.Item}s in a {@link tds.assessment.Segment}
      * @return returns a filtered list of {@link tds.assessment.Item}s eligible for the segment pool
      */
-    Set<Item> getFieldTestItemPool(UUID examId, List<ItemConstraint> itemConstraints, final List<Item> items);
+    Set<Item> getFieldTestItemPool(final UUID examId, final List<ItemConstraint> itemConstraints, final String assessmentKey,
+                                   final String segmentKey, final String languageCode, final List<Item> items);
 }
@@ -0,0 +1,77 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import tds.common.ValidationError;
+import tds.exam.RescoreJobProgress;
+import tds.exam.models.RescoreJob;
+import tds.exam.models.RescoreJobExam;
+
+/**
+ * Rescores many exams in the background.  The TRTs of the exams are submitted to a rescore job and rescored in
+ * parallel by the {@link tds.exam.services.impl.RescoreJobWorker}s of every exam service instance, which publish the
+ * rescored results the same way a single exam rescore does.
+ */
+public interface RescoreJobService {
+    /**
+     * Creates a rescore job, or finds the job if it was created before
+     *
+     * @param jobId    the id of the job
+     * @param itemKeys the bank key and item key of the items to rescore, e.g. "187-1234", or an empty set to rescore
+     *                 every item
+     * @return the {@link tds.exam.models.RescoreJob}
+     */
+    RescoreJob createRescoreJob(final UUID jobId, final Set<String> itemKeys);
+
+    /**
+     * Submits an exam to be rescored by a job
+     *
+     * @param jobId       the id of the job
+     * @param examId      the id of the exam
+     * @param testResults the TRT xml of the exam
+     * @return a {@link tds.common.ValidationError} if the job does not exist
+     */
+    Optional<ValidationError> submitExam(final UUID jobId, final UUID examId, final String testResults);
+
+    /**
+     * @return a batch of the exams waiting to be rescored, claimed by this instance
+     */
+    List<RescoreJobExam> claimExams();
+
+    /**
+     * Rescores a claimed exam.  An exam failing to rescore is released to be attempted again until it runs out of
+     * attempts.
+     *
+     * @param exam the claimed {@link tds.exam.models.RescoreJobExam}
+     */
+    void rescoreExam(final RescoreJobExam exam);
+
+    /**
+     * Publishes the results of a batch of rescored exams
+     *
+     * @return the number of exams published
+     */
+    int publishRescoredExams();
+
+    /**
+     * @param jobId the id of the job
+     * @return the {@link tds.exam.RescoreJobProgress} of the job if it exists
+     */
+    Optional<RescoreJobProgress> findProgress(final UUID jobId);
+}
@@ -0,0 +1,52 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services;
+
+import java.util.List;
+
+import tds.exam.models.ScoringJobQueueStats;
+import tds.score.model.ScoringJob;
+
+/**
+ * Works the durable queue of the responses waiting for a machine score
+ */
+public interface ScoringJobService {
+    /**
+     * Claims the next batch of due scoring jobs for this instance
+     *
+     * @return the claimed {@link tds.score.model.ScoringJob}s
+     */
+    List<ScoringJob> claimJobs();
+
+    /**
+     * Scores the response of a claimed job and saves its score.  A job that fails to score is retried with an
+     * increasing delay until it runs out of attempts, after which the scoring error is saved as the response's score.
+     *
+     * @param job the claimed {@link tds.score.model.ScoringJob}
+     */
+    void processJob(final ScoringJob job);
+
+    /**
+     * Queues the responses that have been waiting for a machine score for longer than the pending time and are not
+     * queued, e.g. because their scoring callback was lost
+     *
+     * @return the number of responses queued
+     */
+    int queueWaitingResponses();
+
+    /**
+     * @return the {@link tds.exam.models.ScoringJobQueueStats} of the queue
+     */
+    ScoringJobQueueStats getQueueStats();
+}
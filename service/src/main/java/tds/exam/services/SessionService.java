@@ -27,13 +27,22 @@ import tds.session.SessionAssessment;
  */
 public interface SessionService {
     /**
-     * Retrieves a session by id
+     * Retrieves a session by id.  Sessions are cached for a few seconds, so a session changed by another exam service
+     * instance may briefly be stale.
      *
      * @param sessionId the session id
      * @return optional populated with {@link tds.session.Session session} if found otherwise empty
      */
     Optional<Session> findSessionById(final UUID sessionId);
 
+    /**
+     * Evicts a session from the session cache so the next {@link #findSessionById(java.util.UUID)} fetches it from the
+     * session service
+     *
+     * @param sessionId the session id
+     */
+    void evictSession(final UUID sessionId);
+
     /**
      * Retrieves the extern by client name
      *
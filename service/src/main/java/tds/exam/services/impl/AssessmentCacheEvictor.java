@@ -0,0 +1,43 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Component;
+
+import tds.common.cache.CacheType;
+
+/**
+ * Evicts the {@link tds.common.cache.CacheType#LONG_TERM} entries of {@link AssessmentServiceImpl} that are served
+ * from the {@link ReferenceDataSnapshot}.
+ * <p>
+ * The evicted keys are the same explicit keys the {@link org.springframework.cache.annotation.Cacheable} methods of
+ * {@link AssessmentServiceImpl} are cached by, so the entries are evicted whatever key generator the cache is
+ * configured with.  This is a separate bean so the evictions go through the caching proxy.
+ * </p>
+ */
+@Component
+class AssessmentCacheEvictor {
+    @CacheEvict(cacheNames = CacheType.LONG_TERM, key = AssessmentServiceImpl.ASSESSMENT_CACHE_KEY)
+    public void evictAssessment(final String clientName, final String key) {
+    }
+
+    @CacheEvict(cacheNames = CacheType.LONG_TERM, key = AssessmentServiceImpl.ASSESSMENT_ACCOMMODATIONS_CACHE_KEY)
+    public void evictAssessmentAccommodations(final String clientName, final String assessmentKey) {
+    }
+
+    @CacheEvict(cacheNames = CacheType.LONG_TERM, key = AssessmentServiceImpl.SEGMENT_ITEM_INFORMATION_CACHE_KEY)
+    public void evictSegmentItemInformation(final String segmentKey) {
+    }
+}
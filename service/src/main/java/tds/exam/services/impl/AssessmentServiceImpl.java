@@ -13,6 +13,7 @@
 
 package tds.exam.services.impl;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.core.ParameterizedTypeReference;
@@ -42,17 +43,39 @@ import static tds.exam.configuration.SupportApplicationConfiguration.ASSESSMENT_
 
 @Service
 class AssessmentServiceImpl implements AssessmentService {
+    // The keys of the resources served from the reference data snapshot, evicted by AssessmentCacheEvictor
+    static final String ASSESSMENT_CACHE_KEY = "'assessment:' + #p0 + ':' + #p1";
+    static final String ASSESSMENT_ACCOMMODATIONS_CACHE_KEY = "'assessment-accommodations:' + #p0 + ':' + #p1";
+    static final String SEGMENT_ITEM_INFORMATION_CACHE_KEY = "'segment-item-information:' + #p0";
+
+    private static final TypeReference<Assessment> ASSESSMENT_TYPE = new TypeReference<Assessment>() {
+    };
+    private static final TypeReference<List<Accommodation>> ACCOMMODATIONS_TYPE = new TypeReference<List<Accommodation>>() {
+    };
+    private static final TypeReference<SegmentItemInformation> SEGMENT_ITEM_INFORMATION_TYPE = new TypeReference<SegmentItemInformation>() {
+    };
+
     private final RestTemplate restTemplate;
     private final ExamServiceProperties examServiceProperties;
+    private final SingleFlightLoader singleFlightLoader;
+    private final ReferenceDataSnapshot referenceDataSnapshot;
+    private final AssessmentCacheEvictor assessmentCacheEvictor;
 
     @Autowired
-    public AssessmentServiceImpl(final RestTemplate restTemplate, final ExamServiceProperties examServiceProperties) {
+    public AssessmentServiceImpl(final RestTemplate restTemplate,
+                                 final ExamServiceProperties examServiceProperties,
+                                 final SingleFlightLoader singleFlightLoader,
+                                 final ReferenceDataSnapshot referenceDataSnapshot,
+                                 final AssessmentCacheEvictor assessmentCacheEvictor) {
         this.restTemplate = restTemplate;
         this.examServiceProperties = examServiceProperties;
+        this.singleFlightLoader = singleFlightLoader;
+        this.referenceDataSnapshot = referenceDataSnapshot;
+        this.assessmentCacheEvictor = assessmentCacheEvictor;
     }
 
     @Override
-    @Cacheable(CacheType.LONG_TERM)
+    @Cacheable(cacheNames = CacheType.LONG_TERM, key = ASSESSMENT_CACHE_KEY)
     public Optional<Assessment> findAssessment(final String clientName, final String key) {
         URI uri =
             UriComponentsBuilder
@@ -62,17 +85,17 @@ class AssessmentServiceImpl implements AssessmentService {
                     ASSESSMENT_APP_CONTEXT,
                     key)).build().toUri();
 
-        Optional<Assessment> maybeAssessment = Optional.empty();
-        try {
-            final Assessment assessment = restTemplate.getForObject(uri, Assessment.class);
-            maybeAssessment = Optional.of(assessment);
-        } catch (HttpClientErrorException hce) {
-            if (hce.getStatusCode() != HttpStatus.NOT_FOUND) {
-                throw hce;
+        return singleFlightLoader.load(uri, () -> Optional.ofNullable(referenceDataSnapshot.load(uri, () -> assessmentCacheEvictor.evictAssessment(clientName, key), ASSESSMENT_TYPE, () -> {
+            try {
+                return restTemplate.getForObject(uri, Assessment.class);
+            } catch (HttpClientErrorException hce) {
+                if (hce.getStatusCode() != HttpStatus.NOT_FOUND) {
+                    throw hce;
+                }
             }
-        }
 
-        return maybeAssessment;
+            return null;
+        })));
     }
 
     @Override
@@ -95,15 +118,19 @@ class AssessmentServiceImpl implements AssessmentService {
         builder.queryParam("shiftFormEnd", configuration.getShiftFormEnd());
         builder.queryParam("guestStudent", guestStudent);
 
-        ResponseEntity<List<AssessmentWindow>> responseEntity = restTemplate.exchange(builder.build().toUri(),
-            HttpMethod.GET, null, new ParameterizedTypeReference<List<AssessmentWindow>>() {
-            });
+        final URI uri = builder.build().toUri();
 
-        return responseEntity.getBody();
+        return singleFlightLoader.load(uri, () -> {
+            ResponseEntity<List<AssessmentWindow>> responseEntity = restTemplate.exchange(uri,
+                HttpMethod.GET, null, new ParameterizedTypeReference<List<AssessmentWindow>>() {
+                });
+
+            return responseEntity.getBody();
+        });
     }
 
     @Override
-    @Cacheable(CacheType.LONG_TERM)
+    @Cacheable(cacheNames = CacheType.LONG_TERM, key = ASSESSMENT_ACCOMMODATIONS_CACHE_KEY)
     public List<Accommodation> findAssessmentAccommodationsByAssessmentKey(final String clientName, final String assessmentKey) {
         UriComponentsBuilder builder =
             UriComponentsBuilder
@@ -112,12 +139,15 @@ class AssessmentServiceImpl implements AssessmentService {
                     clientName,
                     ASSESSMENT_APP_CONTEXT))
                 .queryParam("assessmentKey", assessmentKey);
+        final URI uri = builder.build().toUri();
 
-        ResponseEntity<List<Accommodation>> responseEntity = restTemplate.exchange(builder.build().toUri(),
-            HttpMethod.GET, null, new ParameterizedTypeReference<List<Accommodation>>() {
-            });
+        return singleFlightLoader.load(uri, () -> referenceDataSnapshot.load(uri, () -> assessmentCacheEvictor.evictAssessmentAccommodations(clientName, assessmentKey), ACCOMMODATIONS_TYPE, () -> {
+            ResponseEntity<List<Accommodation>> responseEntity = restTemplate.exchange(uri,
+                HttpMethod.GET, null, new ParameterizedTypeReference<List<Accommodation>>() {
+                });
 
-        return responseEntity.getBody();
+            return responseEntity.getBody();
+        }));
     }
 
     @Override
@@ -140,7 +170,7 @@ class AssessmentServiceImpl implements AssessmentService {
     }
 
     @Override
-    @Cacheable(CacheType.LONG_TERM)
+    @Cacheable(cacheNames = CacheType.LONG_TERM, key = SEGMENT_ITEM_INFORMATION_CACHE_KEY)
     public Optional<SegmentItemInformation> findSegmentItemInformation(final String segmentKey) {
         URI uri =
             UriComponentsBuilder
@@ -148,17 +178,17 @@ class AssessmentServiceImpl implements AssessmentService {
                     examServiceProperties.getAssessmentUrl(),
                     segmentKey)).build().toUri();
 
-        Optional<SegmentItemInformation> maybeSegmentItemInfo = Optional.empty();
-        try {
-            final SegmentItemInformation segmentItemInformation = restTemplate.getForObject(uri, SegmentItemInformation.class);
-            maybeSegmentItemInfo = Optional.of(segmentItemInformation);
-        } catch (HttpClientErrorException hce) {
-            if (hce.getStatusCode() != HttpStatus.NOT_FOUND) {
-                throw hce;
+        return Optional.ofNullable(referenceDataSnapshot.load(uri, () -> assessmentCacheEvictor.evictSegmentItemInformation(segmentKey), SEGMENT_ITEM_INFORMATION_TYPE, () -> {
+            try {
+                return restTemplate.getForObject(uri, SegmentItemInformation.class);
+            } catch (HttpClientErrorException hce) {
+                if (hce.getStatusCode() != HttpStatus.NOT_FOUND) {
+                    throw hce;
+                }
             }
-        }
 
-        return maybeSegmentItemInfo;
+            return null;
+        }));
     }
 
     @Override
@@ -0,0 +1,108 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import tds.accommodation.Accommodation;
+import tds.assessment.Assessment;
+import tds.assessment.AssessmentInfo;
+import tds.assessment.AssessmentWindow;
+import tds.exam.configuration.ExamServiceProperties;
+import tds.exam.services.AssessmentService;
+import tds.exam.services.AsyncAssessmentService;
+import tds.session.ExternalSessionConfiguration;
+
+import static tds.exam.configuration.SupportApplicationConfiguration.ASSESSMENT_APP_CONTEXT;
+
+/**
+ * Makes the {@link tds.exam.services.AssessmentService} lookups concurrently.
+ * <p>
+ * The lookups the {@link tds.exam.services.AssessmentService} caches are made through it on the
+ * {@code remoteLookupExecutor}, so they are served from its caches and their misses are coalesced by the
+ * {@link SingleFlightLoader} and served from the {@link ReferenceDataSnapshot}.  The lookups it does not cache are made
+ * with the non-blocking {@link RemoteLookupClient}.
+ * </p>
+ */
+@Service
+class AsyncAssessmentServiceImpl implements AsyncAssessmentService {
+    private final AssessmentService assessmentService;
+    private final RemoteLookupClient remoteLookupClient;
+    private final ExamServiceProperties examServiceProperties;
+    private final ExecutorService remoteLookupExecutor;
+
+    @Autowired
+    public AsyncAssessmentServiceImpl(final AssessmentService assessmentService,
+                                      final RemoteLookupClient remoteLookupClient,
+                                      final ExamServiceProperties examServiceProperties,
+                                      @Qualifier("remoteLookupExecutor") final ExecutorService remoteLookupExecutor) {
+        this.assessmentService = assessmentService;
+        this.remoteLookupClient = remoteLookupClient;
+        this.examServiceProperties = examServiceProperties;
+        this.remoteLookupExecutor = remoteLookupExecutor;
+    }
+
+    @Override
+    public CompletableFuture<Optional<Assessment>> findAssessment(final String clientName, final String key) {
+        return CompletableFuture.supplyAsync(() -> assessmentService.findAssessment(clientName, key), remoteLookupExecutor);
+    }
+
+    @Override
+    public CompletableFuture<List<AssessmentWindow>> findAssessmentWindows(final String clientName,
+                                                                           final String assessmentId,
+                                                                           final boolean guestStudent,
+                                                                           final ExternalSessionConfiguration configuration) {
+        return CompletableFuture.supplyAsync(() ->
+            assessmentService.findAssessmentWindows(clientName, assessmentId, guestStudent, configuration), remoteLookupExecutor);
+    }
+
+    @Override
+    public CompletableFuture<List<Accommodation>> findAssessmentAccommodationsByAssessmentKey(final String clientName,
+                                                                                            final String assessmentKey) {
+        return CompletableFuture.supplyAsync(() ->
+            assessmentService.findAssessmentAccommodationsByAssessmentKey(clientName, assessmentKey), remoteLookupExecutor);
+    }
+
+    @Override
+    public CompletableFuture<List<AssessmentInfo>> findAssessmentInfosForAssessments(final String clientName,
+                                                                                     final String... assessmentKeys) {
+        return CompletableFuture.supplyAsync(() ->
+            assessmentService.findAssessmentInfosForAssessments(clientName, assessmentKeys), remoteLookupExecutor);
+    }
+
+    @Override
+    public CompletableFuture<List<AssessmentInfo>> findAssessmentInfosForGrade(final String clientName, final String grade) {
+        final URI uri =
+            UriComponentsBuilder
+                .fromHttpUrl(String.format("%s/%s/%s",
+                    examServiceProperties.getAssessmentUrl(),
+                    clientName,
+                    ASSESSMENT_APP_CONTEXT))
+                .queryParam("grade", grade)
+                .build().toUri();
+
+        return remoteLookupClient.get(uri, new ParameterizedTypeReference<List<AssessmentInfo>>() {
+        });
+    }
+}
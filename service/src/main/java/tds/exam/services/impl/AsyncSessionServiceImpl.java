@@ -0,0 +1,92 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import tds.exam.configuration.ExamServiceProperties;
+import tds.exam.services.AsyncSessionService;
+import tds.exam.services.SessionService;
+import tds.session.ExternalSessionConfiguration;
+import tds.session.Session;
+import tds.session.SessionAssessment;
+
+import static tds.exam.configuration.SupportApplicationConfiguration.SESSION_APP_CONTEXT;
+
+/**
+ * Makes the {@link tds.exam.services.SessionService} lookups with the non-blocking {@link RemoteLookupClient}.  A
+ * session is always fetched, so an exam is started with its current status.  The external session configuration is
+ * cached by the {@link tds.exam.services.SessionService}, so it is looked up through it on the
+ * {@code remoteLookupExecutor} and served from its cache.
+ */
+@Service
+class AsyncSessionServiceImpl implements AsyncSessionService {
+    private final SessionService sessionService;
+    private final RemoteLookupClient remoteLookupClient;
+    private final ExamServiceProperties examServiceProperties;
+    private final ExecutorService remoteLookupExecutor;
+
+    @Autowired
+    public AsyncSessionServiceImpl(final SessionService sessionService,
+                                   final RemoteLookupClient remoteLookupClient,
+                                   final ExamServiceProperties examServiceProperties,
+                                   @Qualifier("remoteLookupExecutor") final ExecutorService remoteLookupExecutor) {
+        this.sessionService = sessionService;
+        this.remoteLookupClient = remoteLookupClient;
+        this.examServiceProperties = examServiceProperties;
+        this.remoteLookupExecutor = remoteLookupExecutor;
+    }
+
+    @Override
+    public CompletableFuture<Optional<Session>> findSessionById(final UUID sessionId) {
+        final URI uri =
+            UriComponentsBuilder
+                .fromHttpUrl(String.format("%s/%s/%s",
+                    examServiceProperties.getSessionUrl(),
+                    SESSION_APP_CONTEXT,
+                    sessionId)).build().toUri();
+
+        return remoteLookupClient.find(uri, Session.class);
+    }
+
+    @Override
+    public CompletableFuture<Optional<ExternalSessionConfiguration>> findExternalSessionConfigurationByClientName(final String clientName) {
+        return CompletableFuture.supplyAsync(() ->
+            sessionService.findExternalSessionConfigurationByClientName(clientName), remoteLookupExecutor);
+    }
+
+    @Override
+    public CompletableFuture<List<SessionAssessment>> findSessionAssessments(final UUID sessionId) {
+        final URI uri =
+            UriComponentsBuilder
+                .fromHttpUrl(String.format("%s/%s/%s/assessment",
+                    examServiceProperties.getSessionUrl(),
+                    SESSION_APP_CONTEXT,
+                    sessionId)).build().toUri();
+
+        return remoteLookupClient.get(uri, new ParameterizedTypeReference<List<SessionAssessment>>() {
+        });
+    }
+}
@@ -0,0 +1,59 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import tds.exam.services.AsyncStudentService;
+import tds.exam.services.StudentService;
+import tds.student.RtsStudentPackageAttribute;
+import tds.student.Student;
+
+/**
+ * Makes the {@link tds.exam.services.StudentService} lookups concurrently.  Both lookups are cached by the
+ * {@link tds.exam.services.StudentService}, so they are made through it on the {@code remoteLookupExecutor} and served
+ * from its cache.
+ */
+@Service
+class AsyncStudentServiceImpl implements AsyncStudentService {
+    private final StudentService studentService;
+    private final ExecutorService remoteLookupExecutor;
+
+    @Autowired
+    public AsyncStudentServiceImpl(final StudentService studentService,
+                                   @Qualifier("remoteLookupExecutor") final ExecutorService remoteLookupExecutor) {
+        this.studentService = studentService;
+        this.remoteLookupExecutor = remoteLookupExecutor;
+    }
+
+    @Override
+    public CompletableFuture<Optional<Student>> getStudentById(final String clientName, final long studentId) {
+        return CompletableFuture.supplyAsync(() -> studentService.getStudentById(clientName, studentId), remoteLookupExecutor);
+    }
+
+    @Override
+    public CompletableFuture<List<RtsStudentPackageAttribute>> findStudentPackageAttributes(final long studentId,
+                                                                                            final String clientName,
+                                                                                            final String... attributeNames) {
+        return CompletableFuture.supplyAsync(() ->
+            studentService.findStudentPackageAttributes(studentId, clientName, attributeNames), remoteLookupExecutor);
+    }
+}
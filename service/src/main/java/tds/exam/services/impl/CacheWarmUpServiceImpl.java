@@ -0,0 +1,129 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import org.joda.time.Duration;
+import org.joda.time.Instant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import tds.assessment.Assessment;
+import tds.assessment.Segment;
+import tds.exam.configuration.ExamServiceProperties;
+import tds.exam.models.AssessmentUsage;
+import tds.exam.models.CacheWarmUpResult;
+import tds.exam.repositories.ExamQueryRepository;
+import tds.exam.services.AssessmentService;
+import tds.exam.services.CacheWarmUpService;
+
+@Service
+class CacheWarmUpServiceImpl implements CacheWarmUpService {
+    private static final Logger log = LoggerFactory.getLogger(CacheWarmUpServiceImpl.class);
+
+    private final ExamQueryRepository examQueryRepository;
+    private final AssessmentService assessmentService;
+    private final ExamServiceProperties examServiceProperties;
+
+    @Autowired
+    CacheWarmUpServiceImpl(final ExamQueryRepository examQueryRepository,
+                           final AssessmentService assessmentService,
+                           final ExamServiceProperties examServiceProperties) {
+        this.examQueryRepository = examQueryRepository;
+        this.assessmentService = assessmentService;
+        this.examServiceProperties = examServiceProperties;
+    }
+
+    @Override
+    public CacheWarmUpResult warmUp() {
+        final long start = System.currentTimeMillis();
+        final List<AssessmentUsage> assessmentUsages = examQueryRepository.findAssessmentUsage(
+            Instant.now().minus(Duration.standardDays(examServiceProperties.getCacheWarmUpDays())),
+            examServiceProperties.getCacheWarmUpMaxAssessments());
+
+        final Counts counts = new Counts();
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("exam-cache-warm-up-");
+        threadFactory.setDaemon(true);
+        final ExecutorService executorService = Executors.newFixedThreadPool(examServiceProperties.getCacheWarmUpThreadCount(), threadFactory);
+
+        boolean timedOut = false;
+        try {
+            // The most used assessments are submitted first so they are loaded even if the warm-up times out
+            for (final AssessmentUsage assessmentUsage : assessmentUsages) {
+                executorService.execute(() -> warmUp(assessmentUsage, counts));
+            }
+            executorService.shutdown();
+            timedOut = !executorService.awaitTermination(examServiceProperties.getCacheWarmUpTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            timedOut = true;
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        final CacheWarmUpResult result = new CacheWarmUpResult(counts.assessments.get(), counts.segments.get(),
+            counts.accommodationLists.get(), counts.failures.get(),
+            System.currentTimeMillis() - start, timedOut);
+
+        log.info("Warmed up {} of {} assessments, {} segments, and {} accommodation lists in {} ms with {} failures{}",
+            result.getAssessmentCount(), assessmentUsages.size(), result.getSegmentCount(), result.getAccommodationListCount(),
+            result.getDurationMillis(), result.getFailureCount(),
+            timedOut ? " before timing out" : "");
+
+        return result;
+    }
+
+    private void warmUp(final AssessmentUsage assessmentUsage, final Counts counts) {
+        final String clientName = assessmentUsage.getClientName();
+        final String assessmentKey = assessmentUsage.getAssessmentKey();
+
+        try {
+            final Optional<Assessment> maybeAssessment = assessmentService.findAssessment(clientName, assessmentKey);
+            if (!maybeAssessment.isPresent()) {
+                return;
+            }
+
+            final Assessment assessment = maybeAssessment.get();
+            counts.assessments.incrementAndGet();
+
+            for (final Segment segment : assessment.getSegments()) {
+                if (assessmentService.findSegmentItemInformation(segment.getKey()).isPresent()) {
+                    counts.segments.incrementAndGet();
+                }
+            }
+
+            assessmentService.findAssessmentAccommodationsByAssessmentKey(clientName, assessmentKey);
+            counts.accommodationLists.incrementAndGet();
+        } catch (RuntimeException e) {
+            counts.failures.incrementAndGet();
+            log.warn("Unable to warm up the cache for assessment {} of client {}", assessmentKey, clientName, e);
+        }
+    }
+
+    private static class Counts {
+        private final AtomicInteger assessments = new AtomicInteger();
+        private final AtomicInteger segments = new AtomicInteger();
+        private final AtomicInteger accommodationLists = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+    }
+}
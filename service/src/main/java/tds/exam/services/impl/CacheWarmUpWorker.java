@@ -0,0 +1,96 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import tds.exam.configuration.ExamServiceProperties;
+import tds.exam.models.CacheWarmUpResult;
+import tds.exam.services.CacheWarmUpService;
+
+/**
+ * Pre-warms the assessment caches in the background once the application is ready and holds the result so the health
+ * indicator can report the service out of service until the warm-up completes
+ */
+@Component
+public class CacheWarmUpWorker {
+    private static final Logger log = LoggerFactory.getLogger(CacheWarmUpWorker.class);
+
+    private final CacheWarmUpService cacheWarmUpService;
+    private final ExamServiceProperties examServiceProperties;
+    private ExecutorService executorService;
+    private volatile CacheWarmUpResult result;
+
+    @Autowired
+    public CacheWarmUpWorker(final CacheWarmUpService cacheWarmUpService,
+                             final ExamServiceProperties examServiceProperties) {
+        this.cacheWarmUpService = cacheWarmUpService;
+        this.examServiceProperties = examServiceProperties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (!isEnabled() || executorService != null) {
+            return;
+        }
+
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("exam-cache-warm-up-worker-");
+        threadFactory.setDaemon(true);
+        executorService = Executors.newSingleThreadExecutor(threadFactory);
+        executorService.execute(this::warmUp);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (executorService != null) {
+            executorService.shutdownNow();
+        }
+    }
+
+    void warmUp() {
+        final long start = System.currentTimeMillis();
+        try {
+            result = cacheWarmUpService.warmUp();
+        } catch (RuntimeException e) {
+            // Report the service ready anyway; the caches fill as exams are opened
+            log.error("Unable to warm up the assessment caches", e);
+            result = new CacheWarmUpResult(0, 0, 0, 1, System.currentTimeMillis() - start, false);
+        }
+    }
+
+    /**
+     * @return {@code true} if the caches are pre-warmed when the application starts
+     */
+    public boolean isEnabled() {
+        return examServiceProperties.isCacheWarmUpEnabled();
+    }
+
+    /**
+     * @return the {@link tds.exam.models.CacheWarmUpResult}, or empty while the warm-up has not completed
+     */
+    public Optional<CacheWarmUpResult> getResult() {
+        return Optional.ofNullable(result);
+    }
+}
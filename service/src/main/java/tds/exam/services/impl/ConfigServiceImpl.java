@@ -23,6 +23,7 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.net.URI;
 import java.text.MessageFormat;
 import java.util.Arrays;
 import java.util.Collection;
@@ -44,11 +45,15 @@ class ConfigServiceImpl implements ConfigService {
 
     private final RestTemplate restTemplate;
     private final ExamServiceProperties examServiceProperties;
+    private final SingleFlightLoader singleFlightLoader;
 
     @Autowired
-    public ConfigServiceImpl(final RestTemplate restTemplate, final ExamServiceProperties examServiceProperties) {
+    public ConfigServiceImpl(final RestTemplate restTemplate,
+                             final ExamServiceProperties examServiceProperties,
+                             final SingleFlightLoader singleFlightLoader) {
         this.restTemplate = restTemplate;
         this.examServiceProperties = examServiceProperties;
+        this.singleFlightLoader = singleFlightLoader;
     }
 
     @Override
@@ -62,17 +67,21 @@ class ConfigServiceImpl implements ConfigService {
                     clientName,
                     auditObject));
 
-        Optional<ClientSystemFlag> maybeClientSystemFlag = Optional.empty();
-        try {
-            final ClientSystemFlag clientSystemFlag = restTemplate.getForObject(builder.build().toUri(), ClientSystemFlag.class);
-            maybeClientSystemFlag = Optional.of(clientSystemFlag);
-        } catch (HttpClientErrorException hce) {
-            if (hce.getStatusCode() != HttpStatus.NOT_FOUND) {
-                throw hce;
+        final URI uri = builder.build().toUri();
+
+        return singleFlightLoader.load(uri, () -> {
+            Optional<ClientSystemFlag> maybeClientSystemFlag = Optional.empty();
+            try {
+                final ClientSystemFlag clientSystemFlag = restTemplate.getForObject(uri, ClientSystemFlag.class);
+                maybeClientSystemFlag = Optional.of(clientSystemFlag);
+            } catch (HttpClientErrorException hce) {
+                if (hce.getStatusCode() != HttpStatus.NOT_FOUND) {
+                    throw hce;
+                }
             }
-        }
 
-        return maybeClientSystemFlag;
+            return maybeClientSystemFlag;
+        });
     }
 
     @Override
@@ -112,9 +121,12 @@ class ConfigServiceImpl implements ConfigService {
                 .queryParam("grade", grade)
                 .queryParam("subject", subject);
 
+        // The replacements are applied after the fetch so callers formatting the same message with different
+        //  replacements share the fetch of its template
+        final URI uri = builder.build().toUri();
         String messageTemplate;
         try {
-            messageTemplate = restTemplate.getForObject(builder.build().toUri(), String.class);
+            messageTemplate = singleFlightLoader.load(uri, () -> restTemplate.getForObject(uri, String.class));
         } catch (HttpClientErrorException hce) {
             // If there is an HTTP error we can return the messageKey which is the english message version, since it is
             //  better to return a message in English than error out.  This is a suitable recovery.
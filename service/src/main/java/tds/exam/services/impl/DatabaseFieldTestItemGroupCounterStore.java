@@ -0,0 +1,201 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import tds.exam.repositories.FieldTestItemGroupCounterRepository;
+import tds.exam.services.FieldTestItemGroupCounterStore;
+
+/**
+ * A {@link tds.exam.services.FieldTestItemGroupCounterStore} whose counts are shared by every exam service instance
+ * through the field_test_item_group_counter table.
+ * <p>
+ * Assignments are counted in memory and added to the table in a single batch on a fixed interval, after which the
+ * counts of every segment seen by this instance are reloaded so the assignments made by other instances are included.
+ * The counts of a segment are loaded from the table the first time the segment is seen.
+ * </p>
+ */
+public class DatabaseFieldTestItemGroupCounterStore implements FieldTestItemGroupCounterStore, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(DatabaseFieldTestItemGroupCounterStore.class);
+
+    private final FieldTestItemGroupCounterRepository fieldTestItemGroupCounterRepository;
+    private final ScheduledExecutorService flushExecutor;
+    // The key is the segment key, the value is a map of group key to counter
+    private final ConcurrentMap<String, ConcurrentMap<String, Counter>> segmentToGroupCounters = new ConcurrentHashMap<>();
+
+    public DatabaseFieldTestItemGroupCounterStore(final FieldTestItemGroupCounterRepository fieldTestItemGroupCounterRepository,
+                                                  final long flushIntervalMillis) {
+        this.fieldTestItemGroupCounterRepository = fieldTestItemGroupCounterRepository;
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("field-test-counter-flush-");
+        threadFactory.setDaemon(true);
+        this.flushExecutor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        this.flushExecutor.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Map<String, Long> findCounts(final String segmentKey, final Collection<String> groupKeys) {
+        final ConcurrentMap<String, Counter> groupCounters = findGroupCounters(segmentKey);
+        final Map<String, Long> counts = new HashMap<>();
+
+        for (final String groupKey : groupKeys) {
+            final Counter counter = groupCounters.get(groupKey);
+            counts.put(groupKey, counter == null ? 0 : counter.getCount());
+        }
+
+        return counts;
+    }
+
+    @Override
+    public void increment(final String segmentKey, final Collection<String> groupKeys) {
+        final ConcurrentMap<String, Counter> groupCounters = findGroupCounters(segmentKey);
+
+        for (final String groupKey : groupKeys) {
+            groupCounters.computeIfAbsent(groupKey, key -> new Counter(0)).unflushed.incrementAndGet();
+        }
+    }
+
+    /**
+     * Adds the assignments counted since the last flush to the shared counters and reloads the shared counts of the
+     * segments seen by this instance
+     */
+    void flush() {
+        final Map<String, Map<String, Long>> segmentToGroupIncrements = new HashMap<>();
+        final Map<Counter, Long> counterToIncrement = new HashMap<>();
+        segmentToGroupCounters.forEach((segmentKey, groupCounters) ->
+            groupCounters.forEach((groupKey, counter) -> {
+                final long increment = counter.drain();
+                if (increment > 0) {
+                    segmentToGroupIncrements.computeIfAbsent(segmentKey, key -> new HashMap<>()).put(groupKey, increment);
+                    counterToIncrement.put(counter, increment);
+                }
+            }));
+
+        try {
+            if (!segmentToGroupIncrements.isEmpty()) {
+                fieldTestItemGroupCounterRepository.incrementCounts(segmentToGroupIncrements);
+            }
+        } catch (RuntimeException e) {
+            // Put the increments back so they are written by the next flush
+            counterToIncrement.forEach(Counter::restore);
+            throw e;
+        }
+
+        if (segmentToGroupCounters.isEmpty()) {
+            return;
+        }
+
+        final Map<String, Map<String, Long>> segmentToGroupCounts = fieldTestItemGroupCounterRepository.findCounts(segmentToGroupCounters.keySet());
+        segmentToGroupCounts.forEach((segmentKey, groupCounts) -> {
+            final ConcurrentMap<String, Counter> groupCounters = segmentToGroupCounters.get(segmentKey);
+            groupCounts.forEach((groupKey, count) ->
+                groupCounters.computeIfAbsent(groupKey, key -> new Counter(0)).shared.set(count));
+        });
+    }
+
+    /**
+     * Writes any remaining assignments and stops the periodic flush
+     */
+    @Override
+    public void close() {
+        flushExecutor.shutdown();
+        flushQuietly();
+    }
+
+    private ConcurrentMap<String, Counter> findGroupCounters(final String segmentKey) {
+        final ConcurrentMap<String, Counter> groupCounters = segmentToGroupCounters.get(segmentKey);
+        if (groupCounters != null) {
+            return groupCounters;
+        }
+
+        // Loaded outside of the map so a slow query does not block the other segments; the first load to finish wins
+        final ConcurrentMap<String, Counter> loadedCounters = loadGroupCounters(segmentKey);
+        final ConcurrentMap<String, Counter> existingCounters = segmentToGroupCounters.putIfAbsent(segmentKey, loadedCounters);
+
+        return existingCounters == null ? loadedCounters : existingCounters;
+    }
+
+    private ConcurrentMap<String, Counter> loadGroupCounters(final String segmentKey) {
+        final ConcurrentMap<String, Counter> loadedCounters = new ConcurrentHashMap<>();
+        try {
+            fieldTestItemGroupCounterRepository.findCounts(Collections.singleton(segmentKey))
+                .getOrDefault(segmentKey, new HashMap<>())
+                .forEach((groupKey, count) -> loadedCounters.put(groupKey, new Counter(count)));
+        } catch (RuntimeException e) {
+            // Start from zero rather than failing the exam; the next flush reloads the shared counts
+            log.warn("Unable to load the field test item group counters for segment {}", segmentKey, e);
+        }
+
+        return loadedCounters;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Unable to flush the field test item group counters", e);
+        }
+    }
+
+    /**
+     * The count of a group is the shared count plus the assignments of this instance that have not been written.  An
+     * assignment only touches {@code unflushed} and a flush moves it to {@code shared} with atomic adds, so no
+     * assignment is lost to a concurrent flush.
+     */
+    private static class Counter {
+        // The shared count as of the last flush, including the assignments this instance wrote by then
+        private final AtomicLong shared;
+        // The assignments made by this instance that have not been written to the shared counter
+        private final AtomicLong unflushed = new AtomicLong();
+
+        private Counter(final long shared) {
+            this.shared = new AtomicLong(shared);
+        }
+
+        private long getCount() {
+            return shared.get() + unflushed.get();
+        }
+
+        /**
+         * Moves the unwritten assignments to the shared count, returning how many were moved
+         */
+        private long drain() {
+            final long increment = unflushed.get();
+            if (increment > 0) {
+                // Counted twice rather than not at all while between the two adds
+                shared.addAndGet(increment);
+                unflushed.addAndGet(-increment);
+            }
+            return increment;
+        }
+
+        private void restore(final long increment) {
+            unflushed.addAndGet(increment);
+            shared.addAndGet(-increment);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import tds.exam.repositories.FormAssignmentSequenceRepository;
+import tds.exam.services.FormAssignmentSequence;
+
+/**
+ * A {@link tds.exam.services.FormAssignmentSequence} shared by every exam service instance through the
+ * form_assignment_sequence table
+ */
+public class DatabaseFormAssignmentSequence implements FormAssignmentSequence {
+    private final FormAssignmentSequenceRepository formAssignmentSequenceRepository;
+
+    public DatabaseFormAssignmentSequence(final FormAssignmentSequenceRepository formAssignmentSequenceRepository) {
+        this.formAssignmentSequenceRepository = formAssignmentSequenceRepository;
+    }
+
+    @Override
+    public long next(final String segmentKey, final String languageCode) {
+        return formAssignmentSequenceRepository.getAndIncrement(segmentKey, languageCode);
+    }
+}
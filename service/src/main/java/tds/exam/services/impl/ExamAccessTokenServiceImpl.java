@@ -0,0 +1,183 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import tds.exam.ExamInfo;
+import tds.exam.configuration.ExamServiceProperties;
+import tds.exam.services.ExamAccessTokenService;
+
+/**
+ * A token is the exam, session and browser ids, the time it was issued and the time it expires, signed with
+ * HMAC-SHA256.  The tokens issued for an exam before it was revoked on this instance are rejected until they expire, so
+ * a change made on another instance is only noticed once the tokens issued before it expire.
+ * <p>
+ * The number of tokens issued, accepted and rejected are published to the metrics endpoint as
+ * {@code exam.access-token.*}.
+ * </p>
+ */
+@Service
+class ExamAccessTokenServiceImpl implements ExamAccessTokenService, PublicMetrics {
+    private static final String METRIC_PREFIX = "exam.access-token";
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String FIELD_SEPARATOR = ":";
+    private static final String SIGNATURE_SEPARATOR = ".";
+
+    private final Clock clock;
+    private final long ttlMillis;
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+    private final Cache<UUID, Long> revocations;
+    private final AtomicLong issued = new AtomicLong();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    @Autowired
+    public ExamAccessTokenServiceImpl(final ExamServiceProperties examServiceProperties) {
+        this(examServiceProperties, Clock.systemUTC());
+    }
+
+    ExamAccessTokenServiceImpl(final ExamServiceProperties examServiceProperties, final Clock clock) {
+        this.clock = clock;
+        this.ttlMillis = examServiceProperties.getAccessTokenTtlMillis();
+        this.key = examServiceProperties.getAccessTokenSecret().isEmpty()
+            ? null
+            : new SecretKeySpec(examServiceProperties.getAccessTokenSecret().getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+        this.revocations = CacheBuilder.newBuilder()
+            .expireAfterWrite(Math.max(1, ttlMillis), TimeUnit.MILLISECONDS)
+            .build();
+    }
+
+    @Override
+    public Optional<String> issueToken(final ExamInfo examInfo) {
+        if (key == null) {
+            return Optional.empty();
+        }
+
+        final long issuedAt = clock.millis();
+        final String payload = String.join(FIELD_SEPARATOR,
+            examInfo.getExamId().toString(),
+            examInfo.getSessionId().toString(),
+            examInfo.getBrowserId().toString(),
+            Long.toString(issuedAt),
+            Long.toString(issuedAt + ttlMillis));
+        final byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+
+        issued.incrementAndGet();
+        return Optional.of(encode(payloadBytes) + SIGNATURE_SEPARATOR + encode(sign(payloadBytes)));
+    }
+
+    @Override
+    public boolean isValid(final String token, final ExamInfo examInfo) {
+        if (key == null) {
+            return false;
+        }
+
+        final boolean valid = verify(token, examInfo);
+        (valid ? accepted : rejected).incrementAndGet();
+
+        return valid;
+    }
+
+    @Override
+    public void revokeTokens(final UUID examId) {
+        if (key != null) {
+            revocations.put(examId, clock.millis());
+        }
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        final List<Metric<?>> metrics = new ArrayList<>();
+        metrics.add(new Metric<>(METRIC_PREFIX + ".issued", issued.get()));
+        metrics.add(new Metric<>(METRIC_PREFIX + ".accepted", accepted.get()));
+        metrics.add(new Metric<>(METRIC_PREFIX + ".rejected", rejected.get()));
+        metrics.add(new Metric<>(METRIC_PREFIX + ".revoked-exams", revocations.size()));
+        return metrics;
+    }
+
+    private boolean verify(final String token, final ExamInfo examInfo) {
+        final int separator = token.indexOf(SIGNATURE_SEPARATOR);
+        if (separator < 0) {
+            return false;
+        }
+
+        final byte[] payloadBytes;
+        final byte[] signature;
+        try {
+            payloadBytes = Base64.getUrlDecoder().decode(token.substring(0, separator));
+            signature = Base64.getUrlDecoder().decode(token.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+
+        if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+            return false;
+        }
+
+        final String[] fields = new String(payloadBytes, StandardCharsets.UTF_8).split(FIELD_SEPARATOR);
+        if (fields.length != 5
+            || !fields[0].equals(examInfo.getExamId().toString())
+            || !fields[1].equals(examInfo.getSessionId().toString())
+            || !fields[2].equals(examInfo.getBrowserId().toString())) {
+            return false;
+        }
+
+        final long issuedAt = Long.parseLong(fields[3]);
+        final long expiresAt = Long.parseLong(fields[4]);
+        final Long revokedAt = revocations.getIfPresent(examInfo.getExamId());
+
+        return clock.millis() < expiresAt && (revokedAt == null || issuedAt > revokedAt);
+    }
+
+    private byte[] sign(final byte[] payload) {
+        return macs.get().doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            final Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not initialize the exam access token signature", e);
+        }
+    }
+
+    private static String encode(final byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,99 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import tds.exam.models.ExamCurrentProjectionReport;
+import tds.exam.repositories.ExamCurrentProjectionRepository;
+import tds.exam.services.ExamCurrentProjectionService;
+
+@Service
+class ExamCurrentProjectionServiceImpl implements ExamCurrentProjectionService {
+    private static final Logger log = LoggerFactory.getLogger(ExamCurrentProjectionServiceImpl.class);
+
+    /**
+     * The max number of out of date exam ids returned in the report
+     */
+    static final int MAX_REPORTED_EXAM_IDS = 100;
+
+    private final ExamCurrentProjectionRepository examCurrentProjectionRepository;
+
+    @Autowired
+    ExamCurrentProjectionServiceImpl(final ExamCurrentProjectionRepository examCurrentProjectionRepository) {
+        this.examCurrentProjectionRepository = examCurrentProjectionRepository;
+    }
+
+    @Override
+    public ExamCurrentProjectionReport verify(final int batchSize) {
+        return process(false, true, batchSize);
+    }
+
+    @Override
+    public ExamCurrentProjectionReport rebuild(final boolean onlyOutOfDate, final int batchSize) {
+        return process(true, onlyOutOfDate, batchSize);
+    }
+
+    private ExamCurrentProjectionReport process(final boolean rebuild, final boolean checkOutOfDate, final int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be greater than zero");
+        }
+
+        final List<UUID> reportedExamIds = new ArrayList<>();
+        int examsChecked = 0;
+        int examsOutOfDate = 0;
+        int examsRebuilt = 0;
+
+        // Walk the exams in id order a batch at a time so a full pass does not hold a long running statement
+        List<UUID> examIds = examCurrentProjectionRepository.findExamIds(null, batchSize);
+        while (!examIds.isEmpty()) {
+            examsChecked += examIds.size();
+
+            List<UUID> examIdsToRebuild = examIds;
+            if (checkOutOfDate) {
+                examIdsToRebuild = examCurrentProjectionRepository.findOutOfDateExamIds(examIds);
+                examsOutOfDate += examIdsToRebuild.size();
+
+                for (UUID examId : examIdsToRebuild) {
+                    if (reportedExamIds.size() >= MAX_REPORTED_EXAM_IDS) {
+                        break;
+                    }
+                    reportedExamIds.add(examId);
+                }
+            }
+
+            if (rebuild && !examIdsToRebuild.isEmpty()) {
+                examCurrentProjectionRepository.rebuild(examIdsToRebuild);
+                examsRebuilt += examIdsToRebuild.size();
+            }
+
+            if (examIds.size() < batchSize) {
+                break;
+            }
+
+            examIds = examCurrentProjectionRepository.findExamIds(examIds.get(examIds.size() - 1), batchSize);
+        }
+
+        log.info("Checked the exam_current projection for {} exams: {} out of date, {} rebuilt", examsChecked, examsOutOfDate, examsRebuilt);
+
+        return new ExamCurrentProjectionReport(examsChecked, examsOutOfDate, examsRebuilt, reportedExamIds);
+    }
+}
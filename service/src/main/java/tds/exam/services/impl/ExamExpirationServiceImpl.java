@@ -1,10 +1,16 @@
 package tds.exam.services.impl;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import org.joda.time.Days;
 import org.joda.time.Instant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PreDestroy;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -12,8 +18,12 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
-import java.util.function.Function;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import tds.common.EntityUpdate;
@@ -23,6 +33,8 @@ import tds.exam.ExamStatusCode;
 import tds.exam.ExpiredExamInformation;
 import tds.exam.ExpiredExamResponse;
 import tds.exam.configuration.ExamServiceProperties;
+import tds.exam.models.ExamExpirationCheckpoint;
+import tds.exam.repositories.ExamExpirationCheckpointRepository;
 import tds.exam.repositories.ExamQueryRepository;
 import tds.exam.services.ConfigService;
 import tds.exam.services.ExamExpirationService;
@@ -31,6 +43,8 @@ import tds.exam.services.TimeLimitConfigurationService;
 
 @Service
 public class ExamExpirationServiceImpl implements ExamExpirationService {
+    private static final Logger log = LoggerFactory.getLogger(ExamExpirationServiceImpl.class);
+
     /**
      * This was pulled from the original expiration logic within DmDll
      */
@@ -41,29 +55,39 @@ public class ExamExpirationServiceImpl implements ExamExpirationService {
     private final TimeLimitConfigurationService timeLimitConfigurationService;
     private final ExamServiceProperties examServiceProperties;
     private final ConfigService configService;
+    private final ExamExpirationCheckpointRepository examExpirationCheckpointRepository;
+    private final ExecutorService expirationExecutor;
+    // Identifies this instance when leasing a client's expiration pass
+    private final String leaseOwner = UUID.randomUUID().toString();
 
     @Autowired
     ExamExpirationServiceImpl(final ExamService examService,
                               final ExamQueryRepository examQueryRepository,
                               final TimeLimitConfigurationService timeLimitConfigurationService,
                               final ExamServiceProperties examServiceProperties,
-                              final ConfigService configService) {
+                              final ConfigService configService,
+                              final ExamExpirationCheckpointRepository examExpirationCheckpointRepository) {
         this.examService = examService;
         this.examQueryRepository = examQueryRepository;
         this.timeLimitConfigurationService = timeLimitConfigurationService;
         this.examServiceProperties = examServiceProperties;
         this.configService = configService;
+        this.examExpirationCheckpointRepository = examExpirationCheckpointRepository;
+
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("exam-expiration-");
+        threadFactory.setDaemon(true);
+        this.expirationExecutor = Executors.newFixedThreadPool(examServiceProperties.getExpirationThreadCount(), threadFactory);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        expirationExecutor.shutdownNow();
     }
 
     @Override
     public ExpiredExamResponse expireExams(final String clientName) {
         boolean moreExamsToExpire = false;
-        final Collection<EntityUpdate<Exam>> modifiedExams = new ArrayList<>();
-
-        //Retrieve the time limits so we know how many days need to pass before expiration.  The system will be mis-configured
-        //if this is missing hence why it throws
-        TimeLimitConfiguration clientTimeLimitConfiguration = timeLimitConfigurationService.findTimeLimitConfiguration(clientName)
-            .orElseThrow(() -> new IllegalStateException("Could not find time limit configuration for client " + clientName));
+        final ExpirationRules expirationRules = new ExpirationRules(clientName);
 
         //Find the exams to to expire
         List<Exam> examsToExpire = examQueryRepository.findExamsToExpire(STATUSES_TO_IGNORE_FOR_EXPIRATION, (examServiceProperties.getExpireExamLimit() + 1));
@@ -81,31 +105,91 @@ public class ExamExpirationServiceImpl implements ExamExpirationService {
             examsToExpire = new ArrayList<>(examsToExpire.subList(0, examServiceProperties.getExpireExamLimit()));
         }
 
-        //Get all assessment ids that have force complete enabled.
-        Collection<String> forceCompleteAssessmentIds = configService.findForceCompleteAssessmentIds(clientName);
+        final Collection<EntityUpdate<Exam>> modifiedExams = expire(examsToExpire, expirationRules);
+
+        //Collect all the modified exams and send the list of data as a response
+        Collection<ExpiredExamInformation> expiredExamInformations = modifiedExams.stream().map((EntityUpdate<Exam> entityUpdate) -> new ExpiredExamInformation(
+            entityUpdate.getUpdatedEntity().getStudentId(),
+            entityUpdate.getUpdatedEntity().getAssessmentKey(),
+            entityUpdate.getUpdatedEntity().getAssessmentId(),
+            entityUpdate.getUpdatedEntity().getId(),
+            entityUpdate.getUpdatedEntity().getStatus().getCode())).collect(Collectors.toSet());
+
+        return new ExpiredExamResponse(moreExamsToExpire, expiredExamInformations);
+    }
+
+    @Override
+    public int expireAllExams(final String clientName) {
+        final long leaseMillis = examServiceProperties.getExpirationLeaseMillis();
+        if (!examExpirationCheckpointRepository.tryAcquireLease(clientName, leaseOwner, leaseMillis)) {
+            log.debug("Another instance is expiring the exams for client {}", clientName);
+            return 0;
+        }
+
+        boolean passComplete = false;
+        int modifiedExamCount = 0;
+
+        try {
+            final ExpirationRules expirationRules = new ExpirationRules(clientName);
+            final Instant expiresBefore = Instant.now();
+            final int chunkSize = examServiceProperties.getExpireExamLimit();
+            final int parallelChunks = examServiceProperties.getExpirationThreadCount();
+            ExamExpirationCheckpoint checkpoint = examExpirationCheckpointRepository.findCheckpoint(clientName).orElse(null);
+
+            boolean lastChunkRead = false;
+            while (!lastChunkRead) {
+                //Read the next set of chunks.  Each read starts after the last exam of the previous chunk, so expiring
+                //the earlier chunks does not shift the later ones.
+                final List<List<Exam>> chunks = new ArrayList<>();
+                while (chunks.size() < parallelChunks) {
+                    final List<Exam> chunk = examQueryRepository.findExamsToExpire(clientName, STATUSES_TO_IGNORE_FOR_EXPIRATION,
+                        expiresBefore, checkpoint, chunkSize);
+                    if (!chunk.isEmpty()) {
+                        chunks.add(chunk);
+                        final Exam lastExam = chunk.get(chunk.size() - 1);
+                        checkpoint = new ExamExpirationCheckpoint(lastExam.getExpiresAt(), lastExam.getId());
+                    }
 
-        //Get all the assessment ids for the exams so we can fetch the timelimit configurations for them
-        Set<String> expiringExamsAssessmentIds = examsToExpire.stream()
-            .map(Exam::getAssessmentId)
-            .collect(Collectors.toSet());
+                    if (chunk.size() < chunkSize) {
+                        lastChunkRead = true;
+                        break;
+                    }
+                }
 
-        //Take the assessment ids from assessmentsByKey and get the timelimit configurations.  The filter with null check is
-        //to remove the overall client time limits since the configuration service returns it regardless.
-        final Map<String, TimeLimitConfiguration> assessmentIdToTimeLimits = expiringExamsAssessmentIds.stream()
-            .map(assessmentId -> timeLimitConfigurationService.findTimeLimitConfiguration(clientName, assessmentId))
-            .filter(Optional::isPresent)
-            .map(Optional::get)
-            .filter(timeLimitConfiguration -> timeLimitConfiguration.getAssessmentId() != null)
-            .collect(Collectors.toMap(TimeLimitConfiguration::getAssessmentId, Function.identity()));
+                final List<Future<Integer>> results = chunks.stream()
+                    .map(chunk -> expirationExecutor.submit(() -> expire(chunk, expirationRules).size()))
+                    .collect(Collectors.toList());
+                for (final Future<Integer> result : results) {
+                    modifiedExamCount += getResult(result);
+                }
+
+                //Every chunk up to the checkpoint has been processed
+                if (checkpoint != null
+                    && !examExpirationCheckpointRepository.saveCheckpoint(clientName, leaseOwner, checkpoint, leaseMillis)) {
+                    log.warn("Lost the lease on expiring the exams for client {}", clientName);
+                    return modifiedExamCount;
+                }
+            }
+
+            passComplete = true;
+        } finally {
+            examExpirationCheckpointRepository.releaseLease(clientName, leaseOwner, passComplete);
+        }
+
+        return modifiedExamCount;
+    }
+
+    private Collection<EntityUpdate<Exam>> expire(final List<Exam> examsToExpire, final ExpirationRules expirationRules) {
+        final Collection<EntityUpdate<Exam>> modifiedExams = new ArrayList<>();
 
         /*
         1. Filter out any exam that is not ready to be expired based on the time limit configuration for that exam (or the default system wide configuration)
         2. Create two lists: one list contains those exams which assessment is configured for force complete and the other is not.  The ones that aren't force complete will be expired.
          */
         Map<Boolean, List<Exam>> submitAndExpireExams = examsToExpire.stream().filter(exam -> {
-            TimeLimitConfiguration timeLimitConfiguration = assessmentIdToTimeLimits.getOrDefault(exam.getAssessmentId(), clientTimeLimitConfiguration);
+            TimeLimitConfiguration timeLimitConfiguration = expirationRules.findTimeLimitConfiguration(exam.getAssessmentId());
             return Days.daysBetween(exam.getExpiresAt(), Instant.now()).getDays() >= timeLimitConfiguration.getExamExpireDays();
-        }).collect(Collectors.partitioningBy(exam -> forceCompleteAssessmentIds.contains(exam.getAssessmentId())));
+        }).collect(Collectors.partitioningBy(exam -> expirationRules.forceCompleteAssessmentIds.get().contains(exam.getAssessmentId())));
 
         List<Exam> examsToSubmit = submitAndExpireExams.get(true);
         List<Exam> expiringExams = submitAndExpireExams.get(false);
@@ -149,14 +233,53 @@ public class ExamExpirationServiceImpl implements ExamExpirationService {
             modifiedExams.addAll(expiredExams);
         }
 
-        //Collect all the modified exams and send the list of data as a response
-        Collection<ExpiredExamInformation> expiredExamInformations = modifiedExams.stream().map((EntityUpdate<Exam> entityUpdate) -> new ExpiredExamInformation(
-            entityUpdate.getUpdatedEntity().getStudentId(),
-            entityUpdate.getUpdatedEntity().getAssessmentKey(),
-            entityUpdate.getUpdatedEntity().getAssessmentId(),
-            entityUpdate.getUpdatedEntity().getId(),
-            entityUpdate.getUpdatedEntity().getStatus().getCode())).collect(Collectors.toSet());
+        return modifiedExams;
+    }
 
-        return new ExpiredExamResponse(moreExamsToExpire, expiredExamInformations);
+    private static int getResult(final Future<Integer> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while expiring exams", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new IllegalStateException("Failed to expire exams", e.getCause());
+        }
+    }
+
+    /**
+     * The configuration used to decide whether a client's exams are ready to expire.  The time limit configurations
+     * are resolved once per assessment rather than once per chunk of exams.
+     */
+    private class ExpirationRules {
+        private final String clientName;
+        private final TimeLimitConfiguration clientTimeLimitConfiguration;
+        private final Supplier<Collection<String>> forceCompleteAssessmentIds;
+        private final Map<String, Optional<TimeLimitConfiguration>> assessmentIdToTimeLimits = new ConcurrentHashMap<>();
+
+        private ExpirationRules(final String clientName) {
+            this.clientName = clientName;
+
+            //Retrieve the time limits so we know how many days need to pass before expiration.  The system will be mis-configured
+            //if this is missing hence why it throws
+            this.clientTimeLimitConfiguration = timeLimitConfigurationService.findTimeLimitConfiguration(clientName)
+                .orElseThrow(() -> new IllegalStateException("Could not find time limit configuration for client " + clientName));
+
+            //Get all assessment ids that have force complete enabled once there are exams to expire
+            this.forceCompleteAssessmentIds = Suppliers.memoize(() -> configService.findForceCompleteAssessmentIds(clientName));
+        }
+
+        private TimeLimitConfiguration findTimeLimitConfiguration(final String assessmentId) {
+            //The filter with null check is to remove the overall client time limits since the configuration service
+            //returns it regardless.
+            return assessmentIdToTimeLimits.computeIfAbsent(assessmentId, id ->
+                timeLimitConfigurationService.findTimeLimitConfiguration(clientName, id)
+                    .filter(timeLimitConfiguration -> timeLimitConfiguration.getAssessmentId() != null))
+                .orElse(clientTimeLimitConfiguration);
+        }
     }
 }
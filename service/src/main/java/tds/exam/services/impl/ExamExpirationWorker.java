@@ -0,0 +1,84 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import tds.exam.configuration.ExamServiceProperties;
+import tds.exam.services.ExamExpirationService;
+
+/**
+ * Periodically expires the exams of the configured clients so expiration does not depend on an external caller
+ * repeatedly invoking the expire endpoint
+ */
+@Component
+public class ExamExpirationWorker {
+    private static final Logger log = LoggerFactory.getLogger(ExamExpirationWorker.class);
+
+    private final ExamExpirationService examExpirationService;
+    private final ExamServiceProperties examServiceProperties;
+    private ScheduledExecutorService scheduler;
+
+    @Autowired
+    public ExamExpirationWorker(final ExamExpirationService examExpirationService,
+                                final ExamServiceProperties examServiceProperties) {
+        this.examExpirationService = examExpirationService;
+        this.examServiceProperties = examServiceProperties;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!examServiceProperties.isExpirationWorkerEnabled() || examServiceProperties.getExpirationClientNames().isEmpty()) {
+            return;
+        }
+
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("exam-expiration-worker-");
+        threadFactory.setDaemon(true);
+        scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        scheduler.scheduleWithFixedDelay(this::expireExams, examServiceProperties.getExpirationIntervalMillis(),
+            examServiceProperties.getExpirationIntervalMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    void expireExams() {
+        for (final String clientName : examServiceProperties.getExpirationClientNames()) {
+            try {
+                final long start = System.currentTimeMillis();
+                final int expiredExamCount = examExpirationService.expireAllExams(clientName);
+                if (expiredExamCount > 0) {
+                    log.info("Expired {} exams for client {} in {} ms", expiredExamCount, clientName, System.currentTimeMillis() - start);
+                }
+            } catch (RuntimeException e) {
+                // Keep the schedule running; the pass resumes from its last checkpoint
+                log.error("Unable to expire the exams for client {}", clientName, e);
+            }
+        }
+    }
+}
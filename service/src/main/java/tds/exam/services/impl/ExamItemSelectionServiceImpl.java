@@ -40,6 +40,7 @@ import tds.exam.services.AssessmentService;
 import tds.exam.services.ExamItemSelectionService;
 import tds.exam.services.ExamSegmentService;
 import tds.exam.services.ExamService;
+import tds.exam.services.item.selection.ItemSelectionContexts;
 import tds.itemselection.base.ItemGroup;
 import tds.itemselection.base.TestItem;
 import tds.itemselection.model.ItemResponse;
@@ -58,6 +59,7 @@ public class ExamItemSelectionServiceImpl implements ExamItemSelectionService {
     private final ExamService examService;
     private final ExamSegmentService examSegmentService;
     private final AssessmentService assessmentService;
+    private final ItemSelectionContexts itemSelectionContexts;
 
     @Autowired
     public ExamItemSelectionServiceImpl(final ItemSelectionService itemSelectionService,
@@ -65,13 +67,15 @@ public class ExamItemSelectionServiceImpl implements ExamItemSelectionService {
                                         final ExamItemCommandRepository examItemCommandRepository,
                                         final ExamService examService,
                                         final AssessmentService assessmentService,
-                                        final ExamSegmentService examSegmentService) {
+                                        final ExamSegmentService examSegmentService,
+                                        final ItemSelectionContexts itemSelectionContexts) {
         this.itemSelectionService = itemSelectionService;
         this.examPageCommandRepository = examPageCommandRepository;
         this.examItemCommandRepository = examItemCommandRepository;
         this.examService = examService;
         this.assessmentService = assessmentService;
         this.examSegmentService = examSegmentService;
+        this.itemSelectionContexts = itemSelectionContexts;
     }
 
     @Transactional
@@ -81,7 +85,15 @@ public class ExamItemSelectionServiceImpl implements ExamItemSelectionService {
         Assessment assessment = assessmentService.findAssessment(exam.getClientName(), exam.getAssessmentKey())
             .orElseThrow(() -> new IllegalArgumentException(String.format("Could not find assessment for %s and %s", exam.getClientName(), exam.getAssessmentKey())));
 
-        ItemResponse<ItemGroup> response = itemSelectionService.getNextItemGroup(exam.getId(), assessment.isMultiStageBraille());
+        // The item selector calls back into the ItemCandidatesService several times, so the exam data those
+        // callbacks read is loaded once for the whole selection
+        final ItemResponse<ItemGroup> response;
+        itemSelectionContexts.begin();
+        try {
+            response = itemSelectionService.getNextItemGroup(exam.getId(), assessment.isMultiStageBraille());
+        } finally {
+            itemSelectionContexts.end();
+        }
 
         if (response.getResponseStatus() == SATISFIED) {
             return Collections.emptyList();
@@ -0,0 +1,65 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+import tds.exam.models.ExamLastActivityBackfillReport;
+import tds.exam.repositories.ExamLastActivityRepository;
+import tds.exam.services.ExamLastActivityService;
+
+@Service
+class ExamLastActivityServiceImpl implements ExamLastActivityService {
+    private static final Logger log = LoggerFactory.getLogger(ExamLastActivityServiceImpl.class);
+
+    private final ExamLastActivityRepository examLastActivityRepository;
+
+    @Autowired
+    ExamLastActivityServiceImpl(final ExamLastActivityRepository examLastActivityRepository) {
+        this.examLastActivityRepository = examLastActivityRepository;
+    }
+
+    @Override
+    public ExamLastActivityBackfillReport backfill(final int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be greater than zero");
+        }
+
+        int examsBackfilled = 0;
+
+        // Each batch is its own statement so the backfill can run alongside exams being taken, and can be run again
+        // safely since a row is only ever moved forward
+        List<UUID> examIds = examLastActivityRepository.findInProgressExamIds(null, batchSize);
+        while (!examIds.isEmpty()) {
+            examLastActivityRepository.backfill(examIds);
+            examsBackfilled += examIds.size();
+
+            if (examIds.size() < batchSize) {
+                break;
+            }
+
+            examIds = examLastActivityRepository.findInProgressExamIds(examIds.get(examIds.size() - 1), batchSize);
+        }
+
+        log.info("Backfilled the last student activity of {} in progress exams", examsBackfilled);
+
+        return new ExamLastActivityBackfillReport(examsBackfilled);
+    }
+}
@@ -16,8 +16,11 @@ package tds.exam.services.impl;
 import org.apache.commons.lang3.StringUtils;
 import org.joda.time.Minutes;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Duration;
 import java.time.Instant;
@@ -33,9 +36,13 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import tds.accommodation.Accommodation;
 import tds.assessment.Assessment;
 import tds.assessment.AssessmentInfo;
 import tds.assessment.AssessmentWindow;
@@ -66,6 +73,9 @@ import tds.exam.repositories.ExamCommandRepository;
 import tds.exam.repositories.ExamQueryRepository;
 import tds.exam.repositories.ExamStatusQueryRepository;
 import tds.exam.services.AssessmentService;
+import tds.exam.services.AsyncAssessmentService;
+import tds.exam.services.AsyncSessionService;
+import tds.exam.services.AsyncStudentService;
 import tds.exam.services.ConfigService;
 import tds.exam.services.ExamAccommodationService;
 import tds.exam.services.ExamApprovalService;
@@ -119,6 +129,11 @@ class ExamServiceImpl implements ExamService {
     private final ExamAccommodationService examAccommodationService;
     private final ExamApprovalService examApprovalService;
     private final ExamineeService examineeService;
+    private final AsyncSessionService asyncSessionService;
+    private final AsyncStudentService asyncStudentService;
+    private final AsyncAssessmentService asyncAssessmentService;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService remoteLookupExecutor;
 
     // From CommondDLL._IsValidStatusTransition_FN(): a collection of all the statuses that can transition to
     // "paused".  That is, each of these status values has a nested switch statement that contains the "paused"
@@ -150,7 +165,12 @@ class ExamServiceImpl implements ExamService {
                            ExamApprovalService examApprovalService,
                            ExamineeService examineeService,
                            Collection<ChangeListener<Exam>> examStatusChangeListeners,
-                           Collection<ExamStatusChangeValidator> statusChangeValidators) {
+                           Collection<ExamStatusChangeValidator> statusChangeValidators,
+                           AsyncSessionService asyncSessionService,
+                           AsyncStudentService asyncStudentService,
+                           AsyncAssessmentService asyncAssessmentService,
+                           PlatformTransactionManager transactionManager,
+                           @Qualifier("remoteLookupExecutor") ExecutorService remoteLookupExecutor) {
         this.examQueryRepository = examQueryRepository;
         this.sessionService = sessionService;
         this.studentService = studentService;
@@ -167,6 +187,11 @@ class ExamServiceImpl implements ExamService {
         this.examineeService = examineeService;
         this.examStatusChangeListeners = examStatusChangeListeners;
         this.statusChangeValidators = statusChangeValidators;
+        this.asyncSessionService = asyncSessionService;
+        this.asyncStudentService = asyncStudentService;
+        this.asyncAssessmentService = asyncAssessmentService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.remoteLookupExecutor = remoteLookupExecutor;
     }
 
     @Override
@@ -174,7 +199,11 @@ class ExamServiceImpl implements ExamService {
         return examQueryRepository.getExamById(id);
     }
 
-    @Transactional
+    /*
+     * The remote lookups are made before a transaction begins so a command connection is only held while the exam is
+     * written.  Lookups that do not depend on each other run concurrently, but their results are checked in the order
+     * the legacy code checked them.
+     */
     @Override
     public Response<Exam> openExam(final OpenExamRequest openExamRequest) {
         //Different parts of the session are queried throughout the legacy code.  Instead we fetch the entire session object in one call and pass
@@ -185,10 +214,21 @@ class ExamServiceImpl implements ExamService {
         }
 
         Session currentSession = maybeSession.get();
+        final String clientName = currentSession.getClientName();
+
+        CompletableFuture<Optional<ExternalSessionConfiguration>> externalSessionConfigurationLookup =
+            asyncSessionService.findExternalSessionConfigurationByClientName(clientName);
+        CompletableFuture<Optional<Student>> studentLookup = openExamRequest.isGuestStudent()
+            ? CompletableFuture.completedFuture(Optional.empty())
+            : asyncStudentService.getStudentById(clientName, openExamRequest.getStudentId());
+        CompletableFuture<Optional<Assessment>> assessmentLookup =
+            asyncAssessmentService.findAssessment(clientName, openExamRequest.getAssessmentKey());
+        CompletableFuture<Optional<TimeLimitConfiguration>> timeLimitConfigurationLookup =
+            lookup(() -> timeLimitConfigurationService.findTimeLimitConfiguration(clientName, openExamRequest.getAssessmentKey()));
 
         //Line 5602 in StudentDLL.  This has been moved to earlier in the flow than the original because it is used throughout.  The original
         //fetches the external configuration multiple times in the different layers.
-        Optional<ExternalSessionConfiguration> maybeExternalSessionConfiguration = sessionService.findExternalSessionConfigurationByClientName(currentSession.getClientName());
+        Optional<ExternalSessionConfiguration> maybeExternalSessionConfiguration = join(externalSessionConfigurationLookup);
         if (!maybeExternalSessionConfiguration.isPresent()) {
             throw new IllegalStateException(String.format("External Session Configuration could not be found for client name %s", currentSession.getClientName()));
         }
@@ -203,7 +243,7 @@ class ExamServiceImpl implements ExamService {
 
         Student student = null;
         if (!openExamRequest.isGuestStudent()) {
-            student = studentService.getStudentById(currentSession.getClientName(), openExamRequest.getStudentId()).orElseThrow((Supplier<RuntimeException>) ()
+            student = join(studentLookup).orElseThrow((Supplier<RuntimeException>) ()
                 -> new IllegalArgumentException(String.format("Could not find student for id %s", openExamRequest.getStudentId()))
             );
         } else {
@@ -213,8 +253,7 @@ class ExamServiceImpl implements ExamService {
             }
         }
 
-        Optional<Assessment> maybeAssessment = assessmentService.findAssessment(currentSession.getClientName(),
-            openExamRequest.getAssessmentKey());
+        Optional<Assessment> maybeAssessment = join(assessmentLookup);
         if (!maybeAssessment.isPresent()) {
             throw new IllegalArgumentException(String.format("Assessment information could not be found for assessment key %s", openExamRequest.getAssessmentKey()));
         }
@@ -236,7 +275,7 @@ class ExamServiceImpl implements ExamService {
 
         Exam previousExam = maybePreviousExam.orElse(null);
         Optional<ValidationError> maybeOpenNewExamValidationError = canCreateNewExam(currentSession.getClientName(),
-            openExamRequest, previousExam, assessment.getMaxOpportunities());
+            openExamRequest, previousExam, assessment.getMaxOpportunities(), join(timeLimitConfigurationLookup));
         if (maybeOpenNewExamValidationError.isPresent()) {
             return new Response<>(maybeOpenNewExamValidationError.get());
         }
@@ -287,6 +326,9 @@ class ExamServiceImpl implements ExamService {
     @Transactional
     @Override
     public void pauseAllExamsInSession(final UUID sessionId) {
+        // The session service calls this when a session is paused or closed, so the cached session is out of date
+        sessionService.evictSession(sessionId);
+
         List<Exam> examsInSession = examQueryRepository.findAllExamsInSessionWithStatus(sessionId,
             statusesThatCanTransitionToPaused);
 
@@ -415,10 +457,12 @@ class ExamServiceImpl implements ExamService {
         return examAssessmentMetadatas;
     }
 
-    @Transactional
+    /*
+     * As with opening an exam, the remote lookups are made before a transaction begins so a command connection is only
+     * held while the exam is written.
+     */
     @Override
     public Response<ExamConfiguration> startExam(final UUID examId, final String browserUserAgent) {
-        ExamConfiguration examConfig;
         Optional<Exam> maybeExam = examQueryRepository.getExamById(examId);
         if (!maybeExam.isPresent()) {
             return new Response<>(new ValidationError(
@@ -434,8 +478,16 @@ class ExamServiceImpl implements ExamService {
             ));
         }
 
+        CompletableFuture<Optional<Session>> sessionLookup = asyncSessionService.findSessionById(exam.getSessionId());
+        CompletableFuture<Optional<Assessment>> assessmentLookup =
+            asyncAssessmentService.findAssessment(exam.getClientName(), exam.getAssessmentKey());
+        CompletableFuture<Optional<TimeLimitConfiguration>> timeLimitConfigurationLookup = assessmentLookup.thenApplyAsync(maybeAssessment ->
+            maybeAssessment.flatMap(assessment ->
+                timeLimitConfigurationService.findTimeLimitConfiguration(exam.getClientName(), assessment.getAssessmentId())),
+            remoteLookupExecutor);
+
         /* TestOpportunityServiceImpl [131] */
-        Optional<Session> maybeSession = sessionService.findSessionById(exam.getSessionId());
+        Optional<Session> maybeSession = join(sessionLookup);
         if (!maybeSession.isPresent()) {
             return new Response<>(new ValidationError(
                 ExamStatusCode.STATUS_FAILED, String.format("No session found for session id %s", exam.getSessionId())));
@@ -449,7 +501,7 @@ class ExamServiceImpl implements ExamService {
             return new Response<>(maybeAccessViolation.get());
         }
         /* TestOpportunityServiceImpl [147] */
-        Optional<Assessment> maybeAssessment = assessmentService.findAssessment(exam.getClientName(), exam.getAssessmentKey());
+        Optional<Assessment> maybeAssessment = join(assessmentLookup);
         if (!maybeAssessment.isPresent()) {
             return new Response<>(new ValidationError(
                 ExamStatusCode.STATUS_FAILED, String.format("No assessment found for assessment key '%s'.", exam.getAssessmentKey())
@@ -458,7 +510,7 @@ class ExamServiceImpl implements ExamService {
         Assessment assessment = maybeAssessment.get();
 
         TimeLimitConfiguration timeLimitConfiguration =
-            timeLimitConfigurationService.findTimeLimitConfiguration(exam.getClientName(), assessment.getAssessmentId())
+            join(timeLimitConfigurationLookup)
                 .orElseThrow(() ->
                     new IllegalStateException(String.format("No time limit configurations found for clientName '%s' and assessment id '%s'.",
                         exam.getClientName(), assessment.getAssessmentId())));
@@ -471,50 +523,54 @@ class ExamServiceImpl implements ExamService {
             // Start a new exam
             // Initialize the segments in the exam and get the testlength and trim the quotes off the user agent string
             String unquotedUserAgent = browserUserAgent.replaceAll("^\"|\"$", "");
-            Exam initializedExam = initializeExam(exam, assessment, unquotedUserAgent);
+            Exam initializedExam = transactionTemplate.execute(transactionStatus -> initializeExam(exam, assessment, unquotedUserAgent));
             /* StudentDLL [5367] and TestOppServiceImpl [167] */
-            examConfig = initializeDefaultExamConfiguration(initializedExam, assessment, timeLimitConfiguration);
-        } else { // Restart or resume the most recent exam
-            int resumptions = exam.getResumptions();
-            int restartsAndResumptions = exam.getRestartsAndResumptions() + 1; // Increment the restartAndResumption count
-            org.joda.time.Instant now = org.joda.time.Instant.now();
-            Optional<org.joda.time.Instant> maybeLastActivity = examQueryRepository.findLastStudentActivity(examId);
-
-            /* [178] In the legacy app, if lastActivity = null, then DbComparator.lessThan(null, <not-null>) = false */
-            boolean isGracePeriodResume = maybeLastActivity.isPresent()
-                && Minutes.minutesBetween(maybeLastActivity.get(), now).getMinutes() < timeLimitConfiguration.getExamRestartWindowMinutes();
-            
-            /* [186 - 191] Move the resume/grace period restart increment and the exam update down in the flow of this code */
-            /* Skip TestOpportunityAudit code [193] */
-            int startPosition = findExamStartPosition(examSegmentWrappers);
-            /* TestOpportunityServiceImpl [204] / StudentDLL [5424]
-             * Session type is always 0 (online) in TDS, so skip first conditional on [204]*/
-            if (isGracePeriodResume) { // Resume exam
-                /* This increment is done in TestOpportunityServiceImpl [179] */
-                resumptions++;
-            } else if (assessment.shouldDeleteUnansweredItems()) { // Restart exam
+            return new Response<>(initializeDefaultExamConfiguration(initializedExam, assessment, timeLimitConfiguration));
+        }
+
+        // Restart or resume the most recent exam
+        int resumptions = exam.getResumptions();
+        int restartsAndResumptions = exam.getRestartsAndResumptions() + 1; // Increment the restartAndResumption count
+        org.joda.time.Instant now = org.joda.time.Instant.now();
+        Optional<org.joda.time.Instant> maybeLastActivity = examQueryRepository.findLastStudentActivity(examId);
+
+        /* [178] In the legacy app, if lastActivity = null, then DbComparator.lessThan(null, <not-null>) = false */
+        boolean isGracePeriodResume = maybeLastActivity.isPresent()
+            && Minutes.minutesBetween(maybeLastActivity.get(), now).getMinutes() < timeLimitConfiguration.getExamRestartWindowMinutes();
+
+        /* [186 - 191] Move the resume/grace period restart increment and the exam update down in the flow of this code */
+        /* Skip TestOpportunityAudit code [193] */
+        int startPosition = findExamStartPosition(examSegmentWrappers);
+        /* TestOpportunityServiceImpl [204] / StudentDLL [5424]
+         * Session type is always 0 (online) in TDS, so skip first conditional on [204]*/
+        if (isGracePeriodResume) { // Resume exam
+            /* This increment is done in TestOpportunityServiceImpl [179] */
+            resumptions++;
+        }
+
+        Exam restartedExam = new Exam.Builder()
+            .fromExam(exam)
+            .withStatus(new ExamStatusCode(ExamStatusCode.STATUS_STARTED, ExamStatusStage.IN_PROGRESS), now)
+            .withResumptions(resumptions)
+            .withRestartsAndResumptions(restartsAndResumptions)
+            .withStartedAt(now)
+            .withBrowserUserAgent(browserUserAgent)
+            .build();
+
+        transactionTemplate.execute(transactionStatus -> {
+            if (!isGracePeriodResume && assessment.shouldDeleteUnansweredItems()) { // Restart exam
                 // Mark the exam pages as "deleted"
                 examPageService.deletePages(exam.getId());
             }
 
-            Exam restartedExam = new Exam.Builder()
-                .fromExam(exam)
-                .withStatus(new ExamStatusCode(ExamStatusCode.STATUS_STARTED, ExamStatusStage.IN_PROGRESS), now)
-                .withResumptions(resumptions)
-                .withRestartsAndResumptions(restartsAndResumptions)
-                .withStartedAt(now)
-                .withBrowserUserAgent(browserUserAgent)
-                .build();
-
             updateExam(new EntityUpdate<>(exam, restartedExam));
 
             updateFinishedPages(examSegmentWrappers, isGracePeriodResume);
-            /* Skip restart increment on [209] because we are already incrementing earlier in this method */
-            /* [212] No need to call updateUnfinishedResponsePages since we no longer need to keep count of "opportunityrestart" */
-            examConfig = getExamConfiguration(exam, assessment, timeLimitConfiguration, startPosition);
-        }
-
-        return new Response<>(examConfig);
+            return null;
+        });
+        /* Skip restart increment on [209] because we are already incrementing earlier in this method */
+        /* [212] No need to call updateUnfinishedResponsePages since we no longer need to keep count of "opportunityrestart" */
+        return new Response<>(getExamConfiguration(exam, assessment, timeLimitConfiguration, startPosition));
     }
 
     /* This method emulates functionality of {@code StudentDLL._UnfinishedResponsePages_SP} @ line 5146 */
@@ -692,12 +748,26 @@ class ExamServiceImpl implements ExamService {
             examBuilder.withStatus(examStatusQueryRepository.findExamStatusCode(ExamStatusCode.STATUS_PENDING), org.joda.time.Instant.now());
         }
 
+        boolean guestStudent = openExamRequest.getStudentId() < 0;
+        CompletableFuture<List<RtsStudentPackageAttribute>> studentPackageAttributesLookup = openExamRequest.isGuestStudent()
+            ? CompletableFuture.completedFuture(Collections.emptyList())
+            : asyncStudentService.findStudentPackageAttributes(openExamRequest.getStudentId(), clientName, EXTERNAL_ID, ENTITY_NAME, ACCOMMODATIONS);
+        //OpenTestServiceImpl lines 317 - 341
+        CompletableFuture<List<AssessmentWindow>> assessmentWindowsLookup = asyncAssessmentService.findAssessmentWindows(
+            clientName,
+            assessment.getAssessmentId(),
+            guestStudent,
+            externalSessionConfiguration
+        );
+        CompletableFuture<List<Accommodation>> assessmentAccommodationsLookup =
+            asyncAssessmentService.findAssessmentAccommodationsByAssessmentKey(externalSessionConfiguration.getClientName(), assessment.getKey());
+
         String studentAccommodations = openExamRequest.getGuestAccommodations();
         if (openExamRequest.isGuestStudent()) {
             examBuilder.withStudentName("GUEST");
             examBuilder.withLoginSSID("GUEST");
         } else {
-            List<RtsStudentPackageAttribute> attributes = studentService.findStudentPackageAttributes(openExamRequest.getStudentId(), clientName, EXTERNAL_ID, ENTITY_NAME, ACCOMMODATIONS);
+            List<RtsStudentPackageAttribute> attributes = join(studentPackageAttributesLookup);
 
             for (RtsStudentPackageAttribute attribute : attributes) {
                 if (EXTERNAL_ID.equals(attribute.getName())) {
@@ -710,14 +780,7 @@ class ExamServiceImpl implements ExamService {
             }
         }
 
-        boolean guestStudent = openExamRequest.getStudentId() < 0;
-        //OpenTestServiceImpl lines 317 - 341
-        List<AssessmentWindow> assessmentWindows = assessmentService.findAssessmentWindows(
-            clientName,
-            assessment.getAssessmentId(),
-            guestStudent,
-            externalSessionConfiguration
-        );
+        List<AssessmentWindow> assessmentWindows = join(assessmentWindowsLookup);
 
         //OpenTestServiceImpl lines 344 - 365
         Optional<AssessmentWindow> maybeWindow = assessmentWindows.stream()
@@ -741,7 +804,7 @@ class ExamServiceImpl implements ExamService {
         //OpenTestServiceImpl lines 381 0 395 were not implemented because "_version" is never used in the application.  It is
         //inserted and updated throughout the flow but is not included in the TRT nor is used for any logic within the code.
 
-        Exam exam = examBuilder
+        final Exam exam = examBuilder
             .withId(UUID.randomUUID())
             .withClientName(externalSessionConfiguration.getClientName())
             .withStudentId(openExamRequest.getStudentId())
@@ -760,23 +823,27 @@ class ExamServiceImpl implements ExamService {
             .withMultiStageBraille(assessment.isMultiStageBraille())
             .build();
 
-        examCommandRepository.insert(exam);
+        // Waited on so the accommodations are initialized from the assessment service's cache inside the transaction
+        join(assessmentAccommodationsLookup);
 
-        // OpenTestServiceImpl lines 409 - 410
-        if (!openExamRequest.isGuestStudent()) {
-            examineeService.insertAttributesAndRelationships(exam, student, ExamineeContext.INITIAL);
-        }
+        final String examAccommodationCodes = studentAccommodations;
+        return transactionTemplate.execute(transactionStatus -> {
+            examCommandRepository.insert(exam);
 
-        //Lines 412 - 421 OpenTestServiceImpl is not implemented.  After talking with data warehouse and Smarter Balanced
-        //The initial student attributes are not used and smarter balance suggested removing them
-        List<ExamAccommodation> examAccommodations = examAccommodationService.initializeExamAccommodations(exam, studentAccommodations);
+            // OpenTestServiceImpl lines 409 - 410
+            if (!openExamRequest.isGuestStudent()) {
+                examineeService.insertAttributesAndRelationships(exam, student, ExamineeContext.INITIAL);
+            }
 
-        exam = updateExamWithCustomAccommodations(exam, examAccommodations);
+            //Lines 412 - 421 OpenTestServiceImpl is not implemented.  After talking with data warehouse and Smarter Balanced
+            //The initial student attributes are not used and smarter balance suggested removing them
+            List<ExamAccommodation> examAccommodations = examAccommodationService.initializeExamAccommodations(exam, examAccommodationCodes);
 
-        //Lines OpenTestServiceImpl lines 428-447 not implemented.  Instead exam status is set during insert instead of inserting
-        //and then updating status after accommodations
+            //Lines OpenTestServiceImpl lines 428-447 not implemented.  Instead exam status is set during insert instead of inserting
+            //and then updating status after accommodations
 
-        return new Response<>(exam);
+            return new Response<>(updateExamWithCustomAccommodations(exam, examAccommodations));
+        });
     }
 
     private Response<Exam> openPreviousExam(final String clientName,
@@ -802,7 +869,7 @@ class ExamServiceImpl implements ExamService {
         //is some type of bug in the legacy Web app and its processing of requests.
         int abnormalIncrement = ExamStatusStage.IN_USE.equals(previousExam.getStatus().getStage()) ? 1 : 0;
 
-        Exam currentExam = new Exam.Builder()
+        final Exam currentExam = new Exam.Builder()
             .fromExam(previousExam)
             .withStatus(status, org.joda.time.Instant.now())
             .withBrowserId(openExamRequest.getBrowserId())
@@ -810,7 +877,8 @@ class ExamServiceImpl implements ExamService {
             .withAbnormalStarts(previousExam.getAbnormalStarts() + abnormalIncrement)
             .build();
 
-        updateExam(new EntityUpdate<>(previousExam, currentExam));
+        CompletableFuture<List<Accommodation>> assessmentAccommodationsLookup =
+            asyncAssessmentService.findAssessmentAccommodationsByAssessmentKey(previousExam.getClientName(), previousExam.getAssessmentKey());
 
         //The next block replaces OpenTestServiceImpl lines 194-202 fetching the guest accommodations if not a guest student
         //Fetches the client system flag for restoring accommodations StudentDLL._RestoreRTSAccommodations_FN
@@ -827,10 +895,17 @@ class ExamServiceImpl implements ExamService {
             }
         }
 
-        List<ExamAccommodation> examAccommodations = examAccommodationService.initializeAccommodationsOnPreviousExam(previousExam, assessment, 0, restoreAccommodations, guestAccommodations);
+        // Waited on so the accommodations are initialized from the assessment service's cache inside the transaction
+        join(assessmentAccommodationsLookup);
 
-        currentExam = updateExamWithCustomAccommodations(currentExam, examAccommodations);
-        return new Response<>(currentExam);
+        final String examAccommodationCodes = guestAccommodations;
+        return transactionTemplate.execute(transactionStatus -> {
+            updateExam(new EntityUpdate<>(previousExam, currentExam));
+
+            List<ExamAccommodation> examAccommodations = examAccommodationService.initializeAccommodationsOnPreviousExam(previousExam, assessment, 0, restoreAccommodations, examAccommodationCodes);
+
+            return new Response<>(updateExamWithCustomAccommodations(currentExam, examAccommodations));
+        });
     }
 
     private PreviousExamStatus canOpenPreviousExam(final Exam previousExam, final Session currentSession) {
@@ -878,14 +953,14 @@ class ExamServiceImpl implements ExamService {
     private Optional<ValidationError> canCreateNewExam(final String clientName,
                                                        final OpenExamRequest openExamRequest,
                                                        final Exam previousExam,
-                                                       final int maxAttempts) {
+                                                       final int maxAttempts,
+                                                       final Optional<TimeLimitConfiguration> maybeTimeLimitConfiguration) {
         //Lines 5610 - 5618 in StudentDLL was not implemented.  The reason is that the max opportunities is always
         //3 via the loader scripts.  So the the conditional in the StudentDLL code will always allow one to open a new
         //Exam if previous exam is null (0 ocnt in the legacy code)
 
         //Get timelmits for delay days  Line 516-525 OpenTestServiceImpl
         int numberOfDaysToDelay;
-        Optional<TimeLimitConfiguration> maybeTimeLimitConfiguration = timeLimitConfigurationService.findTimeLimitConfiguration(clientName, openExamRequest.getAssessmentKey());
         if (maybeTimeLimitConfiguration.isPresent()) {
             numberOfDaysToDelay = maybeTimeLimitConfiguration.get().getExamDelayDays();
         } else {
@@ -925,6 +1000,22 @@ class ExamServiceImpl implements ExamService {
         return Optional.empty();
     }
 
+    private <T> CompletableFuture<T> lookup(final Supplier<T> lookup) {
+        return CompletableFuture.supplyAsync(lookup, remoteLookupExecutor);
+    }
+
+    private static <T> T join(final CompletableFuture<T> lookup) {
+        try {
+            return lookup.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+
     private boolean allowsGuestStudent(final String clientName,
                                        final ExternalSessionConfiguration externalSessionConfiguration) {
         if (externalSessionConfiguration.isInSimulationEnvironment()) {
@@ -960,11 +1051,11 @@ class ExamServiceImpl implements ExamService {
     private List<ExamAssessmentMetadata> findEligibleExamAssessmentsForStudent(final long studentId, final Session session, final String grade) {
         final String clientName = session.getClientName();
         List<ExamAssessmentMetadata> examAssessmentMetadatas = new ArrayList<>();
-        Set<String> sessionAssessmentIds = sessionService.findSessionAssessments(session.getId()).stream()
-            .map(SessionAssessment::getAssessmentId)
-            .collect(Collectors.toSet());
+        // The session assessments are looked up while the student package is
+        CompletableFuture<List<SessionAssessment>> sessionAssessmentsLookup = asyncSessionService.findSessionAssessments(session.getId());
         /* StudentDLL - 10439 and 10535 - get both student package attributes at once */
-        List<RtsStudentPackageAttribute> attributes = studentService.findStudentPackageAttributes(studentId, clientName, ELIGIBLE_ASSESSMENTS, BLOCKED_SUBJECT);
+        List<RtsStudentPackageAttribute> attributes =
+            join(asyncStudentService.findStudentPackageAttributes(studentId, clientName, ELIGIBLE_ASSESSMENTS, BLOCKED_SUBJECT));
         /* StudentDLL.java - 10451 - for _GetCurrentTests, we need assessment metadata for each eligible assessment */
         String[] eligibleAssessmentKeys = getEligibleAssessmentKeysFromAttributes(attributes);
         if (eligibleAssessmentKeys.length == 0) {
@@ -972,9 +1063,16 @@ class ExamServiceImpl implements ExamService {
             return Collections.emptyList();
         }
 
-        List<AssessmentInfo> eligibleAssessments = assessmentService.findAssessmentInfosForAssessments(clientName, eligibleAssessmentKeys);
+        // The eligible assessments are looked up while the student's exams are read from the database
+        CompletableFuture<List<AssessmentInfo>> eligibleAssessmentsLookup =
+            asyncAssessmentService.findAssessmentInfosForAssessments(clientName, eligibleAssessmentKeys);
         /* StudentDLL [10520] - _GetOpportunityInfo - Get the exam and session data for all exams taken by this student */
         List<Exam> studentExams = examQueryRepository.findAllExamsForStudent(studentId);
+
+        List<AssessmentInfo> eligibleAssessments = join(eligibleAssessmentsLookup);
+        Set<String> sessionAssessmentIds = join(sessionAssessmentsLookup).stream()
+            .map(SessionAssessment::getAssessmentId)
+            .collect(Collectors.toSet());
         // A map from assessmentKey -> all exams taken for that exam by this student
         Map<String, List<Exam>> assessmentExams = studentExams.stream().collect(Collectors.groupingBy(Exam::getAssessmentKey));
 
@@ -1011,7 +1109,8 @@ class ExamServiceImpl implements ExamService {
                             .withBrowserId(recentExam.getBrowserId())
                             .build();
 
-                        Optional<ValidationError> maybeError = canCreateNewExam(clientName, request, recentExam, assessment.getMaxAttempts());
+                        Optional<ValidationError> maybeError = canCreateNewExam(clientName, request, recentExam, assessment.getMaxAttempts(),
+                            timeLimitConfigurationService.findTimeLimitConfiguration(clientName, assessment.getKey()));
                         isNewOpportunity = !maybeError.isPresent();
                         if (maybeError.isPresent()) {
                             status = ExamStatusCode.STATUS_DENIED;
@@ -16,56 +16,111 @@ package tds.exam.services.impl;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Sets;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.metrics.GaugeService;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import tds.exam.Exam;
 import tds.exam.ExpandableExam;
 import tds.exam.ExpandableExamAttributes;
+import tds.exam.ExpandableExamChanges;
 import tds.exam.repositories.ExamQueryRepository;
+import tds.exam.repositories.SessionChangeRepository;
 import tds.exam.mappers.ExpandableExamMapper;
 import tds.exam.services.ExpandableExamService;
 
+/**
+ * Runs the {@link tds.exam.mappers.ExpandableExamMapper}s for the requested attributes concurrently.  A mapper starts
+ * once the mappers providing its required attributes have finished.  The time each mapper takes is recorded in the
+ * {@code timer.exam.expandable-exam-mapper.[mapper]} gauge.
+ */
 @Service
 public class ExpandableExamServiceImpl implements ExpandableExamService {
-    private final Collection<ExpandableExamMapper> expandableExamMappers;
+    static final String MAPPER_TIMER_PREFIX = "timer.exam.expandable-exam-mapper.";
+
+    private final List<ExpandableExamMapper> expandableExamMappers;
     private final ExamQueryRepository examQueryRepository;
+    private final SessionChangeRepository sessionChangeRepository;
+    private final ExecutorService expandableExamMapperExecutor;
+    private final GaugeService gaugeService;
 
     @Autowired
-    public ExpandableExamServiceImpl(final Collection<ExpandableExamMapper> expandableExamMappers, final ExamQueryRepository examQueryRepository) {
-        this.expandableExamMappers = expandableExamMappers;
+    public ExpandableExamServiceImpl(final Collection<ExpandableExamMapper> expandableExamMappers,
+                                     final ExamQueryRepository examQueryRepository,
+                                     final SessionChangeRepository sessionChangeRepository,
+                                     @Qualifier("expandableExamMapperExecutor") final ExecutorService expandableExamMapperExecutor,
+                                     final GaugeService gaugeService) {
+        this.expandableExamMappers = sortByDependencies(expandableExamMappers);
         this.examQueryRepository = examQueryRepository;
+        this.sessionChangeRepository = sessionChangeRepository;
+        this.expandableExamMapperExecutor = expandableExamMapperExecutor;
+        this.gaugeService = gaugeService;
     }
 
     @Override
     public List<ExpandableExam> findExamsBySessionId(final UUID sessionId, final Set<String> invalidStatuses,
                                                      final ExpandableExamAttributes... expandableAttributes) {
-        final Set<ExpandableExamAttributes> expandableExamAttributes = expandableAttributes == null
-            ? new HashSet<>() : Sets.newHashSet(expandableAttributes);
         final List<Exam> exams = examQueryRepository.findAllExamsInSessionWithoutStatus(sessionId, invalidStatuses);
-        final Map<UUID, ExpandableExam.Builder> examBuilders = exams.stream()
-            .collect(Collectors.toMap(Exam::getId, ExpandableExam.Builder::new));
-        final UUID[] examIds = examBuilders.keySet().toArray(new UUID[examBuilders.size()]);
 
-        if (examIds.length == 0) {
-            return new ArrayList<>();
+        return expand(sessionId, exams, expandableAttributes);
+    }
+
+    @Override
+    public long findSessionVersion(final UUID sessionId) {
+        return sessionChangeRepository.findVersion(sessionId);
+    }
+
+    @Override
+    public ExpandableExamChanges findExamChangesBySessionId(final UUID sessionId, final long sinceVersion,
+                                                            final Set<String> invalidStatuses,
+                                                            final ExpandableExamAttributes... expandableAttributes) {
+        // The version is read before the exams so the exams are never older than the version returned with them
+        final long version = sessionChangeRepository.findVersion(sessionId);
+
+        // The caller has not seen the session, or has a version from before the session was reset, so send everything
+        if (sinceVersion <= 0 || sinceVersion > version) {
+            return new ExpandableExamChanges(version, findExamsBySessionId(sessionId, invalidStatuses, expandableAttributes),
+                new ArrayList<>());
         }
 
-        expandableExamMappers.forEach(mapper -> mapper.updateExpandableMapper(expandableExamAttributes, examBuilders, sessionId));
+        final Map<UUID, Long> changes = sessionChangeRepository.findExamChanges(sessionId, sinceVersion);
+        if (changes.isEmpty()) {
+            return new ExpandableExamChanges(version, new ArrayList<>(), new ArrayList<>());
+        }
 
-        // Build each exam and return
-        return examBuilders.values().stream()
-            .map(ExpandableExam.Builder::build)
+        final List<Exam> changedExams = examQueryRepository.findAllExamsInSessionWithoutStatus(sessionId, invalidStatuses).stream()
+            .filter(exam -> changes.containsKey(exam.getId()))
+            .collect(Collectors.toList());
+        final List<ExpandableExam> exams = expand(sessionId, changedExams, expandableAttributes);
+
+        final Set<UUID> changedExamIds = changedExams.stream()
+            .map(Exam::getId)
+            .collect(Collectors.toSet());
+        final List<UUID> removedExamIds = changes.keySet().stream()
+            .filter(examId -> !changedExamIds.contains(examId))
             .collect(Collectors.toList());
+
+        // Changes committed after the version was read are returned again with the next version
+        return new ExpandableExamChanges(version, exams, removedExamIds);
     }
 
     @Override
@@ -82,10 +137,125 @@ public class ExpandableExamServiceImpl implements ExpandableExamService {
         ExpandableExam.Builder builder = new ExpandableExam.Builder(exam);
         Map<UUID, ExpandableExam.Builder> examMap = ImmutableMap.of(examId, builder);
 
-        expandableExamMappers.forEach(mapper -> mapper.updateExpandableMapper(expandableExamAttributes,
-            examMap, exam.getSessionId())
-        );
+        runMappers(expandableExamAttributes, examMap, exam.getSessionId());
 
         return Optional.of(builder.build());
     }
+
+    private List<ExpandableExam> expand(final UUID sessionId, final List<Exam> exams,
+                                        final ExpandableExamAttributes... expandableAttributes) {
+        if (exams.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        final Set<ExpandableExamAttributes> expandableExamAttributes = expandableAttributes == null
+            ? new HashSet<>() : Sets.newHashSet(expandableAttributes);
+        final Map<UUID, ExpandableExam.Builder> examBuilders = Collections.unmodifiableMap(exams.stream()
+            .collect(Collectors.toConcurrentMap(Exam::getId, ExpandableExam.Builder::new)));
+
+        runMappers(expandableExamAttributes, examBuilders, sessionId);
+
+        // Build each exam and return
+        return examBuilders.values().stream()
+            .map(ExpandableExam.Builder::build)
+            .collect(Collectors.toList());
+    }
+
+    private void runMappers(final Set<ExpandableExamAttributes> expandableAttributes,
+                            final Map<UUID, ExpandableExam.Builder> examBuilders, final UUID sessionId) {
+        final List<ExpandableExamMapper> mappers = expandableExamMappers.stream()
+            .filter(mapper -> mapper.getProvidedAttributes().isEmpty()
+                || !Collections.disjoint(mapper.getProvidedAttributes(), expandableAttributes))
+            .collect(Collectors.toList());
+
+        // A single mapper gains nothing from another thread
+        if (mappers.size() == 1) {
+            runMapper(mappers.get(0), expandableAttributes, examBuilders, sessionId);
+            return;
+        }
+
+        // The mappers are sorted so the stages of the mappers providing a mapper's required attributes already exist
+        final Map<ExpandableExamAttributes, List<CompletableFuture<Void>>> attributeStages = new EnumMap<>(ExpandableExamAttributes.class);
+        final List<CompletableFuture<Void>> stages = new ArrayList<>();
+        final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        for (final ExpandableExamMapper mapper : mappers) {
+            final CompletableFuture<?>[] requiredStages = mapper.getRequiredAttributes().stream()
+                .flatMap(attribute -> attributeStages.getOrDefault(attribute, Collections.emptyList()).stream())
+                .toArray(CompletableFuture<?>[]::new);
+
+            final CompletableFuture<Void> stage = CompletableFuture.allOf(requiredStages)
+                .thenRunAsync(() -> runMapperInRequest(requestAttributes, mapper, expandableAttributes, examBuilders, sessionId),
+                    expandableExamMapperExecutor);
+
+            mapper.getProvidedAttributes().forEach(attribute ->
+                attributeStages.computeIfAbsent(attribute, key -> new ArrayList<>()).add(stage));
+            stages.add(stage);
+        }
+
+        try {
+            CompletableFuture.allOf(stages.toArray(new CompletableFuture<?>[stages.size()])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+
+    /*
+     * Runs the mapper with the attributes of the request that expanded the exams, so the mapper's queries go through
+     * the request's unit of work.  The mapper executor runs a mapper on the calling thread when it is busy, so the
+     * attributes already bound to the thread are restored afterwards.
+     */
+    private void runMapperInRequest(final RequestAttributes requestAttributes, final ExpandableExamMapper mapper,
+                                    final Set<ExpandableExamAttributes> expandableAttributes,
+                                    final Map<UUID, ExpandableExam.Builder> examBuilders, final UUID sessionId) {
+        final RequestAttributes previousRequestAttributes = RequestContextHolder.getRequestAttributes();
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+        try {
+            runMapper(mapper, expandableAttributes, examBuilders, sessionId);
+        } finally {
+            RequestContextHolder.setRequestAttributes(previousRequestAttributes);
+        }
+    }
+
+    private void runMapper(final ExpandableExamMapper mapper, final Set<ExpandableExamAttributes> expandableAttributes,
+                           final Map<UUID, ExpandableExam.Builder> examBuilders, final UUID sessionId) {
+        final long start = System.nanoTime();
+        mapper.updateExpandableMapper(expandableAttributes, examBuilders, sessionId);
+        gaugeService.submit(MAPPER_TIMER_PREFIX + mapper.getClass().getSimpleName(),
+            (System.nanoTime() - start) / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    /*
+     * Orders the mappers so every mapper comes after the mappers providing its required attributes
+     */
+    private static List<ExpandableExamMapper> sortByDependencies(final Collection<ExpandableExamMapper> mappers) {
+        final List<ExpandableExamMapper> sorted = new ArrayList<>();
+        final Set<ExpandableExamAttributes> providedAttributes = EnumSet.noneOf(ExpandableExamAttributes.class);
+        final List<ExpandableExamMapper> remaining = new ArrayList<>(mappers);
+        final Set<ExpandableExamAttributes> allProvidedAttributes = mappers.stream()
+            .flatMap(mapper -> mapper.getProvidedAttributes().stream())
+            .collect(Collectors.toCollection(() -> EnumSet.noneOf(ExpandableExamAttributes.class)));
+
+        while (!remaining.isEmpty()) {
+            final List<ExpandableExamMapper> ready = remaining.stream()
+                .filter(mapper -> mapper.getRequiredAttributes().stream()
+                    .filter(allProvidedAttributes::contains)
+                    .allMatch(providedAttributes::contains))
+                .collect(Collectors.toList());
+
+            if (ready.isEmpty()) {
+                throw new IllegalStateException("The required attributes of the expandable exam mappers form a cycle: " +
+                    remaining.stream().map(mapper -> mapper.getClass().getSimpleName()).collect(Collectors.joining(", ")));
+            }
+
+            remaining.removeAll(ready);
+            sorted.addAll(ready);
+            ready.forEach(mapper -> providedAttributes.addAll(mapper.getProvidedAttributes()));
+        }
+
+        return sorted;
+    }
 }
@@ -0,0 +1,54 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import tds.exam.services.FieldTestItemGroupCounterStore;
+
+/**
+ * A {@link tds.exam.services.FieldTestItemGroupCounterStore} that only counts the assignments made by this instance.
+ * The counts are lost on restart.
+ */
+public class InMemoryFieldTestItemGroupCounterStore implements FieldTestItemGroupCounterStore {
+    // The key is the segment key, the value is a map of group key to the number of assignments
+    private final ConcurrentMap<String, ConcurrentMap<String, AtomicLong>> segmentToGroupCounts = new ConcurrentHashMap<>();
+
+    @Override
+    public Map<String, Long> findCounts(final String segmentKey, final Collection<String> groupKeys) {
+        final Map<String, AtomicLong> groupCounts = segmentToGroupCounts.getOrDefault(segmentKey, new ConcurrentHashMap<>());
+        final Map<String, Long> counts = new HashMap<>();
+
+        for (final String groupKey : groupKeys) {
+            final AtomicLong count = groupCounts.get(groupKey);
+            counts.put(groupKey, count == null ? 0 : count.get());
+        }
+
+        return counts;
+    }
+
+    @Override
+    public void increment(final String segmentKey, final Collection<String> groupKeys) {
+        final ConcurrentMap<String, AtomicLong> groupCounts = segmentToGroupCounts.computeIfAbsent(segmentKey, key -> new ConcurrentHashMap<>());
+
+        for (final String groupKey : groupKeys) {
+            groupCounts.computeIfAbsent(groupKey, key -> new AtomicLong()).incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import tds.exam.services.FormAssignmentSequence;
+
+/**
+ * A {@link tds.exam.services.FormAssignmentSequence} that only counts the form assignments made by this instance.
+ * The sequences are lost on restart.
+ */
+public class InMemoryFormAssignmentSequence implements FormAssignmentSequence {
+    // The key is the segment key and language code
+    private final ConcurrentMap<String, AtomicLong> sequences = new ConcurrentHashMap<>();
+
+    @Override
+    public long next(final String segmentKey, final String languageCode) {
+        return sequences.computeIfAbsent(segmentKey + "|" + languageCode, key -> new AtomicLong())
+            .getAndIncrement();
+    }
+}
@@ -0,0 +1,198 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import tds.assessment.Item;
+import tds.assessment.ItemConstraint;
+import tds.assessment.ItemProperty;
+import tds.exam.ExamAccommodation;
+
+/**
+ * An index of the {@link tds.assessment.Item}s of a segment by their {@link tds.assessment.ItemProperty}s.
+ * <p>
+ * Each (property name, property value) pair maps to a {@link java.util.BitSet} of the positions of the items having
+ * that property, so finding the item pool for an exam's accommodations is a few bitset unions and differences rather
+ * than comparing every item property with every accommodation.  Property names are matched ignoring case and values
+ * are matched exactly, the same as the legacy item pool query.
+ * </p>
+ * <p>
+ * The index only holds the positions of the items, so the pool is found in the list of items passed in.  An index can be
+ * used with any list holding the same items, e.g. the items of the same assessment loaded again from a cache.
+ * </p>
+ * <p>
+ * The index is immutable once built and safe to share between threads.
+ * </p>
+ */
+public final class ItemPoolIndex {
+    private final String[] itemIds;
+    private final int contentHash;
+    private final Map<String, Map<String, BitSet>> itemsByProperty = new HashMap<>();
+    private final BitSet fieldTestItems = new BitSet();
+
+    /**
+     * @param items the {@link tds.assessment.Item}s to index
+     */
+    public ItemPoolIndex(final List<Item> items) {
+        this.itemIds = new String[items.size()];
+        this.contentHash = hashContent(items);
+
+        // Item properties reference their item by id, which is not guaranteed to be the item holding the property
+        final Map<String, BitSet> positionsByItemId = new HashMap<>();
+        for (int position = 0; position < items.size(); position++) {
+            final Item item = items.get(position);
+            itemIds[position] = item.getId();
+            positionsByItemId.computeIfAbsent(item.getId(), id -> new BitSet()).set(position);
+
+            if (item.isFieldTest()) {
+                fieldTestItems.set(position);
+            }
+        }
+
+        for (final Item item : items) {
+            for (final ItemProperty itemProperty : item.getItemProperties()) {
+                final BitSet positions = positionsByItemId.get(itemProperty.getItemId());
+
+                if (positions == null || itemProperty.getName() == null || itemProperty.getValue() == null) {
+                    continue;
+                }
+
+                itemsByProperty.computeIfAbsent(normalize(itemProperty.getName()), name -> new HashMap<>())
+                    .computeIfAbsent(itemProperty.getValue(), value -> new BitSet())
+                    .or(positions);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the index can be used with a list of items.  The items are compared by id and by a hash of the
+     * indexed content, not by instance, so items deserialized again from a cache still match.
+     *
+     * @param items the {@link tds.assessment.Item}s of a segment
+     * @return {@code true} if this index was built from items with the same ids, in the same order, and the same
+     * field test flags and properties
+     */
+    public boolean isIndexOf(final List<Item> items) {
+        if (items.size() != itemIds.length) {
+            return false;
+        }
+
+        for (int position = 0; position < items.size(); position++) {
+            if (!Objects.equals(items.get(position).getId(), itemIds[position])) {
+                return false;
+            }
+        }
+
+        return hashContent(items) == contentHash;
+    }
+
+    /**
+     * Finds the items that have a property matching an accommodation of an inclusive constraint and no property
+     * matching an accommodation of an exclusive constraint
+     *
+     * @param items           the {@link tds.assessment.Item}s this is an index of, as checked by {@link #isIndexOf(List)}
+     * @param accommodations  the {@link tds.exam.ExamAccommodation}s of the exam
+     * @param itemConstraints the {@link tds.assessment.ItemConstraint}s of the assessment
+     * @param isFieldTest     {@code true} to only include field test items, {@code false} to exclude them or
+     *                        {@code null} to include all items
+     * @return the items in the pool
+     */
+    public Set<Item> findItemPool(final List<Item> items,
+                                  final Collection<ExamAccommodation> accommodations,
+                                  final Collection<ItemConstraint> itemConstraints,
+                                  final Boolean isFieldTest) {
+        final BitSet included = new BitSet();
+        final BitSet excluded = new BitSet();
+
+        for (final ExamAccommodation accommodation : accommodations) {
+            boolean isIncluded = false;
+            boolean isExcluded = false;
+
+            for (final ItemConstraint itemConstraint : itemConstraints) {
+                if (itemConstraint.getPropertyName().equalsIgnoreCase(accommodation.getType())
+                    && itemConstraint.getPropertyValue().equals(accommodation.getCode())) {
+                    isIncluded |= itemConstraint.isInclusive();
+                    isExcluded |= !itemConstraint.isInclusive();
+                }
+            }
+
+            if (!isIncluded && !isExcluded) {
+                continue;
+            }
+
+            final BitSet matchingItems = findItems(accommodation.getType(), accommodation.getCode());
+            if (isIncluded) {
+                included.or(matchingItems);
+            }
+
+            if (isExcluded) {
+                excluded.or(matchingItems);
+            }
+        }
+
+        included.andNot(excluded);
+
+        if (isFieldTest != null) {
+            if (isFieldTest) {
+                included.and(fieldTestItems);
+            } else {
+                included.andNot(fieldTestItems);
+            }
+        }
+
+        final Set<Item> itemPool = new HashSet<>();
+        for (int position = included.nextSetBit(0); position >= 0; position = included.nextSetBit(position + 1)) {
+            itemPool.add(items.get(position));
+        }
+
+        return itemPool;
+    }
+
+    private BitSet findItems(final String propertyName, final String propertyValue) {
+        if (propertyName == null) {
+            return new BitSet();
+        }
+
+        final Map<String, BitSet> itemsByValue = itemsByProperty.get(normalize(propertyName));
+        final BitSet matchingItems = itemsByValue == null ? null : itemsByValue.get(propertyValue);
+
+        return matchingItems == null ? new BitSet() : matchingItems;
+    }
+
+    private static int hashContent(final List<Item> items) {
+        int hash = 1;
+        for (final Item item : items) {
+            hash = 31 * hash + Objects.hash(item.getId(), item.isFieldTest());
+
+            for (final ItemProperty itemProperty : item.getItemProperties()) {
+                hash = 31 * hash + Objects.hash(itemProperty.getName(), itemProperty.getValue(), itemProperty.getItemId());
+            }
+        }
+
+        return hash;
+    }
+
+    private static String normalize(final String propertyName) {
+        return propertyName.toLowerCase(Locale.ROOT);
+    }
+}
@@ -13,24 +13,31 @@
 
 package tds.exam.services.impl;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
 
 import tds.assessment.Item;
 import tds.assessment.ItemConstraint;
-import tds.assessment.ItemProperty;
 import tds.exam.ExamAccommodation;
 import tds.exam.services.ExamAccommodationService;
 import tds.exam.services.ItemPoolService;
 
 @Service
 public class ItemPoolServiceImpl implements ItemPoolService {
+    private static final int MAX_CACHED_INDEXES = 1000;
+
     private final ExamAccommodationService examAccommodationService;
+    private final Cache<String, ItemPoolIndex> indexes = CacheBuilder.newBuilder()
+        .maximumSize(MAX_CACHED_INDEXES)
+        .expireAfterAccess(1, TimeUnit.HOURS)
+        .build();
 
     @Autowired
     public ItemPoolServiceImpl(final ExamAccommodationService examAccommodationService) {
@@ -38,16 +45,20 @@ public class ItemPoolServiceImpl implements ItemPoolService {
     }
 
     @Override
-    public Set<Item> getItemPool(final UUID examId, final List<ItemConstraint> itemConstraints, final List<Item> items) {
-        return getItemPool(examId, itemConstraints, items, null);
+    public Set<Item> getItemPool(final UUID examId, final List<ItemConstraint> itemConstraints, final String assessmentKey,
+                                 final String segmentKey, final String languageCode, final List<Item> items) {
+        return getItemPool(examId, itemConstraints, assessmentKey, segmentKey, languageCode, items, null);
     }
 
     @Override
-    public Set<Item> getFieldTestItemPool(final UUID examId, final List<ItemConstraint> itemConstraints, final List<Item> items) {
-        return getItemPool(examId, itemConstraints, items, true);
+    public Set<Item> getFieldTestItemPool(final UUID examId, final List<ItemConstraint> itemConstraints, final String assessmentKey,
+                                          final String segmentKey, final String languageCode, final List<Item> items) {
+        return getItemPool(examId, itemConstraints, assessmentKey, segmentKey, languageCode, items, true);
     }
 
-    private Set<Item> getItemPool(final UUID examId, final List<ItemConstraint> itemConstraints, final List<Item> items, final Boolean isFieldTest) {
+    private Set<Item> getItemPool(final UUID examId, final List<ItemConstraint> itemConstraints, final String assessmentKey,
+                                  final String segmentKey, final String languageCode, final List<Item> items,
+                                  final Boolean isFieldTest) {
         /*
             This method is meant to replace StudentDLL._AA_ItempoolString_FNOptimized() [1643]
             The purpose of this method is to find the list of items to include in the segment by taking the following steps:
@@ -57,57 +68,29 @@ public class ItemPoolServiceImpl implements ItemPoolService {
             3. Find the set of items that satisfy/match the inclusive item constraints
             4. Exclude the items that match the "excluded" accommodations (based on constraints)
         */
-        //TODO: remove intermediary steps/optimize
-        List<ExamAccommodation> allAccommodations = examAccommodationService.findAllAccommodations(examId);
-        // Gather the full list of item props
-        List<ItemProperty> allItemProperties = items.stream()
-            .flatMap(item -> item.getItemProperties().stream())
-            .collect(Collectors.toList());
-
-        // First, get all the constraints for our exam accommodations marked as "inclusive"
-        Set<ExamAccommodation> includedAccommodations = allAccommodations.stream()
-            .flatMap(accommodation -> itemConstraints.stream()
-                .filter(itemConstraint -> itemConstraint.isInclusive() &&
-                    itemConstraint.getPropertyName().equalsIgnoreCase(accommodation.getType()) &&
-                    itemConstraint.getPropertyValue().equals(accommodation.getCode()))
-                .map(itemConstraint -> accommodation))
-            .collect(Collectors.toSet());
-
-        // For the included accommodations above, find the list of compatible item ids
-        Set<String> itemPoolIds = allItemProperties.stream()
-            .flatMap(itemProperty -> includedAccommodations.stream()
-                .filter(accommodation ->
-                    itemProperty.getName().equalsIgnoreCase(accommodation.getType()) &&
-                        itemProperty.getValue().equals(accommodation.getCode()))
-                .map(accommodation -> itemProperty.getItemId()))
-            .collect(Collectors.toSet());
-
-        /* These next two lambdas represent the "NOT EXISTS" portion in the WHERE clause of the large ItemPoolString
-           query. Here we  want to exclude items that may satisfy have a satisfactory "INCLUSIVE" condition met (such
-           as having the correct "Language" value), but also have an explicit exclusive condition met               */
-        // Get the excluded accommodations
-        Set<ExamAccommodation> excludedAccommodations = allAccommodations.stream()
-            .flatMap(accommodation -> itemConstraints.stream()
-                .filter(itemConstraint -> !itemConstraint.isInclusive() &&
-                    itemConstraint.getPropertyName().equalsIgnoreCase(accommodation.getType()) &&
-                    itemConstraint.getPropertyValue().equals(accommodation.getCode()))
-                .map(itemConstraint -> accommodation))
-            .collect(Collectors.toSet());
-
-        // Filter the items from itemprops with excluded accommodations:
-        Set<String> excludedItemIds = allItemProperties.stream()
-            .flatMap(itemProperty -> excludedAccommodations.stream()
-                .filter(accommodation ->
-                    itemProperty.getName().equalsIgnoreCase(accommodation.getType()) &&
-                        itemProperty.getValue().equals(accommodation.getCode()))
-                .map(accommodation -> itemProperty.getItemId()))
-            .collect(Collectors.toSet());
-
-        return items.stream()
-            .filter(item ->
-                (isFieldTest == null || item.isFieldTest() == isFieldTest) &&
-                    itemPoolIds.contains(item.getId()) &&
-                    !excludedItemIds.contains(item.getId()))
-            .collect(Collectors.toSet());
+        final List<ExamAccommodation> allAccommodations = examAccommodationService.findAllAccommodations(examId);
+
+        return findIndex(assessmentKey, segmentKey, languageCode, items)
+            .findItemPool(items, allAccommodations, itemConstraints, isFieldTest);
+    }
+
+    /**
+     * The items of a segment come from the cached {@link tds.assessment.Assessment}, so the index built for a segment's
+     * items in a language is reused by every exam of the assessment, even though each read of the cache may return
+     * new item instances.  The index is rebuilt when the items no longer match the ones it was built from.
+     */
+    private ItemPoolIndex findIndex(final String assessmentKey, final String segmentKey, final String languageCode,
+                                    final List<Item> items) {
+        final String indexKey = String.join("|", assessmentKey, segmentKey, languageCode);
+
+        final ItemPoolIndex cachedIndex = indexes.getIfPresent(indexKey);
+        if (cachedIndex != null && cachedIndex.isIndexOf(items)) {
+            return cachedIndex;
+        }
+
+        final ItemPoolIndex index = new ItemPoolIndex(items);
+        indexes.put(indexKey, index);
+
+        return index;
     }
 }
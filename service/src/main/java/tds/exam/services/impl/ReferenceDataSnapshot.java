@@ -0,0 +1,351 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import tds.common.cache.CacheType;
+import tds.exam.configuration.ExamServiceProperties;
+
+/**
+ * Keeps a snapshot file of the reference data fetched for the {@link tds.common.cache.CacheType#LONG_TERM} cache so a
+ * restarted instance does not have to fetch all of it from the assessment service again.
+ * <p>
+ * Each fetched resource is kept by the URI it was fetched from, as JSON.  The snapshot is written periodically and when
+ * the service stops.  When the service starts the snapshot is read back and the resources in it are served instead of
+ * being fetched until each one has been fetched again in the background.  If a resource changed since the snapshot
+ * was written the eviction passed in with it is run so the stale copy is not kept in the
+ * {@link tds.common.cache.CacheType#LONG_TERM} cache.  At most
+ * {@link ExamServiceProperties#getReferenceDataSnapshotMaxSize()} resources are kept, the least recently fetched ones
+ * are dropped from the next snapshot.
+ * </p>
+ * <p>
+ * The file is gzipped and starts with a magic number, the format version and the version of the reference data model,
+ * and ends with a CRC32 of its content.  A snapshot with another format or model version or a wrong checksum is
+ * ignored.
+ * </p>
+ */
+@Component
+class ReferenceDataSnapshot implements PublicMetrics {
+    private static final Logger log = LoggerFactory.getLogger(ReferenceDataSnapshot.class);
+    private static final String METRIC_PREFIX = "exam.reference-data-snapshot";
+
+    static final int MAGIC = 0x54445353;
+    static final int FORMAT_VERSION = 2;
+    private static final int MAX_ENTRY_BYTES = 64 * 1024 * 1024;
+
+    private final ExamServiceProperties examServiceProperties;
+    private final ObjectMapper objectMapper;
+    private final ScheduledExecutorService executorService;
+
+    // The resources to write to the next snapshot
+    private final ConcurrentMap<URI, byte[]> entries;
+    // The resources read from the snapshot that have not been fetched again yet
+    private final ConcurrentMap<URI, byte[]> unvalidatedEntries = new ConcurrentHashMap<>();
+    private final AtomicBoolean changed = new AtomicBoolean();
+
+    private final AtomicLong restored = new AtomicLong();
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong revalidated = new AtomicLong();
+    private final AtomicLong stale = new AtomicLong();
+
+    @Autowired
+    public ReferenceDataSnapshot(final ExamServiceProperties examServiceProperties,
+                                 final ObjectMapper objectMapper) {
+        this(examServiceProperties, objectMapper, newSaveExecutor());
+    }
+
+    ReferenceDataSnapshot(final ExamServiceProperties examServiceProperties,
+                          final ObjectMapper objectMapper,
+                          final ScheduledExecutorService executorService) {
+        this.examServiceProperties = examServiceProperties;
+        this.objectMapper = objectMapper;
+        this.executorService = executorService;
+        this.entries = CacheBuilder.newBuilder()
+            .maximumSize(examServiceProperties.getReferenceDataSnapshotMaxSize())
+            .<URI, byte[]>removalListener(removal -> {
+                if (removal.getCause() == RemovalCause.SIZE) {
+                    changed.set(true);
+                }
+            })
+            .build()
+            .asMap();
+    }
+
+    @PostConstruct
+    void start() {
+        if (!isEnabled()) {
+            return;
+        }
+
+        read();
+
+        final long writeIntervalMillis = examServiceProperties.getReferenceDataSnapshotWriteIntervalMillis();
+        executorService.scheduleWithFixedDelay(this::writeIfChanged, writeIntervalMillis, writeIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        executorService.shutdownNow();
+        if (isEnabled()) {
+            writeIfChanged();
+        }
+    }
+
+    /**
+     * Serves the resource from the snapshot if it is in it and has not been fetched since the service started,
+     * otherwise fetches it and keeps it for the next snapshot
+     *
+     * @param uri      the URI the resource is fetched from
+     * @param evictor  evicts the resource from the {@link tds.common.cache.CacheType#LONG_TERM} cache if the snapshot
+     *                 served is stale
+     * @param type     the type of the resource
+     * @param fetcher  fetches the resource, returning {@code null} if it does not exist
+     * @param <T>      the type of the resource
+     * @return the resource, or {@code null} if it does not exist
+     */
+    <T> T load(final URI uri, final Runnable evictor, final TypeReference<T> type, final Supplier<T> fetcher) {
+        if (!isEnabled()) {
+            return fetcher.get();
+        }
+
+        final byte[] snapshotJson = unvalidatedEntries.get(uri);
+        if (snapshotJson != null) {
+            try {
+                final T value = objectMapper.readValue(snapshotJson, objectMapper.getTypeFactory().constructType(type));
+                served.incrementAndGet();
+                executorService.execute(() -> revalidate(uri, evictor, snapshotJson, fetcher));
+                return value;
+            } catch (IOException e) {
+                log.warn("Unable to read {} from the reference data snapshot", uri, e);
+                unvalidatedEntries.remove(uri, snapshotJson);
+            }
+        }
+
+        final T value = fetcher.get();
+        keep(uri, value);
+        return value;
+    }
+
+    void revalidate(final URI uri, final Runnable evictor, final byte[] snapshotJson, final Supplier<?> fetcher) {
+        if (!unvalidatedEntries.containsKey(uri)) {
+            return;
+        }
+
+        final byte[] json;
+        try {
+            json = keep(uri, fetcher.get());
+        } catch (RuntimeException e) {
+            // Keep serving the snapshot; it is revalidated again the next time it is served
+            log.warn("Unable to revalidate {} from the reference data snapshot", uri, e);
+            return;
+        }
+
+        unvalidatedEntries.remove(uri);
+        revalidated.incrementAndGet();
+
+        if (!Arrays.equals(snapshotJson, json)) {
+            stale.incrementAndGet();
+            log.info("{} changed since the reference data snapshot was written, evicting it from the {} cache", uri, CacheType.LONG_TERM);
+            evictor.run();
+        }
+    }
+
+    private byte[] keep(final URI uri, final Object value) {
+        if (value == null) {
+            if (entries.remove(uri) != null) {
+                changed.set(true);
+            }
+            return null;
+        }
+
+        try {
+            final byte[] json = objectMapper.writeValueAsBytes(value);
+            final byte[] previousJson = entries.put(uri, json);
+            if (!Arrays.equals(previousJson, json)) {
+                changed.set(true);
+            }
+            return json;
+        } catch (IOException e) {
+            log.warn("Unable to keep {} in the reference data snapshot", uri, e);
+            return null;
+        }
+    }
+
+    void read() {
+        final Path path = Paths.get(examServiceProperties.getReferenceDataSnapshotPath());
+        if (!Files.exists(path)) {
+            return;
+        }
+
+        final long start = System.currentTimeMillis();
+        final Map<URI, byte[]> snapshot = new HashMap<>();
+        try (InputStream fileStream = new GZIPInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            final CheckedInputStream checkedStream = new CheckedInputStream(fileStream, new CRC32());
+            final DataInputStream in = new DataInputStream(checkedStream);
+
+            if (in.readInt() != MAGIC) {
+                log.warn("Ignoring {}, it is not a reference data snapshot", path);
+                return;
+            }
+
+            final int formatVersion = in.readInt();
+            if (formatVersion != FORMAT_VERSION) {
+                log.warn("Ignoring the reference data snapshot {} with format version {}", path, formatVersion);
+                return;
+            }
+
+            final String modelVersion = in.readUTF();
+            if (!modelVersion.equals(examServiceProperties.getReferenceDataSnapshotModelVersion())) {
+                log.warn("Ignoring the reference data snapshot {} with model version {}", path, modelVersion);
+                return;
+            }
+
+            final int entryCount = in.readInt();
+            for (int i = 0; i < entryCount; i++) {
+                final URI uri = URI.create(in.readUTF());
+                final int length = in.readInt();
+                if (length < 0 || length > MAX_ENTRY_BYTES) {
+                    throw new IOException("Invalid length " + length + " of " + uri);
+                }
+
+                final byte[] json = new byte[length];
+                in.readFully(json);
+                snapshot.put(uri, json);
+            }
+
+            final long checksum = checkedStream.getChecksum().getValue();
+            if (in.readLong() != checksum) {
+                log.warn("Ignoring the reference data snapshot {}, its checksum does not match", path);
+                return;
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Ignoring the unreadable reference data snapshot {}", path, e);
+            return;
+        }
+
+        entries.putAll(snapshot);
+        unvalidatedEntries.putAll(snapshot);
+        restored.set(snapshot.size());
+        log.info("Read {} resources from the reference data snapshot {} in {} ms", snapshot.size(), path, System.currentTimeMillis() - start);
+    }
+
+    void writeIfChanged() {
+        if (!changed.getAndSet(false)) {
+            return;
+        }
+
+        final Path path = Paths.get(examServiceProperties.getReferenceDataSnapshotPath());
+        final Map<URI, byte[]> snapshot = new HashMap<>(entries);
+        try {
+            final Path directory = path.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            final Path tempPath = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+            try {
+                write(tempPath, examServiceProperties.getReferenceDataSnapshotModelVersion(), snapshot);
+                Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempPath);
+            }
+        } catch (IOException e) {
+            changed.set(true);
+            log.warn("Unable to write the reference data snapshot {}", path, e);
+        }
+    }
+
+    private static void write(final Path path, final String modelVersion, final Map<URI, byte[]> snapshot) throws IOException {
+        try (OutputStream fileStream = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            final CheckedOutputStream checkedStream = new CheckedOutputStream(fileStream, new CRC32());
+            final DataOutputStream out = new DataOutputStream(checkedStream);
+
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(modelVersion);
+            out.writeInt(snapshot.size());
+            for (final Map.Entry<URI, byte[]> entry : snapshot.entrySet()) {
+                out.writeUTF(entry.getKey().toString());
+                out.writeInt(entry.getValue().length);
+                out.write(entry.getValue());
+            }
+            out.flush();
+
+            new DataOutputStream(fileStream).writeLong(checkedStream.getChecksum().getValue());
+        }
+    }
+
+    private boolean isEnabled() {
+        return !examServiceProperties.getReferenceDataSnapshotPath().isEmpty();
+    }
+
+    private static ScheduledExecutorService newSaveExecutor() {
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("exam-reference-data-snapshot-");
+        threadFactory.setDaemon(true);
+        return Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        final List<Metric<?>> metrics = new ArrayList<>();
+        metrics.add(new Metric<>(METRIC_PREFIX + ".size", entries.size()));
+        metrics.add(new Metric<>(METRIC_PREFIX + ".restored", restored.get()));
+        metrics.add(new Metric<>(METRIC_PREFIX + ".served", served.get()));
+        metrics.add(new Metric<>(METRIC_PREFIX + ".revalidated", revalidated.get()));
+        metrics.add(new Metric<>(METRIC_PREFIX + ".stale", stale.get()));
+        return metrics;
+    }
+}
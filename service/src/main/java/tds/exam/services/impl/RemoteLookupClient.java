@@ -0,0 +1,88 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.AsyncRestTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Makes the non-blocking session and assessment lookups with the pooled {@code remoteLookupRestTemplate}.  It is only
+ * used for the lookups the blocking services do not cache, so it never reads or writes their caches.
+ */
+@Component
+class RemoteLookupClient {
+    private final AsyncRestTemplate restTemplate;
+
+    @Autowired
+    public RemoteLookupClient(@Qualifier("remoteLookupRestTemplate") final AsyncRestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+
+    /**
+     * @param uri  the URI of the resource
+     * @param type the type of the resource
+     * @param <T>  the type of the resource
+     * @return a future of the resource
+     */
+    <T> CompletableFuture<T> get(final URI uri, final ParameterizedTypeReference<T> type) {
+        final CompletableFuture<T> lookup = new CompletableFuture<>();
+        restTemplate.exchange(uri, HttpMethod.GET, null, type).addCallback(
+            response -> lookup.complete(response.getBody()),
+            failure -> lookup.completeExceptionally(unwrap(failure)));
+
+        return lookup;
+    }
+
+    /**
+     * @param uri  the URI of the resource
+     * @param type the type of the resource
+     * @param <T>  the type of the resource
+     * @return a future of the resource, empty if the service responds {@code 404 Not Found}
+     */
+    <T> CompletableFuture<Optional<T>> find(final URI uri, final Class<T> type) {
+        final CompletableFuture<Optional<T>> lookup = new CompletableFuture<>();
+        restTemplate.getForEntity(uri, type).addCallback(
+            entity -> lookup.complete(Optional.ofNullable(entity.getBody())),
+            failure -> {
+                final Throwable cause = unwrap(failure);
+                if (cause instanceof HttpClientErrorException
+                    && ((HttpClientErrorException) cause).getStatusCode() == HttpStatus.NOT_FOUND) {
+                    lookup.complete(Optional.empty());
+                } else {
+                    lookup.completeExceptionally(cause);
+                }
+            });
+
+        return lookup;
+    }
+
+    /*
+     * The failures of the AsyncRestTemplate's futures may still be wrapped in the ExecutionException of the
+     * underlying future
+     */
+    private static Throwable unwrap(final Throwable failure) {
+        return failure instanceof ExecutionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+}
@@ -0,0 +1,261 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import TDS.Shared.Exceptions.ReturnStatusException;
+import org.joda.time.Instant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import tds.common.ValidationError;
+import tds.exam.RescoreJobProgress;
+import tds.exam.configuration.ExamServiceProperties;
+import tds.exam.error.ValidationErrorCode;
+import tds.exam.models.RescoreJob;
+import tds.exam.models.RescoreJobExam;
+import tds.exam.models.RescoreJobStats;
+import tds.exam.repositories.RescoreJobRepository;
+import tds.exam.services.MessagingService;
+import tds.exam.services.RescoreJobService;
+import tds.score.services.ItemScoringService;
+import tds.score.xml.TestResultsXmlReader;
+
+@Service
+class RescoreJobServiceImpl implements RescoreJobService {
+    private static final Logger log = LoggerFactory.getLogger(RescoreJobServiceImpl.class);
+    // The exams rescored within this window give the throughput of a job
+    static final long THROUGHPUT_WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    // The most the rescore_job_exam.rescored_results MEDIUMBLOB holds
+    static final int MAX_RESCORED_RESULTS_BYTES = 16 * 1024 * 1024 - 1;
+
+    private final RescoreJobRepository rescoreJobRepository;
+    private final ItemScoringService itemScoringService;
+    private final MessagingService messagingService;
+    private final ExamServiceProperties examServiceProperties;
+    // Unmarshals the test results an item at a time, so only one item of the test results is held as objects at once
+    private final TestResultsXmlReader testResultsXmlReader;
+    private final int maxRescoredResultsBytes;
+
+    @Autowired
+    RescoreJobServiceImpl(final RescoreJobRepository rescoreJobRepository,
+                          final ItemScoringService itemScoringService,
+                          final MessagingService messagingService,
+                          final ExamServiceProperties examServiceProperties) throws JAXBException {
+        this(rescoreJobRepository, itemScoringService, messagingService, examServiceProperties, MAX_RESCORED_RESULTS_BYTES);
+    }
+
+    RescoreJobServiceImpl(final RescoreJobRepository rescoreJobRepository,
+                          final ItemScoringService itemScoringService,
+                          final MessagingService messagingService,
+                          final ExamServiceProperties examServiceProperties,
+                          final int maxRescoredResultsBytes) throws JAXBException {
+        this.rescoreJobRepository = rescoreJobRepository;
+        this.itemScoringService = itemScoringService;
+        this.messagingService = messagingService;
+        this.examServiceProperties = examServiceProperties;
+        this.testResultsXmlReader = new TestResultsXmlReader();
+        this.maxRescoredResultsBytes = maxRescoredResultsBytes;
+    }
+
+    @Override
+    public RescoreJob createRescoreJob(final UUID jobId, final Set<String> itemKeys) {
+        final Optional<RescoreJob> maybeJob = rescoreJobRepository.findRescoreJob(jobId);
+        if (maybeJob.isPresent()) {
+            return maybeJob.get();
+        }
+
+        final Set<String> trimmedItemKeys = itemKeys.stream()
+            .map(String::trim)
+            .filter(itemKey -> !itemKey.isEmpty())
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        final RescoreJob job = new RescoreJob(jobId, trimmedItemKeys, Instant.now());
+
+        try {
+            rescoreJobRepository.create(job);
+            return job;
+        } catch (final DuplicateKeyException e) {
+            // Created by a concurrent request
+            return rescoreJobRepository.findRescoreJob(jobId).orElseThrow(() -> e);
+        }
+    }
+
+    @Override
+    public Optional<ValidationError> submitExam(final UUID jobId, final UUID examId, final String testResults) {
+        if (!rescoreJobRepository.findRescoreJob(jobId).isPresent()) {
+            return Optional.of(new ValidationError(ValidationErrorCode.RESCORE_JOB_DOES_NOT_EXIST,
+                String.format("No rescore job found for id %s", jobId)));
+        }
+
+        rescoreJobRepository.submitExam(jobId, examId, testResults);
+        return Optional.empty();
+    }
+
+    @Override
+    public List<RescoreJobExam> claimExams() {
+        return rescoreJobRepository.claim(RescoreJobExam.STATUS_PENDING, UUID.randomUUID().toString(),
+            examServiceProperties.getRescoreBatchSize(), examServiceProperties.getRescoreLeaseMillis());
+    }
+
+    @Override
+    public void rescoreExam(final RescoreJobExam exam) {
+        final BoundedByteArrayOutputStream rescoredResults = new BoundedByteArrayOutputStream(maxRescoredResultsBytes);
+        try {
+            // The connection is released once the test results are copied out, before the exam is rescored
+            final Optional<String> maybeTestResults = rescoreJobRepository.findTestResults(exam);
+            if (!maybeTestResults.isPresent()) {
+                log.warn("No test results to rescore for exam {} in rescore job {}", exam.getExamId(), exam.getJobId());
+                return;
+            }
+
+            final Optional<String> maybeError = rescoreTestResults(exam, new StringReader(maybeTestResults.get()), rescoredResults);
+            if (maybeError.isPresent()) {
+                rescoreJobRepository.updateFailed(exam, maybeError.get());
+                return;
+            }
+
+            rescoreJobRepository.updateRescored(exam, rescoredResults.toByteArray());
+        } catch (final RuntimeException e) {
+            final Throwable cause = e instanceof RescoreException ? e.getCause() : e;
+            log.warn("Unable to rescore exam {} in rescore job {}", exam.getExamId(), exam.getJobId(), cause);
+            if (exam.getAttempts() < examServiceProperties.getRescoreMaxAttempts()) {
+                rescoreJobRepository.release(exam, cause.toString());
+            } else {
+                rescoreJobRepository.updateFailed(exam, cause.toString());
+            }
+        }
+    }
+
+    /**
+     * Rescores the test results an item at a time, writing the rescored results message as it goes
+     *
+     * @return the reason the exam can not be rescored, or empty if it was rescored
+     */
+    private Optional<String> rescoreTestResults(final RescoreJobExam exam, final Reader testResults,
+                                                final BoundedByteArrayOutputStream rescoredResults) {
+        try (final Writer writer = new OutputStreamWriter(rescoredResults, StandardCharsets.UTF_8)) {
+            return testResultsXmlReader.read(exam.getJobId().toString(), testResults, writer,
+                (report, item) -> itemScoringService.rescoreItem(exam.getExamId(), report, item, exam.getItemKeys()))
+                .map(ValidationError::getMessage);
+        } catch (final RescoredResultsTooLargeException e) {
+            log.warn("The rescored results of exam {} in rescore job {} are too large", exam.getExamId(), exam.getJobId());
+            return Optional.of(e.getMessage());
+        } catch (final JAXBException | XMLStreamException e) {
+            log.warn("Unable to read the test results of exam {} in rescore job {}", exam.getExamId(), exam.getJobId(), e);
+            return Optional.of("Invalid test results: " + e);
+        } catch (final ReturnStatusException | IOException e) {
+            throw new RescoreException(e);
+        }
+    }
+
+    @Override
+    public int publishRescoredExams() {
+        final List<RescoreJobExam> exams = rescoreJobRepository.claim(RescoreJobExam.STATUS_RESCORED,
+            UUID.randomUUID().toString(), examServiceProperties.getRescoreBatchSize(),
+            examServiceProperties.getRescoreLeaseMillis());
+
+        final List<RescoreJobExam> publishedExams = new ArrayList<>(exams.size());
+        try {
+            for (final RescoreJobExam exam : exams) {
+                messagingService.sendExamRescore(exam.getExamId(), exam.getRescoredResults());
+                publishedExams.add(exam);
+            }
+        } finally {
+            // The exams not published keep their lease and are published again once it expires
+            rescoreJobRepository.updatePublished(publishedExams);
+        }
+
+        return publishedExams.size();
+    }
+
+    @Override
+    public Optional<RescoreJobProgress> findProgress(final UUID jobId) {
+        return rescoreJobRepository.findStats(jobId, THROUGHPUT_WINDOW_MILLIS)
+            .map(stats -> createProgress(jobId, stats));
+    }
+
+    private static RescoreJobProgress createProgress(final UUID jobId, final RescoreJobStats stats) {
+        final double examsPerMinute = stats.getRecentlyRescoredCount() / (double) TimeUnit.MILLISECONDS.toMinutes(THROUGHPUT_WINDOW_MILLIS);
+        final Long estimatedRemainingMillis = examsPerMinute > 0
+            ? (long) (stats.getPendingCount() / examsPerMinute * TimeUnit.MINUTES.toMillis(1))
+            : null;
+
+        return new RescoreJobProgress(jobId, stats.getPendingCount(), stats.getRescoredCount(),
+            stats.getPublishedCount(), stats.getFailedCount(), examsPerMinute, estimatedRemainingMillis);
+    }
+
+    /**
+     * Carries a checked exception thrown while the test results are rescored out to {@link #rescoreExam}
+     */
+    private static class RescoreException extends RuntimeException {
+        RescoreException(final Exception cause) {
+            super(cause);
+        }
+    }
+
+    /**
+     * Holds the rescored results message, failing once it grows past what the rescored_results column holds
+     */
+    private static class BoundedByteArrayOutputStream extends ByteArrayOutputStream {
+        private final int maxSize;
+
+        BoundedByteArrayOutputStream(final int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public synchronized void write(final int b) {
+            checkSize(1);
+            super.write(b);
+        }
+
+        @Override
+        public synchronized void write(final byte[] b, final int off, final int len) {
+            checkSize(len);
+            super.write(b, off, len);
+        }
+
+        private void checkSize(final int length) {
+            if (count + length > maxSize) {
+                throw new RescoredResultsTooLargeException(maxSize);
+            }
+        }
+    }
+
+    private static class RescoredResultsTooLargeException extends RuntimeException {
+        RescoredResultsTooLargeException(final int maxSize) {
+            super(String.format("The rescored results are larger than %d bytes", maxSize));
+        }
+    }
+}
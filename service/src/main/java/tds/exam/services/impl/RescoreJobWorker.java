@@ -0,0 +1,112 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import tds.exam.configuration.ExamServiceProperties;
+import tds.exam.models.RescoreJobExam;
+import tds.exam.services.RescoreJobService;
+
+/**
+ * Works the exams submitted to rescore jobs when enabled.  Batches of pending exams are claimed and rescored in
+ * parallel, each batch followed by publishing the rescored results, until no exams are left.  Then the exams are
+ * polled for again after the poll interval.  Progress is recorded per exam, so the exams of a job are picked up by
+ * another instance or after a restart.
+ */
+@Component
+public class RescoreJobWorker {
+    private static final Logger log = LoggerFactory.getLogger(RescoreJobWorker.class);
+
+    private final RescoreJobService rescoreJobService;
+    private final ExamServiceProperties examServiceProperties;
+    private ScheduledExecutorService scheduler;
+    private ExecutorService rescoreExecutor;
+
+    @Autowired
+    public RescoreJobWorker(final RescoreJobService rescoreJobService,
+                            final ExamServiceProperties examServiceProperties) {
+        this.rescoreJobService = rescoreJobService;
+        this.examServiceProperties = examServiceProperties;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!examServiceProperties.isRescoreWorkerEnabled()) {
+            return;
+        }
+
+        final CustomizableThreadFactory schedulerThreadFactory = new CustomizableThreadFactory("rescore-job-worker-");
+        schedulerThreadFactory.setDaemon(true);
+        scheduler = Executors.newSingleThreadScheduledExecutor(schedulerThreadFactory);
+
+        final CustomizableThreadFactory rescoreThreadFactory = new CustomizableThreadFactory("rescore-job-");
+        rescoreThreadFactory.setDaemon(true);
+        rescoreExecutor = Executors.newFixedThreadPool(examServiceProperties.getRescoreThreadCount(), rescoreThreadFactory);
+
+        scheduler.scheduleWithFixedDelay(this::processExams, examServiceProperties.getRescorePollIntervalMillis(),
+            examServiceProperties.getRescorePollIntervalMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+
+        if (rescoreExecutor != null) {
+            rescoreExecutor.shutdownNow();
+        }
+    }
+
+    void processExams() {
+        try {
+            List<RescoreJobExam> exams;
+            do {
+                exams = rescoreJobService.claimExams();
+                CompletableFuture.allOf(exams.stream()
+                    .map(exam -> CompletableFuture.runAsync(() -> rescoreJobService.rescoreExam(exam), rescoreExecutor))
+                    .toArray(CompletableFuture[]::new))
+                    .join();
+
+                publishRescoredExams();
+            } while (!exams.isEmpty() && exams.size() >= examServiceProperties.getRescoreBatchSize()
+                && !Thread.currentThread().isInterrupted());
+        } catch (RuntimeException e) {
+            // Keep the schedule running; unfinished exams are claimed again once their leases expire
+            log.error("Unable to process the rescore jobs", e);
+        }
+    }
+
+    private void publishRescoredExams() {
+        int publishedCount;
+        do {
+            publishedCount = rescoreJobService.publishRescoredExams();
+        } while (publishedCount > 0 && publishedCount >= examServiceProperties.getRescoreBatchSize()
+            && !Thread.currentThread().isInterrupted());
+    }
+}
@@ -0,0 +1,165 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import TDS.Shared.Exceptions.ReturnStatusException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import tds.exam.models.ScoringJobQueueStats;
+import tds.exam.repositories.ScoringJobRepository;
+import tds.exam.services.ScoringJobService;
+import tds.itemscoringengine.ItemScore;
+import tds.itemscoringengine.ScoreRationale;
+import tds.itemscoringengine.ScoringStatus;
+import tds.score.configuration.ItemScoreSettings;
+import tds.score.model.ScoringJob;
+import tds.score.services.ItemScoringService;
+
+@Service
+class ScoringJobServiceImpl implements ScoringJobService, PublicMetrics {
+    private static final Logger log = LoggerFactory.getLogger(ScoringJobServiceImpl.class);
+    private static final String METRIC_PREFIX = "exam.scoring.queue";
+    // The number of waiting responses queued by each statement of a sweep
+    static final int QUEUE_WAITING_RESPONSES_LIMIT = 1000;
+
+    private final ScoringJobRepository scoringJobRepository;
+    private final ItemScoringService itemScoringService;
+    private final ItemScoreSettings itemScoreSettings;
+
+    private final AtomicLong scored = new AtomicLong();
+    private final AtomicLong superseded = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong swept = new AtomicLong();
+
+    @Autowired
+    ScoringJobServiceImpl(final ScoringJobRepository scoringJobRepository,
+                          final ItemScoringService itemScoringService,
+                          final ItemScoreSettings itemScoreSettings) {
+        this.scoringJobRepository = scoringJobRepository;
+        this.itemScoringService = itemScoringService;
+        this.itemScoreSettings = itemScoreSettings;
+    }
+
+    @Override
+    public List<ScoringJob> claimJobs() {
+        return scoringJobRepository.claim(UUID.randomUUID().toString(), itemScoreSettings.getScoringQueueBatchSize(),
+            itemScoreSettings.getScoringQueueLeaseMillis());
+    }
+
+    @Override
+    public void processJob(final ScoringJob job) {
+        ItemScore score;
+        try {
+            score = itemScoringService.scoreJob(job);
+        } catch (ReturnStatusException | RuntimeException e) {
+            log.warn("Unable to score response {} of exam {}", job.getPosition(), job.getExamId(), e);
+            score = createScoringError("Exception scoring response: " + e.getMessage());
+        }
+
+        final ScoringStatus status = score.getScoreInfo().getStatus();
+        if (status == ScoringStatus.ScoringError || status == ScoringStatus.WaitingForMachineScore) {
+            final String error = score.getScoreInfo().getRationale() == null ? status.toString() : score.getScoreInfo().getRationale().getMsg();
+            if (job.getAttempts() < itemScoreSettings.getTimerMaxAttempts()) {
+                scoringJobRepository.retry(job, getBackoffMillis(job.getAttempts()), error);
+                retried.incrementAndGet();
+                return;
+            }
+
+            // Out of attempts, so the error is saved rather than leaving the response waiting for a score
+            log.error("Giving up scoring response {} of exam {} after {} attempts: {}", job.getPosition(), job.getExamId(),
+                job.getAttempts(), error);
+            failed.incrementAndGet();
+            score = createScoringError(error);
+        }
+
+        try {
+            if (itemScoringService.updateItemScore(job, score)) {
+                scored.incrementAndGet();
+            } else {
+                superseded.incrementAndGet();
+            }
+        } catch (ReturnStatusException | RuntimeException e) {
+            // The job keeps its lease and is claimed again once the lease expires
+            log.error("Unable to save the score of response {} of exam {}", job.getPosition(), job.getExamId(), e);
+        }
+    }
+
+    @Override
+    public int queueWaitingResponses() {
+        final long waitingMillis = TimeUnit.MINUTES.toMillis(itemScoreSettings.getTimerPendingMinutes());
+
+        int queuedCount = 0;
+        int queued;
+        do {
+            queued = scoringJobRepository.createForWaitingResponses(waitingMillis, QUEUE_WAITING_RESPONSES_LIMIT);
+            queuedCount += queued;
+        } while (queued == QUEUE_WAITING_RESPONSES_LIMIT);
+
+        swept.addAndGet(queuedCount);
+        return queuedCount;
+    }
+
+    @Override
+    public ScoringJobQueueStats getQueueStats() {
+        return scoringJobRepository.findQueueStats();
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        final List<Metric<?>> metrics = new ArrayList<>();
+
+        if (itemScoreSettings.isScoringQueueEnabled()) {
+            final ScoringJobQueueStats stats = getQueueStats();
+            metrics.add(new Metric<>(METRIC_PREFIX + ".depth", stats.getDepth()));
+            metrics.add(new Metric<>(METRIC_PREFIX + ".leased", stats.getLeasedCount()));
+            metrics.add(new Metric<>(METRIC_PREFIX + ".oldest-age-millis", stats.getOldestAgeMillis()));
+        }
+
+        metrics.add(new Metric<>(METRIC_PREFIX + ".scored", scored.get()));
+        metrics.add(new Metric<>(METRIC_PREFIX + ".superseded", superseded.get()));
+        metrics.add(new Metric<>(METRIC_PREFIX + ".retried", retried.get()));
+        metrics.add(new Metric<>(METRIC_PREFIX + ".failed", failed.get()));
+        metrics.add(new Metric<>(METRIC_PREFIX + ".swept", swept.get()));
+        return metrics;
+    }
+
+    /**
+     * @return the delay before a job that failed its nth attempt is due again, doubling with each attempt up to the
+     * max backoff
+     */
+    long getBackoffMillis(final int attempts) {
+        final int doublings = Math.min(Math.max(attempts - 1, 0), 30);
+        return Math.min(itemScoreSettings.getScoringQueueBackoffMillis() << doublings,
+            itemScoreSettings.getScoringQueueMaxBackoffMillis());
+    }
+
+    private static ItemScore createScoringError(final String message) {
+        final ScoreRationale scoreRationale = new ScoreRationale();
+        scoreRationale.setMsg(message);
+        return new ItemScore(-1, -1, ScoringStatus.ScoringError, null, scoreRationale, null, null);
+    }
+}
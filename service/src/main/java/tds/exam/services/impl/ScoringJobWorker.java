@@ -0,0 +1,117 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import tds.exam.services.ScoringJobService;
+import tds.score.configuration.ItemScoreSettings;
+import tds.score.model.ScoringJob;
+
+/**
+ * Works the scoring job queue when it is enabled.  Batches of due jobs are claimed and scored in parallel until the
+ * queue is drained, then the queue is polled again after the poll interval.  When the scoring timer is enabled the
+ * responses left waiting for longer than the pending time are periodically swept into the queue.
+ */
+@Component
+public class ScoringJobWorker {
+    private static final Logger log = LoggerFactory.getLogger(ScoringJobWorker.class);
+
+    private final ScoringJobService scoringJobService;
+    private final ItemScoreSettings itemScoreSettings;
+    private ScheduledExecutorService scheduler;
+    private ExecutorService scoringExecutor;
+
+    @Autowired
+    public ScoringJobWorker(final ScoringJobService scoringJobService,
+                            final ItemScoreSettings itemScoreSettings) {
+        this.scoringJobService = scoringJobService;
+        this.itemScoreSettings = itemScoreSettings;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!itemScoreSettings.isScoringQueueEnabled()) {
+            return;
+        }
+
+        final CustomizableThreadFactory schedulerThreadFactory = new CustomizableThreadFactory("scoring-job-worker-");
+        schedulerThreadFactory.setDaemon(true);
+        scheduler = Executors.newScheduledThreadPool(2, schedulerThreadFactory);
+
+        final CustomizableThreadFactory scoringThreadFactory = new CustomizableThreadFactory("scoring-job-");
+        scoringThreadFactory.setDaemon(true);
+        scoringExecutor = Executors.newFixedThreadPool(itemScoreSettings.getScoringQueueThreadCount(), scoringThreadFactory);
+
+        scheduler.scheduleWithFixedDelay(this::processJobs, itemScoreSettings.getScoringQueuePollIntervalMillis(),
+            itemScoreSettings.getScoringQueuePollIntervalMillis(), TimeUnit.MILLISECONDS);
+
+        if (itemScoreSettings.isTimerEnabled()) {
+            scheduler.scheduleWithFixedDelay(this::queueWaitingResponses, itemScoreSettings.getTimerInterval(),
+                itemScoreSettings.getTimerInterval(), TimeUnit.MINUTES);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+
+        if (scoringExecutor != null) {
+            scoringExecutor.shutdownNow();
+        }
+    }
+
+    void processJobs() {
+        try {
+            List<ScoringJob> jobs;
+            do {
+                jobs = scoringJobService.claimJobs();
+                CompletableFuture.allOf(jobs.stream()
+                    .map(job -> CompletableFuture.runAsync(() -> scoringJobService.processJob(job), scoringExecutor))
+                    .toArray(CompletableFuture[]::new))
+                    .join();
+            } while (!jobs.isEmpty() && jobs.size() >= itemScoreSettings.getScoringQueueBatchSize()
+                && !Thread.currentThread().isInterrupted());
+        } catch (RuntimeException e) {
+            // Keep the schedule running; unfinished jobs are claimed again once their leases expire
+            log.error("Unable to process the scoring job queue", e);
+        }
+    }
+
+    void queueWaitingResponses() {
+        try {
+            final int queuedCount = scoringJobService.queueWaitingResponses();
+            if (queuedCount > 0) {
+                log.info("Queued {} responses that were left waiting for a machine score", queuedCount);
+            }
+        } catch (RuntimeException e) {
+            log.error("Unable to queue the responses waiting for a machine score", e);
+        }
+    }
+}
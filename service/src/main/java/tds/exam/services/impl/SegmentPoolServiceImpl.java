@@ -49,7 +49,8 @@ public class SegmentPoolServiceImpl implements SegmentPoolService {
                                               final List<ItemConstraint> itemConstraints,
                                               final String languageCode) {
         // Get the list of eligible items based on constraints and exam accommodations
-        Set<Item> itemPool = itemPoolService.getItemPool(examId, itemConstraints, segment.getItems(languageCode));
+        Set<Item> itemPool = itemPoolService.getItemPool(examId, itemConstraints, segment.getAssessmentKey(),
+            segment.getKey(), languageCode, segment.getItems(languageCode));
         /* getItemPool selects the items that are eligible for the segment pool we are constructing.
            In legacy code, we can skip a lot of the temp-table initialization logic because of this */
         Set<Strand> strands = segment.getStrands();
@@ -13,7 +13,15 @@
 
 package tds.exam.services.impl;
 
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
@@ -32,25 +40,69 @@ import tds.session.Session;
 import tds.session.SessionAssessment;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import static tds.exam.configuration.SupportApplicationConfiguration.SESSION_APP_CONTEXT;
 
+/**
+ * Sessions are fetched on nearly every student request, so they are kept in a short lived cache.  Concurrent requests
+ * for a session that is not cached wait for a single fetch.  The cache statistics are published to the metrics
+ * endpoint as {@code exam.session-cache.*}.
+ */
 @Service
-class SessionServiceImpl implements SessionService {
+class SessionServiceImpl implements SessionService, PublicMetrics {
+    private static final String SESSION_CACHE_METRIC_PREFIX = "exam.session-cache";
+
     private final RestTemplate restTemplate;
     private final ExamServiceProperties examServiceProperties;
+    private final LoadingCache<UUID, Optional<Session>> sessions;
 
     @Autowired
     public SessionServiceImpl(final RestTemplate restTemplate, final ExamServiceProperties examServiceProperties) {
         this.restTemplate = restTemplate;
         this.examServiceProperties = examServiceProperties;
+        this.sessions = CacheBuilder.newBuilder()
+            .maximumSize(examServiceProperties.getSessionCacheMaxSize())
+            .expireAfterWrite(examServiceProperties.getSessionCacheTtlMillis(), TimeUnit.MILLISECONDS)
+            .recordStats()
+            .build(CacheLoader.from(this::fetchSession));
     }
 
     @Override
     public Optional<Session> findSessionById(final UUID sessionId) {
+        try {
+            return sessions.getUnchecked(sessionId);
+        } catch (UncheckedExecutionException e) {
+            Throwables.propagateIfPossible(e.getCause());
+            throw e;
+        }
+    }
+
+    @Override
+    public void evictSession(final UUID sessionId) {
+        sessions.invalidate(sessionId);
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        final CacheStats stats = sessions.stats();
+        final List<Metric<?>> metrics = new ArrayList<>();
+        metrics.add(new Metric<>(SESSION_CACHE_METRIC_PREFIX + ".size", sessions.size()));
+        metrics.add(new Metric<>(SESSION_CACHE_METRIC_PREFIX + ".hits", stats.hitCount()));
+        metrics.add(new Metric<>(SESSION_CACHE_METRIC_PREFIX + ".misses", stats.missCount()));
+        metrics.add(new Metric<>(SESSION_CACHE_METRIC_PREFIX + ".hit-ratio", stats.hitRate()));
+        metrics.add(new Metric<>(SESSION_CACHE_METRIC_PREFIX + ".evictions", stats.evictionCount()));
+        metrics.add(new Metric<>(SESSION_CACHE_METRIC_PREFIX + ".load-time-average-millis",
+            stats.averageLoadPenalty() / TimeUnit.MILLISECONDS.toNanos(1)));
+
+        return metrics;
+    }
+
+    private Optional<Session> fetchSession(final UUID sessionId) {
         UriComponentsBuilder builder =
             UriComponentsBuilder
                 .fromHttpUrl(String.format("%s/%s/%s",
@@ -111,6 +163,8 @@ class SessionServiceImpl implements SessionService {
             if (hce.getStatusCode() != HttpStatus.NOT_FOUND) {
                 throw hce;
             }
+        } finally {
+            evictSession(sessionId);
         }
 
         return maybePauseSessionResponse;
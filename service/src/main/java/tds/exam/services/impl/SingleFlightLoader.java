@@ -0,0 +1,119 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import tds.exam.configuration.ExamServiceProperties;
+
+/**
+ * Coalesces concurrent loads of the same resource so only one is in flight at a time on this instance.
+ * <p>
+ * {@link org.springframework.cache.annotation.Cacheable} does not coalesce concurrent misses, so when many students
+ * start exams at once every miss would fetch the same assessment or configuration from its service.  The first caller
+ * for a key loads it and the callers that arrive while the load is in flight wait for and share its result, or its
+ * exception.  A caller that waits longer than {@link tds.exam.configuration.ExamServiceProperties#getSingleFlightWaitTimeoutMillis()}
+ * stops waiting and loads the resource itself.
+ * </p>
+ */
+@Component
+class SingleFlightLoader implements PublicMetrics {
+    private static final String METRIC_PREFIX = "exam.single-flight";
+
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlightLoads = new ConcurrentHashMap<>();
+    private final long waitTimeoutMillis;
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong coalescedWaits = new AtomicLong();
+    private final AtomicLong waitTimeouts = new AtomicLong();
+    private final AtomicLong waitTimeTotalMillis = new AtomicLong();
+
+    @Autowired
+    public SingleFlightLoader(final ExamServiceProperties examServiceProperties) {
+        this.waitTimeoutMillis = examServiceProperties.getSingleFlightWaitTimeoutMillis();
+    }
+
+    /**
+     * Loads the resource, or waits for the load of it already in flight
+     *
+     * @param key    identifies the resource, typically the URI it is fetched from
+     * @param loader loads the resource
+     * @param <T>    the type of the resource
+     * @return the loaded resource
+     */
+    @SuppressWarnings("unchecked")
+    <T> T load(final Object key, final Supplier<T> loader) {
+        final CompletableFuture<Object> load = new CompletableFuture<>();
+        final CompletableFuture<Object> inFlightLoad = inFlightLoads.putIfAbsent(key, load);
+
+        if (inFlightLoad == null) {
+            loads.incrementAndGet();
+            try {
+                final T value = loader.get();
+                load.complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                load.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlightLoads.remove(key, load);
+            }
+        }
+
+        coalescedWaits.incrementAndGet();
+        final long waitStart = System.nanoTime();
+        try {
+            return (T) inFlightLoad.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            waitTimeouts.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for the in flight load of " + key, e);
+        } catch (ExecutionException e) {
+            Throwables.propagateIfPossible(e.getCause());
+            throw new UncheckedExecutionException(e.getCause());
+        } finally {
+            waitTimeTotalMillis.addAndGet(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - waitStart));
+        }
+
+        return loader.get();
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        final List<Metric<?>> metrics = new ArrayList<>();
+        metrics.add(new Metric<>(METRIC_PREFIX + ".in-flight", inFlightLoads.size()));
+        metrics.add(new Metric<>(METRIC_PREFIX + ".loads", loads.get()));
+        metrics.add(new Metric<>(METRIC_PREFIX + ".coalesced-waits", coalescedWaits.get()));
+        metrics.add(new Metric<>(METRIC_PREFIX + ".wait-timeouts", waitTimeouts.get()));
+        metrics.add(new Metric<>(METRIC_PREFIX + ".wait-time-total-millis", waitTimeTotalMillis.get()));
+        return metrics;
+    }
+}
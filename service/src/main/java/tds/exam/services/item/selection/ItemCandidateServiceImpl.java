@@ -18,6 +18,7 @@ import org.apache.commons.lang.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -79,6 +80,7 @@ public class ItemCandidateServiceImpl implements ItemCandidatesService {
     private final ExamAccommodationService examAccommodationService;
     private final ItemPoolService itemPoolService;
     private final ExamService examService;
+    private final ItemSelectionContexts itemSelectionContexts;
 
     private final static String ADAPTIVE = "adaptive";
     private final static String FIELD_TEST = "fieldtest";
@@ -92,7 +94,8 @@ public class ItemCandidateServiceImpl implements ItemCandidatesService {
                                     final ExamHistoryService examHistoryService,
                                     final ExamAccommodationService examAccommodationService,
                                     final ItemPoolService itemPoolService,
-                                    final ExamService examService) {
+                                    final ExamService examService,
+                                    final ItemSelectionContexts itemSelectionContexts) {
         this.expandableExamService = expandableExamService;
         this.fieldTestService = fieldTestService;
         this.examSegmentService = examSegmentService;
@@ -101,28 +104,29 @@ public class ItemCandidateServiceImpl implements ItemCandidatesService {
         this.examAccommodationService = examAccommodationService;
         this.itemPoolService = itemPoolService;
         this.examService = examService;
+        this.itemSelectionContexts = itemSelectionContexts;
     }
 
     @Override
     public ItemCandidatesData getItemCandidates(UUID examId) throws ReturnStatusException {
         // This method will only return the ItemCandidates for the first unsatisfied segment
         // Port of ItemSelectionDLL.AA_GetNextItemCandidates_SP
-        ExpandableExam exam = expandableExamService.findExam(examId, ExpandableExamAttributes.EXAM_SEGMENTS, ExpandableExamAttributes.EXAM_PAGE_AND_ITEMS)
+        ItemSelectionContext context = findContext(examId)
             .orElseThrow(() -> new ReturnStatusException("Could not find Exam for id" + examId));
 
-        Assessment assessment = assessmentService.findAssessment(exam.getExam().getClientName(), exam.getExam().getAssessmentKey())
-            .orElseThrow(() -> new ReturnStatusException("Could not find assessment for " + exam.getExam().getAssessmentKey()));
+        Assessment assessment = context.getAssessment()
+            .orElseThrow(() -> new ReturnStatusException("Could not find assessment for " + context.getExam().getAssessmentKey()));
 
-        final List<FieldTestItemGroup> fieldTestItemGroups = fieldTestService.findUsageInExam(examId);
-        ExamSegmentInfo info = findExamSegmentsNotYetSatisfied(exam, fieldTestItemGroups);
+        final List<FieldTestItemGroup> fieldTestItemGroups = context.getFieldTestItemGroups();
+        ExamSegmentInfo info = findExamSegmentsNotYetSatisfied(context, fieldTestItemGroups);
 
         //Means that a segment has been satisfied but hasn't been updated to be satisfied
         if (!info.getNewlySatisfiedSegments().isEmpty()) {
-            updateSatisfiedSegments(info.getNewlySatisfiedSegments());
+            updateSatisfiedSegments(context, info.getNewlySatisfiedSegments());
         }
 
         return info.getUnsatisfiedSegments().stream()
-            .map(examSegmentWrapper -> convertSegmentHolderToItemCandidateData(exam, assessment, fieldTestItemGroups, examSegmentWrapper))
+            .map(examSegmentWrapper -> convertSegmentHolderToItemCandidateData(context.getExam(), assessment, fieldTestItemGroups, examSegmentWrapper))
             .findFirst().orElse(new ItemCandidatesData(examId, AlgorithmType.SATISFIED.getType()));
     }
 
@@ -130,17 +134,17 @@ public class ItemCandidateServiceImpl implements ItemCandidatesService {
     public List<ItemCandidatesData> getAllItemCandidates(UUID examId) throws ReturnStatusException {
         // This method will need to return all item candidates, regardless of whether or not these segments are satisfied.
         List<ExamSegmentWrapper> examSegments = Collections.emptyList();
-        final ExpandableExam exam = expandableExamService.findExam(examId, ExpandableExamAttributes.EXAM_SEGMENTS, ExpandableExamAttributes.EXAM_PAGE_AND_ITEMS)
+        final ItemSelectionContext context = findContext(examId)
             .orElseThrow(() -> new ReturnStatusException("Could not find Exam for id" + examId));
 
-        final Assessment assessment = assessmentService.findAssessment(exam.getExam().getClientName(), exam.getExam().getAssessmentKey())
-            .orElseThrow(() -> new ReturnStatusException("Could not find assessment for " + exam.getExam().getAssessmentKey()));
-        final List<FieldTestItemGroup> fieldTestItemGroups = fieldTestService.findUsageInExam(exam.getExam().getId());
-        ExamSegmentInfo info = findExamSegmentsNotYetSatisfied(exam, fieldTestItemGroups);
+        final Assessment assessment = context.getAssessment()
+            .orElseThrow(() -> new ReturnStatusException("Could not find assessment for " + context.getExam().getAssessmentKey()));
+        final List<FieldTestItemGroup> fieldTestItemGroups = context.getFieldTestItemGroups();
+        ExamSegmentInfo info = findExamSegmentsNotYetSatisfied(context, fieldTestItemGroups);
 
         //Means that a segment has been satisfied but hasn't been updated to be satisfied
         if (!info.getNewlySatisfiedSegments().isEmpty()) {
-            examSegments = updateSatisfiedSegments(info.getNewlySatisfiedSegments());
+            examSegments = updateSatisfiedSegments(context, info.getNewlySatisfiedSegments());
         }
 
         List<ExamSegmentWrapper> nonSatisfiedSegments = info.getUnsatisfiedSegments();
@@ -148,7 +152,7 @@ public class ItemCandidateServiceImpl implements ItemCandidatesService {
 
         return nonSatisfiedSegments.stream()
             .sorted(Comparator.comparingInt(o -> o.getExamSegment().getSegmentPosition()))
-            .map(examSegmentWrapper -> convertSegmentHolderToItemCandidateData(exam, assessment, fieldTestItemGroups, examSegmentWrapper))
+            .map(examSegmentWrapper -> convertSegmentHolderToItemCandidateData(context.getExam(), assessment, fieldTestItemGroups, examSegmentWrapper))
             .collect(Collectors.toList());
     }
 
@@ -163,21 +167,21 @@ public class ItemCandidateServiceImpl implements ItemCandidatesService {
                 .build())
             .collect(Collectors.toList());
 
-        examSegmentService.update(segments.toArray(new ExamSegment[segments.size()]));
+        final ExamSegment[] segmentsToUpdate = segments.toArray(new ExamSegment[segments.size()]);
+        examSegmentService.update(segmentsToUpdate);
+        findLoadedContext(examId).ifPresent(context -> context.updateExamSegments(segmentsToUpdate));
     }
 
     @Override
     public ItemGroup getItemGroup(UUID examId, String segmentKey, String groupID, String blockID, Boolean isFieldTest) throws ReturnStatusException {
-        ExpandableExam exam = expandableExamService.findExam(examId, ExpandableExamAttributes.EXAM_SEGMENTS)
+        ItemSelectionContext context = findContext(examId)
             .orElseThrow(() -> new ReturnStatusException("Could not find Exam for id" + examId));
 
-        ExamSegment examSegment = exam.getExamSegments().stream()
-            .filter(segment -> segment.getSegmentKey().equals(segmentKey))
-            .findFirst()
+        ExamSegment examSegment = context.findExamSegment(segmentKey)
             .orElseThrow(() -> new ReturnStatusException(String.format("Could not find exam segment with exam id %s and segment %s", examId, segmentKey)));
 
-        Assessment assessment = assessmentService.findAssessment(exam.getExam().getClientName(), exam.getExam().getAssessmentKey())
-            .orElseThrow(() -> new ReturnStatusException("Could not find assessment for " + exam.getExam().getAssessmentKey()));
+        Assessment assessment = context.getAssessment()
+            .orElseThrow(() -> new ReturnStatusException("Could not find assessment for " + context.getExam().getAssessmentKey()));
 
         Segment segment = assessment.getSegment(segmentKey);
 
@@ -195,7 +199,7 @@ public class ItemCandidateServiceImpl implements ItemCandidatesService {
         }
 
         if (segment.getSelectionAlgorithm().equals(Algorithm.FIXED_FORM)) {
-            itemGroup = getItemGroupForFixedForm(groupID, exam, examSegment, segment, itemGroup);
+            itemGroup = getItemGroupForFixedForm(groupID, context.getExam(), examSegment, segment, itemGroup);
         }
 
         return itemGroup;
@@ -204,19 +208,16 @@ public class ItemCandidateServiceImpl implements ItemCandidatesService {
     @Override
     public StudentHistory2013 loadOppHistory(UUID examId, String segmentKey) throws ItemSelectionException {
         //AA_GetDataHistory2_SP
-        ExpandableExam exam = expandableExamService.findExam(examId, ExpandableExamAttributes.EXAM_SEGMENTS, ExpandableExamAttributes.EXAM_PAGE_AND_ITEMS)
+        ItemSelectionContext context = findContext(examId)
             .orElseThrow(() -> new ItemSelectionException("Could not find Exam for id" + examId));
 
-        Assessment assessment = assessmentService.findAssessment(exam.getExam().getClientName(), exam.getExam().getAssessmentKey())
+        Assessment assessment = context.getAssessment()
             .orElseThrow(() -> new ItemSelectionException("Can't find assessment for the exam"));
 
-        ExamSegment examSegment = exam.getExamSegments()
-            .stream()
-            .filter(examSegment1 -> examSegment1.getSegmentKey().equals(segmentKey))
-            .findFirst()
+        ExamSegment examSegment = context.findExamSegment(segmentKey)
             .orElseThrow(() -> new ItemSelectionException("Could not find exam segment"));
 
-        Set<String> fieldTestItemGroups = fieldTestService.findUsageInExam(examId)
+        Set<String> fieldTestItemGroups = context.getFieldTestItemGroups()
             .stream()
             .filter(fieldTestItemGroup -> !fieldTestItemGroup.isDeleted())
             .map(FieldTestItemGroup::getGroupId)
@@ -228,13 +229,13 @@ public class ItemCandidateServiceImpl implements ItemCandidatesService {
         history.setStartAbility(assessment.getStartAbility());
         history.set_itemPool(itemGroups);
 
-        history.set_previousTestItemGroups(getPreviousItemGroups(examId, exam.getExam().getStudentId(), exam.getExam().getAssessmentId()));
+        history.set_previousTestItemGroups(getPreviousItemGroups(context));
 
         HashSet<String> ftFieldGroups = new HashSet<>();
         ftFieldGroups.addAll(fieldTestItemGroups);
         history.set_previousFieldTestItemGroups(ftFieldGroups);
 
-        List<ExamSegmentWrapper> segmentHolders = mapSegmentToItems(exam);
+        List<ExamSegmentWrapper> segmentHolders = mapSegmentToItems(context);
 
         ArrayList<ItemResponse> itemResponses = new ArrayList<>();
         for (final ExamSegmentWrapper segmentHolder : segmentHolders) {
@@ -281,8 +282,8 @@ public class ItemCandidateServiceImpl implements ItemCandidatesService {
     /**
      * Legacy implementation conversion.  The legacy objects use implementation classes rather than interfaces
      */
-    private ArrayList<HashSet<String>> getPreviousItemGroups(final UUID examId, final long studentId, final String assessmentId) {
-        List<ItemGroupHistory> histories = examHistoryService.findPreviousItemGroups(studentId, examId, assessmentId);
+    private ArrayList<HashSet<String>> getPreviousItemGroups(final ItemSelectionContext context) {
+        List<ItemGroupHistory> histories = context.getPreviousItemGroups();
 
         ArrayList<HashSet<String>> itemGroups = new ArrayList<>();
 
@@ -305,6 +306,7 @@ public class ItemCandidateServiceImpl implements ItemCandidatesService {
         if (!maybeExamSegment.get().isSatisfied()) {
             ExamSegment examSegment = ExamSegment.Builder.fromSegment(maybeExamSegment.get()).withSatisfied(true).build();
             examSegmentService.update(examSegment);
+            findLoadedContext(examId).ifPresent(context -> context.updateExamSegments(examSegment));
         }
 
         return true;
@@ -336,7 +338,8 @@ public class ItemCandidateServiceImpl implements ItemCandidatesService {
             .filter(examSegment -> !examSegment.isSatisfied() && examSegment.getAlgorithm().equals(Algorithm.ADAPTIVE_2))
             .map(examSegment -> {
                 Segment segment = segmentKeyToSegment.get(examSegment.getSegmentKey());
-                Set<Item> itemPool = itemPoolService.getItemPool(examId, assessment.getItemConstraints(), segment.getItems(languageCode));
+                Set<Item> itemPool = itemPoolService.getItemPool(examId, assessment.getItemConstraints(), assessment.getKey(),
+                    segment.getKey(), languageCode, segment.getItems(languageCode));
                 Set<String> itemPoolIds = itemPool.stream()
                     .map(Item::getId)
                     .collect(Collectors.toSet());
@@ -347,6 +350,7 @@ public class ItemCandidateServiceImpl implements ItemCandidatesService {
             }).toArray(ExamSegment[]::new);
 
         examSegmentService.update(segmentsToUpdate);
+        findLoadedContext(examId).ifPresent(context -> context.updateExamSegments(segmentsToUpdate));
 
         return new OffGradeResponse(OffGradeResponse.SUCCESS, "");
     }
@@ -389,15 +393,57 @@ public class ItemCandidateServiceImpl implements ItemCandidatesService {
         return Optional.empty();
     }
 
-    private List<ExamSegmentWrapper> mapSegmentToItems(ExpandableExam expandableExam) {
-        List<ExamSegment> segments = expandableExam.getExamSegments();
-        List<ExamItem> items = expandableExam.getExamItems();
+    /**
+     * Finds the {@link tds.exam.services.item.selection.ItemSelectionContext} of the current item selection, loading
+     * it if this is the first callback of the selection
+     */
+    private Optional<ItemSelectionContext> findContext(final UUID examId) {
+        final Optional<ItemSelectionContext> maybeContext = findLoadedContext(examId);
+        if (maybeContext.isPresent()) {
+            return maybeContext;
+        }
+
+        final Optional<ExpandableExam> maybeExpandableExam = expandableExamService.findExam(examId,
+            ExpandableExamAttributes.EXAM_SEGMENTS, ExpandableExamAttributes.EXAM_PAGE_AND_ITEMS);
+        if (!maybeExpandableExam.isPresent()) {
+            return Optional.empty();
+        }
+
+        final Exam exam = maybeExpandableExam.get().getExam();
+        final ItemSelectionContext context = new ItemSelectionContext(maybeExpandableExam.get(),
+            () -> assessmentService.findAssessment(exam.getClientName(), exam.getAssessmentKey()),
+            () -> fieldTestService.findUsageInExam(examId),
+            () -> examHistoryService.findPreviousItemGroups(exam.getStudentId(), examId, exam.getAssessmentId()));
+
+        currentSelection().ifPresent(selection -> selection.register(context));
+
+        return Optional.of(context);
+    }
+
+    private Optional<ItemSelectionContext> findLoadedContext(final UUID examId) {
+        return currentSelection().flatMap(selection -> selection.find(examId));
+    }
+
+    /*
+     * The item selection contexts are request scoped, so outside of a request there is never a selection to share
+     */
+    private Optional<ItemSelectionContexts> currentSelection() {
+        if (RequestContextHolder.getRequestAttributes() == null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(itemSelectionContexts).filter(ItemSelectionContexts::isActive);
+    }
+
+    private List<ExamSegmentWrapper> mapSegmentToItems(final ItemSelectionContext context) {
+        List<ExamSegment> segments = context.getExamSegments();
+        List<ExamItem> items = context.getExamItems();
 
         List<ExamSegmentWrapper> examSegments = segments.stream()
             .map(ExamSegmentWrapper::new)
             .collect(Collectors.toList());
 
-        for (ExamPage page : expandableExam.getExamPages()) {
+        for (ExamPage page : context.getExamPages()) {
             for (ExamSegmentWrapper examSegment : examSegments) {
                 if (examSegment.isPageInSegment(page)) {
                     examSegment.addPageId(page.getId());
@@ -451,10 +497,10 @@ public class ItemCandidateServiceImpl implements ItemCandidatesService {
         return new GroupBlock(groupId, blockId);
     }
 
-    private ItemGroup getItemGroupForFixedForm(final String groupID, final ExpandableExam exam, final ExamSegment examSegment, final Segment segment, ItemGroup itemGroup) {
-        com.google.common.base.Optional<Form> maybeForm = segment.getForm(exam.getExam().getLanguageCode(), examSegment.getFormCohort());
+    private ItemGroup getItemGroupForFixedForm(final String groupID, final Exam exam, final ExamSegment examSegment, final Segment segment, ItemGroup itemGroup) {
+        com.google.common.base.Optional<Form> maybeForm = segment.getForm(exam.getLanguageCode(), examSegment.getFormCohort());
         if (!maybeForm.isPresent()) {
-            throw new IllegalStateException(String.format("Could not find a form with language %s and cohort %s", exam.getExam().getLanguageCode(), examSegment.getFormCohort()));
+            throw new IllegalStateException(String.format("Could not find a form with language %s and cohort %s", exam.getLanguageCode(), examSegment.getFormCohort()));
         }
 
 
@@ -480,7 +526,7 @@ public class ItemCandidateServiceImpl implements ItemCandidatesService {
         return itemGroup;
     }
 
-    private ItemCandidatesData convertSegmentHolderToItemCandidateData(final ExpandableExam exam, final Assessment assessment, final List<FieldTestItemGroup> fieldTestItemGroups, final ExamSegmentWrapper examSegmentWrapper) {
+    private ItemCandidatesData convertSegmentHolderToItemCandidateData(final Exam exam, final Assessment assessment, final List<FieldTestItemGroup> fieldTestItemGroups, final ExamSegmentWrapper examSegmentWrapper) {
         ExamSegment examSegment = examSegmentWrapper.getExamSegment();
 
         boolean isFieldTest = examSegmentWrapper.getItems().stream()
@@ -490,7 +536,7 @@ public class ItemCandidateServiceImpl implements ItemCandidatesService {
         GroupBlock groupBlock = findGroupBlock(assessment,
             fieldTestItemGroups,
             isFieldTest,
-            exam.getExam().getLanguageCode(),
+            exam.getLanguageCode(),
             examSegmentWrapper);
 
         return new ItemCandidatesData(
@@ -501,12 +547,12 @@ public class ItemCandidateServiceImpl implements ItemCandidatesService {
             examSegment.getSegmentPosition(),
             groupBlock.getItemGroupId(),
             groupBlock.getBlock(),
-            exam.getExam().getSessionId(),
+            exam.getSessionId(),
             false,
             !examSegment.isSatisfied());
     }
 
-    private List<ExamSegmentWrapper> updateSatisfiedSegments(final List<ExamSegmentWrapper> satisfiedSegments) {
+    private List<ExamSegmentWrapper> updateSatisfiedSegments(final ItemSelectionContext context, final List<ExamSegmentWrapper> satisfiedSegments) {
         List<ExamSegment> segments = new ArrayList<>();
 
         for (ExamSegmentWrapper wrapper : satisfiedSegments) {
@@ -519,14 +565,16 @@ public class ItemCandidateServiceImpl implements ItemCandidatesService {
             wrapper.setExamSegment(newSegment);
         }
 
-        examSegmentService.update(segments.toArray(new ExamSegment[segments.size()]));
+        final ExamSegment[] segmentsToUpdate = segments.toArray(new ExamSegment[segments.size()]);
+        examSegmentService.update(segmentsToUpdate);
+        context.updateExamSegments(segmentsToUpdate);
 
         return satisfiedSegments;
     }
 
-    private ExamSegmentInfo findExamSegmentsNotYetSatisfied(final ExpandableExam exam, final List<FieldTestItemGroup> fieldTestItemGroups) throws ReturnStatusException {
+    private ExamSegmentInfo findExamSegmentsNotYetSatisfied(final ItemSelectionContext context, final List<FieldTestItemGroup> fieldTestItemGroups) throws ReturnStatusException {
         //Port of ItemSelectionDLL.AA_GetNextItemCandidates_SP
-        List<ExamSegmentWrapper> segments = mapSegmentToItems(exam);
+        List<ExamSegmentWrapper> segments = mapSegmentToItems(context);
         List<ExamSegmentWrapper> unsatisfiedSegments = segments.stream()
             .filter(segmentHolder -> !segmentHolder.getExamSegment().isSatisfied())
             .collect(Collectors.toList());
@@ -0,0 +1,147 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.item.selection;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import tds.assessment.Assessment;
+import tds.exam.Exam;
+import tds.exam.ExamItem;
+import tds.exam.ExamPage;
+import tds.exam.ExamSegment;
+import tds.exam.ExpandableExam;
+import tds.exam.models.FieldTestItemGroup;
+import tds.exam.models.ItemGroupHistory;
+
+/**
+ * The exam data read by the {@link tds.itemselection.services.ItemCandidatesService} callbacks while selecting the
+ * next item group.  The item selector calls back several times for a single selection and each callback needs the
+ * same segments, pages, items and responses, so the context is loaded once and shared for the rest of the selection.
+ * <p>
+ * The contexts of a selection are kept by the request scoped
+ * {@link tds.exam.services.item.selection.ItemSelectionContexts}.
+ * </p>
+ * <p>
+ * The assessment, field test item groups and previous item groups are only loaded the first time they are requested
+ * since not every callback needs them.
+ * </p>
+ */
+public final class ItemSelectionContext {
+    private final Exam exam;
+    private final Map<Integer, ExamSegment> examSegmentsByPosition = new TreeMap<>();
+    private final List<ExamPage> examPages;
+    private final List<ExamItem> examItems;
+    private final Supplier<Optional<Assessment>> assessment;
+    private final Supplier<List<FieldTestItemGroup>> fieldTestItemGroups;
+    private final Supplier<List<ItemGroupHistory>> previousItemGroups;
+
+    /**
+     * @param expandableExam      the {@link tds.exam.ExpandableExam} with its segments, pages and items
+     * @param assessment          loads the {@link tds.assessment.Assessment} of the exam
+     * @param fieldTestItemGroups loads the {@link tds.exam.models.FieldTestItemGroup}s used by the exam
+     * @param previousItemGroups  loads the item groups administered in the student's previous exams
+     */
+    public ItemSelectionContext(final ExpandableExam expandableExam,
+                                final Supplier<Optional<Assessment>> assessment,
+                                final Supplier<List<FieldTestItemGroup>> fieldTestItemGroups,
+                                final Supplier<List<ItemGroupHistory>> previousItemGroups) {
+        this.exam = expandableExam.getExam();
+        this.examPages = expandableExam.getExamPages();
+        this.examItems = expandableExam.getExamItems();
+        this.assessment = Suppliers.memoize(assessment);
+        this.fieldTestItemGroups = Suppliers.memoize(fieldTestItemGroups);
+        this.previousItemGroups = Suppliers.memoize(previousItemGroups);
+
+        for (final ExamSegment examSegment : expandableExam.getExamSegments()) {
+            examSegmentsByPosition.put(examSegment.getSegmentPosition(), examSegment);
+        }
+    }
+
+    /**
+     * @return the {@link tds.exam.Exam}
+     */
+    public Exam getExam() {
+        return exam;
+    }
+
+    /**
+     * @return the {@link tds.assessment.Assessment} of the exam if it exists
+     */
+    public Optional<Assessment> getAssessment() {
+        return assessment.get();
+    }
+
+    /**
+     * @return the {@link tds.exam.ExamSegment}s ordered by segment position
+     */
+    public List<ExamSegment> getExamSegments() {
+        return new ArrayList<>(examSegmentsByPosition.values());
+    }
+
+    /**
+     * @param segmentKey the key of the segment
+     * @return the {@link tds.exam.ExamSegment} with the segment key if it exists
+     */
+    public Optional<ExamSegment> findExamSegment(final String segmentKey) {
+        return examSegmentsByPosition.values().stream()
+            .filter(examSegment -> examSegment.getSegmentKey().equals(segmentKey))
+            .findFirst();
+    }
+
+    /**
+     * @return the {@link tds.exam.ExamPage}s of the exam
+     */
+    public List<ExamPage> getExamPages() {
+        return examPages;
+    }
+
+    /**
+     * @return the {@link tds.exam.ExamItem}s of the exam along with their responses
+     */
+    public List<ExamItem> getExamItems() {
+        return examItems;
+    }
+
+    /**
+     * @return the {@link tds.exam.models.FieldTestItemGroup}s used by the exam
+     */
+    public List<FieldTestItemGroup> getFieldTestItemGroups() {
+        return fieldTestItemGroups.get();
+    }
+
+    /**
+     * @return the item groups administered in the student's previous exams of the same assessment
+     */
+    public List<ItemGroupHistory> getPreviousItemGroups() {
+        return previousItemGroups.get();
+    }
+
+    /**
+     * Replaces segments that were just written so later callbacks in the selection see the persisted state
+     *
+     * @param examSegments the updated {@link tds.exam.ExamSegment}s
+     */
+    public void updateExamSegments(final ExamSegment... examSegments) {
+        for (final ExamSegment examSegment : examSegments) {
+            examSegmentsByPosition.put(examSegment.getSegmentPosition(), examSegment);
+        }
+    }
+}
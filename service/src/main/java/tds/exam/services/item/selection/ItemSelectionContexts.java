@@ -0,0 +1,80 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.item.selection;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@link tds.exam.services.item.selection.ItemSelectionContext}s loaded by the item selection of the current
+ * request.
+ * <p>
+ * A selection is used between {@link #begin()} and {@link #end()}.  When no selection has been started
+ * {@link #find(java.util.UUID)} never finds a context and every callback loads its own.
+ * </p>
+ */
+@Component
+@RequestScope
+public class ItemSelectionContexts {
+    private final Map<UUID, ItemSelectionContext> contexts = new ConcurrentHashMap<>();
+    private volatile boolean active;
+
+    /**
+     * Starts an item selection for the request, discarding the contexts of any selection that was not ended
+     */
+    public void begin() {
+        contexts.clear();
+        active = true;
+    }
+
+    /**
+     * Ends the item selection of the request
+     */
+    public void end() {
+        active = false;
+        contexts.clear();
+    }
+
+    /**
+     * @return {@code true} if an item selection has been started and not ended
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * @param examId the id of the exam
+     * @return the {@link tds.exam.services.item.selection.ItemSelectionContext} of the exam if it has already been
+     * loaded by the current item selection
+     */
+    public Optional<ItemSelectionContext> find(final UUID examId) {
+        return Optional.ofNullable(contexts.get(examId));
+    }
+
+    /**
+     * Registers a loaded context with the current item selection.  Does nothing if no selection has been started.
+     *
+     * @param context the loaded {@link tds.exam.services.item.selection.ItemSelectionContext}
+     */
+    public void register(final ItemSelectionContext context) {
+        if (active) {
+            contexts.put(context.getExam().getId(), context);
+        }
+    }
+}
@@ -33,18 +33,31 @@ import tds.exam.ExamPage;
 import tds.exam.ExamScoringStatus;
 import tds.exam.repositories.ExamItemCommandRepository;
 import tds.exam.repositories.ExamItemQueryRepository;
+import tds.exam.repositories.ScoringJobRepository;
 import tds.exam.services.ConfigService;
 import tds.exam.services.ExamPageService;
 import tds.exam.services.ExamService;
 import tds.score.model.ExamInstance;
+import tds.score.configuration.ItemScoreSettings;
+import tds.score.model.ScoredResponse;
+import tds.score.model.ScoringJob;
 import tds.score.services.ResponseService;
+import tds.score.xml.ScoreInfoXmlWriter;
 import tds.student.sql.data.IItemResponseScorable;
 import tds.student.sql.data.IItemResponseUpdate;
 
+import javax.xml.stream.XMLStreamException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static tds.exam.ExamStatusCode.STATUS_REVIEW;
 import static tds.exam.ExamStatusCode.STATUS_SEGMENT_ENTRY;
@@ -59,6 +72,8 @@ public class ResponseServiceImpl implements ResponseService {
     private final ExamItemCommandRepository examItemCommandRepository;
     private final ExamItemQueryRepository examItemQueryRepository;
     private final ExamPageService examPageService;
+    private final ScoringJobRepository scoringJobRepository;
+    private final ItemScoreSettings itemScoreSettings;
 
     static final Set<String> VALID_EXAM_STATUS_CODES = Sets.newHashSet(STATUS_STARTED, STATUS_REVIEW, STATUS_SEGMENT_ENTRY, STATUS_SEGMENT_EXIT);
 
@@ -67,12 +82,16 @@ public class ResponseServiceImpl implements ResponseService {
                                final ConfigService configService,
                                final ExamItemCommandRepository examItemCommandRepository,
                                final ExamItemQueryRepository examItemQueryRepository,
-                               final ExamPageService examPageService) {
+                               final ExamPageService examPageService,
+                               final ScoringJobRepository scoringJobRepository,
+                               final ItemScoreSettings itemScoreSettings) {
         this.examService = examService;
         this.configService = configService;
         this.examItemCommandRepository = examItemCommandRepository;
         this.examItemQueryRepository = examItemQueryRepository;
         this.examPageService = examPageService;
+        this.scoringJobRepository = scoringJobRepository;
+        this.itemScoreSettings = itemScoreSettings;
     }
 
     @Transactional
@@ -87,6 +106,84 @@ public class ResponseServiceImpl implements ResponseService {
         //Replaces the implementation in StudentDLL.T_UpdateScoredResponse_common
         //Decision was made to not worry about verify access.  This should be done prior to this call.
 
+        final Exam exam = findExamAcceptingResponses(examInstance);
+        final ExamItem existingExamItem = validateExamItem(examInstance, responseUpdate,
+            examItemQueryRepository.findExamItemAndResponse(examInstance.getExamId(), responseUpdate.getPosition()));
+
+        final ExamItemResponse scoredResponse = buildScoredResponse(exam, existingExamItem, responseUpdate, score, scoreStatus,
+            scoreRationale, scoreLatency);
+        examItemCommandRepository.insertResponses(scoredResponse);
+        buildScoringJob(exam, existingExamItem, responseUpdate, scoredResponse)
+            .ifPresent(job -> scoringJobRepository.create(Collections.singletonList(job)));
+
+        if (responseUpdate.getValue() == null) {
+            return new ReturnStatus("updated");
+        }
+
+        final ExamPage examPage = examPageService.find(existingExamItem.getExamPageId())
+            .orElseThrow(() -> new ReturnStatusException("Exam page is no longer present for the updated item"));
+
+        final ExamPage updatedExamPage = ExamPage.Builder.fromExamPage(examPage)
+            .withDuration(pageDuration + examPage.getDuration()) // Accumulate the duration
+            .build();
+
+        examPageService.update(updatedExamPage);
+        return new ReturnStatus("updated");
+    }
+
+    @Transactional
+    @Override
+    public List<ReturnStatus> updateScoredResponses(final ExamInstance examInstance,
+                                                    final List<ScoredResponse> scoredResponses,
+                                                    final long pageDuration) throws ReturnStatusException {
+        final Exam exam = findExamAcceptingResponses(examInstance);
+
+        // There should only be one item at a given position, the first is used to match findExamItemAndResponse
+        final Map<Integer, ExamItem> examItemsByPosition = examItemQueryRepository.findExamItemAndResponses(examInstance.getExamId()).stream()
+            .collect(Collectors.toMap(ExamItem::getPosition, Function.identity(), (first, second) -> first));
+
+        final List<ExamItemResponse> updatedResponses = new ArrayList<>();
+        final List<ScoringJob> scoringJobs = new ArrayList<>();
+        final Map<UUID, Integer> updatedResponseCountsByPageId = new LinkedHashMap<>();
+        for (final ScoredResponse scoredResponse : scoredResponses) {
+            final IItemResponseUpdate responseUpdate = scoredResponse.getResponseUpdate();
+            final ExamItem existingExamItem = validateExamItem(examInstance, responseUpdate,
+                Optional.ofNullable(examItemsByPosition.get(responseUpdate.getPosition())));
+
+            final ExamItemResponse updatedResponse = buildScoredResponse(exam, existingExamItem, responseUpdate, scoredResponse.getScore(),
+                scoredResponse.getScoreStatus(), scoredResponse.getScoreRationale(), scoredResponse.getScoreLatency());
+            updatedResponses.add(updatedResponse);
+            buildScoringJob(exam, existingExamItem, responseUpdate, updatedResponse).ifPresent(scoringJobs::add);
+
+            if (responseUpdate.getValue() != null) {
+                updatedResponseCountsByPageId.merge(existingExamItem.getExamPageId(), 1, Integer::sum);
+            }
+        }
+
+        examItemCommandRepository.insertResponses(updatedResponses.toArray(new ExamItemResponse[updatedResponses.size()]));
+        scoringJobRepository.create(scoringJobs);
+
+        final List<ExamPage> updatedExamPages = new ArrayList<>();
+        for (final Map.Entry<UUID, Integer> updatedResponseCount : updatedResponseCountsByPageId.entrySet()) {
+            final ExamPage examPage = examPageService.find(updatedResponseCount.getKey())
+                .orElseThrow(() -> new ReturnStatusException("Exam page is no longer present for the updated item"));
+
+            // Each updated response accumulates the page duration, the same as updating them one at a time
+            updatedExamPages.add(ExamPage.Builder.fromExamPage(examPage)
+                .withDuration(pageDuration * updatedResponseCount.getValue() + examPage.getDuration())
+                .build());
+        }
+
+        if (!updatedExamPages.isEmpty()) {
+            examPageService.update(updatedExamPages.toArray(new ExamPage[updatedExamPages.size()]));
+        }
+
+        return scoredResponses.stream()
+            .map(scoredResponse -> new ReturnStatus("updated"))
+            .collect(Collectors.toList());
+    }
+
+    private Exam findExamAcceptingResponses(final ExamInstance examInstance) throws ReturnStatusException {
         final Exam exam = examService.findExam(examInstance.getExamId())
             .orElseThrow(() -> new ReturnStatusException(String.format("Could not find exam %s associated with response", examInstance.getExamId())));
 
@@ -95,8 +192,12 @@ public class ResponseServiceImpl implements ResponseService {
             throw new ReturnStatusException(message);
         }
 
-        final Optional<ExamItem> maybeItem = examItemQueryRepository.findExamItemAndResponse(examInstance.getExamId(), responseUpdate.getPosition());
+        return exam;
+    }
 
+    private ExamItem validateExamItem(final ExamInstance examInstance,
+                                      final IItemResponseUpdate responseUpdate,
+                                      final Optional<ExamItem> maybeItem) throws ReturnStatusException {
         Date dt = null;
         String dateCreated = responseUpdate.getDateCreated();
         try {
@@ -130,7 +231,16 @@ public class ResponseServiceImpl implements ResponseService {
             throw new ReturnStatusException(message);
         }
 
-        final ExamItem existingExamItem = maybeItem.get();
+        return maybeItem.get();
+    }
+
+    private ExamItemResponse buildScoredResponse(final Exam exam,
+                                                 final ExamItem existingExamItem,
+                                                 final IItemResponseUpdate responseUpdate,
+                                                 final int score,
+                                                 final String scoreStatus,
+                                                 final String scoreRationale,
+                                                 final long scoreLatency) {
         final ExamItemResponse.Builder updatedResponseBuilder;
 
         if (existingExamItem.getResponse().isPresent()) {
@@ -150,9 +260,7 @@ public class ResponseServiceImpl implements ResponseService {
         final ExamItemResponseScore.Builder updatedScoreBuilder = new ExamItemResponseScore.Builder();
 
         if (responseUpdate.getValue() == null) {
-            updatedResponseBuilder.withScore(updatedScoreBuilder.build());
-            examItemCommandRepository.insertResponses(updatedResponseBuilder.build());
-            return new ReturnStatus("updated");
+            return updatedResponseBuilder.withScore(updatedScoreBuilder.build()).build();
         }
 
         final Instant now = Instant.now();
@@ -174,21 +282,43 @@ public class ResponseServiceImpl implements ResponseService {
             .withScoringStatus(scoreStatus == null ? null : ExamScoringStatus.fromType(scoreStatus))
             .withScoringRationale(scoreRationale)
             .withScoringDimensions(buildScoreInfoNode(score, "overall", scoreStatus));
-        updatedResponseBuilder
-            .withResponse(StringUtils.replace(responseUpdate.getValue(), "\\", "\\\\"))
-            .withScore(updatedScoreBuilder.build());
 
-        examItemCommandRepository.insertResponses(updatedResponseBuilder.build());
+        return updatedResponseBuilder
+            .withResponse(StringUtils.replace(responseUpdate.getValue(), "\\", "\\\\"))
+            .withScore(updatedScoreBuilder.build())
+            .build();
+    }
 
-        final ExamPage examPage = examPageService.find(existingExamItem.getExamPageId())
-            .orElseThrow(() -> new ReturnStatusException("Exam page is no longer present for the updated item"));
+    /**
+     * Builds the scoring job that queues a response waiting for a machine score when the scoring queue is enabled
+     */
+    private Optional<ScoringJob> buildScoringJob(final Exam exam,
+                                                 final ExamItem examItem,
+                                                 final IItemResponseUpdate responseUpdate,
+                                                 final ExamItemResponse response) {
+        if (!itemScoreSettings.isScoringQueueEnabled() || !response.getScore().isPresent()) {
+            return Optional.empty();
+        }
 
-        final ExamPage updatedExamPage = ExamPage.Builder.fromExamPage(examPage)
-            .withDuration(pageDuration + examPage.getDuration()) // Accumulate the duration
-            .build();
+        final ExamItemResponseScore score = response.getScore().get();
+        if (score.getScoringStatus() != ExamScoringStatus.WAITING_FOR_MACHINE_SCORE || score.getScoreMark() == null) {
+            return Optional.empty();
+        }
 
-        examPageService.update(updatedExamPage);
-        return new ReturnStatus("updated");
+        return Optional.of(new ScoringJob.Builder()
+            .withScoreMark(score.getScoreMark())
+            .withExamId(exam.getId())
+            .withExamItemId(examItem.getId())
+            .withClientName(exam.getClientName())
+            .withPosition(examItem.getPosition())
+            .withSequence(response.getSequence())
+            .withBankKey(examItem.getAssessmentItemBankKey())
+            .withItemKey(examItem.getAssessmentItemKey())
+            .withItemFilePath(examItem.getItemFilePath())
+            .withLanguageCode(exam.getLanguageCode())
+            .withResponse(responseUpdate.getValue())
+            .withScoreSentAt(score.getScoreSentAt())
+            .build());
     }
 
     @Override
@@ -244,13 +374,34 @@ public class ResponseServiceImpl implements ResponseService {
         return returnStatus;
     }
 
+    @Transactional
+    @Override
+    public ReturnStatus updateItemScore(final ScoringJob job,
+                                        final int score,
+                                        final String scoreStatus,
+                                        final String scoreRationale,
+                                        final String scoreDimensions) throws ReturnStatusException {
+        final ReturnStatus returnStatus = new ReturnStatus("updated");
+
+        if (!scoringJobRepository.complete(job, score, scoreStatus, scoreRationale, scoreDimensions)) {
+            returnStatus.setStatus("failed");
+            returnStatus.setAppKey("Response is no longer waiting for a score: " + job.getPosition());
+            returnStatus.setContext("UpdateItemScore");
+        }
+
+        return returnStatus;
+    }
+
     //Pulled directly from StudentDLL
     private String buildScoreInfoNode(Integer score, String scoreDimConstant, String scoreStatus) {
         // (SELECT Score AS "@scorePoint" ,'overall' AS
         // "@scoreDimension",scorestatus AS "@scoreStatus",
         // Example
-        // <ScoreInfo scorePoint="1" scoreDimension="overall" scoreStatus="Scored">
-        return String.format("<ScoreInfo scorePoint=\"%d\" scoreDimension=\"%s\" scoreStatus=\"%s\"><SubScoreList /></ScoreInfo>",
-            score, scoreDimConstant, scoreStatus);
+        // <ScoreInfo scorePoint="1" scoreDimension="overall" scoreStatus="Scored"><SubScoreList/></ScoreInfo>
+        try {
+            return ScoreInfoXmlWriter.write(score, scoreDimConstant, scoreStatus);
+        } catch (final XMLStreamException e) {
+            throw new IllegalStateException("Unable to write the score info of a response", e);
+        }
     }
 }
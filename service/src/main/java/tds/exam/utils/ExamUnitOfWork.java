@@ -0,0 +1,296 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.utils;
+
+import org.joda.time.Instant;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import tds.exam.Exam;
+import tds.exam.ExamAccommodation;
+import tds.exam.ExamPage;
+import tds.exam.ExamSegment;
+
+/**
+ * A request scoped identity map for {@link tds.exam.Exam}, {@link tds.exam.ExamSegment}, {@link tds.exam.ExamPage}
+ * and the {@link tds.exam.ExamAccommodation}s of an exam.
+ * <p>
+ * A unit of work is created for each request and is used between {@link #begin(String)} and {@link #end()}.  The query
+ * repositories check it before going to the database and register what they load, and the command repositories
+ * write through it so later reads in the same request see the state that was just persisted.  The repositories find
+ * the unit of work of the current request through the {@link tds.exam.utils.ExamUnitOfWorkProvider}, and always go
+ * to the database outside of a request or before the unit of work has begun.
+ * </p>
+ * <p>
+ * The work of a request may run on other threads, such as the expandable exam mappers, so the unit of work is thread
+ * safe.  If a transaction that wrote through the unit of work is rolled back, everything registered is discarded so
+ * the rest of the request reloads from the database.
+ * </p>
+ */
+@Component
+@RequestScope
+public class ExamUnitOfWork {
+    private final Map<UUID, Exam> exams = new ConcurrentHashMap<>();
+    private final Map<String, ExamSegment> segments = new ConcurrentHashMap<>();
+    private final Map<UUID, ExamPage> pages = new ConcurrentHashMap<>();
+    private final Map<UUID, List<ExamAccommodation>> accommodations = new ConcurrentHashMap<>();
+    private final AtomicInteger savedQueries = new AtomicInteger();
+    private volatile String name;
+
+    /**
+     * Begins the unit of work of the request
+     *
+     * @param name the name of the unit of work, typically the endpoint handling the request
+     */
+    public void begin(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Ends the unit of work of the request and discards everything registered
+     *
+     * @return the number of database queries the unit of work saved
+     */
+    public int end() {
+        name = null;
+        clear();
+
+        return savedQueries.getAndSet(0);
+    }
+
+    /**
+     * @return {@code true} if the unit of work has begun
+     */
+    public boolean isActive() {
+        return name != null;
+    }
+
+    /**
+     * @return the name of the unit of work if it has begun
+     */
+    public Optional<String> getName() {
+        return Optional.ofNullable(name);
+    }
+
+    /**
+     * @param examId the id of the exam
+     * @return the {@link tds.exam.Exam} if it has already been loaded or written in this unit of work
+     */
+    public Optional<Exam> findExam(final UUID examId) {
+        return hit(exams.get(examId));
+    }
+
+    /**
+     * Registers an {@link tds.exam.Exam} that was loaded from the database
+     *
+     * @param exam the loaded exam
+     */
+    public void registerExam(final Exam exam) {
+        exams.put(exam.getId(), exam);
+    }
+
+    /**
+     * Registers an {@link tds.exam.Exam} that was just written to the database
+     *
+     * @param exam      the written exam
+     * @param changedAt the changed at timestamp that was written with the exam
+     */
+    public void registerUpdatedExam(final Exam exam, final Instant changedAt) {
+        registerRollbackSynchronization();
+
+        // getExamById only returns exams with a language accommodation, so an exam without one cannot be
+        // served from the unit of work
+        if (exam.getLanguageCode() == null) {
+            exams.remove(exam.getId());
+        } else {
+            exams.put(exam.getId(), new Exam.Builder().fromExam(exam).withChangedAt(changedAt).build());
+        }
+    }
+
+    /**
+     * Removes an {@link tds.exam.Exam} so the next read goes to the database
+     *
+     * @param examId the id of the exam
+     */
+    public void evictExam(final UUID examId) {
+        registerRollbackSynchronization();
+        exams.remove(examId);
+    }
+
+    /**
+     * @param examId          the id of the exam
+     * @param segmentPosition the position of the segment
+     * @return the {@link tds.exam.ExamSegment} if it has already been loaded or written in this unit of work
+     */
+    public Optional<ExamSegment> findSegment(final UUID examId, final int segmentPosition) {
+        return hit(segments.get(segmentKey(examId, segmentPosition)));
+    }
+
+    /**
+     * Registers {@link tds.exam.ExamSegment}s that were loaded from the database
+     *
+     * @param segments the loaded segments
+     */
+    public void registerSegments(final Collection<ExamSegment> segments) {
+        segments.forEach(segment ->
+            this.segments.put(segmentKey(segment.getExamId(), segment.getSegmentPosition()), segment));
+    }
+
+    /**
+     * Registers {@link tds.exam.ExamSegment}s that were just written to the database
+     *
+     * @param segments the written segments
+     */
+    public void registerUpdatedSegments(final Collection<ExamSegment> segments) {
+        registerRollbackSynchronization();
+        registerSegments(segments);
+    }
+
+    /**
+     * Removes all the {@link tds.exam.ExamSegment}s of an exam so the next reads go to the database
+     *
+     * @param examId the id of the exam
+     */
+    public void evictSegments(final UUID examId) {
+        registerRollbackSynchronization();
+        segments.values().removeIf(segment -> segment.getExamId().equals(examId));
+    }
+
+    /**
+     * @param pageId the id of the page
+     * @return the {@link tds.exam.ExamPage} if it has already been loaded or written in this unit of work
+     */
+    public Optional<ExamPage> findPage(final UUID pageId) {
+        return hit(pages.get(pageId));
+    }
+
+    /**
+     * Registers {@link tds.exam.ExamPage}s that were loaded from the database
+     *
+     * @param pages the loaded pages
+     */
+    public void registerPages(final Collection<ExamPage> pages) {
+        pages.forEach(page -> this.pages.put(page.getId(), page));
+    }
+
+    /**
+     * Registers {@link tds.exam.ExamPage}s that were just written to the database
+     *
+     * @param pages the written pages
+     */
+    public void registerUpdatedPages(final Collection<ExamPage> pages) {
+        registerRollbackSynchronization();
+
+        // Deleted pages are not returned by the query repository
+        pages.forEach(page -> {
+            if (page.getDeletedAt() == null) {
+                this.pages.put(page.getId(), page);
+            } else {
+                this.pages.remove(page.getId());
+            }
+        });
+    }
+
+    /**
+     * Removes all the {@link tds.exam.ExamPage}s of an exam so the next reads go to the database
+     *
+     * @param examId the id of the exam
+     */
+    public void evictPages(final UUID examId) {
+        registerRollbackSynchronization();
+        pages.values().removeIf(page -> page.getExamId().equals(examId));
+    }
+
+    /**
+     * @param examId the id of the exam
+     * @return all the {@link tds.exam.ExamAccommodation}s of the exam if they have already been loaded in this unit of
+     * work
+     */
+    public Optional<List<ExamAccommodation>> findAccommodations(final UUID examId) {
+        return hit(accommodations.get(examId)).map(ArrayList::new);
+    }
+
+    /**
+     * Registers all the {@link tds.exam.ExamAccommodation}s of an exam that were loaded from the database
+     *
+     * @param examId         the id of the exam
+     * @param accommodations the loaded accommodations
+     */
+    public void registerAccommodations(final UUID examId, final List<ExamAccommodation> accommodations) {
+        this.accommodations.put(examId, new ArrayList<>(accommodations));
+    }
+
+    /**
+     * Removes the {@link tds.exam.ExamAccommodation}s of an exam so the next read goes to the database
+     *
+     * @param examId the id of the exam
+     */
+    public void evictAccommodations(final UUID examId) {
+        registerRollbackSynchronization();
+        accommodations.remove(examId);
+    }
+
+    private <T> Optional<T> hit(final T value) {
+        if (value != null) {
+            savedQueries.incrementAndGet();
+        }
+
+        return Optional.ofNullable(value);
+    }
+
+    private void clear() {
+        exams.clear();
+        segments.clear();
+        pages.clear();
+        accommodations.clear();
+    }
+
+    /*
+     * The synchronization is registered once per transaction.  The transaction is bound to the thread writing through
+     * the unit of work, so the marker is a resource of that transaction rather than a field of the unit of work.
+     */
+    private void registerRollbackSynchronization() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+            || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCompletion(final int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ExamUnitOfWork.this);
+
+                if (status != STATUS_COMMITTED) {
+                    clear();
+                }
+            }
+        });
+    }
+
+    private static String segmentKey(final UUID examId, final int segmentPosition) {
+        return examId + ":" + segmentPosition;
+    }
+}
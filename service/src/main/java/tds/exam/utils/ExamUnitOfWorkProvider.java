@@ -0,0 +1,48 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.utils;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+
+/**
+ * Finds the {@link tds.exam.utils.ExamUnitOfWork} of the current request.  The repositories are also used by the
+ * background workers, where there is no request and so no unit of work.
+ */
+@Component
+public class ExamUnitOfWorkProvider {
+    private final ExamUnitOfWork examUnitOfWork;
+
+    /**
+     * @param examUnitOfWork the request scoped {@link tds.exam.utils.ExamUnitOfWork}
+     */
+    @Autowired
+    public ExamUnitOfWorkProvider(final ExamUnitOfWork examUnitOfWork) {
+        this.examUnitOfWork = examUnitOfWork;
+    }
+
+    /**
+     * @return the {@link tds.exam.utils.ExamUnitOfWork} of the current request if it has begun
+     */
+    public Optional<ExamUnitOfWork> find() {
+        if (RequestContextHolder.getRequestAttributes() == null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(examUnitOfWork).filter(ExamUnitOfWork::isActive);
+    }
+}
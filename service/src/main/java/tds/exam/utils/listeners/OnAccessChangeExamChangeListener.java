@@ -0,0 +1,56 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.utils.listeners;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+import tds.common.EntityUpdate;
+import tds.common.entity.utils.ChangeListener;
+import tds.common.util.Preconditions;
+import tds.exam.Exam;
+import tds.exam.services.ExamAccessTokenService;
+
+/**
+ * Listener to revoke the access tokens issued for an {@link tds.exam.Exam} when its status, session or browser changes,
+ * so the next request for the exam is verified against the database
+ */
+@Component
+public class OnAccessChangeExamChangeListener implements ChangeListener<Exam> {
+    private final ExamAccessTokenService examAccessTokenService;
+
+    @Autowired
+    public OnAccessChangeExamChangeListener(final ExamAccessTokenService examAccessTokenService) {
+        this.examAccessTokenService = examAccessTokenService;
+    }
+
+    @Override
+    public void accept(final EntityUpdate<Exam> examUpdate) {
+        Exam oldExam = examUpdate.getExistingEntity();
+        Exam newExam = examUpdate.getUpdatedEntity();
+
+        Preconditions.checkNotNull(oldExam, "oldExam cannot be null");
+        Preconditions.checkNotNull(newExam, "newExam cannot be null");
+
+        if (Objects.equals(oldExam.getStatus(), newExam.getStatus())
+            && Objects.equals(oldExam.getSessionId(), newExam.getSessionId())
+            && Objects.equals(oldExam.getBrowserId(), newExam.getBrowserId())) {
+            return;
+        }
+
+        examAccessTokenService.revokeTokens(newExam.getId());
+    }
+}
@@ -14,6 +14,7 @@
 package tds.exam.web.endpoints;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -30,16 +31,22 @@ import tds.common.Response;
 import tds.exam.Exam;
 import tds.exam.ExamApproval;
 import tds.exam.ExamInfo;
+import tds.exam.services.ExamAccessTokenService;
 import tds.exam.services.ExamApprovalService;
 
+import static tds.exam.web.interceptors.VerifyAccessInterceptor.ACCESS_TOKEN_HEADER;
+
 @RestController
 @RequestMapping("/exam")
 public class ExamApprovalController {
     private final ExamApprovalService examApprovalService;
+    private final ExamAccessTokenService examAccessTokenService;
 
     @Autowired
-    public ExamApprovalController(ExamApprovalService examApprovalService) {
+    public ExamApprovalController(ExamApprovalService examApprovalService,
+                                  ExamAccessTokenService examAccessTokenService) {
         this.examApprovalService = examApprovalService;
+        this.examAccessTokenService = examAccessTokenService;
     }
 
     @RequestMapping(value = "/{id}/approval", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
@@ -53,7 +60,10 @@ public class ExamApprovalController {
             return new ResponseEntity<>(examApproval, HttpStatus.UNPROCESSABLE_ENTITY);
         }
 
-        return ResponseEntity.ok(examApproval);
+        final HttpHeaders headers = new HttpHeaders();
+        examAccessTokenService.issueToken(examInfo)
+            .ifPresent(token -> headers.add(ACCESS_TOKEN_HEADER, token));
+        return new ResponseEntity<>(examApproval, headers, HttpStatus.OK);
     }
 
     @RequestMapping(value = "/pending-approval/{sessionId}", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
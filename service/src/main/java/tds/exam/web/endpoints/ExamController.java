@@ -40,24 +40,29 @@ import tds.exam.ApproveAccommodationsRequest;
 import tds.exam.Exam;
 import tds.exam.ExamAssessmentMetadata;
 import tds.exam.ExamConfiguration;
+import tds.exam.ExamInfo;
 import tds.exam.ExamStatusCode;
 import tds.exam.ExamStatusRequest;
 import tds.exam.OpenExamRequest;
 import tds.exam.SegmentApprovalRequest;
+import tds.exam.services.ExamAccessTokenService;
 import tds.exam.services.ExamService;
 
 import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
 import static org.springframework.hateoas.mvc.ControllerLinkBuilder.methodOn;
 import static tds.exam.ExamStatusStage.INACTIVE;
+import static tds.exam.web.interceptors.VerifyAccessInterceptor.ACCESS_TOKEN_HEADER;
 
 @RestController
 @RequestMapping("/exam")
 public class ExamController {
     private final ExamService examService;
+    private final ExamAccessTokenService examAccessTokenService;
 
     @Autowired
-    public ExamController(ExamService examService) {
+    public ExamController(ExamService examService, ExamAccessTokenService examAccessTokenService) {
         this.examService = examService;
+        this.examAccessTokenService = examAccessTokenService;
     }
 
     @RequestMapping(value = "/{id}", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
@@ -83,6 +88,7 @@ public class ExamController {
 
         final HttpHeaders headers = new HttpHeaders();
         headers.add("Location", link.getHref());
+        addAccessToken(headers, exam.getData().get());
         return new ResponseEntity<>(exam, headers, HttpStatus.OK);
     }
 
@@ -94,7 +100,9 @@ public class ExamController {
             return new ResponseEntity<>(examConfiguration, HttpStatus.UNPROCESSABLE_ENTITY);
         }
 
-        return ResponseEntity.ok(examConfiguration);
+        final HttpHeaders headers = new HttpHeaders();
+        addAccessToken(headers, examConfiguration.getData().get().getExam());
+        return new ResponseEntity<>(examConfiguration, headers, HttpStatus.OK);
     }
 
     @RequestMapping(value = "/{examId}/status", method = RequestMethod.PUT, produces = MediaType.APPLICATION_JSON_VALUE)
@@ -183,4 +191,9 @@ public class ExamController {
 
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    private void addAccessToken(final HttpHeaders headers, final Exam exam) {
+        examAccessTokenService.issueToken(new ExamInfo(exam.getId(), exam.getSessionId(), exam.getBrowserId()))
+            .ifPresent(token -> headers.add(ACCESS_TOKEN_HEADER, token));
+    }
+}
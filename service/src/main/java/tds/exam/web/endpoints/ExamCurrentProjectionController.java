@@ -0,0 +1,50 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.web.endpoints;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import tds.exam.models.ExamCurrentProjectionReport;
+import tds.exam.services.ExamCurrentProjectionService;
+
+@RestController
+@RequestMapping("/exam/projection")
+public class ExamCurrentProjectionController {
+    private static final String DEFAULT_BATCH_SIZE = "1000";
+
+    private final ExamCurrentProjectionService examCurrentProjectionService;
+
+    @Autowired
+    public ExamCurrentProjectionController(final ExamCurrentProjectionService examCurrentProjectionService) {
+        this.examCurrentProjectionService = examCurrentProjectionService;
+    }
+
+    @GetMapping(value = "verify", produces = MediaType.APPLICATION_JSON_VALUE)
+    ResponseEntity<ExamCurrentProjectionReport> verify(@RequestParam(defaultValue = DEFAULT_BATCH_SIZE) final int batchSize) {
+        return ResponseEntity.ok(examCurrentProjectionService.verify(batchSize));
+    }
+
+    @PostMapping(value = "rebuild", produces = MediaType.APPLICATION_JSON_VALUE)
+    ResponseEntity<ExamCurrentProjectionReport> rebuild(@RequestParam(defaultValue = "true") final boolean onlyOutOfDate,
+                                                        @RequestParam(defaultValue = DEFAULT_BATCH_SIZE) final int batchSize) {
+        return ResponseEntity.ok(examCurrentProjectionService.rebuild(onlyOutOfDate, batchSize));
+    }
+}
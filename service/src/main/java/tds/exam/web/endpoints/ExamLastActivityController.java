@@ -0,0 +1,43 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.web.endpoints;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import tds.exam.models.ExamLastActivityBackfillReport;
+import tds.exam.services.ExamLastActivityService;
+
+@RestController
+@RequestMapping("/exam/last-activity")
+public class ExamLastActivityController {
+    private static final String DEFAULT_BATCH_SIZE = "1000";
+
+    private final ExamLastActivityService examLastActivityService;
+
+    @Autowired
+    public ExamLastActivityController(final ExamLastActivityService examLastActivityService) {
+        this.examLastActivityService = examLastActivityService;
+    }
+
+    @PostMapping(value = "backfill", produces = MediaType.APPLICATION_JSON_VALUE)
+    ResponseEntity<ExamLastActivityBackfillReport> backfill(@RequestParam(defaultValue = DEFAULT_BATCH_SIZE) final int batchSize) {
+        return ResponseEntity.ok(examLastActivityService.backfill(batchSize));
+    }
+}
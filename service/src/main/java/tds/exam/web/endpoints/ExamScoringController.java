@@ -20,12 +20,15 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
-import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLStreamException;
 import java.io.ByteArrayOutputStream;
-import java.io.StringReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -38,8 +41,7 @@ import tds.score.model.ExamInstance;
 import tds.score.services.ItemScoringService;
 import tds.student.sql.data.ItemResponseUpdate;
 import tds.student.sql.data.ItemResponseUpdateStatus;
-import tds.support.job.TestResultsWrapper;
-import tds.trt.model.TDSReport;
+import tds.score.xml.TestResultsXmlReader;
 
 /**
  * This controller is responsible for providing scoring information for exams.
@@ -50,18 +52,13 @@ public class ExamScoringController {
 
     private final ItemScoringService itemScoringService;
     private final MessagingService messagingService;
-    private final Marshaller marshaller;
-    private final Unmarshaller unmarshaller;
+    private final TestResultsXmlReader testResultsXmlReader;
 
     @Autowired
     ExamScoringController(final ItemScoringService itemScoringService, final MessagingService messagingService) throws JAXBException {
         this.itemScoringService = itemScoringService;
         this.messagingService = messagingService;
-
-        final JAXBContext wrapperContext = JAXBContext.newInstance(TestResultsWrapper.class);
-        this.marshaller = wrapperContext.createMarshaller();
-        final JAXBContext context = JAXBContext.newInstance(TDSReport.class);
-        this.unmarshaller = context.createUnmarshaller();
+        this.testResultsXmlReader = new TestResultsXmlReader();
     }
 
     @RequestMapping(value = "/responses", method = RequestMethod.PUT, produces = MediaType.APPLICATION_JSON_VALUE)
@@ -80,16 +77,19 @@ public class ExamScoringController {
     @RequestMapping(value = "/rescore/{jobId}", method = RequestMethod.PUT)
     public ResponseEntity<NoContentResponseResource> rescoreTestResultsTransmission(@PathVariable final UUID examId,
                                                                                     @PathVariable final String jobId,
-                                                                                    @RequestBody final String trtXml) throws ReturnStatusException, JAXBException {
-        final TDSReport testResults = (TDSReport) unmarshaller.unmarshal(new StringReader(trtXml));
-        final Optional<ValidationError> maybeError = itemScoringService.rescoreTestResults(examId, testResults);
-        final TestResultsWrapper wrapper = new TestResultsWrapper(jobId, testResults);
+                                                                                    final Reader trtXml)
+        throws ReturnStatusException, JAXBException, XMLStreamException, IOException {
+        // The TRT is rescored an item at a time as it is read from the request, rather than unmarshalled as a whole
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        final Optional<ValidationError> maybeError;
+        try (final Writer writer = new OutputStreamWriter(stream, StandardCharsets.UTF_8)) {
+            maybeError = testResultsXmlReader.read(jobId, trtXml, writer,
+                (testResults, item) -> itemScoringService.rescoreItem(examId, testResults, item, Collections.emptySet()));
+        }
 
         final boolean isSuccessful = !maybeError.isPresent();
 
         if (isSuccessful) {
-            final ByteArrayOutputStream stream = new ByteArrayOutputStream();
-            marshaller.marshal(wrapper, stream);
             messagingService.sendExamRescore(examId, stream.toByteArray());
         }
 
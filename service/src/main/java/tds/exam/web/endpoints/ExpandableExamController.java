@@ -13,9 +13,12 @@
 
 package tds.exam.web.endpoints;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -28,6 +31,7 @@ import java.util.UUID;
 import tds.common.web.exceptions.NotFoundException;
 import tds.exam.ExpandableExam;
 import tds.exam.ExpandableExamAttributes;
+import tds.exam.ExpandableExamChanges;
 import tds.exam.services.ExpandableExamService;
 
 @RestController
@@ -42,10 +46,32 @@ public class ExpandableExamController {
     @RequestMapping(value = "/session/{sessionId}", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
     ResponseEntity<List<ExpandableExam>> findExamsForSessionId(@PathVariable final UUID sessionId,
                                                                @RequestParam(required = false) final Set<String> statusNot,
+                                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch,
                                                                @RequestParam(required = false) final ExpandableExamAttributes... expandableAttribute) {
+        // The session version is checked before the exams are expanded so an unchanged session costs a single lookup
+        final String eTag = eTag(expandableExamService.findSessionVersion(sessionId));
+        if (eTag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
         final List<ExpandableExam> exams = expandableExamService.findExamsBySessionId(sessionId, statusNot, expandableAttribute);
 
-        return ResponseEntity.ok(exams);
+        return ResponseEntity.ok().eTag(eTag).body(exams);
+    }
+
+    @RequestMapping(value = "/session/{sessionId}/changes", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    ResponseEntity<ExpandableExamChanges> findExamChangesForSessionId(@PathVariable final UUID sessionId,
+                                                                      @RequestParam final long since,
+                                                                      @RequestParam(required = false) final Set<String> statusNot,
+                                                                      @RequestParam(required = false) final ExpandableExamAttributes... expandableAttribute) {
+        final long version = expandableExamService.findSessionVersion(sessionId);
+        if (since == version) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag(version)).build();
+        }
+
+        final ExpandableExamChanges changes = expandableExamService.findExamChangesBySessionId(sessionId, since, statusNot, expandableAttribute);
+
+        return ResponseEntity.ok().eTag(eTag(changes.getVersion())).body(changes);
     }
 
     @RequestMapping(value = "/{examId}/expandable", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
@@ -56,4 +82,8 @@ public class ExpandableExamController {
 
         return ResponseEntity.ok(expandableExam);
     }
+
+    private static String eTag(final long sessionVersion) {
+        return "\"" + sessionVersion + "\"";
+    }
 }
@@ -0,0 +1,77 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.web.endpoints;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import tds.common.ValidationError;
+import tds.common.web.resources.NoContentResponseResource;
+import tds.exam.RescoreJobProgress;
+import tds.exam.RescoreJobRequest;
+import tds.exam.services.RescoreJobService;
+
+/**
+ * Bulk rescoring of exams.  Unlike {@link tds.exam.web.endpoints.ExamScoringController}, submitting an exam only
+ * queues it; the exam is rescored and its results published in the background.
+ */
+@RestController
+@RequestMapping("/exam/rescore-jobs")
+public class RescoreJobController {
+    private final RescoreJobService rescoreJobService;
+
+    @Autowired
+    public RescoreJobController(final RescoreJobService rescoreJobService) {
+        this.rescoreJobService = rescoreJobService;
+    }
+
+    @RequestMapping(value = "/{jobId}", method = RequestMethod.PUT, consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void createRescoreJob(@PathVariable final UUID jobId, @RequestBody final RescoreJobRequest request) {
+        rescoreJobService.createRescoreJob(jobId, request.getItemKeys());
+    }
+
+    @RequestMapping(value = "/{jobId}/exams/{examId}", method = RequestMethod.PUT)
+    public ResponseEntity<NoContentResponseResource> submitExam(@PathVariable final UUID jobId,
+                                                                @PathVariable final UUID examId,
+                                                                @RequestBody final String trtXml) {
+        final Optional<ValidationError> maybeError = rescoreJobService.submitExam(jobId, examId, trtXml);
+
+        return maybeError.isPresent()
+            ? new ResponseEntity<>(new NoContentResponseResource(maybeError.get()), HttpStatus.UNPROCESSABLE_ENTITY)
+            : new ResponseEntity<>(new NoContentResponseResource(), HttpStatus.ACCEPTED);
+    }
+
+    @RequestMapping(value = "/{jobId}", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<RescoreJobProgress> findProgress(@PathVariable final UUID jobId) {
+        final Optional<RescoreJobProgress> maybeProgress = rescoreJobService.findProgress(jobId);
+
+        if (!maybeProgress.isPresent()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
+        return ResponseEntity.ok(maybeProgress.get());
+    }
+}
@@ -0,0 +1,64 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.web.interceptors;
+
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import tds.exam.utils.ExamUnitOfWork;
+
+/**
+ * Binds an {@link tds.exam.utils.ExamUnitOfWork} to the request so an exam, its segments and its pages are only loaded
+ * from the database once per request.  This interceptor must be registered before the
+ * {@link tds.exam.web.interceptors.VerifyAccessInterceptor} so the exam loaded to verify access seeds the unit of work.
+ * <p>
+ * The number of database queries saved by each request is recorded once, when the request completes, in the
+ * {@code exam.unit-of-work.saved-queries.[endpoint]} histogram.
+ * </p>
+ */
+public class ExamUnitOfWorkInterceptor extends HandlerInterceptorAdapter {
+    static final String SAVED_QUERIES_METRIC_PREFIX = "histogram.exam.unit-of-work.saved-queries.";
+
+    private final ExamUnitOfWork examUnitOfWork;
+    private final GaugeService gaugeService;
+
+    public ExamUnitOfWorkInterceptor(final ExamUnitOfWork examUnitOfWork, final GaugeService gaugeService) {
+        this.examUnitOfWork = examUnitOfWork;
+        this.gaugeService = gaugeService;
+    }
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response, final Object handler) {
+        if (handler instanceof HandlerMethod) {
+            final HandlerMethod handlerMethod = (HandlerMethod) handler;
+            examUnitOfWork.begin(handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName());
+        }
+
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(final HttpServletRequest request, final HttpServletResponse response, final Object handler, final Exception ex) {
+        if (!examUnitOfWork.isActive()) {
+            return;
+        }
+
+        final String metricName = SAVED_QUERIES_METRIC_PREFIX + examUnitOfWork.getName().orElse("unknown");
+        gaugeService.submit(metricName, examUnitOfWork.end());
+    }
+}
@@ -25,6 +25,7 @@ import java.util.UUID;
 import tds.common.Response;
 import tds.exam.ExamApproval;
 import tds.exam.ExamInfo;
+import tds.exam.services.ExamAccessTokenService;
 import tds.exam.services.ExamApprovalService;
 import tds.exam.web.annotations.VerifyAccess;
 import tds.exam.web.exceptions.ValidationException;
@@ -33,12 +34,21 @@ import tds.exam.web.exceptions.ValidationException;
  * Verifies access for a user based on the ExamId, BrowserId and SessionId.
  * This is used when a controller endpoint uses the {@link tds.exam.web.annotations.VerifyAccess} annotation
  * The controller URL must follow the convention /exam/{examId}/[path]?sessionId=xxx&browserId=yyy
+ * <p>
+ * A request carrying a valid access token in the {@value #ACCESS_TOKEN_HEADER} header is verified without reading the
+ * exam.  Otherwise the exam's approval is checked and a new token is returned in the same header.
+ * </p>
  */
 public class VerifyAccessInterceptor extends HandlerInterceptorAdapter {
+    public static final String ACCESS_TOKEN_HEADER = "Exam-Access-Token";
+
     private ExamApprovalService examApprovalService;
+    private ExamAccessTokenService examAccessTokenService;
 
-    public VerifyAccessInterceptor(final ExamApprovalService examApprovalService) {
+    public VerifyAccessInterceptor(final ExamApprovalService examApprovalService,
+                                   final ExamAccessTokenService examAccessTokenService) {
         this.examApprovalService = examApprovalService;
+        this.examAccessTokenService = examAccessTokenService;
     }
 
     @Override
@@ -77,12 +87,22 @@ public class VerifyAccessInterceptor extends HandlerInterceptorAdapter {
             throw new IllegalArgumentException("VerifyAccess: The browser and session IDs are required.");
         }
 
-        Response<ExamApproval> approval = examApprovalService.getApproval(new ExamInfo(examId, sessionId, browserId));
+        ExamInfo examInfo = new ExamInfo(examId, sessionId, browserId);
+        String accessToken = request.getHeader(ACCESS_TOKEN_HEADER);
+
+        if (accessToken != null && examAccessTokenService.isValid(accessToken, examInfo)) {
+            return true;
+        }
+
+        Response<ExamApproval> approval = examApprovalService.getApproval(examInfo);
 
         if (approval.getError().isPresent()) {
             throw new ValidationException(approval.getError().get());
         }
 
+        examAccessTokenService.issueToken(examInfo)
+            .ifPresent(token -> response.setHeader(ACCESS_TOKEN_HEADER, token));
+
         return true;
     }
 }
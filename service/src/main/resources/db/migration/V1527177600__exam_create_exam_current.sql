@@ -0,0 +1,118 @@
+/***********************************************************************************************************************
+  File: V1527177600__exam_create_exam_current.sql
+
+  Desc: Creates the exam_current table.  exam_event is append-only, so finding the current state of an exam requires
+  finding the latest event for the exam along with the latest language accommodation.  exam_current is a projection of
+  that state containing a single row per exam.  It is maintained by the exam command repositories in the same
+  transaction as the exam_event and exam_accommodation inserts so reads can be single row primary key lookups.
+
+  The existing exams are projected from their latest exam_event and language accommodation.
+
+***********************************************************************************************************************/
+USE exam;
+
+DROP TABLE IF EXISTS exam_current;
+
+CREATE TABLE exam_current (
+  exam_id CHAR(36) CHARACTER SET utf8 COLLATE utf8_unicode_ci NOT NULL,
+  exam_event_id INT(11) NOT NULL,
+  session_id CHAR(36) CHARACTER SET utf8 COLLATE utf8_unicode_ci NOT NULL,
+  browser_id VARBINARY(16) DEFAULT NULL,
+  language_code VARCHAR(50) DEFAULT NULL,
+  attempts INT(11) NOT NULL DEFAULT 0,
+  status VARCHAR(50) NOT NULL,
+  status_changed_at DATETIME(3) NOT NULL,
+  status_change_reason VARCHAR(255) DEFAULT NULL,
+  max_items INT(11) NOT NULL DEFAULT 0,
+  expires_at DATETIME(3) DEFAULT NULL,
+  changed_at DATETIME(3) DEFAULT NULL,
+  deleted_at DATETIME(3) DEFAULT NULL,
+  completed_at DATETIME(3) DEFAULT NULL,
+  scored_at DATETIME(3) DEFAULT NULL,
+  started_at DATETIME(3) DEFAULT NULL,
+  abnormal_starts INT(11) NOT NULL DEFAULT 0,
+  waiting_for_segment_approval_position INT(11) DEFAULT -1,
+  current_segment_position INT(11) DEFAULT NULL,
+  custom_accommodations BIT(1) NOT NULL DEFAULT b'0',
+  browser_user_agent VARCHAR(250) DEFAULT NULL,
+  resumptions INT(11) NOT NULL DEFAULT 0,
+  restarts_and_resumptions INT(11) NOT NULL DEFAULT 0,
+  updated_at DATETIME(3) NOT NULL,
+  PRIMARY KEY (exam_id),
+  INDEX ix_exam_current_session_id_status (session_id, status),
+  INDEX ix_exam_current_expires_at (expires_at),
+  CONSTRAINT fk_exam_current_exam_id_exam FOREIGN KEY (exam_id) REFERENCES exam(id)
+);
+
+INSERT INTO exam_current (
+  exam_id,
+  exam_event_id,
+  session_id,
+  browser_id,
+  language_code,
+  attempts,
+  status,
+  status_changed_at,
+  status_change_reason,
+  max_items,
+  expires_at,
+  changed_at,
+  deleted_at,
+  completed_at,
+  scored_at,
+  started_at,
+  abnormal_starts,
+  waiting_for_segment_approval_position,
+  current_segment_position,
+  custom_accommodations,
+  browser_user_agent,
+  resumptions,
+  restarts_and_resumptions,
+  updated_at
+)
+SELECT
+  ee.exam_id,
+  ee.id,
+  ee.session_id,
+  ee.browser_id,
+  (
+    SELECT
+      code
+    FROM
+      exam_accommodation
+    WHERE
+      exam_id = ee.exam_id
+      AND type = 'Language'
+    ORDER BY created_at DESC
+    LIMIT 1
+  ),
+  ee.attempts,
+  ee.status,
+  ee.status_changed_at,
+  ee.status_change_reason,
+  ee.max_items,
+  ee.expires_at,
+  ee.changed_at,
+  ee.deleted_at,
+  ee.completed_at,
+  ee.scored_at,
+  ee.started_at,
+  ee.abnormal_starts,
+  ee.waiting_for_segment_approval_position,
+  ee.current_segment_position,
+  ee.custom_accommodations,
+  ee.browser_user_agent,
+  ee.resumptions,
+  ee.restarts_and_resumptions,
+  UTC_TIMESTAMP(3)
+FROM
+  exam_event ee
+JOIN (
+  SELECT
+    exam_id,
+    MAX(id) AS id
+  FROM
+    exam_event
+  GROUP BY exam_id
+) last_event
+  ON last_event.id = ee.id;
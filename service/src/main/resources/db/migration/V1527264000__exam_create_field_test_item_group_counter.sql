@@ -0,0 +1,39 @@
+/***********************************************************************************************************************
+  File: V1527264000__exam_create_field_test_item_group_counter.sql
+
+  Desc: Creates the field_test_item_group_counter table.  The field test item group selector balances exposure by
+  assigning the least used field test item groups of a segment.  The counters are shared by every exam service
+  instance; each instance accumulates its assignments in memory and periodically adds them to these rows in a single
+  batch.
+
+  The counters are seeded with the field test item groups already assigned in field_test_item_group.
+
+***********************************************************************************************************************/
+USE exam;
+
+DROP TABLE IF EXISTS field_test_item_group_counter;
+
+CREATE TABLE field_test_item_group_counter (
+  segment_key VARCHAR(200) NOT NULL,
+  group_key VARCHAR(60) NOT NULL,
+  occurrences BIGINT NOT NULL DEFAULT 0,
+  updated_at DATETIME(3) NOT NULL,
+  PRIMARY KEY (segment_key, group_key)
+);
+
+INSERT INTO field_test_item_group_counter (
+  segment_key,
+  group_key,
+  occurrences,
+  updated_at
+)
+SELECT
+  segment_key,
+  group_key,
+  COUNT(*),
+  UTC_TIMESTAMP(3)
+FROM
+  field_test_item_group
+GROUP BY
+  segment_key,
+  group_key;
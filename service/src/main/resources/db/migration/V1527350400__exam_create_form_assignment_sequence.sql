@@ -0,0 +1,19 @@
+/***********************************************************************************************************************
+  File: V1527350400__exam_create_form_assignment_sequence.sql
+
+  Desc: Creates the form_assignment_sequence table.  Fixed form segments are assigned their forms round robin.  When
+  the sequence is shared, every exam service instance takes the next form of a segment and language from this table
+  so the forms stay balanced across instances and restarts.
+
+***********************************************************************************************************************/
+USE exam;
+
+DROP TABLE IF EXISTS form_assignment_sequence;
+
+CREATE TABLE form_assignment_sequence (
+  segment_key VARCHAR(200) NOT NULL,
+  language_code VARCHAR(50) NOT NULL,
+  next_value BIGINT NOT NULL,
+  updated_at DATETIME(3) NOT NULL,
+  PRIMARY KEY (segment_key, language_code)
+);
@@ -0,0 +1,23 @@
+/***********************************************************************************************************************
+  File: V1527436800__exam_create_exam_expiration_checkpoint.sql
+
+  Desc: Creates the exam_expiration_checkpoint table.  The expiration worker walks a client's expirable exams in
+  expires_at, exam_id order (served by ix_exam_current_expires_at, which InnoDB extends with the exam_id primary key).
+  After each set of chunks it records the last exam it processed so an interrupted pass resumes where it stopped.
+
+  The row also holds a lease so only one exam service instance expires a client's exams at a time.
+
+***********************************************************************************************************************/
+USE exam;
+
+DROP TABLE IF EXISTS exam_expiration_checkpoint;
+
+CREATE TABLE exam_expiration_checkpoint (
+  client_name VARCHAR(100) NOT NULL,
+  last_expires_at DATETIME(3) DEFAULT NULL,
+  last_exam_id CHAR(36) CHARACTER SET utf8 COLLATE utf8_unicode_ci DEFAULT NULL,
+  lease_owner VARCHAR(50) DEFAULT NULL,
+  lease_expires_at DATETIME(3) DEFAULT NULL,
+  updated_at DATETIME(3) NOT NULL,
+  PRIMARY KEY (client_name)
+);
@@ -0,0 +1,34 @@
+/***********************************************************************************************************************
+  File: V1527523200__exam_create_session_change.sql
+
+  Desc: Creates the session_change and session_exam_change tables backing the proctor session change feed.
+  session_change holds a version per session that is incremented whenever the exam command repositories change an
+  exam in the session.  It is incremented just before the transaction commits, so the versions of a session commit in
+  order and its row is only locked while the transaction commits.  session_exam_change holds the version at which
+  each exam in the session last changed, so a proctor can fetch only the exams that changed since the version it last
+  saw.
+
+  A session without a session_change row has not changed since this migration and is at version 0.
+
+***********************************************************************************************************************/
+USE exam;
+
+DROP TABLE IF EXISTS session_exam_change;
+DROP TABLE IF EXISTS session_change;
+
+CREATE TABLE session_change (
+  session_id CHAR(36) CHARACTER SET utf8 COLLATE utf8_unicode_ci NOT NULL,
+  version BIGINT NOT NULL,
+  updated_at DATETIME(3) NOT NULL,
+  PRIMARY KEY (session_id)
+);
+
+CREATE TABLE session_exam_change (
+  session_id CHAR(36) CHARACTER SET utf8 COLLATE utf8_unicode_ci NOT NULL,
+  exam_id CHAR(36) CHARACTER SET utf8 COLLATE utf8_unicode_ci NOT NULL,
+  version BIGINT NOT NULL,
+  changed_at DATETIME(3) NOT NULL,
+  PRIMARY KEY (session_id, exam_id),
+  INDEX ix_session_exam_change_session_id_version (session_id, version),
+  INDEX ix_session_exam_change_exam_id (exam_id)
+);
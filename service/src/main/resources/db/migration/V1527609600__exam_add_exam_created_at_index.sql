@@ -0,0 +1,10 @@
+/***********************************************************************************************************************
+  File: V1527609600__exam_add_exam_created_at_index.sql
+
+  Desc: Adds a covering index for finding the assessments of the exams created since a point in time, which is used to
+  pre-warm the assessment cache when the service starts.
+
+***********************************************************************************************************************/
+USE exam;
+
+CREATE INDEX ix_exam_created_at_client_name_assessment_key ON exam(created_at, client_name, assessment_key);
@@ -0,0 +1,24 @@
+/***********************************************************************************************************************
+  File: V1527696000__exam_create_exam_last_activity.sql
+
+  Desc: Creates the exam_last_activity table.  Resuming an exam compares the time of the student's last activity - the
+  latest of the exam being paused, a response being saved or a page being created - with the exam restart window.
+  Finding it required aggregating exam_event, exam_item_response and exam_page.  exam_last_activity holds the time in a
+  single row per exam that is moved forward by the exam command repositories in the same transaction as those writes,
+  so the resume check is a single row primary key lookup.
+
+  The rows for exams that are in progress when this migration runs are backfilled by the service's
+  POST /exam/last-activity/backfill endpoint once every instance writes the table.  Until an exam has a row its last
+  activity is aggregated from the history as before.
+
+***********************************************************************************************************************/
+USE exam;
+
+DROP TABLE IF EXISTS exam_last_activity;
+
+CREATE TABLE exam_last_activity (
+  exam_id CHAR(36) CHARACTER SET utf8 COLLATE utf8_unicode_ci NOT NULL,
+  last_student_activity_at DATETIME(3) NOT NULL,
+  updated_at DATETIME(3) NOT NULL,
+  PRIMARY KEY (exam_id)
+);
@@ -0,0 +1,43 @@
+/***********************************************************************************************************************
+  File: V1527782400__exam_create_scoring_job.sql
+
+  Desc: Creates the scoring_job table, a durable queue of the responses waiting for a machine score.  A job is created
+  in the same transaction as the response it scores and is deleted once the score is saved, so a response is never
+  left waiting because an instance stopped or a scoring callback was lost.
+
+  Any exam service instance claims a batch of jobs by taking a lease on them.  A job whose lease expires is claimed
+  again, and a job whose scoring fails is retried after next_attempt_at.
+
+  The index on exam_item_response lets the sweeper find the responses that have been waiting too long without a job.
+
+***********************************************************************************************************************/
+USE exam;
+
+DROP TABLE IF EXISTS scoring_job;
+
+CREATE TABLE scoring_job (
+  score_mark CHAR(36) CHARACTER SET utf8 COLLATE utf8_unicode_ci NOT NULL,
+  exam_id CHAR(36) CHARACTER SET utf8 COLLATE utf8_unicode_ci NOT NULL,
+  exam_item_id CHAR(36) CHARACTER SET utf8 COLLATE utf8_unicode_ci NOT NULL,
+  client_name VARCHAR(100) NOT NULL,
+  position INT NOT NULL,
+  sequence INT NOT NULL,
+  bank_key BIGINT NOT NULL,
+  item_key BIGINT NOT NULL,
+  item_file_path VARCHAR(500) NOT NULL,
+  language_code VARCHAR(50) DEFAULT NULL,
+  response TEXT NOT NULL,
+  score_sent_at DATETIME(3) NOT NULL,
+  attempts INT NOT NULL DEFAULT 0,
+  next_attempt_at DATETIME(3) NOT NULL,
+  lease_owner VARCHAR(50) DEFAULT NULL,
+  lease_expires_at DATETIME(3) DEFAULT NULL,
+  last_error VARCHAR(1000) DEFAULT NULL,
+  created_at DATETIME(3) NOT NULL,
+  PRIMARY KEY (score_mark),
+  INDEX ix_scoring_job_next_attempt_at (next_attempt_at),
+  INDEX ix_scoring_job_lease_owner (lease_owner)
+);
+
+ALTER TABLE exam_item_response
+  ADD INDEX ix_exam_item_response_scoring_status_score_sent_at (scoring_status, score_sent_at);
@@ -0,0 +1,41 @@
+/***********************************************************************************************************************
+  File: V1527868800__exam_create_rescore_job.sql
+
+  Desc: Creates the rescore_job and rescore_job_exam tables backing bulk rescoring.  A rescore job holds an optional
+  filter of the items to rescore, and rescore_job_exam holds the TRT of each exam submitted to the job along with the
+  progress of the exam, so a job resumes where it left off when an instance stops.
+
+  An exam is pending until it is rescored, then rescored until its results are published.  Exams are claimed by any
+  exam service instance by taking a lease on them, and an exam whose lease expires is claimed again.  The TRT and the
+  rescored results are cleared once they are no longer needed.  The rescored results are kept as the UTF-8 encoded
+  message published to the exam rescore queue.
+
+***********************************************************************************************************************/
+USE exam;
+
+DROP TABLE IF EXISTS rescore_job_exam;
+DROP TABLE IF EXISTS rescore_job;
+
+CREATE TABLE rescore_job (
+  id CHAR(36) CHARACTER SET utf8 COLLATE utf8_unicode_ci NOT NULL,
+  item_keys TEXT DEFAULT NULL,
+  created_at DATETIME(3) NOT NULL,
+  PRIMARY KEY (id)
+);
+
+CREATE TABLE rescore_job_exam (
+  job_id CHAR(36) CHARACTER SET utf8 COLLATE utf8_unicode_ci NOT NULL,
+  exam_id CHAR(36) CHARACTER SET utf8 COLLATE utf8_unicode_ci NOT NULL,
+  status VARCHAR(20) NOT NULL,
+  test_results MEDIUMTEXT DEFAULT NULL,
+  rescored_results MEDIUMBLOB DEFAULT NULL,
+  attempts INT NOT NULL DEFAULT 0,
+  lease_owner VARCHAR(50) DEFAULT NULL,
+  lease_expires_at DATETIME(3) DEFAULT NULL,
+  last_error VARCHAR(1000) DEFAULT NULL,
+  created_at DATETIME(3) NOT NULL,
+  rescored_at DATETIME(3) DEFAULT NULL,
+  PRIMARY KEY (job_id, exam_id),
+  INDEX ix_rescore_job_exam_status_created_at (status, created_at),
+  INDEX ix_rescore_job_exam_lease_owner (lease_owner)
+);
@@ -0,0 +1,68 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.configuration;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CallerRunsExecutorsTest {
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = CallerRunsExecutors.newExecutor("caller-runs-test-", 1, 1);
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldRunOnDaemonThreadsNamedByThePrefix() throws Exception {
+        final Future<Thread> thread = executor.submit(Thread::currentThread);
+
+        assertThat(thread.get(10, TimeUnit.SECONDS).getName()).startsWith("caller-runs-test-");
+        assertThat(thread.get().isDaemon()).isTrue();
+    }
+
+    @Test
+    public void shouldRunOnTheSubmittingThreadWhenTheQueueIsFull() throws Exception {
+        executor.execute(this::awaitRelease);
+        executor.execute(this::awaitRelease);
+
+        final Future<Thread> thread = executor.submit(Thread::currentThread);
+
+        assertThat(thread.isDone()).isTrue();
+        assertThat(thread.get()).isSameAs(Thread.currentThread());
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
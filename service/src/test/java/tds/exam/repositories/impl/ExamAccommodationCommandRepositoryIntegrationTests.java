@@ -30,6 +30,8 @@ import tds.exam.builder.ExamBuilder;
 import tds.exam.repositories.ExamAccommodationCommandRepository;
 import tds.exam.repositories.ExamAccommodationQueryRepository;
 import tds.exam.repositories.ExamCommandRepository;
+import tds.exam.utils.ExamUnitOfWork;
+import tds.exam.utils.ExamUnitOfWorkProvider;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -59,8 +61,8 @@ public class ExamAccommodationCommandRepositoryIntegrationTests {
         exam = new ExamBuilder().build();
         examCommandRepository.insert(exam);
 
-        examAccommodationCommandRepository = new ExamAccommodationCommandRepositoryImpl(jdbcTemplate);
-        accommodationQueryRepository = new ExamAccommodationQueryRepositoryImpl(jdbcTemplate);
+        examAccommodationCommandRepository = new ExamAccommodationCommandRepositoryImpl(jdbcTemplate, new ExamChangeCommandRepositoryImpl(jdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        accommodationQueryRepository = new ExamAccommodationQueryRepositoryImpl(jdbcTemplate, new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
     }
 
     @Test
@@ -38,6 +38,8 @@ import tds.exam.models.ExamAccommodationFilter;
 import tds.exam.repositories.ExamAccommodationCommandRepository;
 import tds.exam.repositories.ExamAccommodationQueryRepository;
 import tds.exam.repositories.ExamCommandRepository;
+import tds.exam.utils.ExamUnitOfWork;
+import tds.exam.utils.ExamUnitOfWorkProvider;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static tds.exam.builder.ExamAccommodationBuilder.SampleData.DEFAULT_ACCOMMODATION_CODE;
@@ -67,8 +69,8 @@ public class ExamAccommodationQueryRepositoryIntegrationTests {
             .build();
         examCommandRepository.insert(exam);
 
-        examAccommodationQueryRepository = new ExamAccommodationQueryRepositoryImpl(jdbcTemplate);
-        examAccommodationCommandRepository = new ExamAccommodationCommandRepositoryImpl(jdbcTemplate);
+        examAccommodationQueryRepository = new ExamAccommodationQueryRepositoryImpl(jdbcTemplate, new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        examAccommodationCommandRepository = new ExamAccommodationCommandRepositoryImpl(jdbcTemplate, new ExamChangeCommandRepositoryImpl(jdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
 
         final List<ExamAccommodation> mockExamAccommodations = new ArrayList<>();
         // Two accommodations for the first Exam ID
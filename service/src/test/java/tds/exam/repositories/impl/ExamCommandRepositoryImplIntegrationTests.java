@@ -37,6 +37,8 @@ import tds.exam.builder.ExamBuilder;
 import tds.exam.repositories.ExamAccommodationCommandRepository;
 import tds.exam.repositories.ExamCommandRepository;
 import tds.exam.repositories.ExamQueryRepository;
+import tds.exam.utils.ExamUnitOfWork;
+import tds.exam.utils.ExamUnitOfWorkProvider;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -55,9 +57,9 @@ public class ExamCommandRepositoryImplIntegrationTests {
 
     @Before
     public void setUp() {
-        examCommandRepository = new ExamCommandRepositoryImpl(jdbcTemplate);
-        examQueryRepository = new ExamQueryRepositoryImpl(jdbcTemplate);
-        examAccommodationCommandRepository = new ExamAccommodationCommandRepositoryImpl(jdbcTemplate);
+        examCommandRepository = new ExamCommandRepositoryImpl(jdbcTemplate, new ExamChangeCommandRepositoryImpl(jdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        examQueryRepository = new ExamQueryRepositoryImpl(jdbcTemplate, new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        examAccommodationCommandRepository = new ExamAccommodationCommandRepositoryImpl(jdbcTemplate, new ExamChangeCommandRepositoryImpl(jdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
     }
 
     @Test
@@ -0,0 +1,153 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.repositories.impl;
+
+import org.joda.time.Instant;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import tds.exam.Exam;
+import tds.exam.ExamStatusCode;
+import tds.exam.ExamStatusStage;
+import tds.exam.builder.ExamAccommodationBuilder;
+import tds.exam.builder.ExamBuilder;
+import tds.exam.repositories.ExamAccommodationCommandRepository;
+import tds.exam.repositories.ExamCommandRepository;
+import tds.exam.repositories.ExamCurrentProjectionRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringBootTest
+@Transactional
+public class ExamCurrentProjectionRepositoryIntegrationTests {
+    @Autowired
+    @Qualifier("commandJdbcTemplate")
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ExamCommandRepository examCommandRepository;
+
+    @Autowired
+    private ExamAccommodationCommandRepository examAccommodationCommandRepository;
+
+    private ExamCurrentProjectionRepository examCurrentProjectionRepository;
+
+    @Before
+    public void setUp() {
+        examCurrentProjectionRepository = new ExamCurrentProjectionRepositoryImpl(jdbcTemplate);
+    }
+
+    @Test
+    public void shouldProjectTheLatestEventAndLanguageOfAnExam() {
+        final Exam exam = insertExam("ENU");
+
+        examCommandRepository.update(new Exam.Builder()
+            .fromExam(exam)
+            .withStatus(new ExamStatusCode(ExamStatusCode.STATUS_PAUSED, ExamStatusStage.INACTIVE), Instant.now())
+            .build());
+
+        final Map<String, Object> projection = findProjection(exam.getId());
+        assertThat(((Number) projection.get("exam_event_id")).longValue()).isEqualTo(findLatestEventId(exam.getId()));
+        assertThat(projection.get("status")).isEqualTo(ExamStatusCode.STATUS_PAUSED);
+        assertThat(projection.get("language_code")).isEqualTo("ENU");
+        assertThat(examCurrentProjectionRepository.findOutOfDateExamIds(Collections.singletonList(exam.getId()))).isEmpty();
+    }
+
+    @Test
+    public void shouldFindAndRebuildOutOfDateProjections() {
+        final Exam staleExam = insertExam("ENU");
+        final Exam missingExam = insertExam("ESN");
+        final Exam currentExam = insertExam("ENU");
+        jdbcTemplate.update("UPDATE exam_current SET status = 'bogus', exam_event_id = 0, language_code = NULL WHERE exam_id = :examId",
+            new MapSqlParameterSource("examId", staleExam.getId().toString()));
+        jdbcTemplate.update("DELETE FROM exam_current WHERE exam_id = :examId",
+            new MapSqlParameterSource("examId", missingExam.getId().toString()));
+
+        final List<UUID> examIds = Arrays.asList(staleExam.getId(), missingExam.getId(), currentExam.getId());
+        assertThat(examCurrentProjectionRepository.findOutOfDateExamIds(examIds))
+            .containsOnly(staleExam.getId(), missingExam.getId());
+
+        assertThat(examCurrentProjectionRepository.rebuild(Arrays.asList(staleExam.getId(), missingExam.getId())))
+            .isGreaterThan(0);
+
+        assertThat(examCurrentProjectionRepository.findOutOfDateExamIds(examIds)).isEmpty();
+        assertThat(findProjection(staleExam.getId()).get("status")).isEqualTo(staleExam.getStatus().getCode());
+        assertThat(findProjection(staleExam.getId()).get("language_code")).isEqualTo("ENU");
+        assertThat(((Number) findProjection(missingExam.getId()).get("exam_event_id")).longValue())
+            .isEqualTo(findLatestEventId(missingExam.getId()));
+        assertThat(findProjection(missingExam.getId()).get("language_code")).isEqualTo("ESN");
+    }
+
+    @Test
+    public void shouldPageThroughTheExamIdsInOrder() {
+        final Exam firstExam = insertExam("ENU");
+        final Exam secondExam = insertExam("ENU");
+        final UUID lowerExamId = firstExam.getId().toString().compareTo(secondExam.getId().toString()) < 0
+            ? firstExam.getId()
+            : secondExam.getId();
+        final UUID higherExamId = lowerExamId.equals(firstExam.getId()) ? secondExam.getId() : firstExam.getId();
+
+        final List<UUID> examIds = examCurrentProjectionRepository.findExamIds(null, Integer.MAX_VALUE);
+        assertThat(examIds).contains(lowerExamId, higherExamId);
+        assertThat(examIds.indexOf(lowerExamId)).isLessThan(examIds.indexOf(higherExamId));
+
+        assertThat(examCurrentProjectionRepository.findExamIds(lowerExamId, Integer.MAX_VALUE))
+            .contains(higherExamId)
+            .doesNotContain(lowerExamId);
+        assertThat(examCurrentProjectionRepository.findExamIds(lowerExamId, 1)).hasSize(1);
+    }
+
+    @Test
+    public void shouldNotRebuildWithoutExams() {
+        assertThat(examCurrentProjectionRepository.rebuild(Collections.emptyList())).isEqualTo(0);
+        assertThat(examCurrentProjectionRepository.findOutOfDateExamIds(Collections.emptyList())).isEmpty();
+    }
+
+    private Exam insertExam(final String languageCode) {
+        final Exam exam = new ExamBuilder().build();
+        examCommandRepository.insert(exam);
+        examAccommodationCommandRepository.insert(Collections.singletonList(new ExamAccommodationBuilder()
+            .withType("Language")
+            .withCode(languageCode)
+            .withExamId(exam.getId())
+            .withSegmentPosition(0)
+            .build()));
+        return exam;
+    }
+
+    private Map<String, Object> findProjection(final UUID examId) {
+        return jdbcTemplate.queryForMap("SELECT * FROM exam_current WHERE exam_id = :examId",
+            new MapSqlParameterSource("examId", examId.toString()));
+    }
+
+    private long findLatestEventId(final UUID examId) {
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM exam_event WHERE exam_id = :examId",
+            new MapSqlParameterSource("examId", examId.toString()), Long.class);
+    }
+}
@@ -0,0 +1,85 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.repositories.impl;
+
+import org.joda.time.Instant;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import tds.exam.models.ExamExpirationCheckpoint;
+import tds.exam.repositories.ExamExpirationCheckpointRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringBootTest
+@Transactional
+public class ExamExpirationCheckpointRepositoryIntegrationTests {
+    @Autowired
+    @Qualifier("commandJdbcTemplate")
+    private NamedParameterJdbcTemplate commandJdbcTemplate;
+    private ExamExpirationCheckpointRepository examExpirationCheckpointRepository;
+
+    @Before
+    public void setUp() {
+        examExpirationCheckpointRepository = new ExamExpirationCheckpointRepositoryImpl(commandJdbcTemplate);
+    }
+
+    @Test
+    public void shouldOnlyLetOneOwnerHoldTheLease() {
+        assertThat(examExpirationCheckpointRepository.tryAcquireLease("SBAC", "owner-1", 60000)).isTrue();
+        assertThat(examExpirationCheckpointRepository.tryAcquireLease("SBAC", "owner-1", 60000)).isTrue();
+        assertThat(examExpirationCheckpointRepository.tryAcquireLease("SBAC", "owner-2", 60000)).isFalse();
+        assertThat(examExpirationCheckpointRepository.tryAcquireLease("SBAC_PT", "owner-2", 60000)).isTrue();
+
+        examExpirationCheckpointRepository.releaseLease("SBAC", "owner-1", false);
+        assertThat(examExpirationCheckpointRepository.tryAcquireLease("SBAC", "owner-2", 60000)).isTrue();
+    }
+
+    @Test
+    public void shouldTakeOverAnExpiredLease() {
+        assertThat(examExpirationCheckpointRepository.tryAcquireLease("SBAC", "owner-1", -1000)).isTrue();
+        assertThat(examExpirationCheckpointRepository.tryAcquireLease("SBAC", "owner-2", 60000)).isTrue();
+    }
+
+    @Test
+    public void shouldSaveAndClearTheCheckpoint() {
+        ExamExpirationCheckpoint checkpoint = new ExamExpirationCheckpoint(new Instant(1500000000000L), UUID.randomUUID());
+
+        assertThat(examExpirationCheckpointRepository.findCheckpoint("SBAC")).isNotPresent();
+        assertThat(examExpirationCheckpointRepository.tryAcquireLease("SBAC", "owner-1", 60000)).isTrue();
+        assertThat(examExpirationCheckpointRepository.saveCheckpoint("SBAC", "owner-2", checkpoint, 60000)).isFalse();
+        assertThat(examExpirationCheckpointRepository.saveCheckpoint("SBAC", "owner-1", checkpoint, 60000)).isTrue();
+
+        examExpirationCheckpointRepository.releaseLease("SBAC", "owner-1", false);
+        Optional<ExamExpirationCheckpoint> maybeCheckpoint = examExpirationCheckpointRepository.findCheckpoint("SBAC");
+        assertThat(maybeCheckpoint).isPresent();
+        assertThat(maybeCheckpoint.get().getExamId()).isEqualTo(checkpoint.getExamId());
+        assertThat(maybeCheckpoint.get().getExpiresAt()).isEqualTo(checkpoint.getExpiresAt());
+
+        assertThat(examExpirationCheckpointRepository.tryAcquireLease("SBAC", "owner-2", 60000)).isTrue();
+        examExpirationCheckpointRepository.releaseLease("SBAC", "owner-2", true);
+        assertThat(examExpirationCheckpointRepository.findCheckpoint("SBAC")).isNotPresent();
+    }
+}
@@ -48,6 +48,8 @@ import tds.exam.repositories.ExamItemQueryRepository;
 import tds.exam.repositories.ExamPageCommandRepository;
 import tds.exam.repositories.ExamPageQueryRepository;
 import tds.exam.repositories.ExamSegmentCommandRepository;
+import tds.exam.utils.ExamUnitOfWork;
+import tds.exam.utils.ExamUnitOfWorkProvider;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -71,11 +73,11 @@ public class ExamItemCommandRepositoryImplIntegrationTests {
 
     @Before
     public void SetUp() {
-        examCommandRepository = new ExamCommandRepositoryImpl(jdbcTemplate);
-        ExamSegmentCommandRepository examSegmentCommandRepository = new ExamSegmentCommandRepositoryImpl(jdbcTemplate);
-        ExamPageCommandRepository examPageCommandRepository = new ExamPageCommandRepositoryImpl(jdbcTemplate);
-        examPageQueryRepository = new ExamPageQueryRepositoryImpl(jdbcTemplate);
-        examItemCommandRepository = new ExamItemCommandRepositoryImpl(jdbcTemplate);
+        examCommandRepository = new ExamCommandRepositoryImpl(jdbcTemplate, new ExamChangeCommandRepositoryImpl(jdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        ExamSegmentCommandRepository examSegmentCommandRepository = new ExamSegmentCommandRepositoryImpl(jdbcTemplate, new ExamChangeCommandRepositoryImpl(jdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        ExamPageCommandRepository examPageCommandRepository = new ExamPageCommandRepositoryImpl(jdbcTemplate, new ExamChangeCommandRepositoryImpl(jdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        examPageQueryRepository = new ExamPageQueryRepositoryImpl(jdbcTemplate, new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        examItemCommandRepository = new ExamItemCommandRepositoryImpl(jdbcTemplate, new ExamChangeCommandRepositoryImpl(jdbcTemplate));
         examItemQueryRepository = new ExamItemQueryRepositoryImpl(jdbcTemplate);
 
         ExamSegment mockExamSegment = new ExamSegmentBuilder()
@@ -46,6 +46,8 @@ import tds.exam.repositories.ExamItemCommandRepository;
 import tds.exam.repositories.ExamItemQueryRepository;
 import tds.exam.repositories.ExamPageCommandRepository;
 import tds.exam.repositories.ExamSegmentCommandRepository;
+import tds.exam.utils.ExamUnitOfWork;
+import tds.exam.utils.ExamUnitOfWorkProvider;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -69,10 +71,10 @@ public class ExamItemQueryRepositoryImplIntegrationTests {
 
     @Before
     public void SetUp() {
-        ExamCommandRepository examCommandRepository = new ExamCommandRepositoryImpl(jdbcTemplate);
-        ExamSegmentCommandRepository examSegmentCommandRepository = new ExamSegmentCommandRepositoryImpl(jdbcTemplate);
-        examPageCommandRepository = new ExamPageCommandRepositoryImpl(jdbcTemplate);
-        examItemCommandRepository = new ExamItemCommandRepositoryImpl(jdbcTemplate);
+        ExamCommandRepository examCommandRepository = new ExamCommandRepositoryImpl(jdbcTemplate, new ExamChangeCommandRepositoryImpl(jdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        ExamSegmentCommandRepository examSegmentCommandRepository = new ExamSegmentCommandRepositoryImpl(jdbcTemplate, new ExamChangeCommandRepositoryImpl(jdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        examPageCommandRepository = new ExamPageCommandRepositoryImpl(jdbcTemplate, new ExamChangeCommandRepositoryImpl(jdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        examItemCommandRepository = new ExamItemCommandRepositoryImpl(jdbcTemplate, new ExamChangeCommandRepositoryImpl(jdbcTemplate));
         examItemQueryRepository = new ExamItemQueryRepositoryImpl(jdbcTemplate);
 
         ExamSegment mockExamSegment = new ExamSegmentBuilder()
@@ -43,6 +43,8 @@ import tds.exam.repositories.ExamItemQueryRepository;
 import tds.exam.repositories.ExamPageCommandRepository;
 import tds.exam.repositories.ExamPageQueryRepository;
 import tds.exam.repositories.ExamSegmentCommandRepository;
+import tds.exam.utils.ExamUnitOfWork;
+import tds.exam.utils.ExamUnitOfWorkProvider;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -62,12 +64,12 @@ public class ExamItemRepositoryIntegrationTests {
 
     @Before
     public void setUp() {
-        examItemCommandRepository = new ExamItemCommandRepositoryImpl(commandJdbcTemplate);
-        examPageCommandRepository = new ExamPageCommandRepositoryImpl(commandJdbcTemplate);
-        examPageQueryRepository = new ExamPageQueryRepositoryImpl(commandJdbcTemplate);
-        examCommandRepository = new ExamCommandRepositoryImpl(commandJdbcTemplate);
+        examItemCommandRepository = new ExamItemCommandRepositoryImpl(commandJdbcTemplate, new ExamChangeCommandRepositoryImpl(commandJdbcTemplate));
+        examPageCommandRepository = new ExamPageCommandRepositoryImpl(commandJdbcTemplate, new ExamChangeCommandRepositoryImpl(commandJdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        examPageQueryRepository = new ExamPageQueryRepositoryImpl(commandJdbcTemplate, new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        examCommandRepository = new ExamCommandRepositoryImpl(commandJdbcTemplate, new ExamChangeCommandRepositoryImpl(commandJdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
         examItemQueryRepository = new ExamItemQueryRepositoryImpl(commandJdbcTemplate);
-        examSegmentCommandRepository = new ExamSegmentCommandRepositoryImpl(commandJdbcTemplate);
+        examSegmentCommandRepository = new ExamSegmentCommandRepositoryImpl(commandJdbcTemplate, new ExamChangeCommandRepositoryImpl(commandJdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
     }
 
     @Test
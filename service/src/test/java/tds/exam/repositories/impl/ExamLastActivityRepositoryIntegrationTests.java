@@ -0,0 +1,138 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.repositories.impl;
+
+import org.joda.time.Instant;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import tds.exam.Exam;
+import tds.exam.ExamStatusCode;
+import tds.exam.ExamStatusStage;
+import tds.exam.builder.ExamBuilder;
+import tds.exam.repositories.ExamCommandRepository;
+import tds.exam.repositories.ExamLastActivityRepository;
+import tds.exam.utils.ExamUnitOfWork;
+import tds.exam.utils.ExamUnitOfWorkProvider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tds.common.data.mapping.ResultSetMapperUtility.mapJodaInstantToTimestamp;
+
+/*
+ * The exam command repositories record student activity when the transaction commits, which these tests never do, so
+ * the tests run the commit callbacks themselves.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringBootTest
+@Transactional
+public class ExamLastActivityRepositoryIntegrationTests {
+    @Autowired
+    @Qualifier("commandJdbcTemplate")
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private ExamCommandRepository examCommandRepository;
+    private ExamLastActivityRepository examLastActivityRepository;
+
+    @Before
+    public void setUp() {
+        examCommandRepository = new ExamCommandRepositoryImpl(jdbcTemplate, new ExamChangeCommandRepositoryImpl(jdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        examLastActivityRepository = new ExamLastActivityRepositoryImpl(jdbcTemplate);
+    }
+
+    @Test
+    public void shouldRecordLastActivityWhenExamIsPaused() {
+        final Exam exam = new ExamBuilder().build();
+        examCommandRepository.insert(exam);
+        TransactionSynchronizationUtils.triggerBeforeCommit(false);
+        assertThat(findLastActivity(exam.getId())).isEmpty();
+
+        examCommandRepository.update(new Exam.Builder()
+            .fromExam(exam)
+            .withStatus(new ExamStatusCode(ExamStatusCode.STATUS_PAUSED, ExamStatusStage.INACTIVE), Instant.now())
+            .build());
+        TransactionSynchronizationUtils.triggerBeforeCommit(false);
+
+        assertThat(findLastActivity(exam.getId())).hasSize(1);
+    }
+
+    @Test
+    public void shouldBackfillLastActivityFromPauseEvents() {
+        final Instant pausedAt = Instant.now().minus(60000);
+        final Exam exam = new ExamBuilder()
+            .withStatus(new ExamStatusCode(ExamStatusCode.STATUS_PAUSED, ExamStatusStage.INACTIVE), pausedAt)
+            .build();
+        examCommandRepository.insert(exam);
+
+        final MapSqlParameterSource parameters = new MapSqlParameterSource("examId", exam.getId().toString())
+            .addValue("changedAt", mapJodaInstantToTimestamp(pausedAt));
+        jdbcTemplate.update("UPDATE exam_event SET changed_at = :changedAt WHERE exam_id = :examId", parameters);
+
+        examLastActivityRepository.backfill(Collections.singletonList(exam.getId()));
+
+        assertThat(findLastActivity(exam.getId())).containsExactly(mapJodaInstantToTimestamp(pausedAt));
+    }
+
+    @Test
+    public void shouldNotMoveLastActivityBackwards() {
+        final Exam exam = new ExamBuilder()
+            .withStatus(new ExamStatusCode(ExamStatusCode.STATUS_PAUSED, ExamStatusStage.INACTIVE), Instant.now())
+            .build();
+        examCommandRepository.insert(exam);
+        TransactionSynchronizationUtils.triggerBeforeCommit(false);
+
+        final Timestamp later = mapJodaInstantToTimestamp(Instant.now().plus(60000));
+        jdbcTemplate.update("UPDATE exam_last_activity SET last_student_activity_at = :later WHERE exam_id = :examId",
+            new MapSqlParameterSource("examId", exam.getId().toString()).addValue("later", later));
+
+        examLastActivityRepository.backfill(Collections.singletonList(exam.getId()));
+
+        assertThat(findLastActivity(exam.getId())).containsExactly(later);
+    }
+
+    @Test
+    public void shouldFindOnlyInProgressExams() {
+        final Exam startedExam = new ExamBuilder()
+            .withStatus(new ExamStatusCode(ExamStatusCode.STATUS_STARTED, ExamStatusStage.IN_USE), Instant.now())
+            .build();
+        final Exam completedExam = new ExamBuilder()
+            .withStatus(new ExamStatusCode(ExamStatusCode.STATUS_COMPLETED, ExamStatusStage.CLOSED), Instant.now())
+            .build();
+        examCommandRepository.insert(startedExam);
+        examCommandRepository.insert(completedExam);
+
+        final List<UUID> examIds = examLastActivityRepository.findInProgressExamIds(null, Integer.MAX_VALUE);
+
+        assertThat(examIds).contains(startedExam.getId());
+        assertThat(examIds).doesNotContain(completedExam.getId());
+    }
+
+    private List<Timestamp> findLastActivity(final UUID examId) {
+        return jdbcTemplate.queryForList("SELECT last_student_activity_at FROM exam_last_activity WHERE exam_id = :examId",
+            new MapSqlParameterSource("examId", examId.toString()), Timestamp.class);
+    }
+}
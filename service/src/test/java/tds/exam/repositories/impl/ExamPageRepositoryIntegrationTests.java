@@ -41,6 +41,8 @@ import tds.exam.repositories.ExamItemCommandRepository;
 import tds.exam.repositories.ExamPageCommandRepository;
 import tds.exam.repositories.ExamPageQueryRepository;
 import tds.exam.repositories.ExamSegmentCommandRepository;
+import tds.exam.utils.ExamUnitOfWork;
+import tds.exam.utils.ExamUnitOfWorkProvider;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -82,11 +84,11 @@ public class ExamPageRepositoryIntegrationTests {
 
     @Before
     public void setUp() {
-        examPageCommandRepository = new ExamPageCommandRepositoryImpl(commandJdbcTemplate);
-        examPageQueryRepository = new ExamPageQueryRepositoryImpl(commandJdbcTemplate);
-        ExamSegmentCommandRepository examSegmentCommandRepository = new ExamSegmentCommandRepositoryImpl(commandJdbcTemplate);
-        examCommandRepository = new ExamCommandRepositoryImpl(commandJdbcTemplate);
-        ExamItemCommandRepository examItemCommandRepository = new ExamItemCommandRepositoryImpl(commandJdbcTemplate);
+        examPageCommandRepository = new ExamPageCommandRepositoryImpl(commandJdbcTemplate, new ExamChangeCommandRepositoryImpl(commandJdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        examPageQueryRepository = new ExamPageQueryRepositoryImpl(commandJdbcTemplate, new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        ExamSegmentCommandRepository examSegmentCommandRepository = new ExamSegmentCommandRepositoryImpl(commandJdbcTemplate, new ExamChangeCommandRepositoryImpl(commandJdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        examCommandRepository = new ExamCommandRepositoryImpl(commandJdbcTemplate, new ExamChangeCommandRepositoryImpl(commandJdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        ExamItemCommandRepository examItemCommandRepository = new ExamItemCommandRepositoryImpl(commandJdbcTemplate, new ExamChangeCommandRepositoryImpl(commandJdbcTemplate));
 
         // Seed the database with mock records for integration testing
         examCommandRepository.insert(mockExam);
@@ -43,6 +43,8 @@ import tds.exam.repositories.ExamItemCommandRepository;
 import tds.exam.repositories.ExamPageCommandRepository;
 import tds.exam.repositories.ExamPageWrapperQueryRepository;
 import tds.exam.repositories.ExamSegmentCommandRepository;
+import tds.exam.utils.ExamUnitOfWork;
+import tds.exam.utils.ExamUnitOfWorkProvider;
 import tds.exam.wrapper.ExamPageWrapper;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -87,12 +89,12 @@ public class ExamPageWrapperQueryRepositoryIntegrationTests {
 
     @Before
     public void setUp() {
-        examItemCommandRepository = new ExamItemCommandRepositoryImpl(commandJdbcTemplate);
-        examPageCommandRepository = new ExamPageCommandRepositoryImpl(commandJdbcTemplate);
+        examItemCommandRepository = new ExamItemCommandRepositoryImpl(commandJdbcTemplate, new ExamChangeCommandRepositoryImpl(commandJdbcTemplate));
+        examPageCommandRepository = new ExamPageCommandRepositoryImpl(commandJdbcTemplate, new ExamChangeCommandRepositoryImpl(commandJdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
         examPageQueryRepository = new ExamPageWrapperQueryRepositoryImpl(commandJdbcTemplate);
-        ExamSegmentCommandRepository examSegmentCommandRepository = new ExamSegmentCommandRepositoryImpl(commandJdbcTemplate);
-        final ExamCommandRepository examCommandRepository = new ExamCommandRepositoryImpl(commandJdbcTemplate);
-        ExamItemCommandRepository examItemCommandRepository = new ExamItemCommandRepositoryImpl(commandJdbcTemplate);
+        ExamSegmentCommandRepository examSegmentCommandRepository = new ExamSegmentCommandRepositoryImpl(commandJdbcTemplate, new ExamChangeCommandRepositoryImpl(commandJdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        final ExamCommandRepository examCommandRepository = new ExamCommandRepositoryImpl(commandJdbcTemplate, new ExamChangeCommandRepositoryImpl(commandJdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        ExamItemCommandRepository examItemCommandRepository = new ExamItemCommandRepositoryImpl(commandJdbcTemplate, new ExamChangeCommandRepositoryImpl(commandJdbcTemplate));
 
         // Seed the database with mock records for integration testing
         examCommandRepository.insert(mockExam);
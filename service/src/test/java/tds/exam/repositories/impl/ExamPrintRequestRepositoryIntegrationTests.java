@@ -47,6 +47,8 @@ import tds.exam.repositories.ExamPageCommandRepository;
 import tds.exam.repositories.ExamPrintRequestCommandRepository;
 import tds.exam.repositories.ExamPrintRequestQueryRepository;
 import tds.exam.repositories.ExamSegmentCommandRepository;
+import tds.exam.utils.ExamUnitOfWork;
+import tds.exam.utils.ExamUnitOfWorkProvider;
 
 import static io.github.benas.randombeans.api.EnhancedRandom.random;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -68,11 +70,11 @@ public class ExamPrintRequestRepositoryIntegrationTests {
     @Before
     public void setUp() {
         examPrintRequestQueryRepository = new ExamPrintRequestQueryRepositoryImpl(commandJdbcTemplate);
-        examPrintRequestCommandRepository = new ExamPrintRequestCommandRepositoryImpl(commandJdbcTemplate);
-        examCommandRepository = new ExamCommandRepositoryImpl(commandJdbcTemplate);
-        examSegmentCommandRepository = new ExamSegmentCommandRepositoryImpl(commandJdbcTemplate);
-        examPageCommandRepository = new ExamPageCommandRepositoryImpl(commandJdbcTemplate);
-        examItemCommandRepository = new ExamItemCommandRepositoryImpl(commandJdbcTemplate);
+        examPrintRequestCommandRepository = new ExamPrintRequestCommandRepositoryImpl(commandJdbcTemplate, new ExamChangeCommandRepositoryImpl(commandJdbcTemplate));
+        examCommandRepository = new ExamCommandRepositoryImpl(commandJdbcTemplate, new ExamChangeCommandRepositoryImpl(commandJdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        examSegmentCommandRepository = new ExamSegmentCommandRepositoryImpl(commandJdbcTemplate, new ExamChangeCommandRepositoryImpl(commandJdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        examPageCommandRepository = new ExamPageCommandRepositoryImpl(commandJdbcTemplate, new ExamChangeCommandRepositoryImpl(commandJdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        examItemCommandRepository = new ExamItemCommandRepositoryImpl(commandJdbcTemplate, new ExamChangeCommandRepositoryImpl(commandJdbcTemplate));
     }
 
     @Test
@@ -38,6 +38,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import tds.accommodation.Accommodation;
 import tds.exam.Exam;
@@ -51,11 +52,15 @@ import tds.exam.builder.ExamBuilder;
 import tds.exam.builder.ExamPageBuilder;
 import tds.exam.builder.ExamSegmentBuilder;
 import tds.exam.models.Ability;
+import tds.exam.models.AssessmentUsage;
+import tds.exam.models.ExamExpirationCheckpoint;
 import tds.exam.repositories.ExamAccommodationCommandRepository;
 import tds.exam.repositories.ExamCommandRepository;
 import tds.exam.repositories.ExamPageCommandRepository;
 import tds.exam.repositories.ExamQueryRepository;
 import tds.exam.repositories.ExamSegmentCommandRepository;
+import tds.exam.utils.ExamUnitOfWork;
+import tds.exam.utils.ExamUnitOfWorkProvider;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
@@ -90,11 +95,11 @@ public class ExamQueryRepositoryImplIntegrationTests {
 
     @Before
     public void setUp() {
-        examQueryRepository = new ExamQueryRepositoryImpl(jdbcTemplate);
-        examCommandRepository = new ExamCommandRepositoryImpl(jdbcTemplate);
-        examAccommodationCommandRepository = new ExamAccommodationCommandRepositoryImpl(jdbcTemplate);
-        examPageCommandRepository = new ExamPageCommandRepositoryImpl(jdbcTemplate);
-        examSegmentCommandRepository = new ExamSegmentCommandRepositoryImpl(jdbcTemplate);
+        examQueryRepository = new ExamQueryRepositoryImpl(jdbcTemplate, new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        examCommandRepository = new ExamCommandRepositoryImpl(jdbcTemplate, new ExamChangeCommandRepositoryImpl(jdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        examAccommodationCommandRepository = new ExamAccommodationCommandRepositoryImpl(jdbcTemplate, new ExamChangeCommandRepositoryImpl(jdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        examPageCommandRepository = new ExamPageCommandRepositoryImpl(jdbcTemplate, new ExamChangeCommandRepositoryImpl(jdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        examSegmentCommandRepository = new ExamSegmentCommandRepositoryImpl(jdbcTemplate, new ExamChangeCommandRepositoryImpl(jdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
     }
 
     private void loadExams() {
@@ -307,14 +312,100 @@ public class ExamQueryRepositoryImplIntegrationTests {
         assertThat(foundStarted).isTrue();
     }
 
+    @Test
+    public void shouldFindExamsToExpireInChunksOrderedByExpiration() {
+        Exam expiredFiveDaysAgo = new ExamBuilder()
+            .withId(UUID.randomUUID())
+            .withClientName("expireClient")
+            .withStatus(new ExamStatusCode(ExamStatusCode.STATUS_PAUSED, ExamStatusStage.OPEN), Instant.now())
+            .withExpiresAt(Instant.now().minus(Days.days(5).toStandardDuration()))
+            .build();
+        Exam expiredFourDaysAgo = new ExamBuilder()
+            .withId(UUID.randomUUID())
+            .withClientName("expireClient")
+            .withStatus(new ExamStatusCode(ExamStatusCode.STATUS_PAUSED, ExamStatusStage.OPEN), Instant.now())
+            .withExpiresAt(Instant.now().minus(Days.days(4).toStandardDuration()))
+            .build();
+        Exam expiredThreeDaysAgo = new ExamBuilder()
+            .withId(UUID.randomUUID())
+            .withClientName("expireClient")
+            .withStatus(new ExamStatusCode(ExamStatusCode.STATUS_PAUSED, ExamStatusStage.OPEN), Instant.now())
+            .withExpiresAt(Instant.now().minus(Days.days(3).toStandardDuration()))
+            .build();
+        Exam otherClientExam = new ExamBuilder()
+            .withId(UUID.randomUUID())
+            .withClientName("otherExpireClient")
+            .withStatus(new ExamStatusCode(ExamStatusCode.STATUS_PAUSED, ExamStatusStage.OPEN), Instant.now())
+            .withExpiresAt(Instant.now().minus(Days.days(5).toStandardDuration()))
+            .build();
+
+        for (Exam exam : Arrays.asList(expiredThreeDaysAgo, expiredFiveDaysAgo, otherClientExam, expiredFourDaysAgo)) {
+            examCommandRepository.insert(exam);
+            ExamSegment examSegment = new ExamSegmentBuilder().withExamId(exam.getId()).build();
+            examSegmentCommandRepository.insert(Collections.singletonList(examSegment));
+            examPageCommandRepository.insert(new ExamPageBuilder()
+                .withId(UUID.randomUUID())
+                .withExamId(exam.getId())
+                .withPagePosition(1)
+                .withSegmentKey(examSegment.getSegmentKey())
+                .build());
+        }
+
+        List<Exam> firstChunk = examQueryRepository.findExamsToExpire("expireClient", Arrays.asList(ExamStatusCode.STATUS_COMPLETED),
+            Instant.now(), null, 2);
+        assertThat(firstChunk).extracting(Exam::getId).containsExactly(expiredFiveDaysAgo.getId(), expiredFourDaysAgo.getId());
+
+        Exam lastExam = firstChunk.get(1);
+        List<Exam> secondChunk = examQueryRepository.findExamsToExpire("expireClient", Arrays.asList(ExamStatusCode.STATUS_COMPLETED),
+            Instant.now(), new ExamExpirationCheckpoint(lastExam.getExpiresAt(), lastExam.getId()), 2);
+        assertThat(secondChunk).extracting(Exam::getId).containsExactly(expiredThreeDaysAgo.getId());
+
+        List<Exam> expiringBeforeFourDaysAgo = examQueryRepository.findExamsToExpire("expireClient", Arrays.asList(ExamStatusCode.STATUS_COMPLETED),
+            Instant.now().minus(Days.days(4).toStandardDuration()), null, 2);
+        assertThat(expiringBeforeFourDaysAgo).extracting(Exam::getId).containsExactly(expiredFiveDaysAgo.getId());
+    }
+
+    @Test
+    public void shouldFindTheAssessmentsOfRecentlyCreatedExamsMostUsedFirst() {
+        examCommandRepository.insert(new ExamBuilder()
+            .withId(UUID.randomUUID())
+            .withClientName("warmUpClient")
+            .withAssessmentKey("(warmUpClient)less-used")
+            .build());
+        for (int i = 0; i < 2; i++) {
+            examCommandRepository.insert(new ExamBuilder()
+                .withId(UUID.randomUUID())
+                .withClientName("warmUpClient")
+                .withAssessmentKey("(warmUpClient)most-used")
+                .build());
+        }
+        examCommandRepository.insert(new ExamBuilder()
+            .withId(UUID.randomUUID())
+            .withClientName("warmUpClient")
+            .withAssessmentKey("(warmUpClient)not-recent")
+            .withCreatedAt(Instant.now().minus(standardDays(10)))
+            .build());
+
+        List<AssessmentUsage> assessmentUsages = examQueryRepository.findAssessmentUsage(Instant.now().minus(standardDays(5)), 1000)
+            .stream()
+            .filter(usage -> usage.getClientName().equals("warmUpClient"))
+            .collect(Collectors.toList());
+
+        assertThat(assessmentUsages).extracting(AssessmentUsage::getAssessmentKey)
+            .containsExactly("(warmUpClient)most-used", "(warmUpClient)less-used");
+        assertThat(assessmentUsages).extracting(AssessmentUsage::getExamCount).containsExactly(2L, 1L);
+    }
+
     private void updateEventCreatedAt(UUID examId, Instant changedAt) {
         MapSqlParameterSource parameterSource = new MapSqlParameterSource("changedAt", mapJodaInstantToTimestamp(changedAt))
             .addValue("examId", examId.toString());
 
 
         String SQL = "UPDATE exam.exam_event SET changed_at = :changedAt WHERE exam_id = :examId";
+        String examCurrentSQL = "UPDATE exam.exam_current SET changed_at = :changedAt WHERE exam_id = :examId";
 
         assertThat(jdbcTemplate.update(SQL, parameterSource)).isEqualTo(1);
+        assertThat(jdbcTemplate.update(examCurrentSQL, parameterSource)).isEqualTo(1);
     }
 
     @Test
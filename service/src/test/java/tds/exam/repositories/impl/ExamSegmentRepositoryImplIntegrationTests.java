@@ -40,6 +40,8 @@ import tds.exam.ExamSegment;
 import tds.exam.builder.ExamBuilder;
 import tds.exam.builder.ExamSegmentBuilder;
 import tds.exam.repositories.ExamCommandRepository;
+import tds.exam.utils.ExamUnitOfWork;
+import tds.exam.utils.ExamUnitOfWorkProvider;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -63,9 +65,9 @@ public class ExamSegmentRepositoryImplIntegrationTests {
 
     @Before
     public void setUp() {
-        ExamCommandRepository examCommandRepository = new ExamCommandRepositoryImpl(commandJdbcTemplate);
-        commandRepository = new ExamSegmentCommandRepositoryImpl(commandJdbcTemplate);
-        queryRepository = new ExamSegmentQueryRepositoryImpl(commandJdbcTemplate);
+        ExamCommandRepository examCommandRepository = new ExamCommandRepositoryImpl(commandJdbcTemplate, new ExamChangeCommandRepositoryImpl(commandJdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        commandRepository = new ExamSegmentCommandRepositoryImpl(commandJdbcTemplate, new ExamChangeCommandRepositoryImpl(commandJdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        queryRepository = new ExamSegmentQueryRepositoryImpl(commandJdbcTemplate, new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
 
         exam = new ExamBuilder().withId(UUID.randomUUID()).build();
         otherExam = new ExamBuilder().withId(UUID.randomUUID()).build();
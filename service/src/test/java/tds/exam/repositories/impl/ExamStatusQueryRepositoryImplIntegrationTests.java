@@ -31,6 +31,8 @@ import tds.exam.ExamStatusStage;
 import tds.exam.builder.ExamBuilder;
 import tds.exam.repositories.ExamCommandRepository;
 import tds.exam.repositories.ExamStatusQueryRepository;
+import tds.exam.utils.ExamUnitOfWork;
+import tds.exam.utils.ExamUnitOfWorkProvider;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -47,7 +49,7 @@ public class ExamStatusQueryRepositoryImplIntegrationTests {
 
     @Before
     public void setUp() {
-        examCommandRepository = new ExamCommandRepositoryImpl(jdbcTemplate);
+        examCommandRepository = new ExamCommandRepositoryImpl(jdbcTemplate, new ExamChangeCommandRepositoryImpl(jdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
         examStatusQueryRepository = new ExamStatusQueryRepositoryImpl(jdbcTemplate);
     }
 
@@ -35,6 +35,8 @@ import tds.exam.builder.ExamineeRelationshipBuilder;
 import tds.exam.repositories.ExamCommandRepository;
 import tds.exam.repositories.ExamineeCommandRepository;
 import tds.exam.repositories.ExamineeQueryRepository;
+import tds.exam.utils.ExamUnitOfWork;
+import tds.exam.utils.ExamUnitOfWorkProvider;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -53,9 +55,9 @@ public class ExamineeCommandRepositoryImplIntegrationTests {
 
     @Before
     public void setUp() {
-        examineeCommandRepository = new ExamineeCommandRepositoryImpl(jdbcTemplate);
+        examineeCommandRepository = new ExamineeCommandRepositoryImpl(jdbcTemplate, new ExamChangeCommandRepositoryImpl(jdbcTemplate));
         examineeQueryRepository = new ExamineeQueryRepositoryImpl(jdbcTemplate);
-        examCommandRepository = new ExamCommandRepositoryImpl(jdbcTemplate);
+        examCommandRepository = new ExamCommandRepositoryImpl(jdbcTemplate, new ExamChangeCommandRepositoryImpl(jdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
     }
 
     @Test
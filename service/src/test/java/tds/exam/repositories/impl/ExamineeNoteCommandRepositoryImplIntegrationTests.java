@@ -32,6 +32,8 @@ import tds.exam.ExamineeNoteContext;
 import tds.exam.builder.ExamBuilder;
 import tds.exam.repositories.ExamCommandRepository;
 import tds.exam.repositories.ExamineeNoteCommandRepository;
+import tds.exam.utils.ExamUnitOfWork;
+import tds.exam.utils.ExamUnitOfWorkProvider;
 
 @RunWith(SpringJUnit4ClassRunner.class)
 @SpringBootTest
@@ -48,8 +50,8 @@ public class ExamineeNoteCommandRepositoryImplIntegrationTests {
 
     @Before
     public void setup() {
-        examCommandRepository = new ExamCommandRepositoryImpl(jdbcTemplate);
-        examineeNoteCommandRepository = new ExamineeNoteCommandRepositoryImpl(jdbcTemplate);
+        examCommandRepository = new ExamCommandRepositoryImpl(jdbcTemplate, new ExamChangeCommandRepositoryImpl(jdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        examineeNoteCommandRepository = new ExamineeNoteCommandRepositoryImpl(jdbcTemplate, new ExamChangeCommandRepositoryImpl(jdbcTemplate));
     }
 
     @Test
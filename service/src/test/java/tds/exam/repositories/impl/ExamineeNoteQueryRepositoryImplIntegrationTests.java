@@ -34,6 +34,8 @@ import tds.exam.builder.ExamBuilder;
 import tds.exam.repositories.ExamCommandRepository;
 import tds.exam.repositories.ExamineeNoteCommandRepository;
 import tds.exam.repositories.ExamineeNoteQueryRepository;
+import tds.exam.utils.ExamUnitOfWork;
+import tds.exam.utils.ExamUnitOfWorkProvider;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -53,8 +55,8 @@ public class ExamineeNoteQueryRepositoryImplIntegrationTests {
 
     @Before
     public void setup() {
-        examCommandRepository = new ExamCommandRepositoryImpl(jdbcTemplate);
-        examineeNoteCommandRepository = new ExamineeNoteCommandRepositoryImpl(jdbcTemplate);
+        examCommandRepository = new ExamCommandRepositoryImpl(jdbcTemplate, new ExamChangeCommandRepositoryImpl(jdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        examineeNoteCommandRepository = new ExamineeNoteCommandRepositoryImpl(jdbcTemplate, new ExamChangeCommandRepositoryImpl(jdbcTemplate));
         examineeNoteQueryRepository = new ExamineeNoteQueryRepositoryImpl(jdbcTemplate);
 
         examCommandRepository.insert(mockExam);
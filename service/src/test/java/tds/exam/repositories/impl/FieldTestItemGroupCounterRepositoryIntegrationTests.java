@@ -0,0 +1,71 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.repositories.impl;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import tds.exam.repositories.FieldTestItemGroupCounterRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringBootTest
+@Transactional
+public class FieldTestItemGroupCounterRepositoryIntegrationTests {
+    @Autowired
+    @Qualifier("commandJdbcTemplate")
+    private NamedParameterJdbcTemplate commandJdbcTemplate;
+    private FieldTestItemGroupCounterRepository fieldTestItemGroupCounterRepository;
+
+    @Before
+    public void setUp() {
+        fieldTestItemGroupCounterRepository = new FieldTestItemGroupCounterRepositoryImpl(commandJdbcTemplate);
+    }
+
+    @Test
+    public void shouldCreateAndIncrementCounters() {
+        fieldTestItemGroupCounterRepository.incrementCounts(ImmutableMap.of(
+            "segment-key-1", ImmutableMap.of("group-key-1", 2L, "group-key-2", 1L),
+            "segment-key-2", ImmutableMap.of("group-key-1", 4L)));
+        fieldTestItemGroupCounterRepository.incrementCounts(ImmutableMap.of(
+            "segment-key-1", ImmutableMap.of("group-key-1", 3L)));
+
+        Map<String, Map<String, Long>> counts = fieldTestItemGroupCounterRepository.findCounts(Arrays.asList("segment-key-1", "segment-key-2", "segment-key-3"));
+
+        assertThat(counts).hasSize(2);
+        assertThat(counts.get("segment-key-1")).containsOnly(entry("group-key-1", 5L), entry("group-key-2", 1L));
+        assertThat(counts.get("segment-key-2")).containsOnly(entry("group-key-1", 4L));
+    }
+
+    @Test
+    public void shouldReturnEmptyCountsForNoSegments() {
+        fieldTestItemGroupCounterRepository.incrementCounts(Collections.emptyMap());
+
+        assertThat(fieldTestItemGroupCounterRepository.findCounts(Collections.emptyList())).isEmpty();
+    }
+}
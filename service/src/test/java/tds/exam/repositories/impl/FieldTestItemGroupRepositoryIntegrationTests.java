@@ -45,6 +45,8 @@ import tds.exam.repositories.ExamPageCommandRepository;
 import tds.exam.repositories.ExamSegmentCommandRepository;
 import tds.exam.repositories.FieldTestItemGroupCommandRepository;
 import tds.exam.repositories.FieldTestItemGroupQueryRepository;
+import tds.exam.utils.ExamUnitOfWork;
+import tds.exam.utils.ExamUnitOfWorkProvider;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -66,10 +68,10 @@ public class FieldTestItemGroupRepositoryIntegrationTests {
     public void setUp() {
         fieldTestItemGroupCommandRepository = new FieldTestItemGroupCommandRepositoryImpl(commandJdbcTemplate);
         fieldTestItemGroupQueryRepository = new FieldTestItemGroupQueryRepositoryImpl(commandJdbcTemplate);
-        examCommandRepository = new ExamCommandRepositoryImpl(commandJdbcTemplate);
-        examSegmentCommandRepository = new ExamSegmentCommandRepositoryImpl(commandJdbcTemplate);
-        examPageCommandRepository = new ExamPageCommandRepositoryImpl(commandJdbcTemplate);
-        examItemCommandRepository = new ExamItemCommandRepositoryImpl(commandJdbcTemplate);
+        examCommandRepository = new ExamCommandRepositoryImpl(commandJdbcTemplate, new ExamChangeCommandRepositoryImpl(commandJdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        examSegmentCommandRepository = new ExamSegmentCommandRepositoryImpl(commandJdbcTemplate, new ExamChangeCommandRepositoryImpl(commandJdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        examPageCommandRepository = new ExamPageCommandRepositoryImpl(commandJdbcTemplate, new ExamChangeCommandRepositoryImpl(commandJdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        examItemCommandRepository = new ExamItemCommandRepositoryImpl(commandJdbcTemplate, new ExamChangeCommandRepositoryImpl(commandJdbcTemplate));
     }
 
     @Test
@@ -0,0 +1,81 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.repositories.impl;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import tds.exam.repositories.FormAssignmentSequenceRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringBootTest
+@Transactional
+public class FormAssignmentSequenceRepositoryIntegrationTests {
+    @Autowired
+    @Qualifier("commandJdbcTemplate")
+    private NamedParameterJdbcTemplate commandJdbcTemplate;
+    private FormAssignmentSequenceRepository formAssignmentSequenceRepository;
+
+    @Autowired
+    private FormAssignmentSequenceRepository transactionalFormAssignmentSequenceRepository;
+
+    @Before
+    public void setUp() {
+        formAssignmentSequenceRepository = new FormAssignmentSequenceRepositoryImpl(commandJdbcTemplate);
+    }
+
+    @Test
+    public void shouldIncrementTheSequenceOfEachSegmentAndLanguage() {
+        assertThat(formAssignmentSequenceRepository.getAndIncrement("segment-key", "ENU")).isEqualTo(0);
+        assertThat(formAssignmentSequenceRepository.getAndIncrement("segment-key", "ENU")).isEqualTo(1);
+        assertThat(formAssignmentSequenceRepository.getAndIncrement("segment-key", "ESN")).isEqualTo(0);
+        assertThat(formAssignmentSequenceRepository.getAndIncrement("other-segment-key", "ENU")).isEqualTo(0);
+        assertThat(formAssignmentSequenceRepository.getAndIncrement("segment-key", "ENU")).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldNotHoldTheSequenceRowLockUntilTheCallersTransactionCommits() throws Exception {
+        final String segmentKey = UUID.randomUUID().toString();
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            // This test runs in a transaction, like an exam start
+            assertThat(transactionalFormAssignmentSequenceRepository.getAndIncrement(segmentKey, "ENU")).isEqualTo(0);
+
+            // Another exam start is not blocked by the open transaction
+            assertThat(executor.submit(() -> transactionalFormAssignmentSequenceRepository.getAndIncrement(segmentKey, "ENU"))
+                .get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        } finally {
+            // The sequence is not rolled back with the test's transaction
+            executor.submit(() -> commandJdbcTemplate.getJdbcOperations()
+                .update("DELETE FROM form_assignment_sequence WHERE segment_key = ?", segmentKey))
+                .get(5, TimeUnit.SECONDS);
+            executor.shutdownNow();
+        }
+    }
+}
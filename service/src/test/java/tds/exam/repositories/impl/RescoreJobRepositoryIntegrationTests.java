@@ -0,0 +1,147 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.repositories.impl;
+
+import org.joda.time.Instant;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import tds.exam.models.RescoreJob;
+import tds.exam.models.RescoreJobExam;
+import tds.exam.models.RescoreJobStats;
+import tds.exam.repositories.RescoreJobRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringBootTest
+@Transactional
+public class RescoreJobRepositoryIntegrationTests {
+    @Autowired
+    @Qualifier("commandJdbcTemplate")
+    private NamedParameterJdbcTemplate commandJdbcTemplate;
+    private RescoreJobRepository rescoreJobRepository;
+
+    @Before
+    public void setUp() {
+        rescoreJobRepository = new RescoreJobRepositoryImpl(commandJdbcTemplate);
+    }
+
+    @Test
+    public void shouldCreateAndFindARescoreJob() {
+        final RescoreJob job = new RescoreJob(UUID.randomUUID(), new LinkedHashSet<>(Arrays.asList("187-1234", "187-5678")),
+            new Instant(1500000000000L));
+        rescoreJobRepository.create(job);
+
+        final Optional<RescoreJob> maybeJob = rescoreJobRepository.findRescoreJob(job.getId());
+        assertThat(maybeJob).isPresent();
+        assertThat(maybeJob.get().getItemKeys()).containsExactly("187-1234", "187-5678");
+        assertThat(maybeJob.get().getCreatedAt()).isEqualTo(job.getCreatedAt());
+
+        assertThat(rescoreJobRepository.findRescoreJob(UUID.randomUUID())).isNotPresent();
+    }
+
+    @Test
+    public void shouldOnlyLetOneClaimHoldAnExam() {
+        final RescoreJob job = createJob();
+        final UUID examId = UUID.randomUUID();
+        rescoreJobRepository.submitExam(job.getId(), examId, "<TDSReport />");
+
+        final List<RescoreJobExam> claimedExams = rescoreJobRepository.claim(RescoreJobExam.STATUS_PENDING, "owner-1", 10, 60000);
+        assertThat(claimedExams).hasSize(1);
+        assertThat(claimedExams.get(0).getExamId()).isEqualTo(examId);
+        assertThat(claimedExams.get(0).getItemKeys()).isEmpty();
+        assertThat(rescoreJobRepository.findTestResults(claimedExams.get(0))).contains("<TDSReport />");
+        assertThat(claimedExams.get(0).getAttempts()).isEqualTo(1);
+
+        assertThat(rescoreJobRepository.claim(RescoreJobExam.STATUS_PENDING, "owner-2", 10, 60000)).isEmpty();
+        assertThat(rescoreJobRepository.findTestResults(new RescoreJobExam(job.getId(), examId, Collections.emptySet(), null, 1, "owner-2")))
+            .isNotPresent();
+
+        rescoreJobRepository.release(claimedExams.get(0), "Fail");
+        assertThat(rescoreJobRepository.claim(RescoreJobExam.STATUS_PENDING, "owner-2", 10, 60000)).hasSize(1);
+    }
+
+    @Test
+    public void shouldTrackAnExamFromSubmittedToPublished() {
+        final RescoreJob job = createJob();
+        final UUID examId = UUID.randomUUID();
+        rescoreJobRepository.submitExam(job.getId(), examId, "<TDSReport />");
+
+        final RescoreJobExam pendingExam = rescoreJobRepository.claim(RescoreJobExam.STATUS_PENDING, "owner-1", 10, 60000).get(0);
+        rescoreJobRepository.updateRescored(pendingExam, "<TestResultsWrapper />".getBytes(StandardCharsets.UTF_8));
+        assertThat(rescoreJobRepository.findStats(job.getId(), 60000).get().getRescoredCount()).isEqualTo(1);
+
+        final List<RescoreJobExam> rescoredExams = rescoreJobRepository.claim(RescoreJobExam.STATUS_RESCORED, "owner-1", 10, 60000);
+        assertThat(rescoredExams).hasSize(1);
+        assertThat(new String(rescoredExams.get(0).getRescoredResults(), StandardCharsets.UTF_8)).isEqualTo("<TestResultsWrapper />");
+        assertThat(rescoreJobRepository.findTestResults(rescoredExams.get(0))).isNotPresent();
+
+        rescoreJobRepository.updatePublished(rescoredExams);
+
+        final RescoreJobStats stats = rescoreJobRepository.findStats(job.getId(), 60000).get();
+        assertThat(stats.getPendingCount()).isEqualTo(0);
+        assertThat(stats.getRescoredCount()).isEqualTo(0);
+        assertThat(stats.getPublishedCount()).isEqualTo(1);
+        assertThat(stats.getRecentlyRescoredCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldRescoreAResubmittedExamAgain() {
+        final RescoreJob job = createJob();
+        final UUID examId = UUID.randomUUID();
+        rescoreJobRepository.submitExam(job.getId(), examId, "<TDSReport />");
+        rescoreJobRepository.updateFailed(
+            rescoreJobRepository.claim(RescoreJobExam.STATUS_PENDING, "owner-1", 10, 60000).get(0), "Fail");
+        assertThat(rescoreJobRepository.findStats(job.getId(), 60000).get().getFailedCount()).isEqualTo(1);
+
+        rescoreJobRepository.submitExam(job.getId(), examId, "<TDSReport opportunity=\"2\" />");
+
+        final List<RescoreJobExam> claimedExams = rescoreJobRepository.claim(RescoreJobExam.STATUS_PENDING, "owner-1", 10, 60000);
+        assertThat(claimedExams).hasSize(1);
+        assertThat(rescoreJobRepository.findTestResults(claimedExams.get(0))).contains("<TDSReport opportunity=\"2\" />");
+        assertThat(claimedExams.get(0).getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldFindTheStatsOfAJobWithoutExams() {
+        final RescoreJob job = createJob();
+
+        final RescoreJobStats stats = rescoreJobRepository.findStats(job.getId(), 60000).get();
+        assertThat(stats.getPendingCount()).isEqualTo(0);
+        assertThat(stats.getRecentlyRescoredCount()).isEqualTo(0);
+        assertThat(rescoreJobRepository.findStats(UUID.randomUUID(), 60000)).isNotPresent();
+    }
+
+    private RescoreJob createJob() {
+        final RescoreJob job = new RescoreJob(UUID.randomUUID(), Collections.emptySet(), Instant.now());
+        rescoreJobRepository.create(job);
+        return job;
+    }
+}
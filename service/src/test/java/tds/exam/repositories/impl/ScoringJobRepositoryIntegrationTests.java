@@ -0,0 +1,132 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.repositories.impl;
+
+import org.joda.time.Instant;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import tds.exam.models.ScoringJobQueueStats;
+import tds.exam.repositories.ScoringJobRepository;
+import tds.score.model.ScoringJob;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringBootTest
+@Transactional
+public class ScoringJobRepositoryIntegrationTests {
+    @Autowired
+    @Qualifier("commandJdbcTemplate")
+    private NamedParameterJdbcTemplate commandJdbcTemplate;
+    private ScoringJobRepository scoringJobRepository;
+
+    @Before
+    public void setUp() {
+        scoringJobRepository = new ScoringJobRepositoryImpl(commandJdbcTemplate, new ExamChangeCommandRepositoryImpl(commandJdbcTemplate));
+    }
+
+    @Test
+    public void shouldOnlyLetOneClaimHoldAJob() {
+        final ScoringJob job = createJob(1);
+        scoringJobRepository.create(Arrays.asList(job, job));
+
+        final List<ScoringJob> claimedJobs = scoringJobRepository.claim("owner-1", 10, 60000);
+        assertThat(claimedJobs).hasSize(1);
+        assertThat(claimedJobs.get(0).getScoreMark()).isEqualTo(job.getScoreMark());
+        assertThat(claimedJobs.get(0).getResponse()).isEqualTo(job.getResponse());
+        assertThat(claimedJobs.get(0).getAttempts()).isEqualTo(1);
+        assertThat(claimedJobs.get(0).getLeaseOwner()).isEqualTo("owner-1");
+
+        assertThat(scoringJobRepository.claim("owner-2", 10, 60000)).isEmpty();
+    }
+
+    @Test
+    public void shouldClaimAJobWhoseLeaseExpired() {
+        scoringJobRepository.create(Collections.singletonList(createJob(1)));
+
+        assertThat(scoringJobRepository.claim("owner-1", 10, -1000)).hasSize(1);
+
+        final List<ScoringJob> claimedJobs = scoringJobRepository.claim("owner-2", 10, 60000);
+        assertThat(claimedJobs).hasSize(1);
+        assertThat(claimedJobs.get(0).getAttempts()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldNotClaimARetriedJobUntilItIsDue() {
+        final ScoringJob laterJob = createJob(1);
+        final ScoringJob dueJob = createJob(2);
+        scoringJobRepository.create(Arrays.asList(laterJob, dueJob));
+        final List<ScoringJob> claimedJobs = scoringJobRepository.claim("owner-1", 10, 60000);
+        assertThat(claimedJobs).hasSize(2);
+
+        for (final ScoringJob claimedJob : claimedJobs) {
+            final long backoffMillis = claimedJob.getScoreMark().equals(laterJob.getScoreMark()) ? 60000 : -1000;
+            scoringJobRepository.retry(claimedJob, backoffMillis, "Unavailable");
+        }
+
+        final List<ScoringJob> retriedJobs = scoringJobRepository.claim("owner-2", 10, 60000);
+        assertThat(retriedJobs).hasSize(1);
+        assertThat(retriedJobs.get(0).getScoreMark()).isEqualTo(dueJob.getScoreMark());
+        assertThat(retriedJobs.get(0).getAttempts()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldNotCompleteAJobWithoutAWaitingResponse() {
+        scoringJobRepository.create(Collections.singletonList(createJob(1)));
+        final ScoringJob claimedJob = scoringJobRepository.claim("owner-1", 10, 60000).get(0);
+
+        assertThat(scoringJobRepository.complete(claimedJob, 1, "Scored", "rationale", null)).isFalse();
+    }
+
+    @Test
+    public void shouldFindTheQueueStats() {
+        scoringJobRepository.create(Arrays.asList(createJob(1), createJob(2), createJob(3)));
+        scoringJobRepository.claim("owner-1", 1, 60000);
+
+        final ScoringJobQueueStats stats = scoringJobRepository.findQueueStats();
+        assertThat(stats.getDepth()).isGreaterThanOrEqualTo(3);
+        assertThat(stats.getLeasedCount()).isGreaterThanOrEqualTo(1);
+        assertThat(stats.getOldestAgeMillis()).isGreaterThanOrEqualTo(60000);
+    }
+
+    private static ScoringJob createJob(final int position) {
+        return new ScoringJob.Builder()
+            .withScoreMark(UUID.randomUUID())
+            .withExamId(UUID.randomUUID())
+            .withExamItemId(UUID.randomUUID())
+            .withClientName("SBAC_PT")
+            .withPosition(position)
+            .withSequence(1)
+            .withBankKey(187)
+            .withItemKey(1000 + position)
+            .withItemFilePath("/path/to/item-187-" + (1000 + position) + ".xml")
+            .withLanguageCode("ENU")
+            .withResponse("<response>\\A</response>")
+            .withScoreSentAt(Instant.now().minus(60000))
+            .build();
+    }
+}
@@ -0,0 +1,141 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.repositories.impl;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import tds.exam.Exam;
+import tds.exam.builder.ExamBuilder;
+import tds.exam.repositories.ExamCommandRepository;
+import tds.exam.repositories.SessionChangeRepository;
+import tds.exam.utils.ExamUnitOfWork;
+import tds.exam.utils.ExamUnitOfWorkProvider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/*
+ * The exam command repositories record their changes when the transaction commits, which these tests never do, so
+ * the changes are recorded directly.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringBootTest
+@Transactional
+public class SessionChangeRepositoryIntegrationTests {
+    @Autowired
+    @Qualifier("commandJdbcTemplate")
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private ExamCommandRepository examCommandRepository;
+    private ExamChangeCommandRepositoryImpl examChangeCommandRepository;
+    private SessionChangeRepository sessionChangeRepository;
+
+    @Before
+    public void setUp() {
+        examChangeCommandRepository = new ExamChangeCommandRepositoryImpl(jdbcTemplate);
+        examCommandRepository = new ExamCommandRepositoryImpl(jdbcTemplate, examChangeCommandRepository, new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
+        sessionChangeRepository = new SessionChangeRepositoryImpl(jdbcTemplate);
+    }
+
+    @Test
+    public void shouldReturnVersionZeroForUnchangedSession() {
+        final UUID sessionId = UUID.randomUUID();
+
+        assertThat(sessionChangeRepository.findVersion(sessionId)).isEqualTo(0);
+        assertThat(sessionChangeRepository.findExamChanges(sessionId, 0)).isEmpty();
+    }
+
+    @Test
+    public void shouldReturnTheExamsChangedAfterAVersion() {
+        final UUID sessionId = UUID.randomUUID();
+        final Exam exam1 = new ExamBuilder().withSessionId(sessionId).build();
+        final Exam exam2 = new ExamBuilder().withSessionId(sessionId).build();
+        examCommandRepository.insert(exam1);
+        examCommandRepository.insert(exam2);
+
+        record(exam1.getId(), exam2.getId());
+        final long firstVersion = sessionChangeRepository.findVersion(sessionId);
+
+        record(exam2.getId());
+        final long secondVersion = sessionChangeRepository.findVersion(sessionId);
+
+        assertThat(firstVersion).isEqualTo(1);
+        assertThat(secondVersion).isEqualTo(2);
+        assertThat(sessionChangeRepository.findExamChanges(sessionId, 0))
+            .containsOnly(entry(exam1.getId(), firstVersion), entry(exam2.getId(), secondVersion));
+        assertThat(sessionChangeRepository.findExamChanges(sessionId, firstVersion))
+            .containsOnly(entry(exam2.getId(), secondVersion));
+        assertThat(sessionChangeRepository.findExamChanges(sessionId, secondVersion)).isEmpty();
+    }
+
+    @Test
+    public void shouldIncrementEachSessionOnceForAChange() {
+        final UUID sessionId = UUID.randomUUID();
+        final UUID otherSessionId = UUID.randomUUID();
+        final Exam exam1 = new ExamBuilder().withSessionId(sessionId).build();
+        final Exam exam2 = new ExamBuilder().withSessionId(sessionId).build();
+        final Exam otherExam = new ExamBuilder().withSessionId(otherSessionId).build();
+        examCommandRepository.insert(exam1);
+        examCommandRepository.insert(exam2);
+        examCommandRepository.insert(otherExam);
+
+        record(exam1.getId(), exam2.getId(), otherExam.getId());
+
+        assertThat(sessionChangeRepository.findVersion(sessionId)).isEqualTo(1);
+        assertThat(sessionChangeRepository.findVersion(otherSessionId)).isEqualTo(1);
+        assertThat(sessionChangeRepository.findExamChanges(otherSessionId, 0)).containsOnly(entry(otherExam.getId(), 1L));
+    }
+
+    @Test
+    public void shouldRecordChangeInPreviousSessionWhenExamMovesSessions() {
+        final UUID sessionId = UUID.randomUUID();
+        final UUID newSessionId = UUID.randomUUID();
+        final Exam exam = new ExamBuilder().withSessionId(sessionId).build();
+        examCommandRepository.insert(exam);
+        record(exam.getId());
+        final long version = sessionChangeRepository.findVersion(sessionId);
+
+        examCommandRepository.update(new Exam.Builder()
+            .fromExam(exam)
+            .withSessionId(newSessionId)
+            .build());
+        record(exam.getId());
+
+        assertThat(sessionChangeRepository.findVersion(sessionId)).isEqualTo(version + 1);
+        assertThat(sessionChangeRepository.findExamChanges(sessionId, version)).containsOnlyKeys(exam.getId());
+        assertThat(sessionChangeRepository.findExamChanges(newSessionId, 0)).containsOnlyKeys(exam.getId());
+    }
+
+    private void record(final UUID... examIds) {
+        final Map<UUID, Timestamp> examActivity = new LinkedHashMap<>();
+        for (final UUID examId : examIds) {
+            examActivity.put(examId, null);
+        }
+
+        examChangeCommandRepository.record(examActivity);
+    }
+}
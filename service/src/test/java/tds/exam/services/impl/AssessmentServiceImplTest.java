@@ -13,8 +13,15 @@
 
 package tds.exam.services.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.cache.annotation.AnnotationCacheOperationSource;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.interceptor.CacheInterceptor;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -44,6 +51,7 @@ import tds.session.ExternalSessionConfiguration;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.HttpMethod.GET;
@@ -59,7 +67,8 @@ public class AssessmentServiceImplTest {
         restTemplate = mock(RestTemplate.class);
         ExamServiceProperties properties = new ExamServiceProperties();
         properties.setAssessmentUrl(BASE_URL);
-        assessmentService = new AssessmentServiceImpl(restTemplate, properties);
+        assessmentService = new AssessmentServiceImpl(restTemplate, properties, new SingleFlightLoader(properties),
+            new ReferenceDataSnapshot(properties, new ObjectMapper()), new AssessmentCacheEvictor());
     }
 
     @Test
@@ -195,4 +204,40 @@ public class AssessmentServiceImplTest {
         assertThat(assessmentService.findSegmentItemInformation("key")).isNotPresent();
         verify(restTemplate).getForObject(uri, SegmentItemInformation.class);
     }
+
+    @Test
+    public void shouldEvictTheCachedAssessmentWhateverKeyGeneratorTheCacheUses() throws URISyntaxException {
+        final ExamServiceProperties properties = new ExamServiceProperties();
+        properties.setAssessmentUrl(BASE_URL);
+
+        final CacheInterceptor cacheInterceptor = new CacheInterceptor();
+        cacheInterceptor.setCacheOperationSources(new AnnotationCacheOperationSource());
+        cacheInterceptor.setCacheManager(new ConcurrentMapCacheManager());
+        cacheInterceptor.setKeyGenerator((instance, method, params) ->
+            new SimpleKey(method.getName(), SimpleKeyGenerator.generateKey(params)));
+        cacheInterceptor.afterPropertiesSet();
+        cacheInterceptor.afterSingletonsInstantiated();
+
+        final ProxyFactory evictorProxyFactory = new ProxyFactory(new AssessmentCacheEvictor());
+        evictorProxyFactory.setProxyTargetClass(true);
+        evictorProxyFactory.addAdvice(cacheInterceptor);
+        final AssessmentCacheEvictor cachedEvictor = (AssessmentCacheEvictor) evictorProxyFactory.getProxy();
+
+        final ProxyFactory serviceProxyFactory = new ProxyFactory(new AssessmentServiceImpl(restTemplate, properties,
+            new SingleFlightLoader(properties), new ReferenceDataSnapshot(properties, new ObjectMapper()), cachedEvictor));
+        serviceProxyFactory.addAdvice(cacheInterceptor);
+        final AssessmentService cachedAssessmentService = (AssessmentService) serviceProxyFactory.getProxy();
+
+        final Assessment assessment = new Assessment();
+        assessment.setKey("key");
+        final URI uri = new URI(BASE_URL + "clientname/assessments/key");
+        when(restTemplate.getForObject(uri, Assessment.class)).thenReturn(assessment);
+
+        cachedAssessmentService.findAssessment("clientname", "key");
+        cachedAssessmentService.findAssessment("clientname", "key");
+        cachedEvictor.evictAssessment("clientname", "key");
+        cachedAssessmentService.findAssessment("clientname", "key");
+
+        verify(restTemplate, times(2)).getForObject(uri, Assessment.class);
+    }
 }
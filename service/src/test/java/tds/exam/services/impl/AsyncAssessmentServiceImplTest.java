@@ -0,0 +1,123 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import com.sun.net.httpserver.HttpExchange;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import tds.accommodation.Accommodation;
+import tds.assessment.Assessment;
+import tds.assessment.AssessmentInfo;
+import tds.exam.builder.AssessmentBuilder;
+import tds.exam.configuration.ExamServiceProperties;
+import tds.exam.services.AssessmentService;
+import tds.exam.services.AsyncAssessmentService;
+
+import static io.github.benas.randombeans.api.EnhancedRandom.randomListOf;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AsyncAssessmentServiceImplTest {
+    @Mock
+    private AssessmentService mockAssessmentService;
+
+    private ExecutorService remoteLookupExecutor;
+    private LateResponseServer server;
+    private AsyncAssessmentService asyncAssessmentService;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new LateResponseServer();
+        remoteLookupExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("remote-lookup-"));
+
+        final ExamServiceProperties examServiceProperties = new ExamServiceProperties();
+        examServiceProperties.setAssessmentUrl(server.getUrl());
+        asyncAssessmentService = new AsyncAssessmentServiceImpl(mockAssessmentService,
+            new RemoteLookupClient(server.newRestTemplate()), examServiceProperties, remoteLookupExecutor);
+    }
+
+    @After
+    public void tearDown() {
+        server.close();
+        remoteLookupExecutor.shutdownNow();
+    }
+
+    @Test
+    public void shouldLookUpTheAssessmentAndItsAccommodationsThroughTheAssessmentServiceOnTheLookupExecutor() throws Exception {
+        final Assessment assessment = new AssessmentBuilder().build();
+        final List<Accommodation> accommodations = randomListOf(2, Accommodation.class);
+        final List<String> lookupThreads = new CopyOnWriteArrayList<>();
+        when(mockAssessmentService.findAssessment("SBAC_PT", "(SBAC_PT)ELA-11")).thenAnswer(invocation -> {
+            lookupThreads.add(Thread.currentThread().getName());
+            return Optional.of(assessment);
+        });
+        when(mockAssessmentService.findAssessmentAccommodationsByAssessmentKey("SBAC_PT", "(SBAC_PT)ELA-11")).thenAnswer(invocation -> {
+            lookupThreads.add(Thread.currentThread().getName());
+            return accommodations;
+        });
+
+        final CompletableFuture<Optional<Assessment>> assessmentLookup = asyncAssessmentService.findAssessment("SBAC_PT", "(SBAC_PT)ELA-11");
+        final CompletableFuture<List<Accommodation>> accommodationsLookup =
+            asyncAssessmentService.findAssessmentAccommodationsByAssessmentKey("SBAC_PT", "(SBAC_PT)ELA-11");
+
+        assertThat(assessmentLookup.get(10, TimeUnit.SECONDS)).contains(assessment);
+        assertThat(accommodationsLookup.get(10, TimeUnit.SECONDS)).isEqualTo(accommodations);
+        assertThat(lookupThreads).containsOnly("remote-lookup-1");
+    }
+
+    @Test
+    public void shouldCompleteExceptionallyWhenTheAssessmentServiceFails() throws Exception {
+        final HttpServerErrorException failure = new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR);
+        when(mockAssessmentService.findAssessmentInfosForAssessments("SBAC_PT", "(SBAC_PT)ELA-11")).thenThrow(failure);
+
+        try {
+            asyncAssessmentService.findAssessmentInfosForAssessments("SBAC_PT", "(SBAC_PT)ELA-11").get(10, TimeUnit.SECONDS);
+            fail("Expected the lookup to fail");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause()).isSameAs(failure);
+        }
+    }
+
+    @Test
+    public void shouldFindTheAssessmentInfosForAGradeWithoutWaitingForTheAssessmentService() throws Exception {
+        final CompletableFuture<List<AssessmentInfo>> lookup = asyncAssessmentService.findAssessmentInfosForGrade("SBAC_PT", "3");
+
+        final HttpExchange request = server.takeRequest();
+        assertThat(request.getRequestURI().getPath()).isEqualTo("/SBAC_PT/assessments");
+        assertThat(request.getRequestURI().getQuery()).isEqualTo("grade=3");
+        assertThat(lookup).isNotDone();
+
+        LateResponseServer.respond(request, 200, "[]");
+        assertThat(lookup.get(10, TimeUnit.SECONDS)).isEmpty();
+    }
+}
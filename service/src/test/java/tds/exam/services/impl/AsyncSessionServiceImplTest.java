@@ -0,0 +1,113 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import com.sun.net.httpserver.HttpExchange;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import tds.exam.builder.ExternalSessionConfigurationBuilder;
+import tds.exam.configuration.ExamServiceProperties;
+import tds.exam.services.AsyncSessionService;
+import tds.exam.services.SessionService;
+import tds.session.ExternalSessionConfiguration;
+import tds.session.Session;
+import tds.session.SessionAssessment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AsyncSessionServiceImplTest {
+    @Mock
+    private SessionService mockSessionService;
+
+    private ExecutorService remoteLookupExecutor;
+    private LateResponseServer server;
+    private AsyncSessionService asyncSessionService;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new LateResponseServer();
+        remoteLookupExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("remote-lookup-"));
+
+        final ExamServiceProperties examServiceProperties = new ExamServiceProperties();
+        examServiceProperties.setSessionUrl(server.getUrl());
+        asyncSessionService = new AsyncSessionServiceImpl(mockSessionService,
+            new RemoteLookupClient(server.newRestTemplate()), examServiceProperties, remoteLookupExecutor);
+    }
+
+    @After
+    public void tearDown() {
+        server.close();
+        remoteLookupExecutor.shutdownNow();
+    }
+
+    @Test
+    public void shouldFindTheSessionAssessmentsWithoutWaitingForTheSessionService() throws Exception {
+        final UUID sessionId = UUID.randomUUID();
+        final CompletableFuture<List<SessionAssessment>> lookup = asyncSessionService.findSessionAssessments(sessionId);
+
+        final HttpExchange request = server.takeRequest();
+        assertThat(request.getRequestURI().getPath()).isEqualTo("/sessions/" + sessionId + "/assessment");
+        assertThat(lookup).isNotDone();
+
+        LateResponseServer.respond(request, 200, "[]");
+        assertThat(lookup.get(10, TimeUnit.SECONDS)).isEmpty();
+    }
+
+    @Test
+    public void shouldFindNoSessionWhenTheSessionServiceRespondsNotFound() throws Exception {
+        final UUID sessionId = UUID.randomUUID();
+        final CompletableFuture<Optional<Session>> lookup = asyncSessionService.findSessionById(sessionId);
+
+        final HttpExchange request = server.takeRequest();
+        assertThat(request.getRequestURI().getPath()).isEqualTo("/sessions/" + sessionId);
+        assertThat(lookup).isNotDone();
+
+        LateResponseServer.respond(request, 404, "{}");
+        assertThat(lookup.get(10, TimeUnit.SECONDS)).isNotPresent();
+    }
+
+    @Test
+    public void shouldLookUpTheExternalSessionConfigurationThroughTheSessionServiceOnTheLookupExecutor() throws Exception {
+        final ExternalSessionConfiguration externalSessionConfiguration =
+            new ExternalSessionConfigurationBuilder().withClientName("SBAC_PT").build();
+        final List<String> lookupThreads = new CopyOnWriteArrayList<>();
+        when(mockSessionService.findExternalSessionConfigurationByClientName("SBAC_PT")).thenAnswer(invocation -> {
+            lookupThreads.add(Thread.currentThread().getName());
+            return Optional.of(externalSessionConfiguration);
+        });
+
+        final CompletableFuture<Optional<ExternalSessionConfiguration>> lookup =
+            asyncSessionService.findExternalSessionConfigurationByClientName("SBAC_PT");
+
+        assertThat(lookup.get(10, TimeUnit.SECONDS)).contains(externalSessionConfiguration);
+        assertThat(lookupThreads).containsExactly("remote-lookup-1");
+    }
+}
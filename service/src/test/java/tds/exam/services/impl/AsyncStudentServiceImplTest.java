@@ -0,0 +1,82 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import tds.exam.builder.StudentBuilder;
+import tds.exam.services.AsyncStudentService;
+import tds.exam.services.StudentService;
+import tds.student.RtsStudentPackageAttribute;
+import tds.student.Student;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static tds.student.RtsStudentPackageAttribute.BLOCKED_SUBJECT;
+import static tds.student.RtsStudentPackageAttribute.ELIGIBLE_ASSESSMENTS;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AsyncStudentServiceImplTest {
+    @Mock
+    private StudentService mockStudentService;
+
+    private ExecutorService remoteLookupExecutor;
+    private AsyncStudentService asyncStudentService;
+
+    @Before
+    public void setUp() {
+        remoteLookupExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("remote-lookup-"));
+        asyncStudentService = new AsyncStudentServiceImpl(mockStudentService, remoteLookupExecutor);
+    }
+
+    @After
+    public void tearDown() {
+        remoteLookupExecutor.shutdownNow();
+    }
+
+    @Test
+    public void shouldLookUpTheStudentAndPackageAttributesThroughTheStudentServiceOnTheLookupExecutor() throws Exception {
+        final Student student = new StudentBuilder().withId(123L).build();
+        final List<RtsStudentPackageAttribute> attributes =
+            Collections.singletonList(new RtsStudentPackageAttribute(ELIGIBLE_ASSESSMENTS, "(SBAC_PT)ELA-11"));
+        final List<String> lookupThreads = new CopyOnWriteArrayList<>();
+        when(mockStudentService.getStudentById("SBAC_PT", 123L)).thenAnswer(invocation -> {
+            lookupThreads.add(Thread.currentThread().getName());
+            return Optional.of(student);
+        });
+        when(mockStudentService.findStudentPackageAttributes(123L, "SBAC_PT", ELIGIBLE_ASSESSMENTS, BLOCKED_SUBJECT)).thenAnswer(invocation -> {
+            lookupThreads.add(Thread.currentThread().getName());
+            return attributes;
+        });
+
+        assertThat(asyncStudentService.getStudentById("SBAC_PT", 123L).get(10, TimeUnit.SECONDS)).contains(student);
+        assertThat(asyncStudentService.findStudentPackageAttributes(123L, "SBAC_PT", ELIGIBLE_ASSESSMENTS, BLOCKED_SUBJECT)
+            .get(10, TimeUnit.SECONDS)).isEqualTo(attributes);
+        assertThat(lookupThreads).containsOnly("remote-lookup-1");
+    }
+}
@@ -0,0 +1,105 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import org.joda.time.Instant;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.web.client.RestClientException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import tds.assessment.Assessment;
+import tds.assessment.Segment;
+import tds.assessment.SegmentItemInformation;
+import tds.common.Algorithm;
+import tds.exam.configuration.ExamServiceProperties;
+import tds.exam.models.AssessmentUsage;
+import tds.exam.models.CacheWarmUpResult;
+import tds.exam.repositories.ExamQueryRepository;
+import tds.exam.services.AssessmentService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CacheWarmUpServiceImplTest {
+    @Mock
+    private ExamQueryRepository mockExamQueryRepository;
+
+    @Mock
+    private AssessmentService mockAssessmentService;
+
+    private CacheWarmUpServiceImpl cacheWarmUpService;
+
+    @Before
+    public void setUp() {
+        final ExamServiceProperties examServiceProperties = new ExamServiceProperties();
+        examServiceProperties.setCacheWarmUpMaxAssessments(50);
+        examServiceProperties.setCacheWarmUpThreadCount(2);
+        cacheWarmUpService = new CacheWarmUpServiceImpl(mockExamQueryRepository, mockAssessmentService, examServiceProperties);
+    }
+
+    @Test
+    public void shouldLoadTheAssessmentsOfRecentExamsWithTheirSegmentsAndAccommodations() {
+        final Assessment assessment = new Assessment();
+        assessment.setKey("(SBAC)assessment");
+        assessment.setAssessmentId("assessment");
+        assessment.setSegments(Arrays.asList(new Segment("(SBAC)segment-1", Algorithm.FIXED_FORM),
+            new Segment("(SBAC)segment-2", Algorithm.FIXED_FORM)));
+
+        when(mockExamQueryRepository.findAssessmentUsage(any(Instant.class), eq(50))).thenReturn(Arrays.asList(
+            new AssessmentUsage("SBAC", "(SBAC)assessment", 20),
+            new AssessmentUsage("SBAC", "(SBAC)missing", 10),
+            new AssessmentUsage("SBAC", "(SBAC)failing", 5)));
+        when(mockAssessmentService.findAssessment("SBAC", "(SBAC)assessment")).thenReturn(Optional.of(assessment));
+        when(mockAssessmentService.findAssessment("SBAC", "(SBAC)missing")).thenReturn(Optional.empty());
+        when(mockAssessmentService.findAssessment("SBAC", "(SBAC)failing")).thenThrow(new RestClientException("Fail"));
+        when(mockAssessmentService.findSegmentItemInformation("(SBAC)segment-1"))
+            .thenReturn(Optional.of(new SegmentItemInformation.Builder().build()));
+        when(mockAssessmentService.findSegmentItemInformation("(SBAC)segment-2"))
+            .thenReturn(Optional.of(new SegmentItemInformation.Builder().build()));
+        when(mockAssessmentService.findAssessmentAccommodationsByAssessmentKey("SBAC", "(SBAC)assessment"))
+            .thenReturn(Collections.emptyList());
+
+        final CacheWarmUpResult result = cacheWarmUpService.warmUp();
+
+        assertThat(result.getAssessmentCount()).isEqualTo(1);
+        assertThat(result.getSegmentCount()).isEqualTo(2);
+        assertThat(result.getAccommodationListCount()).isEqualTo(1);
+        assertThat(result.getFailureCount()).isEqualTo(1);
+        assertThat(result.isTimedOut()).isFalse();
+        verify(mockAssessmentService).findAssessmentAccommodationsByAssessmentKey("SBAC", "(SBAC)assessment");
+    }
+
+    @Test
+    public void shouldNotLoadAnythingWithoutRecentExams() {
+        when(mockExamQueryRepository.findAssessmentUsage(any(Instant.class), eq(50))).thenReturn(Collections.emptyList());
+
+        final CacheWarmUpResult result = cacheWarmUpService.warmUp();
+
+        assertThat(result.getAssessmentCount()).isZero();
+        assertThat(result.isTimedOut()).isFalse();
+        verifyZeroInteractions(mockAssessmentService);
+    }
+}
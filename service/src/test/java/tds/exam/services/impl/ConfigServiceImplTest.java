@@ -55,7 +55,7 @@ public class ConfigServiceImplTest {
         restTemplate = mock(RestTemplate.class);
         ExamServiceProperties properties = new ExamServiceProperties();
         properties.setConfigUrl(BASE_URL);
-        configService = new ConfigServiceImpl(restTemplate, properties);
+        configService = new ConfigServiceImpl(restTemplate, properties, new SingleFlightLoader(properties));
     }
 
     @Test
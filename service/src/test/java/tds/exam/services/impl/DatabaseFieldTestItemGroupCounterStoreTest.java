@@ -0,0 +1,164 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import tds.exam.repositories.FieldTestItemGroupCounterRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DatabaseFieldTestItemGroupCounterStoreTest {
+    private static final String SEGMENT_KEY = "segment-key";
+
+    @Mock
+    private FieldTestItemGroupCounterRepository mockFieldTestItemGroupCounterRepository;
+
+    private DatabaseFieldTestItemGroupCounterStore store;
+
+    @Before
+    public void setUp() {
+        // Flushes are triggered by the tests
+        store = new DatabaseFieldTestItemGroupCounterStore(mockFieldTestItemGroupCounterRepository, Long.MAX_VALUE);
+
+        when(mockFieldTestItemGroupCounterRepository.findCounts(Collections.singleton(SEGMENT_KEY)))
+            .thenReturn(ImmutableMap.of(SEGMENT_KEY, ImmutableMap.of("group-key-1", 5L)));
+    }
+
+    @After
+    public void tearDown() {
+        store.close();
+    }
+
+    @Test
+    public void shouldLoadTheSharedCountsOfASegmentOnce() {
+        store.increment(SEGMENT_KEY, Collections.singletonList("group-key-2"));
+        Map<String, Long> counts = store.findCounts(SEGMENT_KEY, Arrays.asList("group-key-1", "group-key-2", "group-key-3"));
+
+        assertThat(counts).containsOnly(
+            entry("group-key-1", 5L),
+            entry("group-key-2", 1L),
+            entry("group-key-3", 0L));
+        verify(mockFieldTestItemGroupCounterRepository, times(1)).findCounts(Collections.singleton(SEGMENT_KEY));
+    }
+
+    @Test
+    public void shouldFlushIncrementsAndReloadTheSharedCounts() {
+        store.increment(SEGMENT_KEY, Arrays.asList("group-key-1", "group-key-2"));
+        store.increment(SEGMENT_KEY, Collections.singletonList("group-key-2"));
+
+        // Another instance assigned group-key-1 three more times
+        when(mockFieldTestItemGroupCounterRepository.findCounts(Collections.singleton(SEGMENT_KEY)))
+            .thenReturn(ImmutableMap.of(SEGMENT_KEY, ImmutableMap.of("group-key-1", 9L, "group-key-2", 2L)));
+        store.flush();
+
+        verify(mockFieldTestItemGroupCounterRepository).incrementCounts(
+            ImmutableMap.of(SEGMENT_KEY, ImmutableMap.of("group-key-1", 1L, "group-key-2", 2L)));
+        assertThat(store.findCounts(SEGMENT_KEY, Arrays.asList("group-key-1", "group-key-2"))).containsOnly(
+            entry("group-key-1", 9L),
+            entry("group-key-2", 2L));
+
+        // Nothing left to write
+        store.flush();
+        verify(mockFieldTestItemGroupCounterRepository, times(1)).incrementCounts(any());
+    }
+
+    @Test
+    public void shouldKeepIncrementsThatFailedToFlush() {
+        store.increment(SEGMENT_KEY, Collections.singletonList("group-key-1"));
+        doThrow(new RuntimeException("Fail"))
+            .when(mockFieldTestItemGroupCounterRepository).incrementCounts(any());
+
+        try {
+            store.flush();
+        } catch (RuntimeException e) {
+            // expected
+        }
+
+        doNothing().when(mockFieldTestItemGroupCounterRepository).incrementCounts(any());
+        store.flush();
+
+        verify(mockFieldTestItemGroupCounterRepository, times(2)).incrementCounts(
+            ImmutableMap.of(SEGMENT_KEY, ImmutableMap.of("group-key-1", 1L)));
+    }
+
+    @Test
+    public void shouldStartFromZeroWhenTheSharedCountsCannotBeLoaded() {
+        when(mockFieldTestItemGroupCounterRepository.findCounts(Collections.singleton("other-segment-key")))
+            .thenThrow(new RuntimeException("Fail"));
+
+        assertThat(store.findCounts("other-segment-key", Collections.singletonList("group-key-1")))
+            .containsOnly(entry("group-key-1", 0L));
+        verify(mockFieldTestItemGroupCounterRepository, never()).incrementCounts(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldNotLoseIncrementsMadeWhileFlushing() throws Exception {
+        final AtomicLong flushedIncrements = new AtomicLong();
+        doAnswer(invocation -> {
+            Map<String, Map<String, Long>> increments = (Map<String, Map<String, Long>>) invocation.getArguments()[0];
+            increments.values().forEach(groupIncrements -> groupIncrements.values().forEach(flushedIncrements::addAndGet));
+            return null;
+        }).when(mockFieldTestItemGroupCounterRepository).incrementCounts(any());
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] futures = new Future<?>[4];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = executor.submit(() -> {
+                    for (int j = 0; j < 10000; j++) {
+                        store.increment(SEGMENT_KEY, Collections.singletonList("group-key-1"));
+                    }
+                });
+            }
+
+            for (Future<?> future : futures) {
+                while (!future.isDone()) {
+                    store.flush();
+                }
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        store.flush();
+
+        assertThat(flushedIncrements.get()).isEqualTo(40000L);
+    }
+}
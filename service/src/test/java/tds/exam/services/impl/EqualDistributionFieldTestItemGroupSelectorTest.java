@@ -54,7 +54,7 @@ public class EqualDistributionFieldTestItemGroupSelectorTest {
 
     @Before
     public void setUp() {
-        selector = new EqualDistributionFieldTestItemGroupSelector(mockItemPoolService);
+        selector = new EqualDistributionFieldTestItemGroupSelector(mockItemPoolService, new InMemoryFieldTestItemGroupCounterStore());
     }
 
     @Test
@@ -95,7 +95,7 @@ public class EqualDistributionFieldTestItemGroupSelectorTest {
 
         Set<Item> fieldTestItems = new HashSet<>(Arrays.asList(ftItem1, ftItem2, ftItem3, ftItem4));
 
-        when(mockItemPoolService.getFieldTestItemPool(any(), eq(assessment.getItemConstraints()), any()))
+        when(mockItemPoolService.getFieldTestItemPool(any(), eq(assessment.getItemConstraints()), any(), any(), any(), any()))
             .thenReturn(fieldTestItems, fieldTestItems, fieldTestItems);
 
         for (int i = 0; i < numberOfExamsToTest; i++) {
@@ -115,7 +115,7 @@ public class EqualDistributionFieldTestItemGroupSelectorTest {
             }
         }
 
-        verify(mockItemPoolService, times(numberOfExamsToTest)).getFieldTestItemPool(any(), eq(assessment.getItemConstraints()), any());
+        verify(mockItemPoolService, times(numberOfExamsToTest)).getFieldTestItemPool(any(), eq(assessment.getItemConstraints()), any(), any(), any(), any());
 
         assertThat(itemGroupOccurances).hasSize(4);
 
@@ -162,11 +162,11 @@ public class EqualDistributionFieldTestItemGroupSelectorTest {
             .withFieldTest(true)
             .build();
 
-        when(mockItemPoolService.getFieldTestItemPool(eq(exam.getId()), eq(assessment.getItemConstraints()), any()))
+        when(mockItemPoolService.getFieldTestItemPool(eq(exam.getId()), eq(assessment.getItemConstraints()), any(), any(), any(), any()))
             .thenReturn(new HashSet<>(Arrays.asList(ftItem1, ftItem2, ftItem3, excludedFtItem)));
         List<FieldTestItemGroup> retFtItemGroups = selector.selectLeastUsedItemGroups(exam, new HashSet<>(Arrays.asList(excludedFtItem.getGroupId())),
             assessment, segment, segment.getFieldTestMinItems());
-        verify(mockItemPoolService).getFieldTestItemPool(eq(exam.getId()), eq(assessment.getItemConstraints()), any());
+        verify(mockItemPoolService).getFieldTestItemPool(eq(exam.getId()), eq(assessment.getItemConstraints()), any(), any(), any(), any());
         assertThat(retFtItemGroups).hasSize(3);
 
         FieldTestItemGroup selectedItemGroup = null;
@@ -222,11 +222,11 @@ public class EqualDistributionFieldTestItemGroupSelectorTest {
             .build();
 
         // Exam 1
-        when(mockItemPoolService.getFieldTestItemPool(eq(exam1.getId()), eq(assessment.getItemConstraints()), any()))
+        when(mockItemPoolService.getFieldTestItemPool(eq(exam1.getId()), eq(assessment.getItemConstraints()), any(), any(), any(), any()))
             .thenReturn(new HashSet<>(Arrays.asList(exam1ItemGroup)));
 
         // Exam 2
-        when(mockItemPoolService.getFieldTestItemPool(eq(exam2.getId()), eq(assessment.getItemConstraints()), any()))
+        when(mockItemPoolService.getFieldTestItemPool(eq(exam2.getId()), eq(assessment.getItemConstraints()), any(), any(), any(), any()))
             .thenReturn(new HashSet<>(Arrays.asList(exam2ItemGroup1, exam2ItemGroup2)));
         List<FieldTestItemGroup> retFtItemGroupsExam1 = selector.selectLeastUsedItemGroups(exam1, new HashSet<>(),
             assessment, segment, segment.getFieldTestMinItems());
@@ -288,11 +288,11 @@ public class EqualDistributionFieldTestItemGroupSelectorTest {
             .withGroupKey("group-key-2")
             .withFieldTest(true)
             .build();
-        when(mockItemPoolService.getFieldTestItemPool(eq(exam.getId()), eq(assessment.getItemConstraints()), any()))
+        when(mockItemPoolService.getFieldTestItemPool(eq(exam.getId()), eq(assessment.getItemConstraints()), any(), any(), any(), any()))
             .thenReturn(new HashSet<>(Arrays.asList(ftItem1g1, ftItem2g1, ftItem3g1, ftItem4g2)));
         List<FieldTestItemGroup> retFtItemGroups = selector.selectLeastUsedItemGroups(exam, new HashSet<>(),
             assessment, segment, segment.getFieldTestMinItems());
-        verify(mockItemPoolService).getFieldTestItemPool(eq(exam.getId()), eq(assessment.getItemConstraints()), any());
+        verify(mockItemPoolService).getFieldTestItemPool(eq(exam.getId()), eq(assessment.getItemConstraints()), any(), any(), any(), any());
         assertThat(retFtItemGroups).hasSize(2);
 
         FieldTestItemGroup multiItemItemGroup = null;
@@ -0,0 +1,132 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.time.Clock;
+import java.util.Optional;
+import java.util.UUID;
+
+import tds.exam.ExamInfo;
+import tds.exam.configuration.ExamServiceProperties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ExamAccessTokenServiceImplTest {
+    private static final long TTL_MILLIS = 60000;
+
+    @Mock
+    private Clock mockClock;
+
+    private ExamServiceProperties examServiceProperties;
+    private ExamAccessTokenServiceImpl examAccessTokenService;
+    private ExamInfo examInfo;
+
+    @Before
+    public void setUp() {
+        examServiceProperties = new ExamServiceProperties();
+        examServiceProperties.setAccessTokenSecret("secret");
+        examServiceProperties.setAccessTokenTtlMillis(TTL_MILLIS);
+        examAccessTokenService = new ExamAccessTokenServiceImpl(examServiceProperties, mockClock);
+        examInfo = new ExamInfo(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+        when(mockClock.millis()).thenReturn(1000L);
+    }
+
+    @Test
+    public void shouldAcceptTokenIssuedForTheExam() {
+        final String token = examAccessTokenService.issueToken(examInfo).get();
+
+        when(mockClock.millis()).thenReturn(1000L + TTL_MILLIS - 1);
+
+        assertThat(examAccessTokenService.isValid(token, examInfo)).isTrue();
+    }
+
+    @Test
+    public void shouldAcceptTokenIssuedByAnotherInstanceWithTheSameSecret() {
+        final String token = new ExamAccessTokenServiceImpl(examServiceProperties, mockClock).issueToken(examInfo).get();
+
+        assertThat(examAccessTokenService.isValid(token, examInfo)).isTrue();
+    }
+
+    @Test
+    public void shouldRejectTokenForAnotherSessionOrBrowser() {
+        final String token = examAccessTokenService.issueToken(examInfo).get();
+
+        assertThat(examAccessTokenService.isValid(token,
+            new ExamInfo(examInfo.getExamId(), UUID.randomUUID(), examInfo.getBrowserId()))).isFalse();
+        assertThat(examAccessTokenService.isValid(token,
+            new ExamInfo(examInfo.getExamId(), examInfo.getSessionId(), UUID.randomUUID()))).isFalse();
+        assertThat(examAccessTokenService.isValid(token,
+            new ExamInfo(UUID.randomUUID(), examInfo.getSessionId(), examInfo.getBrowserId()))).isFalse();
+    }
+
+    @Test
+    public void shouldRejectTokenSignedWithAnotherSecret() {
+        final ExamServiceProperties otherProperties = new ExamServiceProperties();
+        otherProperties.setAccessTokenSecret("other secret");
+        final String token = new ExamAccessTokenServiceImpl(otherProperties, mockClock).issueToken(examInfo).get();
+
+        assertThat(examAccessTokenService.isValid(token, examInfo)).isFalse();
+    }
+
+    @Test
+    public void shouldRejectMalformedTokens() {
+        final String token = examAccessTokenService.issueToken(examInfo).get();
+
+        assertThat(examAccessTokenService.isValid(token.substring(0, token.indexOf('.')), examInfo)).isFalse();
+        assertThat(examAccessTokenService.isValid("not a token.!!", examInfo)).isFalse();
+        assertThat(examAccessTokenService.isValid(token + "A", examInfo)).isFalse();
+    }
+
+    @Test
+    public void shouldRejectExpiredToken() {
+        final String token = examAccessTokenService.issueToken(examInfo).get();
+
+        when(mockClock.millis()).thenReturn(1000L + TTL_MILLIS);
+
+        assertThat(examAccessTokenService.isValid(token, examInfo)).isFalse();
+    }
+
+    @Test
+    public void shouldRejectTokensIssuedBeforeTheyWereRevoked() {
+        final String revokedToken = examAccessTokenService.issueToken(examInfo).get();
+
+        when(mockClock.millis()).thenReturn(2000L);
+        examAccessTokenService.revokeTokens(examInfo.getExamId());
+
+        when(mockClock.millis()).thenReturn(3000L);
+        final String token = examAccessTokenService.issueToken(examInfo).get();
+
+        assertThat(examAccessTokenService.isValid(revokedToken, examInfo)).isFalse();
+        assertThat(examAccessTokenService.isValid(token, examInfo)).isTrue();
+    }
+
+    @Test
+    public void shouldNotIssueOrAcceptTokensWithoutASecret() {
+        final String token = examAccessTokenService.issueToken(examInfo).get();
+        examServiceProperties.setAccessTokenSecret("");
+        final ExamAccessTokenServiceImpl disabledService = new ExamAccessTokenServiceImpl(examServiceProperties, mockClock);
+
+        assertThat(disabledService.issueToken(examInfo)).isEqualTo(Optional.empty());
+        assertThat(disabledService.isValid(token, examInfo)).isFalse();
+    }
+}
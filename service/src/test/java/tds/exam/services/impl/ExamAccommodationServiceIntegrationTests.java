@@ -39,7 +39,10 @@ import tds.exam.repositories.ExamAccommodationCommandRepository;
 import tds.exam.repositories.ExamAccommodationQueryRepository;
 import tds.exam.repositories.ExamCommandRepository;
 import tds.exam.repositories.impl.ExamAccommodationCommandRepositoryImpl;
+import tds.exam.repositories.impl.ExamChangeCommandRepositoryImpl;
 import tds.exam.services.AssessmentService;
+import tds.exam.utils.ExamUnitOfWork;
+import tds.exam.utils.ExamUnitOfWorkProvider;
 
 import static java.util.Arrays.asList;
 import static org.mockito.Mockito.when;
@@ -73,7 +76,7 @@ public class ExamAccommodationServiceIntegrationTests {
         exam = new ExamBuilder().build();
         examCommandRepository.insert(exam);
 
-        examAccommodationCommandRepository = new ExamAccommodationCommandRepositoryImpl(jdbcTemplate);
+        examAccommodationCommandRepository = new ExamAccommodationCommandRepositoryImpl(jdbcTemplate, new ExamChangeCommandRepositoryImpl(jdbcTemplate), new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
 
         examAccommodationService = new ExamAccommodationServiceImpl(mockExamAccommodationQueryRepository,
             examAccommodationCommandRepository,
@@ -0,0 +1,97 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import tds.exam.models.ExamCurrentProjectionReport;
+import tds.exam.repositories.ExamCurrentProjectionRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ExamCurrentProjectionServiceImplTest {
+    @Mock
+    private ExamCurrentProjectionRepository mockExamCurrentProjectionRepository;
+
+    private ExamCurrentProjectionServiceImpl examCurrentProjectionService;
+
+    private final UUID examId1 = UUID.randomUUID();
+    private final UUID examId2 = UUID.randomUUID();
+    private final UUID examId3 = UUID.randomUUID();
+
+    @Before
+    public void setUp() {
+        examCurrentProjectionService = new ExamCurrentProjectionServiceImpl(mockExamCurrentProjectionRepository);
+
+        when(mockExamCurrentProjectionRepository.findExamIds(null, 2)).thenReturn(Arrays.asList(examId1, examId2));
+        when(mockExamCurrentProjectionRepository.findExamIds(examId2, 2)).thenReturn(Collections.singletonList(examId3));
+    }
+
+    @Test
+    public void shouldVerifyAllExamsInBatchesWithoutRebuilding() {
+        when(mockExamCurrentProjectionRepository.findOutOfDateExamIds(Arrays.asList(examId1, examId2))).thenReturn(Collections.singletonList(examId2));
+        when(mockExamCurrentProjectionRepository.findOutOfDateExamIds(Collections.singletonList(examId3))).thenReturn(Collections.emptyList());
+
+        ExamCurrentProjectionReport report = examCurrentProjectionService.verify(2);
+
+        assertThat(report.getExamsChecked()).isEqualTo(3);
+        assertThat(report.getExamsOutOfDate()).isEqualTo(1);
+        assertThat(report.getExamsRebuilt()).isEqualTo(0);
+        assertThat(report.getOutOfDateExamIds()).containsExactly(examId2);
+        verify(mockExamCurrentProjectionRepository, never()).rebuild(any());
+    }
+
+    @Test
+    public void shouldRebuildOnlyOutOfDateExams() {
+        List<UUID> outOfDateExamIds = Collections.singletonList(examId1);
+        when(mockExamCurrentProjectionRepository.findOutOfDateExamIds(Arrays.asList(examId1, examId2))).thenReturn(outOfDateExamIds);
+        when(mockExamCurrentProjectionRepository.findOutOfDateExamIds(Collections.singletonList(examId3))).thenReturn(Collections.emptyList());
+
+        ExamCurrentProjectionReport report = examCurrentProjectionService.rebuild(true, 2);
+
+        assertThat(report.getExamsChecked()).isEqualTo(3);
+        assertThat(report.getExamsRebuilt()).isEqualTo(1);
+        verify(mockExamCurrentProjectionRepository).rebuild(outOfDateExamIds);
+    }
+
+    @Test
+    public void shouldRebuildAllExams() {
+        ExamCurrentProjectionReport report = examCurrentProjectionService.rebuild(false, 2);
+
+        assertThat(report.getExamsChecked()).isEqualTo(3);
+        assertThat(report.getExamsRebuilt()).isEqualTo(3);
+        verify(mockExamCurrentProjectionRepository).rebuild(Arrays.asList(examId1, examId2));
+        verify(mockExamCurrentProjectionRepository).rebuild(Collections.singletonList(examId3));
+        verify(mockExamCurrentProjectionRepository, never()).findOutOfDateExamIds(any());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowForInvalidBatchSize() {
+        examCurrentProjectionService.verify(0);
+    }
+}
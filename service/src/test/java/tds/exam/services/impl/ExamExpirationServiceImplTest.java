@@ -6,6 +6,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatcher;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -26,12 +27,24 @@ import tds.exam.ExpiredExamInformation;
 import tds.exam.ExpiredExamResponse;
 import tds.exam.builder.ExamBuilder;
 import tds.exam.configuration.ExamServiceProperties;
+import tds.exam.models.ExamExpirationCheckpoint;
+import tds.exam.repositories.ExamExpirationCheckpointRepository;
 import tds.exam.repositories.ExamQueryRepository;
 import tds.exam.services.ConfigService;
 import tds.exam.services.ExamService;
 import tds.exam.services.TimeLimitConfigurationService;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.argThat;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
@@ -53,6 +66,9 @@ public class ExamExpirationServiceImplTest {
     @Mock
     private ConfigService mockConfigService;
 
+    @Mock
+    private ExamExpirationCheckpointRepository mockExamExpirationCheckpointRepository;
+
     private TimeLimitConfiguration clientTimeLimitConfiguration;
 
     @Captor
@@ -64,7 +80,7 @@ public class ExamExpirationServiceImplTest {
     public void setUp() {
         examServiceProperties = new ExamServiceProperties();
         examServiceProperties.setExpireExamLimit(2);
-        examExpirationService = new ExamExpirationServiceImpl(mockExamService, mockExamQueryRepository, mockTimeLimitConfigurationService, examServiceProperties, mockConfigService);
+        examExpirationService = new ExamExpirationServiceImpl(mockExamService, mockExamQueryRepository, mockTimeLimitConfigurationService, examServiceProperties, mockConfigService, mockExamExpirationCheckpointRepository);
         clientTimeLimitConfiguration = new TimeLimitConfiguration.Builder()
             .withClientName("SBAC")
             .withExamExpireDays(3)
@@ -199,4 +215,110 @@ public class ExamExpirationServiceImplTest {
 
         assertThat(entityUpdateCaptor.getValue().stream().map(entityUpdate -> entityUpdate.getUpdatedEntity().getId()).collect(Collectors.toSet())).containsOnly(exam.getId(), exam2.getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldNotExpireAllExamsWhenAnotherInstanceHoldsTheLease() {
+        when(mockExamExpirationCheckpointRepository.tryAcquireLease(eq("SBAC"), anyString(), anyLong())).thenReturn(false);
+
+        assertThat(examExpirationService.expireAllExams("SBAC")).isEqualTo(0);
+
+        verifyZeroInteractions(mockExamQueryRepository, mockExamService);
+        verify(mockExamExpirationCheckpointRepository, never()).releaseLease(any(), any(), anyBoolean());
+    }
+
+    @Test
+    public void shouldExpireAllExamsInChunksAndCheckpointProgress() {
+        Exam exam1 = expirableExam(5);
+        Exam exam2 = expirableExam(4);
+        Exam exam3 = expirableExam(3);
+        Exam exam4 = expirableExam(2);
+        Exam exam5 = expirableExam(1);
+
+        // Two chunks of two exams are expired in parallel, followed by the final partial chunk
+        examServiceProperties.setExpirationThreadCount(2);
+        examExpirationService = new ExamExpirationServiceImpl(mockExamService, mockExamQueryRepository, mockTimeLimitConfigurationService, examServiceProperties, mockConfigService, mockExamExpirationCheckpointRepository);
+
+        when(mockExamExpirationCheckpointRepository.tryAcquireLease(eq("SBAC"), anyString(), anyLong())).thenReturn(true);
+        when(mockExamExpirationCheckpointRepository.findCheckpoint("SBAC")).thenReturn(Optional.empty());
+        when(mockExamExpirationCheckpointRepository.saveCheckpoint(eq("SBAC"), anyString(), any(), anyLong())).thenReturn(true);
+        when(mockTimeLimitConfigurationService.findTimeLimitConfiguration("SBAC")).thenReturn(Optional.of(clientTimeLimitConfiguration));
+        when(mockTimeLimitConfigurationService.findTimeLimitConfiguration("SBAC", exam1.getAssessmentId())).thenReturn(Optional.empty());
+        when(mockConfigService.findForceCompleteAssessmentIds("SBAC")).thenReturn(Collections.emptyList());
+        when(mockExamQueryRepository.findExamsToExpire(eq("SBAC"), eq(ExamExpirationServiceImpl.STATUSES_TO_IGNORE_FOR_EXPIRATION), any(), (ExamExpirationCheckpoint) isNull(), eq(2)))
+            .thenReturn(Arrays.asList(exam1, exam2));
+        when(mockExamQueryRepository.findExamsToExpire(eq("SBAC"), eq(ExamExpirationServiceImpl.STATUSES_TO_IGNORE_FOR_EXPIRATION), any(), argThat(isAfter(exam2)), eq(2)))
+            .thenReturn(Arrays.asList(exam3, exam4));
+        when(mockExamQueryRepository.findExamsToExpire(eq("SBAC"), eq(ExamExpirationServiceImpl.STATUSES_TO_IGNORE_FOR_EXPIRATION), any(), argThat(isAfter(exam4)), eq(2)))
+            .thenReturn(Collections.singletonList(exam5));
+
+        assertThat(examExpirationService.expireAllExams("SBAC")).isEqualTo(5);
+
+        verify(mockExamService, times(3)).updateExams(entityUpdateCaptor.capture());
+        assertThat(entityUpdateCaptor.getAllValues().stream()
+            .flatMap(List::stream)
+            .map(entityUpdate -> entityUpdate.getUpdatedEntity().getId())
+            .collect(Collectors.toSet())).containsOnly(exam1.getId(), exam2.getId(), exam3.getId(), exam4.getId(), exam5.getId());
+        verify(mockExamExpirationCheckpointRepository).saveCheckpoint(eq("SBAC"), anyString(), argThat(isAfter(exam4)), anyLong());
+        verify(mockExamExpirationCheckpointRepository).saveCheckpoint(eq("SBAC"), anyString(), argThat(isAfter(exam5)), anyLong());
+        verify(mockExamExpirationCheckpointRepository).releaseLease(eq("SBAC"), anyString(), eq(true));
+    }
+
+    @Test
+    public void shouldResumeExpiringAllExamsFromTheCheckpoint() {
+        Exam exam1 = expirableExam(5);
+        Exam exam2 = expirableExam(4);
+
+        when(mockExamExpirationCheckpointRepository.tryAcquireLease(eq("SBAC"), anyString(), anyLong())).thenReturn(true);
+        when(mockExamExpirationCheckpointRepository.findCheckpoint("SBAC")).thenReturn(Optional.of(new ExamExpirationCheckpoint(exam1.getExpiresAt(), exam1.getId())));
+        when(mockExamExpirationCheckpointRepository.saveCheckpoint(eq("SBAC"), anyString(), any(), anyLong())).thenReturn(true);
+        when(mockTimeLimitConfigurationService.findTimeLimitConfiguration("SBAC")).thenReturn(Optional.of(clientTimeLimitConfiguration));
+        when(mockExamQueryRepository.findExamsToExpire(eq("SBAC"), eq(ExamExpirationServiceImpl.STATUSES_TO_IGNORE_FOR_EXPIRATION), any(), argThat(isAfter(exam1)), eq(2)))
+            .thenReturn(Collections.singletonList(exam2));
+
+        assertThat(examExpirationService.expireAllExams("SBAC")).isEqualTo(1);
+
+        verify(mockExamService).updateExams(entityUpdateCaptor.capture());
+        assertThat(entityUpdateCaptor.getValue().get(0).getUpdatedEntity().getId()).isEqualTo(exam2.getId());
+        verify(mockExamExpirationCheckpointRepository).releaseLease(eq("SBAC"), anyString(), eq(true));
+    }
+
+    @Test
+    public void shouldKeepTheCheckpointWhenExpiringAllExamsFails() {
+        Exam exam1 = expirableExam(5);
+
+        when(mockExamExpirationCheckpointRepository.tryAcquireLease(eq("SBAC"), anyString(), anyLong())).thenReturn(true);
+        when(mockExamExpirationCheckpointRepository.findCheckpoint("SBAC")).thenReturn(Optional.empty());
+        when(mockTimeLimitConfigurationService.findTimeLimitConfiguration("SBAC")).thenReturn(Optional.of(clientTimeLimitConfiguration));
+        when(mockExamQueryRepository.findExamsToExpire(eq("SBAC"), eq(ExamExpirationServiceImpl.STATUSES_TO_IGNORE_FOR_EXPIRATION), any(), (ExamExpirationCheckpoint) isNull(), eq(2)))
+            .thenReturn(Collections.singletonList(exam1));
+        doThrow(new RuntimeException("Fail")).when(mockExamService).updateExams(any());
+
+        try {
+            examExpirationService.expireAllExams("SBAC");
+            fail("Expected the failure to be thrown");
+        } catch (RuntimeException e) {
+            assertThat(e.getMessage()).isEqualTo("Fail");
+        }
+
+        verify(mockExamExpirationCheckpointRepository, never()).saveCheckpoint(any(), any(), any(), anyLong());
+        verify(mockExamExpirationCheckpointRepository).releaseLease(eq("SBAC"), anyString(), eq(false));
+    }
+
+    private static Exam expirableExam(final int expiredDaysAgo) {
+        return new ExamBuilder()
+            .withClientName("SBAC")
+            .withId(UUID.randomUUID())
+            .withExpiresAt(Instant.now().toDateTime().minusDays(expiredDaysAgo + 3).toInstant())
+            .withChangedAt(Instant.now())
+            .build();
+    }
+
+    private static ArgumentMatcher<ExamExpirationCheckpoint> isAfter(final Exam exam) {
+        return new ArgumentMatcher<ExamExpirationCheckpoint>() {
+            @Override
+            public boolean matches(final Object argument) {
+                return argument != null && ((ExamExpirationCheckpoint) argument).getExamId().equals(exam.getId());
+            }
+        };
+    }
+}
@@ -0,0 +1,63 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+
+import tds.exam.configuration.ExamServiceProperties;
+import tds.exam.services.ExamExpirationService;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ExamExpirationWorkerTest {
+    @Mock
+    private ExamExpirationService mockExamExpirationService;
+
+    private ExamServiceProperties examServiceProperties;
+    private ExamExpirationWorker examExpirationWorker;
+
+    @Before
+    public void setUp() {
+        examServiceProperties = new ExamServiceProperties();
+        examServiceProperties.setExpirationClientNames(Arrays.asList("SBAC", "SBAC_PT"));
+        examExpirationWorker = new ExamExpirationWorker(mockExamExpirationService, examServiceProperties);
+    }
+
+    @Test
+    public void shouldExpireTheExamsOfEachClientWhenAnotherClientFails() {
+        when(mockExamExpirationService.expireAllExams("SBAC")).thenThrow(new IllegalStateException("Fail"));
+
+        examExpirationWorker.expireExams();
+
+        verify(mockExamExpirationService).expireAllExams("SBAC");
+        verify(mockExamExpirationService).expireAllExams("SBAC_PT");
+    }
+
+    @Test
+    public void shouldNotScheduleExpirationWhenDisabled() {
+        examExpirationWorker.start();
+        examExpirationWorker.stop();
+
+        verifyZeroInteractions(mockExamExpirationService);
+    }
+}
@@ -43,6 +43,7 @@ import tds.exam.services.AssessmentService;
 import tds.exam.services.ExamItemSelectionService;
 import tds.exam.services.ExamSegmentService;
 import tds.exam.services.ExamService;
+import tds.exam.services.item.selection.ItemSelectionContexts;
 import tds.itemselection.base.ItemGroup;
 import tds.itemselection.base.TestItem;
 import tds.itemselection.model.ItemResponse;
@@ -84,7 +85,8 @@ public class ExamItemSelectionServiceImplTest {
             mockExamItemCommandRepository,
             mockExamService,
             mockAssessmentService,
-            mockExamSegmentService);
+            mockExamSegmentService,
+            new ItemSelectionContexts());
     }
 
     @After
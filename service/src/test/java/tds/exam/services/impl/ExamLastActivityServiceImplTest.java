@@ -0,0 +1,76 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+
+import tds.exam.models.ExamLastActivityBackfillReport;
+import tds.exam.repositories.ExamLastActivityRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ExamLastActivityServiceImplTest {
+    @Mock
+    private ExamLastActivityRepository mockExamLastActivityRepository;
+
+    private ExamLastActivityServiceImpl examLastActivityService;
+
+    @Before
+    public void setUp() {
+        examLastActivityService = new ExamLastActivityServiceImpl(mockExamLastActivityRepository);
+    }
+
+    @Test
+    public void shouldBackfillInProgressExamsInBatches() {
+        final UUID examId1 = UUID.randomUUID();
+        final UUID examId2 = UUID.randomUUID();
+        final UUID examId3 = UUID.randomUUID();
+        when(mockExamLastActivityRepository.findInProgressExamIds(null, 2)).thenReturn(Arrays.asList(examId1, examId2));
+        when(mockExamLastActivityRepository.findInProgressExamIds(examId2, 2)).thenReturn(Collections.singletonList(examId3));
+
+        ExamLastActivityBackfillReport report = examLastActivityService.backfill(2);
+
+        assertThat(report.getExamsBackfilled()).isEqualTo(3);
+        verify(mockExamLastActivityRepository).backfill(Arrays.asList(examId1, examId2));
+        verify(mockExamLastActivityRepository).backfill(Collections.singletonList(examId3));
+    }
+
+    @Test
+    public void shouldNotBackfillWithoutInProgressExams() {
+        when(mockExamLastActivityRepository.findInProgressExamIds(null, 2)).thenReturn(Collections.emptyList());
+
+        ExamLastActivityBackfillReport report = examLastActivityService.backfill(2);
+
+        assertThat(report.getExamsBackfilled()).isEqualTo(0);
+        verify(mockExamLastActivityRepository, never()).backfill(any());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectBatchSizeLessThanOne() {
+        examLastActivityService.backfill(0);
+    }
+}
@@ -13,6 +13,8 @@
 
 package tds.exam.services.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.MoreExecutors;
 import org.assertj.core.util.Lists;
 import org.joda.time.Days;
 import org.joda.time.Instant;
@@ -23,10 +25,26 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
-
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.cache.annotation.AnnotationCacheOperationSource;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.interceptor.CacheInterceptor;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -35,6 +53,8 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import tds.accommodation.Accommodation;
 import tds.assessment.Assessment;
@@ -72,11 +92,15 @@ import tds.exam.builder.ExternalSessionConfigurationBuilder;
 import tds.exam.builder.OpenExamRequestBuilder;
 import tds.exam.builder.SessionBuilder;
 import tds.exam.builder.StudentBuilder;
+import tds.exam.configuration.ExamServiceProperties;
 import tds.exam.error.ValidationErrorCode;
 import tds.exam.repositories.ExamCommandRepository;
 import tds.exam.repositories.ExamQueryRepository;
 import tds.exam.repositories.ExamStatusQueryRepository;
 import tds.exam.services.AssessmentService;
+import tds.exam.services.AsyncAssessmentService;
+import tds.exam.services.AsyncSessionService;
+import tds.exam.services.AsyncStudentService;
 import tds.exam.services.ConfigService;
 import tds.exam.services.ExamAccommodationService;
 import tds.exam.services.ExamApprovalService;
@@ -103,6 +127,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.isA;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -177,6 +203,9 @@ public class ExamServiceImplTest {
     @Mock
     private ExamSegmentWrapperService mockExamSegmentWrapperService;
 
+    @Mock
+    private PlatformTransactionManager mockTransactionManager;
+
     @Captor
     private ArgumentCaptor<Exam> examArgumentCaptor;
 
@@ -200,7 +229,12 @@ public class ExamServiceImplTest {
             mockExamApprovalService,
             mockExamineeService,
             Collections.singletonList(mockOnCompletedExamChangeListener),
-            Arrays.asList(mockDefaultExamStatusChangeValidator, mockReviewExamStatusChangeValidator));
+            Arrays.asList(mockDefaultExamStatusChangeValidator, mockReviewExamStatusChangeValidator),
+            asyncSessionService(mockSessionService),
+            asyncStudentService(mockStudentService),
+            asyncAssessmentService(mockAssessmentService),
+            mockTransactionManager,
+            MoreExecutors.newDirectExecutorService());
 
         // Calls to get formatted message are throughout the exam service
         // Since we aren't testing that it returns anything specific in these tests I each option here for simplicity
@@ -374,6 +408,117 @@ public class ExamServiceImplTest {
         assertThat(exam.isMultiStageBraille()).isTrue();
     }
 
+    @Test
+    public void shouldOpenNewExamsWithTheAssessmentLookupsServedFromARealCache() {
+        OpenExamRequest openExamRequest = new OpenExamRequestBuilder()
+            .withStudentId(-1)
+            .build();
+        Session currentSession = new SessionBuilder().build();
+        Assessment assessment = new AssessmentBuilder()
+            .withKey(openExamRequest.getAssessmentKey())
+            .build();
+        ExternalSessionConfiguration extSessionConfig = new ExternalSessionConfigurationBuilder()
+            .withClientName("SBAC_PT")
+            .withEnvironment(DEVELOPMENT_ENVIRONMENT)
+            .build();
+        AssessmentWindow window = new AssessmentWindow.Builder()
+            .withAssessmentKey(openExamRequest.getAssessmentKey())
+            .withWindowId("window1")
+            .withStartTime(Instant.now())
+            .build();
+        ClientSystemFlag clientSystemFlag = new ClientSystemFlag.Builder().withEnabled(true).build();
+        TimeLimitConfiguration configuration = new TimeLimitConfiguration.Builder().withExamDelayDays(0).build();
+
+        // The assessment and its accommodations are looked up with the same arguments, so they are only told apart in
+        // the cache by the method
+        RestTemplate mockRestTemplate = mock(RestTemplate.class);
+        when(mockRestTemplate.getForObject(any(URI.class), eq(Assessment.class))).thenReturn(assessment);
+        when(mockRestTemplate.exchange(any(URI.class), eq(HttpMethod.GET), any(HttpEntity.class), any(ParameterizedTypeReference.class)))
+            .thenAnswer(invocation -> invocation.getArgumentAt(0, URI.class).getPath().endsWith("/windows")
+                ? new ResponseEntity<>(Collections.singletonList(window), HttpStatus.OK)
+                : new ResponseEntity<>(Collections.<Accommodation>emptyList(), HttpStatus.OK));
+        ExamServiceProperties examServiceProperties = new ExamServiceProperties();
+        examServiceProperties.setAssessmentUrl("http://localhost/assessment");
+        AssessmentService cachedAssessmentService = cached(AssessmentService.class,
+            new AssessmentServiceImpl(mockRestTemplate, examServiceProperties, new SingleFlightLoader(examServiceProperties),
+                new ReferenceDataSnapshot(examServiceProperties, new ObjectMapper()), new AssessmentCacheEvictor()));
+
+        ExamService examServiceWithCache = new ExamServiceImpl(
+            mockExamQueryRepository,
+            mockSessionService,
+            mockStudentService,
+            mockExamSegmentService,
+            mockExamSegmentWrapperService,
+            cachedAssessmentService,
+            mockTimeLimitConfigurationService,
+            mockConfigService,
+            mockExamCommandRepository,
+            mockExamPageService,
+            mockExamStatusQueryRepository,
+            mockExamAccommodationService,
+            mockExamApprovalService,
+            mockExamineeService,
+            Collections.singletonList(mockOnCompletedExamChangeListener),
+            Arrays.asList(mockDefaultExamStatusChangeValidator, mockReviewExamStatusChangeValidator),
+            asyncSessionService(mockSessionService),
+            asyncStudentService(mockStudentService),
+            new AsyncAssessmentServiceImpl(cachedAssessmentService, null, examServiceProperties, MoreExecutors.newDirectExecutorService()),
+            mockTransactionManager,
+            MoreExecutors.newDirectExecutorService());
+
+        when(mockSessionService.findExternalSessionConfigurationByClientName("SBAC_PT")).thenReturn(Optional.of(extSessionConfig));
+        when(mockConfigService.findClientSystemFlag("SBAC_PT", ALLOW_ANONYMOUS_STUDENT_FLAG_TYPE)).thenReturn(Optional.of(clientSystemFlag));
+        when(mockSessionService.findSessionById(openExamRequest.getSessionId())).thenReturn(Optional.of(currentSession));
+        when(mockExamQueryRepository.getLastAvailableExam(openExamRequest.getStudentId(), assessment.getAssessmentId(), "SBAC_PT")).thenReturn(Optional.empty());
+        when(mockTimeLimitConfigurationService.findTimeLimitConfiguration("SBAC_PT", openExamRequest.getAssessmentKey())).thenReturn(Optional.of(configuration));
+        when(mockExamStatusQueryRepository.findExamStatusCode(STATUS_PENDING)).thenReturn(new ExamStatusCode(STATUS_PENDING, OPEN));
+
+        assertThat(examServiceWithCache.openExam(openExamRequest).hasError()).isFalse();
+        assertThat(examServiceWithCache.openExam(openExamRequest).hasError()).isFalse();
+
+        verify(mockExamCommandRepository, times(2)).insert(isA(Exam.class));
+        verify(mockRestTemplate).getForObject(any(URI.class), eq(Assessment.class));
+        verify(mockRestTemplate, times(2)).exchange(any(URI.class), eq(HttpMethod.GET), any(HttpEntity.class), any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    public void shouldLookUpEverythingBeforeBeginningTheTransactionToOpenNewExam() {
+        OpenExamRequest openExamRequest = new OpenExamRequestBuilder()
+            .withStudentId(-1)
+            .build();
+        Session currentSession = new SessionBuilder().build();
+        Assessment assessment = new AssessmentBuilder().build();
+        ExternalSessionConfiguration extSessionConfig = new ExternalSessionConfigurationBuilder()
+            .withEnvironment(SIMULATION_ENVIRONMENT)
+            .build();
+        AssessmentWindow window = new AssessmentWindow.Builder()
+            .withAssessmentKey(openExamRequest.getAssessmentKey())
+            .withWindowId("window1")
+            .withStartTime(Instant.now())
+            .build();
+        TimeLimitConfiguration configuration = new TimeLimitConfiguration.Builder().withExamDelayDays(0).build();
+
+        when(mockSessionService.findSessionById(openExamRequest.getSessionId())).thenReturn(Optional.of(currentSession));
+        when(mockSessionService.findExternalSessionConfigurationByClientName("SBAC_PT")).thenReturn(Optional.of(extSessionConfig));
+        when(mockAssessmentService.findAssessment("SBAC_PT", openExamRequest.getAssessmentKey())).thenReturn(Optional.of(assessment));
+        when(mockExamQueryRepository.getLastAvailableExam(openExamRequest.getStudentId(), assessment.getAssessmentId(), "SBAC_PT")).thenReturn(Optional.empty());
+        when(mockAssessmentService.findAssessmentWindows("SBAC_PT", assessment.getAssessmentId(), true, extSessionConfig))
+            .thenReturn(Collections.singletonList(window));
+        when(mockTimeLimitConfigurationService.findTimeLimitConfiguration("SBAC_PT", openExamRequest.getAssessmentKey())).thenReturn(Optional.of(configuration));
+        when(mockExamStatusQueryRepository.findExamStatusCode(STATUS_PENDING)).thenReturn(new ExamStatusCode(STATUS_PENDING, OPEN));
+
+        Response<Exam> examResponse = examService.openExam(openExamRequest);
+        assertThat(examResponse.hasError()).isFalse();
+
+        InOrder inOrder = inOrder(mockAssessmentService, mockTransactionManager, mockExamCommandRepository, mockExamAccommodationService);
+        inOrder.verify(mockAssessmentService).findAssessmentWindows("SBAC_PT", assessment.getAssessmentId(), true, extSessionConfig);
+        inOrder.verify(mockAssessmentService).findAssessmentAccommodationsByAssessmentKey("SBAC_PT", assessment.getKey());
+        inOrder.verify(mockTransactionManager).getTransaction(isA(TransactionDefinition.class));
+        inOrder.verify(mockExamCommandRepository).insert(isA(Exam.class));
+        inOrder.verify(mockExamAccommodationService).initializeExamAccommodations(isA(Exam.class), any());
+        inOrder.verify(mockTransactionManager).commit(any());
+    }
+
     @Test(expected = IllegalStateException.class)
     public void shouldThrowIfTimeConfigurationCannotBeFound() {
         OpenExamRequest openExamRequest = new OpenExamRequestBuilder()
@@ -1342,6 +1487,7 @@ public class ExamServiceImplTest {
 
         examService.pauseAllExamsInSession(mockSessionId);
 
+        verify(mockSessionService).evictSession(mockSessionId);
         verify(mockExamCommandRepository, times(3)).update(any(Exam.class));
         verify(mockOnCompletedExamChangeListener, times(3)).accept(any(EntityUpdate.class));
     }
@@ -1644,6 +1790,8 @@ public class ExamServiceImplTest {
 
         final List<ExamAssessmentMetadata> assessmentMetadata = response.getData().get();
         assertThat(assessmentMetadata).isEmpty();
+        verify(mockAssessmentService, never()).findAssessmentInfosForAssessments(any(), Matchers.<String>anyVararg());
+        verify(mockExamQueryRepository, never()).findAllExamsForStudent(studentId);
     }
 
     @Test
@@ -1979,4 +2127,105 @@ public class ExamServiceImplTest {
         assertThat(validationError.getCode()).isEqualTo(ValidationErrorCode.EXAM_STATUS_TRANSITION_FAILURE);
         assertThat(validationError.getMessage()).isEqualTo(String.format("Transitioning exam status from %s to %s is not allowed", exam.getStatus().getCode(), reviewStatus.getCode()));
     }
+
+    /*
+     * The async services complete with what the mocked blocking services return or throw, so the tests stub only the
+     * blocking services
+     */
+    private static <T> CompletableFuture<T> lookup(final Supplier<T> lookup) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            future.complete(lookup.get());
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+
+    /*
+     * Caches the service's lookups as the service's cache configuration does, with keys that include the method
+     */
+    private static <T> T cached(final Class<T> type, final T target) {
+        final CacheInterceptor cacheInterceptor = new CacheInterceptor();
+        cacheInterceptor.setCacheOperationSources(new AnnotationCacheOperationSource());
+        cacheInterceptor.setCacheManager(new ConcurrentMapCacheManager());
+        cacheInterceptor.setKeyGenerator((instance, method, params) ->
+            new SimpleKey(method.getName(), SimpleKeyGenerator.generateKey(params)));
+        cacheInterceptor.afterPropertiesSet();
+        cacheInterceptor.afterSingletonsInstantiated();
+
+        final ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.addAdvice(cacheInterceptor);
+        return type.cast(proxyFactory.getProxy());
+    }
+
+    private static AsyncSessionService asyncSessionService(final SessionService sessionService) {
+        return new AsyncSessionService() {
+            @Override
+            public CompletableFuture<Optional<Session>> findSessionById(final UUID sessionId) {
+                return lookup(() -> sessionService.findSessionById(sessionId));
+            }
+
+            @Override
+            public CompletableFuture<Optional<ExternalSessionConfiguration>> findExternalSessionConfigurationByClientName(final String clientName) {
+                return lookup(() -> sessionService.findExternalSessionConfigurationByClientName(clientName));
+            }
+
+            @Override
+            public CompletableFuture<List<SessionAssessment>> findSessionAssessments(final UUID sessionId) {
+                return lookup(() -> sessionService.findSessionAssessments(sessionId));
+            }
+        };
+    }
+
+    private static AsyncStudentService asyncStudentService(final StudentService studentService) {
+        return new AsyncStudentService() {
+            @Override
+            public CompletableFuture<Optional<Student>> getStudentById(final String clientName, final long studentId) {
+                return lookup(() -> studentService.getStudentById(clientName, studentId));
+            }
+
+            @Override
+            public CompletableFuture<List<RtsStudentPackageAttribute>> findStudentPackageAttributes(final long studentId,
+                                                                                                    final String clientName,
+                                                                                                    final String... attributeNames) {
+                return lookup(() -> studentService.findStudentPackageAttributes(studentId, clientName, attributeNames));
+            }
+        };
+    }
+
+    private static AsyncAssessmentService asyncAssessmentService(final AssessmentService assessmentService) {
+        return new AsyncAssessmentService() {
+            @Override
+            public CompletableFuture<Optional<Assessment>> findAssessment(final String clientName, final String key) {
+                return lookup(() -> assessmentService.findAssessment(clientName, key));
+            }
+
+            @Override
+            public CompletableFuture<List<AssessmentWindow>> findAssessmentWindows(final String clientName,
+                                                                                   final String assessmentId,
+                                                                                   final boolean guestStudent,
+                                                                                   final ExternalSessionConfiguration configuration) {
+                return lookup(() -> assessmentService.findAssessmentWindows(clientName, assessmentId, guestStudent, configuration));
+            }
+
+            @Override
+            public CompletableFuture<List<Accommodation>> findAssessmentAccommodationsByAssessmentKey(final String clientName,
+                                                                                                    final String assessmentKey) {
+                return lookup(() -> assessmentService.findAssessmentAccommodationsByAssessmentKey(clientName, assessmentKey));
+            }
+
+            @Override
+            public CompletableFuture<List<AssessmentInfo>> findAssessmentInfosForAssessments(final String clientName,
+                                                                                             final String... assessmentKeys) {
+                return lookup(() -> assessmentService.findAssessmentInfosForAssessments(clientName, assessmentKeys));
+            }
+
+            @Override
+            public CompletableFuture<List<AssessmentInfo>> findAssessmentInfosForGrade(final String clientName, final String grade) {
+                return lookup(() -> assessmentService.findAssessmentInfosForGrade(clientName, grade));
+            }
+        };
+    }
 }
@@ -14,32 +14,51 @@
 package tds.exam.services.impl;
 
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.MoreExecutors;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.boot.actuate.metrics.GaugeService;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import tds.exam.Exam;
 import tds.exam.ExamStatusCode;
 import tds.exam.ExpandableExam;
 import tds.exam.ExpandableExamAttributes;
+import tds.exam.ExpandableExamChanges;
 import tds.exam.builder.ExamBuilder;
 import tds.exam.mappers.ExpandableExamMapper;
 import tds.exam.repositories.ExamQueryRepository;
+import tds.exam.repositories.SessionChangeRepository;
 import tds.exam.services.ExpandableExamService;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyDouble;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -51,11 +70,18 @@ public class ExpandableExamServiceImplTest {
     @Mock
     private ExamQueryRepository mockExamQueryRepository;
 
+    @Mock
+    private SessionChangeRepository mockSessionChangeRepository;
+
+    @Mock
+    private GaugeService mockGaugeService;
+
     @Before
     public void setUp() {
         mockExamMappers = Arrays.asList(mock(ExpandableExamMapper.class), mock(ExpandableExamMapper.class));
 
-        expandableExamService = new ExpandableExamServiceImpl(mockExamMappers, mockExamQueryRepository);
+        expandableExamService = new ExpandableExamServiceImpl(mockExamMappers, mockExamQueryRepository, mockSessionChangeRepository,
+            MoreExecutors.newDirectExecutorService(), mockGaugeService);
     }
 
     @Test
@@ -104,4 +130,137 @@ public class ExpandableExamServiceImplTest {
 
         assertThat(maybeExpandableExam.get().getExam()).isEqualTo(exam);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldReturnAllExpandableExamsWhenSessionVersionIsUnknown() {
+        UUID sessionId = UUID.randomUUID();
+        Exam exam = new ExamBuilder().build();
+        when(mockSessionChangeRepository.findVersion(sessionId)).thenReturn(3L);
+        when(mockExamQueryRepository.findAllExamsInSessionWithoutStatus(eq(sessionId), any())).thenReturn(Collections.singletonList(exam));
+
+        ExpandableExamChanges changes = expandableExamService.findExamChangesBySessionId(sessionId, 7, new HashSet<>());
+
+        verify(mockSessionChangeRepository, never()).findExamChanges(any(), anyLong());
+        assertThat(changes.getVersion()).isEqualTo(3);
+        assertThat(changes.getExams()).hasSize(1);
+        assertThat(changes.getExams().get(0).getExam()).isEqualTo(exam);
+        assertThat(changes.getRemovedExamIds()).isEmpty();
+    }
+
+    @Test
+    public void shouldReturnOnlyExpandableExamsChangedSinceVersion() {
+        UUID sessionId = UUID.randomUUID();
+        Exam changedExam = new ExamBuilder().build();
+        Exam unchangedExam = new ExamBuilder().build();
+        UUID removedExamId = UUID.randomUUID();
+        Map<UUID, Long> examChanges = new LinkedHashMap<>();
+        examChanges.put(changedExam.getId(), 4L);
+        examChanges.put(removedExamId, 6L);
+
+        when(mockSessionChangeRepository.findVersion(sessionId)).thenReturn(5L);
+        when(mockSessionChangeRepository.findExamChanges(sessionId, 2)).thenReturn(examChanges);
+        when(mockExamQueryRepository.findAllExamsInSessionWithoutStatus(eq(sessionId), any()))
+            .thenReturn(Arrays.asList(changedExam, unchangedExam));
+
+        ExpandableExamChanges changes = expandableExamService.findExamChangesBySessionId(sessionId, 2, new HashSet<>(),
+            ExpandableExamAttributes.EXAM_ACCOMMODATIONS);
+
+        mockExamMappers.forEach(mockMapper -> verify(mockMapper).updateExpandableMapper(any(), any(), any()));
+        // The change after the version is returned again from the version
+        assertThat(changes.getVersion()).isEqualTo(5);
+        assertThat(changes.getExams()).hasSize(1);
+        assertThat(changes.getExams().get(0).getExam()).isEqualTo(changedExam);
+        assertThat(changes.getRemovedExamIds()).containsExactly(removedExamId);
+    }
+
+    @Test
+    public void shouldReturnNoExpandableExamsWhenNothingChangedSinceVersion() {
+        UUID sessionId = UUID.randomUUID();
+        when(mockSessionChangeRepository.findVersion(sessionId)).thenReturn(5L);
+        when(mockSessionChangeRepository.findExamChanges(sessionId, 5)).thenReturn(new HashMap<>());
+
+        ExpandableExamChanges changes = expandableExamService.findExamChangesBySessionId(sessionId, 5, new HashSet<>());
+
+        verify(mockExamQueryRepository, never()).findAllExamsInSessionWithoutStatus(any(), any());
+        assertThat(changes.getVersion()).isEqualTo(5);
+        assertThat(changes.getExams()).isEmpty();
+        assertThat(changes.getRemovedExamIds()).isEmpty();
+    }
+
+    @Test
+    public void shouldOnlyRunMappersForRequestedAttributes() {
+        Exam exam = new ExamBuilder().build();
+        ExpandableExamMapper notesMapper = mockMapper(ExpandableExamAttributes.EXAM_NOTES);
+        ExpandableExamMapper segmentsMapper = mockMapper(ExpandableExamAttributes.EXAM_SEGMENTS);
+        expandableExamService = new ExpandableExamServiceImpl(Arrays.asList(notesMapper, segmentsMapper), mockExamQueryRepository,
+            mockSessionChangeRepository, MoreExecutors.newDirectExecutorService(), mockGaugeService);
+        when(mockExamQueryRepository.getExamById(exam.getId())).thenReturn(Optional.of(exam));
+
+        expandableExamService.findExam(exam.getId(), ExpandableExamAttributes.EXAM_NOTES);
+
+        verify(notesMapper).updateExpandableMapper(any(), any(), any());
+        verify(segmentsMapper, never()).updateExpandableMapper(any(), any(), any());
+        verify(mockGaugeService).submit(startsWith(ExpandableExamServiceImpl.MAPPER_TIMER_PREFIX), anyDouble());
+    }
+
+    @Test
+    public void shouldRunMappersAfterTheMappersProvidingTheirRequiredAttributes() {
+        UUID sessionId = UUID.randomUUID();
+        List<String> mapperRuns = Collections.synchronizedList(new ArrayList<>());
+        ExpandableExamMapper wrappersMapper = mockMapper(ExpandableExamAttributes.EXAM_SEGMENT_WRAPPERS);
+        when(wrappersMapper.getRequiredAttributes()).thenReturn(Collections.singleton(ExpandableExamAttributes.EXAM_SEGMENTS));
+        doAnswer(invocation -> mapperRuns.add("wrappers")).when(wrappersMapper).updateExpandableMapper(any(), any(), any());
+        ExpandableExamMapper segmentsMapper = mockMapper(ExpandableExamAttributes.EXAM_SEGMENTS);
+        doAnswer(invocation -> {
+            Thread.sleep(50);
+            return mapperRuns.add("segments");
+        }).when(segmentsMapper).updateExpandableMapper(any(), any(), any());
+        ExpandableExamMapper notesMapper = mockMapper(ExpandableExamAttributes.EXAM_NOTES);
+        when(mockExamQueryRepository.findAllExamsInSessionWithoutStatus(eq(sessionId), any()))
+            .thenReturn(Arrays.asList(new ExamBuilder().build(), new ExamBuilder().build()));
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            expandableExamService = new ExpandableExamServiceImpl(Arrays.asList(wrappersMapper, segmentsMapper, notesMapper),
+                mockExamQueryRepository, mockSessionChangeRepository, executor, mockGaugeService);
+
+            List<ExpandableExam> expandableExams = expandableExamService.findExamsBySessionId(sessionId, new HashSet<>(),
+                ExpandableExamAttributes.EXAM_SEGMENT_WRAPPERS, ExpandableExamAttributes.EXAM_SEGMENTS, ExpandableExamAttributes.EXAM_NOTES);
+
+            assertThat(expandableExams).hasSize(2);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(mapperRuns).containsExactly("segments", "wrappers");
+        verify(notesMapper).updateExpandableMapper(any(), any(), any());
+        verify(mockGaugeService, times(3)).submit(startsWith(ExpandableExamServiceImpl.MAPPER_TIMER_PREFIX), anyDouble());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRejectMappersThatRequireEachOther() {
+        ExpandableExamMapper segmentsMapper = mockMapper(ExpandableExamAttributes.EXAM_SEGMENTS);
+        when(segmentsMapper.getRequiredAttributes()).thenReturn(Collections.singleton(ExpandableExamAttributes.EXAM_SEGMENT_WRAPPERS));
+        ExpandableExamMapper wrappersMapper = mockMapper(ExpandableExamAttributes.EXAM_SEGMENT_WRAPPERS);
+        when(wrappersMapper.getRequiredAttributes()).thenReturn(Collections.singleton(ExpandableExamAttributes.EXAM_SEGMENTS));
+
+        new ExpandableExamServiceImpl(Arrays.asList(segmentsMapper, wrappersMapper), mockExamQueryRepository,
+            mockSessionChangeRepository, MoreExecutors.newDirectExecutorService(), mockGaugeService);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldThrowWhenAMapperFails() {
+        Exam exam = new ExamBuilder().build();
+        doThrow(new IllegalStateException("Could not map")).when(mockExamMappers.iterator().next())
+            .updateExpandableMapper(any(), any(), any());
+        when(mockExamQueryRepository.getExamById(exam.getId())).thenReturn(Optional.of(exam));
+
+        expandableExamService.findExam(exam.getId(), ExpandableExamAttributes.EXAM_NOTES);
+    }
+
+    private static ExpandableExamMapper mockMapper(final ExpandableExamAttributes providedAttribute) {
+        ExpandableExamMapper mapper = mock(ExpandableExamMapper.class);
+        when(mapper.getProvidedAttributes()).thenReturn(Collections.singleton(providedAttribute));
+        return mapper;
+    }
+}
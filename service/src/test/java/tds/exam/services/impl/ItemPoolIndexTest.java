@@ -0,0 +1,114 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import tds.assessment.Item;
+import tds.assessment.ItemConstraint;
+import tds.assessment.ItemProperty;
+import tds.exam.ExamAccommodation;
+import tds.exam.builder.ItemBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ItemPoolIndexTest {
+    @Test
+    public void shouldIncludeItemsMatchingInclusiveConstraintsAndExcludeItemsMatchingExclusiveConstraints() {
+        final Item englishItem = new ItemBuilder("item-1")
+            .withItemProperties(Collections.singletonList(new ItemProperty("language", "ENU", "English", "item-1")))
+            .build();
+        final Item englishMatchingItem = new ItemBuilder("item-2")
+            .withItemProperties(Arrays.asList(
+                new ItemProperty("Language", "ENU", "English", "item-2"),
+                new ItemProperty("--ITEMTYPE--", "MI", "Matching Item", "item-2")))
+            .build();
+        final Item spanishItem = new ItemBuilder("item-3")
+            .withItemProperties(Collections.singletonList(new ItemProperty("Language", "ESN", "Spanish", "item-3")))
+            .build();
+
+        final List<Item> items = Arrays.asList(englishItem, englishMatchingItem, spanishItem);
+        final ItemPoolIndex index = new ItemPoolIndex(items);
+
+        final List<ItemConstraint> itemConstraints = Arrays.asList(
+            constraint("Language", "ENU", true),
+            constraint("--ITEMTYPE--", "MI", false));
+        final List<ExamAccommodation> accommodations = Arrays.asList(
+            accommodation("Language", "ENU"),
+            accommodation("--ITEMTYPE--", "MI"),
+            accommodation("TTS", "TDS_TTS0"));
+
+        assertThat(index.findItemPool(items, accommodations, itemConstraints, null)).containsOnly(englishItem);
+        assertThat(index.findItemPool(items, accommodations, itemConstraints, true)).isEmpty();
+        assertThat(index.findItemPool(items, accommodations, itemConstraints, false)).containsOnly(englishItem);
+
+        // The cached bitsets must not be changed by a previous lookup
+        assertThat(index.findItemPool(items, Collections.singletonList(accommodation("Language", "ENU")), itemConstraints, null))
+            .containsOnly(englishItem, englishMatchingItem);
+    }
+
+    @Test
+    public void shouldBeAnIndexOfItemsWithTheSameIdsAndContent() {
+        final List<Item> items = Arrays.asList(
+            new ItemBuilder("item-1")
+                .withItemProperties(Collections.singletonList(new ItemProperty("Language", "ENU", "English", "item-1")))
+                .build(),
+            new ItemBuilder("item-2").build());
+
+        final ItemPoolIndex index = new ItemPoolIndex(items);
+
+        // Items deserialized again from a cache are new instances with the same content
+        final List<Item> reloadedItems = Arrays.asList(
+            new ItemBuilder("item-1")
+                .withItemProperties(Collections.singletonList(new ItemProperty("Language", "ENU", "English", "item-1")))
+                .build(),
+            new ItemBuilder("item-2").build());
+        assertThat(index.isIndexOf(reloadedItems)).isTrue();
+        assertThat(index.findItemPool(reloadedItems, Collections.singletonList(accommodation("Language", "ENU")),
+            Collections.singletonList(constraint("Language", "ENU", true)), null)).containsOnly(reloadedItems.get(0));
+
+        assertThat(index.isIndexOf(Arrays.asList(items.get(0), new ItemBuilder("item-3").build()))).isFalse();
+        assertThat(index.isIndexOf(Arrays.asList(
+            new ItemBuilder("item-1")
+                .withItemProperties(Collections.singletonList(new ItemProperty("Language", "ESN", "Spanish", "item-1")))
+                .build(),
+            items.get(1)))).isFalse();
+        assertThat(index.isIndexOf(Collections.singletonList(items.get(0)))).isFalse();
+    }
+
+    private static ItemConstraint constraint(final String propertyName, final String propertyValue, final boolean inclusive) {
+        return new ItemConstraint.Builder()
+            .withAssessmentId("assessment-id")
+            .withToolType(propertyName)
+            .withToolValue(propertyValue)
+            .withPropertyName(propertyName)
+            .withPropertyValue(propertyValue)
+            .withInclusive(inclusive)
+            .build();
+    }
+
+    private static ExamAccommodation accommodation(final String type, final String code) {
+        return new ExamAccommodation.Builder(UUID.randomUUID())
+            .withExamId(UUID.randomUUID())
+            .withType(type)
+            .withCode(code)
+            .withSegmentKey("segment-key")
+            .build();
+    }
+}
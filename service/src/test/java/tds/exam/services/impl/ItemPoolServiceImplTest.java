@@ -136,7 +136,7 @@ public class ItemPoolServiceImplTest {
                 .build());
 
         when(mockExamAccommodationService.findAllAccommodations(examId)).thenReturn(examAccommodations);
-        Set<Item> retItemIds = itemPoolService.getItemPool(examId, itemConstraints, items);
+        Set<Item> retItemIds = itemPoolService.getItemPool(examId, itemConstraints, assessmentId, segmentKey, "ENU", items);
         verify(mockExamAccommodationService).findAllAccommodations(examId);
         assertThat(retItemIds).hasSize(1);
         assertThat(retItemIds).contains(item1);
@@ -224,7 +224,7 @@ public class ItemPoolServiceImplTest {
                 .build());
 
         when(mockExamAccommodationService.findAllAccommodations(examId)).thenReturn(examAccommodations);
-        Set<Item> retItemIds = itemPoolService.getItemPool(examId, itemConstraints, items);
+        Set<Item> retItemIds = itemPoolService.getItemPool(examId, itemConstraints, assessmentId, segmentKey, "ENU", items);
         verify(mockExamAccommodationService).findAllAccommodations(examId);
         assertThat(retItemIds).hasSize(2);
         assertThat(retItemIds).contains(item1, item2);
@@ -301,7 +301,7 @@ public class ItemPoolServiceImplTest {
                 .build());
 
         when(mockExamAccommodationService.findAllAccommodations(examId)).thenReturn(examAccommodations);
-        Set<Item> retItemIds = itemPoolService.getItemPool(examId, itemConstraints, items);
+        Set<Item> retItemIds = itemPoolService.getItemPool(examId, itemConstraints, assessmentId, segmentKey, "ENU", items);
         verify(mockExamAccommodationService).findAllAccommodations(examId);
         assertThat(retItemIds).isEmpty();
     }
@@ -362,7 +362,7 @@ public class ItemPoolServiceImplTest {
             .build());
 
         when(mockExamAccommodationService.findAllAccommodations(examId)).thenReturn(examAccommodations);
-        Set<Item> retFtItems = itemPoolService.getFieldTestItemPool(examId, itemConstraints, items);
+        Set<Item> retFtItems = itemPoolService.getFieldTestItemPool(examId, itemConstraints, assessmentId, segmentKey, "ENU", items);
         verify(mockExamAccommodationService).findAllAccommodations(examId);
         assertThat(retFtItems).hasSize(2);
 
@@ -449,7 +449,7 @@ public class ItemPoolServiceImplTest {
             .build());
 
         when(mockExamAccommodationService.findAllAccommodations(examId)).thenReturn(examAccommodations);
-        Set<Item> retItemIds = itemPoolService.getItemPool(examId, itemConstraints, items);
+        Set<Item> retItemIds = itemPoolService.getItemPool(examId, itemConstraints, assessmentId, segmentKey, "ENU", items);
         verify(mockExamAccommodationService).findAllAccommodations(examId);
         assertThat(retItemIds).isEmpty();
     }
@@ -0,0 +1,94 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.http.client.HttpComponentsAsyncClientHttpRequestFactory;
+import org.springframework.web.client.AsyncRestTemplate;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * An HTTP server for the non-blocking lookup tests that responds to each request only when the test tells it to, so
+ * the tests can check what happens while a service has not responded yet
+ */
+class LateResponseServer implements Closeable {
+    private final HttpServer server;
+    private final ExecutorService executorService = Executors.newCachedThreadPool();
+    private final BlockingQueue<HttpExchange> requests = new LinkedBlockingQueue<>();
+    private final HttpComponentsAsyncClientHttpRequestFactory requestFactory = new HttpComponentsAsyncClientHttpRequestFactory();
+
+    LateResponseServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", requests::add);
+        server.setExecutor(executorService);
+        server.start();
+    }
+
+    /**
+     * @return the URL of the server
+     */
+    String getUrl() {
+        return String.format("http://%s:%d", server.getAddress().getHostString(), server.getAddress().getPort());
+    }
+
+    /**
+     * @return an {@link org.springframework.web.client.AsyncRestTemplate} with a pooled client, as the service has
+     */
+    AsyncRestTemplate newRestTemplate() {
+        return new AsyncRestTemplate(requestFactory);
+    }
+
+    /**
+     * @return the next request the server received, which has not been responded to
+     */
+    HttpExchange takeRequest() throws InterruptedException {
+        final HttpExchange request = requests.poll(10, TimeUnit.SECONDS);
+        assertThat(request).as("request").isNotNull();
+        return request;
+    }
+
+    static void respond(final HttpExchange request, final int status, final String json) throws IOException {
+        final byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        request.getResponseHeaders().set("Content-Type", "application/json");
+        request.sendResponseHeaders(status, body.length);
+        try (OutputStream out = request.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executorService.shutdownNow();
+        try {
+            requestFactory.destroy();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.io.File;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import tds.exam.configuration.ExamServiceProperties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ReferenceDataSnapshotTest {
+    private static final URI URI_ONE = URI.create("http://localhost:8080/SBAC/assessments/one");
+    private static final URI URI_TWO = URI.create("http://localhost:8080/SBAC/assessments/two");
+    private static final TypeReference<List<String>> TYPE = new TypeReference<List<String>>() {
+    };
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Mock
+    private Runnable mockEvictorOne;
+
+    @Mock
+    private Runnable mockEvictorTwo;
+
+    @Mock
+    private ScheduledExecutorService mockExecutorService;
+
+    private ExamServiceProperties examServiceProperties;
+    private File snapshotFile;
+
+    @Before
+    public void setUp() {
+        snapshotFile = new File(temporaryFolder.getRoot(), "snapshot/reference-data.bin");
+        examServiceProperties = new ExamServiceProperties();
+        examServiceProperties.setReferenceDataSnapshotPath(snapshotFile.getPath());
+    }
+
+    @Test
+    public void shouldServeTheSnapshotUntilItIsRevalidated() {
+        writeSnapshot(Collections.singletonList("snapshot"));
+
+        final ReferenceDataSnapshot snapshot = newSnapshot();
+        snapshot.start();
+
+        assertThat(snapshot.load(URI_ONE, mockEvictorOne, TYPE, () -> Collections.singletonList("current")))
+            .containsExactly("snapshot");
+
+        final ArgumentCaptor<Runnable> revalidation = ArgumentCaptor.forClass(Runnable.class);
+        verify(mockExecutorService).execute(revalidation.capture());
+        revalidation.getValue().run();
+
+        verify(mockEvictorOne).run();
+        assertThat(snapshot.load(URI_ONE, mockEvictorOne, TYPE, () -> Collections.singletonList("current")))
+            .containsExactly("current");
+    }
+
+    @Test
+    public void shouldNotEvictTheResourceWhenTheSnapshotIsCurrent() {
+        writeSnapshot(Collections.singletonList("snapshot"));
+
+        final ReferenceDataSnapshot snapshot = newSnapshot();
+        snapshot.start();
+        snapshot.load(URI_ONE, mockEvictorOne, TYPE, () -> Collections.singletonList("snapshot"));
+
+        final ArgumentCaptor<Runnable> revalidation = ArgumentCaptor.forClass(Runnable.class);
+        verify(mockExecutorService).execute(revalidation.capture());
+        revalidation.getValue().run();
+
+        verify(mockEvictorOne, never()).run();
+    }
+
+    @Test
+    public void shouldIgnoreASnapshotWithAnotherModelVersion() {
+        examServiceProperties.setReferenceDataSnapshotModelVersion("4.1.2.RELEASE");
+        writeSnapshot(Collections.singletonList("snapshot"));
+        examServiceProperties.setReferenceDataSnapshotModelVersion("4.2.0.RELEASE");
+
+        final ReferenceDataSnapshot snapshot = newSnapshot();
+        snapshot.start();
+
+        assertThat(snapshot.load(URI_ONE, mockEvictorOne, TYPE, () -> Collections.singletonList("current")))
+            .containsExactly("current");
+        verify(mockExecutorService, never()).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void shouldKeepAtMostTheMaxSizeOfResources() {
+        examServiceProperties.setReferenceDataSnapshotMaxSize(1);
+
+        final ReferenceDataSnapshot snapshot = newSnapshot();
+        snapshot.start();
+        snapshot.load(URI_ONE, mockEvictorOne, TYPE, () -> Collections.singletonList("one"));
+        snapshot.load(URI_TWO, mockEvictorTwo, TYPE, () -> Collections.singletonList("two"));
+        snapshot.stop();
+
+        final ReferenceDataSnapshot restarted = newSnapshot();
+        restarted.start();
+
+        assertThat(restarted.load(URI_ONE, mockEvictorOne, TYPE, () -> Collections.singletonList("current")))
+            .containsExactly("current");
+        assertThat(restarted.load(URI_TWO, mockEvictorTwo, TYPE, () -> Collections.singletonList("current")))
+            .containsExactly("two");
+    }
+
+    @Test
+    public void shouldIgnoreASnapshotWithAWrongChecksum() throws Exception {
+        writeSnapshot(Collections.singletonList("snapshot"));
+        final byte[] bytes = Files.readAllBytes(snapshotFile.toPath());
+        bytes[bytes.length / 2] ^= 0x7f;
+        Files.write(snapshotFile.toPath(), bytes);
+
+        final ReferenceDataSnapshot snapshot = newSnapshot();
+        snapshot.start();
+
+        assertThat(snapshot.load(URI_ONE, mockEvictorOne, TYPE, () -> Collections.singletonList("current")))
+            .containsExactly("current");
+        verify(mockExecutorService, never()).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void shouldFetchWhenDisabled() {
+        examServiceProperties.setReferenceDataSnapshotPath("");
+
+        final ReferenceDataSnapshot snapshot = newSnapshot();
+        snapshot.start();
+
+        assertThat(snapshot.load(URI_ONE, mockEvictorOne, TYPE, () -> Collections.singletonList("current")))
+            .containsExactly("current");
+        snapshot.stop();
+        assertThat(snapshotFile).doesNotExist();
+    }
+
+    private void writeSnapshot(final List<String> value) {
+        final ReferenceDataSnapshot snapshot = newSnapshot();
+        snapshot.start();
+        snapshot.load(URI_ONE, mockEvictorOne, TYPE, () -> value);
+        snapshot.stop();
+        assertThat(snapshotFile).exists();
+    }
+
+    private ReferenceDataSnapshot newSnapshot() {
+        return new ReferenceDataSnapshot(examServiceProperties, new ObjectMapper(), mockExecutorService);
+    }
+}
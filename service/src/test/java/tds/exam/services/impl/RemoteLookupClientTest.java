@@ -0,0 +1,105 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import com.sun.net.httpserver.HttpExchange;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class RemoteLookupClientTest {
+    private static final ParameterizedTypeReference<List<String>> TYPE = new ParameterizedTypeReference<List<String>>() {
+    };
+
+    private LateResponseServer server;
+    private RemoteLookupClient remoteLookupClient;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new LateResponseServer();
+        remoteLookupClient = new RemoteLookupClient(server.newRestTemplate());
+    }
+
+    @After
+    public void tearDown() {
+        server.close();
+    }
+
+    @Test
+    public void shouldReturnBeforeTheServiceResponds() throws Exception {
+        final CompletableFuture<List<String>> lookup = remoteLookupClient.get(uri("/one"), TYPE);
+
+        final HttpExchange request = server.takeRequest();
+        assertThat(request.getRequestURI().getPath()).isEqualTo("/one");
+        assertThat(lookup).isNotDone();
+
+        LateResponseServer.respond(request, 200, "[\"one\"]");
+        assertThat(lookup.get(10, TimeUnit.SECONDS)).containsExactly("one");
+    }
+
+    @Test
+    public void shouldMakeLookupsConcurrentlyFromOneThread() throws Exception {
+        final CompletableFuture<List<String>> first = remoteLookupClient.get(uri("/first"), TYPE);
+        final CompletableFuture<List<String>> second = remoteLookupClient.get(uri("/second"), TYPE);
+
+        // Both requests reach the service before either is responded to
+        final HttpExchange firstRequest = server.takeRequest();
+        final HttpExchange secondRequest = server.takeRequest();
+        assertThat(Arrays.asList(firstRequest.getRequestURI().getPath(), secondRequest.getRequestURI().getPath()))
+            .containsOnly("/first", "/second");
+
+        LateResponseServer.respond(secondRequest, 200, "[\"second\"]");
+        LateResponseServer.respond(firstRequest, 200, "[\"first\"]");
+        assertThat(first.get(10, TimeUnit.SECONDS)).isNotEmpty();
+        assertThat(second.get(10, TimeUnit.SECONDS)).isNotEmpty();
+    }
+
+    @Test
+    public void shouldFindNothingWhenTheServiceRespondsNotFound() throws Exception {
+        final CompletableFuture<Optional<String>> lookup = remoteLookupClient.find(uri("/missing"), String.class);
+
+        LateResponseServer.respond(server.takeRequest(), 404, "{}");
+        assertThat(lookup.get(10, TimeUnit.SECONDS)).isNotPresent();
+    }
+
+    @Test
+    public void shouldCompleteExceptionallyWhenTheServiceFails() throws Exception {
+        final CompletableFuture<List<String>> lookup = remoteLookupClient.get(uri("/failing"), TYPE);
+
+        LateResponseServer.respond(server.takeRequest(), 500, "{}");
+        try {
+            lookup.get(10, TimeUnit.SECONDS);
+            fail("Expected the lookup to fail");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause()).isInstanceOf(HttpServerErrorException.class);
+        }
+    }
+
+    private URI uri(final String path) {
+        return URI.create(server.getUrl() + path);
+    }
+}
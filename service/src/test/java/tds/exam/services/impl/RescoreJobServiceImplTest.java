@@ -0,0 +1,233 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import org.joda.time.Instant;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import tds.common.ValidationError;
+import tds.exam.RescoreJobProgress;
+import tds.exam.configuration.ExamServiceProperties;
+import tds.exam.error.ValidationErrorCode;
+import tds.exam.models.RescoreJob;
+import tds.exam.models.RescoreJobExam;
+import tds.exam.models.RescoreJobStats;
+import tds.exam.repositories.RescoreJobRepository;
+import tds.exam.services.MessagingService;
+import tds.score.services.ItemScoringService;
+import tds.trt.model.TDSReport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isA;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RescoreJobServiceImplTest {
+    @Mock
+    private RescoreJobRepository mockRescoreJobRepository;
+
+    @Mock
+    private ItemScoringService mockItemScoringService;
+
+    @Mock
+    private MessagingService mockMessagingService;
+
+    private ExamServiceProperties examServiceProperties;
+    private RescoreJobServiceImpl rescoreJobService;
+    private String testResults;
+
+    @Before
+    public void setUp() throws Exception {
+        examServiceProperties = new ExamServiceProperties();
+        examServiceProperties.setRescoreMaxAttempts(2);
+        rescoreJobService = new RescoreJobServiceImpl(mockRescoreJobRepository, mockItemScoringService,
+            mockMessagingService, examServiceProperties);
+        testResults = new String(Files.readAllBytes(Paths.get(getClass().getResource("/sample-trt-file.xml").toURI())),
+            StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void shouldCreateARescoreJobOnce() {
+        final UUID jobId = UUID.randomUUID();
+        final RescoreJob existingJob = new RescoreJob(jobId, Collections.emptySet(), Instant.now());
+        when(mockRescoreJobRepository.findRescoreJob(jobId)).thenReturn(Optional.empty(), Optional.of(existingJob));
+
+        final RescoreJob job = rescoreJobService.createRescoreJob(jobId, new HashSet<>(Arrays.asList(" 187-1234 ", "")));
+        assertThat(job.getItemKeys()).containsExactly("187-1234");
+        assertThat(rescoreJobService.createRescoreJob(jobId, Collections.emptySet())).isSameAs(existingJob);
+
+        verify(mockRescoreJobRepository).create(job);
+    }
+
+    @Test
+    public void shouldNotSubmitAnExamToAMissingJob() {
+        final UUID jobId = UUID.randomUUID();
+        when(mockRescoreJobRepository.findRescoreJob(jobId)).thenReturn(Optional.empty());
+
+        final Optional<ValidationError> maybeError = rescoreJobService.submitExam(jobId, UUID.randomUUID(), testResults);
+
+        assertThat(maybeError).isPresent();
+        assertThat(maybeError.get().getCode()).isEqualTo(ValidationErrorCode.RESCORE_JOB_DOES_NOT_EXIST);
+        verify(mockRescoreJobRepository, never()).submitExam(any(UUID.class), any(UUID.class), anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldRescoreTheFilteredItemsOfAnExam() throws Exception {
+        final RescoreJobExam exam = createExam(Collections.singleton("187-3238"), null, 1);
+        mockTestResults(exam, testResults);
+        when(mockItemScoringService.rescoreItem(eq(exam.getExamId()), isA(TDSReport.class), isA(TDSReport.Opportunity.Item.class),
+            isA(Set.class))).thenReturn(Optional.empty());
+
+        rescoreJobService.rescoreExam(exam);
+
+        verify(mockItemScoringService, times(30)).rescoreItem(eq(exam.getExamId()), isA(TDSReport.class),
+            isA(TDSReport.Opportunity.Item.class), eq(exam.getItemKeys()));
+        final ArgumentCaptor<byte[]> rescoredResultsCaptor = ArgumentCaptor.forClass(byte[].class);
+        verify(mockRescoreJobRepository).updateRescored(eq(exam), rescoredResultsCaptor.capture());
+        assertThat(new String(rescoredResultsCaptor.getValue(), StandardCharsets.UTF_8)).contains(exam.getJobId().toString());
+    }
+
+    @Test
+    public void shouldFailAnExamWithInvalidTestResults() {
+        final RescoreJobExam exam = createExam(Collections.emptySet(), null, 1);
+        mockTestResults(exam, "<TDSReport>");
+
+        rescoreJobService.rescoreExam(exam);
+
+        verify(mockRescoreJobRepository).updateFailed(eq(exam), anyString());
+        verify(mockRescoreJobRepository, never()).updateRescored(any(RescoreJobExam.class), any(byte[].class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldFailAnExamWhoseRescoredResultsAreTooLarge() throws Exception {
+        final RescoreJobServiceImpl boundedRescoreJobService = new RescoreJobServiceImpl(mockRescoreJobRepository,
+            mockItemScoringService, mockMessagingService, examServiceProperties, 1024);
+        final RescoreJobExam exam = createExam(Collections.emptySet(), null, 1);
+        mockTestResults(exam, testResults);
+        when(mockItemScoringService.rescoreItem(eq(exam.getExamId()), isA(TDSReport.class), isA(TDSReport.Opportunity.Item.class),
+            isA(Set.class))).thenReturn(Optional.empty());
+
+        boundedRescoreJobService.rescoreExam(exam);
+
+        verify(mockRescoreJobRepository).updateFailed(exam, "The rescored results are larger than 1024 bytes");
+        verify(mockRescoreJobRepository, never()).updateRescored(any(RescoreJobExam.class), any(byte[].class));
+        verify(mockRescoreJobRepository, never()).release(any(RescoreJobExam.class), anyString());
+    }
+
+    @Test
+    public void shouldNotRescoreAnExamWhoseTestResultsAreNoLongerClaimed() {
+        final RescoreJobExam exam = createExam(Collections.emptySet(), null, 1);
+        when(mockRescoreJobRepository.findTestResults(exam)).thenReturn(Optional.empty());
+
+        rescoreJobService.rescoreExam(exam);
+
+        verify(mockRescoreJobRepository, never()).updateRescored(any(RescoreJobExam.class), any(byte[].class));
+        verify(mockRescoreJobRepository, never()).updateFailed(any(RescoreJobExam.class), anyString());
+        verify(mockRescoreJobRepository, never()).release(any(RescoreJobExam.class), anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldReleaseAnExamThatFailedToRescoreUntilItIsOutOfAttempts() throws Exception {
+        final RescoreJobExam firstAttempt = createExam(Collections.emptySet(), null, 1);
+        final RescoreJobExam lastAttempt = createExam(Collections.emptySet(), null, 2);
+        mockTestResults(firstAttempt, testResults);
+        mockTestResults(lastAttempt, testResults);
+        when(mockItemScoringService.rescoreItem(any(UUID.class), isA(TDSReport.class), isA(TDSReport.Opportunity.Item.class),
+            isA(Set.class))).thenThrow(new IllegalStateException("Fail"));
+
+        rescoreJobService.rescoreExam(firstAttempt);
+        rescoreJobService.rescoreExam(lastAttempt);
+
+        verify(mockRescoreJobRepository).release(firstAttempt, new IllegalStateException("Fail").toString());
+        verify(mockRescoreJobRepository).updateFailed(lastAttempt, new IllegalStateException("Fail").toString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldOnlyRecordThePublishedExamsOfABatch() {
+        final RescoreJobExam publishedExam = createExam(Collections.emptySet(), "<published />".getBytes(StandardCharsets.UTF_8), 1);
+        final RescoreJobExam failedExam = createExam(Collections.emptySet(), "<failed />".getBytes(StandardCharsets.UTF_8), 1);
+        when(mockRescoreJobRepository.claim(eq(RescoreJobExam.STATUS_RESCORED), anyString(), eq(100), eq(600000L)))
+            .thenReturn(Arrays.asList(publishedExam, failedExam));
+        doThrow(new IllegalStateException("Fail")).when(mockMessagingService)
+            .sendExamRescore(failedExam.getExamId(), failedExam.getRescoredResults());
+
+        try {
+            rescoreJobService.publishRescoredExams();
+        } catch (final IllegalStateException e) {
+            // expected
+        }
+
+        final ArgumentCaptor<Collection> publishedCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(mockRescoreJobRepository).updatePublished(publishedCaptor.capture());
+        assertThat(publishedCaptor.getValue()).containsExactly(publishedExam);
+    }
+
+    @Test
+    public void shouldEstimateTheRemainingTimeFromTheRecentThroughput() {
+        final UUID jobId = UUID.randomUUID();
+        when(mockRescoreJobRepository.findStats(jobId, RescoreJobServiceImpl.THROUGHPUT_WINDOW_MILLIS))
+            .thenReturn(Optional.of(new RescoreJobStats(Instant.now(), 1000, 10, 80, 1, 500)));
+
+        final RescoreJobProgress progress = rescoreJobService.findProgress(jobId).get();
+
+        assertThat(progress.getPendingCount()).isEqualTo(1000);
+        assertThat(progress.getPublishedCount()).isEqualTo(80);
+        assertThat(progress.getExamsPerMinute()).isEqualTo(100);
+        assertThat(progress.getEstimatedRemainingMillis()).isEqualTo(600000L);
+    }
+
+    @Test
+    public void shouldNotEstimateTheRemainingTimeWithoutRecentThroughput() {
+        final UUID jobId = UUID.randomUUID();
+        when(mockRescoreJobRepository.findStats(jobId, RescoreJobServiceImpl.THROUGHPUT_WINDOW_MILLIS))
+            .thenReturn(Optional.of(new RescoreJobStats(Instant.now(), 1000, 0, 0, 0, 0)));
+
+        assertThat(rescoreJobService.findProgress(jobId).get().getEstimatedRemainingMillis()).isNull();
+    }
+
+    private void mockTestResults(final RescoreJobExam exam, final String testResults) {
+        when(mockRescoreJobRepository.findTestResults(exam)).thenReturn(Optional.of(testResults));
+    }
+
+    private static RescoreJobExam createExam(final Set<String> itemKeys, final byte[] rescoredResults, final int attempts) {
+        return new RescoreJobExam(UUID.randomUUID(), UUID.randomUUID(), itemKeys, rescoredResults, attempts, "owner");
+    }
+}
@@ -0,0 +1,76 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Collections;
+import java.util.UUID;
+
+import tds.exam.configuration.ExamServiceProperties;
+import tds.exam.models.RescoreJobExam;
+import tds.exam.services.RescoreJobService;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RescoreJobWorkerTest {
+    @Mock
+    private RescoreJobService mockRescoreJobService;
+
+    private ExamServiceProperties examServiceProperties;
+    private RescoreJobWorker rescoreJobWorker;
+
+    @Before
+    public void setUp() {
+        examServiceProperties = new ExamServiceProperties();
+        examServiceProperties.setRescoreBatchSize(1);
+        rescoreJobWorker = new RescoreJobWorker(mockRescoreJobService, examServiceProperties);
+    }
+
+    @Test
+    public void shouldRescoreAndPublishUntilNoExamsAreLeft() {
+        final RescoreJobExam exam = new RescoreJobExam(UUID.randomUUID(), UUID.randomUUID(), Collections.emptySet(),
+            null, 1, "owner");
+        when(mockRescoreJobService.claimExams()).thenReturn(Collections.singletonList(exam), Collections.emptyList());
+        when(mockRescoreJobService.publishRescoredExams()).thenReturn(1, 0);
+
+        examServiceProperties.setRescoreWorkerEnabled(true);
+        rescoreJobWorker.start();
+        try {
+            rescoreJobWorker.processExams();
+        } finally {
+            rescoreJobWorker.stop();
+        }
+
+        verify(mockRescoreJobService).rescoreExam(exam);
+        verify(mockRescoreJobService, times(2)).claimExams();
+        verify(mockRescoreJobService, times(3)).publishRescoredExams();
+    }
+
+    @Test
+    public void shouldNotScheduleRescoringWhenDisabled() {
+        rescoreJobWorker.start();
+        rescoreJobWorker.stop();
+
+        verifyZeroInteractions(mockRescoreJobService);
+    }
+}
@@ -17,8 +17,17 @@ package tds.exam.services.impl;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import tds.assessment.Form;
 import tds.assessment.Segment;
@@ -33,7 +42,7 @@ public class RoundRobinFormSelectorImplTest {
 
     @Before
     public void setUp() {
-        formSelector = new RoundRobinFormSelectorImpl();
+        formSelector = new RoundRobinFormSelectorImpl(new InMemoryFormAssignmentSequence());
     }
 
     @Test
@@ -99,4 +108,78 @@ public class RoundRobinFormSelectorImplTest {
         Form retForm4B = maybeRetEnuForm4B.get();
         assertThat(retForm4B.getKey()).isEqualTo(enuForm4.getKey());
     }
+
+    @Test
+    public void shouldKeepFormsBalancedAcrossConcurrentSelections() throws Exception {
+        final String languageCode = "ENU";
+        final int threadCount = 64;
+        final int selectionsPerThread = 250;
+
+        List<Form> forms = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            forms.add(new Form.Builder("formkey" + i)
+                .withLanguage(languageCode)
+                .build());
+        }
+
+        Segment segment = new Segment("segmentKey", Algorithm.FIXED_FORM);
+        segment.setForms(forms);
+
+        Map<String, AtomicInteger> formCounts = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < threadCount; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < selectionsPerThread; j++) {
+                        Form form = formSelector.selectForm(segment, languageCode).get();
+                        formCounts.computeIfAbsent(form.getKey(), key -> new AtomicInteger()).incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(formCounts).hasSize(3);
+
+        int total = formCounts.values().stream().mapToInt(AtomicInteger::get).sum();
+        int min = formCounts.values().stream().mapToInt(AtomicInteger::get).min().getAsInt();
+        int max = formCounts.values().stream().mapToInt(AtomicInteger::get).max().getAsInt();
+        assertThat(total).isEqualTo(threadCount * selectionsPerThread);
+        assertThat(max - min).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    public void shouldSequenceEachLanguageSeparately() {
+        Form enuForm1 = new Form.Builder("formkey1")
+            .withLanguage("ENU")
+            .build();
+        Form enuForm2 = new Form.Builder("formkey2")
+            .withLanguage("ENU")
+            .build();
+        Form esnForm1 = new Form.Builder("formkey3")
+            .withLanguage("ESN")
+            .build();
+        Form esnForm2 = new Form.Builder("formkey4")
+            .withLanguage("ESN")
+            .build();
+
+        Segment segment = new Segment("segmentKey", Algorithm.FIXED_FORM);
+        segment.setForms(Arrays.asList(enuForm1, enuForm2, esnForm1, esnForm2));
+
+        assertThat(formSelector.selectForm(segment, "ENU").get().getKey()).isEqualTo(enuForm1.getKey());
+        assertThat(formSelector.selectForm(segment, "ESN").get().getKey()).isEqualTo(esnForm1.getKey());
+        assertThat(formSelector.selectForm(segment, "ENU").get().getKey()).isEqualTo(enuForm2.getKey());
+        assertThat(formSelector.selectForm(segment, "ESN").get().getKey()).isEqualTo(esnForm2.getKey());
+    }
 }
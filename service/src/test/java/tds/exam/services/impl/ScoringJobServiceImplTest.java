@@ -0,0 +1,134 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.UUID;
+
+import tds.exam.repositories.ScoringJobRepository;
+import tds.itemscoringengine.ItemScore;
+import tds.itemscoringengine.ScoreRationale;
+import tds.itemscoringengine.ScoringStatus;
+import tds.score.configuration.ItemScoreSettings;
+import tds.score.model.ScoringJob;
+import tds.score.services.ItemScoringService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ScoringJobServiceImplTest {
+    @Mock
+    private ScoringJobRepository mockScoringJobRepository;
+
+    @Mock
+    private ItemScoringService mockItemScoringService;
+
+    private ItemScoreSettings itemScoreSettings;
+    private ScoringJobServiceImpl scoringJobService;
+
+    @Before
+    public void setUp() {
+        itemScoreSettings = new ItemScoreSettings();
+        itemScoreSettings.setTimerMaxAttempts(3);
+        itemScoreSettings.setScoringQueueBackoffMillis(1000);
+        itemScoreSettings.setScoringQueueMaxBackoffMillis(5000);
+        scoringJobService = new ScoringJobServiceImpl(mockScoringJobRepository, mockItemScoringService, itemScoreSettings);
+    }
+
+    @Test
+    public void shouldSaveTheScoreOfAScoredJob() throws Exception {
+        final ScoringJob job = createJob(1);
+        final ItemScore score = new ItemScore(1, 1, ScoringStatus.Scored, null, new ScoreRationale(), null, null);
+        when(mockItemScoringService.scoreJob(job)).thenReturn(score);
+        when(mockItemScoringService.updateItemScore(job, score)).thenReturn(true);
+
+        scoringJobService.processJob(job);
+
+        verify(mockItemScoringService).updateItemScore(job, score);
+        verify(mockScoringJobRepository, never()).retry(any(ScoringJob.class), anyLong(), anyString());
+    }
+
+    @Test
+    public void shouldRetryAJobThatFailedToScore() throws Exception {
+        final ScoringJob job = createJob(2);
+        when(mockItemScoringService.scoreJob(job)).thenThrow(new IllegalStateException("Fail"));
+
+        scoringJobService.processJob(job);
+
+        verify(mockScoringJobRepository).retry(eq(job), eq(2000L), anyString());
+        verify(mockItemScoringService, never()).updateItemScore(any(ScoringJob.class), any(ItemScore.class));
+    }
+
+    @Test
+    public void shouldSaveTheScoringErrorOfAJobOutOfAttempts() throws Exception {
+        final ScoringJob job = createJob(3);
+        final ScoreRationale rationale = new ScoreRationale();
+        rationale.setMsg("Unavailable");
+        when(mockItemScoringService.scoreJob(job))
+            .thenReturn(new ItemScore(-1, -1, ScoringStatus.ScoringError, null, rationale, null, null));
+
+        scoringJobService.processJob(job);
+
+        final ArgumentCaptor<ItemScore> scoreCaptor = ArgumentCaptor.forClass(ItemScore.class);
+        verify(mockItemScoringService).updateItemScore(eq(job), scoreCaptor.capture());
+        verify(mockScoringJobRepository, never()).retry(any(ScoringJob.class), anyLong(), anyString());
+        assertThat(scoreCaptor.getValue().getScoreInfo().getStatus()).isEqualTo(ScoringStatus.ScoringError);
+        assertThat(scoreCaptor.getValue().getScoreInfo().getRationale().getMsg()).isEqualTo("Unavailable");
+    }
+
+    @Test
+    public void shouldDoubleTheBackoffUpToTheMax() {
+        assertThat(scoringJobService.getBackoffMillis(1)).isEqualTo(1000);
+        assertThat(scoringJobService.getBackoffMillis(2)).isEqualTo(2000);
+        assertThat(scoringJobService.getBackoffMillis(3)).isEqualTo(4000);
+        assertThat(scoringJobService.getBackoffMillis(4)).isEqualTo(5000);
+        assertThat(scoringJobService.getBackoffMillis(100)).isEqualTo(5000);
+    }
+
+    @Test
+    public void shouldQueueWaitingResponsesUntilAPartialBatch() {
+        when(mockScoringJobRepository.createForWaitingResponses(anyLong(), anyInt()))
+            .thenReturn(ScoringJobServiceImpl.QUEUE_WAITING_RESPONSES_LIMIT, 10);
+
+        assertThat(scoringJobService.queueWaitingResponses()).isEqualTo(ScoringJobServiceImpl.QUEUE_WAITING_RESPONSES_LIMIT + 10);
+
+        verify(mockScoringJobRepository, times(2)).createForWaitingResponses(15 * 60 * 1000L,
+            ScoringJobServiceImpl.QUEUE_WAITING_RESPONSES_LIMIT);
+    }
+
+    private static ScoringJob createJob(final int attempts) {
+        return new ScoringJob.Builder()
+            .withScoreMark(UUID.randomUUID())
+            .withExamId(UUID.randomUUID())
+            .withExamItemId(UUID.randomUUID())
+            .withPosition(1)
+            .withAttempts(attempts)
+            .build();
+    }
+}
@@ -0,0 +1,59 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import tds.exam.services.ScoringJobService;
+import tds.score.configuration.ItemScoreSettings;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ScoringJobWorkerTest {
+    @Mock
+    private ScoringJobService mockScoringJobService;
+
+    private ItemScoreSettings itemScoreSettings;
+    private ScoringJobWorker scoringJobWorker;
+
+    @Before
+    public void setUp() {
+        itemScoreSettings = new ItemScoreSettings();
+        scoringJobWorker = new ScoringJobWorker(mockScoringJobService, itemScoreSettings);
+    }
+
+    @Test
+    public void shouldKeepSweepingWhenTheSweepFails() {
+        when(mockScoringJobService.queueWaitingResponses()).thenThrow(new IllegalStateException("Fail"));
+
+        scoringJobWorker.queueWaitingResponses();
+
+        verify(mockScoringJobService).queueWaitingResponses();
+    }
+
+    @Test
+    public void shouldNotScheduleTheQueueWhenDisabled() {
+        scoringJobWorker.start();
+        scoringJobWorker.stop();
+
+        verifyZeroInteractions(mockScoringJobService);
+    }
+}
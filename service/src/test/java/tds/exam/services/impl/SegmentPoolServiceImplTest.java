@@ -193,7 +193,7 @@ public class SegmentPoolServiceImplTest {
                 .withSegmentKey(segmentKey)
                 .build());
 
-        when(mockItemPoolService.getItemPool(examId, itemConstraints, segment.getItems("ENU"))).thenReturn(new HashSet<>(items));
+        when(mockItemPoolService.getItemPool(examId, itemConstraints, segment.getAssessmentKey(), segmentKey, "ENU", segment.getItems("ENU"))).thenReturn(new HashSet<>(items));
         SegmentPoolInfo segmentPoolInfo = segmentPoolService.computeSegmentPool(examId, segment, itemConstraints, "ENU");
         assertThat(segmentPoolInfo).isNotNull();
         assertThat(segmentPoolInfo.getPoolCount()).isEqualTo(6);
@@ -350,7 +350,7 @@ public class SegmentPoolServiceImplTest {
             .withSegmentKey(segmentKey)
             .build());
 
-        when(mockItemPoolService.getItemPool(examId, itemConstraints, segment.getItems("ENU"))).thenReturn(new HashSet<>(items));
+        when(mockItemPoolService.getItemPool(examId, itemConstraints, segment.getAssessmentKey(), segmentKey, "ENU", segment.getItems("ENU"))).thenReturn(new HashSet<>(items));
         SegmentPoolInfo segmentPoolInfo = segmentPoolService.computeSegmentPool(examId, segment, itemConstraints, "ENU");
         assertThat(segmentPoolInfo).isNotNull();
         assertThat(segmentPoolInfo.getPoolCount()).isEqualTo(6);
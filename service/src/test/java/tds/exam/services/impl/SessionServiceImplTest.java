@@ -20,6 +20,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
@@ -28,6 +29,8 @@ import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -40,6 +43,7 @@ import tds.session.Session;
 import tds.session.SessionAssessment;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static tds.exam.configuration.SupportApplicationConfiguration.SESSION_APP_CONTEXT;
@@ -92,6 +96,41 @@ public class SessionServiceImplTest {
         assertThat(maybeSession.isPresent()).isFalse();
     }
 
+    @Test
+    public void shouldReturnCachedSessionUntilEvicted() throws URISyntaxException {
+        UUID sessionUUID = UUID.randomUUID();
+        Session session = new Session.Builder()
+            .withId(sessionUUID)
+            .build();
+        URI url = new URI(String.format("%s/%s/%s", BASE_URL, SESSION_APP_CONTEXT, sessionUUID));
+        when(restTemplate.getForObject(url, Session.class)).thenReturn(session);
+
+        assertThat(sessionService.findSessionById(sessionUUID)).contains(session);
+        assertThat(sessionService.findSessionById(sessionUUID)).contains(session);
+        verify(restTemplate, times(1)).getForObject(url, Session.class);
+
+        sessionService.evictSession(sessionUUID);
+        assertThat(sessionService.findSessionById(sessionUUID)).contains(session);
+        verify(restTemplate, times(2)).getForObject(url, Session.class);
+    }
+
+    @Test
+    public void shouldPublishSessionCacheHitRatio() throws URISyntaxException {
+        UUID sessionUUID = UUID.randomUUID();
+        URI url = new URI(String.format("%s/%s/%s", BASE_URL, SESSION_APP_CONTEXT, sessionUUID));
+        when(restTemplate.getForObject(url, Session.class)).thenReturn(new Session.Builder().withId(sessionUUID).build());
+
+        for (int i = 0; i < 4; i++) {
+            sessionService.findSessionById(sessionUUID);
+        }
+
+        Map<String, Number> metrics = new HashMap<>();
+        ((PublicMetrics) sessionService).metrics().forEach(metric -> metrics.put(metric.getName(), metric.getValue()));
+        assertThat(metrics.get("exam.session-cache.hits")).isEqualTo(3L);
+        assertThat(metrics.get("exam.session-cache.misses")).isEqualTo(1L);
+        assertThat(metrics.get("exam.session-cache.hit-ratio")).isEqualTo(0.75);
+    }
+
     @Test
     public void shouldPauseASession() throws URISyntaxException {
         String sessionStatus = "closed";
@@ -110,6 +149,21 @@ public class SessionServiceImplTest {
         assertThat(maybePauseResponse.get().getStatus()).isEqualTo(sessionStatus);
     }
 
+    @Test
+    public void shouldEvictPausedSession() throws URISyntaxException {
+        UUID sessionId = UUID.randomUUID();
+        URI sessionUrl = new URI(String.format("%s/%s/%s", BASE_URL, SESSION_APP_CONTEXT, sessionId));
+        URI pauseUrl = new URI(String.format("%s/%s/%s/pause", BASE_URL, SESSION_APP_CONTEXT, sessionId));
+        when(restTemplate.getForObject(sessionUrl, Session.class)).thenReturn(new Session.Builder().withId(sessionId).build());
+        when(restTemplate.getForObject(pauseUrl, PauseSessionResponse.class)).thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        sessionService.findSessionById(sessionId);
+        sessionService.pause(sessionId, "closed");
+        sessionService.findSessionById(sessionId);
+
+        verify(restTemplate, times(2)).getForObject(sessionUrl, Session.class);
+    }
+
     @Test
     public void shouldReturnOptionalEmptyWhenAttemptingToPauseASessionThatIsNotFound() throws URISyntaxException {
         UUID sessionId = UUID.randomUUID();
@@ -0,0 +1,164 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.services.impl;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.boot.actuate.metrics.Metric;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import tds.exam.configuration.ExamServiceProperties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class SingleFlightLoaderTest {
+    private ExecutorService executorService;
+    private ExamServiceProperties properties;
+
+    @Before
+    public void setUp() {
+        executorService = Executors.newSingleThreadExecutor();
+        properties = new ExamServiceProperties();
+        properties.setSingleFlightWaitTimeoutMillis(5000);
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void shouldShareTheInFlightLoadOfTheSameKey() throws Exception {
+        final SingleFlightLoader singleFlightLoader = new SingleFlightLoader(properties);
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger loadCount = new AtomicInteger();
+
+        final Future<String> leader = executorService.submit(() -> singleFlightLoader.load("key", () -> {
+            loadCount.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return "value";
+        }));
+        await(loading);
+
+        final Thread releaser = new Thread(() -> {
+            waitForCoalescedWait(singleFlightLoader);
+            release.countDown();
+        });
+        releaser.start();
+
+        final String value = singleFlightLoader.load("key", () -> {
+            loadCount.incrementAndGet();
+            return "other value";
+        });
+
+        assertThat(value).isEqualTo("value");
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        assertThat(loadCount.get()).isEqualTo(1);
+
+        final Map<String, Number> metrics = metrics(singleFlightLoader);
+        assertThat(metrics.get("exam.single-flight.loads")).isEqualTo(1L);
+        assertThat(metrics.get("exam.single-flight.coalesced-waits")).isEqualTo(1L);
+        assertThat(metrics.get("exam.single-flight.wait-timeouts")).isEqualTo(0L);
+        assertThat(metrics.get("exam.single-flight.in-flight")).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldLoadAgainOnceTheInFlightLoadCompletes() {
+        final SingleFlightLoader singleFlightLoader = new SingleFlightLoader(properties);
+
+        assertThat(singleFlightLoader.load("key", () -> "first")).isEqualTo("first");
+        assertThat(singleFlightLoader.load("key", () -> "second")).isEqualTo("second");
+        assertThat(metrics(singleFlightLoader).get("exam.single-flight.loads")).isEqualTo(2L);
+    }
+
+    @Test
+    public void shouldShareTheExceptionOfTheInFlightLoad() throws Exception {
+        final SingleFlightLoader singleFlightLoader = new SingleFlightLoader(properties);
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        executorService.submit(() -> singleFlightLoader.load("key", () -> {
+            loading.countDown();
+            await(release);
+            throw new IllegalArgumentException("load failed");
+        }));
+        await(loading);
+
+        final Thread releaser = new Thread(() -> {
+            waitForCoalescedWait(singleFlightLoader);
+            release.countDown();
+        });
+        releaser.start();
+
+        try {
+            singleFlightLoader.load("key", () -> "value");
+            fail("Expected the exception of the in flight load");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).isEqualTo("load failed");
+        }
+    }
+
+    @Test
+    public void shouldLoadItselfWhenTheWaitTimesOut() throws Exception {
+        properties.setSingleFlightWaitTimeoutMillis(10);
+        final SingleFlightLoader singleFlightLoader = new SingleFlightLoader(properties);
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final Future<String> leader = executorService.submit(() -> singleFlightLoader.load("key", () -> {
+            loading.countDown();
+            await(release);
+            return "slow value";
+        }));
+        await(loading);
+
+        assertThat(singleFlightLoader.load("key", () -> "value")).isEqualTo("value");
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("slow value");
+        assertThat(metrics(singleFlightLoader).get("exam.single-flight.wait-timeouts")).isEqualTo(1L);
+    }
+
+    private static Map<String, Number> metrics(final SingleFlightLoader singleFlightLoader) {
+        return singleFlightLoader.metrics().stream()
+            .collect(Collectors.toMap(Metric::getName, Metric::getValue));
+    }
+
+    private static void waitForCoalescedWait(final SingleFlightLoader singleFlightLoader) {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (metrics(singleFlightLoader).get("exam.single-flight.coalesced-waits").longValue() == 0
+            && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -14,6 +14,7 @@
 package tds.exam.services.item.selection;
 
 import TDS.Shared.Exceptions.ReturnStatusException;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -21,6 +22,9 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.time.Instant;
 import java.util.Arrays;
@@ -75,6 +79,7 @@ import tds.itemselection.services.ItemCandidatesService;
 
 import static org.assertj.core.api.Java6Assertions.assertThat;
 import static org.mockito.Matchers.isA;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -109,6 +114,8 @@ public class ItemCandidateServiceImplTest {
     @Captor
     private ArgumentCaptor<Collection<ExamAccommodationFilter>> examAccommodationFiltersCapture;
 
+    private final ItemSelectionContexts itemSelectionContexts = new ItemSelectionContexts();
+
     @Before
     public void setUp() {
         itemCandidatesService = new ItemCandidateServiceImpl(mockExpandableExamService,
@@ -118,7 +125,14 @@ public class ItemCandidateServiceImplTest {
             mockExamHistoryService,
             mockExamAccommodationService,
             mockItemPoolService,
-            mockExamService);
+            mockExamService,
+            itemSelectionContexts);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @After
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
     }
 
     @Test
@@ -490,7 +504,7 @@ public class ItemCandidateServiceImplTest {
             .withExamPages(Collections.singletonList(page))
             .build();
 
-        when(mockExpandableExamService.findExam(examId, ExpandableExamAttributes.EXAM_SEGMENTS)).thenReturn(Optional.of(expandableExam));
+        when(mockExpandableExamService.findExam(examId, ExpandableExamAttributes.EXAM_SEGMENTS, ExpandableExamAttributes.EXAM_PAGE_AND_ITEMS)).thenReturn(Optional.of(expandableExam));
         when(mockAssessmentService.findAssessment("client", assessment.getKey())).thenReturn(Optional.of(assessment));
 
         ItemGroup itemGroup = itemCandidatesService.getItemGroup(examId, segment.getKey(), "I-187-6789", "A", false);
@@ -561,6 +575,90 @@ public class ItemCandidateServiceImplTest {
         assertThat(response.getScore()).isEqualTo(1);
     }
 
+    @Test
+    public void shouldLoadExamDataOnceForAnItemSelection() throws Exception {
+        String segmentKey = "segmentKey";
+        Exam exam = new ExamBuilder().build();
+        ExamSegment examSegment = new ExamSegmentBuilder()
+            .withSegmentKey(segmentKey)
+            .withExamId(exam.getId())
+            .withExamItemCount(2)
+            .withIsSatisfied(false)
+            .build();
+
+        ExamPage examPage = new ExamPageBuilder()
+            .withExamId(exam.getId())
+            .withSegmentKey(segmentKey)
+            .build();
+
+        ExamItem examItem = new ExamItemBuilder()
+            .withExamPageId(examPage.getId())
+            .build();
+
+        ExpandableExam expandableExam = new ExpandableExam.Builder(exam)
+            .withExamPages(Collections.singletonList(examPage))
+            .withExamSegments(Collections.singletonList(examSegment))
+            .withExamItems(Collections.singletonList(examItem))
+            .build();
+
+        Segment segment = new SegmentBuilder()
+            .withKey(segmentKey)
+            .build();
+
+        Assessment assessment = new AssessmentBuilder()
+            .withSegments(Collections.singletonList(segment))
+            .build();
+
+        when(mockExpandableExamService.findExam(exam.getId(), ExpandableExamAttributes.EXAM_SEGMENTS, ExpandableExamAttributes.EXAM_PAGE_AND_ITEMS)).thenReturn(Optional.of(expandableExam));
+        when(mockAssessmentService.findAssessment(exam.getClientName(), exam.getAssessmentKey())).thenReturn(Optional.of(assessment));
+        when(mockFieldTestService.findUsageInExam(exam.getId())).thenReturn(Collections.emptyList());
+        when(mockExamHistoryService.findPreviousItemGroups(exam.getStudentId(), exam.getId(), exam.getAssessmentId()))
+            .thenReturn(Collections.emptyList());
+
+        itemSelectionContexts.begin();
+        itemCandidatesService.getItemCandidates(exam.getId());
+        itemCandidatesService.loadOppHistory(exam.getId(), segmentKey);
+        itemCandidatesService.getItemCandidates(exam.getId());
+        itemSelectionContexts.end();
+
+        verify(mockExpandableExamService, times(1)).findExam(exam.getId(), ExpandableExamAttributes.EXAM_SEGMENTS, ExpandableExamAttributes.EXAM_PAGE_AND_ITEMS);
+        verify(mockAssessmentService, times(1)).findAssessment(exam.getClientName(), exam.getAssessmentKey());
+        verify(mockFieldTestService, times(1)).findUsageInExam(exam.getId());
+        verify(mockExamHistoryService, times(1)).findPreviousItemGroups(exam.getStudentId(), exam.getId(), exam.getAssessmentId());
+    }
+
+    @Test
+    public void shouldSeeSegmentsSatisfiedEarlierInTheItemSelection() throws Exception {
+        String segmentKey = "segmentKey";
+        Exam exam = new ExamBuilder().build();
+        ExamSegment examSegment = new ExamSegmentBuilder()
+            .withSegmentKey(segmentKey)
+            .withSegmentPosition(1)
+            .withExamId(exam.getId())
+            .withIsSatisfied(false)
+            .build();
+
+        ExpandableExam expandableExam = new ExpandableExam.Builder(exam)
+            .withExamPages(Collections.emptyList())
+            .withExamSegments(Collections.singletonList(examSegment))
+            .withExamItems(Collections.emptyList())
+            .build();
+
+        when(mockExpandableExamService.findExam(exam.getId(), ExpandableExamAttributes.EXAM_SEGMENTS, ExpandableExamAttributes.EXAM_PAGE_AND_ITEMS)).thenReturn(Optional.of(expandableExam));
+        when(mockAssessmentService.findAssessment(exam.getClientName(), exam.getAssessmentKey())).thenReturn(Optional.of(new AssessmentBuilder()
+            .withSegments(Collections.singletonList(new SegmentBuilder().withKey(segmentKey).build()))
+            .build()));
+        when(mockExamSegmentService.findByExamIdAndSegmentPosition(exam.getId(), 1)).thenReturn(Optional.of(examSegment));
+
+        itemSelectionContexts.begin();
+        itemCandidatesService.getItemCandidates(exam.getId());
+        itemCandidatesService.setSegmentSatisfied(exam.getId(), 1, "reason");
+        ItemCandidatesData data = itemCandidatesService.getItemCandidates(exam.getId());
+        itemSelectionContexts.end();
+
+        assertThat(data.getAlgorithm()).isEqualTo(AlgorithmType.SATISFIED.getType());
+    }
+
     @Test
     public void shouldIgnoreOffGradeWithoutAccommodationPresent() throws ReturnStatusException {
         UUID examId = UUID.randomUUID();
@@ -612,7 +710,8 @@ public class ItemCandidateServiceImplTest {
         when(mockExamService.findExam(examId)).thenReturn(Optional.of(exam));
         when(mockAssessmentService.findAssessment(exam.getClientName(), exam.getAssessmentKey())).thenReturn(Optional.of(assessment));
         when(mockExamSegmentService.findExamSegments(examId)).thenReturn(Collections.singletonList(examSegment));
-        when(mockItemPoolService.getItemPool(examId, assessment.getItemConstraints(), segment.getItems(exam.getLanguageCode()))).thenReturn(Collections.singleton(item));
+        when(mockItemPoolService.getItemPool(examId, assessment.getItemConstraints(), assessment.getKey(), segment.getKey(),
+            exam.getLanguageCode(), segment.getItems(exam.getLanguageCode()))).thenReturn(Collections.singleton(item));
 
         OffGradeResponse response = itemCandidatesService.addOffGradeItems(examId, "Grade 3", "segmentKey");
 
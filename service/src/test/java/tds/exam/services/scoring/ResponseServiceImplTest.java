@@ -13,6 +13,7 @@
 
 package tds.exam.services.scoring;
 
+import TDS.Shared.Data.ReturnStatus;
 import TDS.Shared.Exceptions.ReturnStatusException;
 import org.joda.time.Instant;
 import org.junit.After;
@@ -32,20 +33,28 @@ import tds.exam.ExamStatusCode;
 import tds.exam.builder.ExamBuilder;
 import tds.exam.repositories.ExamItemCommandRepository;
 import tds.exam.repositories.ExamItemQueryRepository;
+import tds.exam.repositories.ScoringJobRepository;
 import tds.exam.services.ConfigService;
 import tds.exam.services.ExamPageService;
 import tds.exam.services.ExamService;
+import tds.score.configuration.ItemScoreSettings;
 import tds.score.model.ExamInstance;
+import tds.score.model.ScoredResponse;
+import tds.score.model.ScoringJob;
 import tds.score.services.ResponseService;
 import tds.student.sql.data.IItemResponseUpdate;
 import tds.student.sql.data.ItemResponseUpdate;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static io.github.benas.randombeans.api.EnhancedRandom.random;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 import static tds.exam.services.scoring.ResponseServiceImpl.VALID_EXAM_STATUS_CODES;
 
@@ -66,15 +75,22 @@ public class ResponseServiceImplTest {
     @Mock
     private ExamPageService mockExamPageService;
 
+    @Mock
+    private ScoringJobRepository mockScoringJobRepository;
+
+    private ItemScoreSettings itemScoreSettings;
     private ResponseService responseService;
 
     @Before
     public void setUp() {
+        itemScoreSettings = new ItemScoreSettings();
         responseService = new ResponseServiceImpl(mockExamService,
             mockConfigService,
             mockExamItemCommandRepository,
             mockExamItemQueryRepository,
-            mockExamPageService);
+            mockExamPageService,
+            mockScoringJobRepository,
+            itemScoreSettings);
     }
 
     @After
@@ -205,4 +221,165 @@ public class ResponseServiceImplTest {
         assertThat(updatedExamPage.getSegmentKey()).isEqualTo(examPage.getSegmentKey());
         assertThat(updatedExamPage.getDuration()).isEqualTo(456 + examPage.getDuration());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void itShouldSaveABatchOfScoredResponsesTogether() throws Exception {
+        final ExamInstance examInstance = ExamInstance.create(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), "clientName");
+        final UUID examPageId = UUID.randomUUID();
+
+        final ExamStatusCode validStatus = new ExamStatusCode(VALID_EXAM_STATUS_CODES.iterator().next());
+        final Exam exam = new Exam.Builder()
+            .fromExam(random(Exam.class))
+            .withStatus(validStatus, Instant.now())
+            .build();
+        when(mockExamService.findExam(examInstance.getExamId())).thenReturn(Optional.of(exam));
+
+        final ItemResponseUpdate firstResponseUpdate = random(ItemResponseUpdate.class);
+        firstResponseUpdate.setDateCreated(null);
+        firstResponseUpdate.setPosition(1);
+        final ItemResponseUpdate secondResponseUpdate = random(ItemResponseUpdate.class);
+        secondResponseUpdate.setDateCreated(null);
+        secondResponseUpdate.setPosition(2);
+
+        final ExamItem firstExamItem = new ExamItem.Builder(UUID.randomUUID())
+            .withExamPageId(examPageId)
+            .withItemKey(firstResponseUpdate.getItemID())
+            .withPosition(1)
+            .build();
+        final ExamItem secondExamItem = new ExamItem.Builder(UUID.randomUUID())
+            .withExamPageId(examPageId)
+            .withItemKey(secondResponseUpdate.getItemID())
+            .withPosition(2)
+            .build();
+        when(mockExamItemQueryRepository.findExamItemAndResponses(examInstance.getExamId()))
+            .thenReturn(Arrays.asList(firstExamItem, secondExamItem));
+
+        final ExamPage examPage = random(ExamPage.class);
+        when(mockExamPageService.find(examPageId)).thenReturn(Optional.of(examPage));
+
+        final List<ReturnStatus> statuses = responseService.updateScoredResponses(examInstance, Arrays.asList(
+            new ScoredResponse(firstResponseUpdate, 1, "Scored", "scoreRationale", 123L),
+            new ScoredResponse(secondResponseUpdate, 0, "Scored", "scoreRationale", 123L)),
+            456L);
+
+        assertThat(statuses).extracting(ReturnStatus::getStatus).containsExactly("updated", "updated");
+
+        final ArgumentCaptor<ExamItemResponse> responseCaptor = ArgumentCaptor.forClass(ExamItemResponse.class);
+        verify(mockExamItemCommandRepository).insertResponses(responseCaptor.capture(), responseCaptor.capture());
+
+        final List<ExamItemResponse> persisted = responseCaptor.getAllValues();
+        assertThat(persisted).hasSize(2);
+        assertThat(persisted.get(0).getExamItemId()).isEqualTo(firstExamItem.getId());
+        assertThat(persisted.get(0).getScore().get().getScore()).isEqualTo(1);
+        assertThat(persisted.get(1).getExamItemId()).isEqualTo(secondExamItem.getId());
+        assertThat(persisted.get(1).getScore().get().getScore()).isEqualTo(0);
+
+        // Both responses accumulate the page duration, the same as saving them one at a time
+        final ArgumentCaptor<ExamPage> pageCaptor = ArgumentCaptor.forClass(ExamPage.class);
+        verify(mockExamPageService).update(pageCaptor.capture());
+        assertThat(pageCaptor.getValue().getDuration()).isEqualTo(2 * 456 + examPage.getDuration());
+    }
+
+    @Test(expected = ReturnStatusException.class)
+    public void itShouldNotSaveABatchWhenAnItemIsNotAtThePosition() throws Exception {
+        final ExamInstance examInstance = ExamInstance.create(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), "clientName");
+
+        final ExamStatusCode validStatus = new ExamStatusCode(VALID_EXAM_STATUS_CODES.iterator().next());
+        final Exam exam = new Exam.Builder()
+            .fromExam(random(Exam.class))
+            .withStatus(validStatus, Instant.now())
+            .build();
+        when(mockExamService.findExam(examInstance.getExamId())).thenReturn(Optional.of(exam));
+        when(mockExamItemQueryRepository.findExamItemAndResponses(examInstance.getExamId())).thenReturn(Arrays.asList());
+
+        final ItemResponseUpdate responseUpdate = random(ItemResponseUpdate.class);
+        responseUpdate.setPosition(1);
+
+        try {
+            responseService.updateScoredResponses(examInstance,
+                Arrays.asList(new ScoredResponse(responseUpdate, 1, "Scored", "scoreRationale", 123L)), 456L);
+        } finally {
+            verifyZeroInteractions(mockExamItemCommandRepository);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void itShouldQueueResponsesWaitingForAMachineScore() throws Exception {
+        itemScoreSettings.setScoringQueueEnabled(true);
+        final ExamInstance examInstance = ExamInstance.create(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), "clientName");
+        final UUID examPageId = UUID.randomUUID();
+
+        final ExamStatusCode validStatus = new ExamStatusCode(VALID_EXAM_STATUS_CODES.iterator().next());
+        final Exam exam = new Exam.Builder()
+            .fromExam(random(Exam.class))
+            .withStatus(validStatus, Instant.now())
+            .build();
+        when(mockExamService.findExam(examInstance.getExamId())).thenReturn(Optional.of(exam));
+
+        final ItemResponseUpdate waitingResponseUpdate = random(ItemResponseUpdate.class);
+        waitingResponseUpdate.setDateCreated(null);
+        waitingResponseUpdate.setPosition(1);
+        final ItemResponseUpdate scoredResponseUpdate = random(ItemResponseUpdate.class);
+        scoredResponseUpdate.setDateCreated(null);
+        scoredResponseUpdate.setPosition(2);
+
+        final ExamItem waitingExamItem = new ExamItem.Builder(UUID.randomUUID())
+            .withExamPageId(examPageId)
+            .withItemKey(waitingResponseUpdate.getItemID())
+            .withAssessmentItemBankKey(187)
+            .withAssessmentItemKey(1234)
+            .withItemFilePath("item")
+            .withPosition(1)
+            .build();
+        final ExamItem scoredExamItem = new ExamItem.Builder(UUID.randomUUID())
+            .withExamPageId(examPageId)
+            .withItemKey(scoredResponseUpdate.getItemID())
+            .withPosition(2)
+            .build();
+        when(mockExamItemQueryRepository.findExamItemAndResponses(examInstance.getExamId()))
+            .thenReturn(Arrays.asList(waitingExamItem, scoredExamItem));
+        when(mockExamPageService.find(examPageId)).thenReturn(Optional.of(random(ExamPage.class)));
+
+        responseService.updateScoredResponses(examInstance, Arrays.asList(
+            new ScoredResponse(waitingResponseUpdate, -1, "WaitingForMachineScore", "Waiting for machine score.", 0L),
+            new ScoredResponse(scoredResponseUpdate, 1, "Scored", "scoreRationale", 123L)),
+            456L);
+
+        final ArgumentCaptor<ExamItemResponse> responseCaptor = ArgumentCaptor.forClass(ExamItemResponse.class);
+        verify(mockExamItemCommandRepository).insertResponses(responseCaptor.capture(), responseCaptor.capture());
+        final ExamItemResponseScore waitingScore = responseCaptor.getAllValues().get(0).getScore().get();
+
+        final ArgumentCaptor<Collection> jobsCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(mockScoringJobRepository).create(jobsCaptor.capture());
+        final Collection<ScoringJob> jobs = jobsCaptor.getValue();
+        assertThat(jobs).hasSize(1);
+
+        final ScoringJob job = jobs.iterator().next();
+        assertThat(job.getScoreMark()).isEqualTo(waitingScore.getScoreMark());
+        assertThat(job.getScoreSentAt()).isEqualTo(waitingScore.getScoreSentAt());
+        assertThat(job.getExamId()).isEqualTo(exam.getId());
+        assertThat(job.getExamItemId()).isEqualTo(waitingExamItem.getId());
+        assertThat(job.getClientName()).isEqualTo(exam.getClientName());
+        assertThat(job.getLanguageCode()).isEqualTo(exam.getLanguageCode());
+        assertThat(job.getBankKey()).isEqualTo(187);
+        assertThat(job.getItemKey()).isEqualTo(1234);
+        assertThat(job.getItemFilePath()).isEqualTo("item");
+        assertThat(job.getResponse()).isEqualTo(waitingResponseUpdate.getValue());
+    }
+
+    @Test
+    public void itShouldFailToUpdateAScoringJobWhoseResponseWasReplaced() throws Exception {
+        final ScoringJob job = new ScoringJob.Builder()
+            .withScoreMark(UUID.randomUUID())
+            .withExamId(UUID.randomUUID())
+            .withExamItemId(UUID.randomUUID())
+            .withPosition(3)
+            .build();
+        when(mockScoringJobRepository.complete(job, 1, "Scored", "rationale", "<ScoreInfo />")).thenReturn(false);
+
+        final ReturnStatus status = responseService.updateItemScore(job, 1, "Scored", "rationale", "<ScoreInfo />");
+
+        assertThat(status.getStatus()).isEqualTo("failed");
+    }
+}
@@ -0,0 +1,176 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.utils;
+
+import org.joda.time.Instant;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import tds.exam.Exam;
+import tds.exam.ExamAccommodation;
+import tds.exam.ExamPage;
+import tds.exam.ExamSegment;
+import tds.exam.builder.ExamAccommodationBuilder;
+import tds.exam.builder.ExamBuilder;
+import tds.exam.builder.ExamPageBuilder;
+import tds.exam.builder.ExamSegmentBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExamUnitOfWorkTest {
+    private final ExamUnitOfWork examUnitOfWork = new ExamUnitOfWork();
+    private final ExamUnitOfWorkProvider examUnitOfWorkProvider = new ExamUnitOfWorkProvider(examUnitOfWork);
+
+    @After
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void shouldNotProvideAUnitOfWorkOutsideOfARequest() {
+        examUnitOfWork.begin("test");
+
+        assertThat(examUnitOfWorkProvider.find()).isNotPresent();
+    }
+
+    @Test
+    public void shouldOnlyProvideTheUnitOfWorkOfARequestOnceItHasBegun() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        assertThat(examUnitOfWorkProvider.find()).isNotPresent();
+
+        examUnitOfWork.begin("test");
+        assertThat(examUnitOfWorkProvider.find()).contains(examUnitOfWork);
+
+        examUnitOfWork.end();
+        assertThat(examUnitOfWorkProvider.find()).isNotPresent();
+    }
+
+    @Test
+    public void shouldFindRegisteredExamAndCountSavedQueries() {
+        final Exam exam = new ExamBuilder().build();
+
+        examUnitOfWork.begin("ExamController.getExamById");
+        examUnitOfWork.registerExam(exam);
+
+        assertThat(examUnitOfWork.getName()).contains("ExamController.getExamById");
+        assertThat(examUnitOfWork.findExam(exam.getId())).contains(exam);
+        assertThat(examUnitOfWork.findExam(exam.getId())).contains(exam);
+        assertThat(examUnitOfWork.findExam(UUID.randomUUID())).isNotPresent();
+        assertThat(examUnitOfWork.end()).isEqualTo(2);
+        assertThat(examUnitOfWork.findExam(exam.getId())).isNotPresent();
+    }
+
+    @Test
+    public void shouldWriteThroughUpdatedExamWithChangedAt() {
+        final Exam exam = new ExamBuilder().build();
+        final Instant changedAt = Instant.now();
+
+        examUnitOfWork.begin("test");
+        examUnitOfWork.registerUpdatedExam(exam, changedAt);
+
+        final Exam loadedExam = examUnitOfWork.findExam(exam.getId()).get();
+        assertThat(loadedExam.getChangedAt()).isEqualTo(changedAt);
+        assertThat(loadedExam.getStatus()).isEqualTo(exam.getStatus());
+    }
+
+    @Test
+    public void shouldNotKeepUpdatedExamWithoutALanguage() {
+        final Exam exam = new ExamBuilder().build();
+
+        examUnitOfWork.begin("test");
+        examUnitOfWork.registerExam(exam);
+        examUnitOfWork.registerUpdatedExam(new Exam.Builder().fromExam(exam).withLanguageCode(null).build(), Instant.now());
+
+        assertThat(examUnitOfWork.findExam(exam.getId())).isNotPresent();
+    }
+
+    @Test
+    public void shouldEvictExam() {
+        final Exam exam = new ExamBuilder().build();
+
+        examUnitOfWork.begin("test");
+        examUnitOfWork.registerExam(exam);
+        examUnitOfWork.evictExam(exam.getId());
+
+        assertThat(examUnitOfWork.findExam(exam.getId())).isNotPresent();
+    }
+
+    @Test
+    public void shouldFindAndEvictSegmentsByExamAndPosition() {
+        final UUID examId = UUID.randomUUID();
+        final ExamSegment segment = new ExamSegmentBuilder()
+            .withExamId(examId)
+            .withSegmentPosition(2)
+            .build();
+
+        examUnitOfWork.begin("test");
+        examUnitOfWork.registerSegments(Collections.singletonList(segment));
+
+        assertThat(examUnitOfWork.findSegment(examId, 2)).contains(segment);
+        assertThat(examUnitOfWork.findSegment(examId, 1)).isNotPresent();
+
+        examUnitOfWork.evictSegments(examId);
+
+        assertThat(examUnitOfWork.findSegment(examId, 2)).isNotPresent();
+    }
+
+    @Test
+    public void shouldRemoveDeletedPagesWhenWrittenThrough() {
+        final UUID examId = UUID.randomUUID();
+        final ExamPage page = new ExamPageBuilder()
+            .withId(UUID.randomUUID())
+            .withExamId(examId)
+            .build();
+        final ExamPage deletedPage = new ExamPageBuilder()
+            .withId(page.getId())
+            .withExamId(examId)
+            .withDeletedAt(Instant.now())
+            .build();
+
+        examUnitOfWork.begin("test");
+        examUnitOfWork.registerUpdatedPages(Collections.singletonList(page));
+
+        assertThat(examUnitOfWork.findPage(page.getId())).contains(page);
+
+        examUnitOfWork.registerUpdatedPages(Collections.singletonList(deletedPage));
+
+        assertThat(examUnitOfWork.findPage(page.getId())).isNotPresent();
+    }
+
+    @Test
+    public void shouldFindAndEvictAccommodationsByExam() {
+        final ExamAccommodation accommodation = new ExamAccommodationBuilder().build();
+        final UUID examId = accommodation.getExamId();
+
+        examUnitOfWork.begin("test");
+        examUnitOfWork.registerAccommodations(examId, Collections.singletonList(accommodation));
+
+        final List<ExamAccommodation> accommodations = examUnitOfWork.findAccommodations(examId).get();
+        assertThat(accommodations).containsExactly(accommodation);
+
+        accommodations.clear();
+        assertThat(examUnitOfWork.findAccommodations(examId).get()).containsExactly(accommodation);
+
+        examUnitOfWork.evictAccommodations(examId);
+        assertThat(examUnitOfWork.findAccommodations(examId)).isNotPresent();
+    }
+}
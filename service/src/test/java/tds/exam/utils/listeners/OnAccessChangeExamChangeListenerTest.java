@@ -0,0 +1,86 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.utils.listeners;
+
+import org.joda.time.Instant;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.UUID;
+
+import tds.common.EntityUpdate;
+import tds.common.entity.utils.ChangeListener;
+import tds.exam.Exam;
+import tds.exam.ExamStatusCode;
+import tds.exam.ExamStatusStage;
+import tds.exam.builder.ExamBuilder;
+import tds.exam.services.ExamAccessTokenService;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+@RunWith(MockitoJUnitRunner.class)
+public class OnAccessChangeExamChangeListenerTest {
+    @Mock
+    private ExamAccessTokenService mockExamAccessTokenService;
+
+    private ChangeListener<Exam> onAccessChangeExamChangeListener;
+
+    @Before
+    public void setUp() {
+        onAccessChangeExamChangeListener = new OnAccessChangeExamChangeListener(mockExamAccessTokenService);
+    }
+
+    @Test
+    public void shouldRevokeTokensWhenStatusChanges() {
+        Exam oldExam = new ExamBuilder().build();
+        Exam newExam = new Exam.Builder()
+            .fromExam(oldExam)
+            .withStatus(new ExamStatusCode(ExamStatusCode.STATUS_PAUSED, ExamStatusStage.IN_USE), Instant.now())
+            .build();
+
+        onAccessChangeExamChangeListener.accept(new EntityUpdate<>(oldExam, newExam));
+
+        verify(mockExamAccessTokenService).revokeTokens(newExam.getId());
+    }
+
+    @Test
+    public void shouldRevokeTokensWhenBrowserChanges() {
+        Exam oldExam = new ExamBuilder().build();
+        Exam newExam = new Exam.Builder()
+            .fromExam(oldExam)
+            .withBrowserId(UUID.randomUUID())
+            .build();
+
+        onAccessChangeExamChangeListener.accept(new EntityUpdate<>(oldExam, newExam));
+
+        verify(mockExamAccessTokenService).revokeTokens(newExam.getId());
+    }
+
+    @Test
+    public void shouldDoNothingWhenStatusSessionAndBrowserAreUnchanged() {
+        Exam oldExam = new ExamBuilder().build();
+        Exam newExam = new Exam.Builder()
+            .fromExam(oldExam)
+            .withAttempts(oldExam.getAttempts() + 1)
+            .build();
+
+        onAccessChangeExamChangeListener.accept(new EntityUpdate<>(oldExam, newExam));
+
+        verifyZeroInteractions(mockExamAccessTokenService);
+    }
+}
@@ -22,6 +22,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.Optional;
 import java.util.UUID;
 
 import tds.common.Response;
@@ -34,6 +35,7 @@ import tds.exam.ExamStatusCode;
 import tds.exam.ExamStatusStage;
 import tds.exam.WebMvcControllerIntegrationTest;
 import tds.exam.error.ValidationErrorCode;
+import tds.exam.services.ExamAccessTokenService;
 import tds.exam.services.ExamApprovalService;
 
 import static org.hamcrest.CoreMatchers.is;
@@ -41,8 +43,10 @@ import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static tds.exam.web.interceptors.VerifyAccessInterceptor.ACCESS_TOKEN_HEADER;
 
 @RunWith(SpringRunner.class)
 @WebMvcControllerIntegrationTest(controllers = ExamApprovalController.class)
@@ -53,6 +57,9 @@ public class ExamApprovalControllerIntegrationTests {
     @MockBean
     private ExamApprovalService mockExamApprovalService;
 
+    @MockBean
+    private ExamAccessTokenService mockExamAccessTokenService;
+
     @Test
     public void shouldGetExamApproval() throws Exception {
         UUID examId = UUID.randomUUID();
@@ -67,12 +74,15 @@ public class ExamApprovalControllerIntegrationTests {
 
         when(mockExamApprovalService.getApproval(isA(ExamInfo.class)))
             .thenReturn(new Response<>(mockApproval));
+        when(mockExamAccessTokenService.issueToken(isA(ExamInfo.class)))
+            .thenReturn(Optional.of("access-token"));
 
         http.perform(get("/exam/{id}/approval", examId)
             .contentType(MediaType.APPLICATION_JSON)
             .param("sessionId", examInfo.getSessionId().toString())
             .param("browserId", examInfo.getBrowserId().toString()))
             .andExpect(status().isOk())
+            .andExpect(header().string(ACCESS_TOKEN_HEADER, "access-token"))
             .andExpect(jsonPath("data").isNotEmpty())
             .andExpect(jsonPath("data.examId", is(examId.toString())))
             .andExpect(jsonPath("data.examApprovalStatus", is(ExamStatusCode.STATUS_APPROVED.toUpperCase())));
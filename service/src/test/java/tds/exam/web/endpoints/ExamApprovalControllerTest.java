@@ -25,6 +25,7 @@ import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import javax.servlet.http.HttpServletRequest;
+import java.util.Optional;
 import java.util.UUID;
 
 import tds.common.Response;
@@ -35,19 +36,25 @@ import tds.exam.ExamInfo;
 import tds.exam.ExamStatusCode;
 import tds.exam.ExamStatusStage;
 import tds.exam.error.ValidationErrorCode;
+import tds.exam.services.ExamAccessTokenService;
 import tds.exam.services.ExamApprovalService;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.isA;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static tds.exam.ExamStatusCode.STATUS_APPROVED;
+import static tds.exam.web.interceptors.VerifyAccessInterceptor.ACCESS_TOKEN_HEADER;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ExamApprovalControllerTest {
     @Mock
     private ExamApprovalService mockExamApprovalService;
 
+    @Mock
+    private ExamAccessTokenService mockExamAccessTokenService;
+
     private ExamApprovalController controller;
 
     @Before
@@ -56,7 +63,7 @@ public class ExamApprovalControllerTest {
         ServletRequestAttributes requestAttributes = new ServletRequestAttributes(request);
         RequestContextHolder.setRequestAttributes(requestAttributes);
 
-        controller = new ExamApprovalController(mockExamApprovalService);
+        controller = new ExamApprovalController(mockExamApprovalService, mockExamAccessTokenService);
     }
 
     @Test
@@ -71,6 +78,7 @@ public class ExamApprovalControllerTest {
                 ExamStatusStage.OPEN),
             null);
         when(mockExamApprovalService.getApproval(isA(ExamInfo.class))).thenReturn(new Response<>(mockExamApproval));
+        when(mockExamAccessTokenService.issueToken(isA(ExamInfo.class))).thenReturn(Optional.of("access-token"));
 
         ResponseEntity<Response<ExamApproval>> response = controller.getApproval(
             examInfo.getExamId(),
@@ -79,6 +87,7 @@ public class ExamApprovalControllerTest {
         verify(mockExamApprovalService).getApproval(isA(ExamInfo.class));
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getFirst(ACCESS_TOKEN_HEADER)).isEqualTo("access-token");
         assertThat(response.getBody().hasError()).isFalse();
         assertThat(response.getBody().getData().isPresent()).isTrue();
         assertThat(response.getBody().getData().get().getExamApprovalStatus()).isEqualTo(ExamApprovalStatus.APPROVED);
@@ -100,6 +109,7 @@ public class ExamApprovalControllerTest {
             examInfo.getSessionId(),
             examInfo.getBrowserId());
         verify(mockExamApprovalService).getApproval(isA(ExamInfo.class));
+        verify(mockExamAccessTokenService, never()).issueToken(isA(ExamInfo.class));
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
         Response<ExamApproval> body = response.getBody();
@@ -48,6 +48,7 @@ import tds.exam.SegmentApprovalRequest;
 import tds.exam.WebMvcControllerIntegrationTest;
 import tds.exam.builder.ExamBuilder;
 import tds.exam.error.ValidationErrorCode;
+import tds.exam.services.ExamAccessTokenService;
 import tds.exam.services.ExamApprovalService;
 import tds.exam.services.ExamPageService;
 import tds.exam.services.ExamService;
@@ -92,11 +93,15 @@ public class ExamControllerIntegrationTests {
     @MockBean
     private ExamApprovalService mockExamApprovalService;
 
+    @MockBean
+    private ExamAccessTokenService mockExamAccessTokenService;
+
     private ObjectWriter ow;
 
     @Before
     public void setUp() {
         ow = objectMapper.writer().withDefaultPrettyPrinter();
+        when(mockExamAccessTokenService.issueToken(any())).thenReturn(Optional.empty());
     }
 
     @Test
@@ -46,6 +46,7 @@ import tds.exam.OpenExamRequest;
 import tds.exam.builder.ExamBuilder;
 import tds.exam.builder.OpenExamRequestBuilder;
 import tds.exam.error.ValidationErrorCode;
+import tds.exam.services.ExamAccessTokenService;
 import tds.exam.services.ExamService;
 
 import static io.github.benas.randombeans.api.EnhancedRandom.random;
@@ -56,6 +57,7 @@ import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static tds.exam.web.interceptors.VerifyAccessInterceptor.ACCESS_TOKEN_HEADER;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ExamControllerTest {
@@ -64,13 +66,18 @@ public class ExamControllerTest {
     @Mock
     private ExamService mockExamService;
 
+    @Mock
+    private ExamAccessTokenService mockExamAccessTokenService;
+
     @Before
     public void setUp() {
         HttpServletRequest request = new MockHttpServletRequest();
         ServletRequestAttributes requestAttributes = new ServletRequestAttributes(request);
         RequestContextHolder.setRequestAttributes(requestAttributes);
 
-        controller = new ExamController(mockExamService);
+        when(mockExamAccessTokenService.issueToken(any())).thenReturn(Optional.empty());
+
+        controller = new ExamController(mockExamService, mockExamAccessTokenService);
     }
 
     @After
@@ -113,11 +120,13 @@ public class ExamControllerTest {
 
         UUID examId = UUID.randomUUID();
         when(mockExamService.openExam(openExamRequest)).thenReturn(new Response<>(new Exam.Builder().withId(examId).build()));
+        when(mockExamAccessTokenService.issueToken(any())).thenReturn(Optional.of("access-token"));
 
         ResponseEntity<Response<Exam>> response = controller.openExam(openExamRequest);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getHeaders().getLocation()).isEqualTo(new URI("http://localhost/exam/" + examId));
+        assertThat(response.getHeaders().getFirst(ACCESS_TOKEN_HEADER)).isEqualTo("access-token");
     }
 
     @Test
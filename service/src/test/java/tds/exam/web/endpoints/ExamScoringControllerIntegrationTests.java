@@ -15,9 +15,9 @@ package tds.exam.web.endpoints;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.junit4.SpringRunner;
@@ -25,12 +25,14 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
-import javax.xml.bind.JAXBContext;
-import javax.xml.bind.Unmarshaller;
-import java.io.InputStreamReader;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import tds.common.ValidationError;
@@ -53,11 +55,13 @@ import static org.mockito.Matchers.anyListOf;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.HttpStatus.OK;
 import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_XML;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -116,44 +120,38 @@ public class ExamScoringControllerIntegrationTests {
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     public void itShouldRescoreExam() throws Exception {
         final UUID examId = UUID.randomUUID();
         final UUID jobId = UUID.randomUUID();
-        final JAXBContext context = JAXBContext.newInstance(TDSReport.class);
-        final Unmarshaller unmarshaller = context.createUnmarshaller();
-        final TDSReport mockReport = (TDSReport) unmarshaller.unmarshal(new InputStreamReader(
-            this.getClass().getResourceAsStream("/sample-trt-file.xml")));
 
+        when(mockItemScoringService.rescoreItem(eq(examId), isA(TDSReport.class), isA(TDSReport.Opportunity.Item.class),
+            isA(Set.class))).thenReturn(Optional.empty());
 
-        when(mockItemScoringService.rescoreTestResults(isA(UUID.class), isA(TDSReport.class)))
-            .thenReturn(Optional.empty());
+        http.perform(MockMvcRequestBuilders.put(new URI("/exam/" + examId.toString() + "/scores/rescore/" + jobId.toString()))
+            .contentType(APPLICATION_XML)
+            .content(readSampleTestResults()))
+            .andExpect(status().is(OK.value()));
 
-        final MvcResult result = http.perform(MockMvcRequestBuilders.put(new URI("/exam/" + examId.toString() + "/scores/rescore/" + jobId.toString()))
-            .contentType(APPLICATION_JSON)
-            .content(new XmlMapper().writeValueAsString(mockReport)))
-            .andExpect(status().is(OK.value()))
-            .andReturn();
-
-        verify(mockMessagingService).sendExamRescore(isA(UUID.class), isA(byte[].class));
-        verify(mockItemScoringService).rescoreTestResults(isA(UUID.class), isA(TDSReport.class));
+        final ArgumentCaptor<byte[]> messageCaptor = ArgumentCaptor.forClass(byte[].class);
+        verify(mockMessagingService).sendExamRescore(eq(examId), messageCaptor.capture());
+        assertThat(new String(messageCaptor.getValue(), StandardCharsets.UTF_8)).contains(jobId.toString());
+        verify(mockItemScoringService, times(30)).rescoreItem(eq(examId), isA(TDSReport.class),
+            isA(TDSReport.Opportunity.Item.class), eq(Collections.emptySet()));
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     public void itShouldFailToRescoreExam() throws Exception {
         final UUID examId = UUID.randomUUID();
         final UUID jobId = UUID.randomUUID();
-        final JAXBContext context = JAXBContext.newInstance(TDSReport.class);
-        final Unmarshaller unmarshaller = context.createUnmarshaller();
-        final TDSReport mockReport = (TDSReport) unmarshaller.unmarshal(new InputStreamReader(
-            this.getClass().getResourceAsStream("/sample-trt-file.xml")));
 
-
-        when(mockItemScoringService.rescoreTestResults(isA(UUID.class), isA(TDSReport.class)))
-            .thenReturn(Optional.of(new ValidationError("EXAM", "Failed to rescore!")));
+        when(mockItemScoringService.rescoreItem(eq(examId), isA(TDSReport.class), isA(TDSReport.Opportunity.Item.class),
+            isA(Set.class))).thenReturn(Optional.of(new ValidationError("EXAM", "Failed to rescore!")));
 
         final MvcResult result = http.perform(MockMvcRequestBuilders.put(new URI("/exam/" + examId.toString() + "/scores/rescore/" + jobId.toString()))
-            .contentType(APPLICATION_JSON)
-            .content(new XmlMapper().writeValueAsString(mockReport)))
+            .contentType(APPLICATION_XML)
+            .content(readSampleTestResults()))
             .andExpect(status().is(UNPROCESSABLE_ENTITY.value()))
             .andExpect(jsonPath("$.errors[0].code", equalTo("EXAM")))
             .andExpect(jsonPath("$.errors[0].message", equalTo("Failed to rescore!")))
@@ -166,6 +164,11 @@ public class ExamScoringControllerIntegrationTests {
         assertThat(deserializedResponse.getErrors()[0].getMessage()).isEqualTo("Failed to rescore!");
 
         verify(mockMessagingService, never()).sendExamRescore(isA(UUID.class), isA(byte[].class));
-        verify(mockItemScoringService).rescoreTestResults(isA(UUID.class), isA(TDSReport.class));
+        verify(mockItemScoringService).rescoreItem(eq(examId), isA(TDSReport.class), isA(TDSReport.Opportunity.Item.class),
+            isA(Set.class));
+    }
+
+    private byte[] readSampleTestResults() throws Exception {
+        return Files.readAllBytes(Paths.get(getClass().getResource("/sample-trt-file.xml").toURI()));
     }
-}
\ No newline at end of file
+}
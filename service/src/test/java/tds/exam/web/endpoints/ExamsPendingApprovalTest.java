@@ -35,10 +35,13 @@ import java.util.UUID;
 import tds.exam.Exam;
 import tds.exam.repositories.ExamQueryRepository;
 import tds.exam.repositories.impl.ExamQueryRepositoryImpl;
+import tds.exam.services.ExamAccessTokenService;
 import tds.exam.services.ExamApprovalService;
 import tds.exam.services.SessionService;
 import tds.exam.services.TimeLimitConfigurationService;
 import tds.exam.services.impl.ExamApprovalServiceImpl;
+import tds.exam.utils.ExamUnitOfWork;
+import tds.exam.utils.ExamUnitOfWorkProvider;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
@@ -64,6 +67,9 @@ public class ExamsPendingApprovalTest {
     @Mock
     private TimeLimitConfigurationService mockTimeLimitConfigurationService;
 
+    @Mock
+    private ExamAccessTokenService mockExamAccessTokenService;
+
     // bypass java type erasure for mockJdbcTemplate
     interface ExamRowMapper extends RowMapper<Exam> {}
 
@@ -73,9 +79,9 @@ public class ExamsPendingApprovalTest {
         ServletRequestAttributes requestAttributes = new ServletRequestAttributes(request);
         RequestContextHolder.setRequestAttributes(requestAttributes);
 
-        examQueryRepository = new ExamQueryRepositoryImpl(mockJdbcTemplate);
+        examQueryRepository = new ExamQueryRepositoryImpl(mockJdbcTemplate, new ExamUnitOfWorkProvider(new ExamUnitOfWork()));
         examApprovalService = new ExamApprovalServiceImpl(examQueryRepository, mockSessionService, mockTimeLimitConfigurationService);
-        examApprovalController = new ExamApprovalController(examApprovalService);
+        examApprovalController = new ExamApprovalController(examApprovalService, mockExamAccessTokenService);
     }
 
     @Test
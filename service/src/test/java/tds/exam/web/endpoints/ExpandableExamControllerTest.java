@@ -17,6 +17,7 @@ import com.google.common.collect.Sets;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.springframework.http.HttpStatus;
@@ -31,10 +32,15 @@ import tds.exam.Exam;
 import tds.exam.ExamStatusCode;
 import tds.exam.ExpandableExam;
 import tds.exam.ExpandableExamAttributes;
+import tds.exam.ExpandableExamChanges;
 import tds.exam.services.ExpandableExamService;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -56,10 +62,52 @@ public class ExpandableExamControllerTest {
         ExpandableExamAttributes expandableAttributes = ExpandableExamAttributes.EXAM_ACCOMMODATIONS;
         ExpandableExam exam = new ExpandableExam.Builder(mock(Exam.class)).build();
         List<ExpandableExam> expandableExams = Collections.singletonList(exam);
+        when(mockExpandableService.findSessionVersion(sessionId)).thenReturn(3L);
         when(mockExpandableService.findExamsBySessionId(sessionId, statuses, expandableAttributes)).thenReturn(expandableExams);
-        ResponseEntity<List<ExpandableExam>> entity = controller.findExamsForSessionId(sessionId, statuses, expandableAttributes);
+        ResponseEntity<List<ExpandableExam>> entity = controller.findExamsForSessionId(sessionId, statuses, null, expandableAttributes);
 
         assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(entity.getHeaders().getETag()).isEqualTo("\"3\"");
         assertThat(entity.getBody()).isEqualTo(expandableExams);
     }
+
+    @Test
+    public void shouldReturnNotModifiedWhenSessionVersionMatches() {
+        UUID sessionId = UUID.randomUUID();
+        when(mockExpandableService.findSessionVersion(sessionId)).thenReturn(3L);
+        ResponseEntity<List<ExpandableExam>> entity = controller.findExamsForSessionId(sessionId, null, "\"3\"");
+
+        assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(entity.getHeaders().getETag()).isEqualTo("\"3\"");
+        assertThat(entity.getBody()).isNull();
+        verify(mockExpandableService, never()).findExamsBySessionId(any(), any(), Matchers.<ExpandableExamAttributes>anyVararg());
+    }
+
+    @Test
+    public void shouldFindExpandableExamChangesForSession() {
+        UUID sessionId = UUID.randomUUID();
+        Set<String> statuses = Sets.newHashSet(ExamStatusCode.STATUS_APPROVED);
+        ExpandableExamAttributes expandableAttributes = ExpandableExamAttributes.EXAM_ACCOMMODATIONS;
+        ExpandableExam exam = new ExpandableExam.Builder(mock(Exam.class)).build();
+        ExpandableExamChanges changes = new ExpandableExamChanges(5, Collections.singletonList(exam),
+            Collections.singletonList(UUID.randomUUID()));
+        when(mockExpandableService.findSessionVersion(sessionId)).thenReturn(4L);
+        when(mockExpandableService.findExamChangesBySessionId(sessionId, 2, statuses, expandableAttributes)).thenReturn(changes);
+        ResponseEntity<ExpandableExamChanges> entity = controller.findExamChangesForSessionId(sessionId, 2, statuses, expandableAttributes);
+
+        assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(entity.getHeaders().getETag()).isEqualTo("\"5\"");
+        assertThat(entity.getBody()).isEqualTo(changes);
+    }
+
+    @Test
+    public void shouldReturnNotModifiedWhenNoChangesSinceVersion() {
+        UUID sessionId = UUID.randomUUID();
+        when(mockExpandableService.findSessionVersion(sessionId)).thenReturn(4L);
+        ResponseEntity<ExpandableExamChanges> entity = controller.findExamChangesForSessionId(sessionId, 4, null);
+
+        assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(entity.getBody()).isNull();
+        verify(mockExpandableService, never()).findExamChangesBySessionId(any(), anyLong(), any(), Matchers.<ExpandableExamAttributes>anyVararg());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,130 @@
+/***************************************************************************************************
+ * Copyright 2017 Regents of the University of California. Licensed under the Educational
+ * Community License, Version 2.0 (the “license”); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the license at
+ *
+ * https://opensource.org/licenses/ECL-2.0
+ *
+ * Unless required under applicable law or agreed to in writing, software distributed under the
+ * License is distributed in an “AS IS” BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for specific language governing permissions
+ * and limitations under the license.
+ **************************************************************************************************/
+
+package tds.exam.web.endpoints;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.joda.time.Instant;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.UUID;
+
+import tds.common.ValidationError;
+import tds.exam.RescoreJobProgress;
+import tds.exam.RescoreJobRequest;
+import tds.exam.WebMvcControllerIntegrationTest;
+import tds.exam.error.ValidationErrorCode;
+import tds.exam.models.RescoreJob;
+import tds.exam.services.RescoreJobService;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.ACCEPTED;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.NO_CONTENT;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@WebMvcControllerIntegrationTest(controllers = RescoreJobController.class)
+public class RescoreJobControllerIntegrationTests {
+    @Autowired
+    private MockMvc http;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private RescoreJobService mockRescoreJobService;
+
+    @Test
+    public void shouldCreateARescoreJob() throws Exception {
+        final UUID jobId = UUID.randomUUID();
+        when(mockRescoreJobService.createRescoreJob(jobId, Collections.singleton("187-1234")))
+            .thenReturn(new RescoreJob(jobId, Collections.singleton("187-1234"), Instant.now()));
+
+        http.perform(MockMvcRequestBuilders.put(new URI("/exam/rescore-jobs/" + jobId))
+            .contentType(APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(new RescoreJobRequest(Collections.singleton("187-1234")))))
+            .andExpect(status().is(NO_CONTENT.value()));
+
+        verify(mockRescoreJobService).createRescoreJob(jobId, Collections.singleton("187-1234"));
+    }
+
+    @Test
+    public void shouldSubmitAnExam() throws Exception {
+        final UUID jobId = UUID.randomUUID();
+        final UUID examId = UUID.randomUUID();
+        when(mockRescoreJobService.submitExam(jobId, examId, "<TDSReport />")).thenReturn(Optional.empty());
+
+        http.perform(MockMvcRequestBuilders.put(new URI("/exam/rescore-jobs/" + jobId + "/exams/" + examId))
+            .contentType(APPLICATION_JSON)
+            .content("<TDSReport />"))
+            .andExpect(status().is(ACCEPTED.value()));
+
+        verify(mockRescoreJobService).submitExam(jobId, examId, "<TDSReport />");
+    }
+
+    @Test
+    public void shouldNotSubmitAnExamToAMissingJob() throws Exception {
+        final UUID jobId = UUID.randomUUID();
+        final UUID examId = UUID.randomUUID();
+        when(mockRescoreJobService.submitExam(jobId, examId, "<TDSReport />"))
+            .thenReturn(Optional.of(new ValidationError(ValidationErrorCode.RESCORE_JOB_DOES_NOT_EXIST, "Missing")));
+
+        http.perform(MockMvcRequestBuilders.put(new URI("/exam/rescore-jobs/" + jobId + "/exams/" + examId))
+            .contentType(APPLICATION_JSON)
+            .content("<TDSReport />"))
+            .andExpect(status().is(UNPROCESSABLE_ENTITY.value()))
+            .andExpect(jsonPath("$.errors[0].code", equalTo(ValidationErrorCode.RESCORE_JOB_DOES_NOT_EXIST)));
+    }
+
+    @Test
+    public void shouldFindTheProgressOfARescoreJob() throws Exception {
+        final UUID jobId = UUID.randomUUID();
+        when(mockRescoreJobService.findProgress(jobId))
+            .thenReturn(Optional.of(new RescoreJobProgress(jobId, 10, 2, 5, 1, 0, null)));
+
+        http.perform(MockMvcRequestBuilders.get(new URI("/exam/rescore-jobs/" + jobId))
+            .contentType(APPLICATION_JSON))
+            .andExpect(status().is(OK.value()))
+            .andExpect(jsonPath("$.jobId", equalTo(jobId.toString())))
+            .andExpect(jsonPath("$.pendingCount", equalTo(10)))
+            .andExpect(jsonPath("$.publishedCount", equalTo(5)))
+            .andExpect(jsonPath("$.estimatedRemainingMillis", nullValue()));
+    }
+
+    @Test
+    public void shouldNotFindTheProgressOfAMissingJob() throws Exception {
+        final UUID jobId = UUID.randomUUID();
+        when(mockRescoreJobService.findProgress(jobId)).thenReturn(Optional.empty());
+
+        http.perform(MockMvcRequestBuilders.get(new URI("/exam/rescore-jobs/" + jobId))
+            .contentType(APPLICATION_JSON))
+            .andExpect(status().is(NOT_FOUND.value()));
+    }
+}
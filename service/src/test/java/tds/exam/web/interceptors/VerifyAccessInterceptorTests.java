@@ -24,7 +24,7 @@ import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.web.method.HandlerMethod;
 
-import javax.servlet.http.HttpServletResponse;
+import java.util.Optional;
 import java.util.UUID;
 
 import tds.common.Response;
@@ -34,11 +34,14 @@ import tds.exam.ExamInfo;
 import tds.exam.ExamStatusCode;
 import tds.exam.ExamStatusStage;
 import tds.exam.error.ValidationErrorCode;
+import tds.exam.services.ExamAccessTokenService;
 import tds.exam.services.ExamApprovalService;
 import tds.exam.web.annotations.VerifyAccess;
 import tds.exam.web.exceptions.ValidationException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
@@ -48,11 +51,14 @@ import static tds.exam.ExamStatusCode.STATUS_APPROVED;
 @RunWith(SpringRunner.class)
 public class VerifyAccessInterceptorTests {
     private VerifyAccessInterceptor verifyAccessInterceptor;
-    private HttpServletResponse mockResponse;
+    private MockHttpServletResponse mockResponse;
 
     @MockBean
     private ExamApprovalService mockExamApprovalService;
 
+    @MockBean
+    private ExamAccessTokenService mockExamAccessTokenService;
+
     @MockBean
     private HandlerMethod mockHandlerMethod;
 
@@ -64,9 +70,11 @@ public class VerifyAccessInterceptorTests {
 
     @Before
     public void setup() {
-        verifyAccessInterceptor = new VerifyAccessInterceptor(mockExamApprovalService);
+        verifyAccessInterceptor = new VerifyAccessInterceptor(mockExamApprovalService, mockExamAccessTokenService);
         mockResponse = new MockHttpServletResponse();
 
+        when(mockExamAccessTokenService.issueToken(any())).thenReturn(Optional.empty());
+
         when(mockVerifyAccess.sessionParamName()).thenReturn("sessionId");
         when(mockVerifyAccess.browserParamName()).thenReturn("browserId");
     }
@@ -137,6 +145,64 @@ public class VerifyAccessInterceptorTests {
         verify(mockExamApprovalService).getApproval(isA(ExamInfo.class));
     }
 
+    @Test
+    public void shouldVerifyAccessWithoutApprovalWhenAccessTokenIsValid() throws Exception {
+        UUID examId = UUID.randomUUID();
+        UUID browserId = UUID.randomUUID();
+        UUID sessionId = UUID.randomUUID();
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRequestURI(String.format("/exam/%s/segments", examId));
+        request.setMethod("GET");
+        request.setParameter("sessionId", sessionId.toString());
+        request.setParameter("browserId", browserId.toString());
+        request.addHeader(VerifyAccessInterceptor.ACCESS_TOKEN_HEADER, "access-token");
+
+        when(mockHandlerMethod.getMethodAnnotation(VerifyAccess.class)).thenReturn(mockVerifyAccess);
+        when(mockExamAccessTokenService.isValid(eq("access-token"), isA(ExamInfo.class))).thenReturn(true);
+
+        boolean returnValue = verifyAccessInterceptor.preHandle(request, mockResponse, mockHandlerMethod);
+
+        assertThat(returnValue).isTrue();
+        verify(mockExamAccessTokenService).isValid(eq("access-token"), examInfoArgumentCaptor.capture());
+        verifyZeroInteractions(mockExamApprovalService);
+
+        ExamInfo examInfo = examInfoArgumentCaptor.getValue();
+        assertThat(examInfo.getExamId()).isEqualTo(examId);
+        assertThat(examInfo.getSessionId()).isEqualTo(sessionId);
+        assertThat(examInfo.getBrowserId()).isEqualTo(browserId);
+    }
+
+    @Test
+    public void shouldVerifyApprovalAndReturnNewAccessTokenWhenAccessTokenIsInvalid() throws Exception {
+        UUID examId = UUID.randomUUID();
+        UUID browserId = UUID.randomUUID();
+        UUID sessionId = UUID.randomUUID();
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRequestURI(String.format("/exam/%s/segments", examId));
+        request.setMethod("GET");
+        request.setParameter("sessionId", sessionId.toString());
+        request.setParameter("browserId", browserId.toString());
+        request.addHeader(VerifyAccessInterceptor.ACCESS_TOKEN_HEADER, "expired-token");
+
+        when(mockHandlerMethod.getMethodAnnotation(VerifyAccess.class)).thenReturn(mockVerifyAccess);
+        when(mockExamAccessTokenService.isValid(eq("expired-token"), isA(ExamInfo.class))).thenReturn(false);
+        when(mockExamAccessTokenService.issueToken(isA(ExamInfo.class))).thenReturn(Optional.of("access-token"));
+
+        ExamApproval mockExamApproval = new ExamApproval(examId,
+            new ExamStatusCode(STATUS_APPROVED,
+                ExamStatusStage.OPEN),
+            null);
+        when(mockExamApprovalService.getApproval(isA(ExamInfo.class))).thenReturn(new Response<>(mockExamApproval));
+
+        boolean returnValue = verifyAccessInterceptor.preHandle(request, mockResponse, mockHandlerMethod);
+
+        assertThat(returnValue).isTrue();
+        verify(mockExamApprovalService).getApproval(isA(ExamInfo.class));
+        assertThat(mockResponse.getHeader(VerifyAccessInterceptor.ACCESS_TOKEN_HEADER)).isEqualTo("access-token");
+    }
+
     @Test(expected = ValidationException.class)
     public void shouldThrowValidationExceptionWhenAprovalFails() throws Exception {
         UUID examId = UUID.randomUUID();